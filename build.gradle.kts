@@ -5,6 +5,7 @@ plugins {
     application
     id("com.github.johnrengelman.shadow") version "8.1.1"
     id("com.google.cloud.tools.jib") version "3.4.0"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.csms"
@@ -154,6 +155,22 @@ tasks.withType<JavaExec> {
     )
 }
 
+// JMH 벤치마크 (src/jmh/java, 실행: ./gradlew jmh)
+jmh {
+    jmhVersion.set("1.37")
+    warmupIterations.set(2)
+    iterations.set(5)
+    fork.set(1)
+}
+
+// 채굴 이벤트 수집 API 부하 테스트 (실행 중인 서버 대상)
+// 실행: ./gradlew ingestLoadTest -PloadTestArgs="--url=http://localhost:8080 --api-key=... --duration=60"
+tasks.register<JavaExec>("ingestLoadTest") {
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("com.csms.mining.MiningEventLoadTest")
+    args = (project.findProperty("loadTestArgs") as String? ?: "").split(" ").filter { it.isNotBlank() }
+}
+
 tasks.register("stage") {
     dependsOn("shadowJar")
 }
@@ -0,0 +1,110 @@
+package com.csms.admin.service;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인메모리 레퍼럴 그래프 벤치마크
+ * - 조회: 하부 회원 수, 직속 하부 페이지, 깊이별 분포 (무작위 회원)
+ * - 변경 반영: 변경 100건을 모아 새 스냅샷 생성
+ * - 메모리: memory 벤치마크의 보조 카운터로 회원 100만 명당 바이트 수 보고
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReferralGraphBenchmark {
+    
+    @Param({"1000000"})
+    public int userCount;
+    
+    private ReferralGraph graph;
+    private List<ReferralGraph.EdgeChange> changes;
+    private long[] sampleUserIds;
+    private int sample;
+    
+    @Setup
+    public void setUp() {
+        // 회원 i의 추천인은 앞선 회원 중 무작위 (얕고 넓은 실제 추천 트리와 유사)
+        Random random = new Random(42);
+        long[] edges = new long[(userCount - 1) * 2];
+        for (int i = 1; i < userCount; i++) {
+            edges[(i - 1) * 2] = random.nextInt(i) + 1;
+            edges[(i - 1) * 2 + 1] = i + 1;
+        }
+        graph = ReferralGraph.build(edges, userCount - 1);
+        
+        changes = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            changes.add(new ReferralGraph.EdgeChange(random.nextInt(userCount) + 1, userCount + i + 1, true));
+        }
+        
+        sampleUserIds = new long[1024];
+        for (int i = 0; i < sampleUserIds.length; i++) {
+            // 상위 회원 쪽(하위 트리가 큰 회원)도 포함되도록 절반은 앞쪽 1%에서 선택
+            sampleUserIds[i] = i % 2 == 0
+                ? random.nextInt(Math.max(1, userCount / 100)) + 1
+                : random.nextInt(userCount) + 1;
+        }
+    }
+    
+    private long nextUserId() {
+        sample = (sample + 1) & (sampleUserIds.length - 1);
+        return sampleUserIds[sample];
+    }
+    
+    @Benchmark
+    public int downlineSize() {
+        return graph.downlineSize(nextUserId());
+    }
+    
+    @Benchmark
+    public long[] childrenPage() {
+        return graph.children(nextUserId(), 0, 20);
+    }
+    
+    @Benchmark
+    public int[] depthHistogram() {
+        return graph.depthHistogram(nextUserId(), 30);
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ReferralGraph applyChanges() {
+        return graph.withChanges(changes);
+    }
+    
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long memory(MemoryCounters counters) {
+        counters.bytesPerMillionUsers = graph.estimatedBytes() * 1_000_000L / graph.size();
+        counters.totalBytes = graph.estimatedBytes();
+        return counters.totalBytes;
+    }
+    
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class MemoryCounters {
+        public long bytesPerMillionUsers;
+        public long totalBytes;
+        
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytesPerMillionUsers = 0;
+            totalBytes = 0;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.csms.common.database;
+
+import com.csms.admin.dto.MiningRecordDto;
+import com.csms.common.repository.BaseRepository;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.impl.ArrayTuple;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RowMapper 벤치마크 (채굴 기록 엑셀 다운로드와 같은 형태의 결과 행)
+ * - byName: BaseRepository.getXxx(row, column) - 필드마다 getColumnIndex 선형 탐색 2회
+ * - byIndex: IndexedRowMapper - RowSet 단위로 인덱스 해석 후 인덱스로 조회
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RowMapperBenchmark {
+    
+    private static final List<String> COLUMNS = List.of(
+        "id", "user_id", "referrer_nickname", "nickname", "email", "level",
+        "mining_start_time", "mining_end_time", "mining_amount", "cumulative_mining_amount",
+        "mining_efficiency", "activity_status"
+    );
+    
+    @Param({"10000"})
+    public int rowCount;
+    
+    private final BenchmarkRepository repository = new BenchmarkRepository();
+    private List<Row> rows;
+    
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            BenchmarkRow row = new BenchmarkRow(COLUMNS);
+            row.addValue((long) i);
+            row.addValue((long) (i % 500));
+            row.addValue("referrer" + (i % 50));
+            row.addValue("user" + i);
+            row.addValue(null);
+            row.addValue(i % 10);
+            row.addValue(now.minusMinutes(i));
+            row.addValue(now.minusMinutes(i).plusSeconds(30));
+            row.addValue(new BigDecimal("1.25"));
+            row.addValue(BigDecimal.valueOf(i));
+            row.addValue(100);
+            row.addValue("ACTIVE");
+            rows.add(row);
+        }
+    }
+    
+    @Benchmark
+    public List<MiningRecordDto> byName() {
+        return repository.mapAll(repository.byNameMapper, rows);
+    }
+    
+    @Benchmark
+    public List<MiningRecordDto> byIndex() {
+        return repository.mapAll(repository.byIndexMapper, rows);
+    }
+    
+    static class BenchmarkRepository extends BaseRepository {
+        
+        final RowMapper<MiningRecordDto> byNameMapper = row -> MiningRecordDto.builder()
+            .id(getLong(row, "id"))
+            .userId(getLong(row, "user_id"))
+            .referrerNickname(getString(row, "referrer_nickname"))
+            .nickname(getString(row, "nickname"))
+            .email(getString(row, "email"))
+            .level(getInteger(row, "level"))
+            .miningStartTime(getLocalDateTime(row, "mining_start_time"))
+            .miningEndTime(getLocalDateTime(row, "mining_end_time"))
+            .miningAmount(getDouble(row, "mining_amount"))
+            .cumulativeMiningAmount(getDouble(row, "cumulative_mining_amount"))
+            .miningEfficiency(getInteger(row, "mining_efficiency"))
+            .activityStatus(getString(row, "activity_status"))
+            .build();
+        
+        final IndexedRowMapper<MiningRecordDto> byIndexMapper = (row, columns) -> MiningRecordDto.builder()
+            .id(columns.getLong(row, "id"))
+            .userId(columns.getLong(row, "user_id"))
+            .referrerNickname(columns.getString(row, "referrer_nickname"))
+            .nickname(columns.getString(row, "nickname"))
+            .email(columns.getString(row, "email"))
+            .level(columns.getInteger(row, "level"))
+            .miningStartTime(columns.getLocalDateTime(row, "mining_start_time"))
+            .miningEndTime(columns.getLocalDateTime(row, "mining_end_time"))
+            .miningAmount(columns.getDouble(row, "mining_amount"))
+            .cumulativeMiningAmount(columns.getDouble(row, "cumulative_mining_amount"))
+            .miningEfficiency(columns.getInteger(row, "mining_efficiency"))
+            .activityStatus(columns.getString(row, "activity_status"))
+            .build();
+        
+        // BaseRepository.fetchAll과 동일한 방식 (RowSet 대신 행 목록 사용)
+        <T> List<T> mapAll(RowMapper<T> mapper, List<Row> rows) {
+            RowMapper<T> rowSetMapper = mapper.forColumns(COLUMNS);
+            List<T> data = new ArrayList<>(rows.size());
+            for (Row row : rows) {
+                data.add(rowSetMapper.map(row));
+            }
+            return data;
+        }
+    }
+    
+    /**
+     * 드라이버 Row와 같은 방식으로 컬럼명 -> 인덱스를 선형 탐색하는 테스트용 Row
+     */
+    static class BenchmarkRow extends ArrayTuple implements Row {
+        
+        private final List<String> columnNames;
+        
+        BenchmarkRow(List<String> columnNames) {
+            super(columnNames.size());
+            this.columnNames = columnNames;
+        }
+        
+        @Override
+        public String getColumnName(int pos) {
+            return pos >= 0 && pos < columnNames.size() ? columnNames.get(pos) : null;
+        }
+        
+        @Override
+        public int getColumnIndex(String column) {
+            return columnNames.indexOf(column);
+        }
+    }
+}
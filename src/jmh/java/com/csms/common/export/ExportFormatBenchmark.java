@@ -0,0 +1,200 @@
+package com.csms.common.export;
+
+import com.csms.admin.dto.MiningRecordDto;
+import com.csms.common.database.IndexedRowMapper;
+import com.csms.common.database.RowMapper;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.impl.ArrayTuple;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 내보내기 형식별 인코딩 벤치마크 (채굴 기록 다운로드와 같은 형태의 결과 행, DB/네트워크 제외)
+ * - xlsx: 행 -> DTO 변환 + StreamingExcelWriter (SXSSF 임시 파일 + zip 압축)
+ * - csv, ndjson: EncodedRowStream과 같은 방식으로 원시 행을 CHUNK_SIZE Buffer에 인코딩
+ * 같은 행 SAMPLE_SIZE개를 반복해 rowCount행을 만들어 행 생성 메모리는 벤치마크에서 제외합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class ExportFormatBenchmark {
+    
+    private static final List<String> COLUMNS = List.of(
+        "id", "user_id", "referrer_nickname", "nickname", "email", "level",
+        "mining_start_time", "mining_end_time", "mining_amount", "cumulative_mining_amount",
+        "mining_efficiency", "activity_status"
+    );
+    private static final int SAMPLE_SIZE = 1000;
+    // BaseRepository.STREAM_BATCH_SIZE와 같은 배치 크기
+    private static final int BATCH_SIZE = 500;
+    
+    // AdminMiningRepository.miningRecordMapper와 같은 매핑
+    private static final IndexedRowMapper<MiningRecordDto> MAPPER = (row, columns) -> MiningRecordDto.builder()
+        .id(columns.getLong(row, "id"))
+        .userId(columns.getLong(row, "user_id"))
+        .referrerNickname(columns.getString(row, "referrer_nickname"))
+        .nickname(columns.getString(row, "nickname"))
+        .email(columns.getString(row, "email"))
+        .level(columns.getInteger(row, "level"))
+        .miningStartTime(columns.getLocalDateTime(row, "mining_start_time"))
+        .miningEndTime(columns.getLocalDateTime(row, "mining_end_time"))
+        .miningAmount(columns.getDouble(row, "mining_amount"))
+        .cumulativeMiningAmount(columns.getDouble(row, "cumulative_mining_amount"))
+        .miningEfficiency(columns.getInteger(row, "mining_efficiency"))
+        .activityStatus(columns.getString(row, "activity_status"))
+        .build();
+    
+    // AdminMiningService 채굴 기록 시트와 같은 컬럼 구성
+    private static final ExcelSheet<MiningRecordDto> SHEET = ExcelSheet.<MiningRecordDto>of(
+        "채굴 기록",
+        new String[]{
+            "ID", "회원ID", "추천인(부모)", "닉네임", "레벨",
+            "채굴 시작 시간", "채굴 종료 시간", "채굴량", "누적 채굴량", "채굴효율", "활동상태"
+        },
+        (row, record) -> row
+            .cell(record.getId())
+            .cell(record.getUserId())
+            .cell(record.getReferrerNickname())
+            .cell(record.getNickname())
+            .cell(record.getLevel())
+            .dateTime(record.getMiningStartTime())
+            .dateTime(record.getMiningEndTime())
+            .amount(record.getMiningAmount())
+            .amount(record.getCumulativeMiningAmount())
+            .cell(record.getMiningEfficiency())
+            .cell(record.getActivityStatus())
+    ).withColumnWidth(3000, ExcelSheet.MAX_COLUMN_WIDTH);
+    
+    @Param({"1000000"})
+    public int rowCount;
+    
+    private List<Row> sample;
+    
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        sample = new ArrayList<>(SAMPLE_SIZE);
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            BenchmarkRow row = new BenchmarkRow(COLUMNS);
+            row.addValue((long) i);
+            row.addValue((long) (i % 500));
+            row.addValue("referrer" + (i % 50));
+            row.addValue("user" + i);
+            row.addValue(null);
+            row.addValue(i % 10);
+            row.addValue(now.minusMinutes(i));
+            row.addValue(now.minusMinutes(i).plusSeconds(30));
+            row.addValue(new BigDecimal("1.25"));
+            row.addValue(BigDecimal.valueOf(i));
+            row.addValue(100);
+            row.addValue("ACTIVE");
+            sample.add(row);
+        }
+    }
+    
+    @Benchmark
+    public long xlsx() throws IOException {
+        RowMapper<MiningRecordDto> mapper = MAPPER.forColumns(COLUMNS);
+        try (StreamingExcelWriter<MiningRecordDto> writer = new StreamingExcelWriter<>(SHEET)) {
+            List<MiningRecordDto> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < rowCount; i++) {
+                batch.add(mapper.map(sample.get(i % SAMPLE_SIZE)));
+                if (batch.size() == BATCH_SIZE) {
+                    writer.append(batch);
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+            writer.append(batch);
+            CountingOutputStream out = new CountingOutputStream();
+            writer.finish(out);
+            return out.count;
+        }
+    }
+    
+    @Benchmark
+    public long csv(Blackhole blackhole) {
+        return encode(ExportFormat.CSV, blackhole);
+    }
+    
+    @Benchmark
+    public long ndjson(Blackhole blackhole) {
+        return encode(ExportFormat.NDJSON, blackhole);
+    }
+    
+    private long encode(ExportFormat format, Blackhole blackhole) {
+        RowEncoder encoder = format.newEncoder();
+        encoder.start(COLUMNS.toArray(new String[0]), Buffer.buffer());
+        long bytes = 0;
+        Buffer chunk = Buffer.buffer(EncodedRowStream.CHUNK_SIZE + EncodedRowStream.CHUNK_SIZE / 4);
+        for (int i = 0; i < rowCount; i++) {
+            encoder.write(sample.get(i % SAMPLE_SIZE), chunk);
+            if (chunk.length() >= EncodedRowStream.CHUNK_SIZE) {
+                bytes += chunk.length();
+                blackhole.consume(chunk);
+                chunk = Buffer.buffer(EncodedRowStream.CHUNK_SIZE + EncodedRowStream.CHUNK_SIZE / 4);
+            }
+        }
+        return bytes + chunk.length();
+    }
+    
+    /**
+     * 응답 대신 기록 바이트 수만 세는 OutputStream
+     */
+    static class CountingOutputStream extends OutputStream {
+        
+        long count;
+        
+        @Override
+        public void write(int b) {
+            count++;
+        }
+        
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            count += length;
+        }
+    }
+    
+    /**
+     * 드라이버 Row와 같은 방식으로 컬럼명 -> 인덱스를 선형 탐색하는 테스트용 Row
+     */
+    static class BenchmarkRow extends ArrayTuple implements Row {
+        
+        private final List<String> columnNames;
+        
+        BenchmarkRow(List<String> columnNames) {
+            super(columnNames.size());
+            this.columnNames = columnNames;
+        }
+        
+        @Override
+        public String getColumnName(int pos) {
+            return pos >= 0 && pos < columnNames.size() ? columnNames.get(pos) : null;
+        }
+        
+        @Override
+        public int getColumnIndex(String column) {
+            return columnNames.indexOf(column);
+        }
+    }
+}
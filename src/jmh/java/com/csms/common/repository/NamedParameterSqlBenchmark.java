@@ -0,0 +1,59 @@
+package com.csms.common.repository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * named parameter 변환 벤치마크
+ * - translate: 매 호출마다 정규식 스캔/치환 (기존 BaseRepository 방식)
+ * - cached: NamedParameterSqlCache 조회
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NamedParameterSqlBenchmark {
+    
+    // 관리자 목록 조회와 비슷한 형태의 쿼리
+    private static final String SQL = """
+        SELECT
+            mh.id,
+            mh.user_id,
+            u.nickname,
+            mh.amount,
+            mh.created_at
+        FROM mining_history mh
+        INNER JOIN users u ON u.id = mh.user_id
+        WHERE mh.created_at >= :start_date::timestamp
+        AND mh.created_at < :end_date::timestamp
+        AND (:status IS NULL OR mh.status = :status)
+        AND (u.nickname ILIKE :keyword OR u.login_id ILIKE :keyword)
+        AND mh.type <> :excluded_type
+        ORDER BY mh.created_at DESC
+        LIMIT :limit OFFSET :offset
+        """;
+    
+    private NamedParameterSqlCache cache;
+    
+    @Setup
+    public void setUp() {
+        cache = new NamedParameterSqlCache(512);
+        cache.get(SQL);
+    }
+    
+    @Benchmark
+    public NamedParameterSql translate() {
+        return NamedParameterSql.translate(SQL);
+    }
+    
+    @Benchmark
+    public NamedParameterSql cached() {
+        return cache.get(SQL);
+    }
+}
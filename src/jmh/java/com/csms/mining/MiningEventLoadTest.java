@@ -0,0 +1,143 @@
+package com.csms.mining;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채굴 이벤트 수집 API 부하 테스트 (실행 중인 서버 + DB 대상)
+ * concurrency개의 연결이 각각 batch-size건씩 쉬지 않고 전송하고, 이벤트/초와 요청 지연(p50/p99), 결과별 건수를 출력합니다.
+ * 실행: ./gradlew ingestLoadTest -PloadTestArgs="--url=http://localhost:8080 --api-key=... --duration=60"
+ * 옵션 (기본값): --url, --api-key, --duration=60(초), --concurrency=32, --batch-size=200, --users=1000(회원 ID 1~N)
+ */
+public class MiningEventLoadTest {
+    
+    private static final String PATH = "/api/v1/mining/events";
+    
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = parseArgs(args);
+        String url = options.getOrDefault("url", "http://localhost:8080");
+        String apiKey = options.getOrDefault("api-key", "");
+        long durationMs = Long.parseLong(options.getOrDefault("duration", "60")) * 1000L;
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "32"));
+        int batchSize = Integer.parseInt(options.getOrDefault("batch-size", "200"));
+        int users = Integer.parseInt(options.getOrDefault("users", "1000"));
+        
+        Vertx vertx = Vertx.vertx();
+        WebClient client = WebClient.create(vertx, new WebClientOptions()
+            .setMaxPoolSize(concurrency)
+            .setKeepAlive(true));
+        String base = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+        
+        String runId = UUID.randomUUID().toString().substring(0, 8);
+        AtomicLong sequence = new AtomicLong();
+        Map<String, AtomicLong> statusCounts = new HashMap<>();
+        for (String status : List.of("CREATED", "DUPLICATE", "REJECTED", "FAILED", "HTTP_ERROR")) {
+            statusCounts.put(status, new AtomicLong());
+        }
+        List<Long> latenciesMicros = Collections.synchronizedList(new ArrayList<>());
+        long startedAt = System.currentTimeMillis();
+        long deadline = startedAt + durationMs;
+        CountDownLatch done = new CountDownLatch(concurrency);
+        
+        System.out.printf("Mining ingest load test - url: %s, duration: %ds, concurrency: %d, batch: %d, users: %d%n",
+            base + PATH, durationMs / 1000, concurrency, batchSize, users);
+        
+        for (int i = 0; i < concurrency; i++) {
+            new Runnable() {
+                @Override
+                public void run() {
+                    if (System.currentTimeMillis() >= deadline) {
+                        done.countDown();
+                        return;
+                    }
+                    JsonObject body = new JsonObject().put("events", events(runId, sequence, batchSize, users));
+                    long sentAt = System.nanoTime();
+                    client.postAbs(base + PATH)
+                        .putHeader("X-Api-Key", apiKey)
+                        .sendJsonObject(body)
+                        .onComplete(ar -> {
+                            latenciesMicros.add((System.nanoTime() - sentAt) / 1000);
+                            if (ar.succeeded() && ar.result().statusCode() == 200) {
+                                JsonObject data = ar.result().bodyAsJsonObject().getJsonObject("data", new JsonObject());
+                                statusCounts.get("CREATED").addAndGet(data.getLong("created", 0L));
+                                statusCounts.get("DUPLICATE").addAndGet(data.getLong("duplicate", 0L));
+                                statusCounts.get("REJECTED").addAndGet(data.getLong("rejected", 0L));
+                                statusCounts.get("FAILED").addAndGet(data.getLong("failed", 0L));
+                            } else {
+                                statusCounts.get("HTTP_ERROR").addAndGet(batchSize);
+                            }
+                            run();
+                        });
+                }
+            }.run();
+        }
+        
+        done.await();
+        long elapsedMs = System.currentTimeMillis() - startedAt;
+        report(statusCounts, latenciesMicros, elapsedMs);
+        client.close();
+        vertx.close();
+    }
+    
+    private static JsonArray events(String runId, AtomicLong sequence, int batchSize, int users) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        JsonArray events = new JsonArray();
+        for (int i = 0; i < batchSize; i++) {
+            events.add(new JsonObject()
+                .put("idempotencyKey", "loadtest:" + runId + ":" + sequence.incrementAndGet())
+                .put("userId", random.nextInt(users) + 1)
+                .put("type", random.nextBoolean() ? "BROADCAST_WATCH" : "BROADCAST_PROGRESS")
+                .put("amount", "0.001"));
+        }
+        return events;
+    }
+    
+    private static void report(Map<String, AtomicLong> statusCounts, List<Long> latenciesMicros, long elapsedMs) {
+        List<Long> latencies;
+        synchronized (latenciesMicros) {
+            latencies = new ArrayList<>(latenciesMicros);
+        }
+        Collections.sort(latencies);
+        long acked = statusCounts.get("CREATED").get() + statusCounts.get("DUPLICATE").get()
+            + statusCounts.get("REJECTED").get() + statusCounts.get("FAILED").get();
+        
+        System.out.printf("elapsed: %.1fs, requests: %d, acked events: %d%n", elapsedMs / 1000.0, latencies.size(), acked);
+        System.out.printf("throughput: %.0f events/s (CREATED %.0f events/s)%n",
+            acked * 1000.0 / elapsedMs, statusCounts.get("CREATED").get() * 1000.0 / elapsedMs);
+        System.out.printf("latency: p50 %.1fms, p99 %.1fms, max %.1fms%n",
+            percentile(latencies, 0.50) / 1000.0, percentile(latencies, 0.99) / 1000.0, percentile(latencies, 1.0) / 1000.0);
+        statusCounts.forEach((status, count) -> System.out.printf("  %s: %d%n", status, count.get()));
+    }
+    
+    private static long percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+    
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int separator = arg.indexOf('=');
+                options.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,93 @@
+package com.csms.mining.service;
+
+import com.csms.admin.dto.MiningConditionDto;
+import com.csms.mining.dto.MiningEventDto;
+import com.csms.mining.repository.MiningDailyLimitRepository;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.redis.client.Redis;
+import io.vertx.redis.client.RedisAPI;
+import io.vertx.redis.client.RedisOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 일일 채굴 한도 확인/증가 벤치마크 (확인/초, 실제 Redis 필요)
+ * 실행: ./gradlew jmh (redisUrl 파라미터의 Redis에 mining:daily:* 키를 만들며, 키는 다음 날 1시간 뒤 만료)
+ * - 8개 스레드가 동시에 100건씩 확인 (수집 묶음 하나를 처리하는 상황), 회원은 userCount명 중 무작위
+ * - 레벨 한도는 켜져 있고 회원 레벨은 이벤트에 포함 (DB 조회 없음)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class MiningDailyLimiterBenchmark {
+    
+    private static final int BATCH_EVENTS = 100;
+    
+    @Param({"redis://localhost:6379"})
+    public String redisUrl;
+    
+    @Param({"100000"})
+    public int userCount;
+    
+    private Vertx vertx;
+    private Redis redis;
+    private MiningDailyLimiter limiter;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        vertx = Vertx.vertx();
+        redis = Redis.createClient(vertx, new RedisOptions()
+            .setConnectionString(redisUrl)
+            .setMaxPoolSize(8)
+            .setMaxPoolWaiting(1024));
+        MiningConditionDto conditions = MiningConditionDto.builder()
+            .levelLimitsEnabled(true)
+            .levelLimits(List.of(MiningConditionDto.LevelLimit.builder().level(1).dailyLimit(1_000_000.0).build()))
+            .build();
+        limiter = new MiningDailyLimiter(null, RedisAPI.api(redis), new MiningDailyLimitRepository(),
+            () -> Future.succeededFuture(conditions), 1, true);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        redis.close();
+        vertx.close().toCompletionStage().toCompletableFuture().join();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BATCH_EVENTS)
+    public List<BigDecimal> acquire() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime now = LocalDateTime.now();
+        List<MiningEventDto> events = new ArrayList<>(BATCH_EVENTS);
+        for (int i = 0; i < BATCH_EVENTS; i++) {
+            events.add(MiningEventDto.builder()
+                .userId((long) random.nextInt(userCount) + 1)
+                .type("BROADCAST_WATCH")
+                .amount(new BigDecimal("0.001"))
+                .level(1)
+                .occurredAt(now)
+                .build());
+        }
+        return limiter.acquire(events).toCompletionStage().toCompletableFuture().join();
+    }
+}
@@ -0,0 +1,112 @@
+package com.csms.mining.service;
+
+import com.csms.mining.dto.MiningEventAckDto;
+import com.csms.mining.dto.MiningEventDto;
+import com.csms.mining.repository.MiningEventRepository;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.sqlclient.SqlClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채굴 이벤트 수집 파이프라인 벤치마크 (이벤트/초)
+ * - 저장소는 묶음당 고정 지연(writeLatencyMs)을 흉내 내는 스텁이므로 DB 없이 묶음/동시 저장 제한의 상한을 확인
+ * - 16개 스레드가 동시에 requestEvents건씩 요청 (여러 발신 서비스가 동시에 보내는 상황)
+ * 실제 DB를 포함한 처리량은 MiningEventLoadTest로 측정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class MiningEventIngestBenchmark {
+    
+    private static final int REQUEST_EVENTS = 100;
+    
+    @Param({"5"})
+    public int lingerMs;
+    
+    @Param({"1000"})
+    public int maxBatchSize;
+    
+    @Param({"10"})
+    public int writeLatencyMs;
+    
+    private Vertx vertx;
+    private MiningEventIngestService service;
+    private final AtomicLong sequence = new AtomicLong();
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        vertx = Vertx.vertx();
+        service = new MiningEventIngestService(vertx, null, new LatencyRepository(vertx, writeLatencyMs),
+            lingerMs, maxBatchSize, 4, 200_000, REQUEST_EVENTS, 72);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        vertx.close().toCompletionStage().toCompletableFuture().join();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(REQUEST_EVENTS)
+    public Object ingest() {
+        List<MiningEventDto> events = new ArrayList<>(REQUEST_EVENTS);
+        for (int i = 0; i < REQUEST_EVENTS; i++) {
+            long seq = sequence.incrementAndGet();
+            events.add(MiningEventDto.builder()
+                .idempotencyKey("bench:" + seq)
+                .userId(seq % 10_000 + 1)
+                .type("BROADCAST_WATCH")
+                .amount(new BigDecimal("0.125"))
+                .build());
+        }
+        return service.ingest(events).toCompletionStage().toCompletableFuture().join();
+    }
+    
+    /**
+     * 묶음 크기와 무관하게 고정 지연 후 모두 CREATED로 응답하는 저장소
+     */
+    private static class LatencyRepository extends MiningEventRepository {
+        
+        private final Vertx vertx;
+        private final int latencyMs;
+        
+        LatencyRepository(Vertx vertx, int latencyMs) {
+            this.vertx = vertx;
+            this.latencyMs = latencyMs;
+        }
+        
+        @Override
+        public Future<Map<String, MiningEventAckDto>> insertEvents(SqlClient client, List<MiningEventDto> events) {
+            Promise<Map<String, MiningEventAckDto>> promise = Promise.promise();
+            vertx.setTimer(latencyMs, timerId -> {
+                Map<String, MiningEventAckDto> acks = new HashMap<>(events.size() * 2);
+                for (MiningEventDto event : events) {
+                    acks.put(event.getIdempotencyKey(), MiningEventAckDto.created(event.getIdempotencyKey(), 0L));
+                }
+                promise.complete(acks);
+            });
+            return promise.future();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.csms.verticle;
+
+import com.csms.core.factory.DefaultServiceFactory;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ApiVerticle 인스턴스 수별 /health 처리량 벤치마크 (요청/초)
+ * - 공유 ServiceFactory로 instances개를 배포하고, 같은 프로세스의 WebClient가 CONCURRENCY개 연결로 요청
+ * - DB/Redis 연결 없이 동작 (PgPool은 lazy 연결, Redis 없이 RateLimiter 미사용)
+ * 설정은 src/test/resources/config.json의 test 항목을 사용하므로 프로젝트 루트에서 실행합니다 (./gradlew jmh).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ApiVerticleInstancesBenchmark {
+    
+    private static final int PORT = 8098;
+    private static final int REQUESTS = 1000;
+    private static final int CONCURRENCY = 64;
+    
+    @Param({"1", "4"})
+    public int instances;
+    
+    private Vertx vertx;
+    private DefaultServiceFactory serviceFactory;
+    private WebClient client;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        vertx = Vertx.vertx();
+        String content = vertx.fileSystem().readFileBlocking("src/test/resources/config.json").toString();
+        JsonObject config = new JsonObject(content).getJsonObject("test").copy();
+        config.getJsonObject("http").put("port", PORT);
+        serviceFactory = DefaultServiceFactory.create(vertx, config);
+        client = WebClient.create(vertx, new WebClientOptions()
+            .setMaxPoolSize(CONCURRENCY)
+            .setKeepAlive(true));
+        vertx.deployVerticle(() -> new ApiVerticle(serviceFactory, null),
+                new DeploymentOptions().setConfig(config).setInstances(instances))
+            .toCompletionStage().toCompletableFuture().join();
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        serviceFactory.getPool().close();
+        vertx.close().toCompletionStage().toCompletableFuture().join();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public Object health() {
+        AtomicInteger remaining = new AtomicInteger(REQUESTS);
+        List<Future<Void>> workers = new ArrayList<>(CONCURRENCY);
+        for (int i = 0; i < CONCURRENCY; i++) {
+            workers.add(sendNext(remaining));
+        }
+        return Future.all(workers).toCompletionStage().toCompletableFuture().join();
+    }
+    
+    private Future<Void> sendNext(AtomicInteger remaining) {
+        if (remaining.getAndDecrement() <= 0) {
+            return Future.succeededFuture();
+        }
+        return client.get(PORT, "localhost", "/health").send()
+            .compose(response -> response.statusCode() == 200
+                ? sendNext(remaining)
+                : Future.failedFuture("Unexpected status: " + response.statusCode()));
+    }
+}
@@ -1,6 +1,15 @@
 package com.csms;
 
+import com.csms.admin.service.AdminDashboardService;
+import com.csms.admin.service.AdminReferralService;
+import com.csms.admin.service.MiningHistoryPartitionMaintenance;
+import com.csms.common.export.ExportJobManager;
 import com.csms.config.ConfigLoader;
+import com.csms.core.factory.DefaultServiceFactory;
+import com.csms.mining.service.MiningDailyLimiter;
+import com.csms.mining.service.MiningEventIngestService;
+import com.csms.mining.service.MiningLeaderboard;
+import com.csms.mining.service.RankingRewardPayoutService;
 import com.csms.verticle.ApiVerticle;
 import com.csms.verticle.EventVerticle;
 import io.vertx.core.AbstractVerticle;
@@ -12,6 +21,37 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class MainVerticle extends AbstractVerticle {
     
+    // 일별 채굴 롤업 마감 주기
+    private static final long DAILY_ROLLUP_CLOSE_INTERVAL_MS = 10 * 60 * 1000L;
+    
+    // 레퍼럴 통계 오늘 리워드/가입자 수 초기화 확인 주기
+    private static final long REFERRAL_STATS_RESET_INTERVAL_MS = 10 * 60 * 1000L;
+    
+    // 레퍼럴 그래프 전체 재적재 주기 (누락된 관계 변경 알림 보정)
+    // 변경은 평소 LISTEN 알림으로 커밋 후 약 0.5초 안에 반영되며, LISTEN을 쓸 수 없는 환경에서도 이 주기 안에는 반영됨
+    private static final long REFERRAL_GRAPH_RELOAD_INTERVAL_MS = 30 * 60 * 1000L;
+    
+    // 채굴 내역 월 파티션 사전 생성/보관 기간 분리 주기
+    private static final long MINING_HISTORY_PARTITION_INTERVAL_MS = 6 * 60 * 60 * 1000L;
+    
+    // 보관 기간이 지난 채굴 이벤트 멱등성 키 삭제 주기
+    private static final long MINING_EVENT_KEY_PRUNE_INTERVAL_MS = 60 * 60 * 1000L;
+    
+    // 일일 채굴 한도 카운터 보정 주기 (지난 날짜 마감 + 오늘 카운터를 daily_mining 기준으로 보정)
+    private static final long MINING_DAILY_LIMIT_RECONCILE_INTERVAL_MS = 30 * 60 * 1000L;
+    
+    // 추천 랭킹 동기화 주기 (1분)
+    private static final long REFERRAL_LEADERBOARD_SYNC_INTERVAL_MS = 60 * 1000L;
+    
+    // 랭킹 보드 전체 재구축 주기 (증분 반영 실패/누락 보정, 잠금으로 한 프로세스만 실행)
+    private static final long LEADERBOARD_REBUILD_INTERVAL_MS = 6 * 60 * 60 * 1000L;
+    
+    // 랭킹 보상 마감/지급 확인 주기
+    private static final long RANKING_REWARD_PAYOUT_INTERVAL_MS = 60 * 60 * 1000L;
+    
+    // 보관 기간이 지난 내보내기 작업 파일 삭제 주기
+    private static final long EXPORT_JOB_CLEANUP_INTERVAL_MS = 60 * 1000L;
+    
     private final String configPath;
     private final String environment;
     
@@ -48,11 +88,8 @@ public class MainVerticle extends AbstractVerticle {
                 ).compose(eventVerticleId -> {
                     log.info("EventVerticle deployed successfully with ID: {}", eventVerticleId);
                     
-                    // ApiVerticle 배포
-                    return vertx.deployVerticle(
-                        new ApiVerticle(),
-                        new io.vertx.core.DeploymentOptions().setConfig(config)
-                    );
+                    // ApiVerticle 배포 (http.instances 개, 같은 포트 공유)
+                    return deployApiVerticles(config);
                 });
             })
             .onSuccess(id -> {
@@ -65,6 +102,149 @@ public class MainVerticle extends AbstractVerticle {
             });
     }
     
+    /**
+     * ServiceFactory(PgPool, JWTAuth)와 Redis를 한 번만 생성하고
+     * http.instances 개의 ApiVerticle이 이를 공유하도록 배포
+     */
+    private Future<String> deployApiVerticles(JsonObject config) {
+        int instances = DefaultServiceFactory.resolveHttpInstances(config);
+        DefaultServiceFactory serviceFactory = DefaultServiceFactory.create(vertx, config);
+        
+        return ApiVerticle.connectRedis(vertx, config)
+            .compose(redisApi -> {
+                ApiVerticle.applyRateLimiter(serviceFactory, redisApi);
+                log.info("Deploying {} ApiVerticle instance(s)", instances);
+                return vertx.deployVerticle(
+                    () -> new ApiVerticle(serviceFactory, redisApi),
+                    new io.vertx.core.DeploymentOptions().setConfig(config).setInstances(instances)
+                );
+            })
+            .onSuccess(id -> {
+                scheduleDailyMiningRollupCloseOut(serviceFactory);
+                scheduleReferralGraphReload(serviceFactory);
+                scheduleReferralStatsDailyReset(serviceFactory);
+                scheduleExportJobCleanup(serviceFactory);
+                scheduleMiningHistoryPartitionMaintenance(serviceFactory);
+                scheduleMiningEventKeyPrune(serviceFactory);
+                scheduleMiningDailyLimitReconcile(serviceFactory);
+                scheduleLeaderboardMaintenance(serviceFactory);
+                scheduleRankingRewardPayout(serviceFactory);
+                startReferralRewardDistribution(serviceFactory);
+            });
+    }
+    
+    /**
+     * 지난 날짜의 일별 채굴 롤업을 주기적으로 마감 (기동 시 1회 + 주기 실행)
+     * 마감 함수는 DB advisory lock으로 직렬화되고 멱등이므로 여러 프로세스에서 실행되어도 안전
+     */
+    private void scheduleDailyMiningRollupCloseOut(DefaultServiceFactory serviceFactory) {
+        AdminDashboardService dashboardService = serviceFactory.getAdminDashboardService();
+        dashboardService.closeDailyMiningRollups();
+        vertx.setPeriodic(DAILY_ROLLUP_CLOSE_INTERVAL_MS, timerId -> dashboardService.closeDailyMiningRollups());
+    }
+    
+    /**
+     * 레퍼럴 그래프 적재 (기동 시 1회 + 주기 실행) 및 관계 변경 알림 수신 시작
+     * 적재 전/실패 시 관리자 레퍼럴 조회는 SQL로 대체되므로 기동을 막지 않음
+     */
+    private void scheduleReferralGraphReload(DefaultServiceFactory serviceFactory) {
+        AdminReferralService referralService = serviceFactory.getAdminReferralService();
+        referralService.reloadReferralGraph();
+        serviceFactory.getReferralRelationListener().start();
+        vertx.setPeriodic(REFERRAL_GRAPH_RELOAD_INTERVAL_MS, timerId -> referralService.reloadReferralGraph());
+    }
+    
+    /**
+     * 레퍼럴 통계의 날짜가 지난 today_* 값 초기화 (기동 시 1회 + 주기 실행)
+     * 초기화 함수는 날짜가 지난 행만 갱신하므로 여러 프로세스에서 실행되어도 안전
+     */
+    private void scheduleReferralStatsDailyReset(DefaultServiceFactory serviceFactory) {
+        AdminReferralService referralService = serviceFactory.getAdminReferralService();
+        referralService.resetReferralStatsToday();
+        vertx.setPeriodic(REFERRAL_STATS_RESET_INTERVAL_MS, timerId -> referralService.resetReferralStatsToday());
+    }
+    
+    /**
+     * 보관 기간(export_jobs.ttl_minutes)이 지난 내보내기 작업과 파일 삭제 (주기 실행)
+     * 이전 실행에서 남은 파일은 ExportJobManager 생성 시 삭제됨
+     */
+    private void scheduleExportJobCleanup(DefaultServiceFactory serviceFactory) {
+        ExportJobManager exportJobManager = serviceFactory.getExportJobManager();
+        vertx.setPeriodic(EXPORT_JOB_CLEANUP_INTERVAL_MS, timerId -> exportJobManager.cleanupExpired());
+    }
+    
+    /**
+     * 채굴 내역 월 파티션 사전 생성 및 보관 기간이 지난 파티션 분리 (기동 시 1회 + 주기 실행)
+     * 파티션 함수는 DB advisory lock으로 직렬화되고 멱등이므로 여러 프로세스에서 실행되어도 안전
+     */
+    private void scheduleMiningHistoryPartitionMaintenance(DefaultServiceFactory serviceFactory) {
+        MiningHistoryPartitionMaintenance maintenance = serviceFactory.getMiningHistoryPartitionMaintenance();
+        maintenance.run();
+        vertx.setPeriodic(MINING_HISTORY_PARTITION_INTERVAL_MS, timerId -> maintenance.run());
+    }
+    
+    /**
+     * 보관 기간(mining_ingest.idempotency_retention_hours)이 지난 채굴 이벤트 멱등성 키 삭제 (기동 시 1회 + 주기 실행)
+     * 삭제는 묶음 단위로 반복되고 멱등이므로 여러 프로세스에서 실행되어도 안전
+     */
+    private void scheduleMiningEventKeyPrune(DefaultServiceFactory serviceFactory) {
+        MiningEventIngestService ingestService = serviceFactory.getMiningEventIngestService();
+        ingestService.pruneIdempotencyKeys();
+        vertx.setPeriodic(MINING_EVENT_KEY_PRUNE_INTERVAL_MS, timerId -> ingestService.pruneIdempotencyKeys());
+    }
+    
+    /**
+     * 일일 채굴 한도 카운터 보정 (기동 시 1회 + 주기 실행, Redis 미연결 시 생략)
+     * 카운터를 DB 값보다 작을 때만 올리므로 여러 프로세스에서 실행되어도 안전
+     */
+    private void scheduleMiningDailyLimitReconcile(DefaultServiceFactory serviceFactory) {
+        MiningDailyLimiter dailyLimiter = serviceFactory.getMiningDailyLimiter();
+        if (dailyLimiter == null) {
+            log.warn("Redis not connected - mining daily limits are not enforced");
+            return;
+        }
+        dailyLimiter.reconcile();
+        vertx.setPeriodic(MINING_DAILY_LIMIT_RECONCILE_INTERVAL_MS, timerId -> dailyLimiter.reconcile());
+    }
+    
+    /**
+     * 랭킹 보드가 없으면 재구축(기동 시 1회) + 주기 재구축 + 추천 랭킹 주기 동기화 (Redis 미연결 시 생략)
+     * 재구축은 Redis 잠금으로 직렬화되고 동기화는 점수를 덮어쓰므로 여러 프로세스에서 실행되어도 안전
+     */
+    private void scheduleLeaderboardMaintenance(DefaultServiceFactory serviceFactory) {
+        MiningLeaderboard leaderboard = serviceFactory.getMiningLeaderboard();
+        if (leaderboard == null) {
+            log.warn("Redis not connected - dashboard rankings are read from SQL");
+            return;
+        }
+        leaderboard.rebuildIfMissing()
+            .onComplete(ar -> {
+                vertx.setPeriodic(REFERRAL_LEADERBOARD_SYNC_INTERVAL_MS, timerId -> leaderboard.syncReferrals());
+                vertx.setPeriodic(LEADERBOARD_REBUILD_INTERVAL_MS, timerId -> leaderboard.rebuild());
+            });
+    }
+    
+    /**
+     * 마감된 기간의 랭킹 보상 스냅샷/지급 (기동 시 1회 + 주기 실행, 중단된 지급도 이어서 처리)
+     * 스냅샷은 기간별 1건이고 지급 항목은 SKIP LOCKED로 나누어 처리하므로 여러 프로세스에서 실행되어도 안전
+     */
+    private void scheduleRankingRewardPayout(DefaultServiceFactory serviceFactory) {
+        RankingRewardPayoutService payoutService = serviceFactory.getRankingRewardPayoutService();
+        if (!payoutService.isEnabled()) {
+            log.info("Ranking reward payout disabled");
+            return;
+        }
+        payoutService.runDue();
+        vertx.setPeriodic(RANKING_REWARD_PAYOUT_INTERVAL_MS, timerId -> payoutService.runDue());
+    }
+    
+    /**
+     * 레퍼럴 리워드 분배 작업자 시작 (대기열은 SKIP LOCKED로 나누어 처리하므로 여러 프로세스에서 실행되어도 안전)
+     */
+    private void startReferralRewardDistribution(DefaultServiceFactory serviceFactory) {
+        serviceFactory.getReferralRewardDistributor().start();
+    }
+    
     @Override
     public void stop(Promise<Void> stopPromise) throws Exception {
         log.info("Stopping CSMS MainVerticle...");
@@ -16,4 +16,5 @@ public class AirdropTransferListDto {
     private Integer total;
     private Integer limit;
     private Integer offset;
+    private String nextCursor;
 }
@@ -0,0 +1,21 @@
+package com.csms.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class CumulativeBackfillJobDto {
+    private String jobId;
+    private String status; // RUNNING, COMPLETED, FAILED
+    private Integer processedUserCount; // 지금까지 처리한 사용자 수
+    private String errorMessage;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+}
@@ -19,6 +19,7 @@ public class MiningHistoryDetailDto {
     private Integer total;
     private Integer limit;
     private Integer offset;
+    private String nextCursor;
     private Summary summary;
     
     @Data
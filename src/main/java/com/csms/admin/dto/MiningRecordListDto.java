@@ -16,5 +16,6 @@ public class MiningRecordListDto {
     private Integer total;
     private Integer limit;
     private Integer offset;
+    private String nextCursor;
 }
 
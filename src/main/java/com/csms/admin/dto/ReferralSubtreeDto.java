@@ -0,0 +1,23 @@
+package com.csms.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReferralSubtreeDto {
+    private Long userId;
+    private Long downlineSize; // 전체 하부 회원 수
+    private Integer childCount; // 직속 하부 회원 수
+    private List<Integer> depthCounts; // 깊이별 하부 회원 수 (index 0 = 1단계)
+    private List<Long> childIds; // 직속 하부 회원 ID (페이지)
+    private Integer limit;
+    private Integer offset;
+    private String source; // GRAPH, SQL
+}
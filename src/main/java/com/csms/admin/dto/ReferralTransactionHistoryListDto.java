@@ -16,5 +16,6 @@ public class ReferralTransactionHistoryListDto {
     private Integer total;
     private Integer limit;
     private Integer offset;
+    private String nextCursor;
 }
 
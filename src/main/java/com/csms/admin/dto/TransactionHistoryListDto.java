@@ -17,6 +17,7 @@ public class TransactionHistoryListDto {
     private Integer total;
     private Integer limit;
     private Integer offset;
+    private String nextCursor;
     private BigDecimal totalPaymentDepositAmount;
     private BigDecimal totalTokenDepositAmount;
     private BigDecimal totalWithdrawalAmount;
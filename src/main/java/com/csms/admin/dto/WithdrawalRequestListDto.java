@@ -17,6 +17,7 @@ public class WithdrawalRequestListDto {
     private Integer total;
     private Integer limit;
     private Integer offset;
+    private String nextCursor;
     private BigDecimal totalWithdrawalAmount;
     private BigDecimal totalFeeRevenue;
 }
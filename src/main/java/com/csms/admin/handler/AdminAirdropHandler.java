@@ -59,8 +59,9 @@ public class AdminAirdropHandler extends BaseHandler {
             Long userId = getQueryParamAsLong(ctx, "userId");
             Integer phase = getQueryParamAsInteger(ctx, "phase");
             String status = ctx.queryParams().get("status");
+            String cursor = ctx.queryParams().get("cursor");
             
-            service.getPhases(limit, offset, searchCategory, searchKeyword, userId, phase, status)
+            service.getPhases(limit, offset, searchCategory, searchKeyword, userId, phase, status, cursor)
                 .onSuccess(result -> {
                     success(ctx, result);
                 })
@@ -147,8 +148,9 @@ public class AdminAirdropHandler extends BaseHandler {
             String searchKeyword = ctx.queryParams().get("searchKeyword");
             Long userId = getQueryParamAsLong(ctx, "userId");
             String status = ctx.queryParams().get("status");
+            String cursor = ctx.queryParams().get("cursor");
             
-            service.getTransfers(limit, offset, searchCategory, searchKeyword, userId, status)
+            service.getTransfers(limit, offset, searchCategory, searchKeyword, userId, status, cursor)
                 .onSuccess(result -> {
                     success(ctx, result);
                 })
@@ -0,0 +1,93 @@
+package com.csms.admin.handler;
+
+import com.csms.common.enums.UserRole;
+import com.csms.common.export.ExcelExportStreamer;
+import com.csms.common.export.ExportJob;
+import com.csms.common.export.ExportJobManager;
+import com.csms.common.handler.BaseHandler;
+import com.csms.common.utils.AuthUtils;
+import com.csms.common.utils.ByteRange;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.auth.jwt.JWTAuth;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.JWTAuthHandler;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 비동기 내보내기 작업 조회/다운로드
+ * 작업 등록은 각 도메인 핸들러의 POST .../export-jobs에서 처리합니다.
+ */
+@Slf4j
+public class AdminExportJobHandler extends BaseHandler {
+    
+    private final ExportJobManager exportJobManager;
+    private final JWTAuth jwtAuth;
+    
+    public AdminExportJobHandler(Vertx vertx, ExportJobManager exportJobManager, JWTAuth jwtAuth) {
+        super(vertx);
+        this.exportJobManager = exportJobManager;
+        this.jwtAuth = jwtAuth;
+    }
+    
+    @Override
+    public Router getRouter() {
+        Router router = Router.router(getVertx());
+        
+        // 인증 및 권한 체크 미들웨어
+        router.route().handler(JWTAuthHandler.create(jwtAuth));
+        router.route().handler(AuthUtils.hasRole(UserRole.ADMIN, UserRole.SUPER_ADMIN));
+        
+        router.get("/:jobId").handler(this::getExportJob);
+        router.get("/:jobId/file").handler(this::downloadExportFile);
+        
+        return router;
+    }
+    
+    private void getExportJob(RoutingContext ctx) {
+        String jobId = ctx.pathParam("jobId");
+        Long adminId = AuthUtils.getUserIdOf(ctx.user());
+        response(ctx, Future.succeededFuture().map(v -> exportJobManager.getJob(jobId, adminId)),
+            job -> job.toDto(EXPORT_JOB_PATH + "/" + job.getId() + "/file"));
+    }
+    
+    /**
+     * 완료 파일 다운로드 (Range 요청 지원 - 중단된 다운로드 이어받기)
+     */
+    private void downloadExportFile(RoutingContext ctx) {
+        ExportJob job;
+        try {
+            job = exportJobManager.getCompletedJob(ctx.pathParam("jobId"), AuthUtils.getUserIdOf(ctx.user()));
+        } catch (Exception e) {
+            ctx.fail(e);
+            return;
+        }
+        
+        long size = job.getFileSize();
+        String path = job.getFile().toString();
+        HttpServerResponse response = ctx.response()
+            .putHeader(HttpHeaders.CONTENT_TYPE, ExcelExportStreamer.CONTENT_TYPE)
+            .putHeader("Content-Disposition", "attachment; filename=\"" + job.getFileName() + "\"")
+            .putHeader(HttpHeaders.ACCEPT_RANGES, "bytes")
+            // 완료 파일은 변경되지 않으므로 작업 ID를 ETag로 사용
+            .putHeader(HttpHeaders.ETAG, "\"" + job.getId() + "\"");
+        
+        ByteRange range = ByteRange.parse(ctx.request().getHeader(HttpHeaders.RANGE), size);
+        Future<Void> sent;
+        if (range == null) {
+            sent = response.setStatusCode(200).sendFile(path);
+        } else if (!range.isSatisfiable()) {
+            sent = response.setStatusCode(416)
+                .putHeader(HttpHeaders.CONTENT_RANGE, range.contentRange(size))
+                .end();
+        } else {
+            sent = response.setStatusCode(206)
+                .putHeader(HttpHeaders.CONTENT_RANGE, range.contentRange(size))
+                .sendFile(path, range.start(), range.length());
+        }
+        sent.onFailure(err -> log.warn("Export file download failed - jobId: {}", job.getId(), err));
+    }
+}
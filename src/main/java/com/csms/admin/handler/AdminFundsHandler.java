@@ -3,6 +3,7 @@ package com.csms.admin.handler;
 import com.csms.admin.dto.UpdateWithdrawalStatusRequestDto;
 import com.csms.admin.service.AdminFundsService;
 import com.csms.common.enums.UserRole;
+import com.csms.common.export.ExportJobManager;
 import com.csms.common.handler.BaseHandler;
 import com.csms.common.utils.AuthUtils;
 import com.csms.common.utils.ErrorHandler;
@@ -23,11 +24,13 @@ public class AdminFundsHandler extends BaseHandler {
     
     private final AdminFundsService fundsService;
     private final JWTAuth jwtAuth;
+    private final ExportJobManager exportJobManager;
     
-    public AdminFundsHandler(Vertx vertx, AdminFundsService fundsService, JWTAuth jwtAuth) {
+    public AdminFundsHandler(Vertx vertx, AdminFundsService fundsService, JWTAuth jwtAuth, ExportJobManager exportJobManager) {
         super(vertx);
         this.fundsService = fundsService;
         this.jwtAuth = jwtAuth;
+        this.exportJobManager = exportJobManager;
     }
     
     @Override
@@ -42,10 +45,12 @@ public class AdminFundsHandler extends BaseHandler {
         router.get("/withdrawal-request").handler(this::getWithdrawalRequests);
         router.patch("/withdrawal-request/:id/status").handler(this::updateWithdrawalStatus);
         router.get("/withdrawal-request/export").handler(this::exportWithdrawalRequests);
+        router.post("/withdrawal-request/export-jobs").handler(this::createWithdrawalRequestsExportJob);
         
         // 거래내역 관리
         router.get("/transaction-history").handler(this::getTransactionHistory);
         router.get("/transaction-history/export").handler(this::exportTransactionHistory);
+        router.post("/transaction-history/export-jobs").handler(this::createTransactionHistoryExportJob);
         
         return router;
     }
@@ -62,10 +67,11 @@ public class AdminFundsHandler extends BaseHandler {
             String searchCategory = ctx.queryParams().get("searchCategory");
             String searchKeyword = ctx.queryParams().get("searchKeyword");
             String status = ctx.queryParams().get("status");
+            String cursor = ctx.queryParams().get("cursor");
             
             fundsService.getWithdrawalRequests(
                 limit, offset, dateRange, startDate, endDate,
-                network, currencyCode, searchCategory, searchKeyword, status
+                network, currencyCode, searchCategory, searchKeyword, status, cursor
             )
             .onSuccess(result -> {
                 success(ctx, result);
@@ -114,22 +120,11 @@ public class AdminFundsHandler extends BaseHandler {
             String searchKeyword = ctx.queryParams().get("searchKeyword");
             String status = ctx.queryParams().get("status");
             
-            fundsService.exportWithdrawalRequests(
+            String fileName = "withdrawal_requests_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+            sendExport(ctx, fileName, fundsService.exportWithdrawalRequests(
                 dateRange, startDate, endDate,
                 network, currencyCode, searchCategory, searchKeyword, status
-            )
-            .onSuccess(buffer -> {
-                String fileName = "withdrawal_requests_" + 
-                    LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".xlsx";
-                
-                ctx.response()
-                    .setStatusCode(200)
-                    .putHeader("Content-Type", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
-                    .putHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"")
-                    .putHeader("Content-Length", String.valueOf(buffer.length()))
-                    .end(buffer);
-            })
-            .onFailure(err -> {
+            ), err -> {
                 log.error("Failed to export withdrawal requests", err);
                 ErrorHandler.handle(ctx);
             });
@@ -139,6 +134,24 @@ public class AdminFundsHandler extends BaseHandler {
         }
     }
     
+    private void createWithdrawalRequestsExportJob(RoutingContext ctx) {
+        try {
+            JsonObject params = getExportJobParams(ctx);
+            submitExportJob(ctx, exportJobManager, "withdrawal_requests", params, "withdrawal_requests", () -> fundsService.exportWithdrawalRequests(
+                params.getString("dateRange"),
+                params.getString("startDate"),
+                params.getString("endDate"),
+                params.getString("network"),
+                params.getString("currencyCode"),
+                params.getString("searchCategory"),
+                params.getString("searchKeyword"),
+                params.getString("status")
+            ));
+        } catch (Exception e) {
+            ctx.fail(e);
+        }
+    }
+    
     private void getTransactionHistory(RoutingContext ctx) {
         try {
             Integer limit = getQueryParamAsInteger(ctx, "limit", 20);
@@ -151,10 +164,11 @@ public class AdminFundsHandler extends BaseHandler {
             String searchCategory = ctx.queryParams().get("searchCategory");
             String searchKeyword = ctx.queryParams().get("searchKeyword");
             String status = ctx.queryParams().get("status");
+            String cursor = ctx.queryParams().get("cursor");
             
             fundsService.getTransactionHistory(
                 limit, offset, dateRange, startDate, endDate,
-                transactionType, currencyCode, searchCategory, searchKeyword, status
+                transactionType, currencyCode, searchCategory, searchKeyword, status, cursor
             )
             .onSuccess(result -> {
                 success(ctx, result);
@@ -180,22 +194,11 @@ public class AdminFundsHandler extends BaseHandler {
             String searchKeyword = ctx.queryParams().get("searchKeyword");
             String status = ctx.queryParams().get("status");
             
-            fundsService.exportTransactionHistory(
+            String fileName = "transaction_history_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+            sendExport(ctx, fileName, fundsService.exportTransactionHistory(
                 dateRange, startDate, endDate,
                 transactionType, currencyCode, searchCategory, searchKeyword, status
-            )
-            .onSuccess(buffer -> {
-                String fileName = "transaction_history_" + 
-                    LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".xlsx";
-                
-                ctx.response()
-                    .setStatusCode(200)
-                    .putHeader("Content-Type", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
-                    .putHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"")
-                    .putHeader("Content-Length", String.valueOf(buffer.length()))
-                    .end(buffer);
-            })
-            .onFailure(err -> {
+            ), err -> {
                 log.error("Failed to export transaction history", err);
                 ErrorHandler.handle(ctx);
             });
@@ -204,5 +207,23 @@ public class AdminFundsHandler extends BaseHandler {
             ErrorHandler.handle(ctx);
         }
     }
+    
+    private void createTransactionHistoryExportJob(RoutingContext ctx) {
+        try {
+            JsonObject params = getExportJobParams(ctx);
+            submitExportJob(ctx, exportJobManager, "transaction_history", params, "transaction_history", () -> fundsService.exportTransactionHistory(
+                params.getString("dateRange"),
+                params.getString("startDate"),
+                params.getString("endDate"),
+                params.getString("transactionType"),
+                params.getString("currencyCode"),
+                params.getString("searchCategory"),
+                params.getString("searchKeyword"),
+                params.getString("status")
+            ));
+        } catch (Exception e) {
+            ctx.fail(e);
+        }
+    }
 }
 
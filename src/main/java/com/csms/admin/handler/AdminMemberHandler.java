@@ -2,13 +2,19 @@ package com.csms.admin.handler;
 
 import com.csms.admin.dto.*;
 import com.csms.admin.service.*;
+import com.csms.common.enums.UserRole;
+import com.csms.common.exceptions.BadRequestException;
+import com.csms.common.export.ExportJobManager;
 import com.csms.common.handler.BaseHandler;
+import com.csms.common.utils.AuthUtils;
 import com.csms.common.utils.ErrorHandler;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.jwt.JWTAuth;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.JWTAuthHandler;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.LocalDateTime;
@@ -18,13 +24,19 @@ import java.time.format.DateTimeFormatter;
 public class AdminMemberHandler extends BaseHandler {
     
     private final AdminMemberService service;
+    private final JWTAuth jwtAuth;
+    private final ExportJobManager exportJobManager;
     
     public AdminMemberHandler(
         Vertx vertx,
-        AdminMemberService service
+        AdminMemberService service,
+        JWTAuth jwtAuth,
+        ExportJobManager exportJobManager
     ) {
         super(vertx);
         this.service = service;
+        this.jwtAuth = jwtAuth;
+        this.exportJobManager = exportJobManager;
     }
     
     public Router getRouter() {
@@ -39,10 +51,18 @@ public class AdminMemberHandler extends BaseHandler {
         router.post("/kori-points/adjust").handler(this::adjustKoriPoint);
         router.get("/:id/wallets").handler(this::getMemberWallets);
         router.get("/export").handler(this::exportMembers);
+        router.post("/export-jobs")
+            .handler(JWTAuthHandler.create(jwtAuth))
+            .handler(AuthUtils.hasRole(UserRole.ADMIN, UserRole.SUPER_ADMIN))
+            .handler(this::createMembersExportJob);
         
         // Mining History (회원별 채굴 내역)
         router.get("/:userId/mining-history").handler(this::getMiningHistory);
         router.get("/:userId/mining-history/export").handler(this::exportMiningHistory);
+        router.post("/:userId/mining-history/export-jobs")
+            .handler(JWTAuthHandler.create(jwtAuth))
+            .handler(AuthUtils.hasRole(UserRole.ADMIN, UserRole.SUPER_ADMIN))
+            .handler(this::createMiningHistoryExportJob);
         
         return router;
     }
@@ -209,28 +229,31 @@ public class AdminMemberHandler extends BaseHandler {
             String activityStatus = ctx.queryParams().get("activityStatus");
             String sanctionStatus = ctx.queryParams().get("sanctionStatus");
             
-            service.exportMembers(searchCategory, searchKeyword, activityStatus, sanctionStatus)
-                .onSuccess(buffer -> {
-                    // 파일명 생성 (현재 날짜시간 포함)
-                    String fileName = "members_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".xlsx";
-                    
-                    ctx.response()
-                        .setStatusCode(200)
-                        .putHeader("Content-Type", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
-                        .putHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"")
-                        .putHeader("Content-Length", String.valueOf(buffer.length()))
-                        .end(buffer);
-                })
-                .onFailure(err -> {
-                    log.error("Failed to export members", err);
-                    ErrorHandler.handle(ctx);
-                });
+            String fileName = "members_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+            sendExport(ctx, fileName, service.exportMembers(searchCategory, searchKeyword, activityStatus, sanctionStatus), err -> {
+                log.error("Failed to export members", err);
+                ErrorHandler.handle(ctx);
+            });
         } catch (Exception e) {
             log.error("Error in exportMembers", e);
             ErrorHandler.handle(ctx);
         }
     }
     
+    private void createMembersExportJob(RoutingContext ctx) {
+        try {
+            JsonObject params = getExportJobParams(ctx);
+            submitExportJob(ctx, exportJobManager, "members", params, "members", () -> service.exportMembers(
+                params.getString("searchCategory"),
+                params.getString("searchKeyword"),
+                params.getString("activityStatus"),
+                params.getString("sanctionStatus")
+            ));
+        } catch (Exception e) {
+            ctx.fail(e);
+        }
+    }
+    
     // Mining History (회원별 채굴 내역)
     private void getMiningHistory(RoutingContext ctx) {
         try {
@@ -238,8 +261,9 @@ public class AdminMemberHandler extends BaseHandler {
             Integer limit = getQueryParamAsInteger(ctx, "limit", 20);
             Integer offset = getQueryParamAsInteger(ctx, "offset", 0);
             String dateRange = ctx.queryParams().get("dateRange");
+            String cursor = ctx.queryParams().get("cursor");
             
-            service.getMiningHistory(userId, limit, offset, dateRange)
+            service.getMiningHistory(userId, limit, offset, dateRange, cursor)
                 .onSuccess(result -> {
                     success(ctx, result);
                 })
@@ -261,21 +285,11 @@ public class AdminMemberHandler extends BaseHandler {
             Long userId = Long.parseLong(ctx.pathParam("userId"));
             String dateRange = ctx.queryParams().get("dateRange");
             
-            service.exportMiningHistory(userId, dateRange)
-                .onSuccess(buffer -> {
-                    String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-                    String filename = "mining_history_" + userId + "_" + timestamp + ".xlsx";
-                    
-                    ctx.response()
-                        .putHeader("Content-Type", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
-                        .putHeader("Content-Disposition", "attachment; filename=\"" + filename + "\"")
-                        .putHeader("Content-Length", String.valueOf(buffer.length()))
-                        .end(buffer);
-                })
-                .onFailure(throwable -> {
-                    ctx.fail(throwable);
-                    ErrorHandler.handle(ctx);
-                });
+            String fileName = "mining_history_" + userId + "_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+            sendExport(ctx, fileName, service.exportMiningHistory(userId, dateRange), throwable -> {
+                ctx.fail(throwable);
+                ErrorHandler.handle(ctx);
+            });
         } catch (NumberFormatException e) {
             ctx.fail(400, new IllegalArgumentException("Invalid user ID"));
             ErrorHandler.handle(ctx);
@@ -285,5 +299,18 @@ public class AdminMemberHandler extends BaseHandler {
         }
     }
     
+    private void createMiningHistoryExportJob(RoutingContext ctx) {
+        try {
+            Long userId = Long.parseLong(ctx.pathParam("userId"));
+            JsonObject params = getExportJobParams(ctx).put("userId", userId.toString());
+            submitExportJob(ctx, exportJobManager, "mining_history", params, "mining_history_" + userId,
+                () -> service.exportMiningHistory(userId, params.getString("dateRange")));
+        } catch (NumberFormatException e) {
+            ctx.fail(new BadRequestException("Invalid user ID"));
+        } catch (Exception e) {
+            ctx.fail(e);
+        }
+    }
+    
 }
 
@@ -0,0 +1,66 @@
+package com.csms.admin.handler;
+
+import com.csms.common.enums.UserRole;
+import com.csms.common.handler.BaseHandler;
+import com.csms.common.service.ResultCache;
+import com.csms.common.utils.AuthUtils;
+import com.csms.common.utils.PasswordHashExecutor;
+import com.csms.mining.service.MiningEventIngestService;
+import com.csms.mining.service.ReferralRewardDistributor;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.jwt.JWTAuth;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.JWTAuthHandler;
+
+/**
+ * 내부 운영 지표 조회 (관리자 전용)
+ * 스레드 풀/대기열/캐시 상태는 내부 정보이므로 인증 없는 /health에는 노출하지 않습니다.
+ */
+public class AdminMetricsHandler extends BaseHandler {
+    
+    private final JWTAuth jwtAuth;
+    private final PasswordHashExecutor passwordHashExecutor;
+    private final ResultCache resultCache;
+    private final MiningEventIngestService miningEventIngestService;
+    private final ReferralRewardDistributor referralRewardDistributor;
+    
+    public AdminMetricsHandler(
+        Vertx vertx,
+        JWTAuth jwtAuth,
+        PasswordHashExecutor passwordHashExecutor,
+        ResultCache resultCache,
+        MiningEventIngestService miningEventIngestService,
+        ReferralRewardDistributor referralRewardDistributor
+    ) {
+        super(vertx);
+        this.jwtAuth = jwtAuth;
+        this.passwordHashExecutor = passwordHashExecutor;
+        this.resultCache = resultCache;
+        this.miningEventIngestService = miningEventIngestService;
+        this.referralRewardDistributor = referralRewardDistributor;
+    }
+    
+    @Override
+    public Router getRouter() {
+        Router router = Router.router(getVertx());
+        
+        // 인증 및 권한 체크 미들웨어
+        router.route().handler(JWTAuthHandler.create(jwtAuth));
+        router.route().handler(AuthUtils.hasRole(UserRole.ADMIN, UserRole.SUPER_ADMIN));
+        
+        router.get("/").handler(this::getMetrics);
+        
+        return router;
+    }
+    
+    private void getMetrics(RoutingContext ctx) {
+        success(ctx, new JsonObject()
+            .put("timestamp", System.currentTimeMillis())
+            .put("passwordHashing", passwordHashExecutor.getMetrics())
+            .put("resultCache", resultCache.getMetrics())
+            .put("miningIngest", miningEventIngestService.getMetrics())
+            .put("referralRewards", referralRewardDistributor.getMetrics()));
+    }
+}
@@ -2,29 +2,53 @@ package com.csms.admin.handler;
 
 import com.csms.admin.dto.*;
 import com.csms.admin.service.*;
+import com.csms.common.enums.UserRole;
+import com.csms.common.exceptions.BadRequestException;
+import com.csms.common.exceptions.NotFoundException;
+import com.csms.common.exceptions.ServiceUnavailableException;
+import com.csms.common.export.ExportJobManager;
 import com.csms.common.handler.BaseHandler;
+import com.csms.common.utils.AuthUtils;
 import com.csms.common.utils.ErrorHandler;
+import com.csms.mining.service.MiningLeaderboard;
+import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.jwt.JWTAuth;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.JWTAuthHandler;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 
 @Slf4j
 public class AdminMiningHandler extends BaseHandler {
     
     private final AdminMiningService miningService;
+    private final MiningLeaderboard leaderboard;
+    private final JWTAuth jwtAuth;
+    private final ExportJobManager exportJobManager;
     
+    /**
+     * @param leaderboard 랭킹 (null이면 랭킹 API는 503, Redis 미연결 시)
+     */
     public AdminMiningHandler(
         Vertx vertx,
-        AdminMiningService miningService
+        AdminMiningService miningService,
+        MiningLeaderboard leaderboard,
+        JWTAuth jwtAuth,
+        ExportJobManager exportJobManager
     ) {
         super(vertx);
         this.miningService = miningService;
+        this.leaderboard = leaderboard;
+        this.jwtAuth = jwtAuth;
+        this.exportJobManager = exportJobManager;
     }
     
     public Router getRouter() {
@@ -33,6 +57,12 @@ public class AdminMiningHandler extends BaseHandler {
         // Mining Records
         router.get("/records").handler(this::getMiningRecords);
         router.get("/records/export").handler(this::exportMiningRecords);
+        router.post("/records/export-jobs")
+            .handler(JWTAuthHandler.create(jwtAuth))
+            .handler(AuthUtils.hasRole(UserRole.ADMIN, UserRole.SUPER_ADMIN))
+            .handler(this::createMiningRecordsExportJob);
+        router.post("/records/cumulative/backfill").handler(this::startCumulativeBackfill);
+        router.get("/records/cumulative/backfill/:jobId").handler(this::getCumulativeBackfillJob);
         
         // Mining Conditions
         router.get("/conditions").handler(this::getMiningConditions);
@@ -48,6 +78,11 @@ public class AdminMiningHandler extends BaseHandler {
         // Mining History List
         router.get("/history").handler(this::getMiningHistoryList);
         router.get("/history/export").handler(this::exportMiningHistoryList);
+        router.post("/history/export-jobs")
+            .handler(JWTAuthHandler.create(jwtAuth))
+            .handler(AuthUtils.hasRole(UserRole.ADMIN, UserRole.SUPER_ADMIN))
+            .handler(this::createMiningHistoryListExportJob);
+        router.post("/history/totals/rebuild").handler(this::rebuildUserMiningTotals);
         
         // Referral Bonus
         router.get("/referral-bonus").handler(this::getReferralBonus);
@@ -57,6 +92,11 @@ public class AdminMiningHandler extends BaseHandler {
         router.get("/ranking-reward").handler(this::getRankingReward);
         router.patch("/ranking-reward").handler(this::updateRankingReward);
         
+        // Ranking (Leaderboard)
+        router.get("/ranking").handler(this::getRanking);
+        router.get("/ranking/users/:userId").handler(this::getUserRanking);
+        router.post("/ranking/rebuild").handler(this::rebuildRanking);
+        
         return router;
     }
     
@@ -70,6 +110,7 @@ public class AdminMiningHandler extends BaseHandler {
             String searchCategory = ctx.queryParams().get("searchCategory");
             String searchKeyword = ctx.queryParams().get("searchKeyword");
             String activityStatus = ctx.queryParams().get("activityStatus");
+            String cursor = ctx.queryParams().get("cursor");
             
             miningService.getMiningRecords(
                 limit,
@@ -79,7 +120,8 @@ public class AdminMiningHandler extends BaseHandler {
                 endDate,
                 searchCategory,
                 searchKeyword,
-                activityStatus
+                activityStatus,
+                cursor
             ).onSuccess(result -> {
                 success(ctx, result);
             }).onFailure(throwable -> {
@@ -101,23 +143,15 @@ public class AdminMiningHandler extends BaseHandler {
             String searchKeyword = ctx.queryParams().get("searchKeyword");
             String activityStatus = ctx.queryParams().get("activityStatus");
             
-            miningService.exportMiningRecords(
+            String fileName = "mining_records_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+            sendExport(ctx, fileName, miningService.exportMiningRecords(
                 dateRange,
                 startDate,
                 endDate,
                 searchCategory,
                 searchKeyword,
                 activityStatus
-            ).onSuccess(buffer -> {
-                String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-                String filename = "mining_records_" + timestamp + ".xlsx";
-                
-                ctx.response()
-                    .putHeader("Content-Type", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
-                    .putHeader("Content-Disposition", "attachment; filename=\"" + filename + "\"")
-                    .putHeader("Content-Length", String.valueOf(buffer.length()))
-                    .end(buffer);
-            }).onFailure(throwable -> {
+            ), throwable -> {
                 ctx.fail(throwable);
                 ErrorHandler.handle(ctx);
             });
@@ -127,6 +161,40 @@ public class AdminMiningHandler extends BaseHandler {
         }
     }
     
+    private void createMiningRecordsExportJob(RoutingContext ctx) {
+        try {
+            JsonObject params = getExportJobParams(ctx);
+            submitExportJob(ctx, exportJobManager, "mining_records", params, "mining_records", () -> miningService.exportMiningRecords(
+                params.getString("dateRange"),
+                params.getString("startDate"),
+                params.getString("endDate"),
+                params.getString("searchCategory"),
+                params.getString("searchKeyword"),
+                params.getString("activityStatus")
+            ));
+        } catch (Exception e) {
+            ctx.fail(e);
+        }
+    }
+    
+    private void startCumulativeBackfill(RoutingContext ctx) {
+        try {
+            success(ctx, miningService.startCumulativeBackfillJob());
+        } catch (Exception e) {
+            ctx.fail(e);
+            ErrorHandler.handle(ctx);
+        }
+    }
+    
+    private void getCumulativeBackfillJob(RoutingContext ctx) {
+        try {
+            success(ctx, miningService.getCumulativeBackfillJob(ctx.pathParam("jobId")));
+        } catch (Exception e) {
+            ctx.fail(e);
+            ErrorHandler.handle(ctx);
+        }
+    }
+    
     // Mining Conditions
     private void getMiningConditions(RoutingContext ctx) {
         try {
@@ -289,16 +357,41 @@ public class AdminMiningHandler extends BaseHandler {
             String activityStatus = ctx.queryParams().get("activityStatus");
             String sanctionStatus = ctx.queryParams().get("sanctionStatus");
             
-            miningService.exportMiningHistoryList(searchCategory, searchKeyword, sortType, activityStatus, sanctionStatus)
-                .onSuccess(buffer -> {
-                    String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-                    String filename = "mining_history_list_" + timestamp + ".xlsx";
-                    
-                    ctx.response()
-                        .putHeader("Content-Type", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
-                        .putHeader("Content-Disposition", "attachment; filename=\"" + filename + "\"")
-                        .putHeader("Content-Length", String.valueOf(buffer.length()))
-                        .end(buffer);
+            String fileName = "mining_history_list_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+            sendExport(ctx, fileName, miningService.exportMiningHistoryList(searchCategory, searchKeyword, sortType, activityStatus, sanctionStatus), throwable -> {
+                ctx.fail(throwable);
+                ErrorHandler.handle(ctx);
+            });
+        } catch (Exception e) {
+            ctx.fail(e);
+            ErrorHandler.handle(ctx);
+        }
+    }
+    
+    private void createMiningHistoryListExportJob(RoutingContext ctx) {
+        try {
+            JsonObject params = getExportJobParams(ctx);
+            submitExportJob(ctx, exportJobManager, "mining_history_list", params, "mining_history_list", () -> miningService.exportMiningHistoryList(
+                params.getString("searchCategory"),
+                params.getString("searchKeyword"),
+                params.getString("sortType"),
+                params.getString("activityStatus"),
+                params.getString("sanctionStatus")
+            ));
+        } catch (Exception e) {
+            ctx.fail(e);
+        }
+    }
+    
+    private void rebuildUserMiningTotals(RoutingContext ctx) {
+        try {
+            Long userId = getQueryParamAsLong(ctx, "userId");
+            
+            miningService.rebuildUserMiningTotals(userId)
+                .onSuccess(count -> {
+                    success(ctx, new JsonObject()
+                        .put("message", "User mining totals rebuilt")
+                        .put("rebuiltCount", count));
                 })
                 .onFailure(throwable -> {
                     ctx.fail(throwable);
@@ -381,5 +474,112 @@ public class AdminMiningHandler extends BaseHandler {
             ErrorHandler.handle(ctx);
         }
     }
+    
+    // Ranking (Leaderboard)
+    private void getRanking(RoutingContext ctx) {
+        try {
+            Integer limit = getQueryParamAsInteger(ctx, "limit", 10);
+            
+            requireLeaderboard()
+                .compose(board -> board.getTop(
+                    parseBoard(ctx),
+                    parsePeriod(ctx),
+                    parseDate(ctx),
+                    ctx.queryParams().get("countryCode"),
+                    limit
+                ))
+                .onSuccess(result -> {
+                    success(ctx, result);
+                })
+                .onFailure(throwable -> {
+                    ctx.fail(throwable);
+                    ErrorHandler.handle(ctx);
+                });
+        } catch (Exception e) {
+            ctx.fail(e);
+            ErrorHandler.handle(ctx);
+        }
+    }
+    
+    private void getUserRanking(RoutingContext ctx) {
+        try {
+            Long userId = Long.parseLong(ctx.pathParam("userId"));
+            
+            requireLeaderboard()
+                .compose(board -> board.getRank(
+                    parseBoard(ctx),
+                    parsePeriod(ctx),
+                    parseDate(ctx),
+                    ctx.queryParams().get("countryCode"),
+                    userId
+                ))
+                .onSuccess(result -> {
+                    if (result == null) {
+                        ctx.fail(new NotFoundException("랭킹에 없는 회원입니다."));
+                        ErrorHandler.handle(ctx);
+                        return;
+                    }
+                    success(ctx, result);
+                })
+                .onFailure(throwable -> {
+                    ctx.fail(throwable);
+                    ErrorHandler.handle(ctx);
+                });
+        } catch (Exception e) {
+            ctx.fail(e);
+            ErrorHandler.handle(ctx);
+        }
+    }
+    
+    private void rebuildRanking(RoutingContext ctx) {
+        try {
+            requireLeaderboard()
+                .compose(MiningLeaderboard::rebuild)
+                .onSuccess(counts -> {
+                    success(ctx, new JsonObject()
+                        .put("message", "Ranking rebuilt")
+                        .put("rebuiltUserCounts", counts));
+                })
+                .onFailure(throwable -> {
+                    ctx.fail(throwable);
+                    ErrorHandler.handle(ctx);
+                });
+        } catch (Exception e) {
+            ctx.fail(e);
+            ErrorHandler.handle(ctx);
+        }
+    }
+    
+    private Future<MiningLeaderboard> requireLeaderboard() {
+        return leaderboard != null
+            ? Future.succeededFuture(leaderboard)
+            : Future.failedFuture(new ServiceUnavailableException("랭킹을 사용할 수 없습니다. (Redis 미연결)"));
+    }
+    
+    private MiningLeaderboard.Board parseBoard(RoutingContext ctx) {
+        String board = ctx.queryParams().get("board");
+        try {
+            return board == null ? MiningLeaderboard.Board.MINING : MiningLeaderboard.Board.valueOf(board.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("board는 MINING, REFERRAL 중 하나여야 합니다.");
+        }
+    }
+    
+    private MiningLeaderboard.Period parsePeriod(RoutingContext ctx) {
+        String period = ctx.queryParams().get("period");
+        try {
+            return period == null ? MiningLeaderboard.Period.ALL : MiningLeaderboard.Period.valueOf(period.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("period는 ALL, DAILY, WEEKLY, MONTHLY 중 하나여야 합니다.");
+        }
+    }
+    
+    private LocalDate parseDate(RoutingContext ctx) {
+        String date = ctx.queryParams().get("date");
+        try {
+            return date == null ? null : LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("date는 yyyy-MM-dd 형식이어야 합니다.");
+        }
+    }
 }
-
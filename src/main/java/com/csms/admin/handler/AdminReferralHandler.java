@@ -2,11 +2,13 @@ package com.csms.admin.handler;
 
 import com.csms.admin.service.AdminReferralService;
 import com.csms.common.enums.UserRole;
+import com.csms.common.export.ExportJobManager;
 import com.csms.common.handler.BaseHandler;
 import com.csms.common.utils.AuthUtils;
 import com.csms.common.utils.ErrorHandler;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.jwt.JWTAuth;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
@@ -21,11 +23,14 @@ public class AdminReferralHandler extends BaseHandler {
     
     private final AdminReferralService referralService;
     private final JWTAuth jwtAuth;
+    private final ExportJobManager exportJobManager;
     
-    public AdminReferralHandler(Vertx vertx, AdminReferralService referralService, JWTAuth jwtAuth) {
+    public AdminReferralHandler(Vertx vertx, AdminReferralService referralService, JWTAuth jwtAuth,
+                                ExportJobManager exportJobManager) {
         super(vertx);
         this.referralService = referralService;
         this.jwtAuth = jwtAuth;
+        this.exportJobManager = exportJobManager;
     }
     
     @Override
@@ -39,10 +44,15 @@ public class AdminReferralHandler extends BaseHandler {
         // 래퍼럴 거래내역 관리
         router.get("/transaction-history").handler(this::getReferralTransactionHistory);
         router.get("/transaction-history/export").handler(this::exportReferralTransactionHistory);
+        router.post("/transaction-history/export-jobs").handler(this::createReferralTransactionHistoryExportJob);
         
         // 래퍼럴 트리구조 관리
         router.get("/tree").handler(this::getReferralTree);
         router.get("/tree/export").handler(this::exportReferralTree);
+        router.post("/tree/export-jobs").handler(this::createReferralTreeExportJob);
+        router.get("/tree/:id/subtree").handler(this::getReferralSubtree);
+        router.post("/closure/rebuild").handler(this::rebuildReferralClosure);
+        router.post("/stats/rebuild").handler(this::rebuildReferralStatsLogs);
         
         return router;
     }
@@ -57,10 +67,11 @@ public class AdminReferralHandler extends BaseHandler {
             String searchCategory = ctx.queryParams().get("searchCategory");
             String searchKeyword = ctx.queryParams().get("searchKeyword");
             String sortType = ctx.queryParams().get("sortType");
+            String cursor = ctx.queryParams().get("cursor");
             
             referralService.getReferralTransactionHistory(
                 limit, offset, dateRange, startDate, endDate,
-                searchCategory, searchKeyword, sortType
+                searchCategory, searchKeyword, sortType, cursor
             )
             .onSuccess(result -> {
                 success(ctx, result);
@@ -84,22 +95,11 @@ public class AdminReferralHandler extends BaseHandler {
             String searchKeyword = ctx.queryParams().get("searchKeyword");
             String sortType = ctx.queryParams().get("sortType");
             
-            referralService.exportReferralTransactionHistory(
+            String fileName = "referral_transaction_history_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+            sendExport(ctx, fileName, referralService.exportReferralTransactionHistory(
                 dateRange, startDate, endDate,
                 searchCategory, searchKeyword, sortType
-            )
-            .onSuccess(buffer -> {
-                String fileName = "referral_transaction_history_" + 
-                    LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".xlsx";
-                
-                ctx.response()
-                    .setStatusCode(200)
-                    .putHeader("Content-Type", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
-                    .putHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"")
-                    .putHeader("Content-Length", String.valueOf(buffer.length()))
-                    .end(buffer);
-            })
-            .onFailure(err -> {
+            ), err -> {
                 log.error("Failed to export referral transaction history", err);
                 ErrorHandler.handle(ctx);
             });
@@ -109,6 +109,22 @@ public class AdminReferralHandler extends BaseHandler {
         }
     }
     
+    private void createReferralTransactionHistoryExportJob(RoutingContext ctx) {
+        try {
+            JsonObject params = getExportJobParams(ctx);
+            submitExportJob(ctx, exportJobManager, "referral_transaction_history", params, "referral_transaction_history", () -> referralService.exportReferralTransactionHistory(
+                params.getString("dateRange"),
+                params.getString("startDate"),
+                params.getString("endDate"),
+                params.getString("searchCategory"),
+                params.getString("searchKeyword"),
+                params.getString("sortType")
+            ));
+        } catch (Exception e) {
+            ctx.fail(e);
+        }
+    }
+    
     private void getReferralTree(RoutingContext ctx) {
         try {
             Integer limit = getQueryParamAsInteger(ctx, "limit", 20);
@@ -138,6 +154,26 @@ public class AdminReferralHandler extends BaseHandler {
         }
     }
     
+    private void getReferralSubtree(RoutingContext ctx) {
+        try {
+            Long userId = Long.parseLong(ctx.pathParam("id"));
+            Integer limit = getQueryParamAsInteger(ctx, "limit", 20);
+            Integer offset = getQueryParamAsInteger(ctx, "offset", 0);
+            
+            referralService.getReferralSubtree(userId, limit, offset)
+                .onSuccess(result -> {
+                    success(ctx, result);
+                })
+                .onFailure(err -> {
+                    log.error("Failed to get referral subtree", err);
+                    ErrorHandler.handle(ctx);
+                });
+        } catch (Exception e) {
+            log.error("Error in getReferralSubtree", e);
+            ErrorHandler.handle(ctx);
+        }
+    }
+    
     private void exportReferralTree(RoutingContext ctx) {
         try {
             String dateRange = ctx.queryParams().get("dateRange");
@@ -148,22 +184,11 @@ public class AdminReferralHandler extends BaseHandler {
             String activityStatus = ctx.queryParams().get("activityStatus");
             String sortType = ctx.queryParams().get("sortType");
             
-            referralService.exportReferralTree(
+            String fileName = "referral_tree_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+            sendExport(ctx, fileName, referralService.exportReferralTree(
                 dateRange, startDate, endDate,
                 searchCategory, searchKeyword, activityStatus, sortType
-            )
-            .onSuccess(buffer -> {
-                String fileName = "referral_tree_" + 
-                    LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".xlsx";
-                
-                ctx.response()
-                    .setStatusCode(200)
-                    .putHeader("Content-Type", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
-                    .putHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"")
-                    .putHeader("Content-Length", String.valueOf(buffer.length()))
-                    .end(buffer);
-            })
-            .onFailure(err -> {
+            ), err -> {
                 log.error("Failed to export referral tree", err);
                 ErrorHandler.handle(ctx);
             });
@@ -172,5 +197,57 @@ public class AdminReferralHandler extends BaseHandler {
             ErrorHandler.handle(ctx);
         }
     }
+    
+    private void createReferralTreeExportJob(RoutingContext ctx) {
+        try {
+            JsonObject params = getExportJobParams(ctx);
+            submitExportJob(ctx, exportJobManager, "referral_tree", params, "referral_tree", () -> referralService.exportReferralTree(
+                params.getString("dateRange"),
+                params.getString("startDate"),
+                params.getString("endDate"),
+                params.getString("searchCategory"),
+                params.getString("searchKeyword"),
+                params.getString("activityStatus"),
+                params.getString("sortType")
+            ));
+        } catch (Exception e) {
+            ctx.fail(e);
+        }
+    }
+    
+    private void rebuildReferralStatsLogs(RoutingContext ctx) {
+        try {
+            referralService.rebuildReferralStatsLogs()
+                .onSuccess(count -> {
+                    success(ctx, new JsonObject()
+                        .put("message", "Referral stats rebuilt")
+                        .put("rebuiltCount", count));
+                })
+                .onFailure(err -> {
+                    log.error("Failed to rebuild referral stats", err);
+                    ErrorHandler.handle(ctx);
+                });
+        } catch (Exception e) {
+            log.error("Error in rebuildReferralStatsLogs", e);
+            ErrorHandler.handle(ctx);
+        }
+    }
+    
+    private void rebuildReferralClosure(RoutingContext ctx) {
+        try {
+            referralService.rebuildReferralClosure()
+                .onSuccess(count -> {
+                    success(ctx, new JsonObject()
+                        .put("message", "Referral closure rebuilt")
+                        .put("rebuiltCount", count));
+                })
+                .onFailure(err -> {
+                    log.error("Failed to rebuild referral closure", err);
+                    ErrorHandler.handle(ctx);
+                });
+        } catch (Exception e) {
+            log.error("Error in rebuildReferralClosure", e);
+            ErrorHandler.handle(ctx);
+        }
+    }
 }
-
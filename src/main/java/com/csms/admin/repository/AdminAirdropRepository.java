@@ -4,52 +4,52 @@ import com.csms.admin.dto.AirdropPhaseDto;
 import com.csms.admin.dto.AirdropPhaseListDto;
 import com.csms.admin.dto.AirdropTransferDto;
 import com.csms.admin.dto.AirdropTransferListDto;
-import com.csms.common.database.RowMapper;
+import com.csms.common.database.IndexedRowMapper;
 import com.csms.common.repository.BaseRepository;
+import com.csms.common.repository.ListQuery;
+import com.csms.common.repository.PageCursor;
 import io.vertx.core.Future;
 import io.vertx.sqlclient.SqlClient;
 import lombok.extern.slf4j.Slf4j;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @Slf4j
 public class AdminAirdropRepository extends BaseRepository {
     
-    private final RowMapper<AirdropPhaseDto> phaseMapper = row -> AirdropPhaseDto.builder()
-        .id(getLong(row, "id"))
-        .userId(getLong(row, "user_id"))
-        .loginId(getString(row, "login_id"))
-        .nickname(getString(row, "nickname"))
-        .phase(getInteger(row, "phase"))
-        .status(getString(row, "status"))
-        .amount(getBigDecimal(row, "amount"))
-        .claimed(getBoolean(row, "claimed"))
-        .unlockDate(getLocalDateTime(row, "unlock_date"))
-        .daysRemaining(getInteger(row, "days_remaining"))
-        .createdAt(getLocalDateTime(row, "created_at"))
-        .updatedAt(getLocalDateTime(row, "updated_at"))
+    private final IndexedRowMapper<AirdropPhaseDto> phaseMapper = (row, columns) -> AirdropPhaseDto.builder()
+        .id(columns.getLong(row, "id"))
+        .userId(columns.getLong(row, "user_id"))
+        .loginId(columns.getString(row, "login_id"))
+        .nickname(columns.getString(row, "nickname"))
+        .phase(columns.getInteger(row, "phase"))
+        .status(columns.getString(row, "status"))
+        .amount(columns.getBigDecimal(row, "amount"))
+        .claimed(columns.getBoolean(row, "claimed"))
+        .unlockDate(columns.getLocalDateTime(row, "unlock_date"))
+        .daysRemaining(columns.getInteger(row, "days_remaining"))
+        .createdAt(columns.getLocalDateTime(row, "created_at"))
+        .updatedAt(columns.getLocalDateTime(row, "updated_at"))
         .build();
     
-    private final RowMapper<AirdropTransferDto> transferMapper = row -> AirdropTransferDto.builder()
-        .id(getLong(row, "id"))
-        .transferId(getString(row, "transfer_id"))
-        .userId(getLong(row, "user_id"))
-        .loginId(getString(row, "login_id"))
-        .nickname(getString(row, "nickname"))
-        .walletId(getLong(row, "wallet_id"))
-        .currencyId(getInteger(row, "currency_id"))
-        .currencyCode(getString(row, "currency_code"))
-        .amount(getBigDecimal(row, "amount"))
-        .status(getString(row, "status"))
-        .orderNumber(getString(row, "order_number"))
-        .createdAt(getLocalDateTime(row, "created_at"))
-        .updatedAt(getLocalDateTime(row, "updated_at"))
+    private final IndexedRowMapper<AirdropTransferDto> transferMapper = (row, columns) -> AirdropTransferDto.builder()
+        .id(columns.getLong(row, "id"))
+        .transferId(columns.getString(row, "transfer_id"))
+        .userId(columns.getLong(row, "user_id"))
+        .loginId(columns.getString(row, "login_id"))
+        .nickname(columns.getString(row, "nickname"))
+        .walletId(columns.getLong(row, "wallet_id"))
+        .currencyId(columns.getInteger(row, "currency_id"))
+        .currencyCode(columns.getString(row, "currency_code"))
+        .amount(columns.getBigDecimal(row, "amount"))
+        .status(columns.getString(row, "status"))
+        .orderNumber(columns.getString(row, "order_number"))
+        .createdAt(columns.getLocalDateTime(row, "created_at"))
+        .updatedAt(columns.getLocalDateTime(row, "updated_at"))
         .build();
     
     /**
@@ -63,10 +63,10 @@ public class AdminAirdropRepository extends BaseRepository {
         String searchKeyword,
         Long userId,
         Integer phase,
-        String status
+        String status,
+        PageCursor cursor
     ) {
-        StringBuilder sql = new StringBuilder("""
-            SELECT 
+        ListQuery listQuery = ListQuery.of("""
                 ap.id,
                 ap.user_id,
                 u.login_id,
@@ -79,75 +79,47 @@ public class AdminAirdropRepository extends BaseRepository {
                 ap.days_remaining,
                 ap.created_at,
                 ap.updated_at
-            FROM airdrop_phases ap
-            INNER JOIN users u ON u.id = ap.user_id
-            WHERE ap.deleted_at IS NULL
-            """);
-        
-        Map<String, Object> params = new HashMap<>();
+                """, "airdrop_phases ap")
+            .join("INNER JOIN users u ON u.id = ap.user_id")
+            .where("ap.deleted_at IS NULL")
+            .keyset("ap.created_at", "ap.id")
+            .cursor(cursor)
+            // 회원별 단계 수가 작고 페이지 전용 조인이 없어 한 번의 쿼리로 조회
+            .windowedTotal();
         
         // 검색 조건
         if (searchKeyword != null && !searchKeyword.trim().isEmpty() && searchCategory != null) {
             switch (searchCategory) {
-                case "ID" -> {
-                    sql.append(" AND (u.id::text = :search_keyword OR u.login_id ILIKE :search_keyword_pattern)");
-                    params.put("search_keyword", searchKeyword);
-                    params.put("search_keyword_pattern", "%" + searchKeyword + "%");
-                }
-                case "NICKNAME" -> {
-                    sql.append(" AND u.nickname ILIKE :search_keyword_pattern");
-                    params.put("search_keyword_pattern", "%" + searchKeyword + "%");
-                }
+                case "ID" -> listQuery
+                    .where("(u.id::text = :search_keyword OR u.login_id ILIKE :search_keyword_pattern)")
+                    .param("search_keyword", searchKeyword)
+                    .param("search_keyword_pattern", ListQuery.likePattern(searchKeyword));
+                case "NICKNAME" -> listQuery.where("u.nickname ILIKE :search_keyword_pattern",
+                    "search_keyword_pattern", ListQuery.likePattern(searchKeyword));
             }
         }
         
         // 필터 조건
         if (userId != null) {
-            sql.append(" AND ap.user_id = :user_id");
-            params.put("user_id", userId);
+            listQuery.where("ap.user_id = :user_id", "user_id", userId);
         }
         
         if (phase != null) {
-            sql.append(" AND ap.phase = :phase");
-            params.put("phase", phase);
+            listQuery.where("ap.phase = :phase", "phase", phase);
         }
         
         if (status != null && !status.isEmpty()) {
-            sql.append(" AND ap.status = :status");
-            params.put("status", status);
+            listQuery.where("ap.status = :status", "status", status);
         }
         
-        // 정렬
-        sql.append(" ORDER BY ap.created_at DESC");
-        
-        // 전체 개수 조회
-        String countSql = "SELECT COUNT(*) as total FROM (" + sql.toString() + ") as subquery";
-        
-        // 페이지네이션
-        sql.append(" LIMIT :limit OFFSET :offset");
-        params.put("limit", limit);
-        params.put("offset", offset);
-        
-        return query(client, countSql, params)
-            .compose(countRows -> {
-                Integer total = countRows.iterator().hasNext() 
-                    ? getInteger(countRows.iterator().next(), "total") 
-                    : 0;
-                
-                return query(client, sql.toString(), params)
-                    .map(rows -> {
-                        List<AirdropPhaseDto> phases = new ArrayList<>();
-                        for (var row : rows) {
-                            phases.add(phaseMapper.map(row));
-                        }
-                        return AirdropPhaseListDto.builder()
-                            .phases(phases)
-                            .total(total)
-                            .limit(limit)
-                            .offset(offset)
-                            .build();
-                    });
-            })
+        return queryPage(client, listQuery, phaseMapper, limit, offset)
+            .map(page -> AirdropPhaseListDto.builder()
+                .phases(page.items())
+                .total((int) page.total())
+                .limit(limit)
+                .offset(offset)
+                .nextCursor(page.nextCursor())
+                .build())
             .onFailure(throwable -> log.error("에어드랍 Phase 목록 조회 실패", throwable));
     }
     
@@ -306,10 +278,10 @@ public class AdminAirdropRepository extends BaseRepository {
         String searchCategory,
         String searchKeyword,
         Long userId,
-        String status
+        String status,
+        PageCursor cursor
     ) {
-        StringBuilder sql = new StringBuilder("""
-            SELECT 
+        ListQuery listQuery = ListQuery.of("""
                 at.id,
                 at.transfer_id,
                 at.user_id,
@@ -323,75 +295,44 @@ public class AdminAirdropRepository extends BaseRepository {
                 at.order_number,
                 at.created_at,
                 at.updated_at
-            FROM airdrop_transfers at
-            INNER JOIN users u ON u.id = at.user_id
-            INNER JOIN currency c ON c.id = at.currency_id
-            WHERE at.deleted_at IS NULL
-            """);
-        
-        Map<String, Object> params = new HashMap<>();
+                """, "airdrop_transfers at")
+            .join("INNER JOIN users u ON u.id = at.user_id")
+            .pageJoin("INNER JOIN currency c ON c.id = at.currency_id")
+            .where("at.deleted_at IS NULL")
+            .keyset("at.created_at", "at.id")
+            .cursor(cursor);
         
         // 검색 조건
         if (searchKeyword != null && !searchKeyword.trim().isEmpty() && searchCategory != null) {
             switch (searchCategory) {
-                case "ID" -> {
-                    sql.append(" AND (u.id::text = :search_keyword OR u.login_id ILIKE :search_keyword_pattern)");
-                    params.put("search_keyword", searchKeyword);
-                    params.put("search_keyword_pattern", "%" + searchKeyword + "%");
-                }
-                case "NICKNAME" -> {
-                    sql.append(" AND u.nickname ILIKE :search_keyword_pattern");
-                    params.put("search_keyword_pattern", "%" + searchKeyword + "%");
-                }
-                case "TRANSFER_ID" -> {
-                    sql.append(" AND at.transfer_id ILIKE :search_keyword_pattern");
-                    params.put("search_keyword_pattern", "%" + searchKeyword + "%");
-                }
+                case "ID" -> listQuery
+                    .where("(u.id::text = :search_keyword OR u.login_id ILIKE :search_keyword_pattern)")
+                    .param("search_keyword", searchKeyword)
+                    .param("search_keyword_pattern", ListQuery.likePattern(searchKeyword));
+                case "NICKNAME" -> listQuery.where("u.nickname ILIKE :search_keyword_pattern",
+                    "search_keyword_pattern", ListQuery.likePattern(searchKeyword));
+                case "TRANSFER_ID" -> listQuery.where("at.transfer_id ILIKE :search_keyword_pattern",
+                    "search_keyword_pattern", ListQuery.likePattern(searchKeyword));
             }
         }
         
         // 필터 조건
         if (userId != null) {
-            sql.append(" AND at.user_id = :user_id");
-            params.put("user_id", userId);
+            listQuery.where("at.user_id = :user_id", "user_id", userId);
         }
         
         if (status != null && !status.isEmpty()) {
-            sql.append(" AND at.status = :status");
-            params.put("status", status);
+            listQuery.where("at.status = :status", "status", status);
         }
         
-        // 정렬
-        sql.append(" ORDER BY at.created_at DESC");
-        
-        // 전체 개수 조회
-        String countSql = "SELECT COUNT(*) as total FROM (" + sql.toString() + ") as subquery";
-        
-        // 페이지네이션
-        sql.append(" LIMIT :limit OFFSET :offset");
-        params.put("limit", limit);
-        params.put("offset", offset);
-        
-        return query(client, countSql, params)
-            .compose(countRows -> {
-                Integer total = countRows.iterator().hasNext() 
-                    ? getInteger(countRows.iterator().next(), "total") 
-                    : 0;
-                
-                return query(client, sql.toString(), params)
-                    .map(rows -> {
-                        List<AirdropTransferDto> transfers = new ArrayList<>();
-                        for (var row : rows) {
-                            transfers.add(transferMapper.map(row));
-                        }
-                        return AirdropTransferListDto.builder()
-                            .transfers(transfers)
-                            .total(total)
-                            .limit(limit)
-                            .offset(offset)
-                            .build();
-                    });
-            })
+        return queryPage(client, listQuery, transferMapper, limit, offset)
+            .map(page -> AirdropTransferListDto.builder()
+                .transfers(page.items())
+                .total((int) page.total())
+                .limit(limit)
+                .offset(offset)
+                .nextCursor(page.nextCursor())
+                .build())
             .onFailure(throwable -> log.error("에어드랍 전송 내역 조회 실패", throwable));
     }
 }
@@ -2,6 +2,7 @@ package com.csms.admin.repository;
 
 import com.csms.admin.dto.DashboardStatsDto;
 import com.csms.common.repository.BaseRepository;
+import com.csms.mining.repository.MiningLeaderboardRepository;
 import io.vertx.core.Future;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.SqlClient;
@@ -17,6 +18,22 @@ import java.util.Map;
 @Slf4j
 public class AdminDashboardRepository extends BaseRepository {
     
+    /**
+     * 일자별 채굴 합계 (:start_day ~ :end_day)
+     * 마감된 날짜는 daily_mining_rollups에서, 마지막 마감일 이후 날짜(오늘 등)는 daily_mining에서 집계
+     */
+    private static final String DAILY_MINING_SQL = """
+        SELECT r.mining_date, r.total_amount, r.miner_count
+        FROM daily_mining_rollups r
+        WHERE r.mining_date >= :start_day AND r.mining_date <= :end_day
+        UNION ALL
+        SELECT dm.mining_date, SUM(dm.mining_amount) as total_amount, COUNT(*) as miner_count
+        FROM daily_mining dm
+        WHERE dm.mining_date >= :start_day AND dm.mining_date <= :end_day
+        AND dm.mining_date > COALESCE((SELECT MAX(mining_date) FROM daily_mining_rollups), DATE '-infinity')
+        GROUP BY dm.mining_date
+        """;
+    
     /**
      * 대시보드 통계 조회
      * SqlTemplate의 서브쿼리 파라미터 바인딩 문제를 피하기 위해 여러 개의 간단한 쿼리로 분리
@@ -33,10 +50,10 @@ public class AdminDashboardRepository extends BaseRepository {
         
         // 여러 개의 간단한 쿼리로 분리하여 병렬 실행 (Future.all은 List를 받아야 함)
         List<Future<Object>> futures = List.of(
-            // 범위 기간 통계
+            // 범위 기간 통계 (일별 롤업 합계)
             getStatValue(client, 
-                "SELECT COALESCE(SUM(mh.amount), 0) as value FROM mining_history mh WHERE mh.created_at >= :start_date AND mh.created_at <= :end_date",
-                Map.of("start_date", startDate, "end_date", endDate),
+                "SELECT COALESCE(SUM(daily.total_amount), 0) as value FROM (" + DAILY_MINING_SQL + ") daily",
+                Map.of("start_day", startDate.toLocalDate(), "end_day", endDate.toLocalDate()),
                 "total_mined"),
             // 오늘 통계들
             getStatValue(client,
@@ -61,11 +78,7 @@ public class AdminDashboardRepository extends BaseRepository {
             getStatValue(client, "SELECT COUNT(DISTINCT s.id) as value FROM swaps s", Map.of(), "swap_count"),
             getStatValue(client, "SELECT COUNT(DISTINCT e.id) as value FROM exchanges e", Map.of(), "exchange_count"),
             getStatValue(client, "SELECT COUNT(DISTINCT et.id) as value FROM external_transfers et", Map.of(), "withdrawal_count"),
-            // 범위 기간 합계들
-            getStatValue(client,
-                "SELECT COALESCE(SUM(mh.amount), 0) as value FROM mining_history mh WHERE mh.created_at >= :start_date",
-                Map.of("start_date", startDate),
-                "total_mining_amount"),
+            // 범위 기간 합계들 (채굴 합계는 total_mined 재사용)
             getStatValue(client,
                 "SELECT COALESCE(SUM(pd.amount), 0) as value FROM payment_deposits pd WHERE pd.created_at >= :start_date",
                 Map.of("start_date", startDate),
@@ -106,7 +119,7 @@ public class AdminDashboardRepository extends BaseRepository {
             String[] keys = {
                 "total_mined", "today_deposit_count", "today_payment_count", "today_exchange_count", "today_withdrawal_count",
                 "coin_deposit_count", "payment_deposit_count", "swap_count", "exchange_count", "withdrawal_count",
-                "total_mining_amount", "total_payment_amount", "total_exchange_amount", "total_withdrawal_amount", "total_withdrawal_fee_revenue",
+                "total_payment_amount", "total_exchange_amount", "total_withdrawal_amount", "total_withdrawal_fee_revenue",
                 "referral_registration_count", "total_users", "realtime_mining_users", "realtime_broadcasts", "realtime_listeners"
             };
             
@@ -126,7 +139,7 @@ public class AdminDashboardRepository extends BaseRepository {
                 .totalPayment(getIntegerFromMap(stats, "payment_deposit_count"))
                 .totalExchange(getIntegerFromMap(stats, "exchange_count"))
                 .totalWithdrawal(getIntegerFromMap(stats, "withdrawal_count"))
-                .totalMiningAmount(getDoubleFromMap(stats, "total_mining_amount"))
+                .totalMiningAmount(getDoubleFromMap(stats, "total_mined"))
                 .totalPaymentAmount(getDoubleFromMap(stats, "total_payment_amount"))
                 .totalExchangeAmount(getDoubleFromMap(stats, "total_exchange_amount"))
                 .totalWithdrawalAmount(getDoubleFromMap(stats, "total_withdrawal_amount"))
@@ -158,21 +171,14 @@ public class AdminDashboardRepository extends BaseRepository {
         LocalDateTime startDate,
         LocalDateTime endDate
     ) {
-        // ::date 대신 CAST 사용 (파라미터 파싱 문제 방지)
-        String sql = """
-            SELECT
-                CAST(mh.created_at AS DATE) as date,
-                COALESCE(SUM(mh.amount), 0) as total_mined,
-                COUNT(DISTINCT mh.user_id) as user_count
-            FROM mining_history mh
-            WHERE mh.created_at >= :start_date AND mh.created_at <= :end_date
-            GROUP BY CAST(mh.created_at AS DATE)
-            ORDER BY date ASC
-            """;
+        // 일별 롤업에서 조회 (mining_history 원본 GROUP BY 없음)
+        String sql = "SELECT daily.mining_date as date, daily.total_amount as total_mined, daily.miner_count as user_count"
+            + " FROM (" + DAILY_MINING_SQL + ") daily"
+            + " ORDER BY date ASC";
         
         Map<String, Object> params = new HashMap<>();
-        params.put("start_date", startDate);
-        params.put("end_date", endDate);
+        params.put("start_day", startDate.toLocalDate());
+        params.put("end_day", endDate.toLocalDate());
         
         log.debug("Executing getChartData query with params: startDate={}, endDate={}", startDate, endDate);
         
@@ -196,23 +202,31 @@ public class AdminDashboardRepository extends BaseRepository {
             });
     }
     
+    /**
+     * 지난 날짜 일별 롤업 마감
+     * @return 마감한 날짜 수
+     */
+    public Future<Integer> closeDailyMiningRollups(SqlClient client) {
+        return query(client, "SELECT close_daily_mining_rollups() as closed_count", new HashMap<>())
+            .map(rows -> rows.size() > 0 ? getInteger(rows.iterator().next(), "closed_count") : 0);
+    }
+    
     /**
      * 상위 회원 조회
+     * 회원별 집계(user_mining_totals)에서 조회 - 보관 기간이 지나 분리된 채굴 내역 파티션도 합계에 포함
      */
     public Future<List<DashboardStatsDto.TopMemberDto>> getTopMembers(SqlClient client) {
         String sql = """
             SELECT 
                 u.id,
                 u.login_id as nickname,
-                COALESCE(SUM(mh.amount), 0) as mined_amount,
-                ROW_NUMBER() OVER (ORDER BY SUM(mh.amount) DESC) as rank
+                COALESCE(umt.mined_amount + umt.referral_revenue, 0) as mined_amount
             FROM users u
-            LEFT JOIN mining_history mh ON mh.user_id = u.id
+            LEFT JOIN user_mining_totals umt ON umt.user_id = u.id
             WHERE u.deleted_at IS NULL
-            GROUP BY u.id, u.login_id
-            ORDER BY mined_amount DESC
+            ORDER BY mined_amount DESC, %s
             LIMIT 10
-            """;
+            """.formatted(MiningLeaderboardRepository.rankTieBreak("u.id"));
         
         log.debug("Executing getTopMembers query");
         
@@ -285,15 +299,14 @@ public class AdminDashboardRepository extends BaseRepository {
             SELECT 
                 u.id,
                 u.login_id as nickname,
-                COALESCE(COUNT(DISTINCT rr.referred_id), 0) as team_member_count,
-                ROW_NUMBER() OVER (ORDER BY COUNT(DISTINCT rr.referred_id) DESC) as rank
-            FROM users u
-            LEFT JOIN referral_relations rr ON rr.referrer_id = u.id AND rr.status = 'ACTIVE'
+                rsl.team_count as team_member_count
+            FROM referral_stats_logs rsl
+            INNER JOIN users u ON u.id = rsl.user_id
             WHERE u.deleted_at IS NULL
-            GROUP BY u.id, u.login_id
-            ORDER BY team_member_count DESC
+            AND rsl.team_count > 0
+            ORDER BY rsl.team_count DESC, %s
             LIMIT 10
-            """;
+            """.formatted(MiningLeaderboardRepository.rankTieBreak("u.id"));
         
         log.debug("Executing getTopReferrers query");
         
@@ -3,13 +3,17 @@ package com.csms.admin.repository;
 import com.csms.admin.dto.MemberDetailDto;
 import com.csms.admin.dto.MemberListDto;
 import com.csms.admin.dto.MiningHistoryDetailDto;
-import com.csms.common.database.RowMapper;
+import com.csms.common.database.IndexedRowMapper;
+import com.csms.common.export.ExportSource;
 import com.csms.common.exceptions.BadRequestException;
 import com.csms.common.exceptions.InternalServerException;
 import com.csms.common.repository.BaseRepository;
+import com.csms.common.repository.ListQuery;
+import com.csms.common.repository.PageCursor;
 import com.csms.common.service.TronService;
 import io.vertx.core.Future;
 import io.vertx.pgclient.PgPool;
+import io.vertx.sqlclient.Pool;
 import io.vertx.sqlclient.SqlClient;
 import lombok.extern.slf4j.Slf4j;
 
@@ -36,6 +40,17 @@ public class AdminMemberRepository extends BaseRepository {
         this.tronService = tronService;
     }
     
+    /**
+     * 회원 목록 결과 캐시 워터마크 (회원 추가/변경 + 채굴량 변경, result_cache_versions 변경 카운터)
+     */
+    public Future<String> getMemberWatermark(SqlClient client) {
+        return queryWatermark(client, """
+            SELECT
+                (SELECT SUM(version) FROM result_cache_versions WHERE table_name = 'users'),
+                (SELECT SUM(version) FROM result_cache_versions WHERE table_name = 'mining_history')
+            """);
+    }
+    
     public Future<MemberListDto> getMembers(
         SqlClient client,
         Integer limit,
@@ -45,12 +60,33 @@ public class AdminMemberRepository extends BaseRepository {
         String activityStatus,
         String sanctionStatus
     ) {
-        StringBuilder sql = new StringBuilder();
-        Map<String, Object> params = new HashMap<>();
-        
-        // SELECT 절
-        sql.append("""
-            SELECT 
+        ListQuery listQuery = membersQuery(searchCategory, searchKeyword, activityStatus);
+        
+        // 페이지 + 전체 건수를 한 번에 조회
+        return queryPage(client, listQuery, memberInfoMapper, limit, offset)
+            .map(page -> MemberListDto.builder()
+                .members(page.items())
+                .total(page.total())
+                .limit(limit)
+                .offset(offset)
+                .build());
+    }
+    
+    /**
+     * 회원 목록 전체 스트리밍 조회 (엑셀 내보내기)
+     */
+    public ExportSource<MemberListDto.MemberInfo> streamMembers(
+        Pool pool,
+        String searchCategory,
+        String searchKeyword,
+        String activityStatus
+    ) {
+        ListQuery listQuery = membersQuery(searchCategory, searchKeyword, activityStatus);
+        return streamSource(pool, listQuery, memberInfoMapper);
+    }
+    
+    private ListQuery membersQuery(String searchCategory, String searchKeyword, String activityStatus) {
+        ListQuery listQuery = ListQuery.of("""
                 u.id,
                 u.login_id,
                 u.nickname,
@@ -62,69 +98,43 @@ public class AdminMemberRepository extends BaseRepository {
                 u.created_at as registered_at,
                 rr.referrer_id,
                 referrer.nickname as referrer_nickname,
-                COALESCE(team_stats.team_member_count, 0) as team_member_count,
-                COALESCE(revenue_stats.referral_revenue, 0) as referral_revenue,
-                COALESCE(mining_stats.total_mined_amount, 0) as total_mined_amount
-            FROM users u
-            LEFT JOIN referral_relations rr ON rr.referred_id = u.id AND rr.status = 'ACTIVE' AND rr.deleted_at IS NULL
-            LEFT JOIN users referrer ON referrer.id = rr.referrer_id
-            LEFT JOIN (
-                SELECT referrer_id, COUNT(DISTINCT referred_id) as team_member_count
-                FROM referral_relations
-                WHERE status = 'ACTIVE' AND deleted_at IS NULL
-                GROUP BY referrer_id
-            ) team_stats ON team_stats.referrer_id = u.id
-            LEFT JOIN (
-                SELECT user_id, SUM(amount) as referral_revenue
-                FROM mining_history
-                WHERE type = 'REFERRAL_REWARD'
-                GROUP BY user_id
-            ) revenue_stats ON revenue_stats.user_id = u.id
-            LEFT JOIN (
-                SELECT user_id, SUM(amount) as total_mined_amount
-                FROM mining_history
-                WHERE type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')
-                GROUP BY user_id
-            ) mining_stats ON mining_stats.user_id = u.id
-            WHERE u.deleted_at IS NULL
-            """);
+                COALESCE(rsl.team_count, 0) as team_member_count,
+                COALESCE(rsl.total_reward, 0) as referral_revenue,
+                COALESCE(umt.mined_amount, 0) as total_mined_amount
+                """, "users u")
+            .join("LEFT JOIN referral_relations rr ON rr.referred_id = u.id AND rr.status = 'ACTIVE' AND rr.deleted_at IS NULL")
+            .join("LEFT JOIN users referrer ON referrer.id = rr.referrer_id")
+            .pageJoin("LEFT JOIN referral_stats_logs rsl ON rsl.user_id = u.id")
+            .pageJoin("LEFT JOIN user_mining_totals umt ON umt.user_id = u.id")
+            .where("u.deleted_at IS NULL")
+            .orderBy("u.created_at DESC");
         
         // 검색 조건
         if (searchKeyword != null && !searchKeyword.trim().isEmpty() && searchCategory != null) {
             switch (searchCategory) {
-                case "ID" -> {
-                    sql.append(" AND (u.id::text = :search_keyword OR u.login_id ILIKE :search_keyword_pattern)");
-                    params.put("search_keyword", searchKeyword);
-                    params.put("search_keyword_pattern", "%" + searchKeyword + "%");
-                }
-                case "REFERRER" -> {
-                    sql.append(" AND referrer.nickname ILIKE :search_keyword_pattern");
-                    params.put("search_keyword_pattern", "%" + searchKeyword + "%");
-                }
-                case "NICKNAME" -> {
-                    sql.append(" AND u.nickname ILIKE :search_keyword_pattern");
-                    params.put("search_keyword_pattern", "%" + searchKeyword + "%");
-                }
-                case "NAME" -> {
-                    sql.append(" AND u.name ILIKE :search_keyword_pattern");
-                    params.put("search_keyword_pattern", "%" + searchKeyword + "%");
-                }
+                case "ID" -> listQuery
+                    .where("(u.id::text = :search_keyword OR u.login_id ILIKE :search_keyword_pattern)")
+                    .param("search_keyword", searchKeyword)
+                    .param("search_keyword_pattern", ListQuery.likePattern(searchKeyword));
+                case "REFERRER" -> listQuery.where("referrer.nickname ILIKE :search_keyword_pattern",
+                    "search_keyword_pattern", ListQuery.likePattern(searchKeyword));
+                case "NICKNAME" -> listQuery.where("u.nickname ILIKE :search_keyword_pattern",
+                    "search_keyword_pattern", ListQuery.likePattern(searchKeyword));
+                case "NAME" -> listQuery.where("u.name ILIKE :search_keyword_pattern",
+                    "search_keyword_pattern", ListQuery.likePattern(searchKeyword));
                 case "LEVEL" -> {
                     try {
                         Integer level = Integer.parseInt(searchKeyword);
-                        sql.append(" AND u.level = :search_level");
-                        params.put("search_level", level);
+                        listQuery.where("u.level = :search_level", "search_level", level);
                     } catch (NumberFormatException e) {
                         // 레벨이 숫자가 아니면 조건 추가 안함
                     }
                 }
-                case "INVITATION_CODE" -> {
-                    sql.append(" AND u.referral_code = :search_keyword");
-                    params.put("search_keyword", searchKeyword);
-                }
-                case "ALL" -> {
-                    sql.append("""
-                        AND (
+                case "INVITATION_CODE" -> listQuery.where("u.referral_code = :search_keyword",
+                    "search_keyword", searchKeyword);
+                case "ALL" -> listQuery
+                    .where("""
+                        (
                             u.id::text = :search_keyword
                             OR u.login_id ILIKE :search_keyword_pattern
                             OR u.nickname ILIKE :search_keyword_pattern
@@ -132,83 +142,40 @@ public class AdminMemberRepository extends BaseRepository {
                             OR u.referral_code = :search_keyword
                             OR referrer.nickname ILIKE :search_keyword_pattern
                         )
-                        """);
-                    params.put("search_keyword", searchKeyword);
-                    params.put("search_keyword_pattern", "%" + searchKeyword + "%");
-                }
+                        """)
+                    .param("search_keyword", searchKeyword)
+                    .param("search_keyword_pattern", ListQuery.likePattern(searchKeyword));
             }
         }
         
         // 필터 조건
         if (activityStatus != null && !activityStatus.equals("ALL")) {
-            sql.append(" AND u.status = :activity_status");
-            params.put("activity_status", activityStatus);
+            listQuery.where("u.status = :activity_status", "activity_status", activityStatus);
         }
         
         // sanction_status 컬럼이 users 테이블에 없으므로 필터 제거
-        // if (sanctionStatus != null && !sanctionStatus.equals("ALL")) {
-        //     if (sanctionStatus.equals("NONE")) {
-        //         sql.append(" AND (u.sanction_status IS NULL OR u.sanction_status = '')");
-        //     } else {
-        //         sql.append(" AND u.sanction_status = :sanction_status");
-        //         params.put("sanction_status", sanctionStatus);
-        //     }
-        // }
-        
-        // COUNT 쿼리 (ORDER BY, LIMIT, OFFSET 제외)
-        String countSql = "SELECT COUNT(*) as total FROM (" + sql.toString() + ") as filtered";
+        // if (sanctionStatus != null && !sanctionStatus.equals("ALL")) { ... }
         
-        // 정렬 및 페이지네이션
-        sql.append(" ORDER BY u.created_at DESC");
-        sql.append(" LIMIT :limit OFFSET :offset");
-        params.put("limit", limit);
-        params.put("offset", offset);
-        
-        // COUNT 실행 (limit, offset 파라미터 제외)
-        Map<String, Object> countParams = new HashMap<>(params);
-        countParams.remove("limit");
-        countParams.remove("offset");
-        
-        return query(client, countSql, countParams)
-            .compose(countRows -> {
-                Long total = 0L;
-                if (countRows.size() > 0) {
-                    total = getLong(countRows.iterator().next(), "total");
-                }
-                final Long finalTotal = total != null ? total : 0L;
-                
-                // 실제 데이터 조회
-                return query(client, sql.toString(), params)
-                    .map(rows -> {
-                        List<MemberListDto.MemberInfo> members = new ArrayList<>();
-                        for (var row : rows) {
-                            members.add(MemberListDto.MemberInfo.builder()
-                                .id(getLong(row, "id"))
-                                .loginId(getString(row, "login_id"))
-                                .referrerId(getLong(row, "referrer_id"))
-                                .referrerNickname(getString(row, "referrer_nickname"))
-                                .nickname(getString(row, "nickname"))
-                                .realName(getString(row, "name"))
-                                .level(getInteger(row, "level"))
-                                .invitationCode(getString(row, "invitation_code"))
-                                .teamMemberCount(getInteger(row, "team_member_count"))
-                                .referralRevenue(getDouble(row, "referral_revenue"))
-                                .totalMinedAmount(getDouble(row, "total_mined_amount"))
-                                .activityStatus(getString(row, "activity_status"))
-                                .sanctionStatus(getString(row, "sanction_status"))
-                                .registeredAt(getLocalDateTime(row, "registered_at"))
-                                .build());
-                        }
-                        return MemberListDto.builder()
-                            .members(members)
-                            .total(finalTotal)
-                            .limit(limit)
-                            .offset(offset)
-                            .build();
-                    });
-            });
+        return listQuery;
     }
     
+    private final IndexedRowMapper<MemberListDto.MemberInfo> memberInfoMapper = (row, columns) -> MemberListDto.MemberInfo.builder()
+        .id(columns.getLong(row, "id"))
+        .loginId(columns.getString(row, "login_id"))
+        .referrerId(columns.getLong(row, "referrer_id"))
+        .referrerNickname(columns.getString(row, "referrer_nickname"))
+        .nickname(columns.getString(row, "nickname"))
+        .realName(columns.getString(row, "name"))
+        .level(columns.getInteger(row, "level"))
+        .invitationCode(columns.getString(row, "invitation_code"))
+        .teamMemberCount(columns.getInteger(row, "team_member_count"))
+        .referralRevenue(columns.getDouble(row, "referral_revenue"))
+        .totalMinedAmount(columns.getDouble(row, "total_mined_amount"))
+        .activityStatus(columns.getString(row, "activity_status"))
+        .sanctionStatus(columns.getString(row, "sanction_status"))
+        .registeredAt(columns.getLocalDateTime(row, "registered_at"))
+        .build();
+    
     public Future<MemberDetailDto> getMemberDetail(SqlClient client, Long memberId) {
         String sql = """
             SELECT 
@@ -230,32 +197,16 @@ public class AdminMemberRepository extends BaseRepository {
                 NULL as last_login_at,
                 rr.referrer_id,
                 referrer.nickname as referrer_nickname,
-                COALESCE(team_stats.team_member_count, 0) as team_member_count,
-                COALESCE(revenue_stats.referral_revenue, 0) as referral_revenue,
-                COALESCE(mining_stats.total_mined_amount, 0) as total_mined_amount,
+                COALESCE(rsl.team_count, 0) as team_member_count,
+                COALESCE(rsl.total_reward, 0) as referral_revenue,
+                COALESCE(umt.mined_amount, 0) as total_mined_amount,
                 EXISTS(SELECT 1 FROM payment_deposits pd WHERE pd.user_id = u.id) as has_payment_history,
                 EXISTS(SELECT 1 FROM token_deposits td WHERE td.user_id = u.id) as has_deposit_history
             FROM users u
             LEFT JOIN referral_relations rr ON rr.referred_id = u.id AND rr.status = 'ACTIVE' AND rr.deleted_at IS NULL
             LEFT JOIN users referrer ON referrer.id = rr.referrer_id
-            LEFT JOIN (
-                SELECT referrer_id, COUNT(DISTINCT referred_id) as team_member_count
-                FROM referral_relations
-                WHERE status = 'ACTIVE' AND deleted_at IS NULL
-                GROUP BY referrer_id
-            ) team_stats ON team_stats.referrer_id = u.id
-            LEFT JOIN (
-                SELECT user_id, SUM(amount) as referral_revenue
-                FROM mining_history
-                WHERE type = 'REFERRAL_REWARD'
-                GROUP BY user_id
-            ) revenue_stats ON revenue_stats.user_id = u.id
-            LEFT JOIN (
-                SELECT user_id, SUM(amount) as total_mined_amount
-                FROM mining_history
-                WHERE type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')
-                GROUP BY user_id
-            ) mining_stats ON mining_stats.user_id = u.id
+            LEFT JOIN referral_stats_logs rsl ON rsl.user_id = u.id
+            LEFT JOIN user_mining_totals umt ON umt.user_id = u.id
             WHERE u.id = :member_id
             """;
         
@@ -384,11 +335,10 @@ public class AdminMemberRepository extends BaseRepository {
             });
     }
     
-    public Future<Void> resetTransactionPassword(SqlClient client, Long memberId) {
+    public Future<Void> resetTransactionPassword(SqlClient client, Long memberId, String passwordHash) {
         // 거래 비밀번호를 "0000"으로 초기화
         // users 테이블에 transaction_password 필드가 있다고 가정
-        // "0000"을 BCrypt로 해시화
-        String passwordHash = org.mindrot.jbcrypt.BCrypt.hashpw("0000", org.mindrot.jbcrypt.BCrypt.gensalt());
+        // passwordHash: "0000"의 BCrypt 해시 (서비스에서 해시 전용 스레드 풀로 생성)
         
         String sql = """
             UPDATE users
@@ -632,15 +582,15 @@ public class AdminMemberRepository extends BaseRepository {
     
     // ========== Mining History 관련 메서드 ==========
     
-    private final RowMapper<MiningHistoryDetailDto.MiningHistoryRecord> recordMapper = row -> {
-        LocalDateTime createdAt = getLocalDateTime(row, "created_at");
+    private final IndexedRowMapper<MiningHistoryDetailDto.MiningHistoryRecord> recordMapper = (row, columns) -> {
+        LocalDateTime createdAt = columns.getLocalDateTime(row, "created_at");
         String date = createdAt != null ? createdAt.toLocalDate().toString() : null;
         String time = createdAt != null ? createdAt.toLocalTime().format(DateTimeFormatter.ofPattern("HH:mm")) : null;
         Integer year = createdAt != null ? createdAt.getYear() : null;
         
         // 기기정보 (IP 주소)
-        String deviceInfo = getString(row, "device_info");
-        String ipAddress = getString(row, "ip_address");
+        String deviceInfo = columns.getString(row, "device_info");
+        String ipAddress = columns.getString(row, "ip_address");
         String deviceInfoStr = "";
         if (deviceInfo != null && ipAddress != null) {
             deviceInfoStr = deviceInfo + " / " + ipAddress;
@@ -651,18 +601,18 @@ public class AdminMemberRepository extends BaseRepository {
         }
         
         return MiningHistoryDetailDto.MiningHistoryRecord.builder()
-            .id(getLong(row, "id"))
+            .id(columns.getLong(row, "id"))
             .year(year)
             .date(date)
             .time(time)
-            .level(getInteger(row, "level"))
-            .miningType(getString(row, "mining_type"))
-            .miningEfficiency(getInteger(row, "mining_efficiency"))
-            .invitationCode(getString(row, "invitation_code"))
-            .teamMemberCount(getInteger(row, "team_member_count"))
-            .miningAmount(getDouble(row, "mining_amount"))
-            .referralRevenue(getDouble(row, "referral_revenue"))
-            .totalMinedHoldings(getDouble(row, "total_mined_holdings"))
+            .level(columns.getInteger(row, "level"))
+            .miningType(columns.getString(row, "mining_type"))
+            .miningEfficiency(columns.getInteger(row, "mining_efficiency"))
+            .invitationCode(columns.getString(row, "invitation_code"))
+            .teamMemberCount(columns.getInteger(row, "team_member_count"))
+            .miningAmount(columns.getDouble(row, "mining_amount"))
+            .referralRevenue(columns.getDouble(row, "referral_revenue"))
+            .totalMinedHoldings(columns.getDouble(row, "total_mined_holdings"))
             .deviceInfo(deviceInfoStr)
             .build();
     };
@@ -673,7 +623,8 @@ public class AdminMemberRepository extends BaseRepository {
         Integer limit,
         Integer offset,
         LocalDateTime startDate,
-        LocalDateTime endDate
+        LocalDateTime endDate,
+        PageCursor cursor
     ) {
         // 사용자 기본 정보 조회
         String userSql = """
@@ -698,102 +649,88 @@ public class AdminMemberRepository extends BaseRepository {
                 String userNickname = getString(userRow, "nickname");
                 Integer userLevel = getInteger(userRow, "level");
                 
-                // 채굴 내역 조회
-                StringBuilder sql = new StringBuilder();
-                Map<String, Object> params = new HashMap<>();
+                // 채굴 내역 조회 (mh.created_at, mh.id 키셋)
+                ListQuery listQuery = miningHistoryQuery(userId, startDate, endDate).cursor(cursor);
                 
-                sql.append("""
-                    SELECT 
-                        mh.id,
-                        mh.created_at,
-                        u.level,
-                        mh.type as mining_type,
-                        COALESCE(mh.efficiency, 0) as mining_efficiency,
-                        u.referral_code as invitation_code,
-                        COALESCE(team_stats.team_member_count, 0) as team_member_count,
-                        CASE 
-                            WHEN mh.type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH') THEN mh.amount
-                            ELSE 0
-                        END as mining_amount,
-                        CASE 
-                            WHEN mh.type = 'REFERRAL_REWARD' THEN mh.amount
-                            ELSE 0
-                        END as referral_revenue,
-                        COALESCE(
-                            (SELECT SUM(amount) 
-                             FROM mining_history mh2 
-                             WHERE mh2.user_id = mh.user_id 
-                             AND mh2.type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH', 'REFERRAL_REWARD')
-                             AND mh2.created_at <= mh.created_at), 0
-                        ) as total_mined_holdings,
-                        mh.device_info,
-                        mh.ip_address
-                    FROM mining_history mh
-                    INNER JOIN users u ON u.id = mh.user_id
-                    LEFT JOIN (
-                        SELECT referrer_id, COUNT(DISTINCT referred_id) as team_member_count
-                        FROM referral_relations
-                        WHERE status = 'ACTIVE' AND deleted_at IS NULL
-                        GROUP BY referrer_id
-                    ) team_stats ON team_stats.referrer_id = u.id
-                    WHERE mh.user_id = :user_id
-                    """);
-                
-                params.put("user_id", userId);
-                
-                // 날짜 범위 필터
-                if (startDate != null && endDate != null) {
-                    sql.append(" AND mh.created_at >= :start_date AND mh.created_at <= :end_date");
-                    params.put("start_date", startDate);
-                    params.put("end_date", endDate);
-                }
-                
-                sql.append(" ORDER BY mh.created_at DESC");
-                
-                // 총 개수 조회
-                StringBuilder countSql = new StringBuilder();
-                countSql.append("SELECT COUNT(*) as total FROM mining_history mh WHERE mh.user_id = :user_id");
-                if (startDate != null && endDate != null) {
-                    countSql.append(" AND mh.created_at >= :start_date AND mh.created_at <= :end_date");
-                }
-                
-                return query(client, countSql.toString(), params)
-                    .compose(countRows -> {
-                        Integer total = 0;
-                        if (countRows.size() > 0) {
-                            total = getInteger(countRows.iterator().next(), "total");
-                        }
-                        final Integer finalTotal = total;
-                        
-                        // 데이터 조회
-                        sql.append(" LIMIT :limit OFFSET :offset");
-                        params.put("limit", limit);
-                        params.put("offset", offset);
-                        
-                        return query(client, sql.toString(), params)
-                            .compose(rows -> {
-                                List<MiningHistoryDetailDto.MiningHistoryRecord> records = new ArrayList<>();
-                                for (var row : rows) {
-                                    records.add(recordMapper.map(row));
-                                }
-                                
-                                // 요약 통계 조회
-                                return getMiningHistorySummary(client, userId, startDate, endDate)
-                                    .map(summary -> MiningHistoryDetailDto.builder()
-                                        .userId(userId)
-                                        .userNickname(userNickname)
-                                        .userLevel(userLevel)
-                                        .records(records)
-                                        .total(finalTotal)
-                                        .limit(limit)
-                                        .offset(offset)
-                                        .summary(summary)
-                                        .build());
-                            });
-                    });
+                return queryPage(client, listQuery, recordMapper, limit, offset)
+                    .compose(page -> getMiningHistorySummary(client, userId, startDate, endDate)
+                        .map(summary -> MiningHistoryDetailDto.builder()
+                            .userId(userId)
+                            .userNickname(userNickname)
+                            .userLevel(userLevel)
+                            .records(page.items())
+                            .total((int) page.total())
+                            .limit(limit)
+                            .offset(offset)
+                            .nextCursor(page.nextCursor())
+                            .summary(summary)
+                            .build()));
             });
     }
     
+    /**
+     * 회원별 채굴 내역 전체 스트리밍 조회 (엑셀 내보내기, 회원이 없으면 NotFoundException)
+     */
+    public ExportSource<MiningHistoryDetailDto.MiningHistoryRecord> streamMiningHistory(
+        Pool pool,
+        Long userId,
+        LocalDateTime startDate,
+        LocalDateTime endDate
+    ) {
+        Map<String, Object> userParams = new HashMap<>();
+        userParams.put("user_id", userId);
+        
+        return streamSource(pool, miningHistoryQuery(userId, startDate, endDate), recordMapper)
+            .precededBy(() -> query(pool, "SELECT id FROM users WHERE id = :user_id", userParams)
+                .compose(userRows -> userRows.size() == 0
+                    ? Future.<Void>failedFuture(new com.csms.common.exceptions.NotFoundException("User not found"))
+                    : Future.<Void>succeededFuture()));
+    }
+    
+    /**
+     * 회원별 채굴 내역 목록 쿼리 (mh.created_at, mh.id 키셋)
+     */
+    private ListQuery miningHistoryQuery(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
+        ListQuery listQuery = ListQuery.of("""
+                mh.id,
+                mh.created_at,
+                u.level,
+                mh.type as mining_type,
+                COALESCE(mh.efficiency, 0) as mining_efficiency,
+                u.referral_code as invitation_code,
+                COALESCE(rsl.team_count, 0) as team_member_count,
+                CASE 
+                    WHEN mh.type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH') THEN mh.amount
+                    ELSE 0
+                END as mining_amount,
+                CASE 
+                    WHEN mh.type = 'REFERRAL_REWARD' THEN mh.amount
+                    ELSE 0
+                END as referral_revenue,
+                COALESCE(
+                    (SELECT SUM(amount) 
+                     FROM mining_history mh2 
+                     WHERE mh2.user_id = mh.user_id 
+                     AND mh2.type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH', 'REFERRAL_REWARD')
+                     AND mh2.created_at <= mh.created_at), 0
+                ) as total_mined_holdings,
+                mh.device_info,
+                mh.ip_address
+                """, "mining_history mh")
+            .pageJoin("INNER JOIN users u ON u.id = mh.user_id")
+            .pageJoin("LEFT JOIN referral_stats_logs rsl ON rsl.user_id = u.id")
+            .where("mh.user_id = :user_id", "user_id", userId)
+            .keyset("mh.created_at", "mh.id");
+        
+        // 날짜 범위 필터
+        if (startDate != null && endDate != null) {
+            listQuery.where("mh.created_at >= :start_date", "start_date", startDate)
+                .where("mh.created_at <= :end_date", "end_date", endDate);
+        }
+        
+        return listQuery;
+    }
+    
     private Future<MiningHistoryDetailDto.Summary> getMiningHistorySummary(SqlClient client, Long userId, LocalDateTime startDate, LocalDateTime endDate) {
         StringBuilder sql = new StringBuilder();
         Map<String, Object> params = new HashMap<>();
@@ -1,12 +1,18 @@
 package com.csms.admin.repository;
 
 import com.csms.admin.dto.*;
+import com.csms.common.database.IndexedRowMapper;
 import com.csms.common.database.RowMapper;
+import com.csms.common.export.ExportSource;
 import com.csms.common.repository.BaseRepository;
+import com.csms.common.repository.ListQuery;
+import com.csms.common.repository.PageCursor;
 import io.vertx.core.Future;
 import io.vertx.pgclient.PgPool;
+import io.vertx.sqlclient.Pool;
 import io.vertx.sqlclient.SqlClient;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -22,21 +28,33 @@ public class AdminMiningRepository extends BaseRepository {
         this.pool = pool;
     }
     
-    private final RowMapper<MiningRecordDto> miningRecordMapper = row -> MiningRecordDto.builder()
-        .id(getLong(row, "id"))
-        .userId(getLong(row, "user_id"))
-        .referrerNickname(getString(row, "referrer_nickname"))
-        .nickname(getString(row, "nickname"))
-        .email(getString(row, "email"))
-        .level(getInteger(row, "level"))
-        .miningStartTime(getLocalDateTime(row, "mining_start_time"))
-        .miningEndTime(getLocalDateTime(row, "mining_end_time"))
-        .miningAmount(getDouble(row, "mining_amount"))
-        .cumulativeMiningAmount(getDouble(row, "cumulative_mining_amount"))
-        .miningEfficiency(getInteger(row, "mining_efficiency"))
-        .activityStatus(getString(row, "activity_status"))
+    private final IndexedRowMapper<MiningRecordDto> miningRecordMapper = (row, columns) -> MiningRecordDto.builder()
+        .id(columns.getLong(row, "id"))
+        .userId(columns.getLong(row, "user_id"))
+        .referrerNickname(columns.getString(row, "referrer_nickname"))
+        .nickname(columns.getString(row, "nickname"))
+        .email(columns.getString(row, "email"))
+        .level(columns.getInteger(row, "level"))
+        .miningStartTime(columns.getLocalDateTime(row, "mining_start_time"))
+        .miningEndTime(columns.getLocalDateTime(row, "mining_end_time"))
+        .miningAmount(columns.getDouble(row, "mining_amount"))
+        .cumulativeMiningAmount(columns.getDouble(row, "cumulative_mining_amount"))
+        .miningEfficiency(columns.getInteger(row, "mining_efficiency"))
+        .activityStatus(columns.getString(row, "activity_status"))
         .build();
     
+    /**
+     * 채굴 기록/내역 결과 캐시 워터마크 (mining_history 변경 + 회원 정보 변경, result_cache_versions 변경 카운터)
+     * 회원별 집계(user_mining_totals)는 mining_history 변경으로만 바뀌므로 mining_history 카운터로 함께 감지됩니다.
+     */
+    public Future<String> getMiningWatermark(SqlClient client) {
+        return queryWatermark(client, """
+            SELECT
+                (SELECT SUM(version) FROM result_cache_versions WHERE table_name = 'mining_history'),
+                (SELECT SUM(version) FROM result_cache_versions WHERE table_name = 'users')
+            """);
+    }
+    
     public Future<MiningRecordListDto> getMiningRecords(
         SqlClient client,
         Integer limit,
@@ -45,14 +63,49 @@ public class AdminMiningRepository extends BaseRepository {
         LocalDateTime endDate,
         String searchCategory,
         String searchKeyword,
-        String activityStatus
+        String activityStatus,
+        PageCursor cursor
     ) {
-        StringBuilder sql = new StringBuilder();
-        Map<String, Object> params = new HashMap<>();
+        ListQuery listQuery = miningRecordsQuery(startDate, endDate, searchCategory, searchKeyword, activityStatus)
+            .cursor(cursor);
         
-        // SELECT 절
-        sql.append("""
-            SELECT 
+        // 페이지 + 전체 건수를 한 번에 조회
+        return queryPage(client, listQuery, miningRecordMapper, limit, offset)
+            .map(page -> MiningRecordListDto.builder()
+                .records(page.items())
+                .total((int) page.total())
+                .limit(limit)
+                .offset(offset)
+                .nextCursor(page.nextCursor())
+                .build())
+            .onFailure(throwable -> {
+                throw new com.csms.common.exceptions.InternalServerException("Failed to get mining records", throwable);
+            });
+    }
+    
+    /**
+     * 채굴 기록 전체 스트리밍 조회 (엑셀 내보내기)
+     */
+    public ExportSource<MiningRecordDto> streamMiningRecords(
+        Pool pool,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        String searchCategory,
+        String searchKeyword,
+        String activityStatus
+    ) {
+        ListQuery listQuery = miningRecordsQuery(startDate, endDate, searchCategory, searchKeyword, activityStatus);
+        return streamSource(pool, listQuery, miningRecordMapper);
+    }
+    
+    private ListQuery miningRecordsQuery(
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        String searchCategory,
+        String searchKeyword,
+        String activityStatus
+    ) {
+        ListQuery listQuery = ListQuery.of("""
                 mh.id,
                 mh.user_id,
                 referrer.nickname as referrer_nickname,
@@ -62,54 +115,36 @@ public class AdminMiningRepository extends BaseRepository {
                 mh.created_at as mining_start_time,
                 mh.updated_at as mining_end_time,
                 mh.amount as mining_amount,
-                COALESCE(cumulative_stats.cumulative_amount, 0) as cumulative_mining_amount,
+                COALESCE(mh.cumulative_amount, 0) as cumulative_mining_amount,
                 COALESCE(mh.efficiency, 0) as mining_efficiency,
                 u.status as activity_status
-            FROM mining_history mh
-            INNER JOIN users u ON u.id = mh.user_id
-            LEFT JOIN referral_relations rr ON rr.referred_id = u.id AND rr.status = 'ACTIVE' AND rr.deleted_at IS NULL
-            LEFT JOIN users referrer ON referrer.id = rr.referrer_id
-            LEFT JOIN (
-                SELECT 
-                    user_id,
-                    SUM(amount) OVER (PARTITION BY user_id ORDER BY created_at) as cumulative_amount
-                FROM mining_history
-                WHERE type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')
-            ) cumulative_stats ON cumulative_stats.user_id = mh.user_id
-            WHERE mh.type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')
-            AND mh.created_at >= :start_date
-            AND mh.created_at <= :end_date
-            """);
-        
-        params.put("start_date", startDate);
-        params.put("end_date", endDate);
+                """, "mining_history mh")
+            .join("INNER JOIN users u ON u.id = mh.user_id")
+            .join("LEFT JOIN referral_relations rr ON rr.referred_id = u.id AND rr.status = 'ACTIVE' AND rr.deleted_at IS NULL")
+            .join("LEFT JOIN users referrer ON referrer.id = rr.referrer_id")
+            .where("mh.type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')")
+            .where("mh.created_at >= :start_date", "start_date", startDate)
+            .where("mh.created_at <= :end_date", "end_date", endDate)
+            .keyset("mh.created_at", "mh.id");
         
         // 검색 조건
         if (searchKeyword != null && !searchKeyword.trim().isEmpty() && searchCategory != null) {
             switch (searchCategory) {
-                case "ID" -> {
-                    sql.append(" AND (u.id::text = :search_keyword OR u.login_id ILIKE :search_keyword_pattern)");
-                    params.put("search_keyword", searchKeyword);
-                    params.put("search_keyword_pattern", "%" + searchKeyword + "%");
-                }
-                case "REFERRER" -> {
-                    sql.append(" AND referrer.nickname ILIKE :search_keyword_pattern");
-                    params.put("search_keyword_pattern", "%" + searchKeyword + "%");
-                }
-                case "NICKNAME" -> {
-                    sql.append(" AND u.nickname ILIKE :search_keyword_pattern");
-                    params.put("search_keyword_pattern", "%" + searchKeyword + "%");
-                }
+                case "ID" -> listQuery
+                    .where("(u.id::text = :search_keyword OR u.login_id ILIKE :search_keyword_pattern)")
+                    .param("search_keyword", searchKeyword)
+                    .param("search_keyword_pattern", ListQuery.likePattern(searchKeyword));
+                case "REFERRER" -> listQuery.where("referrer.nickname ILIKE :search_keyword_pattern",
+                    "search_keyword_pattern", ListQuery.likePattern(searchKeyword));
+                case "NICKNAME" -> listQuery.where("u.nickname ILIKE :search_keyword_pattern",
+                    "search_keyword_pattern", ListQuery.likePattern(searchKeyword));
                 case "EMAIL" -> {
                     // email 컬럼이 users 테이블에 없으므로 검색 제외
-                    // sql.append(" AND u.email ILIKE :search_keyword_pattern");
-                    // params.put("search_keyword_pattern", "%" + searchKeyword + "%");
                 }
                 case "LEVEL" -> {
                     try {
                         Integer level = Integer.parseInt(searchKeyword);
-                        sql.append(" AND u.level = :search_level");
-                        params.put("search_level", level);
+                        listQuery.where("u.level = :search_level", "search_level", level);
                     } catch (NumberFormatException e) {
                         // 레벨 파싱 실패 시 무시
                     }
@@ -119,80 +154,65 @@ public class AdminMiningRepository extends BaseRepository {
         
         // 활동상태 필터
         if (activityStatus != null && !activityStatus.equals("ALL")) {
-            sql.append(" AND u.status = :activity_status");
-            params.put("activity_status", activityStatus);
+            listQuery.where("u.status = :activity_status", "activity_status", activityStatus);
         }
         
-        // 정렬 및 페이지네이션
-        sql.append(" ORDER BY mh.created_at DESC");
+        return listQuery;
+    }
+    
+    /**
+     * 누적 채굴량(mining_history.cumulative_amount) 백필 1회 배치 실행
+     * @return 처리한 사용자 수 (0이면 백필 완료)
+     */
+    public Future<Integer> backfillCumulativeAmounts(SqlClient client, int batchSize) {
+        String sql = "SELECT backfill_mining_history_cumulative(:batch_size) as processed_count";
         
-        // 총 개수 조회를 위한 별도 쿼리
-        StringBuilder countSql = new StringBuilder();
-        countSql.append("""
-            SELECT COUNT(*) as total
-            FROM mining_history mh
-            INNER JOIN users u ON u.id = mh.user_id
-            LEFT JOIN referral_relations rr ON rr.referred_id = u.id AND rr.status = 'ACTIVE' AND rr.deleted_at IS NULL
-            LEFT JOIN users referrer ON referrer.id = rr.referrer_id
-            WHERE mh.type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')
-            AND mh.created_at >= :start_date
-            AND mh.created_at <= :end_date
-            """);
+        Map<String, Object> params = new HashMap<>();
+        params.put("batch_size", batchSize);
         
-        // 검색 조건 추가 (count 쿼리에도 동일하게 적용)
-        if (searchKeyword != null && !searchKeyword.trim().isEmpty() && searchCategory != null) {
-            switch (searchCategory) {
-                case "ID" -> countSql.append(" AND (u.id::text = :search_keyword OR u.login_id ILIKE :search_keyword_pattern)");
-                case "REFERRER" -> countSql.append(" AND referrer.nickname ILIKE :search_keyword_pattern");
-                case "NICKNAME" -> countSql.append(" AND u.nickname ILIKE :search_keyword_pattern");
-                case "EMAIL" -> {
-                    // email 컬럼이 users 테이블에 없으므로 검색 제외
-                    // countSql.append(" AND u.email ILIKE :search_keyword_pattern");
-                }
-                case "LEVEL" -> {
-                    try {
-                        Integer level = Integer.parseInt(searchKeyword);
-                        countSql.append(" AND u.level = :search_level");
-                    } catch (NumberFormatException e) {
-                        // 레벨 파싱 실패 시 무시
-                    }
-                }
-            }
-        }
+        return query(client, sql, params)
+            .map(rows -> rows.size() > 0 ? getInteger(rows.iterator().next(), "processed_count") : 0);
+    }
+    
+    /**
+     * 채굴 내역 월 파티션 생성 (from이 속한 월 ~ to가 속한 월 중 없는 파티션)
+     * @return 생성한 파티션 수
+     */
+    public Future<Integer> createMiningHistoryPartitions(SqlClient client, LocalDate from, LocalDate to) {
+        String sql = "SELECT create_mining_history_partitions(:from_date, :to_date) as created_count";
         
-        if (activityStatus != null && !activityStatus.equals("ALL")) {
-            countSql.append(" AND u.status = :activity_status");
-        }
+        Map<String, Object> params = new HashMap<>();
+        params.put("from_date", from);
+        params.put("to_date", to);
         
-        Map<String, Object> countParams = new HashMap<>(params);
+        return query(client, sql, params)
+            .map(rows -> rows.size() > 0 ? getInteger(rows.iterator().next(), "created_count") : 0);
+    }
+    
+    /**
+     * before 이전에 끝나는 채굴 내역 월 파티션 분리
+     * @param drop true이면 삭제, false이면 mining_history_archive_YYYYMM 테이블로 보관
+     * @return 분리한 파티션 수
+     */
+    public Future<Integer> detachMiningHistoryPartitions(SqlClient client, LocalDate before, boolean drop) {
+        String sql = "SELECT detach_mining_history_partitions(:before_date, :drop_detached) as detached_count";
         
-        return query(client, countSql.toString(), countParams)
-            .compose(countRows -> {
-                Integer totalValue = fetchOne(row -> getInteger(row, "total"), countRows);
-                final Integer total = totalValue != null ? totalValue : 0;
-                
-                // 데이터 조회
-                sql.append(" LIMIT :limit OFFSET :offset");
-                params.put("limit", limit);
-                params.put("offset", offset);
-                
-                return query(client, sql.toString(), params)
-                    .map(rows -> {
-                        List<MiningRecordDto> records = new ArrayList<>();
-                        for (var row : rows) {
-                            records.add(miningRecordMapper.map(row));
-                        }
-                        return MiningRecordListDto.builder()
-                            .records(records)
-                            .total(total)
-                            .limit(limit)
-                            .offset(offset)
-                            .build();
-                    });
-            })
-            .onFailure(throwable -> {
-                throw new com.csms.common.exceptions.InternalServerException("Failed to get mining records", throwable);
-            });
+        Map<String, Object> params = new HashMap<>();
+        params.put("before_date", before);
+        params.put("drop_detached", drop);
+        
+        return query(client, sql, params)
+            .map(rows -> rows.size() > 0 ? getInteger(rows.iterator().next(), "detached_count") : 0);
+    }
+    
+    /**
+     * 기본 파티션(월 파티션이 없던 기간의 행)에 데이터가 있는지 확인
+     */
+    public Future<Boolean> hasDefaultPartitionRows(SqlClient client) {
+        String sql = "SELECT EXISTS (SELECT 1 FROM mining_history_default) as has_rows";
+        
+        return query(client, sql, new HashMap<>())
+            .map(rows -> rows.size() > 0 && Boolean.TRUE.equals(getBoolean(rows.iterator().next(), "has_rows")));
     }
     
     // ========== Mining Condition 관련 메서드 ==========
@@ -858,25 +878,25 @@ public class AdminMiningRepository extends BaseRepository {
     
     // ========== Mining History List 관련 메서드 ==========
     
-    private final RowMapper<MiningHistoryListDto.MiningHistoryItem> itemMapper = row -> {
+    private final IndexedRowMapper<MiningHistoryListDto.MiningHistoryItem> itemMapper = (row, columns) -> {
         // sanction_status 컬럼이 users 테이블에 없으므로 NULL로 처리
-        String sanctionStatus = getString(row, "sanction_status");
+        String sanctionStatus = columns.getString(row, "sanction_status");
         if (sanctionStatus == null) {
             sanctionStatus = "NONE";
         }
         
         return MiningHistoryListDto.MiningHistoryItem.builder()
-            .id(getLong(row, "id"))
-            .referrerNickname(getString(row, "referrer_nickname"))
-            .nickname(getString(row, "nickname"))
-            .miningEfficiency(getInteger(row, "mining_efficiency"))
-            .level(getInteger(row, "level"))
-            .invitationCode(getString(row, "invitation_code"))
-            .teamMemberCount(getInteger(row, "team_member_count"))
-            .totalMiningAmount(getDouble(row, "total_mining_amount"))
-            .referralRevenue(getDouble(row, "referral_revenue"))
-            .totalMinedHoldings(getDouble(row, "total_mined_holdings"))
-            .activityStatus(getString(row, "activity_status"))
+            .id(columns.getLong(row, "id"))
+            .referrerNickname(columns.getString(row, "referrer_nickname"))
+            .nickname(columns.getString(row, "nickname"))
+            .miningEfficiency(columns.getInteger(row, "mining_efficiency"))
+            .level(columns.getInteger(row, "level"))
+            .invitationCode(columns.getString(row, "invitation_code"))
+            .teamMemberCount(columns.getInteger(row, "team_member_count"))
+            .totalMiningAmount(columns.getDouble(row, "total_mining_amount"))
+            .referralRevenue(columns.getDouble(row, "referral_revenue"))
+            .totalMinedHoldings(columns.getDouble(row, "total_mined_holdings"))
+            .activityStatus(columns.getString(row, "activity_status"))
             .sanctionStatus(sanctionStatus)  // NULL로 반환됨
             .build();
     };
@@ -890,52 +910,117 @@ public class AdminMiningRepository extends BaseRepository {
         String activityStatus,
         String sanctionStatus
     ) {
-        StringBuilder sql = new StringBuilder();
         Map<String, Object> params = new HashMap<>();
+        String sql = miningHistoryListSql(params, searchCategory, searchKeyword, sortType, activityStatus);
+        
+        StringBuilder countSql = new StringBuilder();
+        countSql.append("""
+            SELECT COUNT(DISTINCT u.id) as total
+            FROM users u
+            INNER JOIN user_mining_totals umt ON umt.user_id = u.id
+            LEFT JOIN referral_relations rr ON rr.referred_id = u.id AND rr.status = 'ACTIVE' AND rr.deleted_at IS NULL
+            LEFT JOIN users referrer ON referrer.id = rr.referrer_id
+            WHERE (umt.mining_count > 0 OR umt.referral_count > 0)
+            """);
+        
+        if (searchKeyword != null && !searchKeyword.trim().isEmpty() &&
+            searchCategory != null && !"ALL".equals(searchCategory)) {
+            switch (searchCategory) {
+                case "ID" -> countSql.append(" AND (u.id::text LIKE :search_keyword OR u.login_id LIKE :search_keyword)");
+                case "REFERRER" -> countSql.append(" AND referrer.nickname LIKE :search_keyword");
+                case "NICKNAME" -> countSql.append(" AND u.nickname LIKE :search_keyword");
+                case "LEVEL" -> {
+                    try {
+                        Integer level = Integer.parseInt(searchKeyword.trim());
+                        countSql.append(" AND u.level = :search_keyword");
+                    } catch (NumberFormatException e) {
+                        countSql.append(" AND 1=0");
+                    }
+                }
+                case "INVITATION_CODE" -> countSql.append(" AND u.referral_code LIKE :search_keyword");
+            }
+        }
+        
+        if (activityStatus != null && !"ALL".equals(activityStatus)) {
+            countSql.append(" AND u.status = :activity_status");
+        }
+        
+        // sanction_status 컬럼이 users 테이블에 없으므로 필터 제거
+        // if (sanctionStatus != null && !"ALL".equals(sanctionStatus)) {
+        //     countSql.append(" AND u.sanction_status = :sanction_status");
+        // }
+        
+        return query(client, countSql.toString(), params)
+            .compose(countRows -> {
+                Integer total = 0;
+                if (countRows.size() > 0) {
+                    total = getInteger(countRows.iterator().next(), "total");
+                }
+                final Integer finalTotal = total;
+                
+                params.put("limit", limit);
+                params.put("offset", offset);
+                
+                return query(client, sql + " LIMIT :limit OFFSET :offset", params)
+                    .map(rows -> MiningHistoryListDto.builder()
+                        .items(fetchAll(itemMapper, rows))
+                        .total(finalTotal)
+                        .limit(limit)
+                        .offset(offset)
+                        .build());
+            })
+            .onFailure(throwable -> {
+                throw new com.csms.common.exceptions.InternalServerException("Failed to get mining history list", throwable);
+            });
+    }
+    
+    /**
+     * 채굴 내역 목록 전체 스트리밍 조회 (엑셀 내보내기)
+     */
+    public ExportSource<MiningHistoryListDto.MiningHistoryItem> streamMiningHistoryList(
+        Pool pool,
+        String searchCategory,
+        String searchKeyword,
+        String sortType,
+        String activityStatus
+    ) {
+        Map<String, Object> params = new HashMap<>();
+        String sql = miningHistoryListSql(params, searchCategory, searchKeyword, sortType, activityStatus);
+        return streamSource(pool, sql, params, itemMapper);
+    }
+    
+    /**
+     * 채굴 내역 목록 조회 SQL (정렬 포함, LIMIT 제외) - 검색 파라미터는 params에 추가
+     */
+    private String miningHistoryListSql(
+        Map<String, Object> params,
+        String searchCategory,
+        String searchKeyword,
+        String sortType,
+        String activityStatus
+    ) {
+        StringBuilder sql = new StringBuilder();
         
         sql.append("""
             SELECT 
                 u.id,
                 referrer.nickname as referrer_nickname,
                 u.nickname,
-                COALESCE(avg_efficiency.mining_efficiency, 0) as mining_efficiency,
+                COALESCE(umt.avg_efficiency, 0) as mining_efficiency,
                 u.level,
                 u.referral_code as invitation_code,
-                COALESCE(team_stats.team_member_count, 0) as team_member_count,
-                COALESCE(mining_stats.total_mining_amount, 0) as total_mining_amount,
-                COALESCE(revenue_stats.referral_revenue, 0) as referral_revenue,
-                COALESCE(mining_stats.total_mining_amount, 0) + COALESCE(revenue_stats.referral_revenue, 0) as total_mined_holdings,
+                COALESCE(rsl.team_count, 0) as team_member_count,
+                umt.mined_amount as total_mining_amount,
+                umt.referral_revenue as referral_revenue,
+                umt.mined_amount + umt.referral_revenue as total_mined_holdings,
                 u.status as activity_status,
                 NULL as sanction_status
             FROM users u
             LEFT JOIN referral_relations rr ON rr.referred_id = u.id AND rr.status = 'ACTIVE' AND rr.deleted_at IS NULL
             LEFT JOIN users referrer ON referrer.id = rr.referrer_id
-            LEFT JOIN (
-                SELECT referrer_id, COUNT(DISTINCT referred_id) as team_member_count
-                FROM referral_relations
-                WHERE status = 'ACTIVE' AND deleted_at IS NULL
-                GROUP BY referrer_id
-            ) team_stats ON team_stats.referrer_id = u.id
-            LEFT JOIN (
-                SELECT user_id, SUM(amount) as total_mining_amount
-                FROM mining_history
-                WHERE type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')
-                GROUP BY user_id
-            ) mining_stats ON mining_stats.user_id = u.id
-            LEFT JOIN (
-                SELECT user_id, SUM(amount) as referral_revenue
-                FROM mining_history
-                WHERE type = 'REFERRAL_REWARD'
-                GROUP BY user_id
-            ) revenue_stats ON revenue_stats.user_id = u.id
-            LEFT JOIN (
-                SELECT user_id, AVG(efficiency) as mining_efficiency
-                FROM mining_history
-                WHERE type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')
-                AND efficiency IS NOT NULL
-                GROUP BY user_id
-            ) avg_efficiency ON avg_efficiency.user_id = u.id
-            WHERE (mining_stats.user_id IS NOT NULL OR revenue_stats.user_id IS NOT NULL)
+            LEFT JOIN referral_stats_logs rsl ON rsl.user_id = u.id
+            INNER JOIN user_mining_totals umt ON umt.user_id = u.id
+            WHERE (umt.mining_count > 0 OR umt.referral_count > 0)
             """);
         
         if (searchKeyword != null && !searchKeyword.trim().isEmpty() &&
@@ -990,84 +1075,22 @@ public class AdminMiningRepository extends BaseRepository {
             sql.append(" ORDER BY u.id DESC");
         }
         
-        StringBuilder countSql = new StringBuilder();
-        countSql.append("""
-            SELECT COUNT(DISTINCT u.id) as total
-            FROM users u
-            LEFT JOIN (
-                SELECT user_id, SUM(amount) as total_mining_amount
-                FROM mining_history
-                WHERE type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')
-                GROUP BY user_id
-            ) mining_stats ON mining_stats.user_id = u.id
-            LEFT JOIN (
-                SELECT user_id, SUM(amount) as referral_revenue
-                FROM mining_history
-                WHERE type = 'REFERRAL_REWARD'
-                GROUP BY user_id
-            ) revenue_stats ON revenue_stats.user_id = u.id
-            LEFT JOIN referral_relations rr ON rr.referred_id = u.id AND rr.status = 'ACTIVE' AND rr.deleted_at IS NULL
-            LEFT JOIN users referrer ON referrer.id = rr.referrer_id
-            WHERE (mining_stats.user_id IS NOT NULL OR revenue_stats.user_id IS NOT NULL)
-            """);
-        
-        if (searchKeyword != null && !searchKeyword.trim().isEmpty() &&
-            searchCategory != null && !"ALL".equals(searchCategory)) {
-            switch (searchCategory) {
-                case "ID" -> countSql.append(" AND (u.id::text LIKE :search_keyword OR u.login_id LIKE :search_keyword)");
-                case "REFERRER" -> countSql.append(" AND referrer.nickname LIKE :search_keyword");
-                case "NICKNAME" -> countSql.append(" AND u.nickname LIKE :search_keyword");
-                case "LEVEL" -> {
-                    try {
-                        Integer level = Integer.parseInt(searchKeyword.trim());
-                        countSql.append(" AND u.level = :search_keyword");
-                    } catch (NumberFormatException e) {
-                        countSql.append(" AND 1=0");
-                    }
-                }
-                case "INVITATION_CODE" -> countSql.append(" AND u.referral_code LIKE :search_keyword");
-            }
-        }
-        
-        if (activityStatus != null && !"ALL".equals(activityStatus)) {
-            countSql.append(" AND u.status = :activity_status");
-        }
+        return sql.toString();
+    }
+    
+    /**
+     * 회원별 채굴 집계(user_mining_totals)를 mining_history로부터 재구축
+     * @param userId null이면 전체 회원
+     * @return 재구축된 회원 수
+     */
+    public Future<Integer> rebuildUserMiningTotals(SqlClient client, Long userId) {
+        String sql = "SELECT rebuild_user_mining_totals(:user_id) as rebuilt_count";
         
-        // sanction_status 컬럼이 users 테이블에 없으므로 필터 제거
-        // if (sanctionStatus != null && !"ALL".equals(sanctionStatus)) {
-        //     countSql.append(" AND u.sanction_status = :sanction_status");
-        // }
+        Map<String, Object> params = new HashMap<>();
+        params.put("user_id", userId);
         
-        return query(client, countSql.toString(), params)
-            .compose(countRows -> {
-                Integer total = 0;
-                if (countRows.size() > 0) {
-                    total = getInteger(countRows.iterator().next(), "total");
-                }
-                final Integer finalTotal = total;
-                
-                sql.append(" LIMIT :limit OFFSET :offset");
-                params.put("limit", limit);
-                params.put("offset", offset);
-                
-                return query(client, sql.toString(), params)
-                    .map(rows -> {
-                        List<MiningHistoryListDto.MiningHistoryItem> items = new ArrayList<>();
-                        for (var row : rows) {
-                            items.add(itemMapper.map(row));
-                        }
-                        
-                        return MiningHistoryListDto.builder()
-                            .items(items)
-                            .total(finalTotal)
-                            .limit(limit)
-                            .offset(offset)
-                            .build();
-                    });
-            })
-            .onFailure(throwable -> {
-                throw new com.csms.common.exceptions.InternalServerException("Failed to get mining history list", throwable);
-            });
+        return query(client, sql, params)
+            .map(rows -> rows.size() > 0 ? getInteger(rows.iterator().next(), "rebuilt_count") : 0);
     }
 }
 
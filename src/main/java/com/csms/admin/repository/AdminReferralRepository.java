@@ -4,9 +4,13 @@ import com.csms.admin.dto.ReferralTransactionHistoryDto;
 import com.csms.admin.dto.ReferralTransactionHistoryListDto;
 import com.csms.admin.dto.ReferralTreeListDto;
 import com.csms.admin.dto.ReferralTreeMemberDto;
-import com.csms.common.database.RowMapper;
+import com.csms.common.database.IndexedRowMapper;
+import com.csms.common.export.ExportSource;
 import com.csms.common.repository.BaseRepository;
+import com.csms.common.repository.ListQuery;
+import com.csms.common.repository.PageCursor;
 import io.vertx.core.Future;
+import io.vertx.sqlclient.Pool;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowSet;
 import io.vertx.sqlclient.SqlClient;
@@ -26,18 +30,18 @@ public class AdminReferralRepository extends BaseRepository {
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
     
-    private final RowMapper<ReferralTransactionHistoryDto> referralTransactionMapper = row -> {
-        LocalDateTime createdAt = getLocalDateTime(row, "created_at");
+    private final IndexedRowMapper<ReferralTransactionHistoryDto> referralTransactionMapper = (row, columns) -> {
+        LocalDateTime createdAt = columns.getLocalDateTime(row, "created_at");
         return ReferralTransactionHistoryDto.builder()
-            .id(getLong(row, "id"))
-            .referrerNickname(getString(row, "referrer_nickname"))
-            .invitationCode(getString(row, "invitation_code"))
-            .nickname(getString(row, "nickname"))
-            .level(getInteger(row, "level"))
-            .teamMemberCount(getInteger(row, "team_member_count"))
-            .referralRevenueBefore(getBigDecimal(row, "referral_revenue_before"))
-            .referralRevenue(getBigDecimal(row, "referral_revenue"))
-            .referralRevenueAfter(getBigDecimal(row, "referral_revenue_after"))
+            .id(columns.getLong(row, "id"))
+            .referrerNickname(columns.getString(row, "referrer_nickname"))
+            .invitationCode(columns.getString(row, "invitation_code"))
+            .nickname(columns.getString(row, "nickname"))
+            .level(columns.getInteger(row, "level"))
+            .teamMemberCount(columns.getInteger(row, "team_member_count"))
+            .referralRevenueBefore(columns.getBigDecimal(row, "referral_revenue_before"))
+            .referralRevenue(columns.getBigDecimal(row, "referral_revenue"))
+            .referralRevenueAfter(columns.getBigDecimal(row, "referral_revenue_after"))
             .date(createdAt != null ? createdAt.format(DATE_FORMATTER) : null)
             .time(createdAt != null ? createdAt.format(TIME_FORMATTER) : null)
             .createdAt(createdAt)
@@ -55,82 +59,101 @@ public class AdminReferralRepository extends BaseRepository {
         LocalDateTime endDate,
         String searchCategory,
         String searchKeyword,
-        String sortType
+        String sortType,
+        PageCursor cursor
     ) {
         log.debug("Executing getReferralTransactionHistory - limit: {}, offset: {}, startDate: {}, endDate: {}", 
             limit, offset, startDate, endDate);
         
-        StringBuilder sql = new StringBuilder();
-        Map<String, Object> params = new HashMap<>();
-        
-        // SELECT 절 - mining_history에서 REFERRAL_REWARD 타입 조회
-        sql.append("""
-            SELECT 
+        ListQuery listQuery = referralTransactionHistoryQuery(startDate, endDate, searchCategory, searchKeyword, sortType)
+            .cursor(cursor);
+        
+        return queryPage(client, listQuery, referralTransactionMapper, limit, offset)
+            .map(page -> ReferralTransactionHistoryListDto.builder()
+                .transactions(page.items())
+                .total((int) page.total())
+                .limit(limit)
+                .offset(offset)
+                .nextCursor(page.nextCursor())
+                .build());
+    }
+    
+    /**
+     * 래퍼럴 거래내역 전체 스트리밍 조회 (엑셀 내보내기)
+     */
+    public ExportSource<ReferralTransactionHistoryDto> streamReferralTransactionHistory(
+        Pool pool,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        String searchCategory,
+        String searchKeyword,
+        String sortType
+    ) {
+        ListQuery listQuery = referralTransactionHistoryQuery(startDate, endDate, searchCategory, searchKeyword, sortType);
+        return streamSource(pool, listQuery, referralTransactionMapper);
+    }
+    
+    private ListQuery referralTransactionHistoryQuery(
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        String searchCategory,
+        String searchKeyword,
+        String sortType
+    ) {
+        // mining_history에서 REFERRAL_REWARD 타입 조회
+        // 직전 누적 수익은 mh.id 기준으로 조인하여 행이 중복되지 않도록 함 (rr.level = 1은 referred_id당 1건)
+        ListQuery listQuery = ListQuery.of("""
                 mh.id,
                 referrer.nickname as referrer_nickname,
                 referrer.referral_code as invitation_code,
                 u.nickname,
                 COALESCE(rr.level, 1) as level,
-                COALESCE(team_stats.team_member_count, 0) as team_member_count,
+                COALESCE(rsl.team_count, 0) as team_member_count,
                 COALESCE(before_stats.referral_revenue, 0) as referral_revenue_before,
                 mh.amount as referral_revenue,
                 COALESCE(before_stats.referral_revenue, 0) + mh.amount as referral_revenue_after,
                 mh.created_at
-            FROM mining_history mh
-            INNER JOIN users u ON u.id = mh.user_id
-            LEFT JOIN referral_relations rr ON rr.referred_id = mh.user_id AND rr.status = 'ACTIVE' AND rr.deleted_at IS NULL AND rr.level = 1
-            LEFT JOIN users referrer ON referrer.id = rr.referrer_id
-            LEFT JOIN (
-                SELECT referrer_id, COUNT(DISTINCT referred_id) as team_member_count
-                FROM referral_relations
-                WHERE status = 'ACTIVE' AND deleted_at IS NULL
-                GROUP BY referrer_id
-            ) team_stats ON team_stats.referrer_id = mh.user_id
-            LEFT JOIN (
-                SELECT 
-                    user_id,
-                    SUM(amount) OVER (PARTITION BY user_id ORDER BY created_at ROWS BETWEEN UNBOUNDED PRECEDING AND 1 PRECEDING) as referral_revenue
-                FROM mining_history
-                WHERE type = 'REFERRAL_REWARD'
-            ) before_stats ON before_stats.user_id = mh.user_id
-            WHERE mh.type = 'REFERRAL_REWARD'
-            """);
+                """, "mining_history mh")
+            .join("INNER JOIN users u ON u.id = mh.user_id")
+            .join("LEFT JOIN referral_relations rr ON rr.referred_id = mh.user_id AND rr.status = 'ACTIVE' AND rr.deleted_at IS NULL AND rr.level = 1")
+            .join("LEFT JOIN users referrer ON referrer.id = rr.referrer_id")
+            .pageJoin("LEFT JOIN referral_stats_logs rsl ON rsl.user_id = mh.user_id")
+            .pageJoin("""
+                LEFT JOIN (
+                    SELECT 
+                        id,
+                        SUM(amount) OVER (PARTITION BY user_id ORDER BY created_at, id ROWS BETWEEN UNBOUNDED PRECEDING AND 1 PRECEDING) as referral_revenue
+                    FROM mining_history
+                    WHERE type = 'REFERRAL_REWARD'
+                ) before_stats ON before_stats.id = mh.id
+                """)
+            .where("mh.type = 'REFERRAL_REWARD'");
         
         // 날짜 필터
         if (startDate != null) {
-            sql.append(" AND mh.created_at >= :start_date");
-            params.put("start_date", startDate);
+            listQuery.where("mh.created_at >= :start_date", "start_date", startDate);
         }
         if (endDate != null) {
-            sql.append(" AND mh.created_at <= :end_date");
-            params.put("end_date", endDate);
+            listQuery.where("mh.created_at <= :end_date", "end_date", endDate);
         }
         
         // 검색 조건
         if (searchKeyword != null && !searchKeyword.trim().isEmpty() && searchCategory != null) {
             switch (searchCategory) {
-                case "ID" -> {
-                    sql.append(" AND (u.id::text = :search_keyword OR u.login_id ILIKE :search_keyword_pattern)");
-                    params.put("search_keyword", searchKeyword);
-                    params.put("search_keyword_pattern", "%" + searchKeyword + "%");
-                }
-                case "REFERRER" -> {
-                    sql.append(" AND referrer.nickname ILIKE :search_keyword_pattern");
-                    params.put("search_keyword_pattern", "%" + searchKeyword + "%");
-                }
-                case "INVITATION_CODE" -> {
-                    sql.append(" AND referrer.referral_code ILIKE :search_keyword_pattern");
-                    params.put("search_keyword_pattern", "%" + searchKeyword + "%");
-                }
-                case "NICKNAME" -> {
-                    sql.append(" AND u.nickname ILIKE :search_keyword_pattern");
-                    params.put("search_keyword_pattern", "%" + searchKeyword + "%");
-                }
+                case "ID" -> listQuery
+                    .where("(u.id::text = :search_keyword OR u.login_id ILIKE :search_keyword_pattern)")
+                    .param("search_keyword", searchKeyword)
+                    .param("search_keyword_pattern", ListQuery.likePattern(searchKeyword));
+                case "REFERRER" -> listQuery.where("referrer.nickname ILIKE :search_keyword_pattern",
+                    "search_keyword_pattern", ListQuery.likePattern(searchKeyword));
+                case "INVITATION_CODE" -> listQuery.where("referrer.referral_code ILIKE :search_keyword_pattern",
+                    "search_keyword_pattern", ListQuery.likePattern(searchKeyword));
+                case "NICKNAME" -> listQuery.where("u.nickname ILIKE :search_keyword_pattern",
+                    "search_keyword_pattern", ListQuery.likePattern(searchKeyword));
                 case "LEVEL" -> {
                     try {
                         Integer level = Integer.parseInt(searchKeyword);
-                        sql.append(" AND COALESCE(MAX(rr.level), 1) = :level");
-                        params.put("level", level);
+                        listQuery.where("COALESCE(rr.level, 1) = :level", "level", level);
                     } catch (NumberFormatException e) {
                         // 무시
                     }
@@ -138,83 +161,16 @@ public class AdminReferralRepository extends BaseRepository {
             }
         }
         
-        sql.append(" GROUP BY mh.id, referrer.nickname, referrer.referral_code, u.nickname, mh.amount, mh.created_at, team_stats.team_member_count, before_stats.referral_revenue, rr.level");
-        
-        // 정렬
+        // 정렬 (키셋/커서 페이지네이션은 최신순(LATEST)에서만 지원)
         if ("TEAM_MEMBER_COUNT".equals(sortType)) {
-            sql.append(" ORDER BY team_member_count DESC, mh.created_at DESC");
+            listQuery.orderBy("team_member_count DESC, mh.created_at DESC, mh.id DESC");
+        } else if ("LATEST".equals(sortType)) {
+            listQuery.keyset("mh.created_at", "mh.id");
         } else {
-            sql.append(" ORDER BY level DESC, mh.created_at DESC");
+            listQuery.orderBy("level DESC, mh.created_at DESC, mh.id DESC");
         }
         
-        sql.append(" LIMIT :limit OFFSET :offset");
-        params.put("limit", limit);
-        params.put("offset", offset);
-        
-        // 카운트 쿼리
-        StringBuilder countSql = new StringBuilder();
-        countSql.append("""
-            SELECT COUNT(DISTINCT mh.id) as count
-            FROM mining_history mh
-            INNER JOIN users u ON u.id = mh.user_id
-            LEFT JOIN referral_relations rr ON rr.referred_id = mh.user_id AND rr.status = 'ACTIVE' AND rr.deleted_at IS NULL
-            LEFT JOIN users referrer ON referrer.id = rr.referrer_id
-            WHERE mh.type = 'REFERRAL_REWARD'
-            """);
-        
-        Map<String, Object> countParams = new HashMap<>(params);
-        countParams.remove("limit");
-        countParams.remove("offset");
-        
-        // 동일한 WHERE 조건 추가
-        if (startDate != null) {
-            countSql.append(" AND mh.created_at >= :start_date");
-        }
-        if (endDate != null) {
-            countSql.append(" AND mh.created_at <= :end_date");
-        }
-        if (searchKeyword != null && !searchKeyword.trim().isEmpty() && searchCategory != null) {
-            switch (searchCategory) {
-                case "ID" -> {
-                    countSql.append(" AND (u.id::text = :search_keyword OR u.login_id ILIKE :search_keyword_pattern)");
-                }
-                case "REFERRER" -> countSql.append(" AND referrer.nickname ILIKE :search_keyword_pattern");
-                case "INVITATION_CODE" -> countSql.append(" AND referrer.referral_code ILIKE :search_keyword_pattern");
-                case "NICKNAME" -> countSql.append(" AND u.nickname ILIKE :search_keyword_pattern");
-                case "LEVEL" -> {
-                    try {
-                        Integer level = Integer.parseInt(searchKeyword);
-                        countSql.append(" AND COALESCE(MAX(rr.level), 1) = :level");
-                    } catch (NumberFormatException e) {
-                        // 무시
-                    }
-                }
-            }
-        }
-        
-        Future<List<ReferralTransactionHistoryDto>> transactionsFuture = query(client, sql.toString(), params)
-            .map(rows -> fetchAll(referralTransactionMapper, rows));
-        
-        Future<Integer> countFuture = query(client, countSql.toString(), countParams)
-            .map(rows -> {
-                if (rows.size() > 0) {
-                    return rows.iterator().next().getInteger("count");
-                }
-                return 0;
-            });
-        
-        return Future.all(List.of(transactionsFuture, countFuture))
-            .map(results -> {
-                List<ReferralTransactionHistoryDto> transactions = transactionsFuture.result();
-                Integer total = countFuture.result();
-                
-                return ReferralTransactionHistoryListDto.builder()
-                    .transactions(transactions)
-                    .total(total)
-                    .limit(limit)
-                    .offset(offset)
-                    .build();
-            });
+        return listQuery;
     }
     
     /**
@@ -230,152 +186,155 @@ public class AdminReferralRepository extends BaseRepository {
         String searchKeyword,
         String activityStatus,
         String sortType
+    ) {
+        return getReferralTree(client, limit, offset, startDate, endDate,
+            searchCategory, searchKeyword, activityStatus, sortType, true);
+    }
+    
+    /**
+     * 래퍼럴 트리구조 목록 조회
+     * @param includeTeamCounts false이면 team_member_count를 0으로 두고 referral_stats_logs의 팀원 수를 읽지 않음
+     *                          (호출 측에서 레퍼럴 그래프로 채우는 경우, 팀원 수 정렬에는 사용 불가)
+     */
+    public Future<ReferralTreeListDto> getReferralTree(
+        SqlClient client,
+        Integer limit,
+        Integer offset,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        String searchCategory,
+        String searchKeyword,
+        String activityStatus,
+        String sortType,
+        boolean includeTeamCounts
     ) {
         log.debug("Executing getReferralTree - limit: {}, offset: {}, startDate: {}, endDate: {}", 
             limit, offset, startDate, endDate);
         
-        StringBuilder sql = new StringBuilder();
-        Map<String, Object> params = new HashMap<>();
+        // 상위 회원 조회
+        ListQuery listQuery = referralTreeQuery(startDate, endDate, searchCategory, searchKeyword, activityStatus, sortType, includeTeamCounts);
         
-        // SELECT 절 - 상위 회원 조회
-        sql.append("""
-            SELECT 
+        // 페이지 + 전체 건수를 한 번에 조회한 뒤 페이지 전체의 하부 회원을 한 번에 조회
+        return queryPage(client, listQuery, referralTreeMemberMapper, limit, offset)
+            .compose(page -> {
+                List<ReferralTreeMemberDto> members = page.items();
+                List<Long> memberIds = new ArrayList<>(members.size());
+                for (ReferralTreeMemberDto member : members) {
+                    memberIds.add(member.getId());
+                }
+                return getChildrenForMembers(client, memberIds, startDate, endDate, includeTeamCounts)
+                    .map(childrenByReferrer -> {
+                        for (ReferralTreeMemberDto member : members) {
+                            member.setChildren(childrenByReferrer.getOrDefault(member.getId(), List.of()));
+                        }
+                        return ReferralTreeListDto.builder()
+                            .members(members)
+                            .total((int) page.total())
+                            .limit(limit)
+                            .offset(offset)
+                            .build();
+                    });
+            });
+    }
+    
+    /**
+     * 래퍼럴 트리구조 전체 스트리밍 조회 (엑셀 내보내기)
+     * 상위 회원 배치마다 하부 회원을 한 번에 조회하여 children에 채운 뒤 전달합니다.
+     */
+    public ExportSource<ReferralTreeMemberDto> streamReferralTree(
+        Pool pool,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        String searchCategory,
+        String searchKeyword,
+        String activityStatus,
+        String sortType
+    ) {
+        ListQuery listQuery = referralTreeQuery(startDate, endDate, searchCategory, searchKeyword, activityStatus, sortType, true);
+        // 배치마다 하부 회원을 조회하여 채움 (원시 행 내보내기는 상위 회원 행만 전달)
+        return streamSource(pool, listQuery, referralTreeMemberMapper).mapBatches(members -> {
+            List<Long> memberIds = new ArrayList<>(members.size());
+            for (ReferralTreeMemberDto member : members) {
+                memberIds.add(member.getId());
+            }
+            return getChildrenForMembers(pool, memberIds, startDate, endDate, true)
+                .map(childrenByReferrer -> {
+                    for (ReferralTreeMemberDto member : members) {
+                        member.setChildren(childrenByReferrer.getOrDefault(member.getId(), List.of()));
+                    }
+                    return members;
+                });
+        });
+    }
+    
+    private ListQuery referralTreeQuery(
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        String searchCategory,
+        String searchKeyword,
+        String activityStatus,
+        String sortType,
+        boolean includeTeamCounts
+    ) {
+        ListQuery listQuery = ListQuery.of("""
                 u.id,
                 rr.referrer_id,
                 referrer.nickname as referrer_nickname,
                 u.referral_code as invitation_code,
                 u.nickname,
                 COALESCE(MAX(rr.level), 1) as level,
-                COALESCE(team_stats.team_member_count, 0) as team_member_count,
-                COALESCE(revenue_stats.total_referral_revenue, 0) as total_referral_revenue,
+                %s,
+                COALESCE(rsl.total_reward, 0) as total_referral_revenue,
                 u.status as activity_status
-            FROM users u
-            LEFT JOIN referral_relations rr ON rr.referred_id = u.id AND rr.status = 'ACTIVE' AND rr.deleted_at IS NULL
-            LEFT JOIN users referrer ON referrer.id = rr.referrer_id
-            LEFT JOIN (
-                SELECT referrer_id, COUNT(DISTINCT referred_id) as team_member_count
-                FROM referral_relations
-                WHERE status = 'ACTIVE' AND deleted_at IS NULL
-                GROUP BY referrer_id
-            ) team_stats ON team_stats.referrer_id = u.id
-            LEFT JOIN (
-                SELECT user_id, SUM(amount) as total_referral_revenue
-                FROM mining_history
-                WHERE type = 'REFERRAL_REWARD'
-                GROUP BY user_id
-            ) revenue_stats ON revenue_stats.user_id = u.id
-            WHERE 1=1
-            """);
+                """.formatted(teamMemberCountColumn(includeTeamCounts)), "users u")
+            .join("LEFT JOIN referral_relations rr ON rr.referred_id = u.id AND rr.status = 'ACTIVE' AND rr.deleted_at IS NULL")
+            .join("LEFT JOIN users referrer ON referrer.id = rr.referrer_id")
+            .pageJoin("LEFT JOIN referral_stats_logs rsl ON rsl.user_id = u.id")
+            .groupBy("u.id, rr.referrer_id, referrer.nickname, u.referral_code, u.nickname, rsl.team_count, rsl.total_reward, u.status")
+            // 정렬
+            .orderBy("TEAM_MEMBER_COUNT".equals(sortType) ? "team_member_count DESC" : "level DESC");
         
         // 날짜 필터 (래퍼럴 등록일 기준)
         if (startDate != null || endDate != null) {
-            sql.append(" AND EXISTS (");
-            sql.append(" SELECT 1 FROM referral_relations rr2");
-            sql.append(" WHERE rr2.referred_id = u.id AND rr2.status = 'ACTIVE' AND rr2.deleted_at IS NULL");
+            StringBuilder exists = new StringBuilder();
+            exists.append("EXISTS (");
+            exists.append(" SELECT 1 FROM referral_relations rr2");
+            exists.append(" WHERE rr2.referred_id = u.id AND rr2.status = 'ACTIVE' AND rr2.deleted_at IS NULL");
             if (startDate != null) {
-                sql.append(" AND rr2.created_at >= :start_date");
-                params.put("start_date", startDate);
+                exists.append(" AND rr2.created_at >= :start_date");
+                listQuery.param("start_date", startDate);
             }
             if (endDate != null) {
-                sql.append(" AND rr2.created_at <= :end_date");
-                params.put("end_date", endDate);
+                exists.append(" AND rr2.created_at <= :end_date");
+                listQuery.param("end_date", endDate);
             }
-            sql.append(")");
+            exists.append(")");
+            listQuery.where(exists.toString());
         }
         
         // 활동상태 필터
         if (activityStatus != null && !activityStatus.isEmpty() && !"ALL".equals(activityStatus)) {
-            sql.append(" AND u.status = :activity_status");
-            params.put("activity_status", activityStatus);
+            listQuery.where("u.status = :activity_status", "activity_status", activityStatus);
         }
         
         // 검색 조건
         if (searchKeyword != null && !searchKeyword.trim().isEmpty() && searchCategory != null) {
             switch (searchCategory) {
-                case "ID" -> {
-                    sql.append(" AND (u.id::text = :search_keyword OR u.login_id ILIKE :search_keyword_pattern)");
-                    params.put("search_keyword", searchKeyword);
-                    params.put("search_keyword_pattern", "%" + searchKeyword + "%");
-                }
-                case "REFERRER" -> {
-                    sql.append(" AND referrer.nickname ILIKE :search_keyword_pattern");
-                    params.put("search_keyword_pattern", "%" + searchKeyword + "%");
-                }
-                case "INVITATION_CODE" -> {
-                    sql.append(" AND u.referral_code ILIKE :search_keyword_pattern");
-                    params.put("search_keyword_pattern", "%" + searchKeyword + "%");
-                }
-                case "NICKNAME" -> {
-                    sql.append(" AND u.nickname ILIKE :search_keyword_pattern");
-                    params.put("search_keyword_pattern", "%" + searchKeyword + "%");
-                }
-                case "LEVEL" -> {
-                    try {
-                        Integer level = Integer.parseInt(searchKeyword);
-                        sql.append(" AND COALESCE(MAX(rr.level), 1) = :level");
-                        params.put("level", level);
-                    } catch (NumberFormatException e) {
-                        // 무시
-                    }
-                }
-            }
-        }
-        
-        sql.append(" GROUP BY u.id, rr.referrer_id, referrer.nickname, u.referral_code, u.nickname, team_stats.team_member_count, revenue_stats.total_referral_revenue, u.status");
-        
-        // 정렬
-        if ("TEAM_MEMBER_COUNT".equals(sortType)) {
-            sql.append(" ORDER BY team_member_count DESC");
-        } else {
-            sql.append(" ORDER BY level DESC");
-        }
-        
-        sql.append(" LIMIT :limit OFFSET :offset");
-        params.put("limit", limit);
-        params.put("offset", offset);
-        
-        // 카운트 쿼리
-        StringBuilder countSql = new StringBuilder();
-        countSql.append("""
-            SELECT COUNT(DISTINCT u.id) as count
-            FROM users u
-            LEFT JOIN referral_relations rr ON rr.referred_id = u.id AND rr.status = 'ACTIVE' AND rr.deleted_at IS NULL
-            LEFT JOIN users referrer ON referrer.id = rr.referrer_id
-            WHERE 1=1
-            """);
-        
-        Map<String, Object> countParams = new HashMap<>(params);
-        countParams.remove("limit");
-        countParams.remove("offset");
-        
-        // 동일한 WHERE 조건 추가
-        if (startDate != null || endDate != null) {
-            countSql.append(" AND EXISTS (");
-            countSql.append(" SELECT 1 FROM referral_relations rr2");
-            countSql.append(" WHERE rr2.referred_id = u.id AND rr2.status = 'ACTIVE' AND rr2.deleted_at IS NULL");
-            if (startDate != null) {
-                countSql.append(" AND rr2.created_at >= :start_date");
-            }
-            if (endDate != null) {
-                countSql.append(" AND rr2.created_at <= :end_date");
-            }
-            countSql.append(")");
-        }
-        if (activityStatus != null && !activityStatus.isEmpty() && !"ALL".equals(activityStatus)) {
-            countSql.append(" AND u.status = :activity_status");
-        }
-        if (searchKeyword != null && !searchKeyword.trim().isEmpty() && searchCategory != null) {
-            switch (searchCategory) {
-                case "ID" -> {
-                    countSql.append(" AND (u.id::text = :search_keyword OR u.login_id ILIKE :search_keyword_pattern)");
-                }
-                case "REFERRER" -> countSql.append(" AND referrer.nickname ILIKE :search_keyword_pattern");
-                case "INVITATION_CODE" -> countSql.append(" AND u.referral_code ILIKE :search_keyword_pattern");
-                case "NICKNAME" -> countSql.append(" AND u.nickname ILIKE :search_keyword_pattern");
+                case "ID" -> listQuery
+                    .where("(u.id::text = :search_keyword OR u.login_id ILIKE :search_keyword_pattern)")
+                    .param("search_keyword", searchKeyword)
+                    .param("search_keyword_pattern", ListQuery.likePattern(searchKeyword));
+                case "REFERRER" -> listQuery.where("referrer.nickname ILIKE :search_keyword_pattern",
+                    "search_keyword_pattern", ListQuery.likePattern(searchKeyword));
+                case "INVITATION_CODE" -> listQuery.where("u.referral_code ILIKE :search_keyword_pattern",
+                    "search_keyword_pattern", ListQuery.likePattern(searchKeyword));
+                case "NICKNAME" -> listQuery.where("u.nickname ILIKE :search_keyword_pattern",
+                    "search_keyword_pattern", ListQuery.likePattern(searchKeyword));
                 case "LEVEL" -> {
                     try {
                         Integer level = Integer.parseInt(searchKeyword);
-                        countSql.append(" AND COALESCE(MAX(rr.level), 1) = :level");
+                        // 집계 함수 조건이므로 HAVING으로 적용
+                        listQuery.having("COALESCE(MAX(rr.level), 1) = :level", "level", level);
                     } catch (NumberFormatException e) {
                         // 무시
                     }
@@ -383,53 +342,27 @@ public class AdminReferralRepository extends BaseRepository {
             }
         }
         
-        Future<List<ReferralTreeMemberDto>> membersFuture = query(client, sql.toString(), params)
-            .compose(rows -> {
-                List<ReferralTreeMemberDto> members = fetchAll(referralTreeMemberMapper, rows);
-                // 각 회원의 하부 회원 조회
-                List<Future<ReferralTreeMemberDto>> memberFutures = new ArrayList<>();
-                for (ReferralTreeMemberDto member : members) {
-                    memberFutures.add(getChildrenForMember(client, member.getId(), startDate, endDate));
-                }
-                return Future.all(memberFutures)
-                    .map(results -> {
-                        for (int i = 0; i < members.size(); i++) {
-                            ReferralTreeMemberDto member = members.get(i);
-                            ReferralTreeMemberDto memberWithChildren = (ReferralTreeMemberDto) results.resultAt(i);
-                            member.setChildren(memberWithChildren.getChildren());
-                        }
-                        return members;
-                    });
-            });
-        
-        Future<Integer> countFuture = query(client, countSql.toString(), countParams)
-            .map(rows -> {
-                if (rows.size() > 0) {
-                    return rows.iterator().next().getInteger("count");
-                }
-                return 0;
-            });
-        
-        return Future.all(List.of(membersFuture, countFuture))
-            .map(results -> {
-                List<ReferralTreeMemberDto> members = membersFuture.result();
-                Integer total = countFuture.result();
-                
-                return ReferralTreeListDto.builder()
-                    .members(members)
-                    .total(total)
-                    .limit(limit)
-                    .offset(offset)
-                    .build();
-            });
+        return listQuery;
+    }
+    
+    private static String teamMemberCountColumn(boolean includeTeamCounts) {
+        return includeTeamCounts ? "COALESCE(rsl.team_count, 0) as team_member_count" : "0 as team_member_count";
     }
     
-    private Future<ReferralTreeMemberDto> getChildrenForMember(
+    /**
+     * 여러 상위 회원의 직속 하부 회원을 한 번의 쿼리로 조회하여 상위 회원 ID별로 묶어 반환
+     */
+    private Future<Map<Long, List<ReferralTreeMemberDto>>> getChildrenForMembers(
         SqlClient client,
-        Long referrerId,
+        List<Long> referrerIds,
         LocalDateTime startDate,
-        LocalDateTime endDate
+        LocalDateTime endDate,
+        boolean includeTeamCounts
     ) {
+        if (referrerIds.isEmpty()) {
+            return Future.succeededFuture(Map.of());
+        }
+        
         StringBuilder sql = new StringBuilder();
         Map<String, Object> params = new HashMap<>();
         
@@ -441,31 +374,21 @@ public class AdminReferralRepository extends BaseRepository {
                 u.referral_code as invitation_code,
                 u.nickname,
                 COALESCE(MAX(rr.level), 1) as level,
-                COALESCE(team_stats.team_member_count, 0) as team_member_count,
+                %s,
                 0 as total_referral_revenue,
-                COALESCE(revenue_stats.referral_revenue, 0) as referral_revenue,
+                COALESCE(rsl.total_reward, 0) as referral_revenue,
                 DATE(rr.created_at)::text as referral_registration_date,
                 TO_CHAR(rr.created_at, 'HH24:MI') as referral_registration_time,
                 u.status as activity_status
-            FROM users u
-            INNER JOIN referral_relations rr ON rr.referred_id = u.id AND rr.referrer_id = :referrer_id AND rr.status = 'ACTIVE' AND rr.deleted_at IS NULL
+            FROM referral_relations rr
+            INNER JOIN users u ON u.id = rr.referred_id
             LEFT JOIN users referrer ON referrer.id = rr.referrer_id
-            LEFT JOIN (
-                SELECT referrer_id, COUNT(DISTINCT referred_id) as team_member_count
-                FROM referral_relations
-                WHERE status = 'ACTIVE' AND deleted_at IS NULL
-                GROUP BY referrer_id
-            ) team_stats ON team_stats.referrer_id = u.id
-            LEFT JOIN (
-                SELECT user_id, SUM(amount) as referral_revenue
-                FROM mining_history
-                WHERE type = 'REFERRAL_REWARD'
-                GROUP BY user_id
-            ) revenue_stats ON revenue_stats.user_id = u.id
-            WHERE rr.referrer_id = :referrer_id
-            """);
-        
-        params.put("referrer_id", referrerId);
+            LEFT JOIN referral_stats_logs rsl ON rsl.user_id = u.id
+            WHERE rr.referrer_id = ANY(:referrer_ids)
+            AND rr.status = 'ACTIVE' AND rr.deleted_at IS NULL
+            """.formatted(teamMemberCountColumn(includeTeamCounts)));
+        
+        params.put("referrer_ids", referrerIds.toArray(new Long[0]));
         
         // 날짜 필터
         if (startDate != null) {
@@ -477,46 +400,227 @@ public class AdminReferralRepository extends BaseRepository {
             params.put("end_date", endDate);
         }
         
-        sql.append(" GROUP BY u.id, rr.referrer_id, referrer.nickname, u.referral_code, u.nickname, team_stats.team_member_count, revenue_stats.referral_revenue, rr.created_at, u.status");
-        sql.append(" ORDER BY rr.created_at DESC");
+        sql.append(" GROUP BY u.id, rr.referrer_id, referrer.nickname, u.referral_code, u.nickname, rsl.team_count, rsl.total_reward, rr.created_at, u.status");
+        sql.append(" ORDER BY rr.referrer_id, rr.created_at DESC");
         
         return query(client, sql.toString(), params)
             .map(rows -> {
-                ReferralTreeMemberDto parent = ReferralTreeMemberDto.builder()
-                    .id(referrerId)
-                    .children(fetchAll(referralTreeChildMapper, rows))
-                    .build();
-                return parent;
+                Map<Long, List<ReferralTreeMemberDto>> childrenByReferrer = new HashMap<>();
+                for (ReferralTreeMemberDto child : fetchAll(referralTreeChildMapper, rows)) {
+                    childrenByReferrer.computeIfAbsent(child.getReferrerId(), id -> new ArrayList<>()).add(child);
+                }
+                return childrenByReferrer;
+            });
+    }
+    
+    /**
+     * 전체 하부 회원 수 (referral_closure 인덱스 조회)
+     */
+    public Future<Long> getDownlineSize(SqlClient client, Long userId) {
+        String sql = "SELECT COUNT(*) as downline_size FROM referral_closure WHERE ancestor_id = :user_id";
+        
+        Map<String, Object> params = new HashMap<>();
+        params.put("user_id", userId);
+        
+        return query(client, sql, params)
+            .map(rows -> rows.size() > 0 ? getLong(rows.iterator().next(), "downline_size") : 0L);
+    }
+    
+    /**
+     * k단계 하부 회원 ID 목록 (depth 1 = 직접 추천, 최근 가입순)
+     */
+    public Future<List<Long>> getDownlineIdsAtDepth(SqlClient client, Long userId, int depth) {
+        String sql = """
+            SELECT descendant_id
+            FROM referral_closure
+            WHERE ancestor_id = :user_id AND depth = :depth
+            ORDER BY descendant_id DESC
+            """;
+        
+        Map<String, Object> params = new HashMap<>();
+        params.put("user_id", userId);
+        params.put("depth", depth);
+        
+        return query(client, sql, params)
+            .map(rows -> {
+                List<Long> ids = new ArrayList<>();
+                for (Row row : rows) {
+                    ids.add(getLong(row, "descendant_id"));
+                }
+                return ids;
+            });
+    }
+    
+    /**
+     * 상위 회원 ID 목록 (가까운 순서, 리워드 분배용)
+     * @param maxDepth 조회할 최대 깊이
+     */
+    public Future<List<Long>> getAncestorIds(SqlClient client, Long userId, int maxDepth) {
+        String sql = """
+            SELECT ancestor_id
+            FROM referral_closure
+            WHERE descendant_id = :user_id AND depth <= :max_depth
+            ORDER BY depth
+            """;
+        
+        Map<String, Object> params = new HashMap<>();
+        params.put("user_id", userId);
+        params.put("max_depth", maxDepth);
+        
+        return query(client, sql, params)
+            .map(rows -> {
+                List<Long> ids = new ArrayList<>();
+                for (Row row : rows) {
+                    ids.add(getLong(row, "ancestor_id"));
+                }
+                return ids;
+            });
+    }
+    
+    /**
+     * 깊이별 하부 회원 수 (index 0 = 1단계)
+     */
+    public Future<List<Integer>> getDownlineDepthCounts(SqlClient client, Long userId, int maxDepth) {
+        String sql = """
+            SELECT depth, COUNT(*) as member_count
+            FROM referral_closure
+            WHERE ancestor_id = :user_id AND depth <= :max_depth
+            GROUP BY depth
+            ORDER BY depth
+            """;
+        
+        Map<String, Object> params = new HashMap<>();
+        params.put("user_id", userId);
+        params.put("max_depth", maxDepth);
+        
+        return query(client, sql, params)
+            .map(rows -> {
+                List<Integer> counts = new ArrayList<>();
+                for (Row row : rows) {
+                    int depth = getInteger(row, "depth");
+                    while (counts.size() < depth) {
+                        counts.add(0);
+                    }
+                    counts.set(depth - 1, getInteger(row, "member_count"));
+                }
+                return counts;
+            });
+    }
+    
+    /**
+     * 레퍼럴 그래프 적재용 직접 추천 관계 조회 (id 순 배치)
+     * @return [id0, referrerId0, referredId0, id1, ...] (행당 3개)
+     */
+    public Future<long[]> getDirectReferralEdges(SqlClient client, long afterId, int limit) {
+        String sql = """
+            SELECT id, referrer_id, referred_id
+            FROM referral_relations
+            WHERE level = 1 AND status = 'ACTIVE' AND deleted_at IS NULL
+            AND id > :after_id
+            ORDER BY id
+            LIMIT :limit
+            """;
+        
+        Map<String, Object> params = new HashMap<>();
+        params.put("after_id", afterId);
+        params.put("limit", limit);
+        
+        return query(client, sql, params)
+            .map(rows -> {
+                long[] edges = new long[rows.size() * 3];
+                int i = 0;
+                for (Row row : rows) {
+                    edges[i++] = row.getLong(0);
+                    edges[i++] = row.getLong(1);
+                    edges[i++] = row.getLong(2);
+                }
+                return edges;
             });
     }
     
-    private final RowMapper<ReferralTreeMemberDto> referralTreeMemberMapper = row -> {
+    /**
+     * 날짜가 지난 레퍼럴 통계의 오늘 리워드/가입자 수 초기화
+     * @return 초기화된 회원 수
+     */
+    public Future<Integer> resetReferralStatsToday(SqlClient client) {
+        String sql = "SELECT reset_referral_stats_today() as reset_count";
+        
+        return query(client, sql)
+            .map(rows -> rows.size() > 0 ? getInteger(rows.iterator().next(), "reset_count") : 0);
+    }
+    
+    /**
+     * referral_closure / referral_relations / mining_history로부터 레퍼럴 통계(referral_stats_logs) 한 묶음 재구축
+     * 묶음 대상 회원의 통계 행만 잠그므로(한 트랜잭션), 재구축 중에도 다른 회원의 리워드/가입 반영은 멈추지 않습니다.
+     * @param afterUserId 이전 묶음의 마지막 회원 ID (처음이면 0)
+     * @return 묶음의 마지막 회원 ID(남은 회원이 없으면 null)와 통계 행이 있는 회원 수
+     */
+    public Future<StatsRebuildBatch> rebuildReferralStatsLogsBatch(SqlClient client, long afterUserId, int batchSize) {
+        String sql = """
+            SELECT last_user_id, rebuilt_count
+            FROM rebuild_referral_stats_logs_batch(:after_user_id, :batch_size)
+            """;
+        
+        Map<String, Object> params = new HashMap<>();
+        params.put("after_user_id", afterUserId);
+        params.put("batch_size", batchSize);
+        
+        return query(client, sql, params)
+            .map(rows -> {
+                if (rows.size() == 0) {
+                    return new StatsRebuildBatch(null, 0);
+                }
+                Row row = rows.iterator().next();
+                Integer rebuilt = getInteger(row, "rebuilt_count");
+                return new StatsRebuildBatch(getLong(row, "last_user_id"), rebuilt != null ? rebuilt : 0);
+            });
+    }
+    
+    /**
+     * 레퍼럴 통계 재구축 묶음 결과
+     * @param lastUserId 묶음의 마지막 회원 ID (null이면 완료)
+     */
+    public record StatsRebuildBatch(Long lastUserId, int rebuiltCount) {
+    }
+    
+    /**
+     * referral_relations로부터 클로저 재구축
+     * @return 재구축된 경로 수
+     */
+    public Future<Integer> rebuildReferralClosure(SqlClient client) {
+        String sql = "SELECT rebuild_referral_closure() as rebuilt_count";
+        
+        return query(client, sql)
+            .map(rows -> rows.size() > 0 ? getInteger(rows.iterator().next(), "rebuilt_count") : 0);
+    }
+    
+    private final IndexedRowMapper<ReferralTreeMemberDto> referralTreeMemberMapper = (row, columns) -> {
         return ReferralTreeMemberDto.builder()
-            .id(getLong(row, "id"))
-            .referrerId(getLong(row, "referrer_id"))
-            .referrerNickname(getString(row, "referrer_nickname"))
-            .invitationCode(getString(row, "invitation_code"))
-            .nickname(getString(row, "nickname"))
-            .level(getInteger(row, "level"))
-            .teamMemberCount(getInteger(row, "team_member_count"))
-            .totalReferralRevenue(getBigDecimal(row, "total_referral_revenue"))
-            .activityStatus(getString(row, "activity_status"))
+            .id(columns.getLong(row, "id"))
+            .referrerId(columns.getLong(row, "referrer_id"))
+            .referrerNickname(columns.getString(row, "referrer_nickname"))
+            .invitationCode(columns.getString(row, "invitation_code"))
+            .nickname(columns.getString(row, "nickname"))
+            .level(columns.getInteger(row, "level"))
+            .teamMemberCount(columns.getInteger(row, "team_member_count"))
+            .totalReferralRevenue(columns.getBigDecimal(row, "total_referral_revenue"))
+            .activityStatus(columns.getString(row, "activity_status"))
             .build();
     };
     
-    private final RowMapper<ReferralTreeMemberDto> referralTreeChildMapper = row -> {
+    private final IndexedRowMapper<ReferralTreeMemberDto> referralTreeChildMapper = (row, columns) -> {
         return ReferralTreeMemberDto.builder()
-            .id(getLong(row, "id"))
-            .referrerId(getLong(row, "referrer_id"))
-            .referrerNickname(getString(row, "referrer_nickname"))
-            .invitationCode(getString(row, "invitation_code"))
-            .nickname(getString(row, "nickname"))
-            .level(getInteger(row, "level"))
-            .teamMemberCount(getInteger(row, "team_member_count"))
-            .referralRevenue(getBigDecimal(row, "referral_revenue"))
-            .referralRegistrationDate(getString(row, "referral_registration_date"))
-            .referralRegistrationTime(getString(row, "referral_registration_time"))
-            .activityStatus(getString(row, "activity_status"))
+            .id(columns.getLong(row, "id"))
+            .referrerId(columns.getLong(row, "referrer_id"))
+            .referrerNickname(columns.getString(row, "referrer_nickname"))
+            .invitationCode(columns.getString(row, "invitation_code"))
+            .nickname(columns.getString(row, "nickname"))
+            .level(columns.getInteger(row, "level"))
+            .teamMemberCount(columns.getInteger(row, "team_member_count"))
+            .referralRevenue(columns.getBigDecimal(row, "referral_revenue"))
+            .referralRegistrationDate(columns.getString(row, "referral_registration_date"))
+            .referralRegistrationTime(columns.getString(row, "referral_registration_time"))
+            .activityStatus(columns.getString(row, "activity_status"))
             .build();
     };
 }
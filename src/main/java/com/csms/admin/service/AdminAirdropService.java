@@ -35,7 +35,8 @@ public class AdminAirdropService extends BaseService {
         String searchKeyword,
         Long userId,
         Integer phase,
-        String status
+        String status,
+        String cursor
     ) {
         log.info("에어드랍 Phase 목록 조회 - limit: {}, offset: {}, userId: {}, phase: {}, status: {}", 
             limit, offset, userId, phase, status);
@@ -43,7 +44,8 @@ public class AdminAirdropService extends BaseService {
         final int finalLimit = (limit == null || limit <= 0) ? 20 : limit;
         final int finalOffset = (offset == null || offset < 0) ? 0 : offset;
         
-        return repository.getPhases(client, finalLimit, finalOffset, searchCategory, searchKeyword, userId, phase, status);
+        return decodeCursor(cursor).compose(pageCursor -> repository.getPhases(
+            client, finalLimit, finalOffset, searchCategory, searchKeyword, userId, phase, status, pageCursor));
     }
     
     /**
@@ -192,7 +194,8 @@ public class AdminAirdropService extends BaseService {
         String searchCategory,
         String searchKeyword,
         Long userId,
-        String status
+        String status,
+        String cursor
     ) {
         log.info("에어드랍 전송 내역 조회 - limit: {}, offset: {}, userId: {}, status: {}", 
             limit, offset, userId, status);
@@ -200,6 +203,7 @@ public class AdminAirdropService extends BaseService {
         final int finalLimit = (limit == null || limit <= 0) ? 20 : limit;
         final int finalOffset = (offset == null || offset < 0) ? 0 : offset;
         
-        return repository.getTransfers(client, finalLimit, finalOffset, searchCategory, searchKeyword, userId, status);
+        return decodeCursor(cursor).compose(pageCursor -> repository.getTransfers(
+            client, finalLimit, finalOffset, searchCategory, searchKeyword, userId, status, pageCursor));
     }
 }
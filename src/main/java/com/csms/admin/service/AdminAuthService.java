@@ -9,13 +9,13 @@ import com.csms.common.exceptions.BadRequestException;
 import com.csms.common.exceptions.UnauthorizedException;
 import com.csms.common.service.BaseService;
 import com.csms.common.utils.AuthUtils;
+import com.csms.common.utils.PasswordHashExecutor;
 import com.csms.common.utils.RateLimiter;
 import io.vertx.core.Future;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.jwt.JWTAuth;
 import io.vertx.pgclient.PgPool;
 import lombok.extern.slf4j.Slf4j;
-import org.mindrot.jbcrypt.BCrypt;
 
 @Slf4j
 public class AdminAuthService extends BaseService {
@@ -24,17 +24,28 @@ public class AdminAuthService extends BaseService {
     private final JWTAuth jwtAuth;
     private final JsonObject jwtConfig;
     private final RateLimiter rateLimiter;
+    private final PasswordHashExecutor passwordHashExecutor;
     
     public AdminAuthService(PgPool pool, 
                             AdminRepository adminRepository, 
                             JWTAuth jwtAuth, 
                             JsonObject jwtConfig,
                             RateLimiter rateLimiter) {
+        this(pool, adminRepository, jwtAuth, jwtConfig, rateLimiter, PasswordHashExecutor.getDefault());
+    }
+    
+    public AdminAuthService(PgPool pool, 
+                            AdminRepository adminRepository, 
+                            JWTAuth jwtAuth, 
+                            JsonObject jwtConfig,
+                            RateLimiter rateLimiter,
+                            PasswordHashExecutor passwordHashExecutor) {
         super(pool);
         this.adminRepository = adminRepository;
         this.jwtAuth = jwtAuth;
         this.jwtConfig = jwtConfig;
         this.rateLimiter = rateLimiter;
+        this.passwordHashExecutor = passwordHashExecutor;
     }
     
     public Future<AdminLoginResponseDto> login(AdminLoginDto dto, String clientIp) {
@@ -77,37 +88,40 @@ public class AdminAuthService extends BaseService {
                             return Future.failedFuture(new UnauthorizedException("Invalid admin credentials"));
                         }
                         
-                        // 비밀번호 검증
-                        if (!BCrypt.checkpw(dto.getPassword(), admin.getPasswordHash())) {
-                            log.warn("Admin login failed - invalid password - adminId: {}, ip: {}", 
-                                dto.getId(), clientIp);
-                            if (rateLimiter != null) {
-                                rateLimiter.recordAdminLoginFailure(clientIp);
-                            }
-                            return Future.failedFuture(new UnauthorizedException("Invalid admin credentials"));
-                        }
-                        
-                        // 관리자 권한 확인
-                        UserRole adminRole = admin.getRole() == 3 ? UserRole.SUPER_ADMIN : UserRole.ADMIN;
-                        
-                        // 관리자 토큰 생성 (1시간 만료)
-                        String accessToken = AuthUtils.generateToken(jwtAuth, admin.getId(), adminRole, 3600);
-                        
-                        // 성공 시 실패 카운트 리셋
-                        if (rateLimiter != null) {
-                            rateLimiter.resetAdminLoginFailure(clientIp);
-                        }
-                        
-                        // 관리자 로그인 로깅
-                        log.info("Admin login successful - adminId: {}, role: {}, ip: {}", 
-                            admin.getId(), adminRole, clientIp);
-                        
-                        return Future.succeededFuture(
-                            AdminLoginResponseDto.builder()
-                                .accessToken(accessToken)
-                                .adminId(admin.getLoginId())
-                                .build()
-                        );
+                        // 비밀번호 검증 (해시 전용 스레드 풀에서 실행)
+                        return passwordHashExecutor.verify(dto.getPassword(), admin.getPasswordHash())
+                            .compose(matches -> {
+                                if (!matches) {
+                                    log.warn("Admin login failed - invalid password - adminId: {}, ip: {}", 
+                                        dto.getId(), clientIp);
+                                    if (rateLimiter != null) {
+                                        rateLimiter.recordAdminLoginFailure(clientIp);
+                                    }
+                                    return Future.failedFuture(new UnauthorizedException("Invalid admin credentials"));
+                                }
+                                
+                                // 관리자 권한 확인
+                                UserRole adminRole = admin.getRole() == 3 ? UserRole.SUPER_ADMIN : UserRole.ADMIN;
+                                
+                                // 관리자 토큰 생성 (1시간 만료)
+                                String accessToken = AuthUtils.generateToken(jwtAuth, admin.getId(), adminRole, 3600);
+                                
+                                // 성공 시 실패 카운트 리셋
+                                if (rateLimiter != null) {
+                                    rateLimiter.resetAdminLoginFailure(clientIp);
+                                }
+                                
+                                // 관리자 로그인 로깅
+                                log.info("Admin login successful - adminId: {}, role: {}, ip: {}", 
+                                    admin.getId(), adminRole, clientIp);
+                                
+                                return Future.succeededFuture(
+                                    AdminLoginResponseDto.builder()
+                                        .accessToken(accessToken)
+                                        .adminId(admin.getLoginId())
+                                        .build()
+                                );
+                            });
                     });
             })
             .onFailure(err -> {
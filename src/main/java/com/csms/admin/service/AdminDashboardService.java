@@ -3,6 +3,9 @@ package com.csms.admin.service;
 import com.csms.admin.dto.DashboardStatsDto;
 import com.csms.admin.repository.AdminDashboardRepository;
 import com.csms.common.service.BaseService;
+import com.csms.mining.service.MiningLeaderboard;
+import com.csms.mining.service.MiningLeaderboard.Board;
+import com.csms.mining.service.MiningLeaderboard.Period;
 import io.vertx.core.Future;
 import io.vertx.pgclient.PgPool;
 import lombok.extern.slf4j.Slf4j;
@@ -14,11 +17,22 @@ import java.util.List;
 @Slf4j
 public class AdminDashboardService extends BaseService {
     
+    private static final int TOP_RANK_LIMIT = 10;
+    
     private final AdminDashboardRepository repository;
+    private final MiningLeaderboard leaderboard;
     
     public AdminDashboardService(PgPool pool, AdminDashboardRepository repository) {
+        this(pool, repository, null);
+    }
+    
+    /**
+     * @param leaderboard 상위 회원/추천인 랭킹 (null이거나 조회 실패 시 SQL로 조회)
+     */
+    public AdminDashboardService(PgPool pool, AdminDashboardRepository repository, MiningLeaderboard leaderboard) {
         super(pool);
         this.repository = repository;
+        this.leaderboard = leaderboard;
     }
     
     public Future<DashboardStatsDto> getDashboardStats(String dateRange, String startDate, String endDate) {
@@ -60,6 +74,21 @@ public class AdminDashboardService extends BaseService {
         });
     }
     
+    /**
+     * 지난 날짜 일별 채굴 롤업 마감 (MainVerticle에서 주기 실행)
+     */
+    public Future<Integer> closeDailyMiningRollups() {
+        return repository.closeDailyMiningRollups(client)
+            .onSuccess(count -> {
+                if (count > 0) {
+                    log.info("closeDailyMiningRollups completed - closedDays: {}", count);
+                }
+            })
+            .onFailure(err -> {
+                log.error("closeDailyMiningRollups failed", err);
+            });
+    }
+    
     private Future<DashboardStatsDto.StatsDto> getTotalStats(DateRange range) {
         // 오늘 날짜 계산
         LocalDate today = LocalDate.now();
@@ -74,7 +103,21 @@ public class AdminDashboardService extends BaseService {
     }
     
     private Future<List<DashboardStatsDto.TopMemberDto>> getTopMembers() {
-        return repository.getTopMembers(client);
+        if (leaderboard == null) {
+            return repository.getTopMembers(client);
+        }
+        return leaderboard.getTop(Board.MINING, Period.ALL, null, null, TOP_RANK_LIMIT)
+            .map(entries -> entries.stream()
+                .map(entry -> DashboardStatsDto.TopMemberDto.builder()
+                    .rank(entry.getRank().intValue())
+                    .nickname(entry.getNickname())
+                    .minedAmount(entry.getScore())
+                    .build())
+                .toList())
+            .recover(err -> {
+                log.warn("Leaderboard read failed, falling back to SQL - topMembers", err);
+                return repository.getTopMembers(client);
+            });
     }
     
     private DateRange calculateDateRange(String dateRange, String startDate, String endDate) {
@@ -111,7 +154,21 @@ public class AdminDashboardService extends BaseService {
     }
     
     private Future<List<DashboardStatsDto.TopReferrerDto>> getTopReferrers() {
-        return repository.getTopReferrers(client);
+        if (leaderboard == null) {
+            return repository.getTopReferrers(client);
+        }
+        return leaderboard.getTop(Board.REFERRAL, Period.ALL, null, null, TOP_RANK_LIMIT)
+            .map(entries -> entries.stream()
+                .map(entry -> DashboardStatsDto.TopReferrerDto.builder()
+                    .rank(entry.getRank().intValue())
+                    .nickname(entry.getNickname())
+                    .teamMemberCount(entry.getScore().intValue())
+                    .build())
+                .toList())
+            .recover(err -> {
+                log.warn("Leaderboard read failed, falling back to SQL - topReferrers", err);
+                return repository.getTopReferrers(client);
+            });
     }
     
     private record DateRange(LocalDateTime startDate, LocalDateTime endDate) {}
@@ -2,28 +2,47 @@ package com.csms.admin.service;
 
 import com.csms.admin.dto.*;
 import com.csms.admin.repository.AdminFundsRepository;
+import com.csms.common.event.EventChannels;
+import com.csms.common.export.ExcelExport;
+import com.csms.common.export.ExcelSheet;
 import com.csms.common.service.BaseService;
+import com.csms.common.service.ResultCache;
 import com.csms.common.utils.DateUtils;
 import io.vertx.core.Future;
-import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.json.JsonObject;
 import io.vertx.pgclient.PgPool;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Map;
 
 @Slf4j
 public class AdminFundsService extends BaseService {
     
     private final AdminFundsRepository repository;
+    private final ResultCache resultCache;
+    private final EventBus eventBus;
     
     public AdminFundsService(PgPool pool) {
+        this(pool, ResultCache.disabled());
+    }
+    
+    /**
+     * @param resultCache 목록/내보내기 결과 캐시 (출금 거래 워터마크 기준)
+     */
+    public AdminFundsService(PgPool pool, ResultCache resultCache) {
+        this(pool, resultCache, null);
+    }
+    
+    /**
+     * @param eventBus 지갑 변경 알림 발행용 (null이면 발행하지 않음)
+     */
+    public AdminFundsService(PgPool pool, ResultCache resultCache, EventBus eventBus) {
         super(pool);
         this.repository = new AdminFundsRepository();
+        this.resultCache = resultCache;
+        this.eventBus = eventBus;
     }
     
     /**
@@ -39,7 +58,8 @@ public class AdminFundsService extends BaseService {
         String currencyCode,
         String searchCategory,
         String searchKeyword,
-        String status
+        String status,
+        String cursor
     ) {
         log.info("getWithdrawalRequests transaction started - limit: {}, offset: {}, dateRange: {}", 
             limit, offset, dateRange);
@@ -59,18 +79,28 @@ public class AdminFundsService extends BaseService {
             endDateTime = null;
         }
         
-        return repository.getWithdrawalRequests(
-            client,
-            finalLimit,
-            finalOffset,
-            startDateTime,
-            endDateTime,
-            network,
-            currencyCode,
-            searchCategory,
-            searchKeyword,
-            status
-        )
+        final LocalDateTime finalStartDateTime = startDateTime;
+        final LocalDateTime finalEndDateTime = endDateTime;
+        
+        Map<String, Object> filters = ResultCache.filters(
+            "limit", finalLimit, "offset", finalOffset, "start", finalStartDateTime, "end", finalEndDateTime,
+            "network", network, "currencyCode", currencyCode, "searchCategory", searchCategory,
+            "searchKeyword", searchKeyword, "status", status, "cursor", cursor);
+        
+        return resultCache.get("withdrawal_requests", filters, this::transferWatermark,
+            () -> decodeCursor(cursor).compose(pageCursor -> repository.getWithdrawalRequests(
+                client,
+                finalLimit,
+                finalOffset,
+                finalStartDateTime,
+                finalEndDateTime,
+                network,
+                currencyCode,
+                searchCategory,
+                searchKeyword,
+                status,
+                pageCursor
+            )))
         .onSuccess(result -> {
             log.info("getWithdrawalRequests transaction completed - total: {}", result.getTotal());
         })
@@ -92,6 +122,9 @@ public class AdminFundsService extends BaseService {
         return repository.updateWithdrawalStatus(client, id, status)
             .onSuccess(result -> {
                 log.info("updateWithdrawalStatus transaction completed - id: {}, status: {}", id, status);
+                if (eventBus != null) {
+                    EventChannels.publish(eventBus, EventChannels.WALLETS, new JsonObject().put("withdrawalId", id));
+                }
             })
             .onFailure(err -> {
                 log.error("updateWithdrawalStatus transaction failed - id: {}, status: {}", id, status, err);
@@ -101,7 +134,7 @@ public class AdminFundsService extends BaseService {
     /**
      * 출금신청 목록 엑셀 다운로드
      */
-    public Future<Buffer> exportWithdrawalRequests(
+    public ExcelExport<WithdrawalRequestDto> exportWithdrawalRequests(
         String dateRange,
         String startDate,
         String endDate,
@@ -113,30 +146,22 @@ public class AdminFundsService extends BaseService {
     ) {
         log.info("exportWithdrawalRequests transaction started - dateRange: {}", dateRange);
         
-        // 모든 데이터 조회
-        return getWithdrawalRequests(
-            Integer.MAX_VALUE,
-            0,
-            dateRange,
-            startDate,
-            endDate,
+        LocalDateTime[] range = resolveDateRange(dateRange, startDate, endDate);
+        
+        // 전체 데이터를 커서로 스트리밍
+        Map<String, Object> filters = ResultCache.filters(
+            "start", range[0], "end", range[1], "network", network, "currencyCode", currencyCode,
+            "searchCategory", searchCategory, "searchKeyword", searchKeyword, "status", status);
+        return new ExcelExport<>(WITHDRAWAL_REQUESTS_SHEET, repository.streamWithdrawalRequests(
+            pool,
+            range[0],
+            range[1],
             network,
             currencyCode,
             searchCategory,
             searchKeyword,
             status
-        )
-        .map(listDto -> {
-            try {
-                log.debug("Creating Excel file for {} requests", listDto.getRequests().size());
-                Buffer buffer = createWithdrawalRequestsExcelFile(listDto.getRequests());
-                log.info("exportWithdrawalRequests transaction completed - requests: {}", listDto.getRequests().size());
-                return buffer;
-            } catch (IOException e) {
-                log.error("exportWithdrawalRequests transaction failed - failed to create Excel file", e);
-                throw new RuntimeException("Failed to create Excel file", e);
-            }
-        });
+        )).withCacheKey(() -> resultCache.versionKey("withdrawal_requests_export", filters, this::transferWatermark));
     }
     
     /**
@@ -152,7 +177,8 @@ public class AdminFundsService extends BaseService {
         String currencyCode,
         String searchCategory,
         String searchKeyword,
-        String status
+        String status,
+        String cursor
     ) {
         log.info("getTransactionHistory transaction started - limit: {}, offset: {}, dateRange: {}", 
             limit, offset, dateRange);
@@ -172,18 +198,28 @@ public class AdminFundsService extends BaseService {
             endDateTime = null;
         }
         
-        return repository.getTransactionHistory(
-            client,
-            finalLimit,
-            finalOffset,
-            startDateTime,
-            endDateTime,
-            transactionType,
-            currencyCode,
-            searchCategory,
-            searchKeyword,
-            status
-        )
+        final LocalDateTime finalStartDateTime = startDateTime;
+        final LocalDateTime finalEndDateTime = endDateTime;
+        
+        Map<String, Object> filters = ResultCache.filters(
+            "limit", finalLimit, "offset", finalOffset, "start", finalStartDateTime, "end", finalEndDateTime,
+            "transactionType", transactionType, "currencyCode", currencyCode, "searchCategory", searchCategory,
+            "searchKeyword", searchKeyword, "status", status, "cursor", cursor);
+        
+        return resultCache.get("transaction_history", filters, this::transferWatermark,
+            () -> decodeCursor(cursor).compose(pageCursor -> repository.getTransactionHistory(
+                client,
+                finalLimit,
+                finalOffset,
+                finalStartDateTime,
+                finalEndDateTime,
+                transactionType,
+                currencyCode,
+                searchCategory,
+                searchKeyword,
+                status,
+                pageCursor
+            )))
         .onSuccess(result -> {
             log.info("getTransactionHistory transaction completed - total: {}", result.getTotal());
         })
@@ -195,7 +231,7 @@ public class AdminFundsService extends BaseService {
     /**
      * 거래내역 목록 엑셀 다운로드
      */
-    public Future<Buffer> exportTransactionHistory(
+    public ExcelExport<TransactionHistoryDto> exportTransactionHistory(
         String dateRange,
         String startDate,
         String endDate,
@@ -207,184 +243,88 @@ public class AdminFundsService extends BaseService {
     ) {
         log.info("exportTransactionHistory transaction started - dateRange: {}", dateRange);
         
-        // 모든 데이터 조회
-        return getTransactionHistory(
-            Integer.MAX_VALUE,
-            0,
-            dateRange,
-            startDate,
-            endDate,
+        LocalDateTime[] range = resolveDateRange(dateRange, startDate, endDate);
+        
+        // 전체 데이터를 커서로 스트리밍
+        Map<String, Object> filters = ResultCache.filters(
+            "start", range[0], "end", range[1], "transactionType", transactionType, "currencyCode", currencyCode,
+            "searchCategory", searchCategory, "searchKeyword", searchKeyword, "status", status);
+        return new ExcelExport<>(TRANSACTION_HISTORY_SHEET, repository.streamTransactionHistory(
+            pool,
+            range[0],
+            range[1],
             transactionType,
             currencyCode,
             searchCategory,
             searchKeyword,
             status
-        )
-        .map(listDto -> {
-            try {
-                log.debug("Creating Excel file for {} transactions", listDto.getTransactions().size());
-                Buffer buffer = createTransactionHistoryExcelFile(listDto.getTransactions());
-                log.info("exportTransactionHistory transaction completed - transactions: {}", listDto.getTransactions().size());
-                return buffer;
-            } catch (IOException e) {
-                log.error("exportTransactionHistory transaction failed - failed to create Excel file", e);
-                throw new RuntimeException("Failed to create Excel file", e);
-            }
-        });
+        )).withCacheKey(() -> resultCache.versionKey("transaction_history_export", filters, this::transferWatermark));
     }
     
-    private Buffer createWithdrawalRequestsExcelFile(List<WithdrawalRequestDto> requests) throws IOException {
-        Workbook workbook = new XSSFWorkbook();
-        Sheet sheet = workbook.createSheet("출금신청");
-        
-        // 스타일 생성
-        CellStyle headerStyle = createHeaderStyle(workbook);
-        CellStyle dataStyle = createDataStyle(workbook);
-        
-        // 헤더 생성
-        Row headerRow = sheet.createRow(0);
-        String[] headers = {
-            "연도", "날짜", "시간", "주문번호", "ID", "닉네임", "유형", "자산", 
-            "신청금액", "스프레드", "수수료(%)", "실시간 가격", "정산금액", "수수료 수익", "지갑주소", "상태"
-        };
-        
-        for (int i = 0; i < headers.length; i++) {
-            Cell cell = headerRow.createCell(i);
-            cell.setCellValue(headers[i]);
-            cell.setCellStyle(headerStyle);
-        }
-        
-        // 데이터 행 생성
-        int rowNum = 1;
-        for (WithdrawalRequestDto request : requests) {
-            Row row = sheet.createRow(rowNum++);
-            int colNum = 0;
-            
-            createCell(row, colNum++, request.getYear(), dataStyle);
-            createCell(row, colNum++, request.getDate(), dataStyle);
-            createCell(row, colNum++, request.getTime(), dataStyle);
-            createCell(row, colNum++, request.getOrderNumber(), dataStyle);
-            createCell(row, colNum++, request.getLoginId(), dataStyle);
-            createCell(row, colNum++, request.getNickname(), dataStyle);
-            createCell(row, colNum++, request.getType(), dataStyle);
-            createCell(row, colNum++, request.getAsset(), dataStyle);
-            createCell(row, colNum++, request.getRequestAmount(), dataStyle);
-            createCell(row, colNum++, request.getSpread(), dataStyle);
-            createCell(row, colNum++, request.getFeeRate(), dataStyle);
-            createCell(row, colNum++, request.getRealtimePrice(), dataStyle);
-            createCell(row, colNum++, request.getSettlementAmount(), dataStyle);
-            createCell(row, colNum++, request.getFeeRevenue(), dataStyle);
-            createCell(row, colNum++, request.getWalletAddress(), dataStyle);
-            createCell(row, colNum++, request.getStatus(), dataStyle);
-        }
-        
-        // 컬럼 너비 자동 조정
-        for (int i = 0; i < headers.length; i++) {
-            sheet.autoSizeColumn(i);
-        }
-        
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        workbook.write(out);
-        workbook.close();
-        
-        return Buffer.buffer(out.toByteArray());
+    private Future<String> transferWatermark() {
+        return repository.getTransferWatermark(client);
     }
     
-    private Buffer createTransactionHistoryExcelFile(List<TransactionHistoryDto> transactions) throws IOException {
-        Workbook workbook = new XSSFWorkbook();
-        Sheet sheet = workbook.createSheet("거래내역");
-        
-        // 스타일 생성
-        CellStyle headerStyle = createHeaderStyle(workbook);
-        CellStyle dataStyle = createDataStyle(workbook);
-        
-        // 헤더 생성
-        Row headerRow = sheet.createRow(0);
-        String[] headers = {
-            "연도", "날짜", "시간", "주문번호", "ID", "닉네임", "유형", "자산", 
-            "신청금액", "스프레드수수료", "수수료(%)", "실시간 가격", "정산금액", "수수료 수익", "지갑주소", "상태"
-        };
-        
-        for (int i = 0; i < headers.length; i++) {
-            Cell cell = headerRow.createCell(i);
-            cell.setCellValue(headers[i]);
-            cell.setCellStyle(headerStyle);
-        }
-        
-        // 데이터 행 생성
-        int rowNum = 1;
-        for (TransactionHistoryDto transaction : transactions) {
-            Row row = sheet.createRow(rowNum++);
-            int colNum = 0;
-            
-            createCell(row, colNum++, transaction.getYear(), dataStyle);
-            createCell(row, colNum++, transaction.getDate(), dataStyle);
-            createCell(row, colNum++, transaction.getTime(), dataStyle);
-            createCell(row, colNum++, transaction.getOrderNumber(), dataStyle);
-            createCell(row, colNum++, transaction.getLoginId(), dataStyle);
-            createCell(row, colNum++, transaction.getNickname(), dataStyle);
-            createCell(row, colNum++, transaction.getType(), dataStyle);
-            createCell(row, colNum++, transaction.getAsset(), dataStyle);
-            createCell(row, colNum++, transaction.getRequestAmount(), dataStyle);
-            createCell(row, colNum++, transaction.getSpread(), dataStyle);
-            createCell(row, colNum++, transaction.getFeeRate(), dataStyle);
-            createCell(row, colNum++, transaction.getRealtimePrice(), dataStyle);
-            createCell(row, colNum++, transaction.getSettlementAmount(), dataStyle);
-            createCell(row, colNum++, transaction.getFeeRevenue(), dataStyle);
-            createCell(row, colNum++, transaction.getWalletAddress(), dataStyle);
-            createCell(row, colNum++, transaction.getStatus(), dataStyle);
-        }
-        
-        // 컬럼 너비 자동 조정
-        for (int i = 0; i < headers.length; i++) {
-            sheet.autoSizeColumn(i);
+    /**
+     * 엑셀 다운로드 날짜 범위 계산 (목록 조회와 동일: 기본 7일, "ALL"이면 [null, null])
+     */
+    private LocalDateTime[] resolveDateRange(String dateRange, String startDate, String endDate) {
+        String finalDateRange = (dateRange == null || dateRange.isEmpty()) ? "7" : dateRange;
+        if ("ALL".equals(finalDateRange)) {
+            return new LocalDateTime[]{null, null};
         }
-        
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        workbook.write(out);
-        workbook.close();
-        
-        return Buffer.buffer(out.toByteArray());
-    }
-    
-    private CellStyle createHeaderStyle(Workbook workbook) {
-        CellStyle style = workbook.createCellStyle();
-        Font font = workbook.createFont();
-        font.setBold(true);
-        font.setFontHeightInPoints((short) 11);
-        style.setFont(font);
-        style.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
-        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        style.setBorderBottom(BorderStyle.THIN);
-        style.setBorderTop(BorderStyle.THIN);
-        style.setBorderLeft(BorderStyle.THIN);
-        style.setBorderRight(BorderStyle.THIN);
-        style.setAlignment(HorizontalAlignment.CENTER);
-        style.setVerticalAlignment(VerticalAlignment.CENTER);
-        return style;
+        DateUtils.DateRange range = DateUtils.calculateDateRange(finalDateRange, startDate, endDate);
+        return new LocalDateTime[]{range.startDate().atStartOfDay(), range.endDate().atTime(23, 59, 59)};
     }
     
-    private CellStyle createDataStyle(Workbook workbook) {
-        CellStyle style = workbook.createCellStyle();
-        style.setBorderBottom(BorderStyle.THIN);
-        style.setBorderTop(BorderStyle.THIN);
-        style.setBorderLeft(BorderStyle.THIN);
-        style.setBorderRight(BorderStyle.THIN);
-        return style;
-    }
+    private static final ExcelSheet<WithdrawalRequestDto> WITHDRAWAL_REQUESTS_SHEET = ExcelSheet.<WithdrawalRequestDto>of(
+        "출금신청",
+        new String[]{
+            "연도", "날짜", "시간", "주문번호", "ID", "닉네임", "유형", "자산", 
+            "신청금액", "스프레드", "수수료(%)", "실시간 가격", "정산금액", "수수료 수익", "지갑주소", "상태"
+        },
+        (row, request) -> row
+            .cell(request.getYear())
+            .cell(request.getDate())
+            .cell(request.getTime())
+            .cell(request.getOrderNumber())
+            .cell(request.getLoginId())
+            .cell(request.getNickname())
+            .cell(request.getType())
+            .cell(request.getAsset())
+            .cell(request.getRequestAmount())
+            .cell(request.getSpread())
+            .cell(request.getFeeRate())
+            .cell(request.getRealtimePrice())
+            .cell(request.getSettlementAmount())
+            .cell(request.getFeeRevenue())
+            .cell(request.getWalletAddress())
+            .cell(request.getStatus())
+    );
     
-    private void createCell(Row row, int colNum, Object value, CellStyle style) {
-        Cell cell = row.createCell(colNum);
-        if (value != null) {
-            if (value instanceof String) {
-                cell.setCellValue((String) value);
-            } else if (value instanceof Number) {
-                cell.setCellValue(((Number) value).doubleValue());
-            } else {
-                cell.setCellValue(value.toString());
-            }
-        }
-        cell.setCellStyle(style);
-    }
+    private static final ExcelSheet<TransactionHistoryDto> TRANSACTION_HISTORY_SHEET = ExcelSheet.<TransactionHistoryDto>of(
+        "거래내역",
+        new String[]{
+            "연도", "날짜", "시간", "주문번호", "ID", "닉네임", "유형", "자산", 
+            "신청금액", "스프레드수수료", "수수료(%)", "실시간 가격", "정산금액", "수수료 수익", "지갑주소", "상태"
+        },
+        (row, transaction) -> row
+            .cell(transaction.getYear())
+            .cell(transaction.getDate())
+            .cell(transaction.getTime())
+            .cell(transaction.getOrderNumber())
+            .cell(transaction.getLoginId())
+            .cell(transaction.getNickname())
+            .cell(transaction.getType())
+            .cell(transaction.getAsset())
+            .cell(transaction.getRequestAmount())
+            .cell(transaction.getSpread())
+            .cell(transaction.getFeeRate())
+            .cell(transaction.getRealtimePrice())
+            .cell(transaction.getSettlementAmount())
+            .cell(transaction.getFeeRevenue())
+            .cell(transaction.getWalletAddress())
+            .cell(transaction.getStatus())
+    );
 }
 
@@ -2,34 +2,70 @@ package com.csms.admin.service;
 
 import com.csms.admin.dto.*;
 import com.csms.admin.repository.AdminMemberRepository;
+import com.csms.common.event.EventChannels;
+import com.csms.common.export.ExcelExport;
+import com.csms.common.export.ExcelSheet;
 import com.csms.common.service.BaseService;
+import com.csms.common.service.ResultCache;
 import com.csms.common.service.TronService;
 import com.csms.common.utils.DateUtils;
+import com.csms.common.utils.PasswordHashExecutor;
 import io.vertx.core.Future;
-import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.json.JsonObject;
 import io.vertx.pgclient.PgPool;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.mindrot.jbcrypt.BCrypt;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.List;
+import java.util.Map;
 
 @Slf4j
 public class AdminMemberService extends com.csms.common.service.BaseService {
     
     private final AdminMemberRepository repository;
     private final TronService tronService;
+    private final PasswordHashExecutor passwordHashExecutor;
+    private final ResultCache resultCache;
+    private final EventBus eventBus;
     
     public AdminMemberService(PgPool pool, TronService tronService) {
+        this(pool, tronService, PasswordHashExecutor.getDefault());
+    }
+    
+    public AdminMemberService(PgPool pool, TronService tronService, PasswordHashExecutor passwordHashExecutor) {
+        this(pool, tronService, passwordHashExecutor, ResultCache.disabled());
+    }
+    
+    /**
+     * @param resultCache 회원 목록/채굴 내역 및 내보내기 결과 캐시 (회원 워터마크 기준)
+     */
+    public AdminMemberService(PgPool pool, TronService tronService, PasswordHashExecutor passwordHashExecutor,
+                              ResultCache resultCache) {
+        this(pool, tronService, passwordHashExecutor, resultCache, null);
+    }
+    
+    /**
+     * @param eventBus 회원/지갑 변경 알림 발행용 (null이면 발행하지 않음)
+     */
+    public AdminMemberService(PgPool pool, TronService tronService, PasswordHashExecutor passwordHashExecutor,
+                              ResultCache resultCache, EventBus eventBus) {
         super(pool);
         this.repository = new AdminMemberRepository(pool, tronService);
         this.tronService = tronService;
+        this.passwordHashExecutor = passwordHashExecutor;
+        this.resultCache = resultCache;
+        this.eventBus = eventBus;
+    }
+    
+    /**
+     * 변경 커밋 후 모든 노드(자신 포함)에 알림 - 구독 중인 캐시 무효화
+     */
+    private void publishChange(String channel, Long userId) {
+        if (eventBus != null) {
+            EventChannels.publish(eventBus, channel, new JsonObject().put("userId", userId));
+        }
     }
     
     public Future<MemberListDto> getMembers(
@@ -52,7 +88,12 @@ public class AdminMemberService extends com.csms.common.service.BaseService {
             ? searchKeyword.substring(0, 20) 
             : searchKeyword;
         
-        return repository.getMembers(client, finalLimit, finalOffset, searchCategory, finalSearchKeyword, activityStatus, sanctionStatus)
+        Map<String, Object> filters = ResultCache.filters(
+            "limit", finalLimit, "offset", finalOffset, "searchCategory", searchCategory,
+            "searchKeyword", finalSearchKeyword, "activityStatus", activityStatus, "sanctionStatus", sanctionStatus);
+        
+        return resultCache.get("members", filters, this::memberWatermark,
+                () -> repository.getMembers(client, finalLimit, finalOffset, searchCategory, finalSearchKeyword, activityStatus, sanctionStatus))
             .onSuccess(result -> {
                 log.info("getMembers transaction completed - total: {}, returned: {}", 
                     result.getTotal(), result.getMembers().size());
@@ -100,6 +141,7 @@ public class AdminMemberService extends com.csms.common.service.BaseService {
             })
             .onSuccess(result -> {
                 log.info("updateSanctionStatus transaction completed - memberId: {}", memberId);
+                publishChange(EventChannels.MEMBERS, memberId);
             })
             .onFailure(err -> {
                 log.error("updateSanctionStatus transaction failed - memberId: {}", memberId, err);
@@ -118,6 +160,7 @@ public class AdminMemberService extends com.csms.common.service.BaseService {
         )
         .onSuccess(result -> {
             log.info("updateMember transaction completed - memberId: {}", memberId);
+            publishChange(EventChannels.MEMBERS, memberId);
         })
         .onFailure(err -> {
             log.error("updateMember transaction failed - memberId: {}", memberId, err);
@@ -126,9 +169,11 @@ public class AdminMemberService extends com.csms.common.service.BaseService {
     
     public Future<Void> resetTransactionPassword(Long memberId) {
         log.info("resetTransactionPassword transaction started - memberId: {}", memberId);
-        return repository.resetTransactionPassword(client, memberId)
+        return passwordHashExecutor.hash("0000")
+            .compose(passwordHash -> repository.resetTransactionPassword(client, memberId, passwordHash))
             .onSuccess(result -> {
                 log.info("resetTransactionPassword transaction completed - memberId: {}", memberId);
+                publishChange(EventChannels.MEMBERS, memberId);
             })
             .onFailure(err -> {
                 log.error("resetTransactionPassword transaction failed - memberId: {}", memberId, err);
@@ -163,6 +208,7 @@ public class AdminMemberService extends com.csms.common.service.BaseService {
         .onSuccess(result -> {
             log.info("adjustCoin transaction completed - userId: {}, type: {}, amount: {}", 
                 request.getUserId(), request.getType(), request.getAmount());
+            publishChange(EventChannels.WALLETS, request.getUserId());
         })
         .onFailure(err -> {
             log.error("adjustCoin transaction failed - userId: {}, type: {}, amount: {}", 
@@ -196,6 +242,7 @@ public class AdminMemberService extends com.csms.common.service.BaseService {
         .onSuccess(result -> {
             log.info("adjustKoriPoint transaction completed - userId: {}, type: {}, amount: {}", 
                 request.getUserId(), request.getType(), request.getAmount());
+            publishChange(EventChannels.WALLETS, request.getUserId());
         })
         .onFailure(err -> {
             log.error("adjustKoriPoint transaction failed - userId: {}, type: {}, amount: {}", 
@@ -236,7 +283,8 @@ public class AdminMemberService extends com.csms.common.service.BaseService {
         Long userId,
         Integer limit,
         Integer offset,
-        String dateRange
+        String dateRange,
+        String cursor
     ) {
         log.info("getMiningHistory transaction started - userId: {}, limit: {}, offset: {}, dateRange: {}", 
             userId, limit, offset, dateRange);
@@ -267,7 +315,18 @@ public class AdminMemberService extends com.csms.common.service.BaseService {
             endDate = end.atTime(23, 59, 59);
         }
         
-        return repository.getMiningHistory(client, userId, limit, offset, startDate, endDate)
+        final int finalLimit = limit;
+        final int finalOffset = offset;
+        final LocalDateTime finalStartDate = startDate;
+        final LocalDateTime finalEndDate = endDate;
+        
+        Map<String, Object> filters = ResultCache.filters(
+            "userId", userId, "limit", finalLimit, "offset", finalOffset,
+            "start", finalStartDate, "end", finalEndDate, "cursor", cursor);
+        
+        return resultCache.get("member_mining_history", filters, this::memberWatermark,
+                () -> decodeCursor(cursor).compose(pageCursor -> repository.getMiningHistory(
+                    client, userId, finalLimit, finalOffset, finalStartDate, finalEndDate, pageCursor)))
             .onSuccess(result -> {
                 log.info("getMiningHistory transaction completed - userId: {}, total: {}, returned: {}", 
                     userId, result.getTotal(), result.getRecords().size());
@@ -279,7 +338,7 @@ public class AdminMemberService extends com.csms.common.service.BaseService {
     
     // ========== Export 관련 메서드 ==========
     
-    public Future<Buffer> exportMembers(
+    public ExcelExport<MemberListDto.MemberInfo> exportMembers(
         String searchCategory,
         String searchKeyword,
         String activityStatus,
@@ -288,29 +347,18 @@ public class AdminMemberService extends com.csms.common.service.BaseService {
         log.info("exportMembers transaction started - searchCategory: {}, activityStatus: {}, sanctionStatus: {}", 
             searchCategory, activityStatus, sanctionStatus);
         
-        // 모든 데이터 조회 (페이지네이션 없이)
-        return repository.getMembers(client,
-            Integer.MAX_VALUE,
-            0,
+        // 전체 데이터를 커서로 스트리밍 (페이지네이션 없이)
+        Map<String, Object> filters = ResultCache.filters(
+            "searchCategory", searchCategory, "searchKeyword", searchKeyword, "activityStatus", activityStatus);
+        return new ExcelExport<>(MEMBERS_SHEET, repository.streamMembers(
+            pool,
             searchCategory,
             searchKeyword,
-            activityStatus,
-            sanctionStatus
-        )
-        .map(memberList -> {
-            try {
-                log.debug("Creating Excel file for {} members", memberList.getMembers().size());
-                Buffer buffer = createMembersExcelFile(memberList.getMembers());
-                log.info("exportMembers transaction completed - members: {}", memberList.getMembers().size());
-                return buffer;
-            } catch (IOException e) {
-                log.error("exportMembers transaction failed - failed to create Excel file", e);
-                throw new RuntimeException("Failed to create Excel file", e);
-            }
-        });
+            activityStatus
+        )).withCacheKey(() -> resultCache.versionKey("members_export", filters, this::memberWatermark));
     }
     
-    public Future<Buffer> exportMiningHistory(Long userId, String dateRange) {
+    public ExcelExport<MiningHistoryDetailDto.MiningHistoryRecord> exportMiningHistory(Long userId, String dateRange) {
         log.info("exportMiningHistory transaction started - userId: {}, dateRange: {}", userId, dateRange);
         
         // 날짜 범위 계산
@@ -334,239 +382,64 @@ public class AdminMemberService extends com.csms.common.service.BaseService {
             endDate = end.atTime(23, 59, 59);
         }
         
-        // 모든 데이터 조회 (페이지네이션 없이)
-        return repository.getMiningHistory(
-            client,
+        // 전체 데이터를 커서로 스트리밍 (회원이 없으면 NotFoundException)
+        Map<String, Object> filters = ResultCache.filters("userId", userId, "start", startDate, "end", endDate);
+        return new ExcelExport<>(MINING_HISTORY_SHEET, repository.streamMiningHistory(
+            pool,
             userId,
-            Integer.MAX_VALUE,
-            0,
             startDate,
             endDate
-        )
-        .map(historyDetail -> {
-            try {
-                log.debug("Creating Excel file for {} records", historyDetail.getRecords().size());
-                Buffer buffer = createMiningHistoryExcelFile(historyDetail);
-                log.info("exportMiningHistory transaction completed - userId: {}, records: {}", 
-                    userId, historyDetail.getRecords().size());
-                return buffer;
-            } catch (IOException e) {
-                log.error("exportMiningHistory transaction failed - failed to create Excel file", e);
-                throw new RuntimeException("Failed to create Excel file", e);
-            }
-        });
+        )).withCacheKey(() -> resultCache.versionKey("member_mining_history_export", filters, this::memberWatermark));
     }
     
-    private Buffer createMembersExcelFile(List<MemberListDto.MemberInfo> members) throws IOException {
-        Workbook workbook = new XSSFWorkbook();
-        Sheet sheet = workbook.createSheet("회원 목록");
-        
-        // 스타일 생성
-        CellStyle headerStyle = createHeaderStyle(workbook);
-        CellStyle dataStyle = createDataStyle(workbook);
-        CellStyle dateStyle = createDateStyle(workbook);
-        
-        // 헤더 행 생성
-        Row headerRow = sheet.createRow(0);
-        String[] headers = {
+    private Future<String> memberWatermark() {
+        return repository.getMemberWatermark(client);
+    }
+    
+    private static final ExcelSheet<MemberListDto.MemberInfo> MEMBERS_SHEET = ExcelSheet.<MemberListDto.MemberInfo>of(
+        "회원 목록",
+        new String[]{
             "ID", "로그인ID", "추천인ID", "추천인닉네임", "닉네임", "레벨", 
             "초대코드", "팀원수", "래퍼럴수익", "총채굴보유량", 
             "활동상태", "제재상태", "가입일"
-        };
-        
-        for (int i = 0; i < headers.length; i++) {
-            Cell cell = headerRow.createCell(i);
-            cell.setCellValue(headers[i]);
-            cell.setCellStyle(headerStyle);
-        }
-        
-        // 데이터 행 생성
-        int rowNum = 1;
-        for (MemberListDto.MemberInfo member : members) {
-            Row row = sheet.createRow(rowNum++);
-            
-            int colNum = 0;
-            createCell(row, colNum++, member.getId(), dataStyle);
-            createCell(row, colNum++, member.getLoginId(), dataStyle);
-            createCell(row, colNum++, member.getReferrerId(), dataStyle);
-            createCell(row, colNum++, member.getReferrerNickname(), dataStyle);
-            createCell(row, colNum++, member.getNickname(), dataStyle);
+        },
+        (row, member) -> row
+            .cell(member.getId())
+            .cell(member.getLoginId())
+            .cell(member.getReferrerId())
+            .cell(member.getReferrerNickname())
+            .cell(member.getNickname())
             // email 컬럼 제거 (users 테이블에 email 컬럼 없음)
-            createCell(row, colNum++, member.getLevel(), dataStyle);
-            createCell(row, colNum++, member.getInvitationCode(), dataStyle);
-            createCell(row, colNum++, member.getTeamMemberCount(), dataStyle);
-            createCell(row, colNum++, member.getReferralRevenue(), dataStyle);
-            createCell(row, colNum++, member.getTotalMinedAmount(), dataStyle);
-            createCell(row, colNum++, member.getActivityStatus(), dataStyle);
-            createCell(row, colNum++, member.getSanctionStatus(), dataStyle);
-            
-            // 날짜 셀
-            Cell dateCell = row.createCell(colNum++);
-            if (member.getRegisteredAt() != null) {
-                dateCell.setCellValue(member.getRegisteredAt().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
-            }
-            dateCell.setCellStyle(dateStyle);
-        }
-        
-        // 컬럼 너비 자동 조정
-        for (int i = 0; i < headers.length; i++) {
-            sheet.autoSizeColumn(i);
-            if (sheet.getColumnWidth(i) < 2000) {
-                sheet.setColumnWidth(i, 2000);
-            }
-            if (sheet.getColumnWidth(i) > 15000) {
-                sheet.setColumnWidth(i, 15000);
-            }
-        }
-        
-        // Excel 파일을 바이트 배열로 변환
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        workbook.write(outputStream);
-        workbook.close();
-        
-        return Buffer.buffer(outputStream.toByteArray());
-    }
+            .cell(member.getLevel())
+            .cell(member.getInvitationCode())
+            .cell(member.getTeamMemberCount())
+            .cell(member.getReferralRevenue())
+            .cell(member.getTotalMinedAmount())
+            .cell(member.getActivityStatus())
+            .cell(member.getSanctionStatus())
+            .dateTime(member.getRegisteredAt())
+    ).withColumnWidth(2000, 15000);
     
-    private Buffer createMiningHistoryExcelFile(MiningHistoryDetailDto historyDetail) throws IOException {
-        Workbook workbook = new XSSFWorkbook();
-        Sheet sheet = workbook.createSheet("채굴 내역");
-        
-        // 헤더 스타일
-        CellStyle headerStyle = workbook.createCellStyle();
-        Font headerFont = workbook.createFont();
-        headerFont.setBold(true);
-        headerFont.setFontHeightInPoints((short) 11);
-        headerStyle.setFont(headerFont);
-        headerStyle.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
-        headerStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        headerStyle.setBorderBottom(BorderStyle.THIN);
-        headerStyle.setBorderTop(BorderStyle.THIN);
-        headerStyle.setBorderLeft(BorderStyle.THIN);
-        headerStyle.setBorderRight(BorderStyle.THIN);
-        headerStyle.setAlignment(HorizontalAlignment.CENTER);
-        headerStyle.setVerticalAlignment(VerticalAlignment.CENTER);
-        
-        // 데이터 스타일
-        CellStyle dataStyle = workbook.createCellStyle();
-        dataStyle.setBorderBottom(BorderStyle.THIN);
-        dataStyle.setBorderTop(BorderStyle.THIN);
-        dataStyle.setBorderLeft(BorderStyle.THIN);
-        dataStyle.setBorderRight(BorderStyle.THIN);
-        
-        // 숫자 포맷
-        CellStyle numberStyle = workbook.createCellStyle();
-        numberStyle.cloneStyleFrom(dataStyle);
-        CreationHelper createHelper = workbook.getCreationHelper();
-        numberStyle.setDataFormat(createHelper.createDataFormat().getFormat("#,##0.0000"));
-        
-        // 헤더 생성
-        Row headerRow = sheet.createRow(0);
-        String[] headers = {
-            "연도", "날짜", "시간", "레벨", "채굴유형", "채굴효율(%)", "초대코드", 
-            "팀원수", "채굴량", "래퍼럴수익", "총채굴 보유량", "기기정보(IP)"
-        };
-        
-        for (int i = 0; i < headers.length; i++) {
-            Cell cell = headerRow.createCell(i);
-            cell.setCellValue(headers[i]);
-            cell.setCellStyle(headerStyle);
-        }
-        
-        // 데이터 행 생성
-        int rowNum = 1;
-        for (MiningHistoryDetailDto.MiningHistoryRecord record : historyDetail.getRecords()) {
-            Row row = sheet.createRow(rowNum++);
-            
-            int colNum = 0;
-            
-            createCell(row, colNum++, record.getYear(), dataStyle);
-            createCell(row, colNum++, record.getDate(), dataStyle);
-            createCell(row, colNum++, record.getTime(), dataStyle);
-            createCell(row, colNum++, record.getLevel(), dataStyle);
-            createCell(row, colNum++, record.getMiningType(), dataStyle);
-            createCell(row, colNum++, record.getMiningEfficiency(), dataStyle);
-            createCell(row, colNum++, record.getInvitationCode(), dataStyle);
-            createCell(row, colNum++, record.getTeamMemberCount(), dataStyle);
-            
-            // 숫자 셀
-            Cell cell8 = row.createCell(colNum++);
-            cell8.setCellValue(record.getMiningAmount() != null ? record.getMiningAmount() : 0.0);
-            cell8.setCellStyle(numberStyle);
-            
-            Cell cell9 = row.createCell(colNum++);
-            cell9.setCellValue(record.getReferralRevenue() != null ? record.getReferralRevenue() : 0.0);
-            cell9.setCellStyle(numberStyle);
-            
-            Cell cell10 = row.createCell(colNum++);
-            cell10.setCellValue(record.getTotalMinedHoldings() != null ? record.getTotalMinedHoldings() : 0.0);
-            cell10.setCellStyle(numberStyle);
-            
-            createCell(row, colNum++, record.getDeviceInfo(), dataStyle);
-        }
-        
-        // 컬럼 너비 자동 조정
-        for (int i = 0; i < headers.length; i++) {
-            sheet.autoSizeColumn(i);
-            int currentWidth = sheet.getColumnWidth(i);
-            sheet.setColumnWidth(i, Math.max(currentWidth, 3000));
-        }
-        
-        // 파일로 변환
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        workbook.write(outputStream);
-        workbook.close();
-        
-        return Buffer.buffer(outputStream.toByteArray());
-    }
-    
-    private CellStyle createHeaderStyle(Workbook workbook) {
-        CellStyle style = workbook.createCellStyle();
-        Font font = workbook.createFont();
-        font.setBold(true);
-        font.setFontHeightInPoints((short) 11);
-        style.setFont(font);
-        style.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
-        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        style.setBorderBottom(BorderStyle.THIN);
-        style.setBorderTop(BorderStyle.THIN);
-        style.setBorderLeft(BorderStyle.THIN);
-        style.setBorderRight(BorderStyle.THIN);
-        style.setAlignment(HorizontalAlignment.CENTER);
-        style.setVerticalAlignment(VerticalAlignment.CENTER);
-        return style;
-    }
-    
-    private CellStyle createDataStyle(Workbook workbook) {
-        CellStyle style = workbook.createCellStyle();
-        style.setBorderBottom(BorderStyle.THIN);
-        style.setBorderTop(BorderStyle.THIN);
-        style.setBorderLeft(BorderStyle.THIN);
-        style.setBorderRight(BorderStyle.THIN);
-        style.setVerticalAlignment(VerticalAlignment.CENTER);
-        return style;
-    }
-    
-    private CellStyle createDateStyle(Workbook workbook) {
-        CellStyle style = createDataStyle(workbook);
-        DataFormat format = workbook.createDataFormat();
-        style.setDataFormat(format.getFormat("yyyy-mm-dd hh:mm:ss"));
-        return style;
-    }
-    
-    private void createCell(Row row, int colNum, Object value, CellStyle style) {
-        Cell cell = row.createCell(colNum);
-        if (value != null) {
-            if (value instanceof Long) {
-                cell.setCellValue(((Long) value).doubleValue());
-            } else if (value instanceof Integer) {
-                cell.setCellValue(((Integer) value).doubleValue());
-            } else if (value instanceof Double) {
-                cell.setCellValue((Double) value);
-            } else {
-                cell.setCellValue(value.toString());
-            }
-        }
-        cell.setCellStyle(style);
-    }
+    private static final ExcelSheet<MiningHistoryDetailDto.MiningHistoryRecord> MINING_HISTORY_SHEET =
+        ExcelSheet.<MiningHistoryDetailDto.MiningHistoryRecord>of(
+            "채굴 내역",
+            new String[]{
+                "연도", "날짜", "시간", "레벨", "채굴유형", "채굴효율(%)", "초대코드", 
+                "팀원수", "채굴량", "래퍼럴수익", "총채굴 보유량", "기기정보(IP)"
+            },
+            (row, record) -> row
+                .cell(record.getYear())
+                .cell(record.getDate())
+                .cell(record.getTime())
+                .cell(record.getLevel())
+                .cell(record.getMiningType())
+                .cell(record.getMiningEfficiency())
+                .cell(record.getInvitationCode())
+                .cell(record.getTeamMemberCount())
+                .amount(record.getMiningAmount())
+                .amount(record.getReferralRevenue())
+                .amount(record.getTotalMinedHoldings())
+                .cell(record.getDeviceInfo())
+        ).withColumnWidth(3000, ExcelSheet.MAX_COLUMN_WIDTH);
 }
 
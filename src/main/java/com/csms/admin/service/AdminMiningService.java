@@ -2,30 +2,123 @@ package com.csms.admin.service;
 
 import com.csms.admin.dto.*;
 import com.csms.admin.repository.AdminMiningRepository;
+import com.csms.common.event.EventChannels;
+import com.csms.common.exceptions.NotFoundException;
+import com.csms.common.export.ExcelExport;
+import com.csms.common.export.ExcelSheet;
 import com.csms.common.service.BaseService;
+import com.csms.common.service.ResultCache;
 import com.csms.common.utils.DateUtils;
 import io.vertx.core.Future;
-import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.json.JsonObject;
 import io.vertx.pgclient.PgPool;
+import io.vertx.sqlclient.SqlClient;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
 
 @Slf4j
 public class AdminMiningService extends BaseService {
     
+    private static final int CUMULATIVE_BACKFILL_BATCH_SIZE = 500;
+    
+    // 무효화 메시지를 놓친 경우를 대비한 스냅샷 최대 유지 시간
+    private static final long CONFIG_SNAPSHOT_MAX_AGE_MS = 60_000L;
+    
     private final AdminMiningRepository repository;
+    private final EventBus eventBus;
+    private final ResultCache resultCache;
+    private final AtomicReference<MiningConfigSnapshot> configSnapshot;
+    // 마지막 누적 채굴량 백필 작업 (프로세스 로컬, 동시에 하나만 실행)
+    private final AtomicReference<CumulativeBackfillJobDto> cumulativeBackfillJob = new AtomicReference<>();
     
     public AdminMiningService(PgPool pool, AdminMiningRepository repository) {
+        this(pool, repository, null);
+    }
+    
+    /**
+     * @param eventBus 노드 간 설정 무효화 발행/구독용 (null이면 로컬 캐시만 사용)
+     */
+    public AdminMiningService(PgPool pool, AdminMiningRepository repository, EventBus eventBus) {
+        this(pool, repository, eventBus, ResultCache.disabled());
+    }
+    
+    /**
+     * @param resultCache 채굴 기록/내역 목록 및 내보내기 결과 캐시 (채굴 워터마크 기준)
+     */
+    public AdminMiningService(PgPool pool, AdminMiningRepository repository, EventBus eventBus, ResultCache resultCache) {
         super(pool);
         this.repository = repository;
+        this.eventBus = eventBus;
+        this.resultCache = resultCache;
+        this.configSnapshot = new AtomicReference<>(MiningConfigSnapshot.empty(0, System.currentTimeMillis()));
+        
+        if (eventBus != null) {
+            eventBus.<JsonObject>consumer(EventChannels.localAddress(EventChannels.MINING_CONFIG), message -> {
+                // 자신이 발행한 메시지는 이미 반영됨 (재동기화 메시지는 origin이 없으므로 항상 교체)
+                if (!EventChannels.NODE_ID.equals(message.body().getString("origin"))) {
+                    MiningConfigSnapshot refreshed = refreshConfigSnapshot();
+                    log.info("Mining config snapshot invalidated by {} - version: {}",
+                        EventChannels.isResync(message.body()) ? "resync" : "remote node", refreshed.version());
+                }
+            });
+        }
+    }
+    
+    // ========== Mining Config Snapshot ==========
+    
+    /**
+     * 현재 버전의 스냅샷에서 섹션을 읽고, 없으면 DB에서 로드하여 같은 버전일 때만 채워 넣음
+     * (로드 중 설정이 변경되어 버전이 바뀌었다면 이전 값은 캐시하지 않음, 스냅샷은 사본을 저장/반환)
+     */
+    private <T> Future<T> cachedConfig(
+        Function<MiningConfigSnapshot, T> section,
+        Function<SqlClient, Future<T>> loader,
+        BiFunction<MiningConfigSnapshot, T, MiningConfigSnapshot> withSection
+    ) {
+        MiningConfigSnapshot snapshot = configSnapshot.get();
+        if (snapshot.isExpired(System.currentTimeMillis(), CONFIG_SNAPSHOT_MAX_AGE_MS)) {
+            snapshot = refreshConfigSnapshot();
+        }
+        
+        T cached = section.apply(snapshot);
+        if (cached != null) {
+            return Future.succeededFuture(cached);
+        }
+        
+        final long loadVersion = snapshot.version();
+        return loader.apply(client)
+            .onSuccess(value -> configSnapshot.updateAndGet(current ->
+                current.version() == loadVersion && value != null ? withSection.apply(current, value) : current));
+    }
+    
+    /**
+     * 새 버전의 빈 스냅샷으로 원자적으로 교체
+     */
+    private MiningConfigSnapshot refreshConfigSnapshot() {
+        long now = System.currentTimeMillis();
+        return configSnapshot.updateAndGet(current -> MiningConfigSnapshot.empty(current.version() + 1, now));
+    }
+    
+    /**
+     * 설정 변경 성공 후 로컬 스냅샷 교체 및 다른 노드에 무효화 발행
+     * (실패한 변경은 설정을 바꾸지 않았으므로 스냅샷을 유지)
+     */
+    private void onMiningConfigChanged() {
+        MiningConfigSnapshot refreshed = refreshConfigSnapshot();
+        if (eventBus != null) {
+            EventChannels.publish(eventBus, EventChannels.MINING_CONFIG,
+                new JsonObject().put("version", refreshed.version()));
+        }
     }
     
     public Future<MiningRecordListDto> getMiningRecords(
@@ -36,7 +129,8 @@ public class AdminMiningService extends BaseService {
         String endDate,
         String searchCategory,
         String searchKeyword,
-        String activityStatus
+        String activityStatus,
+        String cursor
     ) {
         log.info("getMiningRecords transaction started - limit: {}, offset: {}, dateRange: {}, searchCategory: {}", 
             limit, offset, dateRange, searchCategory);
@@ -62,16 +156,23 @@ public class AdminMiningService extends BaseService {
         // 활동상태 기본값
         final String finalActivityStatus = (activityStatus == null || activityStatus.isEmpty()) ? "ALL" : activityStatus;
         
-        return repository.getMiningRecords(
-            client,
-            finalLimit,
-            finalOffset,
-            startDateTime,
-            endDateTime,
-            finalSearchCategory,
-            finalSearchKeyword,
-            finalActivityStatus
-        )
+        Map<String, Object> filters = ResultCache.filters(
+            "limit", finalLimit, "offset", finalOffset, "start", startDateTime, "end", endDateTime,
+            "searchCategory", finalSearchCategory, "searchKeyword", finalSearchKeyword,
+            "activityStatus", finalActivityStatus, "cursor", cursor);
+        
+        return resultCache.get("mining_records", filters, this::miningWatermark,
+            () -> decodeCursor(cursor).compose(pageCursor -> repository.getMiningRecords(
+                client,
+                finalLimit,
+                finalOffset,
+                startDateTime,
+                endDateTime,
+                finalSearchCategory,
+                finalSearchKeyword,
+                finalActivityStatus,
+                pageCursor
+            )))
         .onSuccess(result -> {
             log.info("getMiningRecords transaction completed - total: {}, returned: {}", 
                 result.getTotal(), result.getRecords() != null ? result.getRecords().size() : 0);
@@ -82,11 +183,100 @@ public class AdminMiningService extends BaseService {
         });
     }
     
+    /**
+     * 누적 채굴량 백필을 백그라운드 작업으로 시작하고 작업 정보를 즉시 반환
+     * 이미 실행 중인 작업이 있으면 새로 시작하지 않고 해당 작업을 반환합니다.
+     * 작업 상태는 프로세스 로컬이므로 조회 요청도 같은 서버로 가야 합니다.
+     */
+    public CumulativeBackfillJobDto startCumulativeBackfillJob() {
+        CumulativeBackfillJobDto job = CumulativeBackfillJobDto.builder()
+            .jobId(UUID.randomUUID().toString())
+            .status("RUNNING")
+            .processedUserCount(0)
+            .startedAt(LocalDateTime.now())
+            .build();
+        CumulativeBackfillJobDto current;
+        do {
+            current = cumulativeBackfillJob.get();
+            if (current != null && "RUNNING".equals(current.getStatus())) {
+                return current;
+            }
+        } while (!cumulativeBackfillJob.compareAndSet(current, job));
+        
+        String jobId = job.getJobId();
+        log.info("Cumulative backfill job started - jobId: {}", jobId);
+        backfillCumulativeAmounts(processed -> updateCumulativeBackfillJob(jobId, j -> j.toBuilder()
+                .processedUserCount(processed)
+                .build()))
+            .onSuccess(total -> updateCumulativeBackfillJob(jobId, j -> j.toBuilder()
+                .status("COMPLETED")
+                .processedUserCount(total)
+                .completedAt(LocalDateTime.now())
+                .build()))
+            .onFailure(err -> updateCumulativeBackfillJob(jobId, j -> j.toBuilder()
+                .status("FAILED")
+                .errorMessage(err.getMessage())
+                .completedAt(LocalDateTime.now())
+                .build()));
+        return job;
+    }
+    
+    /**
+     * 누적 채굴량 백필 작업 상태 조회 (마지막 작업만 보관)
+     */
+    public CumulativeBackfillJobDto getCumulativeBackfillJob(String jobId) {
+        CumulativeBackfillJobDto job = cumulativeBackfillJob.get();
+        if (job == null || !job.getJobId().equals(jobId)) {
+            throw new NotFoundException("Backfill job not found");
+        }
+        return job;
+    }
+    
+    private void updateCumulativeBackfillJob(String jobId, Function<CumulativeBackfillJobDto, CumulativeBackfillJobDto> update) {
+        cumulativeBackfillJob.updateAndGet(job -> job != null && job.getJobId().equals(jobId) ? update.apply(job) : job);
+    }
+    
+    /**
+     * 기존 채굴 내역의 누적 채굴량 백필 (1회성 작업)
+     * 사용자 단위 배치를 처리 대상이 없을 때까지 순차 실행하며, 배치마다 커밋되므로 중단 후 재실행해도 이어서 처리됩니다.
+     * @return 처리한 전체 사용자 수
+     */
+    public Future<Integer> backfillCumulativeAmounts() {
+        return backfillCumulativeAmounts(processed -> {});
+    }
+    
+    /**
+     * @param progress 배치마다 지금까지 처리한 사용자 수를 전달받음
+     */
+    private Future<Integer> backfillCumulativeAmounts(IntConsumer progress) {
+        log.info("backfillCumulativeAmounts started - batchSize: {}", CUMULATIVE_BACKFILL_BATCH_SIZE);
+        return backfillCumulativeBatch(0, progress)
+            .onSuccess(total -> {
+                log.info("backfillCumulativeAmounts completed - processedUsers: {}", total);
+            })
+            .onFailure(err -> {
+                log.error("backfillCumulativeAmounts failed", err);
+            });
+    }
+    
+    private Future<Integer> backfillCumulativeBatch(int processedSoFar, IntConsumer progress) {
+        return repository.backfillCumulativeAmounts(client, CUMULATIVE_BACKFILL_BATCH_SIZE)
+            .compose(processed -> {
+                if (processed == null || processed == 0) {
+                    return Future.succeededFuture(processedSoFar);
+                }
+                int total = processedSoFar + processed;
+                log.info("backfillCumulativeAmounts batch completed - processedUsers: {}", total);
+                progress.accept(total);
+                return backfillCumulativeBatch(total, progress);
+            });
+    }
+    
     // ========== Mining Condition 관련 메서드 ==========
     
     public Future<MiningConditionDto> getMiningConditions() {
         log.info("getMiningConditions transaction started");
-        return repository.getMiningConditions(client)
+        return getCachedMiningConditions()
             .onSuccess(result -> {
                 log.info("getMiningConditions transaction completed - enabled: {}, missions: {}", 
                     result.getBasicConditions().getIsEnabled(), 
@@ -97,6 +287,14 @@ public class AdminMiningService extends BaseService {
             });
     }
     
+    /**
+     * 채굴 조건 스냅샷 조회 (로그 없음)
+     * 이벤트마다 레벨별 일일 한도를 확인하는 MiningDailyLimiter에서 사용하며, 호출마다 스냅샷의 사본을 반환합니다.
+     */
+    public Future<MiningConditionDto> getCachedMiningConditions() {
+        return cachedConfig(MiningConfigSnapshot::conditions, repository::getMiningConditions, MiningConfigSnapshot::withConditions);
+    }
+    
     public Future<Void> updateBasicConditions(UpdateBasicConditionRequestDto request) {
         log.info("updateBasicConditions transaction started - enabled: {}, baseTimeEnabled: {}, baseTimeMinutes: {}, missions: {}", 
             request.getIsEnabled(), request.getBaseTimeEnabled(), request.getBaseTimeMinutes(),
@@ -122,6 +320,7 @@ public class AdminMiningService extends BaseService {
             }
             return succeededVoid();
         })
+        .onSuccess(result -> onMiningConfigChanged())
         .onSuccess(result -> {
             if (request.getMissions() != null && !request.getMissions().isEmpty()) {
                 log.info("updateBasicConditions transaction completed - {} missions updated", request.getMissions().size());
@@ -167,6 +366,7 @@ public class AdminMiningService extends BaseService {
         }
         
         return allVoid(futures)
+            .onSuccess(result -> onMiningConfigChanged())
             .onSuccess(result -> {
                 log.info("updateProgressSetting transaction completed - {} settings updated", futures.size());
             })
@@ -189,6 +389,7 @@ public class AdminMiningService extends BaseService {
         }
         
         return repository.updateLevelLimit(client, request.getLevel(), request.getDailyLimit())
+            .onSuccess(result -> onMiningConfigChanged())
             .onSuccess(result -> {
                 log.info("updateLevelLimit transaction completed - level: {}, dailyLimit: {}", 
                     request.getLevel(), request.getDailyLimit());
@@ -202,6 +403,7 @@ public class AdminMiningService extends BaseService {
     public Future<Void> updateLevelLimitsEnabled(UpdateLevelLimitsEnabledRequestDto request) {
         log.info("updateLevelLimitsEnabled transaction started - enabled: {}", request.getEnabled());
         return repository.updateLevelLimitsEnabled(client, request.getEnabled())
+            .onSuccess(result -> onMiningConfigChanged())
             .onSuccess(result -> {
                 log.info("updateLevelLimitsEnabled transaction completed - enabled: {}", request.getEnabled());
             })
@@ -214,7 +416,7 @@ public class AdminMiningService extends BaseService {
     
     public Future<MiningBoosterDto> getMiningBoosters() {
         log.info("getMiningBoosters transaction started");
-        return repository.getMiningBoosters(client)
+        return cachedConfig(MiningConfigSnapshot::boosters, repository::getMiningBoosters, MiningConfigSnapshot::withBoosters)
             .onSuccess(result -> {
                 log.info("getMiningBoosters transaction completed - boosters: {}, totalEfficiency: {}", 
                     result.getBoosters().size(), result.getSummary().getTotalEfficiency());
@@ -241,6 +443,7 @@ public class AdminMiningService extends BaseService {
             request.getMaxCount(),
             request.getPerUnitEfficiency()
         )
+        .onSuccess(result -> onMiningConfigChanged())
         .onSuccess(result -> {
             log.info("updateBooster transaction completed - type: {}", request.getType());
         })
@@ -253,7 +456,7 @@ public class AdminMiningService extends BaseService {
     
     public Future<ReferralBonusDto> getReferralBonus() {
         log.info("getReferralBonus transaction started");
-        return repository.getReferralBonus(client)
+        return getCachedReferralBonus()
             .onSuccess(result -> {
                 log.info("getReferralBonus transaction completed - enabled: {}, distributionRate: {}", 
                     result.getIsEnabled(), result.getDistributionRate());
@@ -263,6 +466,14 @@ public class AdminMiningService extends BaseService {
             });
     }
     
+    /**
+     * 레퍼럴 보너스 설정 스냅샷 조회 (로그 없음)
+     * 묶음마다 분배율을 확인하는 ReferralRewardDistributor에서 사용합니다.
+     */
+    public Future<ReferralBonusDto> getCachedReferralBonus() {
+        return cachedConfig(MiningConfigSnapshot::referralBonus, repository::getReferralBonus, MiningConfigSnapshot::withReferralBonus);
+    }
+    
     public Future<Void> updateReferralBonus(UpdateReferralBonusRequestDto request) {
         log.info("updateReferralBonus transaction started - enabled: {}, distributionRate: {}", 
             request.getIsEnabled(), request.getDistributionRate());
@@ -277,6 +488,7 @@ public class AdminMiningService extends BaseService {
             request.getIsEnabled(),
             request.getDistributionRate()
         )
+        .onSuccess(result -> onMiningConfigChanged())
         .onSuccess(result -> {
             log.info("updateReferralBonus transaction completed - enabled: {}, distributionRate: {}", 
                 request.getIsEnabled(), request.getDistributionRate());
@@ -290,7 +502,7 @@ public class AdminMiningService extends BaseService {
     
     public Future<RankingRewardDto> getRankingReward() {
         log.info("getRankingReward transaction started");
-        return repository.getRankingReward(client)
+        return cachedConfig(MiningConfigSnapshot::rankingReward, repository::getRankingReward, MiningConfigSnapshot::withRankingReward)
             .onSuccess(result -> {
                 log.info("getRankingReward transaction completed - regional: {}, national: {}", 
                     result.getRegional() != null, result.getNational() != null);
@@ -339,6 +551,7 @@ public class AdminMiningService extends BaseService {
             request.getRank3(),
             request.getRank4to10()
         )
+        .onSuccess(result -> onMiningConfigChanged())
         .onSuccess(result -> {
             log.info("updateRankingReward transaction completed - type: {}", request.getType());
         })
@@ -370,16 +583,22 @@ public class AdminMiningService extends BaseService {
             ? searchKeyword.substring(0, 20) 
             : searchKeyword;
         
-        return repository.getMiningHistoryList(
-            client,
-            finalLimit,
-            finalOffset,
-            finalSearchCategory,
-            finalSearchKeyword,
-            sortType,
-            finalActivityStatus,
-            finalSanctionStatus
-        )
+        Map<String, Object> filters = ResultCache.filters(
+            "limit", finalLimit, "offset", finalOffset, "searchCategory", finalSearchCategory,
+            "searchKeyword", finalSearchKeyword, "sortType", sortType,
+            "activityStatus", finalActivityStatus, "sanctionStatus", finalSanctionStatus);
+        
+        return resultCache.get("mining_history_list", filters, this::miningWatermark,
+            () -> repository.getMiningHistoryList(
+                client,
+                finalLimit,
+                finalOffset,
+                finalSearchCategory,
+                finalSearchKeyword,
+                sortType,
+                finalActivityStatus,
+                finalSanctionStatus
+            ))
         .onSuccess(result -> {
             log.info("getMiningHistoryList transaction completed - total: {}, returned: {}", 
                 result.getTotal(), result.getItems() != null ? result.getItems().size() : 0);
@@ -389,9 +608,32 @@ public class AdminMiningService extends BaseService {
         });
     }
     
+    /**
+     * 회원별 채굴 집계 재구축 (트리거 누락/데이터 보정 시 복구용)
+     * @param userId null이면 전체 회원
+     */
+    public Future<Integer> rebuildUserMiningTotals(Long userId) {
+        log.info("rebuildUserMiningTotals transaction started - userId: {}", userId);
+        
+        if (userId != null && userId <= 0) {
+            return Future.failedFuture(new IllegalArgumentException("userId must be positive"));
+        }
+        
+        return repository.rebuildUserMiningTotals(client, userId)
+            .onSuccess(count -> {
+                log.info("rebuildUserMiningTotals transaction completed - userId: {}, rebuilt: {}", userId, count);
+            })
+            .onFailure(err -> {
+                log.error("rebuildUserMiningTotals transaction failed - userId: {}", userId, err);
+            });
+    }
+    
     // ========== Export 관련 메서드 ==========
     
-    public Future<Buffer> exportMiningRecords(
+    /**
+     * 채굴 기록 엑셀 다운로드 (행은 전송 시 DB 커서로 스트리밍 조회)
+     */
+    public ExcelExport<MiningRecordDto> exportMiningRecords(
         String dateRange,
         String startDate,
         String endDate,
@@ -406,33 +648,23 @@ public class AdminMiningService extends BaseService {
         LocalDateTime startDateTime = range.startDate().atStartOfDay();
         LocalDateTime endDateTime = range.endDate().atTime(23, 59, 59);
         
-        // 모든 데이터 조회 (페이지네이션 없이)
-        return repository.getMiningRecords(client,
-            Integer.MAX_VALUE,
-            0,
+        Map<String, Object> filters = ResultCache.filters(
+            "start", startDateTime, "end", endDateTime, "searchCategory", searchCategory,
+            "searchKeyword", searchKeyword, "activityStatus", activityStatus);
+        return new ExcelExport<>(MINING_RECORDS_SHEET, repository.streamMiningRecords(
+            pool,
             startDateTime,
             endDateTime,
             searchCategory,
             searchKeyword,
             activityStatus
-        )
-        .map(miningRecordList -> {
-            try {
-                List<MiningRecordDto> records = miningRecordList.getRecords() != null 
-                    ? miningRecordList.getRecords() 
-                    : new ArrayList<>();
-                log.debug("Creating Excel file for {} records", records.size());
-                Buffer buffer = createMiningRecordsExcelFile(records);
-                log.info("exportMiningRecords transaction completed - records: {}", records.size());
-                return buffer;
-            } catch (IOException e) {
-                log.error("exportMiningRecords transaction failed - failed to create Excel file", e);
-                throw new RuntimeException("Failed to create Excel file", e);
-            }
-        });
+        )).withCacheKey(() -> resultCache.versionKey("mining_records_export", filters, this::miningWatermark));
     }
     
-    public Future<Buffer> exportMiningHistoryList(
+    /**
+     * 채굴 내역 목록 엑셀 다운로드 (행은 전송 시 DB 커서로 스트리밍 조회)
+     */
+    public ExcelExport<MiningHistoryListDto.MiningHistoryItem> exportMiningHistoryList(
         String searchCategory,
         String searchKeyword,
         String sortType,
@@ -442,246 +674,63 @@ public class AdminMiningService extends BaseService {
         log.info("exportMiningHistoryList transaction started - searchCategory: {}, activityStatus: {}, sanctionStatus: {}", 
             searchCategory, activityStatus, sanctionStatus);
         
-        // 모든 데이터 조회 (페이지네이션 없이)
-        return repository.getMiningHistoryList(
-            client,
-            Integer.MAX_VALUE,
-            0,
+        Map<String, Object> filters = ResultCache.filters(
+            "searchCategory", searchCategory, "searchKeyword", searchKeyword, "sortType", sortType,
+            "activityStatus", activityStatus);
+        return new ExcelExport<>(MINING_HISTORY_LIST_SHEET, repository.streamMiningHistoryList(
+            pool,
             searchCategory,
             searchKeyword,
             sortType,
-            activityStatus,
-            sanctionStatus
-        )
-        .map(listDto -> {
-            try {
-                log.debug("Creating Excel file for {} items", listDto.getItems() != null ? listDto.getItems().size() : 0);
-                Buffer buffer = createMiningHistoryListExcelFile(listDto);
-                log.info("exportMiningHistoryList transaction completed - items: {}", listDto.getItems() != null ? listDto.getItems().size() : 0);
-                return buffer;
-            } catch (IOException e) {
-                log.error("exportMiningHistoryList transaction failed - failed to create Excel file", e);
-                throw new RuntimeException("Failed to create Excel file", e);
-            }
-        });
+            activityStatus
+        )).withCacheKey(() -> resultCache.versionKey("mining_history_list_export", filters, this::miningWatermark));
+    }
+    
+    private Future<String> miningWatermark() {
+        return repository.getMiningWatermark(client);
     }
     
-    private Buffer createMiningRecordsExcelFile(List<MiningRecordDto> records) throws IOException {
-        Workbook workbook = new XSSFWorkbook();
-        Sheet sheet = workbook.createSheet("채굴 기록");
-        
-        // 헤더 스타일
-        CellStyle headerStyle = workbook.createCellStyle();
-        Font headerFont = workbook.createFont();
-        headerFont.setBold(true);
-        headerFont.setFontHeightInPoints((short) 11);
-        headerStyle.setFont(headerFont);
-        headerStyle.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
-        headerStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        headerStyle.setBorderBottom(BorderStyle.THIN);
-        headerStyle.setBorderTop(BorderStyle.THIN);
-        headerStyle.setBorderLeft(BorderStyle.THIN);
-        headerStyle.setBorderRight(BorderStyle.THIN);
-        headerStyle.setAlignment(HorizontalAlignment.CENTER);
-        headerStyle.setVerticalAlignment(VerticalAlignment.CENTER);
-        
-        // 데이터 스타일
-        CellStyle dataStyle = workbook.createCellStyle();
-        dataStyle.setBorderBottom(BorderStyle.THIN);
-        dataStyle.setBorderTop(BorderStyle.THIN);
-        dataStyle.setBorderLeft(BorderStyle.THIN);
-        dataStyle.setBorderRight(BorderStyle.THIN);
-        
-        // 날짜 포맷
-        CellStyle dateStyle = workbook.createCellStyle();
-        dateStyle.cloneStyleFrom(dataStyle);
-        CreationHelper createHelper = workbook.getCreationHelper();
-        dateStyle.setDataFormat(createHelper.createDataFormat().getFormat("yyyy-mm-dd hh:mm:ss"));
-        
-        // 숫자 포맷
-        CellStyle numberStyle = workbook.createCellStyle();
-        numberStyle.cloneStyleFrom(dataStyle);
-        numberStyle.setDataFormat(createHelper.createDataFormat().getFormat("#,##0.0000"));
-        
-        // 헤더 생성
-        Row headerRow = sheet.createRow(0);
-        String[] headers = {
+    private static final ExcelSheet<MiningRecordDto> MINING_RECORDS_SHEET = ExcelSheet.<MiningRecordDto>of(
+        "채굴 기록",
+        new String[]{
             "ID", "회원ID", "추천인(부모)", "닉네임", "레벨",
             "채굴 시작 시간", "채굴 종료 시간", "채굴량", "누적 채굴량", "채굴효율", "활동상태"
-        };
-        
-        for (int i = 0; i < headers.length; i++) {
-            Cell cell = headerRow.createCell(i);
-            cell.setCellValue(headers[i]);
-            cell.setCellStyle(headerStyle);
-        }
-        
-        // 데이터 행 생성
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        int rowNum = 1;
-        for (MiningRecordDto record : records) {
-            Row row = sheet.createRow(rowNum++);
-            
-            int colNum = 0;
-            
-            createCell(row, colNum++, record.getId(), dataStyle);
-            createCell(row, colNum++, record.getUserId(), dataStyle);
-            createCell(row, colNum++, record.getReferrerNickname(), dataStyle);
-            createCell(row, colNum++, record.getNickname(), dataStyle);
+        },
+        (row, record) -> row
+            .cell(record.getId())
+            .cell(record.getUserId())
+            .cell(record.getReferrerNickname())
+            .cell(record.getNickname())
             // email 컬럼 제거 (users 테이블에 email 컬럼 없음)
-            createCell(row, colNum++, record.getLevel(), dataStyle);
-            
-            // 채굴 시작 시간
-            Cell cell6 = row.createCell(colNum++);
-            if (record.getMiningStartTime() != null) {
-                cell6.setCellValue(record.getMiningStartTime().format(formatter));
-            } else {
-                cell6.setCellValue("");
-            }
-            cell6.setCellStyle(dataStyle);
-            
-            // 채굴 종료 시간
-            Cell cell7 = row.createCell(colNum++);
-            if (record.getMiningEndTime() != null) {
-                cell7.setCellValue(record.getMiningEndTime().format(formatter));
-            } else {
-                cell7.setCellValue("");
-            }
-            cell7.setCellStyle(dataStyle);
-            
-            // 채굴량
-            Cell cell8 = row.createCell(colNum++);
-            cell8.setCellValue(record.getMiningAmount() != null ? record.getMiningAmount() : 0.0);
-            cell8.setCellStyle(numberStyle);
-            
-            // 누적 채굴량
-            Cell cell9 = row.createCell(colNum++);
-            cell9.setCellValue(record.getCumulativeMiningAmount() != null ? record.getCumulativeMiningAmount() : 0.0);
-            cell9.setCellStyle(numberStyle);
-            
-            createCell(row, colNum++, record.getMiningEfficiency(), dataStyle);
-            createCell(row, colNum++, record.getActivityStatus(), dataStyle);
-        }
-        
-        // 컬럼 너비 자동 조정
-        for (int i = 0; i < headers.length; i++) {
-            sheet.autoSizeColumn(i);
-            int currentWidth = sheet.getColumnWidth(i);
-            sheet.setColumnWidth(i, Math.max(currentWidth, 3000));
-        }
-        
-        // 파일로 변환
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        workbook.write(outputStream);
-        workbook.close();
-        
-        return Buffer.buffer(outputStream.toByteArray());
-    }
-    
-    private Buffer createMiningHistoryListExcelFile(MiningHistoryListDto listDto) throws IOException {
-        Workbook workbook = new XSSFWorkbook();
-        Sheet sheet = workbook.createSheet("채굴 내역 목록");
-        
-        // 헤더 스타일
-        CellStyle headerStyle = workbook.createCellStyle();
-        Font headerFont = workbook.createFont();
-        headerFont.setBold(true);
-        headerFont.setFontHeightInPoints((short) 11);
-        headerStyle.setFont(headerFont);
-        headerStyle.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
-        headerStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        headerStyle.setBorderBottom(BorderStyle.THIN);
-        headerStyle.setBorderTop(BorderStyle.THIN);
-        headerStyle.setBorderLeft(BorderStyle.THIN);
-        headerStyle.setBorderRight(BorderStyle.THIN);
-        headerStyle.setAlignment(HorizontalAlignment.CENTER);
-        headerStyle.setVerticalAlignment(VerticalAlignment.CENTER);
-        
-        // 데이터 스타일
-        CellStyle dataStyle = workbook.createCellStyle();
-        dataStyle.setBorderBottom(BorderStyle.THIN);
-        dataStyle.setBorderTop(BorderStyle.THIN);
-        dataStyle.setBorderLeft(BorderStyle.THIN);
-        dataStyle.setBorderRight(BorderStyle.THIN);
-        
-        // 숫자 포맷
-        CellStyle numberStyle = workbook.createCellStyle();
-        numberStyle.cloneStyleFrom(dataStyle);
-        CreationHelper createHelper = workbook.getCreationHelper();
-        numberStyle.setDataFormat(createHelper.createDataFormat().getFormat("#,##0.0000"));
-        
-        // 헤더 생성
-        Row headerRow = sheet.createRow(0);
-        String[] headers = {
-            "ID", "추천인(부모)", "닉네임", "채굴효율(%)", "레벨", "초대코드",
-            "팀원수", "총 채굴량", "래퍼럴수익", "총채굴 보유량", "활동상태", "상태"
-        };
-        
-        for (int i = 0; i < headers.length; i++) {
-            Cell cell = headerRow.createCell(i);
-            cell.setCellValue(headers[i]);
-            cell.setCellStyle(headerStyle);
-        }
-        
-        // 데이터 행 생성
-        int rowNum = 1;
-        if (listDto.getItems() != null) {
-            for (MiningHistoryListDto.MiningHistoryItem item : listDto.getItems()) {
-                Row row = sheet.createRow(rowNum++);
-                
-                int colNum = 0;
-                
-                createCell(row, colNum++, item.getId(), dataStyle);
-                createCell(row, colNum++, item.getReferrerNickname(), dataStyle);
-                createCell(row, colNum++, item.getNickname(), dataStyle);
-                createCell(row, colNum++, item.getMiningEfficiency(), dataStyle);
-                createCell(row, colNum++, item.getLevel(), dataStyle);
-                createCell(row, colNum++, item.getInvitationCode(), dataStyle);
-                createCell(row, colNum++, item.getTeamMemberCount(), dataStyle);
-                
-                // 숫자 셀
-                Cell cell8 = row.createCell(colNum++);
-                cell8.setCellValue(item.getTotalMiningAmount() != null ? item.getTotalMiningAmount() : 0.0);
-                cell8.setCellStyle(numberStyle);
-                
-                Cell cell9 = row.createCell(colNum++);
-                cell9.setCellValue(item.getReferralRevenue() != null ? item.getReferralRevenue() : 0.0);
-                cell9.setCellStyle(numberStyle);
-                
-                Cell cell10 = row.createCell(colNum++);
-                cell10.setCellValue(item.getTotalMinedHoldings() != null ? item.getTotalMinedHoldings() : 0.0);
-                cell10.setCellStyle(numberStyle);
-                
-                createCell(row, colNum++, item.getActivityStatus(), dataStyle);
-                createCell(row, colNum++, item.getSanctionStatus(), dataStyle);
-            }
-        }
-        
-        // 컬럼 너비 자동 조정
-        for (int i = 0; i < headers.length; i++) {
-            sheet.autoSizeColumn(i);
-            int currentWidth = sheet.getColumnWidth(i);
-            sheet.setColumnWidth(i, Math.max(currentWidth, 3000));
-        }
-        
-        // 파일로 변환
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        workbook.write(outputStream);
-        workbook.close();
-        
-        return Buffer.buffer(outputStream.toByteArray());
-    }
+            .cell(record.getLevel())
+            .dateTime(record.getMiningStartTime())
+            .dateTime(record.getMiningEndTime())
+            .amount(record.getMiningAmount())
+            .amount(record.getCumulativeMiningAmount())
+            .cell(record.getMiningEfficiency())
+            .cell(record.getActivityStatus())
+    ).withColumnWidth(3000, ExcelSheet.MAX_COLUMN_WIDTH);
     
-    private void createCell(Row row, int colNum, Object value, CellStyle style) {
-        Cell cell = row.createCell(colNum);
-        if (value != null) {
-            if (value instanceof Number) {
-                cell.setCellValue(((Number) value).doubleValue());
-            } else {
-                cell.setCellValue(value.toString());
-            }
-        }
-        cell.setCellStyle(style);
-    }
+    private static final ExcelSheet<MiningHistoryListDto.MiningHistoryItem> MINING_HISTORY_LIST_SHEET =
+        ExcelSheet.<MiningHistoryListDto.MiningHistoryItem>of(
+            "채굴 내역 목록",
+            new String[]{
+                "ID", "추천인(부모)", "닉네임", "채굴효율(%)", "레벨", "초대코드",
+                "팀원수", "총 채굴량", "래퍼럴수익", "총채굴 보유량", "활동상태", "상태"
+            },
+            (row, item) -> row
+                .cell(item.getId())
+                .cell(item.getReferrerNickname())
+                .cell(item.getNickname())
+                .cell(item.getMiningEfficiency())
+                .cell(item.getLevel())
+                .cell(item.getInvitationCode())
+                .cell(item.getTeamMemberCount())
+                .amount(item.getTotalMiningAmount())
+                .amount(item.getReferralRevenue())
+                .amount(item.getTotalMinedHoldings())
+                .cell(item.getActivityStatus())
+                .cell(item.getSanctionStatus())
+        ).withColumnWidth(3000, ExcelSheet.MAX_COLUMN_WIDTH);
 }
 
@@ -2,28 +2,142 @@ package com.csms.admin.service;
 
 import com.csms.admin.dto.*;
 import com.csms.admin.repository.AdminReferralRepository;
+import com.csms.common.exceptions.BadRequestException;
+import com.csms.common.export.ExcelExport;
+import com.csms.common.export.ExcelSheet;
+import com.csms.common.export.ExportSource;
 import com.csms.common.service.BaseService;
 import com.csms.common.utils.DateUtils;
 import io.vertx.core.Future;
-import io.vertx.core.buffer.Buffer;
+import io.vertx.core.Promise;
 import io.vertx.pgclient.PgPool;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 @Slf4j
 public class AdminReferralService extends BaseService {
     
+    // 레퍼럴 그래프 적재 배치 크기
+    private static final int GRAPH_LOAD_BATCH_SIZE = 50_000;
+    // 하위 트리 깊이별 분포 최대 깊이
+    private static final int SUBTREE_MAX_DEPTH = 30;
+    // 레퍼럴 통계 재구축 묶음 크기 (묶음마다 이 회원들의 통계 행만 잠금)
+    private static final int STATS_REBUILD_BATCH_SIZE = 1000;
+    
     private final AdminReferralRepository repository;
+    private final ReferralGraphIndex graphIndex;
+    
+    // 실행 중인 그래프 전체 적재 (this로 동기화)
+    private Promise<Integer> reloadInFlight;
+    private boolean reloadRequested;
     
     public AdminReferralService(PgPool pool) {
+        this(pool, new AdminReferralRepository());
+    }
+    
+    public AdminReferralService(PgPool pool, AdminReferralRepository repository) {
+        this(pool, repository, null);
+    }
+    
+    /**
+     * @param graphIndex 인메모리 레퍼럴 그래프 (null이거나 적재 전이면 SQL로 조회)
+     */
+    public AdminReferralService(PgPool pool, AdminReferralRepository repository, ReferralGraphIndex graphIndex) {
         super(pool);
-        this.repository = new AdminReferralRepository();
+        this.repository = repository;
+        this.graphIndex = graphIndex;
+        if (graphIndex != null) {
+            graphIndex.onResync(this::reloadReferralGraph);
+        }
+    }
+    
+    /**
+     * 레퍼럴 그래프 전체 적재 (기동 시 + 주기 실행, 누락된 변경 이벤트 보정)
+     * 적재는 겹쳐 실행하지 않으며, 실행 중에 요청되면 진행 중인 적재를 반환하고 끝난 뒤 한 번 더 적재
+     * (진행 중인 적재가 이미 읽은 간선에는 요청 시점의 변경이 빠져 있을 수 있음)
+     * @return 적재된 간선 수
+     */
+    public Future<Integer> reloadReferralGraph() {
+        if (graphIndex == null) {
+            return Future.succeededFuture(0);
+        }
+        Promise<Integer> promise;
+        synchronized (this) {
+            if (reloadInFlight != null) {
+                reloadRequested = true;
+                return reloadInFlight.future();
+            }
+            promise = Promise.promise();
+            reloadInFlight = promise;
+        }
+        
+        loadReferralGraph().onComplete(ar -> {
+            boolean reloadAgain;
+            synchronized (this) {
+                reloadInFlight = null;
+                reloadAgain = reloadRequested;
+                reloadRequested = false;
+            }
+            promise.handle(ar);
+            if (reloadAgain) {
+                reloadReferralGraph();
+            }
+        });
+        return promise.future();
+    }
+    
+    private Future<Integer> loadReferralGraph() {
+        log.info("reloadReferralGraph transaction started");
+        
+        graphIndex.beginLoad();
+        return loadDirectReferralEdges(0L, new long[GRAPH_LOAD_BATCH_SIZE * 2], 0)
+            .compose(loaded -> {
+                // id 오름차순으로 읽었으므로 뒤집어서 상위 회원별 직속 하부를 최신순으로 배치
+                long[] edges = loaded.edges();
+                int count = loaded.count();
+                for (int i = 0, j = count - 1; i < j; i++, j--) {
+                    long referrerId = edges[i * 2];
+                    long referredId = edges[i * 2 + 1];
+                    edges[i * 2] = edges[j * 2];
+                    edges[i * 2 + 1] = edges[j * 2 + 1];
+                    edges[j * 2] = referrerId;
+                    edges[j * 2 + 1] = referredId;
+                }
+                return graphIndex.install(edges, count).map(graph -> count);
+            })
+            .onSuccess(count -> {
+                log.info("reloadReferralGraph transaction completed - edges: {}", count);
+            })
+            .onFailure(err -> {
+                graphIndex.abortLoad();
+                log.error("reloadReferralGraph transaction failed", err);
+            });
+    }
+    
+    private record LoadedEdges(long[] edges, int count) {
+    }
+    
+    private Future<LoadedEdges> loadDirectReferralEdges(long afterId, long[] edges, int count) {
+        return repository.getDirectReferralEdges(client, afterId, GRAPH_LOAD_BATCH_SIZE)
+            .compose(batch -> {
+                int batchCount = batch.length / 3;
+                long[] target = edges;
+                if ((count + batchCount) * 2 > target.length) {
+                    target = Arrays.copyOf(target, Math.max(target.length * 2, (count + batchCount) * 2));
+                }
+                for (int i = 0; i < batchCount; i++) {
+                    target[(count + i) * 2] = batch[i * 3 + 1];
+                    target[(count + i) * 2 + 1] = batch[i * 3 + 2];
+                }
+                if (batchCount < GRAPH_LOAD_BATCH_SIZE) {
+                    return Future.succeededFuture(new LoadedEdges(target, count + batchCount));
+                }
+                return loadDirectReferralEdges(batch[(batchCount - 1) * 3], target, count + batchCount);
+            });
     }
     
     /**
@@ -37,7 +151,8 @@ public class AdminReferralService extends BaseService {
         String endDate,
         String searchCategory,
         String searchKeyword,
-        String sortType
+        String sortType,
+        String cursor
     ) {
         log.info("getReferralTransactionHistory transaction started - limit: {}, offset: {}, dateRange: {}", 
             limit, offset, dateRange);
@@ -51,7 +166,12 @@ public class AdminReferralService extends BaseService {
         LocalDateTime startDateTime = range.startDate().atStartOfDay();
         LocalDateTime endDateTime = range.endDate().atTime(23, 59, 59);
         
-        return repository.getReferralTransactionHistory(
+        // 커서는 (created_at, id) 기준이므로 최신순 정렬에서만 사용 가능
+        if (cursor != null && !cursor.isBlank() && !"LATEST".equals(sortType)) {
+            return Future.failedFuture(new BadRequestException("cursor는 sortType=LATEST에서만 사용할 수 있습니다."));
+        }
+        
+        return decodeCursor(cursor).compose(pageCursor -> repository.getReferralTransactionHistory(
             client,
             finalLimit,
             finalOffset,
@@ -59,8 +179,9 @@ public class AdminReferralService extends BaseService {
             endDateTime,
             searchCategory,
             searchKeyword,
-            sortType
-        )
+            sortType,
+            pageCursor
+        ))
         .onSuccess(result -> {
             log.info("getReferralTransactionHistory transaction completed - total: {}", result.getTotal());
         })
@@ -72,7 +193,7 @@ public class AdminReferralService extends BaseService {
     /**
      * 래퍼럴 거래내역 목록 엑셀 다운로드
      */
-    public Future<Buffer> exportReferralTransactionHistory(
+    public ExcelExport<ReferralTransactionHistoryDto> exportReferralTransactionHistory(
         String dateRange,
         String startDate,
         String endDate,
@@ -82,28 +203,18 @@ public class AdminReferralService extends BaseService {
     ) {
         log.info("exportReferralTransactionHistory transaction started - dateRange: {}", dateRange);
         
-        // 모든 데이터 조회
-        return getReferralTransactionHistory(
-            Integer.MAX_VALUE,
-            0,
-            dateRange,
-            startDate,
-            endDate,
+        final String finalDateRange = (dateRange == null || dateRange.isEmpty()) ? "7" : dateRange;
+        DateUtils.DateRange range = DateUtils.calculateDateRange(finalDateRange, startDate, endDate);
+        
+        // 전체 데이터를 커서로 스트리밍
+        return new ExcelExport<>(REFERRAL_TRANSACTION_HISTORY_SHEET, repository.streamReferralTransactionHistory(
+            pool,
+            range.startDate().atStartOfDay(),
+            range.endDate().atTime(23, 59, 59),
             searchCategory,
             searchKeyword,
             sortType
-        )
-        .map(listDto -> {
-            try {
-                log.debug("Creating Excel file for {} transactions", listDto.getTransactions().size());
-                Buffer buffer = createReferralTransactionHistoryExcelFile(listDto.getTransactions());
-                log.info("exportReferralTransactionHistory transaction completed - transactions: {}", listDto.getTransactions().size());
-                return buffer;
-            } catch (IOException e) {
-                log.error("exportReferralTransactionHistory transaction failed - failed to create Excel file", e);
-                throw new RuntimeException("Failed to create Excel file", e);
-            }
-        });
+        ));
     }
     
     /**
@@ -132,6 +243,11 @@ public class AdminReferralService extends BaseService {
         LocalDateTime startDateTime = range.startDate().atStartOfDay();
         LocalDateTime endDateTime = range.endDate().atTime(23, 59, 59);
         
+        // 그래프가 적재되어 있고 팀원 수 정렬이 아니면 팀원 수를 그래프에서 채움
+        // (적재 전이거나 팀원 수로 정렬할 때만 referral_stats_logs의 팀원 수 사용)
+        ReferralGraph graph = graphIndex != null ? graphIndex.current() : null;
+        boolean useGraph = graph != null && !"TEAM_MEMBER_COUNT".equals(sortType);
+        
         return repository.getReferralTree(
             client,
             finalLimit,
@@ -141,8 +257,15 @@ public class AdminReferralService extends BaseService {
             searchCategory,
             searchKeyword,
             activityStatus,
-            sortType
+            sortType,
+            !useGraph
         )
+        .map(result -> {
+            if (useGraph) {
+                applyTeamMemberCounts(result.getMembers(), graph);
+            }
+            return result;
+        })
         .onSuccess(result -> {
             log.info("getReferralTree transaction completed - total: {}", result.getTotal());
         })
@@ -151,10 +274,163 @@ public class AdminReferralService extends BaseService {
         });
     }
     
+    private void applyTeamMemberCounts(List<ReferralTreeMemberDto> members, ReferralGraph graph) {
+        if (members == null) {
+            return;
+        }
+        for (ReferralTreeMemberDto member : members) {
+            member.setTeamMemberCount(graph.downlineSize(member.getId()));
+            applyTeamMemberCounts(member.getChildren(), graph);
+        }
+    }
+    
+    /**
+     * 전체 하부 회원 수 (팀 규모)
+     */
+    public Future<Long> getDownlineSize(Long userId) {
+        if (userId == null || userId <= 0) {
+            return Future.failedFuture(new BadRequestException("userId must be positive"));
+        }
+        return repository.getDownlineSize(client, userId);
+    }
+    
+    /**
+     * k단계 하부 회원 ID 목록 (depth 1 = 직접 추천)
+     */
+    public Future<List<Long>> getDownlineIdsAtDepth(Long userId, int depth) {
+        if (userId == null || userId <= 0 || depth <= 0) {
+            return Future.failedFuture(new BadRequestException("userId and depth must be positive"));
+        }
+        return repository.getDownlineIdsAtDepth(client, userId, depth);
+    }
+    
+    /**
+     * 상위 회원 ID 목록 (가까운 순서, 리워드 분배용)
+     */
+    public Future<List<Long>> getAncestorIds(Long userId, int maxDepth) {
+        if (userId == null || userId <= 0 || maxDepth <= 0) {
+            return Future.failedFuture(new BadRequestException("userId and maxDepth must be positive"));
+        }
+        return repository.getAncestorIds(client, userId, maxDepth);
+    }
+    
+    /**
+     * 레퍼럴 클로저 재구축 (트리거 누락/데이터 보정 시 복구용)
+     */
+    public Future<Integer> rebuildReferralClosure() {
+        log.info("rebuildReferralClosure transaction started");
+        
+        return repository.rebuildReferralClosure(client)
+            .onSuccess(count -> {
+                log.info("rebuildReferralClosure transaction completed - rebuilt: {}", count);
+            })
+            .onFailure(err -> {
+                log.error("rebuildReferralClosure transaction failed", err);
+            });
+    }
+    
+    /**
+     * 회원의 하위 트리 (하부 회원 수, 깊이별 분포, 직속 하부 페이지)
+     * 트리 화면의 펼치기 요청용이며 레퍼럴 그래프 적재 전에는 referral_closure로 조회합니다.
+     */
+    public Future<ReferralSubtreeDto> getReferralSubtree(Long userId, Integer limit, Integer offset) {
+        if (userId == null || userId <= 0) {
+            return Future.failedFuture(new BadRequestException("userId must be positive"));
+        }
+        final int finalLimit = (limit == null || limit <= 0) ? 20 : limit;
+        final int finalOffset = (offset == null || offset < 0) ? 0 : offset;
+        
+        ReferralGraph graph = graphIndex != null ? graphIndex.current() : null;
+        if (graph != null) {
+            List<Integer> depthCounts = new ArrayList<>();
+            for (int count : graph.depthHistogram(userId, SUBTREE_MAX_DEPTH)) {
+                depthCounts.add(count);
+            }
+            List<Long> childIds = new ArrayList<>();
+            for (long childId : graph.children(userId, finalOffset, finalLimit)) {
+                childIds.add(childId);
+            }
+            return Future.succeededFuture(ReferralSubtreeDto.builder()
+                .userId(userId)
+                .downlineSize((long) graph.downlineSize(userId))
+                .childCount(graph.childCount(userId))
+                .depthCounts(depthCounts)
+                .childIds(childIds)
+                .limit(finalLimit)
+                .offset(finalOffset)
+                .source("GRAPH")
+                .build());
+        }
+        
+        Future<Long> sizeFuture = repository.getDownlineSize(client, userId);
+        Future<List<Integer>> depthFuture = repository.getDownlineDepthCounts(client, userId, SUBTREE_MAX_DEPTH);
+        Future<List<Long>> childFuture = repository.getDownlineIdsAtDepth(client, userId, 1);
+        return Future.all(sizeFuture, depthFuture, childFuture)
+            .map(ignored -> {
+                List<Long> allChildIds = childFuture.result();
+                int from = Math.min(finalOffset, allChildIds.size());
+                int to = Math.min(from + finalLimit, allChildIds.size());
+                return ReferralSubtreeDto.builder()
+                    .userId(userId)
+                    .downlineSize(sizeFuture.result())
+                    .childCount(allChildIds.size())
+                    .depthCounts(depthFuture.result())
+                    .childIds(new ArrayList<>(allChildIds.subList(from, to)))
+                    .limit(finalLimit)
+                    .offset(finalOffset)
+                    .source("SQL")
+                    .build();
+            })
+            .onFailure(err -> {
+                log.error("getReferralSubtree transaction failed - userId: {}", userId, err);
+            });
+    }
+    
+    /**
+     * 레퍼럴 통계의 오늘 리워드/가입자 수 일 단위 초기화 (주기 실행)
+     */
+    public Future<Integer> resetReferralStatsToday() {
+        return repository.resetReferralStatsToday(client)
+            .onSuccess(count -> {
+                if (count > 0) {
+                    log.info("resetReferralStatsToday completed - reset: {}", count);
+                }
+            })
+            .onFailure(err -> {
+                log.error("resetReferralStatsToday failed", err);
+            });
+    }
+    
+    /**
+     * 레퍼럴 통계 재구축 (트리거 누락/데이터 보정 시 복구용)
+     * 회원 ID 순으로 STATS_REBUILD_BATCH_SIZE명씩 나누어 묶음마다 한 트랜잭션으로 재구축합니다.
+     */
+    public Future<Integer> rebuildReferralStatsLogs() {
+        log.info("rebuildReferralStatsLogs transaction started - batchSize: {}", STATS_REBUILD_BATCH_SIZE);
+        
+        return rebuildReferralStatsBatch(0L, 0)
+            .onSuccess(count -> {
+                log.info("rebuildReferralStatsLogs transaction completed - rebuilt: {}", count);
+            })
+            .onFailure(err -> {
+                log.error("rebuildReferralStatsLogs transaction failed", err);
+            });
+    }
+    
+    private Future<Integer> rebuildReferralStatsBatch(long afterUserId, int rebuiltSoFar) {
+        return repository.rebuildReferralStatsLogsBatch(client, afterUserId, STATS_REBUILD_BATCH_SIZE)
+            .compose(batch -> {
+                if (batch.lastUserId() == null) {
+                    return Future.succeededFuture(rebuiltSoFar);
+                }
+                return rebuildReferralStatsBatch(batch.lastUserId(), rebuiltSoFar + batch.rebuiltCount());
+            });
+    }
+    
     /**
      * 래퍼럴 트리구조 목록 엑셀 다운로드
      */
-    public Future<Buffer> exportReferralTree(
+    public ExcelExport<ReferralTreeMemberDto> exportReferralTree(
         String dateRange,
         String startDate,
         String endDate,
@@ -165,191 +441,71 @@ public class AdminReferralService extends BaseService {
     ) {
         log.info("exportReferralTree transaction started - dateRange: {}", dateRange);
         
-        // 모든 데이터 조회
-        return getReferralTree(
-            Integer.MAX_VALUE,
-            0,
-            dateRange,
-            startDate,
-            endDate,
+        final String finalDateRange = (dateRange == null || dateRange.isEmpty()) ? "7" : dateRange;
+        DateUtils.DateRange range = DateUtils.calculateDateRange(finalDateRange, startDate, endDate);
+        
+        ExportSource<ReferralTreeMemberDto> members = repository.streamReferralTree(
+            pool,
+            range.startDate().atStartOfDay(),
+            range.endDate().atTime(23, 59, 59),
             searchCategory,
             searchKeyword,
             activityStatus,
             sortType
-        )
-        .map(listDto -> {
-            try {
-                log.debug("Creating Excel file for {} members", listDto.getMembers().size());
-                Buffer buffer = createReferralTreeExcelFile(listDto.getMembers());
-                log.info("exportReferralTree transaction completed - members: {}", listDto.getMembers().size());
-                return buffer;
-            } catch (IOException e) {
-                log.error("exportReferralTree transaction failed - failed to create Excel file", e);
-                throw new RuntimeException("Failed to create Excel file", e);
+        );
+        
+        // 상위 회원 행 다음에 하부 회원 행을 이어서 기록 (평면화)
+        return new ExcelExport<>(REFERRAL_TREE_SHEET, members.mapBatches(batch -> {
+            List<ReferralTreeMemberDto> rows = new ArrayList<>(batch.size());
+            for (ReferralTreeMemberDto member : batch) {
+                rows.add(member);
+                rows.addAll(member.getChildren());
             }
-        });
+            return Future.succeededFuture(rows);
+        }));
     }
     
-    private Buffer createReferralTransactionHistoryExcelFile(List<ReferralTransactionHistoryDto> transactions) throws IOException {
-        Workbook workbook = new XSSFWorkbook();
-        Sheet sheet = workbook.createSheet("래퍼럴 거래내역");
-        
-        // 스타일 생성
-        CellStyle headerStyle = createHeaderStyle(workbook);
-        CellStyle dataStyle = createDataStyle(workbook);
-        
-        // 헤더 생성
-        Row headerRow = sheet.createRow(0);
-        String[] headers = {
-            "ID", "추천인(부모)", "초대코드", "닉네임", "레벨", "팀원 수", 
-            "래퍼럴수익 전", "래퍼럴수익", "래퍼럴 수익 후", "시간날짜"
-        };
-        
-        for (int i = 0; i < headers.length; i++) {
-            Cell cell = headerRow.createCell(i);
-            cell.setCellValue(headers[i]);
-            cell.setCellStyle(headerStyle);
-        }
-        
-        // 데이터 행 생성
-        int rowNum = 1;
-        for (ReferralTransactionHistoryDto transaction : transactions) {
-            Row row = sheet.createRow(rowNum++);
-            int colNum = 0;
-            
-            createCell(row, colNum++, transaction.getId(), dataStyle);
-            createCell(row, colNum++, transaction.getReferrerNickname(), dataStyle);
-            createCell(row, colNum++, transaction.getInvitationCode(), dataStyle);
-            createCell(row, colNum++, transaction.getNickname(), dataStyle);
-            createCell(row, colNum++, transaction.getLevel(), dataStyle);
-            createCell(row, colNum++, transaction.getTeamMemberCount(), dataStyle);
-            createCell(row, colNum++, transaction.getReferralRevenueBefore(), dataStyle);
-            createCell(row, colNum++, transaction.getReferralRevenue(), dataStyle);
-            createCell(row, colNum++, transaction.getReferralRevenueAfter(), dataStyle);
-            createCell(row, colNum++, transaction.getDate() + " " + transaction.getTime(), dataStyle);
-        }
-        
-        // 컬럼 너비 자동 조정
-        for (int i = 0; i < headers.length; i++) {
-            sheet.autoSizeColumn(i);
-        }
-        
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        workbook.write(out);
-        workbook.close();
-        
-        return Buffer.buffer(out.toByteArray());
-    }
+    private static final ExcelSheet<ReferralTransactionHistoryDto> REFERRAL_TRANSACTION_HISTORY_SHEET =
+        ExcelSheet.<ReferralTransactionHistoryDto>of(
+            "래퍼럴 거래내역",
+            new String[]{
+                "ID", "추천인(부모)", "초대코드", "닉네임", "레벨", "팀원 수", 
+                "래퍼럴수익 전", "래퍼럴수익", "래퍼럴 수익 후", "시간날짜"
+            },
+            (row, transaction) -> row
+                .cell(transaction.getId())
+                .cell(transaction.getReferrerNickname())
+                .cell(transaction.getInvitationCode())
+                .cell(transaction.getNickname())
+                .cell(transaction.getLevel())
+                .cell(transaction.getTeamMemberCount())
+                .cell(transaction.getReferralRevenueBefore())
+                .cell(transaction.getReferralRevenue())
+                .cell(transaction.getReferralRevenueAfter())
+                .cell(transaction.getDate() + " " + transaction.getTime())
+        );
     
-    private Buffer createReferralTreeExcelFile(List<ReferralTreeMemberDto> members) throws IOException {
-        Workbook workbook = new XSSFWorkbook();
-        Sheet sheet = workbook.createSheet("래퍼럴 트리구조");
-        
-        // 스타일 생성
-        CellStyle headerStyle = createHeaderStyle(workbook);
-        CellStyle dataStyle = createDataStyle(workbook);
-        
-        // 헤더 생성
-        Row headerRow = sheet.createRow(0);
-        String[] headers = {
+    // children이 있으면 상위 회원 행(총수익), 없으면 하부 회원 행(래퍼럴 수익, 등록일)
+    private static final ExcelSheet<ReferralTreeMemberDto> REFERRAL_TREE_SHEET = ExcelSheet.<ReferralTreeMemberDto>of(
+        "래퍼럴 트리구조",
+        new String[]{
             "ID", "추천인(부모)", "초대코드", "닉네임", "레벨", "팀원 수", 
             "레퍼럴 총수익", "래퍼럴 수익", "래퍼럴 등록일", "활동상태"
-        };
-        
-        for (int i = 0; i < headers.length; i++) {
-            Cell cell = headerRow.createCell(i);
-            cell.setCellValue(headers[i]);
-            cell.setCellStyle(headerStyle);
+        },
+        (row, member) -> {
+            boolean parent = member.getChildren() != null;
+            row
+                .cell(member.getId())
+                .cell(member.getReferrerNickname())
+                .cell(member.getInvitationCode())
+                .cell(member.getNickname())
+                .cell(member.getLevel())
+                .cell(member.getTeamMemberCount())
+                .cell(parent ? member.getTotalReferralRevenue() : "")
+                .cell(parent ? "" : member.getReferralRevenue())
+                .cell(parent ? "" : member.getReferralRegistrationDate())
+                .cell(member.getActivityStatus());
         }
-        
-        // 데이터 행 생성 (평면화)
-        int rowNum = 1;
-        for (ReferralTreeMemberDto member : members) {
-            // 상위 회원
-            Row row = sheet.createRow(rowNum++);
-            int colNum = 0;
-            
-            createCell(row, colNum++, member.getId(), dataStyle);
-            createCell(row, colNum++, member.getReferrerNickname(), dataStyle);
-            createCell(row, colNum++, member.getInvitationCode(), dataStyle);
-            createCell(row, colNum++, member.getNickname(), dataStyle);
-            createCell(row, colNum++, member.getLevel(), dataStyle);
-            createCell(row, colNum++, member.getTeamMemberCount(), dataStyle);
-            createCell(row, colNum++, member.getTotalReferralRevenue(), dataStyle);
-            createCell(row, colNum++, "", dataStyle); // 상위 회원은 래퍼럴 수익 없음
-            createCell(row, colNum++, "", dataStyle); // 상위 회원은 등록일 없음
-            createCell(row, colNum++, member.getActivityStatus(), dataStyle);
-            
-            // 하부 회원들
-            if (member.getChildren() != null) {
-                for (ReferralTreeMemberDto child : member.getChildren()) {
-                    Row childRow = sheet.createRow(rowNum++);
-                    colNum = 0;
-                    
-                    createCell(childRow, colNum++, child.getId(), dataStyle);
-                    createCell(childRow, colNum++, child.getReferrerNickname(), dataStyle);
-                    createCell(childRow, colNum++, child.getInvitationCode(), dataStyle);
-                    createCell(childRow, colNum++, child.getNickname(), dataStyle);
-                    createCell(childRow, colNum++, child.getLevel(), dataStyle);
-                    createCell(childRow, colNum++, child.getTeamMemberCount(), dataStyle);
-                    createCell(childRow, colNum++, "", dataStyle); // 하부 회원은 총수익 없음
-                    createCell(childRow, colNum++, child.getReferralRevenue(), dataStyle);
-                    createCell(childRow, colNum++, child.getReferralRegistrationDate(), dataStyle);
-                    createCell(childRow, colNum++, child.getActivityStatus(), dataStyle);
-                }
-            }
-        }
-        
-        // 컬럼 너비 자동 조정
-        for (int i = 0; i < headers.length; i++) {
-            sheet.autoSizeColumn(i);
-        }
-        
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        workbook.write(out);
-        workbook.close();
-        
-        return Buffer.buffer(out.toByteArray());
-    }
-    
-    private CellStyle createHeaderStyle(Workbook workbook) {
-        CellStyle style = workbook.createCellStyle();
-        Font font = workbook.createFont();
-        font.setBold(true);
-        font.setFontHeightInPoints((short) 11);
-        style.setFont(font);
-        style.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
-        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        style.setBorderBottom(BorderStyle.THIN);
-        style.setBorderTop(BorderStyle.THIN);
-        style.setBorderLeft(BorderStyle.THIN);
-        style.setBorderRight(BorderStyle.THIN);
-        style.setAlignment(HorizontalAlignment.CENTER);
-        style.setVerticalAlignment(VerticalAlignment.CENTER);
-        return style;
-    }
-    
-    private CellStyle createDataStyle(Workbook workbook) {
-        CellStyle style = workbook.createCellStyle();
-        style.setBorderBottom(BorderStyle.THIN);
-        style.setBorderTop(BorderStyle.THIN);
-        style.setBorderLeft(BorderStyle.THIN);
-        style.setBorderRight(BorderStyle.THIN);
-        return style;
-    }
-    
-    private void createCell(Row row, int colNum, Object value, CellStyle style) {
-        Cell cell = row.createCell(colNum);
-        if (value != null) {
-            if (value instanceof String) {
-                cell.setCellValue((String) value);
-            } else if (value instanceof Number) {
-                cell.setCellValue(((Number) value).doubleValue());
-            } else {
-                cell.setCellValue(value.toString());
-            }
-        }
-        cell.setCellStyle(style);
-    }
+    );
 }
 
@@ -0,0 +1,176 @@
+package com.csms.admin.service;
+
+import com.csms.admin.dto.MiningBoosterDto;
+import com.csms.admin.dto.MiningConditionDto;
+import com.csms.admin.dto.RankingRewardDto;
+import com.csms.admin.dto.ReferralBonusDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * 채굴 설정 스냅샷 (불변)
+ * 버전이 바뀌면 통째로 교체되고, 같은 버전 안에서는 처음 조회된 섹션만 채워진 사본으로 교체됩니다.
+ * 섹션이 null이면 아직 로드되지 않은 상태입니다.
+ * 섹션 DTO는 가변이므로 저장할 때(withXxx)와 꺼낼 때(섹션 조회) 모두 깊은 사본을 사용하여,
+ * 호출자가 받은 객체를 바꿔도 스냅샷과 다른 호출자에게 영향이 없습니다.
+ */
+public record MiningConfigSnapshot(
+    long version,
+    long createdAtMillis,
+    MiningConditionDto conditions,
+    MiningBoosterDto boosters,
+    ReferralBonusDto referralBonus,
+    RankingRewardDto rankingReward
+) {
+    
+    public static MiningConfigSnapshot empty(long version, long createdAtMillis) {
+        return new MiningConfigSnapshot(version, createdAtMillis, null, null, null, null);
+    }
+    
+    public boolean isExpired(long nowMillis, long maxAgeMillis) {
+        return nowMillis - createdAtMillis >= maxAgeMillis;
+    }
+    
+    @Override
+    public MiningConditionDto conditions() {
+        return copy(conditions);
+    }
+    
+    @Override
+    public MiningBoosterDto boosters() {
+        return copy(boosters);
+    }
+    
+    @Override
+    public ReferralBonusDto referralBonus() {
+        return copy(referralBonus);
+    }
+    
+    @Override
+    public RankingRewardDto rankingReward() {
+        return copy(rankingReward);
+    }
+    
+    public MiningConfigSnapshot withConditions(MiningConditionDto value) {
+        return new MiningConfigSnapshot(version, createdAtMillis, copy(value), boosters, referralBonus, rankingReward);
+    }
+    
+    public MiningConfigSnapshot withBoosters(MiningBoosterDto value) {
+        return new MiningConfigSnapshot(version, createdAtMillis, conditions, copy(value), referralBonus, rankingReward);
+    }
+    
+    public MiningConfigSnapshot withReferralBonus(ReferralBonusDto value) {
+        return new MiningConfigSnapshot(version, createdAtMillis, conditions, boosters, copy(value), rankingReward);
+    }
+    
+    public MiningConfigSnapshot withRankingReward(RankingRewardDto value) {
+        return new MiningConfigSnapshot(version, createdAtMillis, conditions, boosters, referralBonus, copy(value));
+    }
+    
+    private static MiningConditionDto copy(MiningConditionDto value) {
+        if (value == null) {
+            return null;
+        }
+        MiningConditionDto.BasicConditions basic = value.getBasicConditions();
+        MiningConditionDto.ProgressSettings progress = value.getProgressSettings();
+        return MiningConditionDto.builder()
+            .basicConditions(basic == null ? null : MiningConditionDto.BasicConditions.builder()
+                .isEnabled(basic.getIsEnabled())
+                .baseTimeEnabled(basic.getBaseTimeEnabled())
+                .baseTimeMinutes(basic.getBaseTimeMinutes())
+                .missions(copyList(basic.getMissions(), mission -> mission == null ? null : MiningConditionDto.Mission.builder()
+                    .type(mission.getType())
+                    .name(mission.getName())
+                    .requiredCount(mission.getRequiredCount())
+                    .isEnabled(mission.getIsEnabled())
+                    .hasInput(mission.getHasInput())
+                    .build()))
+                .build())
+            .progressSettings(progress == null ? null : MiningConditionDto.ProgressSettings.builder()
+                .broadcastProgress(copy(progress.getBroadcastProgress()))
+                .broadcastListening(copy(progress.getBroadcastListening()))
+                .build())
+            .levelLimits(copyList(value.getLevelLimits(), limit -> limit == null ? null : MiningConditionDto.LevelLimit.builder()
+                .level(limit.getLevel())
+                .dailyLimit(limit.getDailyLimit())
+                .build()))
+            .levelLimitsEnabled(value.getLevelLimitsEnabled())
+            .build();
+    }
+    
+    private static MiningConditionDto.BroadcastSetting copy(MiningConditionDto.BroadcastSetting value) {
+        if (value == null) {
+            return null;
+        }
+        return MiningConditionDto.BroadcastSetting.builder()
+            .isEnabled(value.getIsEnabled())
+            .timePerHour(value.getTimePerHour())
+            .coinsPerHour(value.getCoinsPerHour())
+            .build();
+    }
+    
+    private static MiningBoosterDto copy(MiningBoosterDto value) {
+        if (value == null) {
+            return null;
+        }
+        MiningBoosterDto.Summary summary = value.getSummary();
+        return MiningBoosterDto.builder()
+            .boosters(copyList(value.getBoosters(), booster -> booster == null ? null : MiningBoosterDto.Booster.builder()
+                .type(booster.getType())
+                .name(booster.getName())
+                .isEnabled(booster.getIsEnabled())
+                .efficiency(booster.getEfficiency())
+                .maxCount(booster.getMaxCount())
+                .perUnitEfficiency(booster.getPerUnitEfficiency())
+                .note(booster.getNote())
+                .build()))
+            .summary(summary == null ? null : MiningBoosterDto.Summary.builder()
+                .totalEfficiency(summary.getTotalEfficiency())
+                .miningAmountPerMinute(summary.getMiningAmountPerMinute())
+                .build())
+            .build();
+    }
+    
+    private static ReferralBonusDto copy(ReferralBonusDto value) {
+        if (value == null) {
+            return null;
+        }
+        return ReferralBonusDto.builder()
+            .isEnabled(value.getIsEnabled())
+            .distributionRate(value.getDistributionRate())
+            .build();
+    }
+    
+    private static RankingRewardDto copy(RankingRewardDto value) {
+        if (value == null) {
+            return null;
+        }
+        RankingRewardDto.RegionalReward regional = value.getRegional();
+        RankingRewardDto.NationalReward national = value.getNational();
+        return RankingRewardDto.builder()
+            .regional(regional == null ? null : RankingRewardDto.RegionalReward.builder()
+                .rank1(regional.getRank1())
+                .rank2(regional.getRank2())
+                .rank3(regional.getRank3())
+                .rank4to10(regional.getRank4to10())
+                .build())
+            .national(national == null ? null : RankingRewardDto.NationalReward.builder()
+                .rank1(national.getRank1())
+                .rank2(national.getRank2())
+                .rank3(national.getRank3())
+                .rank4to10(national.getRank4to10())
+                .build())
+            .build();
+    }
+    
+    private static <T> List<T> copyList(List<T> values, UnaryOperator<T> copier) {
+        if (values == null) {
+            return null;
+        }
+        List<T> copied = new ArrayList<>(values.size());
+        values.forEach(value -> copied.add(copier.apply(value)));
+        return copied;
+    }
+}
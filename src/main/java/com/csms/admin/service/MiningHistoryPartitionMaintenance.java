@@ -0,0 +1,90 @@
+package com.csms.admin.service;
+
+import com.csms.admin.repository.AdminMiningRepository;
+import com.csms.common.service.BaseService;
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.pgclient.PgPool;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDate;
+
+/**
+ * 채굴 내역(mining_history) 월 파티션 관리
+ * - 이번 달부터 months_ahead개월 뒤까지 파티션을 미리 생성 (없는 월의 행은 기본 파티션으로 들어가 조회 시 제외되지 않음)
+ * - retention_months가 설정되면 이번 달 기준 그보다 오래된 월 파티션을 분리 (drop_detached이면 삭제, 아니면 보관 테이블로 유지)
+ * 분리해도 회원별/일별/레퍼럴 집계는 유지되며, 채굴 내역 목록에서만 제외됩니다.
+ * DB 함수가 advisory lock으로 직렬화되고 멱등이므로 여러 프로세스에서 실행되어도 안전합니다.
+ */
+@Slf4j
+public class MiningHistoryPartitionMaintenance extends BaseService {
+    
+    private static final int DEFAULT_MONTHS_AHEAD = 3;
+    // 0 이하이면 분리하지 않음
+    private static final int DEFAULT_RETENTION_MONTHS = 0;
+    
+    private final AdminMiningRepository repository;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final boolean dropDetached;
+    
+    public MiningHistoryPartitionMaintenance(PgPool pool, AdminMiningRepository repository,
+                                             int monthsAhead, int retentionMonths, boolean dropDetached) {
+        super(pool);
+        this.repository = repository;
+        this.monthsAhead = Math.max(1, monthsAhead);
+        this.retentionMonths = retentionMonths;
+        this.dropDetached = dropDetached;
+    }
+    
+    /**
+     * 설정(mining_history_partitions.months_ahead, retention_months, drop_detached)으로 생성
+     */
+    public static MiningHistoryPartitionMaintenance create(PgPool pool, AdminMiningRepository repository, JsonObject config) {
+        JsonObject partitionConfig = config.getJsonObject("mining_history_partitions", new JsonObject());
+        return new MiningHistoryPartitionMaintenance(
+            pool,
+            repository,
+            partitionConfig.getInteger("months_ahead", DEFAULT_MONTHS_AHEAD),
+            partitionConfig.getInteger("retention_months", DEFAULT_RETENTION_MONTHS),
+            partitionConfig.getBoolean("drop_detached", false)
+        );
+    }
+    
+    public Future<Void> run() {
+        return run(LocalDate.now());
+    }
+    
+    Future<Void> run(LocalDate today) {
+        LocalDate thisMonth = today.withDayOfMonth(1);
+        return repository.createMiningHistoryPartitions(client, thisMonth, thisMonth.plusMonths(monthsAhead))
+            .compose(created -> {
+                if (created > 0) {
+                    log.info("Mining history partitions created - count: {}, through: {}", created, thisMonth.plusMonths(monthsAhead));
+                }
+                return detachExpired(thisMonth);
+            })
+            .compose(detached -> repository.hasDefaultPartitionRows(client))
+            .onSuccess(hasRows -> {
+                if (hasRows) {
+                    log.warn("mining_history_default has rows - those months are not partition-pruned, move them into monthly partitions");
+                }
+            })
+            .onFailure(err -> log.error("Mining history partition maintenance failed", err))
+            .mapEmpty();
+    }
+    
+    private Future<Integer> detachExpired(LocalDate thisMonth) {
+        if (retentionMonths <= 0) {
+            return Future.succeededFuture(0);
+        }
+        LocalDate before = thisMonth.minusMonths(retentionMonths);
+        return repository.detachMiningHistoryPartitions(client, before, dropDetached)
+            .onSuccess(detached -> {
+                if (detached > 0) {
+                    log.info("Mining history partitions {} - count: {}, before: {}",
+                        dropDetached ? "dropped" : "archived", detached, before);
+                }
+            });
+    }
+}
@@ -0,0 +1,301 @@
+package com.csms.admin.service;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 직접 추천 관계(level = 1) 인메모리 그래프 (불변 스냅샷)
+ * 회원 ID를 정렬된 long[]에 두고 인접 목록은 CSR(offset + 배열) 형태의 int[]로 보관합니다.
+ * 전위 순회 순서로 노드를 배치하여 하위 트리가 연속 구간이 되므로
+ * 하부 회원 수는 O(1), 깊이별 분포는 구간 순차 스캔으로 계산됩니다.
+ * 변경은 withChanges()로 새 스냅샷을 만들어 교체합니다.
+ */
+public final class ReferralGraph {
+    
+    private static final ReferralGraph EMPTY = build(new long[0], 0);
+    
+    // 노드 인덱스 -> 회원 ID (오름차순)
+    private final long[] userIds;
+    // 노드 인덱스 -> 상위 노드 인덱스 (-1 = 최상위)
+    private final int[] parents;
+    // CSR: 노드 v의 직속 하부는 children[childOffsets[v] .. childOffsets[v + 1])
+    private final int[] childOffsets;
+    private final int[] children;
+    // 전위 순회 번호 (-1 = 순환에 포함되어 방문되지 않음)
+    private final int[] preorder;
+    // 전위 순회 번호 -> 최상위로부터의 깊이
+    private final int[] preorderDepths;
+    // 노드 인덱스 -> 전체 하부 회원 수 (자신 제외)
+    private final int[] downlineSizes;
+    
+    private ReferralGraph(
+        long[] userIds,
+        int[] parents,
+        int[] childOffsets,
+        int[] children,
+        int[] preorder,
+        int[] preorderDepths,
+        int[] downlineSizes
+    ) {
+        this.userIds = userIds;
+        this.parents = parents;
+        this.childOffsets = childOffsets;
+        this.children = children;
+        this.preorder = preorder;
+        this.preorderDepths = preorderDepths;
+        this.downlineSizes = downlineSizes;
+    }
+    
+    public static ReferralGraph empty() {
+        return EMPTY;
+    }
+    
+    /**
+     * 간선 목록으로 그래프 생성
+     * @param edges [referrerId0, referredId0, referrerId1, referredId1, ...]
+     * @param edgeCount 간선 수
+     * 같은 상위 회원의 직속 하부 순서는 간선 순서를 따르며, 같은 하위 회원의 간선이 여러 개면 첫 간선만 사용합니다.
+     */
+    public static ReferralGraph build(long[] edges, int edgeCount) {
+        // 회원 ID 정렬 + 중복 제거
+        long[] ids = Arrays.copyOf(edges, edgeCount * 2);
+        Arrays.sort(ids);
+        int n = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (i == 0 || ids[i] != ids[i - 1]) {
+                ids[n++] = ids[i];
+            }
+        }
+        long[] userIds = Arrays.copyOf(ids, n);
+        
+        int[] parents = new int[n];
+        Arrays.fill(parents, -1);
+        int[] childOffsets = new int[n + 1];
+        int[] edgeParents = new int[edgeCount];
+        int[] edgeChildren = new int[edgeCount];
+        int accepted = 0;
+        for (int e = 0; e < edgeCount; e++) {
+            int parent = Arrays.binarySearch(userIds, edges[e * 2]);
+            int child = Arrays.binarySearch(userIds, edges[e * 2 + 1]);
+            if (parent == child || parents[child] != -1) {
+                continue;
+            }
+            parents[child] = parent;
+            childOffsets[parent + 1]++;
+            edgeParents[accepted] = parent;
+            edgeChildren[accepted] = child;
+            accepted++;
+        }
+        for (int v = 0; v < n; v++) {
+            childOffsets[v + 1] += childOffsets[v];
+        }
+        int[] children = new int[accepted];
+        int[] cursor = Arrays.copyOf(childOffsets, n);
+        for (int e = 0; e < accepted; e++) {
+            children[cursor[edgeParents[e]]++] = edgeChildren[e];
+        }
+        
+        // 최상위 회원부터 반복 DFS로 전위 순회 번호/깊이 부여
+        int[] preorder = new int[n];
+        Arrays.fill(preorder, -1);
+        int[] order = new int[n];
+        int[] preorderDepths = new int[n];
+        int[] stack = new int[n];
+        int[] stackDepths = new int[n];
+        int visited = 0;
+        for (int root = 0; root < n; root++) {
+            if (parents[root] != -1) {
+                continue;
+            }
+            int top = 0;
+            stack[top] = root;
+            stackDepths[top++] = 0;
+            while (top > 0) {
+                int v = stack[--top];
+                int depth = stackDepths[top];
+                preorder[v] = visited;
+                preorderDepths[visited] = depth;
+                order[visited++] = v;
+                // 역순으로 넣어 간선 순서대로 방문
+                for (int i = childOffsets[v + 1] - 1; i >= childOffsets[v]; i--) {
+                    stack[top] = children[i];
+                    stackDepths[top++] = depth + 1;
+                }
+            }
+        }
+        
+        // 전위 순회 역순으로 하위 트리 크기 누적
+        int[] downlineSizes = new int[n];
+        for (int i = visited - 1; i >= 0; i--) {
+            int v = order[i];
+            if (parents[v] != -1) {
+                downlineSizes[parents[v]] += downlineSizes[v] + 1;
+            }
+        }
+        
+        return new ReferralGraph(
+            userIds, parents, childOffsets, children,
+            preorder, Arrays.copyOf(preorderDepths, visited), downlineSizes
+        );
+    }
+    
+    /**
+     * 관계 변경을 반영한 새 스냅샷 생성
+     * 같은 하위 회원에 대한 변경은 순서대로 적용되며, 새 간선은 상위 회원의 직속 하부 맨 앞(최신순)에 위치합니다.
+     */
+    public ReferralGraph withChanges(List<EdgeChange> changes) {
+        if (changes.isEmpty()) {
+            return this;
+        }
+        
+        // 하위 회원 ID -> 최종 상위 회원 ID (null = 관계 제거)
+        Map<Long, Long> overrides = new LinkedHashMap<>();
+        for (EdgeChange change : changes) {
+            long currentParent = overrides.containsKey(change.referredId())
+                ? (overrides.get(change.referredId()) == null ? -1 : overrides.get(change.referredId()))
+                : referrerOf(change.referredId());
+            if (change.active()) {
+                overrides.remove(change.referredId());
+                overrides.put(change.referredId(), change.referrerId());
+            } else if (currentParent == change.referrerId()) {
+                overrides.put(change.referredId(), null);
+            }
+        }
+        
+        long[] edges = new long[(children.length + overrides.size()) * 2];
+        int edgeCount = 0;
+        // 새 간선: 나중에 들어온 변경이 앞에 오도록 역순
+        Long[] referredIds = overrides.keySet().toArray(new Long[0]);
+        for (int i = referredIds.length - 1; i >= 0; i--) {
+            Long referrerId = overrides.get(referredIds[i]);
+            if (referrerId != null) {
+                edges[edgeCount * 2] = referrerId;
+                edges[edgeCount * 2 + 1] = referredIds[i];
+                edgeCount++;
+            }
+        }
+        // 기존 간선 (변경된 하위 회원 제외, 직속 하부 순서 유지)
+        for (int v = 0; v < userIds.length; v++) {
+            for (int i = childOffsets[v]; i < childOffsets[v + 1]; i++) {
+                long referredId = userIds[children[i]];
+                if (!overrides.containsKey(referredId)) {
+                    edges[edgeCount * 2] = userIds[v];
+                    edges[edgeCount * 2 + 1] = referredId;
+                    edgeCount++;
+                }
+            }
+        }
+        return build(edges, edgeCount);
+    }
+    
+    /**
+     * 그래프에 포함된 회원 수 (간선에 등장한 회원)
+     */
+    public int size() {
+        return userIds.length;
+    }
+    
+    public int edgeCount() {
+        return children.length;
+    }
+    
+    public boolean contains(long userId) {
+        return indexOf(userId) >= 0;
+    }
+    
+    /**
+     * 직속 상위 회원 ID (-1 = 없음)
+     */
+    public long referrerOf(long userId) {
+        int v = indexOf(userId);
+        return v < 0 || parents[v] < 0 ? -1 : userIds[parents[v]];
+    }
+    
+    /**
+     * 전체 하부 회원 수 (자신 제외)
+     */
+    public int downlineSize(long userId) {
+        int v = indexOf(userId);
+        return v < 0 ? 0 : downlineSizes[v];
+    }
+    
+    /**
+     * 직속 하부 회원 수
+     */
+    public int childCount(long userId) {
+        int v = indexOf(userId);
+        return v < 0 ? 0 : childOffsets[v + 1] - childOffsets[v];
+    }
+    
+    /**
+     * 직속 하부 회원 ID (최신순 페이지)
+     */
+    public long[] children(long userId, int offset, int limit) {
+        int v = indexOf(userId);
+        if (v < 0 || offset < 0 || limit <= 0) {
+            return new long[0];
+        }
+        int from = childOffsets[v] + offset;
+        int to = (int) Math.min((long) from + limit, childOffsets[v + 1]);
+        if (from >= to) {
+            return new long[0];
+        }
+        long[] result = new long[to - from];
+        for (int i = from; i < to; i++) {
+            result[i - from] = userIds[children[i]];
+        }
+        return result;
+    }
+    
+    /**
+     * 깊이별 하부 회원 수 (result[0] = 1단계 직속 하부)
+     * @param maxDepth 집계할 최대 깊이
+     */
+    public int[] depthHistogram(long userId, int maxDepth) {
+        int v = indexOf(userId);
+        if (v < 0 || preorder[v] < 0 || downlineSizes[v] == 0 || maxDepth <= 0) {
+            return new int[0];
+        }
+        int start = preorder[v];
+        int baseDepth = preorderDepths[start];
+        int[] histogram = new int[maxDepth];
+        int deepest = 0;
+        for (int i = start + 1; i <= start + downlineSizes[v]; i++) {
+            int depth = preorderDepths[i] - baseDepth;
+            if (depth <= maxDepth) {
+                histogram[depth - 1]++;
+                deepest = Math.max(deepest, depth);
+            }
+        }
+        return Arrays.copyOf(histogram, deepest);
+    }
+    
+    /**
+     * 배열이 차지하는 대략적인 힙 크기 (배열 헤더 포함)
+     */
+    public long estimatedBytes() {
+        return arrayBytes(userIds.length, Long.BYTES)
+            + arrayBytes(parents.length, Integer.BYTES)
+            + arrayBytes(childOffsets.length, Integer.BYTES)
+            + arrayBytes(children.length, Integer.BYTES)
+            + arrayBytes(preorder.length, Integer.BYTES)
+            + arrayBytes(preorderDepths.length, Integer.BYTES)
+            + arrayBytes(downlineSizes.length, Integer.BYTES);
+    }
+    
+    private static long arrayBytes(int length, int elementBytes) {
+        return 16L + (long) length * elementBytes;
+    }
+    
+    private int indexOf(long userId) {
+        return Arrays.binarySearch(userIds, userId);
+    }
+    
+    /**
+     * 직접 추천 관계 변경 (active = false 이면 관계 해제)
+     */
+    public record EdgeChange(long referrerId, long referredId, boolean active) {
+    }
+}
@@ -0,0 +1,145 @@
+package com.csms.admin.service;
+
+import com.csms.common.event.EventChannels;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 레퍼럴 그래프 스냅샷 보관 및 증분 갱신
+ * - 전체 적재: install()로 DB에서 읽은 간선으로 스냅샷 생성 (워커 스레드)
+ * - 증분 갱신: REFERRAL_RELATIONS 채널의 변경 이벤트(ReferralRelationListener)를 모아 APPLY_DELAY_MS 후 한 번에 새 스냅샷으로 교체
+ * - 재동기화: 놓친 변경 이벤트가 있으면(EventChannels.RESYNC) onResync로 등록한 전체 적재 실행
+ * 적재 전(current() == null)에는 호출 측에서 SQL로 대체 조회합니다.
+ */
+@Slf4j
+public class ReferralGraphIndex {
+    
+    // 변경 이벤트를 모아서 반영하는 지연 시간
+    private static final long APPLY_DELAY_MS = 500L;
+    
+    private final Vertx vertx;
+    private final AtomicReference<ReferralGraph> graph = new AtomicReference<>();
+    private final List<ReferralGraph.EdgeChange> pendingChanges = new ArrayList<>();
+    private boolean loading;
+    private boolean applyScheduled;
+    private Runnable resyncHandler;
+    
+    public ReferralGraphIndex(Vertx vertx) {
+        this.vertx = vertx;
+        vertx.eventBus().<JsonObject>consumer(EventChannels.localAddress(EventChannels.REFERRAL_RELATIONS),
+            message -> onRelationChanged(message.body()));
+    }
+    
+    /**
+     * 놓친 변경 이벤트가 있을 때 실행할 전체 적재 등록
+     */
+    public void onResync(Runnable resyncHandler) {
+        this.resyncHandler = resyncHandler;
+    }
+    
+    /**
+     * 현재 스냅샷 (아직 적재되지 않았으면 null)
+     */
+    public ReferralGraph current() {
+        return graph.get();
+    }
+    
+    /**
+     * 전체 적재 시작 표시 (적재 중 들어온 변경은 적재 완료 후 반영)
+     */
+    public synchronized void beginLoad() {
+        loading = true;
+    }
+    
+    /**
+     * DB에서 읽은 간선으로 스냅샷 생성 후 교체
+     * @param edges [referrerId0, referredId0, ...]
+     */
+    public Future<ReferralGraph> install(long[] edges, int edgeCount) {
+        return vertx.executeBlocking(() -> ReferralGraph.build(edges, edgeCount), false)
+            .onComplete(ar -> {
+                synchronized (this) {
+                    loading = false;
+                }
+                if (ar.succeeded()) {
+                    graph.set(ar.result());
+                    log.info("Referral graph loaded - users: {}, edges: {}, bytes: {}",
+                        ar.result().size(), ar.result().edgeCount(), ar.result().estimatedBytes());
+                }
+                scheduleApply();
+            });
+    }
+    
+    /**
+     * 적재 실패 등으로 적재 상태만 해제
+     */
+    public synchronized void abortLoad() {
+        loading = false;
+    }
+    
+    /**
+     * 관계 변경 이벤트 (payload: referrerId, referredId, active)
+     */
+    public void onRelationChanged(JsonObject payload) {
+        if (EventChannels.isResync(payload)) {
+            if (resyncHandler != null) {
+                resyncHandler.run();
+            }
+            return;
+        }
+        Long referrerId = payload.getLong("referrerId");
+        Long referredId = payload.getLong("referredId");
+        if (referrerId == null || referredId == null) {
+            log.warn("Ignoring referral relation event without ids: {}", payload);
+            return;
+        }
+        synchronized (this) {
+            pendingChanges.add(new ReferralGraph.EdgeChange(
+                referrerId, referredId, payload.getBoolean("active", true)));
+        }
+        scheduleApply();
+    }
+    
+    private void scheduleApply() {
+        synchronized (this) {
+            if (applyScheduled || loading || pendingChanges.isEmpty() || graph.get() == null) {
+                return;
+            }
+            applyScheduled = true;
+        }
+        vertx.setTimer(APPLY_DELAY_MS, timerId -> applyPendingChanges());
+    }
+    
+    private void applyPendingChanges() {
+        List<ReferralGraph.EdgeChange> changes;
+        synchronized (this) {
+            if (loading) {
+                applyScheduled = false;
+                return;
+            }
+            changes = new ArrayList<>(pendingChanges);
+            pendingChanges.clear();
+        }
+        ReferralGraph base = graph.get();
+        vertx.executeBlocking(() -> base.withChanges(changes), false)
+            .onComplete(ar -> {
+                if (ar.succeeded()) {
+                    // 반영 중 전체 적재로 교체되었다면 그대로 둠 (적재 결과에 이미 포함)
+                    graph.compareAndSet(base, ar.result());
+                    log.debug("Referral graph updated - changes: {}, users: {}", changes.size(), ar.result().size());
+                } else {
+                    log.warn("Failed to apply referral graph changes - changes: {}", changes.size(), ar.cause());
+                }
+                synchronized (this) {
+                    applyScheduled = false;
+                }
+                scheduleApply();
+            });
+    }
+}
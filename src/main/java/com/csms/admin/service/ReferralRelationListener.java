@@ -0,0 +1,56 @@
+package com.csms.admin.service;
+
+import com.csms.common.event.EventChannels;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.pgclient.PgConnectOptions;
+import io.vertx.pgclient.pubsub.PgSubscriber;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 직접 추천 간선 변경 알림 수신 (PostgreSQL LISTEN referral_relations)
+ * - sync_referral_closure 트리거가 커밋 시점에 NOTIFY하므로, referral_relations를 어느 서비스가 쓰든 전달됨
+ * - 노드마다 직접 LISTEN하여 로컬 이벤트 버스(EventChannels.REFERRAL_RELATIONS)로 전달 (Redis 중계 없음)
+ * - 구독할 때마다(재연결 포함) 그 사이 알림을 놓쳤을 수 있으므로 재동기화(RESYNC)를 보냄
+ */
+@Slf4j
+public class ReferralRelationListener {
+    
+    public static final String CHANNEL = "referral_relations";
+    
+    private static final long RECONNECT_DELAY_MS = 5000L;
+    
+    private final Vertx vertx;
+    private final PgSubscriber subscriber;
+    
+    public ReferralRelationListener(Vertx vertx, PgConnectOptions connectOptions) {
+        this.vertx = vertx;
+        // 연결 실패/끊김 시 계속 재시도
+        this.subscriber = PgSubscriber.subscriber(vertx, connectOptions)
+            .reconnectPolicy(retries -> RECONNECT_DELAY_MS);
+        subscriber.channel(CHANNEL)
+            .subscribeHandler(v -> onSubscribed())
+            .handler(this::onNotification);
+    }
+    
+    public Future<Void> start() {
+        return subscriber.connect()
+            .onSuccess(v -> log.info("Listening for referral relation changes - channel: {}", CHANNEL))
+            .onFailure(err -> log.error("Failed to listen for referral relation changes", err));
+    }
+    
+    private void onSubscribed() {
+        log.info("Referral relation channel subscribed, resyncing referral graph");
+        vertx.eventBus().publish(EventChannels.localAddress(EventChannels.REFERRAL_RELATIONS),
+            new JsonObject().put(EventChannels.RESYNC, true));
+    }
+    
+    private void onNotification(String payload) {
+        try {
+            vertx.eventBus().publish(EventChannels.localAddress(EventChannels.REFERRAL_RELATIONS), new JsonObject(payload));
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed referral relation notification: {}", payload, e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.csms.common.database;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.sqlclient.Row;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 결과 컬럼명 -> 인덱스 맵 (RowSet 단위로 한 번 생성)
+ * 값 조회 메서드는 BaseRepository의 getString/getLong... 과 동일하게 컬럼이 없으면 null을 반환합니다.
+ */
+public final class ColumnIndexes {
+    
+    private final Map<String, Integer> indexes;
+    
+    private ColumnIndexes(Map<String, Integer> indexes) {
+        this.indexes = indexes;
+    }
+    
+    public static ColumnIndexes of(List<String> columnNames) {
+        Map<String, Integer> indexes = new HashMap<>(columnNames.size() * 2);
+        for (int i = 0; i < columnNames.size(); i++) {
+            // 중복 컬럼명은 첫 번째 컬럼 사용 (row.getColumnIndex와 동일)
+            indexes.putIfAbsent(columnNames.get(i), i);
+        }
+        return new ColumnIndexes(indexes);
+    }
+    
+    public static ColumnIndexes of(Row row) {
+        List<String> columnNames = new ArrayList<>(row.size());
+        for (int i = 0; i < row.size(); i++) {
+            columnNames.add(row.getColumnName(i));
+        }
+        return of(columnNames);
+    }
+    
+    /**
+     * @return 컬럼 인덱스, 없으면 -1
+     */
+    public int indexOf(String column) {
+        Integer index = indexes.get(column);
+        return index != null ? index : -1;
+    }
+    
+    public boolean hasColumn(String column) {
+        return indexes.containsKey(column);
+    }
+    
+    public String getString(Row row, String column) {
+        int index = indexOf(column);
+        return index >= 0 ? row.getString(index) : null;
+    }
+    
+    public Integer getInteger(Row row, String column) {
+        int index = indexOf(column);
+        return index >= 0 ? row.getInteger(index) : null;
+    }
+    
+    public Long getLong(Row row, String column) {
+        int index = indexOf(column);
+        return index >= 0 ? row.getLong(index) : null;
+    }
+    
+    public Double getDouble(Row row, String column) {
+        int index = indexOf(column);
+        return index >= 0 ? row.getDouble(index) : null;
+    }
+    
+    public BigDecimal getBigDecimal(Row row, String column) {
+        int index = indexOf(column);
+        return index >= 0 ? row.getBigDecimal(index) : null;
+    }
+    
+    public Boolean getBoolean(Row row, String column) {
+        int index = indexOf(column);
+        return index >= 0 ? row.getBoolean(index) : null;
+    }
+    
+    public LocalDateTime getLocalDateTime(Row row, String column) {
+        int index = indexOf(column);
+        return index >= 0 ? row.getLocalDateTime(index) : null;
+    }
+    
+    public LocalDate getLocalDate(Row row, String column) {
+        int index = indexOf(column);
+        if (index < 0) {
+            return null;
+        }
+        Object value = row.getValue(index);
+        if (value instanceof LocalDate localDate) {
+            return localDate;
+        }
+        if (value instanceof LocalDateTime localDateTime) {
+            return localDateTime.toLocalDate();
+        }
+        return null;
+    }
+    
+    public JsonObject getJsonObject(Row row, String column) {
+        int index = indexOf(column);
+        return index >= 0 ? row.getJsonObject(index) : null;
+    }
+}
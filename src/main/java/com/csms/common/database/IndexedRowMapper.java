@@ -0,0 +1,33 @@
+package com.csms.common.database;
+
+import io.vertx.sqlclient.Row;
+
+import java.util.List;
+
+/**
+ * 컬럼 인덱스 기반 RowMapper
+ * RowSet의 columnsNames()로 컬럼 인덱스를 한 번만 해석하고, 각 행은 인덱스로 읽습니다.
+ * (이름 기반 조회는 필드마다 row.getColumnIndex 선형 탐색이 두 번 발생)
+ */
+@FunctionalInterface
+public interface IndexedRowMapper<T> extends RowMapper<T> {
+    
+    T map(Row row, ColumnIndexes columns);
+    
+    /**
+     * 단건 매핑 - 행의 컬럼 목록으로 인덱스를 해석 (여러 행은 forColumns 사용)
+     */
+    @Override
+    default T map(Row row) {
+        return map(row, ColumnIndexes.of(row));
+    }
+    
+    @Override
+    default RowMapper<T> forColumns(List<String> columnNames) {
+        if (columnNames == null) {
+            return this;
+        }
+        ColumnIndexes columns = ColumnIndexes.of(columnNames);
+        return row -> map(row, columns);
+    }
+}
@@ -2,8 +2,17 @@ package com.csms.common.database;
 
 import io.vertx.sqlclient.Row;
 
+import java.util.List;
+
 @FunctionalInterface
 public interface RowMapper<T> {
     T map(Row row);
+    
+    /**
+     * RowSet 단위로 사용할 매퍼 반환 (컬럼 목록이 정해진 뒤 한 번 호출)
+     * 기본 구현은 자기 자신을 반환하며, IndexedRowMapper는 컬럼 인덱스를 미리 해석한 매퍼를 반환합니다.
+     */
+    default RowMapper<T> forColumns(List<String> columnNames) {
+        return this;
+    }
 }
-
@@ -0,0 +1,29 @@
+package com.csms.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportJobDto {
+    private String jobId;
+    private String type;
+    private String status; // QUEUED, RUNNING, COMPLETED, FAILED
+    private Long rowsWritten; // 기록한 행 수
+    private Long totalRows; // 전체 행 수 (알 수 없으면 null)
+    private Double progress; // 진행률 (%), 전체 행 수를 모르면 null
+    private String fileName;
+    private Long fileSize; // 완료 시 파일 크기 (bytes)
+    private String downloadUrl; // 완료 시 다운로드 경로
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime expiresAt; // 파일 보관 만료 시각
+}
@@ -0,0 +1,43 @@
+package com.csms.common.event;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 채널별 마지막으로 확인한 이벤트 버전 (EventVerticle 전용, 단일 context에서 사용)
+ * 발행할 때마다 Redis 카운터(EventChannels.versionKey)가 1씩 증가하고 메시지에 그 값이 실리므로,
+ * 받은 버전이 건너뛰었거나 Redis의 현재 버전과 다르면 그 사이의 메시지를 놓친 것으로 봅니다.
+ */
+public class ChannelVersions {
+    
+    private final Map<String, Long> lastSeen = new HashMap<>();
+    
+    /**
+     * 메시지 수신
+     * @return 놓친 메시지가 있으면 true (버전이 건너뛰었거나, 카운터가 초기화되어 이전보다 작아짐)
+     */
+    public boolean observe(String channel, long version) {
+        Long last = lastSeen.get(channel);
+        if (last == null) {
+            lastSeen.put(channel, version);
+            return false;
+        }
+        if (version == last) {
+            // 주기 확인에서 이미 반영한 버전
+            return false;
+        }
+        lastSeen.put(channel, version);
+        return version != last + 1;
+    }
+    
+    /**
+     * 현재 버전 확인 (재연결 후, 주기 확인)
+     * 처음 확인하는 채널은 기준값으로만 기록합니다.
+     * @param current Redis 카운터 값 (키가 없으면 0)
+     * @return 마지막으로 확인한 버전과 다르면 true
+     */
+    public boolean reconcile(String channel, long current) {
+        Long last = lastSeen.put(channel, current);
+        return last != null && last != current;
+    }
+}
@@ -0,0 +1,83 @@
+package com.csms.common.event;
+
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.json.JsonObject;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 노드 간 이벤트 채널 정의
+ * 서비스는 로컬 Vert.x 이벤트 버스로만 발행/구독하고, EventVerticle이 Redis Pub/Sub와 중계합니다.
+ * - 발행: 서비스 -> PUBLISH_ADDRESS -> EventVerticle -> Redis (채널 버전 증가 + PUBLISH)
+ * - 구독: Redis 메시지 -> EventVerticle -> localAddress(channel) -> 서비스 (payload에 SEQ 추가)
+ * - 재동기화: 놓친 메시지가 있으면 EventVerticle이 같은 주소로 {RESYNC: true}를 보냄 -> 구독 측은 해당 캐시를 모두 버림
+ * 구독 측은 메시지 내용과 관계없이 캐시를 버리거나 다시 읽는 것을 기본으로 합니다 (메시지는 "변경됨" 신호).
+ */
+public final class EventChannels {
+    
+    // EventVerticle이 Redis로 중계할 메시지를 받는 로컬 주소 ({channel, payload})
+    public static final String PUBLISH_ADDRESS = "events.publish";
+    
+    // 채굴 설정 변경 (payload: origin, version)
+    public static final String MINING_CONFIG = "csms:events:mining-config";
+    
+    // 직접 추천 관계 생성/해제 (payload: referrerId, referredId, active)
+    // referral_relations를 쓰는 서비스가 커밋 후 발행, DB 트리거 알림은 ReferralRelationListener가 로컬로 전달
+    public static final String REFERRAL_RELATIONS = "csms:events:referral-relations";
+    
+    // 통화 추가/변경 (payload: origin, currencyCode) - currencies를 쓰는 서비스가 커밋 후 발행
+    public static final String CURRENCIES = "csms:events:currencies";
+    
+    // 회원 정보/제재 상태 변경 (payload: origin, userId)
+    public static final String MEMBERS = "csms:events:members";
+    
+    // 지갑 잔액/입출금 상태 변경 (payload: origin, userId 또는 withdrawalId)
+    public static final String WALLETS = "csms:events:wallets";
+    
+    // 로컬 전달 시 추가되는 채널 버전 (발행 순서, 채널별 1부터 증가)
+    public static final String SEQ = "seq";
+    
+    // 놓친 메시지가 있어 캐시를 모두 버려야 함을 알리는 로컬 메시지 필드
+    public static final String RESYNC = "resync";
+    
+    // 현재 프로세스 식별자 (자기 자신이 발행한 메시지 구분용)
+    public static final String NODE_ID = UUID.randomUUID().toString();
+    
+    // 채널 버전 카운터 키 접두사 (Cluster 모드에서 MGET 한 번으로 읽도록 같은 hash slot)
+    private static final String VERSION_KEY_PREFIX = "{csms:events:version}:";
+    
+    private EventChannels() {
+    }
+    
+    public static List<String> all() {
+        return List.of(MINING_CONFIG, REFERRAL_RELATIONS, CURRENCIES, MEMBERS, WALLETS);
+    }
+    
+    public static String localAddress(String channel) {
+        return "events." + channel;
+    }
+    
+    /**
+     * 채널 버전 카운터 키 (EventVerticle이 발행할 때마다 증가)
+     */
+    public static String versionKey(String channel) {
+        return VERSION_KEY_PREFIX + channel;
+    }
+    
+    /**
+     * 다른 노드(자신 포함)에 변경 알림 발행 - origin은 자동으로 추가
+     */
+    public static void publish(EventBus eventBus, String channel, JsonObject payload) {
+        eventBus.send(PUBLISH_ADDRESS, new JsonObject()
+            .put("channel", channel)
+            .put("payload", payload.copy().put("origin", NODE_ID)));
+    }
+    
+    /**
+     * 재동기화 메시지 여부 (개별 변경 내용 없이 캐시 전체를 버려야 함)
+     */
+    public static boolean isResync(JsonObject payload) {
+        return payload != null && payload.getBoolean(RESYNC, false);
+    }
+}
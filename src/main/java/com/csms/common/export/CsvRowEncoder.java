@@ -0,0 +1,61 @@
+package com.csms.common.export;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.sqlclient.Row;
+
+/**
+ * CSV 인코더 (RFC 4180 따옴표 규칙, 줄바꿈 \n, null은 빈 값)
+ */
+final class CsvRowEncoder implements RowEncoder {
+    
+    @Override
+    public void start(String[] columnNames, Buffer out) {
+        for (int i = 0; i < columnNames.length; i++) {
+            if (i > 0) {
+                out.appendByte((byte) ',');
+            }
+            appendText(columnNames[i], out);
+        }
+        out.appendByte((byte) '\n');
+    }
+    
+    @Override
+    public void write(Row row, Buffer out) {
+        int size = row.size();
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                out.appendByte((byte) ',');
+            }
+            Object value = row.getValue(i);
+            if (value == null) {
+                continue;
+            }
+            if (value instanceof Number || value instanceof Boolean) {
+                out.appendString(RowEncoder.text(value));
+            } else {
+                appendText(RowEncoder.text(value), out);
+            }
+        }
+        out.appendByte((byte) '\n');
+    }
+    
+    private static void appendText(String text, Buffer out) {
+        if (!needsQuote(text)) {
+            out.appendString(text);
+            return;
+        }
+        out.appendByte((byte) '"');
+        out.appendString(text.replace("\"", "\"\""));
+        out.appendByte((byte) '"');
+    }
+    
+    private static boolean needsQuote(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,103 @@
+package com.csms.common.export;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowStream;
+
+/**
+ * 행 스트림을 텍스트 Buffer 스트림으로 변환 (CHUNK_SIZE 단위로 모아 전달)
+ * 흐름 제어(pause/resume/fetch)는 행 스트림에 그대로 위임하므로,
+ * pipe 대상의 쓰기 큐가 차면 DB 커서 읽기도 멈춥니다.
+ */
+final class EncodedRowStream implements ReadStream<Buffer> {
+    
+    static final int CHUNK_SIZE = 64 * 1024;
+    
+    private final RowStream<Row> rows;
+    private final RowEncoder encoder;
+    private Buffer pending = newChunk();
+    private Handler<Buffer> handler;
+    private boolean started;
+    private long rowCount;
+    
+    EncodedRowStream(RowStream<Row> rows, RowEncoder encoder) {
+        this.rows = rows;
+        this.encoder = encoder;
+    }
+    
+    long rowCount() {
+        return rowCount;
+    }
+    
+    @Override
+    public EncodedRowStream handler(Handler<Buffer> handler) {
+        this.handler = handler;
+        rows.handler(handler == null ? null : this::encode);
+        return this;
+    }
+    
+    @Override
+    public EncodedRowStream exceptionHandler(Handler<Throwable> handler) {
+        rows.exceptionHandler(handler);
+        return this;
+    }
+    
+    @Override
+    public EncodedRowStream endHandler(Handler<Void> endHandler) {
+        rows.endHandler(endHandler == null ? null : v -> {
+            flush();
+            endHandler.handle(null);
+        });
+        return this;
+    }
+    
+    @Override
+    public EncodedRowStream pause() {
+        rows.pause();
+        return this;
+    }
+    
+    @Override
+    public EncodedRowStream resume() {
+        rows.resume();
+        return this;
+    }
+    
+    @Override
+    public EncodedRowStream fetch(long amount) {
+        rows.fetch(amount);
+        return this;
+    }
+    
+    private void encode(Row row) {
+        if (!started) {
+            started = true;
+            String[] columnNames = new String[row.size()];
+            for (int i = 0; i < columnNames.length; i++) {
+                columnNames[i] = row.getColumnName(i);
+            }
+            encoder.start(columnNames, pending);
+        }
+        encoder.write(row, pending);
+        rowCount++;
+        if (pending.length() >= CHUNK_SIZE) {
+            flush();
+        }
+    }
+    
+    private void flush() {
+        if (pending.length() == 0 || handler == null) {
+            return;
+        }
+        Buffer chunk = pending;
+        pending = newChunk();
+        handler.handle(chunk);
+    }
+    
+    private static Buffer newChunk() {
+        // 마지막 행이 CHUNK_SIZE를 넘겨도 재할당이 드물도록 여유를 둠
+        return Buffer.buffer(CHUNK_SIZE + CHUNK_SIZE / 4);
+    }
+}
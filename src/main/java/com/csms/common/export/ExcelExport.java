@@ -0,0 +1,24 @@
+package com.csms.common.export;
+
+import io.vertx.core.Future;
+
+import java.util.function.Supplier;
+
+/**
+ * 엑셀 내보내기 정의 (시트 형식 + 행 공급원)
+ * 생성 시점에는 조회하지 않으며, ExcelExportStreamer로 전송할 때 행을 읽습니다.
+ * @param cacheKey 결과 식별 키 조회 (정규화한 조건 + 데이터 워터마크, 같으면 같은 파일) - 없으면 null
+ */
+public record ExcelExport<T>(ExcelSheet<T> sheet, ExportSource<T> source, Supplier<Future<String>> cacheKey) {
+    
+    public ExcelExport(ExcelSheet<T> sheet, ExportSource<T> source) {
+        this(sheet, source, null);
+    }
+    
+    /**
+     * 결과 식별 키를 지정한 내보내기 (완료된 내보내기 작업 파일 재사용용)
+     */
+    public ExcelExport<T> withCacheKey(Supplier<Future<String>> cacheKey) {
+        return new ExcelExport<>(sheet, source, cacheKey);
+    }
+}
@@ -0,0 +1,181 @@
+package com.csms.common.export;
+
+import com.csms.common.exceptions.ServiceUnavailableException;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 엑셀 내보내기 HTTP 전송
+ * - 행 읽기: ExportSource가 DB 커서에서 배치 단위로 전달 (배치 기록이 끝나야 다음 배치를 읽음)
+ * - 기록: SXSSF 작성기를 전용 워커 풀에서 실행 (event loop 블로킹 없음)
+ * - 전송: chunked 응답으로 CHUNK_SIZE씩 기록하고, 응답 쓰기 큐가 차면 drain까지 대기
+ * 내보내기 1건의 메모리는 DB 배치 + SXSSF 행 윈도 + 쓰기 큐로 제한되며,
+ * 동시 내보내기 수를 MAX_CONCURRENT_EXPORTS로 제한하여 전체 상한을 고정합니다.
+ * 응답 헤더는 모든 행을 기록한 뒤 첫 바이트와 함께 전송되므로, 조회 중 실패는 일반 오류 응답으로 처리됩니다.
+ */
+@Slf4j
+public final class ExcelExportStreamer {
+    
+    public static final String CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+    
+    // 동시 내보내기 수 (= 워커 풀 크기)
+    private static final int MAX_CONCURRENT_EXPORTS = 4;
+    private static final String WORKER_POOL_NAME = "excel-export";
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final int WRITE_QUEUE_MAX_SIZE = 4 * CHUNK_SIZE;
+    // 클라이언트가 읽지 않는 경우 전송 중단까지 대기 시간
+    private static final long DRAIN_TIMEOUT_MS = 60_000L;
+    
+    private static final AtomicInteger activeExports = new AtomicInteger();
+    
+    private ExcelExportStreamer() {
+    }
+    
+    /**
+     * 내보내기 결과를 xlsx 첨부 파일로 전송
+     * @return 기록한 데이터 행 수 (전송 시작 후 실패한 경우 응답은 호출 측에서 reset)
+     */
+    public static <T> Future<Long> stream(Vertx vertx, HttpServerResponse response, String fileName, ExcelExport<T> export) {
+        if (activeExports.incrementAndGet() > MAX_CONCURRENT_EXPORTS) {
+            activeExports.decrementAndGet();
+            return Future.failedFuture(new ServiceUnavailableException(
+                "진행 중인 엑셀 다운로드가 많습니다. 잠시 후 다시 시도해주세요."));
+        }
+        
+        long startedAt = System.currentTimeMillis();
+        WorkerExecutor worker = vertx.createSharedWorkerExecutor(WORKER_POOL_NAME, MAX_CONCURRENT_EXPORTS);
+        StreamingExcelWriter<T> writer;
+        try {
+            writer = new StreamingExcelWriter<>(export.sheet());
+        } catch (RuntimeException e) {
+            release(worker, null);
+            return Future.failedFuture(e);
+        }
+        
+        return export.source()
+            .forEachBatch(batch -> worker.<Void>executeBlocking(() -> {
+                writer.append(batch);
+                return null;
+            }, false))
+            .compose(rowCount -> {
+                response
+                    .setChunked(true)
+                    .setWriteQueueMaxSize(WRITE_QUEUE_MAX_SIZE)
+                    .setStatusCode(200)
+                    .putHeader("Content-Type", CONTENT_TYPE)
+                    .putHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"");
+                return worker.executeBlocking(() -> {
+                    try (OutputStream out = new ResponseOutputStream(response)) {
+                        writer.finish(out);
+                    }
+                    return rowCount;
+                }, false);
+            })
+            .compose(rowCount -> response.end().map(rowCount))
+            .onComplete(ar -> {
+                release(worker, writer);
+                if (ar.succeeded()) {
+                    log.info("Excel export completed - file: {}, rows: {}, elapsedMs: {}",
+                        fileName, ar.result(), System.currentTimeMillis() - startedAt);
+                } else {
+                    log.warn("Excel export failed - file: {}, rows: {}, elapsedMs: {}",
+                        fileName, writer.rowCount(), System.currentTimeMillis() - startedAt, ar.cause());
+                }
+            });
+    }
+    
+    private static void release(WorkerExecutor worker, StreamingExcelWriter<?> writer) {
+        activeExports.decrementAndGet();
+        worker.close();
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.warn("Failed to dispose excel export temp files", e);
+            }
+        }
+    }
+    
+    /**
+     * HTTP 응답으로 기록하는 OutputStream (워커 스레드 전용)
+     * CHUNK_SIZE 단위로 모아 전송하며, 쓰기 큐가 가득 차면 drain 이벤트까지 워커 스레드를 대기시킵니다.
+     */
+    static final class ResponseOutputStream extends OutputStream {
+        
+        private final HttpServerResponse response;
+        private final byte[] chunk = new byte[CHUNK_SIZE];
+        private int position;
+        
+        ResponseOutputStream(HttpServerResponse response) {
+            this.response = response;
+        }
+        
+        @Override
+        public void write(int b) throws IOException {
+            if (position == chunk.length) {
+                sendChunk();
+            }
+            chunk[position++] = (byte) b;
+        }
+        
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            while (length > 0) {
+                if (position == chunk.length) {
+                    sendChunk();
+                }
+                int copied = Math.min(length, chunk.length - position);
+                System.arraycopy(bytes, offset, chunk, position, copied);
+                position += copied;
+                offset += copied;
+                length -= copied;
+            }
+        }
+        
+        @Override
+        public void close() throws IOException {
+            if (position > 0) {
+                sendChunk();
+            }
+        }
+        
+        private void sendChunk() throws IOException {
+            awaitDrain();
+            response.write(Buffer.buffer(position).appendBytes(chunk, 0, position));
+            position = 0;
+        }
+        
+        private void awaitDrain() throws IOException {
+            if (!response.writeQueueFull()) {
+                return;
+            }
+            CountDownLatch drained = new CountDownLatch(1);
+            response.drainHandler(v -> drained.countDown());
+            long deadline = System.currentTimeMillis() + DRAIN_TIMEOUT_MS;
+            try {
+                // drainHandler 등록 전에 비워졌을 수 있으므로 큐 상태를 함께 확인
+                while (response.writeQueueFull() && !drained.await(1, TimeUnit.SECONDS)) {
+                    if (response.closed()) {
+                        throw new IOException("Client closed connection during excel export");
+                    }
+                    if (System.currentTimeMillis() > deadline) {
+                        throw new IOException("Timed out waiting for client to read excel export");
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for response drain", e);
+            }
+        }
+    }
+}
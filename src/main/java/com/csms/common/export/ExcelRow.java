@@ -0,0 +1,88 @@
+package com.csms.common.export;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 내보내기 행 작성기 - 셀을 왼쪽부터 순서대로 추가합니다.
+ * 컬럼 너비 계산을 위해 셀 표시 길이를 함께 기록합니다.
+ */
+public final class ExcelRow {
+    
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    
+    private final Row row;
+    private final ExcelStyles styles;
+    private final int[] columnLengths;
+    private int colNum;
+    
+    ExcelRow(Row row, ExcelStyles styles, int[] columnLengths) {
+        this.row = row;
+        this.styles = styles;
+        this.columnLengths = columnLengths;
+    }
+    
+    /**
+     * 일반 셀 (숫자는 숫자 셀, 그 외는 문자열, null은 빈 셀)
+     */
+    public ExcelRow cell(Object value) {
+        Cell cell = next(styles.data());
+        if (value instanceof Number number) {
+            cell.setCellValue(number.doubleValue());
+            track(number.toString());
+        } else if (value != null) {
+            String text = value.toString();
+            cell.setCellValue(text);
+            track(text);
+        }
+        return this;
+    }
+    
+    /**
+     * 금액 셀 (#,##0.0000, null은 0)
+     */
+    public ExcelRow amount(Double value) {
+        double amount = value != null ? value : 0.0;
+        next(styles.number()).setCellValue(amount);
+        track(String.format("%,.4f", amount));
+        return this;
+    }
+    
+    /**
+     * 일시 셀 (yyyy-MM-dd HH:mm:ss 문자열, null은 빈 문자열)
+     */
+    public ExcelRow dateTime(LocalDateTime value) {
+        String text = value != null ? value.format(DATE_TIME_FORMATTER) : "";
+        next(styles.date()).setCellValue(text);
+        track(text);
+        return this;
+    }
+    
+    private Cell next(CellStyle style) {
+        Cell cell = row.createCell(colNum++);
+        cell.setCellStyle(style);
+        return cell;
+    }
+    
+    private void track(String text) {
+        int col = colNum - 1;
+        if (col < columnLengths.length) {
+            columnLengths[col] = Math.max(columnLengths[col], displayLength(text));
+        }
+    }
+    
+    /**
+     * 표시 길이 (한글 등 ASCII 외 문자는 2칸으로 계산)
+     */
+    static int displayLength(String text) {
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            length += text.charAt(i) < 0x80 ? 1 : 2;
+        }
+        return length;
+    }
+}
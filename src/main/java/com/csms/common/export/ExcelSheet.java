@@ -0,0 +1,33 @@
+package com.csms.common.export;
+
+/**
+ * 엑셀 시트 형식 (시트명, 헤더, 행 작성, 컬럼 너비 범위)
+ * 컬럼 너비 단위는 POI 기준(1/256 문자)입니다.
+ */
+public record ExcelSheet<T>(
+    String name,
+    String[] headers,
+    RowWriter<T> rowWriter,
+    int minColumnWidth,
+    int maxColumnWidth
+) {
+    
+    // POI 컬럼 너비 최대값 (255자)
+    public static final int MAX_COLUMN_WIDTH = 255 * 256;
+    
+    public static <T> ExcelSheet<T> of(String name, String[] headers, RowWriter<T> rowWriter) {
+        return new ExcelSheet<>(name, headers, rowWriter, 0, MAX_COLUMN_WIDTH);
+    }
+    
+    public ExcelSheet<T> withColumnWidth(int minColumnWidth, int maxColumnWidth) {
+        return new ExcelSheet<>(name, headers, rowWriter, minColumnWidth, maxColumnWidth);
+    }
+    
+    /**
+     * 데이터 1건을 행에 기록 (셀은 헤더 순서대로 추가)
+     */
+    @FunctionalInterface
+    public interface RowWriter<T> {
+        void write(ExcelRow row, T item);
+    }
+}
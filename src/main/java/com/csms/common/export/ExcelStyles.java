@@ -0,0 +1,54 @@
+package com.csms.common.export;
+
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.VerticalAlignment;
+import org.apache.poi.ss.usermodel.Workbook;
+
+/**
+ * 내보내기 공통 셀 스타일 (워크북마다 한 번 생성)
+ */
+record ExcelStyles(CellStyle header, CellStyle data, CellStyle number, CellStyle date) {
+
+    static ExcelStyles create(Workbook workbook) {
+        // 헤더 스타일
+        CellStyle header = workbook.createCellStyle();
+        Font headerFont = workbook.createFont();
+        headerFont.setBold(true);
+        headerFont.setFontHeightInPoints((short) 11);
+        header.setFont(headerFont);
+        header.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
+        header.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+        setThinBorder(header);
+        header.setAlignment(HorizontalAlignment.CENTER);
+        header.setVerticalAlignment(VerticalAlignment.CENTER);
+
+        // 데이터 스타일
+        CellStyle data = workbook.createCellStyle();
+        setThinBorder(data);
+        data.setVerticalAlignment(VerticalAlignment.CENTER);
+
+        // 숫자 포맷
+        CellStyle number = workbook.createCellStyle();
+        number.cloneStyleFrom(data);
+        number.setDataFormat(workbook.createDataFormat().getFormat("#,##0.0000"));
+
+        // 날짜 포맷
+        CellStyle date = workbook.createCellStyle();
+        date.cloneStyleFrom(data);
+        date.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd hh:mm:ss"));
+
+        return new ExcelStyles(header, data, number, date);
+    }
+
+    private static void setThinBorder(CellStyle style) {
+        style.setBorderBottom(BorderStyle.THIN);
+        style.setBorderTop(BorderStyle.THIN);
+        style.setBorderLeft(BorderStyle.THIN);
+        style.setBorderRight(BorderStyle.THIN);
+    }
+}
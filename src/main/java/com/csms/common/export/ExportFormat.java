@@ -0,0 +1,57 @@
+package com.csms.common.export;
+
+import com.csms.common.exceptions.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * 내보내기 파일 형식 (format 쿼리 파라미터)
+ * - XLSX: DTO 변환 + 서식 적용 (기본값)
+ * - CSV, NDJSON: 조회 결과 원시 행을 그대로 인코딩 (스크립트 적재용, 서식 없음)
+ */
+public enum ExportFormat {
+    XLSX("xlsx", ExcelExportStreamer.CONTENT_TYPE),
+    CSV("csv", "text/csv; charset=UTF-8"),
+    NDJSON("ndjson", "application/x-ndjson; charset=UTF-8");
+    
+    private final String extension;
+    private final String contentType;
+    
+    ExportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+    
+    /**
+     * @param value format 파라미터 (없으면 XLSX)
+     */
+    public static ExportFormat from(String value) {
+        if (value == null || value.isBlank()) {
+            return XLSX;
+        }
+        try {
+            return valueOf(value.strip().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("지원하지 않는 내보내기 형식입니다: " + value);
+        }
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    public String fileName(String baseName) {
+        return baseName + "." + extension;
+    }
+    
+    /**
+     * 원시 행 인코더 (XLSX는 ExcelSheet로 기록하므로 없음)
+     */
+    RowEncoder newEncoder() {
+        return switch (this) {
+            case CSV -> new CsvRowEncoder();
+            case NDJSON -> new NdjsonRowEncoder();
+            case XLSX -> throw new IllegalStateException("XLSX is written by StreamingExcelWriter");
+        };
+    }
+}
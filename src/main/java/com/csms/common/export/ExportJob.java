@@ -0,0 +1,188 @@
+package com.csms.common.export;
+
+import com.csms.common.dto.ExportJobDto;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 비동기 내보내기 작업
+ * 진행 상태는 워커 스레드에서 갱신되고 이벤트 루프에서 조회되므로 volatile/Atomic 필드로 둡니다.
+ * 동일 조건의 요청은 하나의 작업을 공유하며, 요청한 관리자(requesterIds)만 조회/다운로드할 수 있습니다.
+ */
+public class ExportJob {
+    
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+    
+    private final String id;
+    private final String type;
+    private final String dedupKey;
+    private final String cacheKey;
+    private final Long ownerId;
+    private final String fileName;
+    private final LocalDateTime createdAt;
+    private final Set<Long> requesterIds = ConcurrentHashMap.newKeySet();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    
+    private volatile Status status = Status.QUEUED;
+    private volatile Long totalRows;
+    private volatile Path file;
+    private volatile long fileSize;
+    private volatile String errorMessage;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime completedAt;
+    private volatile LocalDateTime expiresAt;
+    
+    ExportJob(String id, String type, String dedupKey, String cacheKey, Long ownerId, String fileName) {
+        this.id = id;
+        this.type = type;
+        this.dedupKey = dedupKey;
+        this.cacheKey = cacheKey;
+        this.ownerId = ownerId;
+        this.fileName = fileName;
+        this.createdAt = LocalDateTime.now();
+        this.requesterIds.add(ownerId);
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    String getDedupKey() {
+        return dedupKey;
+    }
+    
+    String getCacheKey() {
+        return cacheKey;
+    }
+    
+    public Long getOwnerId() {
+        return ownerId;
+    }
+    
+    public String getFileName() {
+        return fileName;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public long getRowsWritten() {
+        return rowsWritten.get();
+    }
+    
+    public Long getTotalRows() {
+        return totalRows;
+    }
+    
+    public Path getFile() {
+        return file;
+    }
+    
+    public long getFileSize() {
+        return fileSize;
+    }
+    
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+    
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+    
+    public boolean isActive() {
+        return status == Status.QUEUED || status == Status.RUNNING;
+    }
+    
+    public boolean isRequestedBy(Long adminId) {
+        return adminId != null && requesterIds.contains(adminId);
+    }
+    
+    void addRequester(Long adminId) {
+        requesterIds.add(adminId);
+    }
+    
+    void addRowsWritten(long rows) {
+        rowsWritten.addAndGet(rows);
+    }
+    
+    void setTotalRows(Long totalRows) {
+        this.totalRows = totalRows;
+    }
+    
+    void markRunning() {
+        startedAt = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+    
+    void markCompleted(Path file, long fileSize, LocalDateTime expiresAt) {
+        this.file = file;
+        this.fileSize = fileSize;
+        this.completedAt = LocalDateTime.now();
+        this.expiresAt = expiresAt;
+        // 행 수를 미리 알 수 없던 작업도 완료 시점에는 전체 건수가 확정됨
+        this.totalRows = rowsWritten.get();
+        this.status = Status.COMPLETED;
+    }
+    
+    void markFailed(String errorMessage, LocalDateTime expiresAt) {
+        this.errorMessage = errorMessage;
+        this.completedAt = LocalDateTime.now();
+        this.expiresAt = expiresAt;
+        this.status = Status.FAILED;
+    }
+    
+    /**
+     * 보관 기간 연장 (완료 파일을 다른 요청에 재사용할 때, 기존 만료 시각보다 늦을 때만)
+     */
+    void extendExpiry(LocalDateTime expiresAt) {
+        if (this.expiresAt == null || this.expiresAt.isBefore(expiresAt)) {
+            this.expiresAt = expiresAt;
+        }
+    }
+    
+    boolean isExpired(LocalDateTime now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+    
+    /**
+     * @param downloadUrl 완료된 작업의 다운로드 경로 (미완료 시 무시)
+     */
+    public ExportJobDto toDto(String downloadUrl) {
+        Long total = totalRows;
+        long written = rowsWritten.get();
+        Double progress = null;
+        if (status == Status.COMPLETED) {
+            progress = 100.0;
+        } else if (total != null && total > 0) {
+            progress = Math.min(100.0, Math.floor(written * 1000.0 / total) / 10.0);
+        }
+        return ExportJobDto.builder()
+            .jobId(id)
+            .type(type)
+            .status(status.name())
+            .rowsWritten(written)
+            .totalRows(total)
+            .progress(progress)
+            .fileName(fileName)
+            .fileSize(status == Status.COMPLETED ? fileSize : null)
+            .downloadUrl(status == Status.COMPLETED ? downloadUrl : null)
+            .errorMessage(errorMessage)
+            .createdAt(createdAt)
+            .startedAt(startedAt)
+            .completedAt(completedAt)
+            .expiresAt(expiresAt)
+            .build();
+    }
+}
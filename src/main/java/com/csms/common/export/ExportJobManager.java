@@ -0,0 +1,377 @@
+package com.csms.common.export;
+
+import com.csms.common.exceptions.BadRequestException;
+import com.csms.common.exceptions.NotFoundException;
+import com.csms.common.exceptions.ServiceUnavailableException;
+import com.csms.common.exceptions.TooManyRequestsException;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.core.json.JsonObject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * 비동기 엑셀 내보내기 작업 관리
+ * - 요청 즉시 작업 ID를 반환하고, 생성은 고정 크기 워커 풀에서 실행 (초과분은 대기열)
+ * - 관리자별 진행 중 작업 수 제한 (per_admin_limit), 대기열이 가득 차면 거절
+ * - 동일 조건(type + 파라미터)의 진행 중 작업이 있으면 새 작업 없이 기존 작업을 공유
+ * - 내보내기에 결과 키(ExcelExport.cacheKey)가 있으면 같은 키의 완료 파일을 보관 기간 동안 재사용 (재사용 시 보관 기간 연장)
+ * - 완료 파일은 로컬 디스크(directory)에 저장하고 TTL 경과 후 cleanupExpired()로 삭제
+ * 작업 상태와 파일은 프로세스 로컬이므로, 여러 서버로 운영할 경우 조회/다운로드 요청이 같은 서버로 가야 합니다.
+ */
+@Slf4j
+public class ExportJobManager {
+    
+    private static final int DEFAULT_WORKER_THREADS = 2;
+    private static final int DEFAULT_PER_ADMIN_LIMIT = 2;
+    private static final int DEFAULT_QUEUE_LIMIT = 20;
+    private static final int DEFAULT_TTL_MINUTES = 60;
+    private static final String DEFAULT_DIRECTORY_NAME = "csms-exports";
+    private static final String WORKER_POOL_NAME = "excel-export-job";
+    private static final String FILE_SUFFIX = ".xlsx";
+    private static final String PART_SUFFIX = ".part";
+    
+    private final Vertx vertx;
+    private final Path directory;
+    private final int workerThreads;
+    private final int perAdminLimit;
+    private final int queueLimit;
+    private final Duration ttl;
+    private final WorkerExecutor worker;
+    private final Future<Void> ready;
+    
+    // 아래 상태는 this로 동기화
+    private final Map<String, ExportJob> jobs = new HashMap<>();
+    private final Map<String, ExportJob> activeJobsByKey = new HashMap<>();
+    // 완료 작업 - 결과 키(조건 + 데이터 워터마크)가 같은 요청은 파일을 다시 만들지 않고 공유
+    private final Map<String, ExportJob> completedJobsByCacheKey = new HashMap<>();
+    private final Deque<PendingJob<?>> queue = new ArrayDeque<>();
+    private int runningCount;
+    
+    public ExportJobManager(Vertx vertx, Path directory, int workerThreads, int perAdminLimit, int queueLimit, Duration ttl) {
+        this.vertx = vertx;
+        this.directory = directory;
+        this.workerThreads = workerThreads;
+        this.perAdminLimit = perAdminLimit;
+        this.queueLimit = queueLimit;
+        this.ttl = ttl;
+        this.worker = vertx.createSharedWorkerExecutor(WORKER_POOL_NAME, workerThreads);
+        // 작업 상태는 메모리에만 있으므로 이전 실행에서 남은 파일은 다운로드할 수 없어 시작 시 삭제
+        this.ready = vertx.fileSystem().mkdirs(directory.toString())
+            .compose(v -> purgeLeftoverFiles())
+            .onFailure(err -> log.error("Failed to prepare export job directory: {}", directory, err));
+    }
+    
+    /**
+     * 설정(export_jobs.directory, worker_threads, per_admin_limit, queue_limit, ttl_minutes)으로 생성
+     */
+    public static ExportJobManager create(Vertx vertx, JsonObject config) {
+        JsonObject jobConfig = config.getJsonObject("export_jobs", new JsonObject());
+        String directory = jobConfig.getString("directory",
+            Path.of(System.getProperty("java.io.tmpdir"), DEFAULT_DIRECTORY_NAME).toString());
+        return new ExportJobManager(
+            vertx,
+            Path.of(directory),
+            jobConfig.getInteger("worker_threads", DEFAULT_WORKER_THREADS),
+            jobConfig.getInteger("per_admin_limit", DEFAULT_PER_ADMIN_LIMIT),
+            jobConfig.getInteger("queue_limit", DEFAULT_QUEUE_LIMIT),
+            Duration.ofMinutes(jobConfig.getInteger("ttl_minutes", DEFAULT_TTL_MINUTES))
+        );
+    }
+    
+    /**
+     * 내보내기 작업 등록
+     * @param adminId 요청 관리자 ID
+     * @param type 내보내기 종류 (예: "mining_records")
+     * @param params 조회 조건 (중복 판별 키, 빈 값은 무시)
+     * @param fileName 다운로드 파일명
+     * @param exportSupplier 내보내기 정의 (진행 중인 같은 조건의 작업이 없을 때만 호출)
+     */
+    public <T> Future<ExportJob> submit(Long adminId, String type, JsonObject params, String fileName,
+                                        Supplier<ExcelExport<T>> exportSupplier) {
+        if (adminId == null) {
+            return Future.failedFuture(new BadRequestException("관리자 정보를 확인할 수 없습니다."));
+        }
+        String dedupKey = dedupKey(type, params);
+        ExportJob shared = shareActiveJob(dedupKey, type, adminId);
+        if (shared != null) {
+            return Future.succeededFuture(shared);
+        }
+        
+        ExcelExport<T> export;
+        try {
+            export = exportSupplier.get();
+        } catch (RuntimeException e) {
+            return Future.failedFuture(e);
+        }
+        Future<String> cacheKey = export.cacheKey() != null ? export.cacheKey().get() : Future.succeededFuture(null);
+        return cacheKey
+            .recover(err -> {
+                log.warn("Failed to resolve export cache key - type: {}", type, err);
+                return Future.succeededFuture(null);
+            })
+            .compose(key -> enqueue(adminId, type, dedupKey, key, fileName, export));
+    }
+    
+    private synchronized ExportJob shareActiveJob(String dedupKey, String type, Long adminId) {
+        ExportJob existing = activeJobsByKey.get(dedupKey);
+        if (existing != null) {
+            existing.addRequester(adminId);
+            log.info("Export job shared - jobId: {}, type: {}, adminId: {}", existing.getId(), type, adminId);
+        }
+        return existing;
+    }
+    
+    private <T> Future<ExportJob> enqueue(Long adminId, String type, String dedupKey, String cacheKey, String fileName,
+                                          ExcelExport<T> export) {
+        ExportJob job;
+        boolean start = false;
+        synchronized (this) {
+            // 결과 키 조회 중 같은 조건의 작업이 등록되었을 수 있음
+            ExportJob shared = shareActiveJob(dedupKey, type, adminId);
+            if (shared != null) {
+                return Future.succeededFuture(shared);
+            }
+            ExportJob completed = cacheKey != null ? completedJobsByCacheKey.get(cacheKey) : null;
+            LocalDateTime now = LocalDateTime.now();
+            if (completed != null && !completed.isExpired(now)) {
+                // 만료 직전 파일을 받은 요청이 다운로드하기 전에 cleanupExpired()로 삭제되지 않도록 보관 기간을 새로 시작
+                // (cleanupExpired()와 같은 잠금 안에서 확인/연장하므로 그 사이에 삭제될 수 없음)
+                completed.extendExpiry(now.plus(ttl));
+                completed.addRequester(adminId);
+                log.info("Export job reused - jobId: {}, type: {}, adminId: {}", completed.getId(), type, adminId);
+                return Future.succeededFuture(completed);
+            }
+            if (countActiveJobs(adminId) >= perAdminLimit) {
+                return Future.failedFuture(new TooManyRequestsException(
+                    "진행 중인 내보내기 작업이 많습니다. 완료 후 다시 요청해주세요."));
+            }
+            if (runningCount >= workerThreads && queue.size() >= queueLimit) {
+                return Future.failedFuture(new ServiceUnavailableException(
+                    "대기 중인 내보내기 작업이 많습니다. 잠시 후 다시 시도해주세요."));
+            }
+            
+            job = new ExportJob(UUID.randomUUID().toString(), type, dedupKey, cacheKey, adminId, fileName);
+            jobs.put(job.getId(), job);
+            activeJobsByKey.put(dedupKey, job);
+            if (runningCount < workerThreads) {
+                runningCount++;
+                start = true;
+            } else {
+                queue.addLast(new PendingJob<>(job, export));
+            }
+        }
+        
+        log.info("Export job submitted - jobId: {}, type: {}, adminId: {}, queued: {}", job.getId(), type, adminId, !start);
+        if (start) {
+            run(job, export);
+        }
+        return Future.succeededFuture(job);
+    }
+    
+    /**
+     * 작업 조회 (요청한 관리자만 조회 가능)
+     */
+    public synchronized ExportJob getJob(String jobId, Long adminId) {
+        ExportJob job = jobs.get(jobId);
+        if (job == null || !job.isRequestedBy(adminId)) {
+            throw new NotFoundException("내보내기 작업을 찾을 수 없습니다.");
+        }
+        return job;
+    }
+    
+    /**
+     * 다운로드할 완료 작업 조회
+     */
+    public ExportJob getCompletedJob(String jobId, Long adminId) {
+        ExportJob job = getJob(jobId, adminId);
+        if (job.getStatus() == ExportJob.Status.FAILED) {
+            throw new BadRequestException("내보내기 작업이 실패했습니다: " + job.getErrorMessage());
+        }
+        if (job.getStatus() != ExportJob.Status.COMPLETED) {
+            throw new BadRequestException("내보내기 파일이 아직 준비되지 않았습니다.");
+        }
+        return job;
+    }
+    
+    /**
+     * 보관 기간이 지난 작업과 파일 삭제
+     * @return 삭제한 작업 수
+     */
+    public int cleanupExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        List<ExportJob> expired = new ArrayList<>();
+        synchronized (this) {
+            Iterator<ExportJob> iterator = jobs.values().iterator();
+            while (iterator.hasNext()) {
+                ExportJob job = iterator.next();
+                if (job.isExpired(now)) {
+                    iterator.remove();
+                    expired.add(job);
+                    if (job.getCacheKey() != null) {
+                        completedJobsByCacheKey.remove(job.getCacheKey(), job);
+                    }
+                }
+            }
+        }
+        for (ExportJob job : expired) {
+            if (job.getFile() != null) {
+                // 다운로드 중인 파일은 열린 핸들이 유지되므로 전송은 끝까지 진행됨
+                deleteQuietly(job.getFile());
+            }
+        }
+        if (!expired.isEmpty()) {
+            log.info("Expired export jobs removed - count: {}", expired.size());
+        }
+        return expired.size();
+    }
+    
+    public void close() {
+        worker.close();
+    }
+    
+    private <T> void run(ExportJob job, ExcelExport<T> export) {
+        Path part = directory.resolve(job.getId() + FILE_SUFFIX + PART_SUFFIX);
+        Path target = directory.resolve(job.getId() + FILE_SUFFIX);
+        long startedAt = System.currentTimeMillis();
+        job.markRunning();
+        
+        StreamingExcelWriter<T> writer;
+        try {
+            writer = new StreamingExcelWriter<>(export.sheet());
+        } catch (RuntimeException e) {
+            complete(job, null, part, target, e, startedAt);
+            return;
+        }
+        
+        // 전체 건수는 진행률 표시용이므로 실패해도 작업은 계속 진행
+        export.source().count()
+            .onSuccess(job::setTotalRows)
+            .onFailure(err -> log.warn("Failed to count export rows - jobId: {}", job.getId(), err));
+        
+        ready
+            .compose(v -> export.source().forEachBatch(batch -> worker.<Void>executeBlocking(() -> {
+                writer.append(batch);
+                job.addRowsWritten(batch.size());
+                return null;
+            }, false)))
+            .compose(rowCount -> worker.executeBlocking(() -> {
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part))) {
+                    writer.finish(out);
+                }
+                Files.move(part, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                return Files.size(target);
+            }, false))
+            .onComplete(ar -> {
+                worker.executeBlocking(() -> {
+                    writer.close();
+                    return null;
+                }, false).onFailure(err -> log.warn("Failed to dispose export job temp files - jobId: {}", job.getId(), err));
+                complete(job, ar.succeeded() ? ar.result() : null, part, target, ar.cause(), startedAt);
+            });
+    }
+    
+    private void complete(ExportJob job, Long fileSize, Path part, Path target, Throwable failure, long startedAt) {
+        LocalDateTime expiresAt = LocalDateTime.now().plus(ttl);
+        if (failure == null) {
+            job.markCompleted(target, fileSize, expiresAt);
+            log.info("Export job completed - jobId: {}, type: {}, rows: {}, bytes: {}, elapsedMs: {}",
+                job.getId(), job.getType(), job.getRowsWritten(), fileSize, System.currentTimeMillis() - startedAt);
+        } else {
+            deleteQuietly(part);
+            job.markFailed(failure.getMessage() != null ? failure.getMessage() : failure.getClass().getSimpleName(), expiresAt);
+            log.warn("Export job failed - jobId: {}, type: {}, rows: {}, elapsedMs: {}",
+                job.getId(), job.getType(), job.getRowsWritten(), System.currentTimeMillis() - startedAt, failure);
+        }
+        
+        PendingJob<?> next;
+        synchronized (this) {
+            activeJobsByKey.remove(job.getDedupKey(), job);
+            if (failure == null && job.getCacheKey() != null) {
+                completedJobsByCacheKey.put(job.getCacheKey(), job);
+            }
+            next = queue.pollFirst();
+            if (next == null) {
+                runningCount--;
+            }
+        }
+        if (next != null) {
+            next.start(this);
+        }
+    }
+    
+    private int countActiveJobs(Long adminId) {
+        int count = 0;
+        for (ExportJob job : activeJobsByKey.values()) {
+            if (adminId.equals(job.getOwnerId()) && job.isActive()) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    private Future<Void> purgeLeftoverFiles() {
+        return vertx.fileSystem().readDir(directory.toString(), ".*\\" + FILE_SUFFIX + "(\\" + PART_SUFFIX + ")?")
+            .compose(files -> {
+                for (String file : files) {
+                    deleteQuietly(Path.of(file));
+                }
+                if (!files.isEmpty()) {
+                    log.info("Leftover export files removed - count: {}", files.size());
+                }
+                return Future.<Void>succeededFuture();
+            });
+    }
+    
+    private void deleteQuietly(Path file) {
+        vertx.fileSystem().delete(file.toString())
+            .onFailure(err -> log.debug("Failed to delete export file: {}", file, err));
+    }
+    
+    /**
+     * 중복 판별 키 - 종류 + 이름순 정렬한 비어 있지 않은 파라미터
+     */
+    static String dedupKey(String type, JsonObject params) {
+        Map<String, String> sorted = new TreeMap<>();
+        if (params != null) {
+            for (String name : params.fieldNames()) {
+                Object value = params.getValue(name);
+                if (value != null && !value.toString().isBlank()) {
+                    sorted.put(name, value.toString().strip());
+                }
+            }
+        }
+        StringBuilder key = new StringBuilder(type);
+        sorted.forEach((name, value) -> key.append('&').append(name).append('=').append(value));
+        return key.toString();
+    }
+    
+    private record PendingJob<T>(ExportJob job, ExcelExport<T> export) {
+        void start(ExportJobManager manager) {
+            manager.run(job, export);
+        }
+    }
+    
+    // 테스트용
+    synchronized int queuedCount() {
+        return queue.size();
+    }
+}
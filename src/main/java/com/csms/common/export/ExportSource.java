@@ -0,0 +1,108 @@
+package com.csms.common.export;
+
+import io.vertx.core.Future;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 내보내기 행 공급원
+ * 전체 결과를 한 번에 메모리에 올리지 않고 배치 단위로 전달하며,
+ * batchHandler가 반환한 Future가 완료될 때까지 다음 배치를 읽지 않습니다.
+ */
+@FunctionalInterface
+public interface ExportSource<T> {
+    
+    /**
+     * @param batchHandler 배치 처리 (완료 후 다음 배치 전달)
+     * @return 전달한 전체 행 수
+     */
+    Future<Long> forEachBatch(Function<List<T>, Future<Void>> batchHandler);
+    
+    /**
+     * 전달할 전체 행 수 (진행률 표시용, 알 수 없으면 null)
+     */
+    default Future<Long> count() {
+        return Future.succeededFuture(null);
+    }
+    
+    /**
+     * 같은 조회의 원시 행 공급원 (CSV/NDJSON 내보내기용, 지원하지 않으면 null)
+     */
+    default RowSource rows() {
+        return null;
+    }
+    
+    /**
+     * 전체 행 수 조회를 추가한 공급원
+     */
+    default ExportSource<T> withCount(Supplier<Future<Long>> counter) {
+        ExportSource<T> source = this;
+        return new ExportSource<>() {
+            @Override
+            public Future<Long> forEachBatch(Function<List<T>, Future<Void>> batchHandler) {
+                return source.forEachBatch(batchHandler);
+            }
+            
+            @Override
+            public Future<Long> count() {
+                return counter.get();
+            }
+            
+            @Override
+            public RowSource rows() {
+                return source.rows();
+            }
+        };
+    }
+    
+    /**
+     * 조회 전 확인 단계를 추가한 공급원 (예: 대상 회원 존재 확인) - 확인이 실패하면 조회하지 않음
+     */
+    default ExportSource<T> precededBy(Supplier<Future<Void>> check) {
+        ExportSource<T> source = this;
+        RowSource rows = source.rows();
+        return new ExportSource<>() {
+            @Override
+            public Future<Long> forEachBatch(Function<List<T>, Future<Void>> batchHandler) {
+                return check.get().compose(v -> source.forEachBatch(batchHandler));
+            }
+            
+            @Override
+            public Future<Long> count() {
+                return source.count();
+            }
+            
+            @Override
+            public RowSource rows() {
+                return rows == null ? null : consumer -> check.get().compose(v -> rows.open(consumer));
+            }
+        };
+    }
+    
+    /**
+     * 배치 변환을 추가한 공급원 (예: 하위 행 조회 후 평면화)
+     * 변환 후 행 수가 달라질 수 있으므로 전체 행 수는 알 수 없음(null)으로 두고, 원시 행은 변환 없이 전달합니다.
+     */
+    default <R> ExportSource<R> mapBatches(Function<List<T>, Future<List<R>>> mapper) {
+        ExportSource<T> source = this;
+        return new ExportSource<>() {
+            @Override
+            public Future<Long> forEachBatch(Function<List<R>, Future<Void>> batchHandler) {
+                long[] rowCount = new long[1];
+                return source.forEachBatch(batch -> mapper.apply(batch)
+                        .compose(mapped -> {
+                            rowCount[0] += mapped.size();
+                            return batchHandler.apply(mapped);
+                        }))
+                    .map(v -> rowCount[0]);
+            }
+            
+            @Override
+            public RowSource rows() {
+                return source.rows();
+            }
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.csms.common.export;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.sqlclient.Row;
+
+/**
+ * NDJSON 인코더 (행마다 컬럼명을 키로 하는 JSON 객체 한 줄)
+ * 숫자/불리언은 JSON 값 그대로, 그 외(일시 등)는 문자열로 기록합니다.
+ */
+final class NdjsonRowEncoder implements RowEncoder {
+    
+    private String[] columnNames;
+    
+    @Override
+    public void start(String[] columnNames, Buffer out) {
+        this.columnNames = columnNames;
+    }
+    
+    @Override
+    public void write(Row row, Buffer out) {
+        JsonObject json = new JsonObject();
+        int size = Math.min(row.size(), columnNames.length);
+        for (int i = 0; i < size; i++) {
+            Object value = row.getValue(i);
+            if (value == null || value instanceof Number || value instanceof Boolean || value instanceof String) {
+                json.put(columnNames[i], value);
+            } else {
+                json.put(columnNames[i], RowEncoder.text(value));
+            }
+        }
+        out.appendString(json.encode()).appendByte((byte) '\n');
+    }
+}
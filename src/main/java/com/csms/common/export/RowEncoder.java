@@ -0,0 +1,37 @@
+package com.csms.common.export;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.sqlclient.Row;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 원시 행 텍스트 인코더 - 컬럼명은 첫 행에서 한 번만 읽습니다.
+ */
+interface RowEncoder {
+    
+    // 엑셀 내보내기와 같은 일시 형식
+    DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    
+    /**
+     * 첫 행 앞에 기록 (CSV 헤더 등)
+     */
+    void start(String[] columnNames, Buffer out);
+    
+    void write(Row row, Buffer out);
+    
+    /**
+     * 문자열로 기록할 값 (일시는 yyyy-MM-dd HH:mm:ss, BigDecimal은 지수 표기 없이)
+     */
+    static String text(Object value) {
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime.format(DATE_TIME_FORMATTER);
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        return value.toString();
+    }
+}
@@ -0,0 +1,68 @@
+package com.csms.common.export;
+
+import com.csms.common.exceptions.ServiceUnavailableException;
+import io.vertx.core.Future;
+import io.vertx.core.http.HttpServerResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CSV/NDJSON 내보내기 HTTP 전송
+ * DB 커서 행을 DTO 변환 없이 인코딩하여 chunked 응답으로 pipe 합니다 (event loop에서 처리, 워커/임시 파일 없음).
+ * 응답 쓰기 큐가 차면 커서 읽기를 멈추므로 내보내기 1건의 메모리는 커서 fetch 크기 + 쓰기 큐로 제한됩니다.
+ * 첫 행과 함께 응답 헤더가 전송되므로, 전송 시작 후 실패하면 호출 측에서 응답을 reset 해야 합니다.
+ */
+@Slf4j
+public final class RowExportStreamer {
+    
+    // 동시 내보내기 수 (내보내기마다 DB 연결 1개를 트랜잭션 동안 점유)
+    private static final int MAX_CONCURRENT_EXPORTS = 4;
+    private static final int WRITE_QUEUE_MAX_SIZE = 4 * EncodedRowStream.CHUNK_SIZE;
+    
+    private static final AtomicInteger activeExports = new AtomicInteger();
+    
+    private RowExportStreamer() {
+    }
+    
+    /**
+     * 원시 행을 format 형식 첨부 파일로 전송
+     * 결과가 없으면 빈 본문 (CSV 헤더는 첫 행의 컬럼명으로 기록하므로 생략됨)
+     * @return 기록한 데이터 행 수
+     */
+    public static Future<Long> stream(HttpServerResponse response, String fileName, ExportFormat format, RowSource rows) {
+        if (activeExports.incrementAndGet() > MAX_CONCURRENT_EXPORTS) {
+            activeExports.decrementAndGet();
+            return Future.failedFuture(new ServiceUnavailableException(
+                "진행 중인 다운로드가 많습니다. 잠시 후 다시 시도해주세요."));
+        }
+        
+        long startedAt = System.currentTimeMillis();
+        EncodedRowStream[] encoded = new EncodedRowStream[1];
+        return rows
+            .open(stream -> {
+                encoded[0] = new EncodedRowStream(stream, format.newEncoder());
+                response
+                    .setChunked(true)
+                    .setWriteQueueMaxSize(WRITE_QUEUE_MAX_SIZE)
+                    .setStatusCode(200)
+                    .putHeader("Content-Type", format.getContentType())
+                    .putHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"");
+                return encoded[0].pipe()
+                    .endOnFailure(false)
+                    .to(response)
+                    .map(v -> encoded[0].rowCount());
+            })
+            .onComplete(ar -> {
+                activeExports.decrementAndGet();
+                long rowCount = encoded[0] != null ? encoded[0].rowCount() : 0L;
+                if (ar.succeeded()) {
+                    log.info("{} export completed - file: {}, rows: {}, elapsedMs: {}",
+                        format, fileName, rowCount, System.currentTimeMillis() - startedAt);
+                } else {
+                    log.warn("{} export failed - file: {}, rows: {}, elapsedMs: {}",
+                        format, fileName, rowCount, System.currentTimeMillis() - startedAt, ar.cause());
+                }
+            });
+    }
+}
@@ -0,0 +1,21 @@
+package com.csms.common.export;
+
+import io.vertx.core.Future;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowStream;
+
+import java.util.function.Function;
+
+/**
+ * 조회 결과 원시 행 공급원 (DTO 변환 없이 DB 행을 그대로 전달 - CSV/NDJSON 내보내기용)
+ */
+@FunctionalInterface
+public interface RowSource {
+    
+    /**
+     * 서버 측 커서 스트림을 열어 consumer에 전달
+     * 커서는 트랜잭션 안에서만 유지되므로 consumer가 반환한 Future가 완료될 때까지 트랜잭션을 유지합니다.
+     * @return consumer 결과 (전달한 행 수)
+     */
+    Future<Long> open(Function<RowStream<Row>, Future<Long>> consumer);
+}
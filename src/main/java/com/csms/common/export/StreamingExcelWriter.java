@@ -0,0 +1,86 @@
+package com.csms.common.export;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * SXSSF 기반 엑셀 작성기
+ * 최근 ROW_ACCESS_WINDOW개 행만 메모리에 두고 나머지는 압축된 임시 파일로 내려 보내므로
+ * 행 수와 무관하게 메모리 사용량이 일정합니다. (블로킹 I/O - 워커 스레드에서 사용)
+ * autoSizeColumn은 전체 행 추적이 필요해 사용하지 않고, 셀 표시 길이로 컬럼 너비를 계산합니다.
+ */
+public class StreamingExcelWriter<T> implements Closeable {
+    
+    // 메모리에 유지할 행 수
+    public static final int ROW_ACCESS_WINDOW = 100;
+    
+    private final ExcelSheet<T> definition;
+    private final SXSSFWorkbook workbook;
+    private final Sheet sheet;
+    private final ExcelStyles styles;
+    private final int[] columnLengths;
+    private int rowNum;
+    
+    public StreamingExcelWriter(ExcelSheet<T> definition) {
+        this.definition = definition;
+        this.workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW);
+        this.workbook.setCompressTempFiles(true);
+        this.sheet = workbook.createSheet(definition.name());
+        this.styles = ExcelStyles.create(workbook);
+        this.columnLengths = new int[definition.headers().length];
+        
+        // 헤더 생성
+        Row headerRow = sheet.createRow(rowNum++);
+        String[] headers = definition.headers();
+        for (int i = 0; i < headers.length; i++) {
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(headers[i]);
+            cell.setCellStyle(styles.header());
+            columnLengths[i] = ExcelRow.displayLength(headers[i]);
+        }
+    }
+    
+    /**
+     * 데이터 행 추가
+     */
+    public void append(List<T> items) {
+        for (T item : items) {
+            ExcelRow row = new ExcelRow(sheet.createRow(rowNum++), styles, columnLengths);
+            definition.rowWriter().write(row, item);
+        }
+    }
+    
+    /**
+     * 헤더를 제외한 데이터 행 수
+     */
+    public long rowCount() {
+        return rowNum - 1L;
+    }
+    
+    /**
+     * 컬럼 너비 적용 후 xlsx로 출력 (임시 파일을 순서대로 압축하여 out에 기록)
+     */
+    public void finish(OutputStream out) throws IOException {
+        for (int i = 0; i < columnLengths.length; i++) {
+            int width = (columnLengths[i] + 2) * 256;
+            sheet.setColumnWidth(i, Math.min(Math.max(width, definition.minColumnWidth()), definition.maxColumnWidth()));
+        }
+        workbook.write(out);
+    }
+    
+    /**
+     * 임시 파일 삭제
+     */
+    @Override
+    public void close() throws IOException {
+        workbook.dispose();
+        workbook.close();
+    }
+}
@@ -1,15 +1,25 @@
 package com.csms.common.handler;
 
 import com.csms.common.dto.ApiResponse;
+import com.csms.common.exceptions.BadRequestException;
+import com.csms.common.export.ExcelExport;
+import com.csms.common.export.ExcelExportStreamer;
+import com.csms.common.export.ExportFormat;
+import com.csms.common.export.ExportJobManager;
+import com.csms.common.export.RowExportStreamer;
+import com.csms.common.export.RowSource;
+import com.csms.common.utils.AuthUtils;
 import com.csms.common.utils.JsonUtils;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.Router;
@@ -20,7 +30,10 @@ import io.vertx.json.schema.SchemaRouterOptions;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -29,6 +42,10 @@ public abstract class BaseHandler {
     private static final String DEFAULT_SUCCESS_MESSAGE = "요청이 완료되었습니다.";
     private static final String DEFAULT_FAIL_MESSAGE = "요청이 실패했습니다.";
     private static final String JSON_CONTENT_TYPE = "application/json";
+    private static final DateTimeFormatter EXPORT_FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+    
+    // 내보내기 작업 조회/다운로드 경로 (ApiVerticle 마운트 경로 기준)
+    protected static final String EXPORT_JOB_PATH = "/api/v1/admin/export-jobs";
     
     protected final Vertx vertx;
     
@@ -138,6 +155,88 @@ public abstract class BaseHandler {
         fail(ctx, (Object) message);
     }
     
+    /**
+     * 엑셀 파일 스트리밍 응답
+     */
+    protected <T> void sendExcel(RoutingContext ctx, String fileName, ExcelExport<T> export, Handler<Throwable> failureHandler) {
+        ExcelExportStreamer.stream(vertx, ctx.response(), fileName, export)
+            .onFailure(throwable -> handleExportFailure(ctx, fileName, throwable, failureHandler));
+    }
+    
+    /**
+     * 내보내기 파일 스트리밍 응답 - format 쿼리 파라미터(xlsx 기본, csv, ndjson)에 따라 전송
+     * csv/ndjson은 같은 조회의 원시 행(DB 컬럼명 그대로, 서식 없음)을 DTO 변환 없이 전송합니다.
+     * @param baseFileName 확장자를 제외한 파일명
+     */
+    protected <T> void sendExport(RoutingContext ctx, String baseFileName, ExcelExport<T> export, Handler<Throwable> failureHandler) {
+        ExportFormat format;
+        try {
+            format = ExportFormat.from(ctx.queryParams().get("format"));
+        } catch (BadRequestException e) {
+            failureHandler.handle(e);
+            return;
+        }
+        String fileName = format.fileName(baseFileName);
+        if (format == ExportFormat.XLSX) {
+            sendExcel(ctx, fileName, export, failureHandler);
+            return;
+        }
+        
+        RowSource rows = export.source().rows();
+        if (rows == null) {
+            failureHandler.handle(new BadRequestException("이 내보내기는 " + format + " 형식을 지원하지 않습니다."));
+            return;
+        }
+        RowExportStreamer.stream(ctx.response(), fileName, format, rows)
+            .onFailure(throwable -> handleExportFailure(ctx, fileName, throwable, failureHandler));
+    }
+    
+    /**
+     * 전송 시작 전 실패는 failureHandler로 넘겨 일반 오류 응답으로 처리하고,
+     * 헤더 전송 이후 실패는 응답을 중단(reset)하여 클라이언트가 불완전한 파일을 받지 않도록 합니다.
+     */
+    private void handleExportFailure(RoutingContext ctx, String fileName, Throwable throwable, Handler<Throwable> failureHandler) {
+        if (ctx.response().headWritten()) {
+            log.error("Export aborted after response started - file: {}", fileName, throwable);
+            ctx.response().reset();
+        } else {
+            ctx.response().headers().remove("Content-Disposition");
+            failureHandler.handle(throwable);
+        }
+    }
+    
+    /**
+     * 비동기 내보내기 작업 등록 후 작업 상태 응답 (완료 파일은 EXPORT_JOB_PATH/{jobId}/file로 다운로드)
+     * @param fileNamePrefix 파일명 접두어 (예: "mining_records" → mining_records_20240115_103000.xlsx)
+     */
+    protected <T> void submitExportJob(RoutingContext ctx, ExportJobManager exportJobManager, String type,
+                                       JsonObject params, String fileNamePrefix, Supplier<ExcelExport<T>> export) {
+        Long adminId = ctx.user() != null ? AuthUtils.getUserIdOf(ctx.user()) : null;
+        String fileName = fileNamePrefix + "_" + LocalDateTime.now().format(EXPORT_FILE_TIMESTAMP) + ".xlsx";
+        response(ctx, exportJobManager.submit(adminId, type, params, fileName, export),
+            job -> job.toDto(EXPORT_JOB_PATH + "/" + job.getId() + "/file"));
+    }
+    
+    /**
+     * 내보내기 작업 조건 - 쿼리 파라미터와 JSON 본문을 합침 (같은 이름이면 본문 우선, 값은 문자열로 통일)
+     */
+    protected JsonObject getExportJobParams(RoutingContext ctx) {
+        JsonObject params = getQueryAsJson(ctx);
+        if (ctx.body() == null || ctx.body().length() == 0) {
+            return params;
+        }
+        try {
+            JsonObject body = ctx.body().asJsonObject();
+            if (body != null) {
+                body.forEach(entry -> params.put(entry.getKey(),
+                    entry.getValue() != null ? entry.getValue().toString() : null));
+            }
+        } catch (DecodeException | ClassCastException e) {
+            throw new BadRequestException("요청 본문이 올바른 JSON 객체가 아닙니다.");
+        }
+        return params;
+    }
+    
     protected Integer getQueryParamAsInteger(RoutingContext ctx, String param, Integer defaultValue) {
         String value = ctx.queryParams().get(param);
         if (value == null || value.isEmpty()) {
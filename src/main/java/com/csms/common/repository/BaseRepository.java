@@ -1,12 +1,17 @@
 package com.csms.common.repository;
 
 import com.csms.common.database.RowMapper;
+import com.csms.common.export.ExportSource;
+import com.csms.common.export.RowSource;
 import io.vertx.core.Future;
 import io.vertx.core.json.JsonObject;
+import io.vertx.pgclient.PgException;
+import io.vertx.sqlclient.Pool;
 import io.vertx.sqlclient.PreparedQuery;
 import io.vertx.sqlclient.Query;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.RowStream;
 import io.vertx.sqlclient.SqlClient;
 import io.vertx.sqlclient.Tuple;
 import io.vertx.sqlclient.templates.SqlTemplate;
@@ -16,20 +21,31 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Slf4j
 public abstract class BaseRepository {
     
     public static final RowMapper<Integer> COUNT_MAPPER = row -> row.getInteger("count");
     
-    // :parameter_name 형식을 $1, $2 등으로 변환하는 패턴
-    // :: (두 개의 콜론, PostgreSQL 캐스팅)은 제외하고, 단일 콜론으로 시작하는 파라미터만 매칭
-    private static final Pattern PARAM_PATTERN = Pattern.compile("(?<!:):([a-zA-Z_][a-zA-Z0-9_]*)");
+    // 스트리밍 조회 시 커서에서 한 번에 읽고 전달하는 행 수
+    public static final int STREAM_BATCH_SIZE = 500;
+    
+    // named parameter 변환 결과 캐시 (SQL 원문 기준 LRU)
+    private static final int SQL_CACHE_SIZE = 512;
+    private static final NamedParameterSqlCache SQL_CACHE = new NamedParameterSqlCache(SQL_CACHE_SIZE);
+    
+    // 교착 상태(deadlock_detected)로 취소된 문장의 최대 실행 횟수
+    private static final String DEADLOCK_SQL_STATE = "40P01";
+    private static final int DEADLOCK_MAX_ATTEMPTS = 3;
+    
+    public static NamedParameterSqlCache getSqlCache() {
+        return SQL_CACHE;
+    }
     
     /**
      * 날짜/시간 타입을 명시적으로 처리하여 Tuple에 추가
@@ -57,51 +73,16 @@ public abstract class BaseRepository {
         // SqlTemplate의 파라미터 바인딩 문제를 우회하기 위해
         // :parameter_name 형식을 $1, $2 등으로 변환하여 PreparedQuery 사용
         try {
-            // 파라미터를 순서대로 정렬하여 Tuple 생성
-            List<String> paramNames = new ArrayList<>();
-            Matcher matcher = PARAM_PATTERN.matcher(sql);
-            while (matcher.find()) {
-                if (matcher.groupCount() >= 1) {
-                    String paramName = matcher.group(1);
-                    if (paramName != null && !paramNames.contains(paramName)) {
-                        paramNames.add(paramName);
-                    }
-                }
-            }
+            // 변환 결과(positional SQL, 파라미터 순서)는 캐시에서 재사용
+            NamedParameterSql namedSql = SQL_CACHE.get(sql);
+            List<String> paramNames = namedSql.getParamNames();
             
             if (paramNames.isEmpty()) {
                 // 파라미터가 없으면 일반 쿼리로 실행
                 return query(client, sql);
             }
             
-            // SQL에서 :parameter_name을 $1, $2 등으로 치환
-            // ::date 같은 PostgreSQL 캐스팅은 유지
-            // 각 파라미터 이름에 대한 매핑 생성
-            Map<String, String> paramToPlaceholder = new LinkedHashMap<>();
-            for (int i = 0; i < paramNames.size(); i++) {
-                paramToPlaceholder.put(paramNames.get(i), "$" + (i + 1));
-            }
-            
-            // 정규표현식을 사용하여 각 파라미터를 찾아 치환 (역순으로 처리하여 긴 이름 우선)
-            String preparedSql = sql;
-            List<String> sortedParamNames = new ArrayList<>(paramNames);
-            sortedParamNames.sort((a, b) -> Integer.compare(b.length(), a.length()));
-            
-            for (String paramName : sortedParamNames) {
-                String placeholder = paramToPlaceholder.get(paramName);
-                // 정규표현식으로 :paramName 패턴만 매칭 (앞에 :가 하나만 있고, 뒤에 단어 문자가 아닌 것)
-                // 파라미터 이름은 [a-zA-Z_][a-zA-Z0-9_]* 패턴이므로 특수문자 이스케이프 불필요
-                String regex = "(?<!:):" + paramName + "(?!\\w)";
-                // Matcher를 사용하여 직접 치환 ($ 문자가 특수문자로 해석되지 않도록)
-                Pattern pattern = Pattern.compile(regex);
-                Matcher replacementMatcher = pattern.matcher(preparedSql);
-                StringBuffer sb = new StringBuffer();
-                while (replacementMatcher.find()) {
-                    replacementMatcher.appendReplacement(sb, Matcher.quoteReplacement(placeholder));
-                }
-                replacementMatcher.appendTail(sb);
-                preparedSql = sb.toString();
-            }
+            String preparedSql = namedSql.getSql();
             
             // Tuple 생성 - 날짜/시간 타입을 명시적으로 처리
             Tuple tuple = Tuple.tuple();
@@ -134,11 +115,264 @@ public abstract class BaseRepository {
         }
     }
     
+    /**
+     * 목록 페이지 조회 (페이지 쿼리와 카운트 쿼리를 병렬 실행)
+     * 커서가 지정된 경우 키셋 조회(queryKeysetPage), windowedTotal()이 지정된 경우 한 번의 쿼리(queryPageWithTotal)로 처리합니다.
+     */
+    protected <T> Future<PageResult<T>> queryPage(SqlClient client, ListQuery listQuery, RowMapper<T> mapper,
+                                                  int limit, int offset) {
+        if (listQuery.hasCursor()) {
+            return queryKeysetPage(client, listQuery, mapper, limit);
+        }
+        if (listQuery.isWindowedTotal()) {
+            return queryPageWithTotal(client, listQuery, mapper, limit, offset);
+        }
+        Future<RowSet<Row>> pageFuture = query(client, listQuery.toPageSql(), listQuery.getPageParams(limit, offset));
+        Future<PageResult<T>> countFuture = queryCount(client, listQuery);
+        
+        return Future.all(List.of(pageFuture, countFuture)).map(ignored -> {
+            RowSet<Row> rows = pageFuture.result();
+            PageResult<T> count = countFuture.result();
+            boolean hasNext = (long) offset + rows.size() < count.total();
+            return new PageResult<>(
+                fetchAll(mapper, rows),
+                count.total(),
+                count.summaries(),
+                hasNext && rows.size() > 0 ? nextCursor(listQuery, rows, count) : null
+            );
+        });
+    }
+    
+    /**
+     * 페이지 + 전체 건수/합계를 한 번의 쿼리로 조회 (ListQuery.windowedTotal())
+     * 결과 행이 없으면 전체 건수를 알 수 없으므로 offset이 있거나 합계가 필요한 경우 카운트 쿼리로 보완합니다.
+     */
+    private <T> Future<PageResult<T>> queryPageWithTotal(SqlClient client, ListQuery listQuery, RowMapper<T> mapper,
+                                                         int limit, int offset) {
+        return query(client, listQuery.toPageWithTotalSql(), listQuery.getPageParams(limit, offset))
+            .compose(rows -> {
+                if (rows.size() > 0) {
+                    Row first = rows.iterator().next();
+                    PageResult<T> count = new PageResult<>(List.of(), first.getLong(ListQuery.TOTAL_COUNT_COLUMN),
+                        readSummaries(listQuery, first));
+                    boolean hasNext = (long) offset + rows.size() < count.total();
+                    return Future.succeededFuture(new PageResult<>(
+                        fetchAll(mapper, rows),
+                        count.total(),
+                        count.summaries(),
+                        hasNext ? nextCursor(listQuery, rows, count) : null
+                    ));
+                }
+                if (offset == 0 && listQuery.getSummaryAliases().isEmpty()) {
+                    return Future.succeededFuture(new PageResult<T>(List.of(), 0L, Map.of()));
+                }
+                return this.<T>queryCount(client, listQuery);
+            });
+    }
+    
+    /**
+     * 키셋 페이지 조회 - 커서 이후 limit + 1건을 인덱스 범위 스캔으로 읽어 다음 페이지 여부를 판단합니다.
+     * 페이지 깊이와 무관하게 비용이 일정하며, 전체 건수/합계는 첫 페이지에서 계산하여 커서에 담긴 값을 그대로 사용합니다.
+     * (전체 건수가 없는 커서만 커서 조건 없이 카운트 쿼리로 병렬 조회)
+     */
+    private <T> Future<PageResult<T>> queryKeysetPage(SqlClient client, ListQuery listQuery, RowMapper<T> mapper,
+                                                      int limit) {
+        // 다음 페이지 존재 여부 확인용으로 1건 더 조회
+        int fetchSize = limit == Integer.MAX_VALUE ? limit : limit + 1;
+        Future<RowSet<Row>> pageFuture = query(client, listQuery.toPageSql(), listQuery.getPageParams(fetchSize, 0));
+        PageCursor cursor = listQuery.getCursor();
+        Future<PageResult<T>> countFuture = cursor.hasTotals()
+            ? Future.succeededFuture(new PageResult<>(List.of(), cursor.total(), cursor.summaries()))
+            : queryCount(client, listQuery);
+        
+        return Future.all(List.of(pageFuture, countFuture)).map(ignored -> {
+            RowSet<Row> rows = pageFuture.result();
+            RowMapper<T> rowSetMapper = mapper.forColumns(rows.columnsNames());
+            List<T> items = new ArrayList<>();
+            Row last = null;
+            for (Row row : rows) {
+                if (items.size() == limit) {
+                    break;
+                }
+                items.add(rowSetMapper.map(row));
+                last = row;
+            }
+            boolean hasNext = rows.size() > limit;
+            PageResult<T> count = countFuture.result();
+            return new PageResult<>(items, count.total(), count.summaries(),
+                hasNext && last != null ? readCursor(last).withTotals(count.total(), count.summaries()).encode() : null);
+        });
+    }
+    
+    private <T> Future<PageResult<T>> queryCount(SqlClient client, ListQuery listQuery) {
+        return query(client, listQuery.toCountSql(), listQuery.getParams())
+            .map(countRows -> {
+                Row countRow = countRows.iterator().next();
+                return new PageResult<T>(
+                    List.of(),
+                    countRow.getLong(ListQuery.TOTAL_COUNT_COLUMN),
+                    readSummaries(listQuery, countRow)
+                );
+            });
+    }
+    
+    private <T> String nextCursor(ListQuery listQuery, RowSet<Row> rows, PageResult<T> count) {
+        if (!listQuery.hasKeyset()) {
+            return null;
+        }
+        Row last = null;
+        for (Row row : rows) {
+            last = row;
+        }
+        return readCursor(last).withTotals(count.total(), count.summaries()).encode();
+    }
+    
+    /**
+     * 결과 행의 cursor_created_at, cursor_id 컬럼으로 다음 페이지 커서 생성
+     */
+    protected PageCursor readCursor(Row row) {
+        return new PageCursor(row.getLocalDateTime(PageCursor.CREATED_AT_COLUMN), row.getLong(PageCursor.ID_COLUMN));
+    }
+    
+    private Map<String, BigDecimal> readSummaries(ListQuery listQuery, Row row) {
+        Map<String, BigDecimal> summaries = new HashMap<>();
+        for (String alias : listQuery.getSummaryAliases()) {
+            summaries.put(alias, getBigDecimal(row, alias));
+        }
+        return summaries;
+    }
+    
+    /**
+     * 목록 쿼리 전체 결과를 스트리밍 조회 (LIMIT/커서 조건 없이 정렬 순서대로)
+     */
+    protected <T> Future<Long> queryStream(Pool pool, ListQuery listQuery, RowMapper<T> mapper,
+                                           Function<List<T>, Future<Void>> batchHandler) {
+        return queryStream(pool, listQuery.toStreamSql(), listQuery.getParams(), mapper, batchHandler);
+    }
+    
+    /**
+     * 서버 측 커서로 결과를 STREAM_BATCH_SIZE씩 읽어 배치 단위로 전달 (전체 결과를 메모리에 올리지 않음)
+     * 배치 처리가 끝날 때까지 커서 읽기를 멈춥니다.
+     * @return 전달한 전체 행 수
+     */
+    protected <T> Future<Long> queryStream(Pool pool, String sql, Map<String, Object> parameters, RowMapper<T> mapper,
+                                           Function<List<T>, Future<Void>> batchHandler) {
+        return rowSource(pool, sql, parameters)
+            .open(stream -> new RowStreamBatcher<>(stream, mapper, STREAM_BATCH_SIZE, batchHandler).start());
+    }
+    
+    /**
+     * 원시 행 공급원 - 서버 측 커서(STREAM_BATCH_SIZE씩 읽기)를 DTO 변환 없이 전달
+     * 커서는 트랜잭션 안에서만 유지되므로 전용 연결의 트랜잭션에서 실행합니다.
+     */
+    protected RowSource rowSource(Pool pool, String sql, Map<String, Object> parameters) {
+        return consumer -> {
+            log.debug("Streaming SQL: {}\nParameters: {}", sql, parameters);
+            
+            NamedParameterSql namedSql = SQL_CACHE.get(sql);
+            Tuple tuple = Tuple.tuple();
+            for (String paramName : namedSql.getParamNames()) {
+                addParameterToTuple(tuple, parameters != null ? parameters.get(paramName) : null);
+            }
+            
+            return pool.withTransaction(conn -> conn.prepare(namedSql.getSql())
+                .compose(statement -> {
+                    RowStream<Row> stream = statement.createStream(STREAM_BATCH_SIZE, tuple);
+                    return consumer.apply(stream)
+                        .onComplete(ar -> stream.close().onComplete(closed -> statement.close()));
+                }))
+                .onFailure(err -> log.error("SQL streaming failed - SQL: {}\nParameters: {}\nError: {}",
+                    sql, parameters, err.getMessage(), err));
+        };
+    }
+    
+    /**
+     * 목록 쿼리 내보내기 공급원 (스트리밍 조회 + 카운트 쿼리로 전체 행 수 제공)
+     */
+    protected <T> ExportSource<T> streamSource(Pool pool, ListQuery listQuery, RowMapper<T> mapper) {
+        return streamSource(pool, listQuery.toStreamSql(), listQuery.getParams(), mapper,
+            () -> this.<T>queryCount(pool, listQuery).map(PageResult::total));
+    }
+    
+    /**
+     * SQL 내보내기 공급원 (전체 행 수는 SQL을 감싼 COUNT(*)로 조회)
+     */
+    protected <T> ExportSource<T> streamSource(Pool pool, String sql, Map<String, Object> parameters, RowMapper<T> mapper) {
+        return streamSource(pool, sql, parameters, mapper, () -> query(pool, "SELECT COUNT(*) AS " + ListQuery.TOTAL_COUNT_COLUMN
+                + " FROM (" + sql + ") streamed", parameters)
+            .map(rows -> rows.iterator().next().getLong(ListQuery.TOTAL_COUNT_COLUMN)));
+    }
+    
+    private <T> ExportSource<T> streamSource(Pool pool, String sql, Map<String, Object> parameters, RowMapper<T> mapper,
+                                             Supplier<Future<Long>> counter) {
+        RowSource rows = rowSource(pool, sql, parameters);
+        return new ExportSource<>() {
+            @Override
+            public Future<Long> forEachBatch(Function<List<T>, Future<Void>> batchHandler) {
+                return rows.open(stream -> new RowStreamBatcher<>(stream, mapper, STREAM_BATCH_SIZE, batchHandler).start());
+            }
+            
+            @Override
+            public Future<Long> count() {
+                return counter.get();
+            }
+            
+            @Override
+            public RowSource rows() {
+                return rows;
+            }
+        };
+    }
+    
     protected Future<RowSet<Row>> query(SqlClient client, String sql) {
         log.debug("Executing SQL: {}", sql);
         return client.query(sql).execute();
     }
     
+    /**
+     * 교착 상태로 취소된 문장을 다시 실행 (최대 DEADLOCK_MAX_ATTEMPTS회)
+     * 취소된 문장은 전체가 롤백되므로, 풀에서 단독으로 실행되는 단일 문장 쓰기에만 사용합니다 (트랜잭션 안에서는 사용 불가).
+     */
+    protected <T> Future<T> retryOnDeadlock(Supplier<Future<T>> statement) {
+        return retryOnDeadlock(statement, DEADLOCK_MAX_ATTEMPTS);
+    }
+    
+    private static <T> Future<T> retryOnDeadlock(Supplier<Future<T>> statement, int remainingAttempts) {
+        return statement.get().recover(err -> {
+            if (remainingAttempts > 1 && isDeadlock(err)) {
+                log.warn("Statement cancelled by deadlock, retrying - remaining attempts: {}", remainingAttempts - 1);
+                return retryOnDeadlock(statement, remainingAttempts - 1);
+            }
+            return Future.failedFuture(err);
+        });
+    }
+    
+    public static boolean isDeadlock(Throwable err) {
+        return err instanceof PgException pgException && DEADLOCK_SQL_STATE.equals(pgException.getSqlState());
+    }
+
+    /**
+     * 데이터 워터마크 조회 (결과 캐시 유효성 확인용)
+     * SQL 결과 첫 행의 모든 컬럼 값(예: result_cache_versions 변경 카운터 합계)을 ':'로 이어 반환합니다.
+     */
+    protected Future<String> queryWatermark(SqlClient client, String sql) {
+        return query(client, sql).map(rows -> {
+            if (rows.size() == 0) {
+                return "";
+            }
+            Row row = rows.iterator().next();
+            StringBuilder watermark = new StringBuilder();
+            for (int i = 0; i < row.size(); i++) {
+                if (i > 0) {
+                    watermark.append(':');
+                }
+                Object value = row.getValue(i);
+                watermark.append(value != null ? value : "-");
+            }
+            return watermark.toString();
+        });
+    }
+
     protected boolean success(RowSet<Row> rows) {
         return rows.rowCount() == 1;
     }
@@ -235,9 +469,11 @@ public abstract class BaseRepository {
             return List.of();
         }
         
-        List<T> data = new ArrayList<>();
+        // 컬럼 인덱스는 RowSet 단위로 한 번만 해석
+        RowMapper<T> rowSetMapper = mapper.forColumns(rows.columnsNames());
+        List<T> data = new ArrayList<>(rows.size());
         for (Row row : rows) {
-            data.add(mapper.map(row));
+            data.add(rowSetMapper.map(row));
         }
         return data;
     }
@@ -0,0 +1,303 @@
+package com.csms.common.repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 목록 조회 쿼리 정의
+ * SELECT/FROM/JOIN/WHERE/GROUP BY/HAVING 조건을 한 번만 정의하고
+ * 페이지 쿼리, 카운트 쿼리, 페이지+전체건수(COUNT(*) OVER()) 쿼리를 생성합니다.
+ * 기본은 페이지 쿼리와 카운트 쿼리를 병렬로 실행하며, windowedTotal()을 지정한 경우에만 한 번의 쿼리로 조회합니다.
+ *
+ * - join: 검색 조건에 필요한 조인 (카운트 쿼리에도 포함)
+ * - pageJoin: 조회 컬럼에만 필요한 조인 (카운트 쿼리에서 제외)
+ * - summary: 필터된 전체 행에 대한 합계 (예: SUM(et.amount))
+ * - keyset/cursor: (created_at, id) 키셋 페이지네이션 (커서 조건은 페이지 쿼리에만 적용)
+ * - windowedTotal: 페이지+전체건수 한 번 조회 (윈도 함수가 필터된 전체 행을 정렬/집계한 뒤 LIMIT을 적용하므로, 결과가 작은 목록에만 사용)
+ */
+public class ListQuery {
+    
+    public static final String TOTAL_COUNT_COLUMN = "total_count";
+    
+    private final String selectClause;
+    private final String fromClause;
+    private final List<String> joins = new ArrayList<>();
+    private final List<String> pageJoins = new ArrayList<>();
+    private final List<String> conditions = new ArrayList<>();
+    private final List<String> havingConditions = new ArrayList<>();
+    private final List<Summary> summaries = new ArrayList<>();
+    private final Map<String, Object> params = new HashMap<>();
+    private String groupByClause;
+    private String orderByClause;
+    private String keysetCreatedAt;
+    private String keysetId;
+    private PageCursor cursor;
+    private boolean windowedTotal;
+    
+    private ListQuery(String selectClause, String fromClause) {
+        this.selectClause = selectClause.strip();
+        this.fromClause = fromClause.strip();
+    }
+    
+    /**
+     * @param selectClause "SELECT" 키워드를 제외한 컬럼 목록
+     * @param fromClause "FROM" 키워드를 제외한 기준 테이블 (예: "users u")
+     */
+    public static ListQuery of(String selectClause, String fromClause) {
+        return new ListQuery(selectClause, fromClause);
+    }
+    
+    /**
+     * 검색 키워드를 ILIKE 패턴으로 변환
+     */
+    public static String likePattern(String keyword) {
+        return "%" + keyword + "%";
+    }
+    
+    public ListQuery join(String joinClause) {
+        joins.add(joinClause.strip());
+        return this;
+    }
+    
+    public ListQuery pageJoin(String joinClause) {
+        pageJoins.add(joinClause.strip());
+        return this;
+    }
+    
+    public ListQuery where(String condition) {
+        conditions.add(condition.strip());
+        return this;
+    }
+    
+    public ListQuery where(String condition, String paramName, Object value) {
+        params.put(paramName, value);
+        return where(condition);
+    }
+    
+    public ListQuery having(String condition, String paramName, Object value) {
+        havingConditions.add(condition.strip());
+        params.put(paramName, value);
+        return this;
+    }
+    
+    public ListQuery param(String paramName, Object value) {
+        params.put(paramName, value);
+        return this;
+    }
+    
+    public ListQuery groupBy(String groupByClause) {
+        this.groupByClause = groupByClause.strip();
+        return this;
+    }
+    
+    public ListQuery orderBy(String orderByClause) {
+        this.orderByClause = orderByClause.strip();
+        return this;
+    }
+    
+    /**
+     * 키셋 정렬 컬럼 지정 - ORDER BY created_at DESC, id DESC로 정렬하고
+     * 페이지 쿼리 결과에 다음 커서 생성을 위한 cursor_created_at, cursor_id 컬럼을 추가합니다.
+     * @param createdAtExpression 생성일시 식 (예: "mh.created_at")
+     * @param idExpression 고유 ID 식 (예: "mh.id")
+     */
+    public ListQuery keyset(String createdAtExpression, String idExpression) {
+        this.keysetCreatedAt = createdAtExpression.strip();
+        this.keysetId = idExpression.strip();
+        return orderBy(keysetCreatedAt + " DESC, " + keysetId + " DESC");
+    }
+    
+    /**
+     * 커서 이후 행만 조회 (null이면 첫 페이지). keyset 지정 후에만 사용할 수 있습니다.
+     */
+    public ListQuery cursor(PageCursor cursor) {
+        if (cursor != null && !hasKeyset()) {
+            throw new IllegalStateException("keyset must be defined before cursor");
+        }
+        this.cursor = cursor;
+        return this;
+    }
+    
+    /**
+     * 페이지와 전체 건수/합계를 한 번의 쿼리(toPageWithTotalSql)로 조회
+     * 왕복 1회를 줄이지만 LIMIT 전에 필터된 전체 행(페이지 조인 포함)을 읽으므로, 필터 결과가 작은 목록에만 지정합니다.
+     */
+    public ListQuery windowedTotal() {
+        this.windowedTotal = true;
+        return this;
+    }
+    
+    public boolean isWindowedTotal() {
+        return windowedTotal;
+    }
+    
+    public boolean hasKeyset() {
+        return keysetCreatedAt != null;
+    }
+    
+    public boolean hasCursor() {
+        return cursor != null;
+    }
+    
+    public PageCursor getCursor() {
+        return cursor;
+    }
+    
+    /**
+     * 필터된 전체 행에 대한 합계 컬럼 추가 (GROUP BY 쿼리에서는 사용 불가)
+     * @param aggregate 집계 함수 (SUM, AVG ...)
+     * @param expression 집계 대상 식
+     * @param alias 결과 컬럼명
+     */
+    public ListQuery summary(String aggregate, String expression, String alias) {
+        summaries.add(new Summary(aggregate, expression, alias));
+        return this;
+    }
+    
+    public boolean isGrouped() {
+        return groupByClause != null;
+    }
+    
+    public List<String> getSummaryAliases() {
+        List<String> aliases = new ArrayList<>();
+        for (Summary summary : summaries) {
+            aliases.add(summary.alias());
+        }
+        return aliases;
+    }
+    
+    /**
+     * 페이지 쿼리 (LIMIT :limit OFFSET :offset)
+     */
+    public String toPageSql() {
+        StringBuilder sql = new StringBuilder("SELECT ").append(selectClause);
+        appendKeysetColumns(sql);
+        appendPageBody(sql);
+        return sql.toString();
+    }
+    
+    /**
+     * 페이지 + 전체 건수/합계를 한 번에 조회하는 쿼리
+     * 윈도 함수는 LIMIT 적용 전 전체 결과에 대해 계산되므로 각 행에 total_count가 포함됩니다.
+     */
+    public String toPageWithTotalSql() {
+        StringBuilder sql = new StringBuilder("SELECT ").append(selectClause)
+            .append(",\n    COUNT(*) OVER () AS ").append(TOTAL_COUNT_COLUMN);
+        for (Summary summary : summaries) {
+            sql.append(",\n    COALESCE(").append(summary.aggregate()).append("(").append(summary.expression())
+                .append(") OVER (), 0) AS ").append(summary.alias());
+        }
+        appendKeysetColumns(sql);
+        appendPageBody(sql);
+        return sql.toString();
+    }
+    
+    /**
+     * 전체 결과 스트리밍 쿼리 (LIMIT/커서 조건 없음, 정렬 유지) - 파라미터는 getParams() 사용
+     */
+    public String toStreamSql() {
+        StringBuilder sql = new StringBuilder("SELECT ").append(selectClause);
+        appendFromAndWhere(sql, true, false);
+        appendGroupBy(sql);
+        if (orderByClause != null) {
+            sql.append("\nORDER BY ").append(orderByClause);
+        }
+        return sql.toString();
+    }
+    
+    /**
+     * 카운트(및 합계) 쿼리 - 결과 컬럼: total_count, summary alias
+     */
+    public String toCountSql() {
+        StringBuilder sql = new StringBuilder();
+        if (isGrouped()) {
+            // GROUP BY 결과 그룹 수를 센다 (HAVING 조건 포함, GROUP BY가 참조할 수 있어 모든 조인 포함)
+            sql.append("SELECT COUNT(*) AS ").append(TOTAL_COUNT_COLUMN).append(" FROM (SELECT 1");
+            appendFromAndWhere(sql, true, false);
+            appendGroupBy(sql);
+            sql.append("\n) grouped");
+            return sql.toString();
+        }
+        
+        sql.append("SELECT COUNT(*) AS ").append(TOTAL_COUNT_COLUMN);
+        for (Summary summary : summaries) {
+            sql.append(", COALESCE(").append(summary.aggregate()).append("(").append(summary.expression())
+                .append("), 0) AS ").append(summary.alias());
+        }
+        appendFromAndWhere(sql, false, false);
+        return sql.toString();
+    }
+    
+    /**
+     * 카운트 쿼리용 파라미터
+     */
+    public Map<String, Object> getParams() {
+        return new HashMap<>(params);
+    }
+    
+    /**
+     * 페이지 쿼리용 파라미터 (limit, offset 포함)
+     * 커서가 있으면 커서 값을 포함하고 offset은 무시(0)합니다.
+     */
+    public Map<String, Object> getPageParams(int limit, int offset) {
+        Map<String, Object> pageParams = new HashMap<>(params);
+        pageParams.put("limit", limit);
+        pageParams.put("offset", cursor != null ? 0 : offset);
+        if (cursor != null) {
+            pageParams.put(PageCursor.CREATED_AT_COLUMN, cursor.createdAt());
+            pageParams.put(PageCursor.ID_COLUMN, cursor.id());
+        }
+        return pageParams;
+    }
+    
+    private void appendKeysetColumns(StringBuilder sql) {
+        if (hasKeyset()) {
+            sql.append(",\n    ").append(keysetCreatedAt).append(" AS ").append(PageCursor.CREATED_AT_COLUMN)
+                .append(",\n    ").append(keysetId).append(" AS ").append(PageCursor.ID_COLUMN);
+        }
+    }
+    
+    private void appendPageBody(StringBuilder sql) {
+        appendFromAndWhere(sql, true, true);
+        appendGroupBy(sql);
+        if (orderByClause != null) {
+            sql.append("\nORDER BY ").append(orderByClause);
+        }
+        sql.append("\nLIMIT :limit OFFSET :offset");
+    }
+    
+    private void appendFromAndWhere(StringBuilder sql, boolean includePageJoins, boolean includeCursor) {
+        sql.append("\nFROM ").append(fromClause);
+        for (String join : joins) {
+            sql.append("\n").append(join);
+        }
+        if (includePageJoins) {
+            for (String join : pageJoins) {
+                sql.append("\n").append(join);
+            }
+        }
+        List<String> whereConditions = new ArrayList<>(conditions);
+        if (includeCursor && cursor != null) {
+            // 행 값 비교 (created_at, id) < (...) 는 (created_at, id) 인덱스 범위 스캔으로 처리됨
+            whereConditions.add("(" + keysetCreatedAt + ", " + keysetId + ") < (:" + PageCursor.CREATED_AT_COLUMN
+                + ", :" + PageCursor.ID_COLUMN + ")");
+        }
+        if (!whereConditions.isEmpty()) {
+            sql.append("\nWHERE ").append(String.join("\n  AND ", whereConditions));
+        }
+    }
+    
+    private void appendGroupBy(StringBuilder sql) {
+        if (groupByClause != null) {
+            sql.append("\nGROUP BY ").append(groupByClause);
+        }
+        if (!havingConditions.isEmpty()) {
+            sql.append("\nHAVING ").append(String.join("\n  AND ", havingConditions));
+        }
+    }
+    
+    private record Summary(String aggregate, String expression, String alias) {
+    }
+}
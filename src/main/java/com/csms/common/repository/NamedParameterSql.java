@@ -0,0 +1,89 @@
+package com.csms.common.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * :parameter_name 형식의 SQL을 $1, $2 형식으로 변환한 결과
+ * 변환된 SQL과 Tuple 바인딩 순서(파라미터 이름 목록)를 함께 보관합니다.
+ */
+public final class NamedParameterSql {
+    
+    // :parameter_name 형식을 $1, $2 등으로 변환하는 패턴
+    // :: (두 개의 콜론, PostgreSQL 캐스팅)은 제외하고, 단일 콜론으로 시작하는 파라미터만 매칭
+    private static final Pattern PARAM_PATTERN = Pattern.compile("(?<!:):([a-zA-Z_][a-zA-Z0-9_]*)");
+    
+    private final String sql;
+    private final List<String> paramNames;
+    
+    private NamedParameterSql(String sql, List<String> paramNames) {
+        this.sql = sql;
+        this.paramNames = Collections.unmodifiableList(paramNames);
+    }
+    
+    /**
+     * 변환된 positional SQL ($1, $2 ...)
+     */
+    public String getSql() {
+        return sql;
+    }
+    
+    /**
+     * $n 순서대로 정렬된 파라미터 이름 (중복 제거)
+     */
+    public List<String> getParamNames() {
+        return paramNames;
+    }
+    
+    /**
+     * named parameter SQL 변환
+     * ::date 같은 PostgreSQL 캐스팅은 유지합니다.
+     */
+    public static NamedParameterSql translate(String sql) {
+        // 파라미터를 등장 순서대로 수집
+        List<String> paramNames = new ArrayList<>();
+        Matcher matcher = PARAM_PATTERN.matcher(sql);
+        while (matcher.find()) {
+            String paramName = matcher.group(1);
+            if (paramName != null && !paramNames.contains(paramName)) {
+                paramNames.add(paramName);
+            }
+        }
+        
+        if (paramNames.isEmpty()) {
+            return new NamedParameterSql(sql, paramNames);
+        }
+        
+        // 각 파라미터 이름에 대한 매핑 생성
+        Map<String, String> paramToPlaceholder = new LinkedHashMap<>();
+        for (int i = 0; i < paramNames.size(); i++) {
+            paramToPlaceholder.put(paramNames.get(i), "$" + (i + 1));
+        }
+        
+        // 정규표현식을 사용하여 각 파라미터를 찾아 치환 (긴 이름 우선)
+        String preparedSql = sql;
+        List<String> sortedParamNames = new ArrayList<>(paramNames);
+        sortedParamNames.sort((a, b) -> Integer.compare(b.length(), a.length()));
+        
+        for (String paramName : sortedParamNames) {
+            String placeholder = paramToPlaceholder.get(paramName);
+            // :paramName 패턴만 매칭 (앞에 :가 하나만 있고, 뒤에 단어 문자가 아닌 것)
+            // 파라미터 이름은 [a-zA-Z_][a-zA-Z0-9_]* 패턴이므로 특수문자 이스케이프 불필요
+            Pattern pattern = Pattern.compile("(?<!:):" + paramName + "(?!\\w)");
+            Matcher replacementMatcher = pattern.matcher(preparedSql);
+            StringBuilder sb = new StringBuilder();
+            while (replacementMatcher.find()) {
+                replacementMatcher.appendReplacement(sb, Matcher.quoteReplacement(placeholder));
+            }
+            replacementMatcher.appendTail(sb);
+            preparedSql = sb.toString();
+        }
+        
+        return new NamedParameterSql(preparedSql, paramNames);
+    }
+}
@@ -0,0 +1,79 @@
+package com.csms.common.repository;
+
+import io.vertx.core.json.JsonObject;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * named parameter SQL 변환 결과 캐시 (LRU)
+ * SQL 원문을 키로 변환 결과를 보관하여 같은 형태의 쿼리는 정규식 처리를 건너뜁니다.
+ * 여러 event loop에서 공유되므로 접근은 동기화합니다.
+ */
+public class NamedParameterSqlCache {
+    
+    private final int maxSize;
+    private final Map<String, NamedParameterSql> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    
+    public NamedParameterSqlCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, NamedParameterSql> eldest) {
+                return size() > NamedParameterSqlCache.this.maxSize;
+            }
+        };
+    }
+    
+    public NamedParameterSql get(String sql) {
+        synchronized (entries) {
+            NamedParameterSql cached = entries.get(sql);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+        
+        // 변환은 락 밖에서 수행 (동시에 같은 SQL이 변환되어도 결과는 동일)
+        misses.increment();
+        NamedParameterSql translated = NamedParameterSql.translate(sql);
+        synchronized (entries) {
+            entries.put(sql, translated);
+        }
+        return translated;
+    }
+    
+    public long getHitCount() {
+        return hits.sum();
+    }
+    
+    public long getMissCount() {
+        return misses.sum();
+    }
+    
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+    
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+    
+    /**
+     * 모니터링용 지표
+     */
+    public JsonObject getMetrics() {
+        return new JsonObject()
+            .put("size", size())
+            .put("maxSize", maxSize)
+            .put("hits", getHitCount())
+            .put("misses", getMissCount());
+    }
+}
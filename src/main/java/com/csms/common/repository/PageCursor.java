@@ -0,0 +1,105 @@
+package com.csms.common.repository;
+
+import com.csms.common.exceptions.BadRequestException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
+
+/**
+ * 키셋 페이지네이션 커서
+ * 마지막으로 조회한 행의 (created_at, id)를 담으며, 클라이언트에는 불투명한 Base64 문자열로 전달합니다.
+ * 첫 페이지에서 계산한 전체 건수/합계(total, summaries)도 함께 담아, 다음 페이지에서 카운트 쿼리를 다시 실행하지 않습니다.
+ * (total이 없는 커서는 카운트 쿼리로 계산)
+ */
+public record PageCursor(LocalDateTime createdAt, long id, Long total, Map<String, BigDecimal> summaries) {
+
+    // 페이지 쿼리에서 커서 값을 읽기 위한 결과 컬럼명
+    public static final String CREATED_AT_COLUMN = "cursor_created_at";
+    public static final String ID_COLUMN = "cursor_id";
+
+    private static final String SEPARATOR = "|";
+    private static final String SUMMARY_SEPARATOR = ",";
+    private static final String SUMMARY_VALUE_SEPARATOR = ":";
+
+    public PageCursor {
+        if (createdAt == null) {
+            throw new IllegalArgumentException("createdAt must not be null");
+        }
+        Map<String, BigDecimal> copied = new HashMap<>();
+        if (summaries != null) {
+            summaries.forEach((alias, value) -> {
+                if (value != null) {
+                    copied.put(alias, value);
+                }
+            });
+        }
+        summaries = Map.copyOf(copied);
+    }
+
+    public PageCursor(LocalDateTime createdAt, long id) {
+        this(createdAt, id, null, Map.of());
+    }
+
+    /**
+     * 첫 페이지의 전체 건수/합계를 담은 커서
+     */
+    public PageCursor withTotals(long total, Map<String, BigDecimal> summaries) {
+        return new PageCursor(createdAt, id, total, summaries);
+    }
+
+    public boolean hasTotals() {
+        return total != null;
+    }
+
+    public String encode() {
+        StringBuilder raw = new StringBuilder().append(createdAt).append(SEPARATOR).append(id);
+        if (total != null) {
+            raw.append(SEPARATOR).append(total).append(SEPARATOR);
+            StringJoiner encodedSummaries = new StringJoiner(SUMMARY_SEPARATOR);
+            summaries.forEach((alias, value) -> encodedSummaries.add(alias + SUMMARY_VALUE_SEPARATOR + value.toPlainString()));
+            raw.append(encodedSummaries);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return 커서가 비어 있으면 null
+     * @throws BadRequestException 형식이 잘못된 커서
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split(Pattern.quote(SEPARATOR), -1);
+            if (parts.length != 2 && parts.length != 4) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            PageCursor decoded = new PageCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+            if (parts.length == 2) {
+                return decoded;
+            }
+            Map<String, BigDecimal> summaries = new HashMap<>();
+            if (!parts[3].isEmpty()) {
+                for (String summary : parts[3].split(SUMMARY_SEPARATOR)) {
+                    int valueIndex = summary.indexOf(SUMMARY_VALUE_SEPARATOR);
+                    if (valueIndex <= 0) {
+                        throw new BadRequestException("Invalid cursor");
+                    }
+                    summaries.put(summary.substring(0, valueIndex), new BigDecimal(summary.substring(valueIndex + 1)));
+                }
+            }
+            return decoded.withTotals(Long.parseLong(parts[2]), summaries);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.csms.common.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 목록 조회 결과 (현재 페이지 + 필터된 전체 건수/합계)
+ * nextCursor: 다음 페이지 커서 (키셋 쿼리이고 다음 페이지가 있을 때만, 없으면 null)
+ */
+public record PageResult<T>(List<T> items, long total, Map<String, BigDecimal> summaries, String nextCursor) {
+    
+    public PageResult(List<T> items, long total, Map<String, BigDecimal> summaries) {
+        this(items, total, summaries, null);
+    }
+    
+    public BigDecimal summary(String alias) {
+        BigDecimal value = summaries.get(alias);
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
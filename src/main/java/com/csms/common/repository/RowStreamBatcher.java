@@ -0,0 +1,98 @@
+package com.csms.common.repository;
+
+import com.csms.common.database.RowMapper;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowStream;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * RowStream(서버 측 커서)의 행을 batchSize 단위로 묶어 전달
+ * 배치를 전달하면 처리 Future가 완료될 때까지 스트림을 멈춰(pause) 읽기 속도를 처리 속도에 맞춥니다.
+ */
+final class RowStreamBatcher<T> {
+    
+    private final RowStream<Row> stream;
+    private final RowMapper<T> mapper;
+    private final int batchSize;
+    private final Function<List<T>, Future<Void>> batchHandler;
+    private final Promise<Long> promise = Promise.promise();
+    
+    private RowMapper<T> rowMapper;
+    private List<T> batch;
+    private Future<Void> pending = Future.succeededFuture();
+    private long rowCount;
+    
+    RowStreamBatcher(RowStream<Row> stream, RowMapper<T> mapper, int batchSize,
+                     Function<List<T>, Future<Void>> batchHandler) {
+        this.stream = stream;
+        this.mapper = mapper;
+        this.batchSize = batchSize;
+        this.batchHandler = batchHandler;
+        this.batch = new ArrayList<>(batchSize);
+    }
+    
+    /**
+     * @return 전달한 전체 행 수 (배치 처리 또는 조회 실패 시 실패)
+     */
+    Future<Long> start() {
+        stream.exceptionHandler(this::fail);
+        stream.endHandler(v -> pending
+            .compose(ignored -> flush())
+            .onSuccess(ignored -> promise.tryComplete(rowCount))
+            .onFailure(this::fail));
+        stream.handler(this::onRow);
+        return promise.future();
+    }
+    
+    private void onRow(Row row) {
+        if (promise.future().isComplete()) {
+            return;
+        }
+        try {
+            if (rowMapper == null) {
+                // 컬럼 인덱스는 첫 행에서 한 번만 해석
+                List<String> columnNames = new ArrayList<>(row.size());
+                for (int i = 0; i < row.size(); i++) {
+                    columnNames.add(row.getColumnName(i));
+                }
+                rowMapper = mapper.forColumns(columnNames);
+            }
+            batch.add(rowMapper.map(row));
+        } catch (RuntimeException e) {
+            fail(e);
+            return;
+        }
+        rowCount++;
+        
+        if (batch.size() >= batchSize) {
+            stream.pause();
+            pending = flush()
+                .onSuccess(ignored -> stream.resume())
+                .onFailure(this::fail);
+        }
+    }
+    
+    private Future<Void> flush() {
+        if (batch.isEmpty()) {
+            return Future.succeededFuture();
+        }
+        List<T> full = batch;
+        batch = new ArrayList<>(batchSize);
+        try {
+            return batchHandler.apply(full);
+        } catch (RuntimeException e) {
+            return Future.failedFuture(e);
+        }
+    }
+    
+    private void fail(Throwable err) {
+        if (promise.tryFail(err)) {
+            stream.close();
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.csms.common.service;
 
+import com.csms.common.exceptions.BadRequestException;
+import com.csms.common.repository.PageCursor;
 import io.vertx.core.Future;
 import io.vertx.pgclient.PgPool;
 import io.vertx.sqlclient.SqlClient;
@@ -31,5 +33,17 @@ public abstract class BaseService {
     protected Future<Void> succeededVoid() {
         return Future.succeededFuture();
     }
+    
+    /**
+     * 목록 조회 커서 해석
+     * @param cursor 클라이언트가 전달한 커서 (비어 있으면 null로 성공)
+     * @return 형식이 잘못된 경우 BadRequestException으로 실패하는 Future
+     */
+    protected Future<PageCursor> decodeCursor(String cursor) {
+        try {
+            return Future.succeededFuture(PageCursor.decode(cursor));
+        } catch (BadRequestException e) {
+            return Future.failedFuture(e);
+        }
+    }
 }
-
@@ -0,0 +1,304 @@
+package com.csms.common.service;
+
+import com.csms.common.event.EventChannels;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 조회 결과 캐시 (목록 페이지 등, 크기 제한 LRU)
+ * - 키: 정규화한 조회 조건(이름순, 빈 값 제외)의 SHA-256 - 상대 기간("7일")은 호출 측에서 실제 날짜로 바꿔 전달
+ * - 유효성: 데이터 워터마크(대상 테이블의 MAX(id)/MAX(updated_at) 등)가 저장 시점과 같을 때만 적중,
+ *   워터마크가 바뀌면 해당 항목을 버리고 다시 조회
+ * - 워터마크로 감지하지 못하는 변경(삭제, 보조 테이블 갱신)은 max_age_seconds로 상한을 두고,
+ *   변경 이벤트 채널을 연결하면(invalidateOn) 알림을 받는 즉시 해당 namespace를 버림
+ * - 같은 키의 동시 조회는 하나의 DB 조회를 공유
+ * 캐시된 값은 여러 요청이 공유하므로 호출 측에서 변경하지 않아야 합니다.
+ * 여러 event loop에서 공유되므로 접근은 동기화합니다.
+ */
+@Slf4j
+public class ResultCache {
+    
+    private static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+    private static final int DEFAULT_MAX_AGE_SECONDS = 300;
+    // 한 항목이 전체 용량에서 차지할 수 있는 최대 비율 (큰 페이지 하나가 캐시를 비우지 않도록)
+    private static final int MAX_ENTRY_FRACTION = 8;
+    
+    private static final ResultCache DISABLED = new ResultCache(0, 0);
+    
+    private final long maxBytes;
+    private final long maxAgeMs;
+    
+    // 아래 상태는 entries로 동기화
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Future<?>> loading = new HashMap<>();
+    private long totalBytes;
+    // invalidate() 횟수 - 무효화 전에 시작한 조회 결과는 저장하지 않음
+    private long generation;
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    
+    public ResultCache(long maxBytes, int maxAgeSeconds) {
+        this.maxBytes = maxBytes;
+        this.maxAgeMs = maxAgeSeconds * 1000L;
+    }
+    
+    /**
+     * 설정(result_cache.max_bytes, max_age_seconds)으로 생성 (max_bytes가 0 이하이면 캐시하지 않음)
+     */
+    public static ResultCache create(JsonObject config) {
+        JsonObject cacheConfig = config.getJsonObject("result_cache", new JsonObject());
+        return new ResultCache(
+            cacheConfig.getLong("max_bytes", DEFAULT_MAX_BYTES),
+            cacheConfig.getInteger("max_age_seconds", DEFAULT_MAX_AGE_SECONDS)
+        );
+    }
+    
+    /**
+     * 항상 loader를 실행하는 캐시 (캐시를 주입하지 않은 서비스/테스트용)
+     */
+    public static ResultCache disabled() {
+        return DISABLED;
+    }
+    
+    public boolean isEnabled() {
+        return maxBytes > 0;
+    }
+    
+    /**
+     * 조회 조건 맵 - (이름, 값) 쌍으로 전달
+     */
+    public static Map<String, Object> filters(Object... nameValuePairs) {
+        if (nameValuePairs.length % 2 != 0) {
+            throw new IllegalArgumentException("filters requires name/value pairs");
+        }
+        Map<String, Object> filters = new HashMap<>();
+        for (int i = 0; i < nameValuePairs.length; i += 2) {
+            filters.put((String) nameValuePairs[i], nameValuePairs[i + 1]);
+        }
+        return filters;
+    }
+    
+    /**
+     * 캐시 조회 - 워터마크를 먼저 읽고, 같은 조건/워터마크의 결과가 있으면 DB 조회 없이 반환
+     * 워터마크 조회가 실패하면 캐시를 사용하지 않고 loader를 실행합니다.
+     * @param namespace 결과 종류 (예: "withdrawal_requests")
+     * @param watermark 대상 데이터 버전 조회
+     * @param loader 실제 조회 (성공한 결과만 저장)
+     */
+    public <T> Future<T> get(String namespace, Map<String, Object> filters,
+                             Supplier<Future<String>> watermark, Supplier<Future<T>> loader) {
+        if (!isEnabled()) {
+            return loader.get();
+        }
+        String key = contentKey(namespace, filters, null);
+        return watermark.get()
+            .recover(err -> {
+                log.warn("Failed to read result cache watermark - namespace: {}", namespace, err);
+                return Future.succeededFuture(null);
+            })
+            .compose(version -> version == null ? loader.get() : lookup(namespace, key, version, loader));
+    }
+    
+    /**
+     * 결과 식별 키 (조건 + 워터마크) - 파일 캐시 등 외부 저장소 키로 사용
+     * @return 캐시를 사용하지 않거나 워터마크를 읽지 못하면 null
+     */
+    public Future<String> versionKey(String namespace, Map<String, Object> filters, Supplier<Future<String>> watermark) {
+        if (!isEnabled()) {
+            return Future.succeededFuture(null);
+        }
+        return watermark.get()
+            .map(version -> version == null ? null : contentKey(namespace, filters, version))
+            .recover(err -> {
+                log.warn("Failed to read result cache watermark - namespace: {}", namespace, err);
+                return Future.succeededFuture(null);
+            });
+    }
+    
+    @SuppressWarnings("unchecked")
+    private <T> Future<T> lookup(String namespace, String key, String version, Supplier<Future<T>> loader) {
+        String loadingKey = key + "@" + version;
+        Promise<T> promise;
+        long loadGeneration;
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.version.equals(version) && System.currentTimeMillis() - entry.storedAt < maxAgeMs) {
+                    hits.increment();
+                    return Future.succeededFuture((T) entry.value);
+                }
+                // 워터마크 변경 또는 보관 시간 초과
+                remove(key);
+                invalidations.increment();
+            }
+            Future<?> inFlight = loading.get(loadingKey);
+            if (inFlight != null) {
+                hits.increment();
+                return (Future<T>) inFlight;
+            }
+            misses.increment();
+            promise = Promise.promise();
+            loading.put(loadingKey, promise.future());
+            loadGeneration = generation;
+        }
+        
+        Future<T> loaded;
+        try {
+            loaded = loader.get();
+        } catch (RuntimeException e) {
+            loaded = Future.failedFuture(e);
+        }
+        loaded.onComplete(ar -> {
+            if (ar.succeeded() && ar.result() != null) {
+                put(namespace, key, version, ar.result(), loadGeneration);
+            }
+            synchronized (entries) {
+                loading.remove(loadingKey, promise.future());
+            }
+            promise.handle(ar);
+        });
+        return promise.future();
+    }
+    
+    private void put(String namespace, String key, String version, Object value, long loadGeneration) {
+        long size;
+        try {
+            // 응답과 같은 JSON 인코딩 크기로 용량 계산
+            size = Json.encode(value).length();
+        } catch (RuntimeException e) {
+            log.debug("Result not cacheable - key: {}", key, e);
+            return;
+        }
+        if (size > maxBytes / MAX_ENTRY_FRACTION) {
+            return;
+        }
+        synchronized (entries) {
+            if (generation != loadGeneration) {
+                return;
+            }
+            remove(key);
+            entries.put(key, new Entry(namespace, version, value, size, System.currentTimeMillis()));
+            totalBytes += size;
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                totalBytes -= eldest.next().getValue().size;
+                eldest.remove();
+            }
+        }
+    }
+    
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.size;
+        }
+    }
+    
+    /**
+     * 해당 namespace의 항목을 모두 버림
+     */
+    public void invalidate(Collection<String> namespaces) {
+        synchronized (entries) {
+            // 진행 중인 조회는 무효화 전 데이터일 수 있으므로 이후 요청과 공유하지 않음
+            generation++;
+            loading.clear();
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (namespaces.contains(entry.namespace)) {
+                    totalBytes -= entry.size;
+                    iterator.remove();
+                    invalidations.increment();
+                }
+            }
+        }
+    }
+    
+    /**
+     * 변경 이벤트 채널(EventChannels) 알림을 받으면 namespace를 버리도록 연결 (재동기화 포함)
+     */
+    public ResultCache invalidateOn(EventBus eventBus, String channel, String... namespaces) {
+        if (isEnabled()) {
+            Set<String> targets = Set.of(namespaces);
+            eventBus.consumer(EventChannels.localAddress(channel), message -> invalidate(targets));
+        }
+        return this;
+    }
+    
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            totalBytes = 0;
+        }
+    }
+    
+    /**
+     * 모니터링용 지표
+     */
+    public JsonObject getMetrics() {
+        synchronized (entries) {
+            return new JsonObject()
+                .put("entries", entries.size())
+                .put("bytes", totalBytes)
+                .put("maxBytes", maxBytes)
+                .put("hits", hits.sum())
+                .put("misses", misses.sum())
+                .put("invalidations", invalidations.sum());
+        }
+    }
+    
+    /**
+     * 조건 정규화 키 - namespace + 이름순 정렬한 비어 있지 않은 조건 (+ 워터마크)의 SHA-256
+     */
+    static String contentKey(String namespace, Map<String, Object> filters, String version) {
+        Map<String, String> sorted = new TreeMap<>();
+        if (filters != null) {
+            filters.forEach((name, value) -> {
+                if (value != null && !value.toString().isBlank()) {
+                    sorted.put(name, value.toString().strip());
+                }
+            });
+        }
+        StringBuilder key = new StringBuilder(namespace);
+        sorted.forEach((name, value) -> key.append('&').append(name).append('=').append(value));
+        if (version != null) {
+            key.append('@').append(version);
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(key.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    // 테스트용
+    long totalBytes() {
+        synchronized (entries) {
+            return totalBytes;
+        }
+    }
+    
+    private record Entry(String namespace, String version, Object value, long size, long storedAt) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.csms.common.utils;
+
+/**
+ * HTTP Range 요청 헤더 해석 (단일 범위만 지원)
+ * - bytes=a-b, bytes=a-, bytes=-n (마지막 n바이트)
+ * 형식이 잘못되었거나 여러 범위를 요청한 경우 null (전체 응답), 파일 범위를 벗어나면 UNSATISFIABLE (416)
+ */
+public record ByteRange(long start, long end) {
+    
+    public static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+    
+    private static final String BYTES_PREFIX = "bytes=";
+    
+    /**
+     * @param header Range 헤더 값
+     * @param size 전체 크기 (bytes)
+     * @return 요청 범위 (end 포함), 범위 요청이 아니면 null
+     */
+    public static ByteRange parse(String header, long size) {
+        if (header == null || !header.startsWith(BYTES_PREFIX)) {
+            return null;
+        }
+        String spec = header.substring(BYTES_PREFIX.length()).strip();
+        int dash = spec.indexOf('-');
+        if (dash < 0 || spec.indexOf(',') >= 0) {
+            return null;
+        }
+        
+        try {
+            String first = spec.substring(0, dash).strip();
+            String last = spec.substring(dash + 1).strip();
+            if (first.isEmpty()) {
+                // 마지막 n바이트
+                long suffixLength = Long.parseLong(last);
+                if (suffixLength <= 0 || size == 0) {
+                    return UNSATISFIABLE;
+                }
+                return new ByteRange(Math.max(0, size - suffixLength), size - 1);
+            }
+            
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? size - 1 : Long.parseLong(last);
+            if (start < 0 || end < start) {
+                return null;
+            }
+            if (start >= size) {
+                return UNSATISFIABLE;
+            }
+            return new ByteRange(start, Math.min(end, size - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
+    public boolean isSatisfiable() {
+        return start >= 0;
+    }
+    
+    public long length() {
+        return end - start + 1;
+    }
+    
+    /**
+     * Content-Range 헤더 값
+     */
+    public String contentRange(long size) {
+        return isSatisfiable() ? "bytes " + start + "-" + end + "/" + size : "bytes */" + size;
+    }
+}
@@ -20,8 +20,12 @@ public class ErrorHandler {
             statusCode = 403;
         } else if (failure instanceof NotFoundException) {
             statusCode = 404;
+        } else if (failure instanceof TooManyRequestsException) {
+            statusCode = 429;
         } else if (failure instanceof InternalServerException) {
             statusCode = 500;
+        } else if (failure instanceof ServiceUnavailableException) {
+            statusCode = 503;
         } else if (statusCode == -1) {
             statusCode = 500;
         }
@@ -0,0 +1,182 @@
+package com.csms.common.utils;
+
+import com.csms.common.exceptions.ServiceUnavailableException;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import lombok.extern.slf4j.Slf4j;
+import org.mindrot.jbcrypt.BCrypt;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 비밀번호 해시 전용 실행기
+ * BCrypt 연산(약 100ms)을 event loop 밖의 고정 크기 스레드 풀에서 실행합니다.
+ * 대기열이 가득 차면 즉시 ServiceUnavailableException으로 거절합니다.
+ */
+@Slf4j
+public class PasswordHashExecutor {
+    
+    private static final int DEFAULT_THREADS = 2;
+    private static final int DEFAULT_QUEUE_LIMIT = 64;
+    
+    private static volatile PasswordHashExecutor defaultInstance;
+    
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final int queueLimit;
+    
+    private final LongAdder completedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder totalHashNanos = new LongAdder();
+    private final LongAccumulator maxHashNanos = new LongAccumulator(Long::max, 0L);
+    
+    public PasswordHashExecutor(int threads, int queueLimit) {
+        this.threads = threads;
+        this.queueLimit = queueLimit;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueLimit),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-hash-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+    
+    /**
+     * 설정(password_hashing.threads, password_hashing.queue_limit)으로 생성
+     */
+    public static PasswordHashExecutor create(JsonObject config) {
+        JsonObject hashingConfig = config.getJsonObject("password_hashing", new JsonObject());
+        return new PasswordHashExecutor(
+            hashingConfig.getInteger("threads", DEFAULT_THREADS),
+            hashingConfig.getInteger("queue_limit", DEFAULT_QUEUE_LIMIT)
+        );
+    }
+    
+    /**
+     * 기본 설정의 공용 인스턴스 (ServiceFactory 없이 서비스를 직접 생성하는 경우)
+     */
+    public static PasswordHashExecutor getDefault() {
+        if (defaultInstance == null) {
+            synchronized (PasswordHashExecutor.class) {
+                if (defaultInstance == null) {
+                    defaultInstance = new PasswordHashExecutor(DEFAULT_THREADS, DEFAULT_QUEUE_LIMIT);
+                }
+            }
+        }
+        return defaultInstance;
+    }
+    
+    /**
+     * 비밀번호 해시 생성
+     */
+    public Future<String> hash(String password) {
+        return submit(() -> BCrypt.hashpw(password, BCrypt.gensalt()));
+    }
+    
+    /**
+     * 비밀번호 검증
+     */
+    public Future<Boolean> verify(String password, String passwordHash) {
+        return submit(() -> BCrypt.checkpw(password, passwordHash));
+    }
+    
+    private <T> Future<T> submit(Supplier<T> task) {
+        // 결과는 호출한 Vert.x context(event loop)로 되돌려 전달
+        Context context = Vertx.currentContext();
+        Promise<T> promise = Promise.promise();
+        
+        try {
+            executor.execute(() -> {
+                long start = System.nanoTime();
+                T result = null;
+                Throwable failure = null;
+                try {
+                    result = task.get();
+                } catch (Throwable t) {
+                    failure = t;
+                }
+                recordHashTime(System.nanoTime() - start);
+                
+                final T finalResult = result;
+                final Throwable finalFailure = failure;
+                Runnable completion = () -> {
+                    if (finalFailure != null) {
+                        promise.fail(finalFailure);
+                    } else {
+                        promise.complete(finalResult);
+                    }
+                };
+                if (context != null) {
+                    context.runOnContext(v -> completion.run());
+                } else {
+                    completion.run();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCount.increment();
+            log.warn("Password hashing rejected - queue full (queueDepth: {}, queueLimit: {})",
+                executor.getQueue().size(), queueLimit);
+            return Future.failedFuture(new ServiceUnavailableException(
+                "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.", e));
+        }
+        
+        return promise.future();
+    }
+    
+    private void recordHashTime(long nanos) {
+        completedCount.increment();
+        totalHashNanos.add(nanos);
+        maxHashNanos.accumulate(nanos);
+    }
+    
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+    
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+    
+    public long getCompletedCount() {
+        return completedCount.sum();
+    }
+    
+    /**
+     * 모니터링용 지표 (대기열 깊이, 해시 소요 시간 등)
+     */
+    public JsonObject getMetrics() {
+        long completed = completedCount.sum();
+        double avgHashMillis = completed == 0 ? 0.0 : totalHashNanos.sum() / (double) completed / 1_000_000.0;
+        return new JsonObject()
+            .put("threads", threads)
+            .put("queueLimit", queueLimit)
+            .put("queueDepth", executor.getQueue().size())
+            .put("active", executor.getActiveCount())
+            .put("completed", completed)
+            .put("rejected", rejectedCount.sum())
+            .put("avgHashMillis", avgHashMillis)
+            .put("maxHashMillis", maxHashNanos.get() / 1_000_000.0);
+    }
+    
+    public void close() {
+        executor.shutdown();
+    }
+}
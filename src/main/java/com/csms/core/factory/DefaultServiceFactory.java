@@ -3,15 +3,31 @@ package com.csms.core.factory;
 import com.csms.admin.handler.*;
 import com.csms.admin.repository.*;
 import com.csms.admin.service.*;
+import com.csms.common.event.EventChannels;
+import com.csms.common.export.ExportJobManager;
+import com.csms.common.service.ResultCache;
 import com.csms.common.service.TronService;
+import com.csms.common.utils.PasswordHashExecutor;
 import com.csms.common.utils.RateLimiter;
 import com.csms.currency.handler.CurrencyHandler;
 import com.csms.currency.repository.CurrencyRepository;
 import com.csms.currency.service.CurrencyService;
+import com.csms.mining.handler.MiningEventHandler;
+import com.csms.mining.repository.MiningDailyLimitRepository;
+import com.csms.mining.repository.MiningEventRepository;
+import com.csms.mining.repository.MiningLeaderboardRepository;
+import com.csms.mining.repository.RankingRewardPayoutRepository;
+import com.csms.mining.repository.ReferralRewardRepository;
+import com.csms.mining.service.MiningDailyLimiter;
+import com.csms.mining.service.MiningEventIngestService;
+import com.csms.mining.service.MiningLeaderboard;
+import com.csms.mining.service.RankingRewardPayoutService;
+import com.csms.mining.service.ReferralRewardDistributor;
 import com.csms.user.handler.UserHandler;
 import com.csms.user.repository.UserRepository;
 import com.csms.user.service.UserService;
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.PubSecKeyOptions;
 import io.vertx.ext.auth.jwt.JWTAuth;
@@ -44,17 +60,35 @@ public class DefaultServiceFactory implements ServiceFactory {
     private AdminReferralRepository adminReferralRepository;
     private AdminAirdropRepository adminAirdropRepository;
     private CurrencyRepository currencyRepository;
+    private MiningEventRepository miningEventRepository;
+    private MiningDailyLimitRepository miningDailyLimitRepository;
+    private MiningLeaderboardRepository miningLeaderboardRepository;
+    private RankingRewardPayoutRepository rankingRewardPayoutRepository;
+    private ReferralRewardRepository referralRewardRepository;
     
     private UserService userService;
     private AdminAuthService adminAuthService;
     private AdminDashboardService adminDashboardService;
     private AdminMemberService adminMemberService;
     private AdminMiningService adminMiningService;
+    private MiningHistoryPartitionMaintenance miningHistoryPartitionMaintenance;
     private AdminFundsService adminFundsService;
     private AdminReferralService adminReferralService;
+    private ReferralRelationListener referralRelationListener;
     private AdminAirdropService adminAirdropService;
     private CurrencyService currencyService;
+    private MiningEventIngestService miningEventIngestService;
+    private MiningDailyLimiter miningDailyLimiter;
+    private MiningLeaderboard miningLeaderboard;
+    private RankingRewardPayoutService rankingRewardPayoutService;
+    private ReferralRewardDistributor referralRewardDistributor;
     private TronService tronService;
+    private PasswordHashExecutor passwordHashExecutor;
+    private ExportJobManager exportJobManager;
+    private ResultCache resultCache;
+    
+    // Redis 연결 후 setRedisApi()로 설정 (연결 실패 시 null)
+    private RedisAPI redisApi;
     
     public DefaultServiceFactory(Vertx vertx, JsonObject config, PgPool pool, JWTAuth jwtAuth, WebClient webClient) {
         this.vertx = vertx;
@@ -68,25 +102,41 @@ public class DefaultServiceFactory implements ServiceFactory {
         JsonObject databaseConfig = config.getJsonObject("database", new JsonObject());
         JsonObject jwtConfig = config.getJsonObject("jwt", new JsonObject());
         
-        PgPool pool = createPgPool(vertx, databaseConfig);
+        PgPool pool = createPgPool(vertx, databaseConfig, resolveHttpInstances(config));
         JWTAuth jwtAuth = createJwtAuth(vertx, jwtConfig);
         WebClient webClient = WebClient.create(vertx);
         
         return new DefaultServiceFactory(vertx, config, pool, jwtAuth, webClient);
     }
     
-    private static PgPool createPgPool(Vertx vertx, JsonObject config) {
-        PgConnectOptions connectOptions = new PgConnectOptions()
+    /**
+     * ApiVerticle 인스턴스 수 (http.instances)
+     * 미설정 또는 0 이하이면 CPU 코어 수를 사용합니다.
+     */
+    public static int resolveHttpInstances(JsonObject config) {
+        JsonObject httpConfig = config.getJsonObject("http", new JsonObject());
+        int instances = httpConfig.getInteger("instances", 0);
+        return instances > 0 ? instances : Runtime.getRuntime().availableProcessors();
+    }
+    
+    private static PgConnectOptions createConnectOptions(JsonObject config) {
+        return new PgConnectOptions()
             .setHost(config.getString("host"))
             .setPort(config.getInteger("port"))
             .setDatabase(config.getString("database"))
             .setUser(config.getString("user"))
             .setPassword(config.getString("password"));
+    }
+    
+    private static PgPool createPgPool(Vertx vertx, JsonObject config, int eventLoopSize) {
+        PgConnectOptions connectOptions = createConnectOptions(config);
         
         PoolOptions poolOptions = new PoolOptions()
             .setMaxSize(config.getInteger("pool_size", 10))
             .setIdleTimeout(config.getInteger("idle_timeout", 60))
-            .setPoolCleanerPeriod(config.getInteger("pool_cleaner_period", 60));
+            .setPoolCleanerPeriod(config.getInteger("pool_cleaner_period", 60))
+            // 여러 ApiVerticle 인스턴스가 공유하므로 커넥션을 각 event loop에 분산
+            .setEventLoopSize(eventLoopSize);
         
         return PgPool.pool(vertx, connectOptions, poolOptions);
     }
@@ -123,7 +173,7 @@ public class DefaultServiceFactory implements ServiceFactory {
     // ========== Repository 생성 메서드 (Lazy Initialization) ==========
     
     @Override
-    public UserRepository getUserRepository() {
+    public synchronized UserRepository getUserRepository() {
         if (userRepository == null) {
             userRepository = new UserRepository();
         }
@@ -131,7 +181,7 @@ public class DefaultServiceFactory implements ServiceFactory {
     }
     
     @Override
-    public AdminRepository getAdminRepository() {
+    public synchronized AdminRepository getAdminRepository() {
         if (adminRepository == null) {
             adminRepository = new AdminRepository();
         }
@@ -139,7 +189,7 @@ public class DefaultServiceFactory implements ServiceFactory {
     }
     
     @Override
-    public AdminMemberRepository getAdminMemberRepository() {
+    public synchronized AdminMemberRepository getAdminMemberRepository() {
         if (adminMemberRepository == null) {
             adminMemberRepository = new AdminMemberRepository(pool, getTronService());
         }
@@ -147,7 +197,7 @@ public class DefaultServiceFactory implements ServiceFactory {
     }
     
     @Override
-    public AdminMiningRepository getAdminMiningRepository() {
+    public synchronized AdminMiningRepository getAdminMiningRepository() {
         if (adminMiningRepository == null) {
             adminMiningRepository = new AdminMiningRepository(pool);
         }
@@ -155,7 +205,7 @@ public class DefaultServiceFactory implements ServiceFactory {
     }
     
     @Override
-    public AdminDashboardRepository getAdminDashboardRepository() {
+    public synchronized AdminDashboardRepository getAdminDashboardRepository() {
         if (adminDashboardRepository == null) {
             adminDashboardRepository = new AdminDashboardRepository();
         }
@@ -163,7 +213,7 @@ public class DefaultServiceFactory implements ServiceFactory {
     }
     
     @Override
-    public AdminFundsRepository getAdminFundsRepository() {
+    public synchronized AdminFundsRepository getAdminFundsRepository() {
         if (adminFundsRepository == null) {
             adminFundsRepository = new AdminFundsRepository();
         }
@@ -171,7 +221,7 @@ public class DefaultServiceFactory implements ServiceFactory {
     }
     
     @Override
-    public AdminReferralRepository getAdminReferralRepository() {
+    public synchronized AdminReferralRepository getAdminReferralRepository() {
         if (adminReferralRepository == null) {
             adminReferralRepository = new AdminReferralRepository();
         }
@@ -179,7 +229,7 @@ public class DefaultServiceFactory implements ServiceFactory {
     }
     
     @Override
-    public AdminAirdropRepository getAdminAirdropRepository() {
+    public synchronized AdminAirdropRepository getAdminAirdropRepository() {
         if (adminAirdropRepository == null) {
             adminAirdropRepository = new AdminAirdropRepository();
         }
@@ -187,30 +237,71 @@ public class DefaultServiceFactory implements ServiceFactory {
     }
     
     @Override
-    public CurrencyRepository getCurrencyRepository() {
+    public synchronized CurrencyRepository getCurrencyRepository() {
         if (currencyRepository == null) {
             currencyRepository = new CurrencyRepository();
         }
         return currencyRepository;
     }
     
+    @Override
+    public synchronized MiningEventRepository getMiningEventRepository() {
+        if (miningEventRepository == null) {
+            miningEventRepository = new MiningEventRepository();
+        }
+        return miningEventRepository;
+    }
+    
+    @Override
+    public synchronized MiningDailyLimitRepository getMiningDailyLimitRepository() {
+        if (miningDailyLimitRepository == null) {
+            miningDailyLimitRepository = new MiningDailyLimitRepository();
+        }
+        return miningDailyLimitRepository;
+    }
+    
+    @Override
+    public synchronized MiningLeaderboardRepository getMiningLeaderboardRepository() {
+        if (miningLeaderboardRepository == null) {
+            miningLeaderboardRepository = new MiningLeaderboardRepository();
+        }
+        return miningLeaderboardRepository;
+    }
+    
+    @Override
+    public synchronized RankingRewardPayoutRepository getRankingRewardPayoutRepository() {
+        if (rankingRewardPayoutRepository == null) {
+            rankingRewardPayoutRepository = new RankingRewardPayoutRepository();
+        }
+        return rankingRewardPayoutRepository;
+    }
+    
+    @Override
+    public synchronized ReferralRewardRepository getReferralRewardRepository() {
+        if (referralRewardRepository == null) {
+            referralRewardRepository = new ReferralRewardRepository();
+        }
+        return referralRewardRepository;
+    }
+    
     // ========== Service 생성 메서드 (Lazy Initialization) ==========
     
     @Override
-    public UserService getUserService() {
+    public synchronized UserService getUserService() {
         if (userService == null) {
             userService = new UserService(
                 pool,
                 getUserRepository(),
                 jwtAuth,
-                getJwtConfig()
+                getJwtConfig(),
+                getPasswordHashExecutor()
             );
         }
         return userService;
     }
     
     @Override
-    public AdminAuthService getAdminAuthService() {
+    public synchronized AdminAuthService getAdminAuthService() {
         if (adminAuthService == null) {
             RateLimiter rateLimiter = null; // Redis 연결 후 설정 필요
             adminAuthService = new AdminAuthService(
@@ -218,60 +309,97 @@ public class DefaultServiceFactory implements ServiceFactory {
                 getAdminRepository(),
                 jwtAuth,
                 getJwtConfig(),
-                rateLimiter
+                rateLimiter,
+                getPasswordHashExecutor()
             );
         }
         return adminAuthService;
     }
     
     @Override
-    public AdminDashboardService getAdminDashboardService() {
+    public synchronized AdminDashboardService getAdminDashboardService() {
         if (adminDashboardService == null) {
             adminDashboardService = new AdminDashboardService(
                 pool,
-                getAdminDashboardRepository()
+                getAdminDashboardRepository(),
+                getMiningLeaderboard()
             );
         }
         return adminDashboardService;
     }
     
     @Override
-    public AdminMemberService getAdminMemberService() {
+    public synchronized AdminMemberService getAdminMemberService() {
         if (adminMemberService == null) {
-            adminMemberService = new AdminMemberService(pool, getTronService());
+            adminMemberService = new AdminMemberService(
+                pool,
+                getTronService(),
+                getPasswordHashExecutor(),
+                getResultCache(),
+                vertx.eventBus()
+            );
         }
         return adminMemberService;
     }
     
     @Override
-    public AdminMiningService getAdminMiningService() {
+    public synchronized AdminMiningService getAdminMiningService() {
         if (adminMiningService == null) {
             adminMiningService = new AdminMiningService(
                 pool,
-                getAdminMiningRepository()
+                getAdminMiningRepository(),
+                vertx.eventBus(),
+                getResultCache()
             );
         }
         return adminMiningService;
     }
     
     @Override
-    public AdminFundsService getAdminFundsService() {
+    public synchronized MiningHistoryPartitionMaintenance getMiningHistoryPartitionMaintenance() {
+        if (miningHistoryPartitionMaintenance == null) {
+            miningHistoryPartitionMaintenance = MiningHistoryPartitionMaintenance.create(
+                pool,
+                getAdminMiningRepository(),
+                config
+            );
+        }
+        return miningHistoryPartitionMaintenance;
+    }
+    
+    @Override
+    public synchronized AdminFundsService getAdminFundsService() {
         if (adminFundsService == null) {
-            adminFundsService = new AdminFundsService(pool);
+            adminFundsService = new AdminFundsService(pool, getResultCache(), vertx.eventBus());
         }
         return adminFundsService;
     }
     
     @Override
-    public AdminReferralService getAdminReferralService() {
+    public synchronized AdminReferralService getAdminReferralService() {
         if (adminReferralService == null) {
-            adminReferralService = new AdminReferralService(pool);
+            adminReferralService = new AdminReferralService(
+                pool,
+                getAdminReferralRepository(),
+                new ReferralGraphIndex(vertx)
+            );
         }
         return adminReferralService;
     }
     
+    /**
+     * LISTEN 전용 연결 (풀과 별도)
+     */
+    @Override
+    public synchronized ReferralRelationListener getReferralRelationListener() {
+        if (referralRelationListener == null) {
+            referralRelationListener = new ReferralRelationListener(vertx, createConnectOptions(getDatabaseConfig()));
+        }
+        return referralRelationListener;
+    }
+    
     @Override
-    public AdminAirdropService getAdminAirdropService() {
+    public synchronized AdminAirdropService getAdminAirdropService() {
         if (adminAirdropService == null) {
             adminAirdropService = new AdminAirdropService(pool);
         }
@@ -279,18 +407,99 @@ public class DefaultServiceFactory implements ServiceFactory {
     }
     
     @Override
-    public CurrencyService getCurrencyService() {
+    public synchronized CurrencyService getCurrencyService() {
         if (currencyService == null) {
             currencyService = new CurrencyService(
                 pool,
-                getCurrencyRepository()
+                getCurrencyRepository(),
+                vertx.eventBus()
             );
         }
         return currencyService;
     }
     
     @Override
-    public TronService getTronService() {
+    public synchronized MiningEventIngestService getMiningEventIngestService() {
+        if (miningEventIngestService == null) {
+            miningEventIngestService = MiningEventIngestService.create(
+                vertx,
+                pool,
+                getMiningEventRepository(),
+                getMiningDailyLimiter(),
+                getMiningLeaderboard(),
+                config
+            );
+        }
+        return miningEventIngestService;
+    }
+    
+    /**
+     * Redis가 연결되지 않았으면 null (일일 채굴 한도 확인 없이 수집)
+     */
+    @Override
+    public synchronized MiningDailyLimiter getMiningDailyLimiter() {
+        if (miningDailyLimiter == null && redisApi != null) {
+            AdminMiningService miningService = getAdminMiningService();
+            miningDailyLimiter = MiningDailyLimiter.create(
+                pool,
+                redisApi,
+                getMiningDailyLimitRepository(),
+                miningService::getCachedMiningConditions,
+                config
+            );
+        }
+        return miningDailyLimiter;
+    }
+    
+    /**
+     * Redis가 연결되지 않았으면 null (대시보드 상위 회원은 SQL로 조회)
+     */
+    @Override
+    public synchronized MiningLeaderboard getMiningLeaderboard() {
+        if (miningLeaderboard == null && redisApi != null) {
+            miningLeaderboard = MiningLeaderboard.create(
+                pool,
+                redisApi,
+                getMiningLeaderboardRepository(),
+                config
+            );
+        }
+        return miningLeaderboard;
+    }
+    
+    @Override
+    public synchronized RankingRewardPayoutService getRankingRewardPayoutService() {
+        if (rankingRewardPayoutService == null) {
+            AdminMiningService miningService = getAdminMiningService();
+            rankingRewardPayoutService = RankingRewardPayoutService.create(
+                vertx,
+                pool,
+                getRankingRewardPayoutRepository(),
+                miningService::getRankingReward,
+                config
+            );
+        }
+        return rankingRewardPayoutService;
+    }
+    
+    @Override
+    public synchronized ReferralRewardDistributor getReferralRewardDistributor() {
+        if (referralRewardDistributor == null) {
+            AdminMiningService miningService = getAdminMiningService();
+            referralRewardDistributor = ReferralRewardDistributor.create(
+                vertx,
+                pool,
+                getReferralRewardRepository(),
+                miningService::getCachedReferralBonus,
+                getMiningLeaderboard(),
+                config
+            );
+        }
+        return referralRewardDistributor;
+    }
+    
+    @Override
+    public synchronized TronService getTronService() {
         if (tronService == null) {
             // config에서 tron-service URL 가져오기
             JsonObject tronConfig = config.getJsonObject("tron", new JsonObject());
@@ -300,6 +509,33 @@ public class DefaultServiceFactory implements ServiceFactory {
         return tronService;
     }
     
+    @Override
+    public synchronized PasswordHashExecutor getPasswordHashExecutor() {
+        if (passwordHashExecutor == null) {
+            passwordHashExecutor = PasswordHashExecutor.create(config);
+        }
+        return passwordHashExecutor;
+    }
+    
+    @Override
+    public synchronized ExportJobManager getExportJobManager() {
+        if (exportJobManager == null) {
+            exportJobManager = ExportJobManager.create(vertx, config);
+        }
+        return exportJobManager;
+    }
+    
+    @Override
+    public synchronized ResultCache getResultCache() {
+        if (resultCache == null) {
+            // 워터마크로 감지하지 못하는 변경은 다른 노드의 변경 알림으로 무효화
+            resultCache = ResultCache.create(config)
+                .invalidateOn(vertx.eventBus(), EventChannels.MEMBERS, "members", "member_mining_history")
+                .invalidateOn(vertx.eventBus(), EventChannels.WALLETS, "withdrawal_requests", "transaction_history");
+        }
+        return resultCache;
+    }
+    
     // ========== Handler 생성 메서드 ==========
     
     @Override
@@ -332,7 +568,9 @@ public class DefaultServiceFactory implements ServiceFactory {
     public AdminMemberHandler getAdminMemberHandler(Vertx vertx) {
         return new AdminMemberHandler(
             vertx,
-            getAdminMemberService()
+            getAdminMemberService(),
+            jwtAuth,
+            getExportJobManager()
         );
     }
     
@@ -340,7 +578,10 @@ public class DefaultServiceFactory implements ServiceFactory {
     public AdminMiningHandler getAdminMiningHandler(Vertx vertx) {
         return new AdminMiningHandler(
             vertx,
-            getAdminMiningService()
+            getAdminMiningService(),
+            getMiningLeaderboard(),
+            jwtAuth,
+            getExportJobManager()
         );
     }
     
@@ -349,7 +590,8 @@ public class DefaultServiceFactory implements ServiceFactory {
         return new AdminFundsHandler(
             vertx,
             getAdminFundsService(),
-            jwtAuth
+            jwtAuth,
+            getExportJobManager()
         );
     }
     
@@ -358,10 +600,32 @@ public class DefaultServiceFactory implements ServiceFactory {
         return new AdminReferralHandler(
             vertx,
             getAdminReferralService(),
+            jwtAuth,
+            getExportJobManager()
+        );
+    }
+    
+    @Override
+    public AdminExportJobHandler getAdminExportJobHandler(Vertx vertx) {
+        return new AdminExportJobHandler(
+            vertx,
+            getExportJobManager(),
             jwtAuth
         );
     }
     
+    @Override
+    public AdminMetricsHandler getAdminMetricsHandler(Vertx vertx) {
+        return new AdminMetricsHandler(
+            vertx,
+            jwtAuth,
+            getPasswordHashExecutor(),
+            getResultCache(),
+            getMiningEventIngestService(),
+            getReferralRewardDistributor()
+        );
+    }
+    
     @Override
     public AdminAirdropHandler getAdminAirdropHandler(Vertx vertx) {
         return new AdminAirdropHandler(
@@ -379,6 +643,16 @@ public class DefaultServiceFactory implements ServiceFactory {
         );
     }
     
+    @Override
+    public MiningEventHandler getMiningEventHandler(Vertx vertx) {
+        JsonArray apiKeys = config.getJsonObject("mining_ingest", new JsonObject()).getJsonArray("api_keys", new JsonArray());
+        return new MiningEventHandler(
+            vertx,
+            getMiningEventIngestService(),
+            apiKeys.stream().map(String::valueOf).toList()
+        );
+    }
+    
     // ========== Utility 생성 메서드 ==========
     
     @Override
@@ -389,8 +663,13 @@ public class DefaultServiceFactory implements ServiceFactory {
         return new RateLimiter(redisApi);
     }
     
+    // Redis를 사용하는 서비스(MiningDailyLimiter, MiningLeaderboard)를 위한 연결 설정 (서비스 생성 전에 호출)
+    public synchronized void setRedisApi(RedisAPI redisApi) {
+        this.redisApi = redisApi;
+    }
+    
     // AdminAuthService의 RateLimiter 설정을 위한 메서드
-    public void setAdminAuthServiceRateLimiter(RateLimiter rateLimiter) {
+    public synchronized void setAdminAuthServiceRateLimiter(RateLimiter rateLimiter) {
         // RateLimiter는 생성 시점에 설정되어야 하므로 재생성 필요
         // 또는 AdminAuthService에 setter 추가 필요
         // 현재는 생성자에서만 설정 가능하므로 재생성
@@ -399,7 +678,8 @@ public class DefaultServiceFactory implements ServiceFactory {
             getAdminRepository(),
             jwtAuth,
             getJwtConfig(),
-            rateLimiter
+            rateLimiter,
+            getPasswordHashExecutor()
         );
     }
 }
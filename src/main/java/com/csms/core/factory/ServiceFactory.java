@@ -3,10 +3,24 @@ package com.csms.core.factory;
 import com.csms.admin.handler.*;
 import com.csms.admin.repository.*;
 import com.csms.admin.service.*;
+import com.csms.common.export.ExportJobManager;
+import com.csms.common.service.ResultCache;
+import com.csms.common.utils.PasswordHashExecutor;
 import com.csms.common.utils.RateLimiter;
 import com.csms.currency.handler.CurrencyHandler;
 import com.csms.currency.repository.CurrencyRepository;
 import com.csms.currency.service.CurrencyService;
+import com.csms.mining.handler.MiningEventHandler;
+import com.csms.mining.repository.MiningDailyLimitRepository;
+import com.csms.mining.repository.MiningEventRepository;
+import com.csms.mining.repository.MiningLeaderboardRepository;
+import com.csms.mining.repository.RankingRewardPayoutRepository;
+import com.csms.mining.repository.ReferralRewardRepository;
+import com.csms.mining.service.MiningDailyLimiter;
+import com.csms.mining.service.MiningEventIngestService;
+import com.csms.mining.service.MiningLeaderboard;
+import com.csms.mining.service.RankingRewardPayoutService;
+import com.csms.mining.service.ReferralRewardDistributor;
 import com.csms.common.service.TronService;
 import com.csms.user.handler.UserHandler;
 import com.csms.user.repository.UserRepository;
@@ -61,6 +75,16 @@ public interface ServiceFactory {
     
     CurrencyRepository getCurrencyRepository();
     
+    MiningEventRepository getMiningEventRepository();
+    
+    MiningDailyLimitRepository getMiningDailyLimitRepository();
+    
+    MiningLeaderboardRepository getMiningLeaderboardRepository();
+    
+    RankingRewardPayoutRepository getRankingRewardPayoutRepository();
+    
+    ReferralRewardRepository getReferralRewardRepository();
+    
     // ========== Service 생성 메서드 ==========
     
     UserService getUserService();
@@ -73,16 +97,36 @@ public interface ServiceFactory {
     
     AdminMiningService getAdminMiningService();
     
+    MiningHistoryPartitionMaintenance getMiningHistoryPartitionMaintenance();
+    
     AdminFundsService getAdminFundsService();
     
     AdminReferralService getAdminReferralService();
     
+    ReferralRelationListener getReferralRelationListener();
+    
     AdminAirdropService getAdminAirdropService();
     
     CurrencyService getCurrencyService();
     
+    MiningEventIngestService getMiningEventIngestService();
+    
+    MiningDailyLimiter getMiningDailyLimiter();
+    
+    MiningLeaderboard getMiningLeaderboard();
+    
+    RankingRewardPayoutService getRankingRewardPayoutService();
+    
+    ReferralRewardDistributor getReferralRewardDistributor();
+    
     TronService getTronService();
     
+    PasswordHashExecutor getPasswordHashExecutor();
+    
+    ExportJobManager getExportJobManager();
+    
+    ResultCache getResultCache();
+    
     // ========== Handler 생성 메서드 ==========
     
     UserHandler getUserHandler(Vertx vertx);
@@ -99,10 +143,16 @@ public interface ServiceFactory {
     
     AdminReferralHandler getAdminReferralHandler(Vertx vertx);
     
+    AdminExportJobHandler getAdminExportJobHandler(Vertx vertx);
+    
+    AdminMetricsHandler getAdminMetricsHandler(Vertx vertx);
+    
     AdminAirdropHandler getAdminAirdropHandler(Vertx vertx);
     
     CurrencyHandler getCurrencyHandler(Vertx vertx);
     
+    MiningEventHandler getMiningEventHandler(Vertx vertx);
+    
     // ========== Utility 생성 메서드 ==========
     
     RateLimiter getRateLimiter(RedisAPI redisApi);
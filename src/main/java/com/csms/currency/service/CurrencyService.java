@@ -1,24 +1,67 @@
 package com.csms.currency.service;
 
+import com.csms.common.event.EventChannels;
 import com.csms.common.service.BaseService;
 import com.csms.currency.entities.Currency;
 import com.csms.currency.repository.CurrencyRepository;
 import io.vertx.core.Future;
+import io.vertx.core.eventbus.EventBus;
 import io.vertx.pgclient.PgPool;
+import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
+@Slf4j
 public class CurrencyService extends BaseService {
     
+    // 변경 알림을 놓친 경우를 대비한 활성 통화 목록 최대 유지 시간
+    private static final long ACTIVE_CURRENCIES_MAX_AGE_MS = 60_000L;
+    
     private final CurrencyRepository currencyRepository;
+    private final AtomicReference<CachedCurrencies> activeCurrencies = new AtomicReference<>(CachedCurrencies.empty());
+    private final boolean cacheEnabled;
     
     public CurrencyService(PgPool pool, CurrencyRepository currencyRepository) {
+        this(pool, currencyRepository, null);
+    }
+    
+    /**
+     * @param eventBus 통화 변경 알림(EventChannels.CURRENCIES) 구독용 (null이면 캐시하지 않음)
+     */
+    public CurrencyService(PgPool pool, CurrencyRepository currencyRepository, EventBus eventBus) {
         super(pool);
         this.currencyRepository = currencyRepository;
+        this.cacheEnabled = eventBus != null;
+        if (eventBus != null) {
+            eventBus.consumer(EventChannels.localAddress(EventChannels.CURRENCIES), message -> {
+                activeCurrencies.set(CachedCurrencies.empty());
+                log.info("Active currencies cache invalidated");
+            });
+        }
     }
     
     public Future<List<Currency>> getActiveCurrencies() {
-        return currencyRepository.getActiveCurrencies(pool);
+        if (!cacheEnabled) {
+            return currencyRepository.getActiveCurrencies(pool);
+        }
+        CachedCurrencies cached = activeCurrencies.get();
+        if (cached.currencies() != null && System.currentTimeMillis() - cached.loadedAt() < ACTIVE_CURRENCIES_MAX_AGE_MS) {
+            return Future.succeededFuture(cached.currencies());
+        }
+        long loadedAt = System.currentTimeMillis();
+        return currencyRepository.getActiveCurrencies(pool)
+            .onSuccess(currencies -> {
+                CachedCurrencies loaded = new CachedCurrencies(List.copyOf(currencies), loadedAt);
+                // 조회 중 무효화되어 교체되었다면 이전 값은 저장하지 않음
+                activeCurrencies.compareAndSet(cached, loaded);
+            });
+    }
+    
+    // compareAndSet은 참조로 비교하므로 무효화할 때마다 새 인스턴스를 사용
+    private record CachedCurrencies(List<Currency> currencies, long loadedAt) {
+        static CachedCurrencies empty() {
+            return new CachedCurrencies(null, 0L);
+        }
     }
 }
-
@@ -0,0 +1,20 @@
+package com.csms.mining.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 랭킹(리더보드) 항목
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntryDto {
+    private Long rank;  // 1부터 시작
+    private Long userId;
+    private String nickname;
+    private Double score;  // 채굴 랭킹: 채굴량(전체 유형 합계), 추천 랭킹: 팀원 수
+}
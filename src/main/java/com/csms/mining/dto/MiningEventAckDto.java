@@ -0,0 +1,42 @@
+package com.csms.mining.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 채굴 이벤트 1건의 처리 결과 (요청 순서와 같은 순서로 응답)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MiningEventAckDto {
+    
+    public static final String CREATED = "CREATED";
+    public static final String DUPLICATE = "DUPLICATE";
+    public static final String REJECTED = "REJECTED";
+    public static final String FAILED = "FAILED";
+    
+    private String idempotencyKey;
+    private String status;  // CREATED, DUPLICATE(이미 처리됨), REJECTED(재전송 불필요), FAILED(같은 키로 재전송)
+    private Long miningHistoryId;
+    private String message;
+    
+    public static MiningEventAckDto created(String idempotencyKey, Long miningHistoryId) {
+        return new MiningEventAckDto(idempotencyKey, CREATED, miningHistoryId, null);
+    }
+    
+    public static MiningEventAckDto duplicate(String idempotencyKey, Long miningHistoryId) {
+        return new MiningEventAckDto(idempotencyKey, DUPLICATE, miningHistoryId, null);
+    }
+    
+    public static MiningEventAckDto rejected(String idempotencyKey, String message) {
+        return new MiningEventAckDto(idempotencyKey, REJECTED, null, message);
+    }
+    
+    public static MiningEventAckDto failed(String idempotencyKey, String message) {
+        return new MiningEventAckDto(idempotencyKey, FAILED, null, message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.csms.mining.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class MiningEventBatchRequestDto {
+    private List<MiningEventDto> events;
+}
@@ -0,0 +1,20 @@
+package com.csms.mining.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MiningEventBatchResultDto {
+    private List<MiningEventAckDto> acks;
+    private Integer created;
+    private Integer duplicate;
+    private Integer rejected;
+    private Integer failed;
+}
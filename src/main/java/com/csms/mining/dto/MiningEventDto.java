@@ -0,0 +1,26 @@
+package com.csms.mining.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 외부 서비스가 보내는 채굴 이벤트 1건 (mining_history 1행)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MiningEventDto {
+    private String idempotencyKey;  // 발신 서비스에서 전역 유일 (예: "broadcast:12345"), 재전송 시 같은 값
+    private Long userId;
+    private String type;  // BROADCAST_PROGRESS, BROADCAST_WATCH, REFERRAL_REWARD
+    private BigDecimal amount;
+    private Integer level;  // 없으면 현재 회원 레벨
+    private Integer efficiency;
+    private LocalDateTime occurredAt;  // 없으면 수신 시간
+}
@@ -0,0 +1,88 @@
+package com.csms.mining.handler;
+
+import com.csms.common.exceptions.BadRequestException;
+import com.csms.common.exceptions.UnauthorizedException;
+import com.csms.common.handler.BaseHandler;
+import com.csms.mining.dto.MiningEventBatchRequestDto;
+import com.csms.mining.service.MiningEventIngestService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * 채굴 이벤트 수집 API (서비스 간 호출)
+ * 발신 서비스는 X-Api-Key 헤더로 인증하며, mining_ingest.api_keys가 비어 있으면 모든 요청을 거절합니다.
+ */
+@Slf4j
+public class MiningEventHandler extends BaseHandler {
+    
+    private static final String API_KEY_HEADER = "X-Api-Key";
+    // 요청마다 생성하지 않도록 재사용 (금액은 BigDecimal로 그대로 읽음)
+    private static final ObjectMapper OBJECT_MAPPER = getObjectMapper();
+    
+    private final MiningEventIngestService ingestService;
+    private final List<byte[]> apiKeys;
+    
+    public MiningEventHandler(Vertx vertx, MiningEventIngestService ingestService, List<String> apiKeys) {
+        super(vertx);
+        this.ingestService = ingestService;
+        this.apiKeys = apiKeys.stream()
+            .filter(key -> key != null && !key.isBlank())
+            .map(key -> key.getBytes(StandardCharsets.UTF_8))
+            .toList();
+    }
+    
+    @Override
+    public Router getRouter() {
+        Router router = Router.router(getVertx());
+        
+        router.route().handler(this::authenticate);
+        
+        router.post("/events").handler(this::ingestEvents);
+        
+        return router;
+    }
+    
+    private void authenticate(RoutingContext ctx) {
+        String apiKey = ctx.request().getHeader(API_KEY_HEADER);
+        if (apiKey == null || !matchesApiKey(apiKey.getBytes(StandardCharsets.UTF_8))) {
+            throw new UnauthorizedException("유효한 API 키가 필요합니다.");
+        }
+        ctx.next();
+    }
+    
+    private boolean matchesApiKey(byte[] apiKey) {
+        boolean matched = false;
+        for (byte[] key : apiKeys) {
+            // 상수 시간 비교
+            matched |= MessageDigest.isEqual(key, apiKey);
+        }
+        return matched;
+    }
+    
+    /**
+     * 채굴 이벤트 묶음 수집 - 이벤트별 결과(acks)를 요청 순서대로 응답
+     */
+    private void ingestEvents(RoutingContext ctx) {
+        MiningEventBatchRequestDto request;
+        try {
+            Buffer body = ctx.body().buffer();
+            if (body == null || body.length() == 0) {
+                throw new BadRequestException("요청 본문이 비어 있습니다.");
+            }
+            request = OBJECT_MAPPER.readValue(body.getBytes(), MiningEventBatchRequestDto.class);
+        } catch (IOException e) {
+            throw new BadRequestException("요청 형식이 올바르지 않습니다: " + e.getOriginalMessage());
+        }
+        
+        response(ctx, ingestService.ingest(request.getEvents()));
+    }
+}
@@ -0,0 +1,72 @@
+package com.csms.mining.repository;
+
+import com.csms.common.repository.BaseRepository;
+import io.vertx.core.Future;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.SqlClient;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class MiningDailyLimitRepository extends BaseRepository {
+    
+    /**
+     * 회원 레벨 조회 (탈퇴 회원 제외)
+     * @return 회원 ID별 레벨
+     */
+    public Future<Map<Long, Integer>> getUserLevels(SqlClient client, List<Long> userIds) {
+        String sql = """
+            SELECT id, level
+            FROM users
+            WHERE id = ANY(:user_ids::bigint[])
+            AND deleted_at IS NULL
+            """;
+        
+        Map<String, Object> params = new HashMap<>();
+        params.put("user_ids", userIds.toArray(new Long[0]));
+        
+        return query(client, sql, params)
+            .map(rows -> {
+                Map<Long, Integer> levels = new HashMap<>(rows.size() * 2);
+                for (Row row : rows) {
+                    levels.put(getLong(row, "id"), getInteger(row, "level"));
+                }
+                return levels;
+            });
+    }
+    
+    /**
+     * 날짜별 회원 채굴량 중 일일 한도 대상(방송 진행/시청) 합계를 회원 ID 순으로 조회
+     * daily_mining은 mining_history 트리거로 유지되므로 커밋된 채굴 내역과 일치합니다.
+     * @param afterUserId 이전 페이지의 마지막 회원 ID (처음이면 0)
+     * @return 회원 ID 순 회원별 채굴량
+     */
+    public Future<Map<Long, BigDecimal>> getDailyLimitedAmounts(SqlClient client, LocalDate miningDate, long afterUserId, int limit) {
+        String sql = """
+            SELECT user_id, broadcast_progress_amount + broadcast_watch_amount as limited_amount
+            FROM daily_mining
+            WHERE mining_date = :mining_date
+            AND user_id > :after_user_id
+            ORDER BY user_id
+            LIMIT :limit
+            """;
+        
+        Map<String, Object> params = new HashMap<>();
+        params.put("mining_date", miningDate);
+        params.put("after_user_id", afterUserId);
+        params.put("limit", limit);
+        
+        return query(client, sql, params)
+            .map(rows -> {
+                Map<Long, BigDecimal> amounts = new LinkedHashMap<>(rows.size() * 2);
+                for (Row row : rows) {
+                    amounts.put(getLong(row, "user_id"), getBigDecimal(row, "limited_amount"));
+                }
+                return amounts;
+            });
+    }
+}
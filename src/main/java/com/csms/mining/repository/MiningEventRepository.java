@@ -0,0 +1,180 @@
+package com.csms.mining.repository;
+
+import com.csms.common.repository.BaseRepository;
+import com.csms.mining.dto.MiningEventAckDto;
+import com.csms.mining.dto.MiningEventDto;
+import io.vertx.core.Future;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.SqlClient;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class MiningEventRepository extends BaseRepository {
+    
+    /**
+     * 채굴 이벤트 묶음을 한 번의 문장으로 저장 (컬럼별 배열 + unnest)
+     * - 이미 처리된 키(mining_event_keys)는 건너뛰고 기존 mining_history_id를 반환
+     * - 탈퇴/없는 회원의 이벤트는 저장하지 않음
+     * - 동시 묶음 간 교착을 피하도록 키/회원 순서로 잠금 (회원별 집계 트리거가 같은 행을 갱신)
+     * - 누적 채굴량은 행 단위 트리거가 (created_at, id) 순서로 계산하므로 같은 회원의 여러 이벤트도 각각 누적됨
+     * - 다른 묶음이 같은 키를 동시에 선점한 경우 문장 스냅샷에서는 키가 보이지 않으므로, 커밋된 키를 다시 조회하여 채움
+     * - 교착 상태로 취소되면 문장 전체가 롤백되므로 다시 실행 (client는 트랜잭션이 아닌 풀)
+     * @param events 검증되고 occurredAt이 채워진 이벤트 (키 중복 없음)
+     * @return 키별 처리 결과
+     */
+    public Future<Map<String, MiningEventAckDto>> insertEvents(SqlClient client, List<MiningEventDto> events) {
+        String sql = """
+            WITH input AS (
+                SELECT DISTINCT ON (e.idempotency_key)
+                    e.idempotency_key, e.user_id, e.type, CAST(e.amount AS DECIMAL(36, 18)) as amount,
+                    e.level, e.efficiency, e.created_at
+                FROM unnest(
+                    :idempotency_keys::varchar[], :user_ids::bigint[], :types::varchar[], :amounts::text[],
+                    :levels::int[], :efficiencies::int[], :created_ats::timestamp[]
+                ) AS e(idempotency_key, user_id, type, amount, level, efficiency, created_at)
+                ORDER BY e.idempotency_key
+            ),
+            valid AS (
+                SELECT i.*, COALESCE(i.level, u.level) as resolved_level
+                FROM input i
+                INNER JOIN users u ON u.id = i.user_id AND u.deleted_at IS NULL
+            ),
+            claimed AS (
+                INSERT INTO mining_event_keys (idempotency_key, mining_history_id, created_at)
+                SELECT idempotency_key, nextval('mining_history_id_seq'), created_at
+                FROM valid
+                ORDER BY idempotency_key
+                ON CONFLICT (idempotency_key) DO NOTHING
+                RETURNING idempotency_key, mining_history_id
+            ),
+            inserted AS (
+                INSERT INTO mining_history (id, user_id, level, amount, type, efficiency, created_at)
+                SELECT c.mining_history_id, v.user_id, v.resolved_level, v.amount, v.type, v.efficiency, v.created_at
+                FROM claimed c
+                INNER JOIN valid v ON v.idempotency_key = c.idempotency_key
+                ORDER BY v.user_id, v.created_at, c.mining_history_id
+                RETURNING id
+            )
+            SELECT
+                i.idempotency_key,
+                CASE
+                    WHEN c.idempotency_key IS NOT NULL THEN 'CREATED'
+                    WHEN k.idempotency_key IS NULL AND v.idempotency_key IS NULL THEN 'REJECTED'
+                    ELSE 'DUPLICATE'
+                END as status,
+                COALESCE(c.mining_history_id, k.mining_history_id) as mining_history_id
+            FROM input i
+            LEFT JOIN valid v ON v.idempotency_key = i.idempotency_key
+            LEFT JOIN claimed c ON c.idempotency_key = i.idempotency_key
+            LEFT JOIN mining_event_keys k ON k.idempotency_key = i.idempotency_key
+            """;
+        
+        int size = events.size();
+        String[] keys = new String[size];
+        Long[] userIds = new Long[size];
+        String[] types = new String[size];
+        String[] amounts = new String[size];
+        Integer[] levels = new Integer[size];
+        Integer[] efficiencies = new Integer[size];
+        LocalDateTime[] createdAts = new LocalDateTime[size];
+        for (int i = 0; i < size; i++) {
+            MiningEventDto event = events.get(i);
+            keys[i] = event.getIdempotencyKey();
+            userIds[i] = event.getUserId();
+            types[i] = event.getType();
+            amounts[i] = event.getAmount().toPlainString();
+            levels[i] = event.getLevel();
+            efficiencies[i] = event.getEfficiency();
+            createdAts[i] = event.getOccurredAt();
+        }
+        
+        Map<String, Object> params = new HashMap<>();
+        params.put("idempotency_keys", keys);
+        params.put("user_ids", userIds);
+        params.put("types", types);
+        params.put("amounts", amounts);
+        params.put("levels", levels);
+        params.put("efficiencies", efficiencies);
+        params.put("created_ats", createdAts);
+        
+        return retryOnDeadlock(() -> query(client, sql, params))
+            .map(rows -> {
+                Map<String, MiningEventAckDto> acks = new HashMap<>(rows.size() * 2);
+                for (Row row : rows) {
+                    String key = getString(row, "idempotency_key");
+                    Long miningHistoryId = getLong(row, "mining_history_id");
+                    acks.put(key, switch (getString(row, "status")) {
+                        case MiningEventAckDto.CREATED -> MiningEventAckDto.created(key, miningHistoryId);
+                        case MiningEventAckDto.REJECTED -> MiningEventAckDto.rejected(key, "존재하지 않는 회원입니다.");
+                        default -> MiningEventAckDto.duplicate(key, miningHistoryId);
+                    });
+                }
+                return acks;
+            })
+            .compose(acks -> fillConcurrentDuplicates(client, acks));
+    }
+    
+    /**
+     * 동시에 선점된 키(DUPLICATE인데 mining_history_id가 없는 키)의 mining_history_id를 다시 조회
+     * ON CONFLICT는 선점한 트랜잭션이 끝날 때까지 기다리므로, 문장이 끝난 뒤에는 커밋된 키를 읽을 수 있음
+     */
+    private Future<Map<String, MiningEventAckDto>> fillConcurrentDuplicates(SqlClient client, Map<String, MiningEventAckDto> acks) {
+        List<String> missing = new ArrayList<>();
+        acks.forEach((key, ack) -> {
+            if (MiningEventAckDto.DUPLICATE.equals(ack.getStatus()) && ack.getMiningHistoryId() == null) {
+                missing.add(key);
+            }
+        });
+        if (missing.isEmpty()) {
+            return Future.succeededFuture(acks);
+        }
+        return findEventKeys(client, missing)
+            .map(existing -> {
+                existing.forEach((key, miningHistoryId) -> acks.put(key, MiningEventAckDto.duplicate(key, miningHistoryId)));
+                return acks;
+            });
+    }
+    
+    /**
+     * 이미 처리된 멱등성 키 조회
+     * @return 키별 mining_history_id (없는 키는 포함하지 않음)
+     */
+    public Future<Map<String, Long>> findEventKeys(SqlClient client, List<String> idempotencyKeys) {
+        String sql = """
+            SELECT idempotency_key, mining_history_id
+            FROM mining_event_keys
+            WHERE idempotency_key = ANY(:idempotency_keys::varchar[])
+            """;
+        
+        Map<String, Object> params = new HashMap<>();
+        params.put("idempotency_keys", idempotencyKeys.toArray(new String[0]));
+        
+        return query(client, sql, params)
+            .map(rows -> {
+                Map<String, Long> keys = new HashMap<>(rows.size() * 2);
+                for (Row row : rows) {
+                    keys.put(getString(row, "idempotency_key"), getLong(row, "mining_history_id"));
+                }
+                return keys;
+            });
+    }
+    
+    /**
+     * before 이전에 수신한 멱등성 키를 최대 batchSize개 삭제
+     * @return 삭제한 키 수
+     */
+    public Future<Integer> pruneIdempotencyKeys(SqlClient client, LocalDateTime before, int batchSize) {
+        String sql = "SELECT prune_mining_event_keys(:before, :batch_size) as pruned_count";
+        
+        Map<String, Object> params = new HashMap<>();
+        params.put("before", before);
+        params.put("batch_size", batchSize);
+        
+        return query(client, sql, params)
+            .map(rows -> rows.size() > 0 ? getInteger(rows.iterator().next(), "pruned_count") : 0);
+    }
+}
@@ -0,0 +1,211 @@
+package com.csms.mining.repository;
+
+import com.csms.common.repository.BaseRepository;
+import io.vertx.core.Future;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlClient;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 랭킹(MiningLeaderboard) 재구축/동기화용 조회
+ * 재구축은 원본 대신 집계 프로젝션(user_mining_totals, daily_mining, referral_stats_logs)을 회원 ID 순으로 나누어 읽습니다.
+ */
+public class MiningLeaderboardRepository extends BaseRepository {
+    
+    /**
+     * DB에서 순위를 매길 때의 동점 순서 (ORDER BY 점수 DESC 뒤에 붙임)
+     * Redis 보드는 같은 점수면 member(회원 ID 문자열)를 바이트 순으로 비교하고 ZREVRANGE가 이를 뒤집으므로
+     * 회원 ID 문자열 내림차순("C" collation)이 보드의 순위와 같습니다.
+     * @param userIdColumn 회원 ID 컬럼 (예: "user_id", "u.id")
+     */
+    public static String rankTieBreak(String userIdColumn) {
+        return "CAST(" + userIdColumn + " AS TEXT) COLLATE \"C\" DESC";
+    }
+    
+    /**
+     * 회원 국가 코드 조회 (탈퇴 회원, 국가 코드가 없는 회원은 포함하지 않음)
+     */
+    public Future<Map<Long, String>> getUserCountryCodes(SqlClient client, List<Long> userIds) {
+        String sql = """
+            SELECT id, country_code
+            FROM users
+            WHERE id = ANY(:user_ids::bigint[])
+            AND deleted_at IS NULL
+            AND country_code IS NOT NULL
+            """;
+        
+        Map<String, Object> params = new HashMap<>();
+        params.put("user_ids", userIds.toArray(new Long[0]));
+        
+        return query(client, sql, params)
+            .map(rows -> {
+                Map<Long, String> countryCodes = new HashMap<>(rows.size() * 2);
+                for (Row row : rows) {
+                    countryCodes.put(getLong(row, "id"), getString(row, "country_code"));
+                }
+                return countryCodes;
+            });
+    }
+    
+    /**
+     * 회원 닉네임(login_id) 조회 (탈퇴 회원은 포함하지 않음)
+     */
+    public Future<Map<Long, String>> getUserNicknames(SqlClient client, List<Long> userIds) {
+        String sql = """
+            SELECT id, login_id
+            FROM users
+            WHERE id = ANY(:user_ids::bigint[])
+            AND deleted_at IS NULL
+            """;
+        
+        Map<String, Object> params = new HashMap<>();
+        params.put("user_ids", userIds.toArray(new Long[0]));
+        
+        return query(client, sql, params)
+            .map(rows -> {
+                Map<Long, String> nicknames = new HashMap<>(rows.size() * 2);
+                for (Row row : rows) {
+                    nicknames.put(getLong(row, "id"), getString(row, "login_id"));
+                }
+                return nicknames;
+            });
+    }
+    
+    /**
+     * 회원별 누적 채굴량 (채굴 + 레퍼럴 수익) - 회원 ID 순
+     * @param afterUserId 이전 페이지의 마지막 회원 ID (처음이면 0)
+     */
+    public Future<List<UserScore>> getAllTimeMiningScores(SqlClient client, long afterUserId, int limit) {
+        String sql = """
+            SELECT umt.user_id, u.country_code, umt.mined_amount + umt.referral_revenue as score
+            FROM user_mining_totals umt
+            INNER JOIN users u ON u.id = umt.user_id
+            WHERE umt.user_id > :after_user_id
+            AND u.deleted_at IS NULL
+            AND umt.mined_amount + umt.referral_revenue > 0
+            ORDER BY umt.user_id
+            LIMIT :limit
+            """;
+        
+        Map<String, Object> params = new HashMap<>();
+        params.put("after_user_id", afterUserId);
+        params.put("limit", limit);
+        
+        return query(client, sql, params).map(this::toUserScores);
+    }
+    
+    /**
+     * 기간(from ~ to, 양 끝 포함) 회원별 채굴량 (daily_mining 합계) - 회원 ID 순
+     * @param afterUserId 이전 페이지의 마지막 회원 ID (처음이면 0)
+     */
+    public Future<List<UserScore>> getPeriodMiningScores(SqlClient client, LocalDate from, LocalDate to, long afterUserId, int limit) {
+        String sql = """
+            SELECT dm.user_id, u.country_code, SUM(dm.mining_amount) as score
+            FROM daily_mining dm
+            INNER JOIN users u ON u.id = dm.user_id
+            WHERE dm.mining_date BETWEEN :from_date AND :to_date
+            AND dm.user_id > :after_user_id
+            AND u.deleted_at IS NULL
+            GROUP BY dm.user_id, u.country_code
+            HAVING SUM(dm.mining_amount) > 0
+            ORDER BY dm.user_id
+            LIMIT :limit
+            """;
+        
+        Map<String, Object> params = new HashMap<>();
+        params.put("from_date", from);
+        params.put("to_date", to);
+        params.put("after_user_id", afterUserId);
+        params.put("limit", limit);
+        
+        return query(client, sql, params).map(this::toUserScores);
+    }
+    
+    /**
+     * 회원별 팀원 수 (referral_stats_logs.team_count) - 회원 ID 순
+     * @param afterUserId 이전 페이지의 마지막 회원 ID (처음이면 0)
+     */
+    public Future<List<UserScore>> getReferralTeamCounts(SqlClient client, long afterUserId, int limit) {
+        String sql = """
+            SELECT rsl.user_id, u.country_code, CAST(rsl.team_count AS DECIMAL) as score
+            FROM referral_stats_logs rsl
+            INNER JOIN users u ON u.id = rsl.user_id
+            WHERE rsl.user_id > :after_user_id
+            AND u.deleted_at IS NULL
+            AND rsl.team_count > 0
+            ORDER BY rsl.user_id
+            LIMIT :limit
+            """;
+        
+        Map<String, Object> params = new HashMap<>();
+        params.put("after_user_id", afterUserId);
+        params.put("limit", limit);
+        
+        return query(client, sql, params).map(this::toUserScores);
+    }
+    
+    /**
+     * since 이후 변경된 팀원 수 - (updated_at, user_id) 순, 키셋 페이지
+     * 탈퇴 회원도 포함하여 랭킹에서 제거할 수 있도록 합니다 (팀원 수 0으로 반환).
+     * @param afterUpdatedAt 이전 페이지의 마지막 행 (처음이면 since)
+     * @param afterUserId 이전 페이지의 마지막 회원 ID (처음이면 0)
+     */
+    public Future<List<TeamCountChange>> getReferralTeamCountChanges(SqlClient client, LocalDateTime afterUpdatedAt,
+                                                                    long afterUserId, int limit) {
+        String sql = """
+            SELECT
+                rsl.user_id,
+                CASE WHEN u.deleted_at IS NULL THEN rsl.team_count ELSE 0 END as team_count,
+                rsl.updated_at
+            FROM referral_stats_logs rsl
+            INNER JOIN users u ON u.id = rsl.user_id
+            WHERE (rsl.updated_at, rsl.user_id) > (:after_updated_at, :after_user_id)
+            ORDER BY rsl.updated_at, rsl.user_id
+            LIMIT :limit
+            """;
+        
+        Map<String, Object> params = new HashMap<>();
+        params.put("after_updated_at", afterUpdatedAt);
+        params.put("after_user_id", afterUserId);
+        params.put("limit", limit);
+        
+        return query(client, sql, params)
+            .map(rows -> {
+                List<TeamCountChange> changes = new ArrayList<>(rows.size());
+                for (Row row : rows) {
+                    changes.add(new TeamCountChange(
+                        getLong(row, "user_id"),
+                        getInteger(row, "team_count"),
+                        getLocalDateTime(row, "updated_at")
+                    ));
+                }
+                return changes;
+            });
+    }
+    
+    private List<UserScore> toUserScores(RowSet<Row> rows) {
+        List<UserScore> scores = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            scores.add(new UserScore(
+                getLong(row, "user_id"),
+                getString(row, "country_code"),
+                getBigDecimal(row, "score")
+            ));
+        }
+        return scores;
+    }
+    
+    public record UserScore(Long userId, String countryCode, BigDecimal score) {
+    }
+    
+    public record TeamCountChange(Long userId, Integer teamCount, LocalDateTime updatedAt) {
+    }
+}
@@ -0,0 +1,226 @@
+package com.csms.mining.repository;
+
+import com.csms.common.repository.BaseRepository;
+import io.vertx.core.Future;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.SqlClient;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 랭킹 보상 지급 (ranking_reward_payouts, ranking_reward_payout_items)
+ * 스냅샷과 묶음 지급은 각각 한 문장(= 한 트랜잭션)으로 처리됩니다.
+ */
+public class RankingRewardPayoutRepository extends BaseRepository {
+    
+    /**
+     * 기간 순위 스냅샷 생성 (daily_mining 기간 합계, 동점 순서는 랭킹 보드와 같음 - MiningLeaderboardRepository.rankTieBreak)
+     * - REGIONAL: 전체 회원 순위, NATIONAL: 국가별 순위 (국가 코드가 없는 회원 제외)
+     * - 순위별 보상이 0보다 큰 항목만 저장
+     * 같은 기간의 지급이 이미 있으면 아무것도 하지 않습니다.
+     * @param regionalAmounts 1위부터의 REGIONAL 순위별 보상 (길이 = 보상 순위 수)
+     * @param nationalAmounts 1위부터의 NATIONAL 순위별 보상 (길이 = 보상 순위 수)
+     * @return 생성한 지급 ID (이미 있으면 null)
+     */
+    public Future<Long> createPayout(SqlClient client, String period, LocalDate from, LocalDate to,
+                                     String currencyCode, String chain, String[] regionalAmounts, String[] nationalAmounts) {
+        String sql = """
+            WITH scores AS (
+                SELECT dm.user_id, u.country_code, SUM(dm.mining_amount) as score
+                FROM daily_mining dm
+                INNER JOIN users u ON u.id = dm.user_id
+                WHERE dm.mining_date BETWEEN :from_date AND :to_date
+                AND u.deleted_at IS NULL
+                GROUP BY dm.user_id, u.country_code
+                HAVING SUM(dm.mining_amount) > 0
+            ),
+            ranked AS (
+                SELECT user_id, 'REGIONAL' as scope, CAST(NULL AS VARCHAR(2)) as country_code, score,
+                    CAST(ROW_NUMBER() OVER (ORDER BY score DESC, %1$s) AS INT) as rank
+                FROM scores
+                UNION ALL
+                SELECT user_id, 'NATIONAL' as scope, country_code, score,
+                    CAST(ROW_NUMBER() OVER (PARTITION BY country_code ORDER BY score DESC, %1$s) AS INT) as rank
+                FROM scores
+                WHERE country_code IS NOT NULL
+            ),
+            rewarded AS (
+                SELECT r.user_id, r.scope, r.country_code, r.rank, r.score,
+                    CAST(CASE r.scope
+                        WHEN 'REGIONAL' THEN (:regional_amounts::text[])[r.rank]
+                        ELSE (:national_amounts::text[])[r.rank]
+                    END AS DECIMAL(36, 18)) as amount
+                FROM ranked r
+                WHERE r.rank <= :max_rank
+            ),
+            payout AS (
+                INSERT INTO ranking_reward_payouts (period, period_start, period_end, currency_id, total_count, total_amount)
+                SELECT :period, :from_date, :to_date, c.id,
+                    (SELECT COUNT(*) FROM rewarded WHERE amount > 0),
+                    (SELECT COALESCE(SUM(amount), 0) FROM rewarded WHERE amount > 0)
+                FROM currency c
+                WHERE c.code = :currency_code AND c.chain = :chain
+                ON CONFLICT (period, period_start) DO NOTHING
+                RETURNING id
+            ),
+            items AS (
+                INSERT INTO ranking_reward_payout_items (payout_id, user_id, scope, country_code, rank, score, amount)
+                SELECT p.id, r.user_id, r.scope, r.country_code, r.rank, r.score, r.amount
+                FROM payout p
+                CROSS JOIN rewarded r
+                WHERE r.amount > 0
+                ORDER BY r.scope, r.country_code, r.rank
+            )
+            SELECT id FROM payout
+            """.formatted(MiningLeaderboardRepository.rankTieBreak("user_id"));
+        
+        Map<String, Object> params = new HashMap<>();
+        params.put("period", period);
+        params.put("from_date", from);
+        params.put("to_date", to);
+        params.put("currency_code", currencyCode);
+        params.put("chain", chain);
+        params.put("regional_amounts", regionalAmounts);
+        params.put("national_amounts", nationalAmounts);
+        params.put("max_rank", Math.max(regionalAmounts.length, nationalAmounts.length));
+        
+        return query(client, sql, params)
+            .map(rows -> rows.size() > 0 ? getLong(rows.iterator().next(), "id") : null);
+    }
+    
+    /**
+     * 보상 통화가 등록되어 있는지 (없으면 스냅샷이 생성되지 않음)
+     */
+    public Future<Boolean> existsCurrency(SqlClient client, String currencyCode, String chain) {
+        String sql = """
+            SELECT EXISTS (SELECT 1 FROM currency WHERE code = :currency_code AND chain = :chain) as has_currency
+            """;
+        
+        Map<String, Object> params = new HashMap<>();
+        params.put("currency_code", currencyCode);
+        params.put("chain", chain);
+        
+        return query(client, sql, params)
+            .map(rows -> Boolean.TRUE.equals(getBoolean(rows.iterator().next(), "has_currency")));
+    }
+    
+    /**
+     * 지급 중인 지급 ID (오래된 순)
+     */
+    public Future<List<Long>> getPayingPayoutIds(SqlClient client) {
+        String sql = """
+            SELECT id
+            FROM ranking_reward_payouts
+            WHERE status = 'PAYING'
+            ORDER BY id
+            """;
+        
+        return query(client, sql, new HashMap<>())
+            .map(rows -> {
+                List<Long> ids = new ArrayList<>(rows.size());
+                for (Row row : rows) {
+                    ids.add(getLong(row, "id"));
+                }
+                return ids;
+            });
+    }
+    
+    /**
+     * 미지급 항목을 최대 limit개 지급 (한 트랜잭션)
+     * - 항목을 지급 처리(paid_at)하고 회원별 합계만큼 지갑 잔액 증가 (지갑이 없으면 생성)
+     * - 항목별 wallet_transactions(RANKING_REWARD) 기록, 지급 진행 상황(paid_count, paid_amount) 갱신
+     * - 다른 프로세스가 지급 중인 항목은 건너뛰므로(SKIP LOCKED) 중복 지급되지 않음
+     * - 지갑 행은 회원 ID 순으로 잠가 동시 잔액 변경과의 교착을 피함
+     * @return 지급한 항목 수 (0이면 남은 미지급 항목 없음)
+     */
+    public Future<Integer> payChunk(SqlClient client, Long payoutId, int limit) {
+        String sql = """
+            WITH payout AS (
+                SELECT id, period, period_start, currency_id
+                FROM ranking_reward_payouts
+                WHERE id = :payout_id
+            ),
+            chunk AS (
+                SELECT id
+                FROM ranking_reward_payout_items
+                WHERE payout_id = :payout_id
+                AND paid_at IS NULL
+                ORDER BY id
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            ),
+            paid AS (
+                UPDATE ranking_reward_payout_items i
+                SET paid_at = NOW()
+                FROM chunk c
+                WHERE i.id = c.id
+                RETURNING i.id, i.user_id, i.scope, i.country_code, i.rank, i.amount
+            ),
+            credited AS (
+                INSERT INTO user_wallets (user_id, currency_id, balance)
+                SELECT t.user_id, p.currency_id, t.amount
+                FROM (SELECT user_id, SUM(amount) as amount FROM paid GROUP BY user_id) t
+                CROSS JOIN payout p
+                ORDER BY t.user_id
+                ON CONFLICT (user_id, currency_id) DO UPDATE
+                SET balance = user_wallets.balance + EXCLUDED.balance,
+                    updated_at = NOW()
+                RETURNING id as wallet_id, user_id, currency_id
+            ),
+            ledger AS (
+                INSERT INTO wallet_transactions (user_id, wallet_id, currency_id, tx_type, direction, amount, status,
+                                                 confirmed_at, request_source, description)
+                SELECT pd.user_id, c.wallet_id, c.currency_id, 'RANKING_REWARD', 'IN', pd.amount, 'CONFIRMED',
+                    NOW(), 'RANKING_REWARD',
+                    p.period || ' ' || p.period_start || ' ' || pd.scope || COALESCE(' ' || pd.country_code, '') || ' #' || pd.rank
+                FROM paid pd
+                INNER JOIN credited c ON c.user_id = pd.user_id
+                CROSS JOIN payout p
+            ),
+            progress AS (
+                UPDATE ranking_reward_payouts
+                SET paid_count = paid_count + (SELECT COUNT(*) FROM paid),
+                    paid_amount = paid_amount + (SELECT COALESCE(SUM(amount), 0) FROM paid)
+                WHERE id = :payout_id
+                AND EXISTS (SELECT 1 FROM paid)
+            )
+            SELECT COUNT(*) as paid_count FROM paid
+            """;
+        
+        Map<String, Object> params = new HashMap<>();
+        params.put("payout_id", payoutId);
+        params.put("limit", limit);
+        
+        return query(client, sql, params)
+            .map(rows -> rows.size() > 0 ? getInteger(rows.iterator().next(), "paid_count") : 0);
+    }
+    
+    /**
+     * 미지급 항목이 없으면 지급 완료 처리
+     * @return 완료 처리했으면 true (다른 프로세스가 지급 중인 항목이 남아 있거나 이미 완료면 false)
+     */
+    public Future<Boolean> completePayout(SqlClient client, Long payoutId) {
+        String sql = """
+            UPDATE ranking_reward_payouts
+            SET status = 'COMPLETED',
+                completed_at = NOW()
+            WHERE id = :payout_id
+            AND status = 'PAYING'
+            AND NOT EXISTS (
+                SELECT 1 FROM ranking_reward_payout_items
+                WHERE payout_id = :payout_id
+                AND paid_at IS NULL
+            )
+            """;
+        
+        Map<String, Object> params = new HashMap<>();
+        params.put("payout_id", payoutId);
+        
+        return query(client, sql, params)
+            .map(rows -> rows.rowCount() > 0);
+    }
+}
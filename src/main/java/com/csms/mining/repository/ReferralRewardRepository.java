@@ -0,0 +1,127 @@
+package com.csms.mining.repository;
+
+import com.csms.common.repository.BaseRepository;
+import com.csms.mining.dto.MiningEventDto;
+import io.vertx.core.Future;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.SqlClient;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 레퍼럴 리워드 분배 (referral_reward_queue → mining_history REFERRAL_REWARD)
+ */
+public class ReferralRewardRepository extends BaseRepository {
+    
+    /**
+     * 대기열에서 최대 limit건을 꺼내 상위 회원의 리워드 내역을 생성 (한 문장 = 한 트랜잭션)
+     * - 상위 회원: referral_closure에서 depth <= multipliers 길이 (탈퇴 회원 제외)
+     * - 리워드 = 원본 채굴량 x multipliers[depth - 1], 0보다 큰 것만 저장
+     * - 리워드 created_at은 원본 채굴 내역과 같음 (같은 월 파티션, 같은 날짜 집계)
+     * - 다른 작업자가 꺼내는 중인 항목은 건너뛰고(SKIP LOCKED), 이미 생성된 리워드(mining_event_keys)는 다시 만들지 않음
+     * - 같은 상위 회원의 리워드가 한 문장에 여러 건이어도 회원별 집계/누적 트리거는 행 단위로 (created_at, id) 순서로 반영됨
+     * - 행 잠금 순서는 채굴 이벤트 저장과 같음 (user_id 순, 회원별 user_mining_totals 먼저, V32), 교착으로 취소되면 다시 실행
+     * @param multipliers 깊이별 배율 (index 0 = 직접 추천인)
+     */
+    public Future<Distribution> distribute(SqlClient client, int limit, String[] multipliers) {
+        String sql = """
+            WITH batch AS (
+                DELETE FROM referral_reward_queue
+                WHERE mining_history_id IN (
+                    SELECT mining_history_id
+                    FROM referral_reward_queue
+                    ORDER BY mining_history_id
+                    LIMIT :limit
+                    FOR UPDATE SKIP LOCKED
+                )
+                RETURNING mining_history_id, user_id, amount, created_at
+            ),
+            rewards AS (
+                SELECT
+                    'referral:' || b.mining_history_id || ':' || rc.ancestor_id as idempotency_key,
+                    rc.ancestor_id as user_id,
+                    u.level,
+                    CAST(b.amount * CAST((:multipliers::text[])[rc.depth] AS DECIMAL) AS DECIMAL(36, 18)) as amount,
+                    b.created_at
+                FROM batch b
+                INNER JOIN referral_closure rc ON rc.descendant_id = b.user_id AND rc.depth <= :max_depth
+                INNER JOIN users u ON u.id = rc.ancestor_id AND u.deleted_at IS NULL
+            ),
+            claimed AS (
+                INSERT INTO mining_event_keys (idempotency_key, mining_history_id, created_at)
+                SELECT idempotency_key, nextval('mining_history_id_seq'), created_at
+                FROM rewards
+                WHERE amount > 0
+                ORDER BY idempotency_key
+                ON CONFLICT (idempotency_key) DO NOTHING
+                RETURNING idempotency_key, mining_history_id
+            ),
+            inserted AS (
+                INSERT INTO mining_history (id, user_id, level, amount, type, created_at)
+                SELECT c.mining_history_id, r.user_id, r.level, r.amount, 'REFERRAL_REWARD', r.created_at
+                FROM claimed c
+                INNER JOIN rewards r ON r.idempotency_key = c.idempotency_key
+                ORDER BY r.user_id, r.created_at, c.mining_history_id
+                RETURNING user_id, amount, created_at
+            )
+            SELECT c.consumed, i.user_id, i.amount, i.created_at
+            FROM (SELECT COUNT(*) as consumed FROM batch) c
+            LEFT JOIN inserted i ON TRUE
+            """;
+        
+        Map<String, Object> params = new HashMap<>();
+        params.put("limit", limit);
+        params.put("multipliers", multipliers);
+        params.put("max_depth", multipliers.length);
+        
+        return retryOnDeadlock(() -> query(client, sql, params))
+            .map(rows -> {
+                int consumed = 0;
+                List<MiningEventDto> rewards = new ArrayList<>();
+                for (Row row : rows) {
+                    consumed = getLong(row, "consumed").intValue();
+                    Long userId = getLong(row, "user_id");
+                    if (userId != null) {
+                        rewards.add(MiningEventDto.builder()
+                            .userId(userId)
+                            .type("REFERRAL_REWARD")
+                            .amount(getBigDecimal(row, "amount"))
+                            .occurredAt(getLocalDateTime(row, "created_at"))
+                            .build());
+                    }
+                }
+                return new Distribution(consumed, rewards);
+            });
+    }
+    
+    /**
+     * 대기열 길이와 가장 오래 기다린 항목의 대기 시간
+     */
+    public Future<QueueLag> getQueueLag(SqlClient client) {
+        String sql = """
+            SELECT
+                COUNT(*) as depth,
+                CAST(COALESCE(EXTRACT(EPOCH FROM (LOCALTIMESTAMP - MIN(queued_at))) * 1000, 0) AS BIGINT) as lag_ms
+            FROM referral_reward_queue
+            """;
+        
+        return query(client, sql, new HashMap<>())
+            .map(rows -> {
+                Row row = rows.iterator().next();
+                return new QueueLag(getLong(row, "depth"), getLong(row, "lag_ms"));
+            });
+    }
+    
+    /**
+     * @param consumed 대기열에서 꺼낸 원본 채굴 내역 수
+     * @param rewards 생성한 리워드 내역 (userId, amount, occurredAt = created_at)
+     */
+    public record Distribution(int consumed, List<MiningEventDto> rewards) {
+    }
+    
+    public record QueueLag(Long depth, Long lagMs) {
+    }
+}
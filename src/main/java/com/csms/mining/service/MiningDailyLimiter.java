@@ -0,0 +1,408 @@
+package com.csms.mining.service;
+
+import com.csms.admin.dto.MiningConditionDto;
+import com.csms.common.service.BaseService;
+import com.csms.mining.dto.MiningEventDto;
+import com.csms.mining.repository.MiningDailyLimitRepository;
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.pgclient.PgPool;
+import io.vertx.redis.client.RedisAPI;
+import io.vertx.redis.client.Response;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 회원별 일일 채굴 한도 (mining_level_limits, LEVEL_LIMIT 설정)
+ * 회원/날짜별 채굴량 카운터를 Redis에 두고, 확인과 증가를 Lua 스크립트 한 번으로 원자적으로 처리합니다.
+ * - 카운터는 소수 8자리 단위(1e-8)의 정수로 저장하고 INCRBY로 증감 (부동소수 오차 없음)
+ *   요청 금액은 단위로 올림, 한도는 내림하여 비교하며, Lua 숫자(double)로 정확한 범위인 2^53 단위(회원/일 약 9천만)까지 정확
+ * - 한도는 채굴 설정 스냅샷(AdminMiningService.getCachedMiningConditions)에서 읽음
+ * - 남은 한도보다 큰 이벤트는 남은 만큼만 허용, 한도를 모두 쓴 회원은 0
+ * - 저장하지 못한 이벤트는 release()로 되돌림
+ * - 카운터는 daily_mining(커밋된 채굴량)보다 작아지지 않도록 reconcile()로 보정 (Redis 재시작/키 유실 대비)
+ * DB가 기준이며, 카운터는 이벤트마다 SUM 조회를 하지 않기 위한 용도입니다.
+ */
+@Slf4j
+public class MiningDailyLimiter extends BaseService {
+    
+    // 일일 한도 대상 (추천 보상은 제외)
+    public static final Set<String> LIMITED_TYPES = Set.of("BROADCAST_PROGRESS", "BROADCAST_WATCH");
+    
+    // 실수 카운터(INCRBYFLOAT)를 쓰던 이전 키와 섞이지 않도록 별도 접두어 사용 (새 키는 reconcile()로 DB 기준 복구)
+    private static final String KEY_PREFIX = "mining:daily:units:";
+    private static final DateTimeFormatter KEY_DATE_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+    // 카운터 단위 (소수 자릿수)
+    private static final int COUNTER_SCALE = 8;
+    private static final String NO_LIMIT = "-1";
+    private static final int RECONCILE_BATCH_SIZE = 5000;
+    private static final long ERROR_LOG_INTERVAL_MS = 10_000L;
+    
+    private static final int DEFAULT_KEY_RETENTION_HOURS = 24;
+    private static final boolean DEFAULT_FAIL_OPEN = true;
+    
+    // KEYS[1]: 회원 일별 카운터, ARGV[1]: 요청 단위, ARGV[2]: 일일 한도 단위 (음수면 제한 없음), ARGV[3]: 만료 시각(unix 초)
+    // 허용 단위만큼 카운터를 올리고 허용 단위를 반환 (모두 정수)
+    private static final Script ACQUIRE_SCRIPT = Script.of("""
+        local limit = tonumber(ARGV[2])
+        local granted = tonumber(ARGV[1])
+        if limit >= 0 then
+            local remaining = limit - tonumber(redis.call('GET', KEYS[1]) or '0')
+            if remaining <= 0 then
+                return 0
+            end
+            if remaining < granted then
+                granted = remaining
+            end
+        end
+        redis.call('INCRBY', KEYS[1], granted)
+        if redis.call('TTL', KEYS[1]) < 0 then
+            redis.call('EXPIREAT', KEYS[1], ARGV[3])
+        end
+        return granted
+        """);
+    
+    // KEYS[1]: 회원 일별 카운터, ARGV[1]: DB의 일별 채굴량 단위, ARGV[2]: 만료 시각(unix 초)
+    // 카운터가 DB보다 작으면 DB 값으로 올리고 이전 카운터 값을 반환
+    private static final Script RECONCILE_SCRIPT = Script.of("""
+        local current = redis.call('GET', KEYS[1]) or '0'
+        if tonumber(current) < tonumber(ARGV[1]) then
+            redis.call('SET', KEYS[1], ARGV[1])
+            redis.call('EXPIREAT', KEYS[1], ARGV[2])
+        end
+        return current
+        """);
+    
+    private final RedisAPI redisApi;
+    private final MiningDailyLimitRepository repository;
+    private final Supplier<Future<MiningConditionDto>> conditions;
+    private final int keyRetentionHours;
+    private final boolean failOpen;
+    
+    private final AtomicReference<LevelLimits> levelLimits = new AtomicReference<>(LevelLimits.NONE);
+    private final AtomicReference<LocalDate> lastClosedDate = new AtomicReference<>();
+    private final AtomicLong lastErrorLoggedAt = new AtomicLong();
+    
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder limited = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    
+    /**
+     * @param conditions 채굴 조건 (레벨별 한도 포함) 조회 - 스냅샷이 유효하면 같은 객체를 반환해야 함
+     * @param keyRetentionHours 날짜가 지난 뒤 카운터를 보관하는 시간 (마감 보정용)
+     * @param failOpen Redis 오류 시 한도 확인 없이 허용할지 여부 (false면 해당 이벤트는 FAILED)
+     */
+    public MiningDailyLimiter(PgPool pool, RedisAPI redisApi, MiningDailyLimitRepository repository,
+                              Supplier<Future<MiningConditionDto>> conditions, int keyRetentionHours, boolean failOpen) {
+        super(pool);
+        this.redisApi = redisApi;
+        this.repository = repository;
+        this.conditions = conditions;
+        this.keyRetentionHours = Math.max(1, keyRetentionHours);
+        this.failOpen = failOpen;
+    }
+    
+    /**
+     * 설정(mining_limits.key_retention_hours, fail_open)으로 생성
+     */
+    public static MiningDailyLimiter create(PgPool pool, RedisAPI redisApi, MiningDailyLimitRepository repository,
+                                            Supplier<Future<MiningConditionDto>> conditions, JsonObject config) {
+        JsonObject limitConfig = config.getJsonObject("mining_limits", new JsonObject());
+        return new MiningDailyLimiter(
+            pool,
+            redisApi,
+            repository,
+            conditions,
+            limitConfig.getInteger("key_retention_hours", DEFAULT_KEY_RETENTION_HOURS),
+            limitConfig.getBoolean("fail_open", DEFAULT_FAIL_OPEN)
+        );
+    }
+    
+    /**
+     * 이벤트별 일일 한도 확인 및 카운터 증가 (occurredAt 날짜 기준, occurredAt이 채워져 있어야 함)
+     * LEVEL_LIMIT이 꺼져 있거나 레벨 한도가 없어도 카운터는 올려 두어, 도중에 켜도 그날 채굴량이 반영되도록 합니다.
+     * @return events와 같은 순서의 허용 금액 (한도 대상이 아니면 요청 금액, 한도를 모두 쓴 경우 0, 확인 실패 시 null)
+     */
+    public Future<List<BigDecimal>> acquire(List<MiningEventDto> events) {
+        Set<Long> unresolvedUserIds = new LinkedHashSet<>();
+        boolean anyLimited = false;
+        for (MiningEventDto event : events) {
+            if (LIMITED_TYPES.contains(event.getType())) {
+                anyLimited = true;
+                if (event.getLevel() == null) {
+                    unresolvedUserIds.add(event.getUserId());
+                }
+            }
+        }
+        if (!anyLimited) {
+            List<BigDecimal> amounts = new ArrayList<>(events.size());
+            events.forEach(event -> amounts.add(event.getAmount()));
+            return Future.succeededFuture(amounts);
+        }
+        
+        Future<Map<Long, Integer>> levelsFuture = unresolvedUserIds.isEmpty()
+            ? Future.succeededFuture(Map.of())
+            : repository.getUserLevels(client, new ArrayList<>(unresolvedUserIds));
+        
+        return Future.all(currentLevelLimits(), levelsFuture)
+            .compose(loaded -> {
+                LevelLimits limits = loaded.resultAt(0);
+                Map<Long, Integer> userLevels = loaded.resultAt(1);
+                
+                List<Future<BigDecimal>> granted = new ArrayList<>(events.size());
+                for (MiningEventDto event : events) {
+                    if (!LIMITED_TYPES.contains(event.getType())) {
+                        granted.add(Future.succeededFuture(event.getAmount()));
+                        continue;
+                    }
+                    Integer level = event.getLevel() != null ? event.getLevel() : userLevels.get(event.getUserId());
+                    granted.add(acquire(event.getUserId(), event.getOccurredAt().toLocalDate(), event.getAmount(), limits.limitFor(level)));
+                }
+                return Future.all(granted).map(all -> {
+                    List<BigDecimal> amounts = new ArrayList<>(granted.size());
+                    granted.forEach(future -> amounts.add(future.result()));
+                    return amounts;
+                });
+            });
+    }
+    
+    private Future<BigDecimal> acquire(Long userId, LocalDate miningDate, BigDecimal amount, String dailyLimit) {
+        checks.increment();
+        long requested = toUnits(amount, RoundingMode.CEILING);
+        return eval(ACQUIRE_SCRIPT, key(userId, miningDate), String.valueOf(requested), dailyLimit, expireAt(miningDate))
+            .map(response -> {
+                long granted = response.toLong();
+                if (granted < requested) {
+                    limited.increment();
+                    return BigDecimal.valueOf(granted, COUNTER_SCALE);
+                }
+                return amount;
+            })
+            .recover(err -> {
+                errors.increment();
+                logError("Mining daily limit check failed - userId: " + userId, err);
+                return Future.succeededFuture(failOpen ? amount : null);
+            });
+    }
+    
+    /**
+     * acquire()로 허용했지만 저장하지 않은 금액을 카운터에서 되돌림
+     * (허용 금액은 요청 금액 그대로이거나 단위로 나누어떨어지므로 acquire()에서 올린 단위와 같음)
+     */
+    public Future<Void> release(MiningEventDto event, BigDecimal granted) {
+        if (!LIMITED_TYPES.contains(event.getType()) || granted == null || granted.signum() <= 0) {
+            return Future.succeededFuture();
+        }
+        return redisApi.decrby(key(event.getUserId(), event.getOccurredAt().toLocalDate()),
+                String.valueOf(toUnits(granted, RoundingMode.CEILING)))
+            .<Void>mapEmpty()
+            .onFailure(err -> {
+                errors.increment();
+                logError("Mining daily limit release failed - userId: " + event.getUserId(), err);
+            });
+    }
+    
+    /**
+     * 지난 날짜 마감 보정(프로세스당 하루 한 번) 후 오늘 카운터 보정
+     */
+    public Future<Void> reconcile() {
+        LocalDate today = LocalDate.now();
+        LocalDate yesterday = today.minusDays(1);
+        LocalDate closed = lastClosedDate.get();
+        Future<Integer> closeOut = closed == null || closed.isBefore(yesterday)
+            ? reconcile(yesterday).onSuccess(count -> lastClosedDate.set(yesterday))
+            : Future.succeededFuture(0);
+        return closeOut
+            .compose(ignored -> reconcile(today))
+            .<Void>mapEmpty()
+            .onFailure(err -> log.error("Failed to reconcile mining daily limit counters", err));
+    }
+    
+    /**
+     * 날짜의 카운터를 daily_mining 기준으로 보정 (DB보다 작은 카운터만 올림)
+     * @return DB 값으로 올린 카운터 수
+     */
+    public Future<Integer> reconcile(LocalDate miningDate) {
+        return reconcilePage(miningDate, 0L, new ReconcileProgress())
+            .map(progress -> {
+                log.info("Mining daily limit counters reconciled - date: {}, users: {}, raised: {}, overCounted: {}",
+                    miningDate, progress.users, progress.raised, progress.overCounted);
+                return progress.raised;
+            });
+    }
+    
+    private Future<ReconcileProgress> reconcilePage(LocalDate miningDate, long afterUserId, ReconcileProgress progress) {
+        return repository.getDailyLimitedAmounts(client, miningDate, afterUserId, RECONCILE_BATCH_SIZE)
+            .compose(amounts -> {
+                if (amounts.isEmpty()) {
+                    return Future.succeededFuture(progress);
+                }
+                String expireAt = expireAt(miningDate);
+                List<Future<Void>> updates = new ArrayList<>(amounts.size());
+                long lastUserId = afterUserId;
+                for (Map.Entry<Long, BigDecimal> entry : amounts.entrySet()) {
+                    long dbUnits = toUnits(entry.getValue(), RoundingMode.CEILING);
+                    updates.add(eval(RECONCILE_SCRIPT, key(entry.getKey(), miningDate), String.valueOf(dbUnits), expireAt)
+                        .map(response -> {
+                            progress.record(Long.compare(Long.parseLong(response.toString()), dbUnits));
+                            return (Void) null;
+                        }));
+                    lastUserId = entry.getKey();
+                }
+                long nextAfterUserId = lastUserId;
+                return Future.all(updates)
+                    .compose(done -> amounts.size() < RECONCILE_BATCH_SIZE
+                        ? Future.succeededFuture(progress)
+                        : reconcilePage(miningDate, nextAfterUserId, progress));
+            });
+    }
+    
+    /**
+     * 설정 스냅샷의 레벨별 한도 (스냅샷 내용이 바뀔 때만 다시 계산, 스냅샷은 호출마다 사본을 반환하므로 값으로 비교)
+     */
+    private Future<LevelLimits> currentLevelLimits() {
+        return conditions.get()
+            .map(loaded -> {
+                LevelLimits current = levelLimits.get();
+                if (Objects.equals(current.source(), loaded)) {
+                    return current;
+                }
+                LevelLimits rebuilt = LevelLimits.from(loaded);
+                levelLimits.set(rebuilt);
+                return rebuilt;
+            });
+    }
+    
+    /**
+     * 스크립트 실행 (EVALSHA, 서버에 스크립트가 없으면 EVAL로 다시 실행하여 캐시)
+     */
+    private Future<Response> eval(Script script, String key, String... args) {
+        List<String> evalshaArgs = script.args(script.sha1(), key, args);
+        return redisApi.evalsha(evalshaArgs)
+            .recover(err -> err.getMessage() != null && err.getMessage().startsWith("NOSCRIPT")
+                ? redisApi.eval(script.args(script.source(), key, args))
+                : Future.failedFuture(err));
+    }
+    
+    /**
+     * 금액을 카운터 단위(1e-8) 정수로 변환
+     */
+    private static long toUnits(BigDecimal amount, RoundingMode roundingMode) {
+        return amount.movePointRight(COUNTER_SCALE).setScale(0, roundingMode).longValueExact();
+    }
+    
+    private static String key(Long userId, LocalDate miningDate) {
+        return KEY_PREFIX + miningDate.format(KEY_DATE_FORMAT) + ":" + userId;
+    }
+    
+    /**
+     * 카운터 만료 시각 - 날짜가 끝난 뒤 key_retention_hours 후 (unix 초)
+     */
+    private String expireAt(LocalDate miningDate) {
+        LocalDateTime expiresAt = miningDate.plusDays(1).atStartOfDay().plusHours(keyRetentionHours);
+        long seconds = Duration.between(LocalDateTime.now(), expiresAt).getSeconds();
+        return String.valueOf(System.currentTimeMillis() / 1000 + Math.max(60, seconds));
+    }
+    
+    // Redis 장애 시 이벤트마다 로그가 쌓이지 않도록 간격을 둠
+    private void logError(String message, Throwable err) {
+        long now = System.currentTimeMillis();
+        long last = lastErrorLoggedAt.get();
+        if (now - last >= ERROR_LOG_INTERVAL_MS && lastErrorLoggedAt.compareAndSet(last, now)) {
+            log.warn("{} (failOpen: {}, errors: {})", message, failOpen, errors.sum(), err);
+        }
+    }
+    
+    /**
+     * 모니터링용 지표
+     */
+    public JsonObject getMetrics() {
+        return new JsonObject()
+            .put("checks", checks.sum())
+            .put("limited", limited.sum())
+            .put("errors", errors.sum())
+            .put("failOpen", failOpen);
+    }
+    
+    /**
+     * 레벨별 일일 한도 (LEVEL_LIMIT이 꺼져 있으면 비어 있음)
+     */
+    private record LevelLimits(MiningConditionDto source, Map<Integer, String> dailyLimits) {
+        
+        static final LevelLimits NONE = new LevelLimits(null, Map.of());
+        
+        static LevelLimits from(MiningConditionDto conditions) {
+            Map<Integer, String> dailyLimits = new HashMap<>();
+            if (conditions != null && Boolean.TRUE.equals(conditions.getLevelLimitsEnabled()) && conditions.getLevelLimits() != null) {
+                for (MiningConditionDto.LevelLimit limit : conditions.getLevelLimits()) {
+                    if (limit.getLevel() != null && limit.getDailyLimit() != null) {
+                        dailyLimits.put(limit.getLevel(), String.valueOf(toUnits(BigDecimal.valueOf(limit.getDailyLimit()), RoundingMode.DOWN)));
+                    }
+                }
+            }
+            return new LevelLimits(conditions, dailyLimits);
+        }
+        
+        String limitFor(Integer level) {
+            return level == null ? NO_LIMIT : dailyLimits.getOrDefault(level, NO_LIMIT);
+        }
+    }
+    
+    private record Script(String source, String sha1) {
+        
+        static Script of(String source) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-1").digest(source.getBytes(StandardCharsets.UTF_8));
+                return new Script(source, HexFormat.of().formatHex(digest));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-1 not available", e);
+            }
+        }
+        
+        // EVAL/EVALSHA 인자: 스크립트(또는 SHA1), 키 개수, 키, 인자
+        List<String> args(String script, String key, String... argv) {
+            List<String> args = new ArrayList<>(argv.length + 3);
+            args.add(script);
+            args.add("1");
+            args.add(key);
+            args.addAll(List.of(argv));
+            return args;
+        }
+    }
+    
+    private static class ReconcileProgress {
+        int users;
+        int raised;
+        int overCounted;
+        
+        void record(int counterComparedToDb) {
+            users++;
+            if (counterComparedToDb < 0) {
+                raised++;
+            } else if (counterComparedToDb > 0) {
+                overCounted++;
+            }
+        }
+    }
+}
@@ -0,0 +1,471 @@
+package com.csms.mining.service;
+
+import com.csms.common.exceptions.BadRequestException;
+import com.csms.common.exceptions.ServiceUnavailableException;
+import com.csms.common.service.BaseService;
+import com.csms.mining.dto.MiningEventAckDto;
+import com.csms.mining.dto.MiningEventBatchResultDto;
+import com.csms.mining.dto.MiningEventDto;
+import com.csms.mining.repository.MiningEventRepository;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.pgclient.PgPool;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 채굴 이벤트 수집 파이프라인
+ * 요청별로 받은 이벤트를 대기열에 모아 linger_ms 동안 또는 max_batch_size개가 찰 때까지 합친 뒤
+ * 한 번의 다중 행 INSERT(MiningEventRepository.insertEvents)로 저장하고, 이벤트별 결과(ack)를 돌려줍니다.
+ * - 동시에 실행하는 저장 묶음은 max_in_flight개로 제한 (커넥션 풀 독점 방지), 실행 중이면 다음 묶음은 계속 모임
+ * - 대기 이벤트가 max_pending개를 넘으면 요청을 거절(503)하여 메모리 사용을 제한
+ * - 저장 실패 시 해당 묶음의 이벤트는 FAILED로 응답하며, 발신 측은 같은 키로 재전송하면 됨 (중복 저장 없음)
+ * - 일일 채굴 한도(MiningDailyLimiter)가 있으면 저장 전에 묶음 단위로 확인하여, 남은 한도만큼만 저장하고 한도를 모두 쓴 이벤트는 REJECTED
+ * - 랭킹(MiningLeaderboard)이 있으면 저장된(CREATED) 이벤트를 묶음 단위로 랭킹에 반영 (응답을 기다리게 하지 않음)
+ * - occurredAt은 수신 시각 기준 max_past_hours 이전 ~ max_future_minutes 이후만 허용하고 벗어나면 REJECTED
+ *   (멱등성 키/일일 한도 카운터 보관 기간보다 오래된 이벤트는 중복 저장/한도 우회가 가능하고, 먼 미래는 기본 파티션에 쌓임)
+ * 여러 ApiVerticle 인스턴스(event loop)가 공유하므로 대기열 접근은 동기화합니다.
+ */
+@Slf4j
+public class MiningEventIngestService extends BaseService {
+    
+    private static final Set<String> EVENT_TYPES = Set.of("BROADCAST_PROGRESS", "BROADCAST_WATCH", "REFERRAL_REWARD");
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 100;
+    // DECIMAL(36, 18) 범위
+    private static final int MAX_AMOUNT_INTEGER_DIGITS = 18;
+    private static final int MAX_AMOUNT_SCALE = 18;
+    
+    private static final int DEFAULT_LINGER_MS = 5;
+    private static final int DEFAULT_MAX_BATCH_SIZE = 1000;
+    private static final int DEFAULT_MAX_IN_FLIGHT = 4;
+    private static final int DEFAULT_MAX_PENDING = 50_000;
+    private static final int DEFAULT_MAX_REQUEST_EVENTS = 5000;
+    private static final int DEFAULT_IDEMPOTENCY_RETENTION_HOURS = 72;
+    private static final int DEFAULT_MAX_PAST_HOURS = 24;
+    private static final int DEFAULT_MAX_FUTURE_MINUTES = 5;
+    private static final int PRUNE_BATCH_SIZE = 10_000;
+    
+    private final Vertx vertx;
+    private final MiningEventRepository repository;
+    private final MiningDailyLimiter dailyLimiter;
+    private final MiningLeaderboard leaderboard;
+    private final int lingerMs;
+    private final int maxBatchSize;
+    private final int maxInFlight;
+    private final int maxPending;
+    private final int maxRequestEvents;
+    private final int idempotencyRetentionHours;
+    private final int maxPastHours;
+    private final int maxFutureMinutes;
+    
+    // 아래 상태는 pending으로 동기화
+    private final ArrayDeque<PendingEvent> pending = new ArrayDeque<>();
+    private int inFlight;
+    private boolean lingerScheduled;
+    
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    
+    public MiningEventIngestService(Vertx vertx, PgPool pool, MiningEventRepository repository,
+                                    int lingerMs, int maxBatchSize, int maxInFlight, int maxPending,
+                                    int maxRequestEvents, int idempotencyRetentionHours) {
+        this(vertx, pool, repository, null, null, lingerMs, maxBatchSize, maxInFlight, maxPending, maxRequestEvents, idempotencyRetentionHours);
+    }
+    
+    /**
+     * @param dailyLimiter 일일 채굴 한도 (null이면 한도 확인 없이 저장, Redis 미연결 시)
+     * @param leaderboard 채굴 랭킹 (null이면 반영하지 않음, Redis 미연결 시)
+     */
+    public MiningEventIngestService(Vertx vertx, PgPool pool, MiningEventRepository repository,
+                                    MiningDailyLimiter dailyLimiter, MiningLeaderboard leaderboard,
+                                    int lingerMs, int maxBatchSize, int maxInFlight, int maxPending,
+                                    int maxRequestEvents, int idempotencyRetentionHours) {
+        this(vertx, pool, repository, dailyLimiter, leaderboard, lingerMs, maxBatchSize, maxInFlight, maxPending,
+            maxRequestEvents, idempotencyRetentionHours, DEFAULT_MAX_PAST_HOURS, DEFAULT_MAX_FUTURE_MINUTES);
+    }
+    
+    /**
+     * @param maxPastHours 수신 시각보다 이만큼 이전인 occurredAt까지 허용 (idempotency_retention_hours보다 크면 그 값으로 제한)
+     * @param maxFutureMinutes 수신 시각보다 이만큼 이후인 occurredAt까지 허용 (발신 서버 시계 오차)
+     */
+    public MiningEventIngestService(Vertx vertx, PgPool pool, MiningEventRepository repository,
+                                    MiningDailyLimiter dailyLimiter, MiningLeaderboard leaderboard,
+                                    int lingerMs, int maxBatchSize, int maxInFlight, int maxPending,
+                                    int maxRequestEvents, int idempotencyRetentionHours,
+                                    int maxPastHours, int maxFutureMinutes) {
+        super(pool);
+        this.vertx = vertx;
+        this.repository = repository;
+        this.dailyLimiter = dailyLimiter;
+        this.leaderboard = leaderboard;
+        this.lingerMs = Math.max(1, lingerMs);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.maxPending = Math.max(this.maxBatchSize, maxPending);
+        this.maxRequestEvents = Math.max(1, maxRequestEvents);
+        this.idempotencyRetentionHours = idempotencyRetentionHours;
+        this.maxPastHours = Math.max(0, Math.min(maxPastHours, idempotencyRetentionHours));
+        this.maxFutureMinutes = Math.max(0, maxFutureMinutes);
+    }
+    
+    /**
+     * 설정(mining_ingest.linger_ms, max_batch_size, max_in_flight, max_pending,
+     * max_request_events, idempotency_retention_hours, max_past_hours, max_future_minutes)으로 생성
+     */
+    public static MiningEventIngestService create(Vertx vertx, PgPool pool, MiningEventRepository repository,
+                                                  MiningDailyLimiter dailyLimiter, MiningLeaderboard leaderboard,
+                                                  JsonObject config) {
+        JsonObject ingestConfig = config.getJsonObject("mining_ingest", new JsonObject());
+        return new MiningEventIngestService(
+            vertx,
+            pool,
+            repository,
+            dailyLimiter,
+            leaderboard,
+            ingestConfig.getInteger("linger_ms", DEFAULT_LINGER_MS),
+            ingestConfig.getInteger("max_batch_size", DEFAULT_MAX_BATCH_SIZE),
+            ingestConfig.getInteger("max_in_flight", DEFAULT_MAX_IN_FLIGHT),
+            ingestConfig.getInteger("max_pending", DEFAULT_MAX_PENDING),
+            ingestConfig.getInteger("max_request_events", DEFAULT_MAX_REQUEST_EVENTS),
+            ingestConfig.getInteger("idempotency_retention_hours", DEFAULT_IDEMPOTENCY_RETENTION_HOURS),
+            ingestConfig.getInteger("max_past_hours", DEFAULT_MAX_PAST_HOURS),
+            ingestConfig.getInteger("max_future_minutes", DEFAULT_MAX_FUTURE_MINUTES)
+        );
+    }
+    
+    /**
+     * 채굴 이벤트 수집 - 검증에 실패한 이벤트는 REJECTED, 나머지는 다른 요청의 이벤트와 묶어 저장
+     * @return 요청 순서와 같은 순서의 이벤트별 결과
+     */
+    public Future<MiningEventBatchResultDto> ingest(List<MiningEventDto> events) {
+        if (events == null || events.isEmpty()) {
+            return Future.failedFuture(new BadRequestException("events가 비어 있습니다."));
+        }
+        if (events.size() > maxRequestEvents) {
+            return Future.failedFuture(new BadRequestException("한 요청의 이벤트는 최대 " + maxRequestEvents + "건입니다."));
+        }
+        
+        LocalDateTime receivedAt = LocalDateTime.now();
+        List<Future<MiningEventAckDto>> acks = new ArrayList<>(events.size());
+        List<PendingEvent> accepted = new ArrayList<>(events.size());
+        // 같은 요청 안의 중복 키는 첫 이벤트의 결과를 함께 사용
+        Map<String, Future<MiningEventAckDto>> byKey = new HashMap<>();
+        
+        for (MiningEventDto event : events) {
+            String error = validate(event, receivedAt);
+            if (error != null) {
+                acks.add(Future.succeededFuture(MiningEventAckDto.rejected(event == null ? null : event.getIdempotencyKey(), error)));
+                continue;
+            }
+            Future<MiningEventAckDto> sameKey = byKey.get(event.getIdempotencyKey());
+            if (sameKey != null) {
+                acks.add(sameKey.map(ack -> MiningEventAckDto.CREATED.equals(ack.getStatus())
+                    ? MiningEventAckDto.duplicate(ack.getIdempotencyKey(), ack.getMiningHistoryId())
+                    : ack));
+                continue;
+            }
+            if (event.getOccurredAt() == null) {
+                event.setOccurredAt(receivedAt);
+            }
+            PendingEvent pendingEvent = new PendingEvent(event, Promise.promise());
+            accepted.add(pendingEvent);
+            byKey.put(event.getIdempotencyKey(), pendingEvent.ack().future());
+            acks.add(pendingEvent.ack().future());
+        }
+        
+        List<List<PendingEvent>> ready;
+        synchronized (pending) {
+            if (pending.size() + accepted.size() > maxPending) {
+                return Future.failedFuture(new ServiceUnavailableException("수집 대기 중인 이벤트가 많습니다. 잠시 후 다시 시도해 주세요."));
+            }
+            pending.addAll(accepted);
+            ready = takeReadyBatches();
+        }
+        ready.forEach(this::write);
+        
+        return Future.all(acks).map(all -> summarize(all.list()));
+    }
+    
+    private String validate(MiningEventDto event, LocalDateTime receivedAt) {
+        if (event == null) {
+            return "이벤트가 비어 있습니다.";
+        }
+        String key = event.getIdempotencyKey();
+        if (key == null || key.isBlank() || key.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            return "idempotencyKey는 1~" + MAX_IDEMPOTENCY_KEY_LENGTH + "자여야 합니다.";
+        }
+        if (event.getUserId() == null) {
+            return "userId가 필요합니다.";
+        }
+        if (event.getType() == null || !EVENT_TYPES.contains(event.getType())) {
+            return "type은 " + EVENT_TYPES + " 중 하나여야 합니다.";
+        }
+        BigDecimal amount = event.getAmount();
+        if (amount == null || amount.signum() <= 0) {
+            return "amount는 0보다 커야 합니다.";
+        }
+        if (amount.scale() > MAX_AMOUNT_SCALE || amount.precision() - amount.scale() > MAX_AMOUNT_INTEGER_DIGITS) {
+            return "amount 범위를 벗어났습니다.";
+        }
+        LocalDateTime occurredAt = event.getOccurredAt();
+        if (occurredAt != null && (occurredAt.isBefore(receivedAt.minusHours(maxPastHours))
+            || occurredAt.isAfter(receivedAt.plusMinutes(maxFutureMinutes)))) {
+            return "occurredAt은 수신 시각 기준 " + maxPastHours + "시간 전 ~ " + maxFutureMinutes + "분 후 사이여야 합니다.";
+        }
+        return null;
+    }
+    
+    /**
+     * 지금 실행할 수 있는 저장 묶음을 대기열에서 꺼냄 (pending 동기화 안에서 호출)
+     * 꽉 찬 묶음은 바로 실행하고, 남은 이벤트는 linger_ms 후 실행되도록 예약합니다.
+     */
+    private List<List<PendingEvent>> takeReadyBatches() {
+        List<List<PendingEvent>> ready = new ArrayList<>();
+        while (inFlight < maxInFlight && pending.size() >= maxBatchSize) {
+            ready.add(takeBatch());
+        }
+        if (!pending.isEmpty() && inFlight < maxInFlight && !lingerScheduled) {
+            lingerScheduled = true;
+            vertx.setTimer(lingerMs, timerId -> flushLingering());
+        }
+        return ready;
+    }
+    
+    private void flushLingering() {
+        List<List<PendingEvent>> ready = new ArrayList<>();
+        synchronized (pending) {
+            lingerScheduled = false;
+            if (!pending.isEmpty() && inFlight < maxInFlight) {
+                ready.add(takeBatch());
+            }
+            ready.addAll(takeReadyBatches());
+        }
+        ready.forEach(this::write);
+    }
+    
+    private List<PendingEvent> takeBatch() {
+        int size = Math.min(maxBatchSize, pending.size());
+        List<PendingEvent> batch = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            batch.add(pending.poll());
+        }
+        inFlight++;
+        return batch;
+    }
+    
+    private void write(List<PendingEvent> batch) {
+        // 다른 요청에서 같은 키가 같은 묶음에 들어오면 한 번만 저장
+        List<MiningEventDto> events = new ArrayList<>(batch.size());
+        Map<String, PendingEvent> firstByKey = new HashMap<>(batch.size() * 2);
+        for (PendingEvent pendingEvent : batch) {
+            if (firstByKey.putIfAbsent(pendingEvent.event().getIdempotencyKey(), pendingEvent) == null) {
+                events.add(pendingEvent.event());
+            }
+        }
+        
+        Future<Map<String, MiningEventAckDto>> written;
+        try {
+            written = dailyLimiter == null ? repository.insertEvents(client, events) : insertWithinDailyLimit(events);
+        } catch (RuntimeException e) {
+            written = Future.failedFuture(e);
+        }
+        written.onComplete(ar -> {
+            batches.increment();
+            if (ar.succeeded()) {
+                List<MiningEventAckDto> acks = new ArrayList<>(batch.size());
+                List<MiningEventDto> createdEvents = new ArrayList<>(events.size());
+                for (PendingEvent pendingEvent : batch) {
+                    String key = pendingEvent.event().getIdempotencyKey();
+                    MiningEventAckDto ack = ar.result().get(key);
+                    if (ack == null) {
+                        ack = MiningEventAckDto.failed(key, "처리 결과를 확인하지 못했습니다.");
+                    } else if (MiningEventAckDto.CREATED.equals(ack.getStatus())) {
+                        if (firstByKey.get(key) != pendingEvent) {
+                            ack = MiningEventAckDto.duplicate(key, ack.getMiningHistoryId());
+                        } else {
+                            createdEvents.add(pendingEvent.event());
+                        }
+                    }
+                    acks.add(ack);
+                }
+                if (leaderboard != null) {
+                    leaderboard.record(createdEvents);
+                }
+                for (int i = 0; i < batch.size(); i++) {
+                    batch.get(i).ack().complete(acks.get(i));
+                }
+            } else {
+                log.error("Mining event batch write failed - size: {}", batch.size(), ar.cause());
+                for (PendingEvent pendingEvent : batch) {
+                    pendingEvent.ack().complete(MiningEventAckDto.failed(pendingEvent.event().getIdempotencyKey(), "저장에 실패했습니다. 같은 키로 다시 전송해 주세요."));
+                }
+            }
+            
+            // 실행 중에 모인 이벤트는 바로 다음 묶음으로 실행
+            List<List<PendingEvent>> ready = new ArrayList<>();
+            synchronized (pending) {
+                inFlight--;
+                if (!pending.isEmpty()) {
+                    ready.add(takeBatch());
+                }
+                ready.addAll(takeReadyBatches());
+            }
+            ready.forEach(this::write);
+        });
+    }
+    
+    /**
+     * 일일 한도를 확인한 뒤 허용된 금액으로 저장하고, 저장되지 않은 이벤트의 허용 금액은 카운터에서 되돌림
+     * 한도를 모두 쓴 이벤트는 이미 처리된 키면 DUPLICATE, 아니면 REJECTED
+     */
+    private Future<Map<String, MiningEventAckDto>> insertWithinDailyLimit(List<MiningEventDto> events) {
+        return dailyLimiter.acquire(events)
+            .compose(granted -> {
+                Map<String, MiningEventAckDto> acks = new HashMap<>(events.size() * 2);
+                List<MiningEventDto> insertable = new ArrayList<>(events.size());
+                List<BigDecimal> insertableGranted = new ArrayList<>(events.size());
+                Map<String, BigDecimal> requestedAmounts = new HashMap<>();
+                List<String> exhaustedKeys = new ArrayList<>();
+                for (int i = 0; i < events.size(); i++) {
+                    MiningEventDto event = events.get(i);
+                    BigDecimal amount = granted.get(i);
+                    if (amount == null) {
+                        acks.put(event.getIdempotencyKey(), MiningEventAckDto.failed(event.getIdempotencyKey(), "일일 한도를 확인하지 못했습니다. 같은 키로 다시 전송해 주세요."));
+                    } else if (amount.signum() == 0) {
+                        exhaustedKeys.add(event.getIdempotencyKey());
+                    } else {
+                        if (amount.compareTo(event.getAmount()) < 0) {
+                            requestedAmounts.put(event.getIdempotencyKey(), event.getAmount());
+                            event.setAmount(amount);
+                        }
+                        insertable.add(event);
+                        insertableGranted.add(amount);
+                    }
+                }
+                
+                Future<Map<String, MiningEventAckDto>> inserted = insertable.isEmpty()
+                    ? Future.succeededFuture(Map.of())
+                    : repository.insertEvents(client, insertable)
+                        .onComplete(ar -> {
+                            for (int i = 0; i < insertable.size(); i++) {
+                                MiningEventAckDto ack = ar.succeeded() ? ar.result().get(insertable.get(i).getIdempotencyKey()) : null;
+                                if (ack == null || !MiningEventAckDto.CREATED.equals(ack.getStatus())) {
+                                    dailyLimiter.release(insertable.get(i), insertableGranted.get(i));
+                                }
+                            }
+                        });
+                Future<Map<String, Long>> existing = exhaustedKeys.isEmpty()
+                    ? Future.succeededFuture(Map.of())
+                    : repository.findEventKeys(client, exhaustedKeys);
+                
+                return Future.all(inserted, existing).map(done -> {
+                    Map<String, MiningEventAckDto> insertedAcks = done.resultAt(0);
+                    Map<String, Long> existingKeys = done.resultAt(1);
+                    insertedAcks.forEach((key, ack) -> {
+                        BigDecimal requested = requestedAmounts.get(key);
+                        if (requested != null && MiningEventAckDto.CREATED.equals(ack.getStatus())) {
+                            ack.setMessage("일일 채굴 한도로 요청 금액 " + requested.toPlainString() + " 중 일부만 저장되었습니다.");
+                        }
+                        acks.put(key, ack);
+                    });
+                    for (String key : exhaustedKeys) {
+                        Long miningHistoryId = existingKeys.get(key);
+                        acks.put(key, miningHistoryId != null
+                            ? MiningEventAckDto.duplicate(key, miningHistoryId)
+                            : MiningEventAckDto.rejected(key, "일일 채굴 한도를 초과했습니다."));
+                    }
+                    return acks;
+                });
+            });
+    }
+    
+    private MiningEventBatchResultDto summarize(List<MiningEventAckDto> acks) {
+        int createdCount = 0;
+        int duplicateCount = 0;
+        int rejectedCount = 0;
+        int failedCount = 0;
+        for (MiningEventAckDto ack : acks) {
+            switch (ack.getStatus()) {
+                case MiningEventAckDto.CREATED -> createdCount++;
+                case MiningEventAckDto.DUPLICATE -> duplicateCount++;
+                case MiningEventAckDto.REJECTED -> rejectedCount++;
+                default -> failedCount++;
+            }
+        }
+        created.add(createdCount);
+        duplicates.add(duplicateCount);
+        rejected.add(rejectedCount);
+        failed.add(failedCount);
+        
+        return MiningEventBatchResultDto.builder()
+            .acks(acks)
+            .created(createdCount)
+            .duplicate(duplicateCount)
+            .rejected(rejectedCount)
+            .failed(failedCount)
+            .build();
+    }
+    
+    /**
+     * 보관 기간(idempotency_retention_hours)이 지난 멱등성 키 삭제
+     * 보관 기간 이후 같은 키로 재전송된 이벤트는 새 이벤트로 저장됩니다.
+     * @return 삭제한 키 수
+     */
+    public Future<Integer> pruneIdempotencyKeys() {
+        LocalDateTime before = LocalDateTime.now().minusHours(idempotencyRetentionHours);
+        return pruneIdempotencyKeys(before, 0)
+            .onSuccess(count -> {
+                if (count > 0) {
+                    log.info("Mining event idempotency keys pruned - count: {}, before: {}", count, before);
+                }
+            })
+            .onFailure(err -> log.error("Failed to prune mining event idempotency keys", err));
+    }
+    
+    private Future<Integer> pruneIdempotencyKeys(LocalDateTime before, int total) {
+        return repository.pruneIdempotencyKeys(client, before, PRUNE_BATCH_SIZE)
+            .compose(count -> count < PRUNE_BATCH_SIZE
+                ? Future.succeededFuture(total + count)
+                : pruneIdempotencyKeys(before, total + count));
+    }
+    
+    /**
+     * 모니터링용 지표
+     */
+    public JsonObject getMetrics() {
+        JsonObject metrics = new JsonObject()
+            .put("batches", batches.sum())
+            .put("created", created.sum())
+            .put("duplicate", duplicates.sum())
+            .put("rejected", rejected.sum())
+            .put("failed", failed.sum());
+        if (dailyLimiter != null) {
+            metrics.put("dailyLimit", dailyLimiter.getMetrics());
+        }
+        if (leaderboard != null) {
+            metrics.put("leaderboard", leaderboard.getMetrics());
+        }
+        synchronized (pending) {
+            return metrics
+                .put("pending", pending.size())
+                .put("inFlight", inFlight);
+        }
+    }
+    
+    private record PendingEvent(MiningEventDto event, Promise<MiningEventAckDto> ack) {
+    }
+}
@@ -0,0 +1,653 @@
+package com.csms.mining.service;
+
+import com.csms.common.exceptions.BadRequestException;
+import com.csms.common.exceptions.TooManyRequestsException;
+import com.csms.common.service.BaseService;
+import com.csms.mining.dto.LeaderboardEntryDto;
+import com.csms.mining.dto.MiningEventDto;
+import com.csms.mining.repository.MiningLeaderboardRepository;
+import com.csms.mining.repository.MiningLeaderboardRepository.TeamCountChange;
+import com.csms.mining.repository.MiningLeaderboardRepository.UserScore;
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.pgclient.PgPool;
+import io.vertx.redis.client.Command;
+import io.vertx.redis.client.RedisAPI;
+import io.vertx.redis.client.Response;
+import io.vertx.redis.client.ResponseType;
+import io.vertx.sqlclient.SqlClient;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 채굴/추천 랭킹 (Redis sorted set)
+ * 대시보드가 조회할 때마다 전체 회원을 집계/정렬하던 것을 대체합니다.
+ * - 채굴 랭킹: 전체/일간/주간(ISO 주, 월요일 시작)/월간 x 전체 국가/국가별(users.country_code) 보드,
+ *   점수는 채굴량(전체 유형 합계, user_mining_totals의 mined_amount + referral_revenue와 같은 기준)
+ *   채굴 이벤트 저장 직후 record()로 증분 반영 (ZINCRBY)
+ * - 추천 랭킹: 전체 기간/전체 국가 보드, 점수는 팀원 수(referral_stats_logs.team_count)
+ *   추천 관계는 다른 서비스가 기록하므로 syncReferrals()로 최근 변경된 행만 주기적으로 반영 (ZADD)
+ * - 조회: 상위 k명 ZREVRANGE, 회원 순위 ZREVRANK (모두 O(log n + k))
+ * - rebuild(): DB 집계 프로젝션에서 임시 키에 다시 채운 뒤 RENAME으로 교체 (Redis 유실/불일치 복구용, 기동 시 보드가 없으면 자동 실행 + 주기 실행)
+ * 랭킹 보상 스냅샷(RankingRewardPayoutRepository)은 보드를 읽지 않고 마감된 기간의 daily_mining 합계로 순위를 매기며,
+ * 동점 순서는 보드와 같습니다 (MiningLeaderboardRepository.rankTieBreak).
+ * 기간 보드는 기간 종료 후 period_retention_days 동안 보관되어, 마감된 기간의 순위도 조회할 수 있습니다.
+ */
+@Slf4j
+public class MiningLeaderboard extends BaseService {
+    
+    public enum Board {
+        MINING,
+        REFERRAL
+    }
+    
+    public enum Period {
+        ALL,
+        DAILY,
+        WEEKLY,
+        MONTHLY;
+        
+        /**
+         * date가 속한 기간의 시작일 (ALL이면 null)
+         */
+        public LocalDate start(LocalDate date) {
+            return switch (this) {
+                case ALL -> null;
+                case DAILY -> date;
+                case WEEKLY -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTHLY -> date.withDayOfMonth(1);
+            };
+        }
+        
+        /**
+         * date가 속한 기간의 종료일 (ALL이면 null)
+         */
+        public LocalDate end(LocalDate date) {
+            return switch (this) {
+                case ALL -> null;
+                case DAILY -> date;
+                case WEEKLY -> date.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+                case MONTHLY -> date.with(TemporalAdjusters.lastDayOfMonth());
+            };
+        }
+        
+        String id(LocalDate date) {
+            return switch (this) {
+                case ALL -> "all";
+                case DAILY -> "day:" + date.format(DAY_FORMAT);
+                case WEEKLY -> String.format("week:%dW%02d", date.get(IsoFields.WEEK_BASED_YEAR), date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+                case MONTHLY -> "month:" + date.format(MONTH_FORMAT);
+            };
+        }
+    }
+    
+    private static final String KEY_PREFIX = "leaderboard:";
+    private static final String REBUILD_LOCK_KEY = KEY_PREFIX + "rebuild:lock";
+    private static final String REFERRAL_SYNCED_AT_KEY = KEY_PREFIX + "referral:synced_at";
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final int REBUILD_BATCH_SIZE = 5000;
+    // 재구축은 페이지마다 잠금 만료를 다시 연장하므로, 한 페이지 처리 시간보다 충분히 길면 됨
+    private static final int REBUILD_LOCK_SECONDS = 600;
+    // 잠금이 아직 이 재구축의 것일 때만 만료 연장/해제 (만료 후 다른 재구축이 잡은 잠금은 건드리지 않음)
+    private static final String RENEW_LOCK_SCRIPT =
+        "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('expire', KEYS[1], ARGV[2]) end return 0";
+    private static final String RELEASE_LOCK_SCRIPT =
+        "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) end return 0";
+    // 재구축이 중단되면 임시 키가 남지 않도록 설정하는 만료 (교체 후에는 보드 기준 만료로 다시 설정)
+    private static final int REBUILD_TEMP_KEY_SECONDS = 2 * REBUILD_LOCK_SECONDS;
+    private static final int SYNC_BATCH_SIZE = 5000;
+    // 늦게 커밋된 트랜잭션의 updated_at(트랜잭션 시작 시각)을 놓치지 않도록 이전 동기화 시각보다 앞에서부터 읽음
+    private static final long REFERRAL_SYNC_OVERLAP_SECONDS = 60;
+    private static final int MAX_TOP_LIMIT = 100;
+    // 탈퇴 회원이 보드에 남아 있어도 limit명을 채우도록 더 읽는 수
+    private static final int DELETED_USER_SLACK = 10;
+    private static final long ERROR_LOG_INTERVAL_MS = 10_000L;
+    
+    private static final int DEFAULT_PERIOD_RETENTION_DAYS = 35;
+    
+    private final RedisAPI redisApi;
+    private final MiningLeaderboardRepository repository;
+    private final int periodRetentionDays;
+    
+    private final AtomicLong lastErrorLoggedAt = new AtomicLong();
+    
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    
+    /**
+     * @param periodRetentionDays 기간 보드를 기간 종료 후 보관하는 일수
+     */
+    public MiningLeaderboard(PgPool pool, RedisAPI redisApi, MiningLeaderboardRepository repository, int periodRetentionDays) {
+        super(pool);
+        this.redisApi = redisApi;
+        this.repository = repository;
+        this.periodRetentionDays = Math.max(1, periodRetentionDays);
+    }
+    
+    /**
+     * 설정(leaderboards.period_retention_days)으로 생성
+     */
+    public static MiningLeaderboard create(PgPool pool, RedisAPI redisApi, MiningLeaderboardRepository repository, JsonObject config) {
+        JsonObject leaderboardConfig = config.getJsonObject("leaderboards", new JsonObject());
+        return new MiningLeaderboard(
+            pool,
+            redisApi,
+            repository,
+            leaderboardConfig.getInteger("period_retention_days", DEFAULT_PERIOD_RETENTION_DAYS)
+        );
+    }
+    
+    /**
+     * 저장된 채굴 이벤트를 채굴 랭킹에 반영 (occurredAt 날짜 기준, amount는 실제 저장된 금액)
+     * 묶음 안에서 보드/회원별로 합친 뒤 반영하며, 국가 코드는 묶음당 한 번 조회합니다.
+     * 실패해도 저장된 채굴 내역에는 영향이 없으므로 실패를 반환하지 않고 기록만 합니다 (rebuild()로 복구).
+     * 재구축 중이면 재구축 대상 보드의 임시 키에도 같은 증분을 반영하여, 교체(RENAME) 후에도 증분이 사라지지 않게 합니다.
+     */
+    public Future<Void> record(List<MiningEventDto> events) {
+        if (events.isEmpty()) {
+            return Future.succeededFuture();
+        }
+        List<Long> userIds = events.stream().map(MiningEventDto::getUserId).distinct().toList();
+        Future<Map<Long, String>> countryLookup = repository.getUserCountryCodes(client, userIds)
+            .recover(err -> {
+                logError("Leaderboard country lookup failed - recording global boards only", err);
+                return Future.succeededFuture(Map.of());
+            });
+        Future<RebuildTarget> rebuildLookup = redisApi.get(REBUILD_LOCK_KEY)
+            .map(lock -> lock == null ? null : RebuildTarget.parse(lock.toString()))
+            .recover(err -> {
+                logError("Leaderboard rebuild lookup failed - recording live boards only", err);
+                return Future.succeededFuture(null);
+            });
+        
+        return Future.all(countryLookup, rebuildLookup)
+            .compose(lookups -> {
+                Map<Long, String> countryCodes = lookups.resultAt(0);
+                RebuildTarget rebuilding = lookups.resultAt(1);
+                Map<String, Map<String, BigDecimal>> increments = new HashMap<>();
+                Map<String, String> expireAts = new HashMap<>();
+                Map<String, Map<String, BigDecimal>> mirrorIncrements = new HashMap<>();
+                for (MiningEventDto event : events) {
+                    LocalDate date = event.getOccurredAt().toLocalDate();
+                    String member = String.valueOf(event.getUserId());
+                    String countryCode = countryCodes.get(event.getUserId());
+                    for (Period period : Period.values()) {
+                        boolean mirrored = rebuilding != null && rebuilding.covers(period, date);
+                        List<String> keys = countryCode == null
+                            ? List.of(key(Board.MINING, period, date, null))
+                            : List.of(key(Board.MINING, period, date, null), key(Board.MINING, period, date, countryCode));
+                        for (String key : keys) {
+                            addIncrement(increments, expireAts, key, period, date, member, event.getAmount());
+                            if (mirrored) {
+                                mirrorIncrements.computeIfAbsent(tempKey(key, rebuilding.token()), k -> new HashMap<>())
+                                    .merge(member, event.getAmount(), BigDecimal::add);
+                            }
+                        }
+                    }
+                }
+                
+                List<Future<Response>> updates = new ArrayList<>();
+                increments.forEach((key, members) -> members.forEach((member, amount) ->
+                    updates.add(redisApi.zincrby(key, amount.toPlainString(), member))));
+                mirrorIncrements.forEach((key, members) -> members.forEach((member, amount) ->
+                    updates.add(redisApi.zincrby(key, amount.toPlainString(), member))));
+                // 새 보드 키가 만들어진 뒤 만료 시각을 설정 (만료 시각은 기간으로 정해지므로 매번 같은 값)
+                // 임시 키는 교체될 때 보드 기준 만료로 다시 설정되므로, 여기서는 재구축이 중단된 경우를 위한 만료만 설정
+                return Future.all(updates)
+                    .compose(done -> expire(expireAts))
+                    .compose(done -> expireTempKeys(mirrorIncrements.keySet()));
+            })
+            .onSuccess(v -> recorded.add(events.size()))
+            .recover(err -> {
+                errors.increment();
+                logError("Leaderboard record failed - events: " + events.size(), err);
+                return Future.succeededFuture();
+            });
+    }
+    
+    private void addIncrement(Map<String, Map<String, BigDecimal>> increments, Map<String, String> expireAts,
+                              String key, Period period, LocalDate date, String member, BigDecimal amount) {
+        increments.computeIfAbsent(key, k -> new HashMap<>()).merge(member, amount, BigDecimal::add);
+        if (period != Period.ALL) {
+            expireAts.putIfAbsent(key, expireAt(period, date));
+        }
+    }
+    
+    /**
+     * 상위 limit명 조회 (탈퇴 회원 제외, 순위는 제외 후 1부터 다시 매김)
+     * @param date 기간 보드의 기준 날짜 (null이면 오늘, ALL이면 무시)
+     * @param countryCode 국가별 보드 (null이면 전체 국가)
+     */
+    public Future<List<LeaderboardEntryDto>> getTop(Board board, Period period, LocalDate date, String countryCode, int limit) {
+        String key;
+        try {
+            key = key(board, period, date == null ? LocalDate.now() : date, normalizeCountryCode(board, period, countryCode));
+        } catch (BadRequestException e) {
+            return Future.failedFuture(e);
+        }
+        int size = Math.max(1, Math.min(limit, MAX_TOP_LIMIT));
+        
+        return redisApi.zrevrange(List.of(key, "0", String.valueOf(size + DELETED_USER_SLACK - 1), "WITHSCORES"))
+            .compose(response -> {
+                List<ScoredMember> scored = parseWithScores(response);
+                if (scored.isEmpty()) {
+                    return Future.succeededFuture(List.<LeaderboardEntryDto>of());
+                }
+                List<Long> userIds = scored.stream().map(ScoredMember::userId).toList();
+                return repository.getUserNicknames(client, userIds)
+                    .map(nicknames -> {
+                        List<LeaderboardEntryDto> entries = new ArrayList<>(size);
+                        for (ScoredMember member : scored) {
+                            String nickname = nicknames.get(member.userId());
+                            if (nickname == null) {
+                                continue;
+                            }
+                            entries.add(LeaderboardEntryDto.builder()
+                                .rank((long) entries.size() + 1)
+                                .userId(member.userId())
+                                .nickname(nickname)
+                                .score(member.score())
+                                .build());
+                            if (entries.size() == size) {
+                                break;
+                            }
+                        }
+                        return entries;
+                    });
+            });
+    }
+    
+    /**
+     * 회원 순위 조회 (보드에 없으면 null)
+     * @param date 기간 보드의 기준 날짜 (null이면 오늘, ALL이면 무시)
+     * @param countryCode 국가별 보드 (null이면 전체 국가)
+     */
+    public Future<LeaderboardEntryDto> getRank(Board board, Period period, LocalDate date, String countryCode, Long userId) {
+        String key;
+        try {
+            key = key(board, period, date == null ? LocalDate.now() : date, normalizeCountryCode(board, period, countryCode));
+        } catch (BadRequestException e) {
+            return Future.failedFuture(e);
+        }
+        String member = String.valueOf(userId);
+        
+        return Future.all(redisApi.send(Command.ZREVRANK, key, member), redisApi.zscore(key, member))
+            .map(results -> {
+                Response rank = results.resultAt(0);
+                Response score = results.resultAt(1);
+                if (rank == null) {
+                    return null;
+                }
+                return LeaderboardEntryDto.builder()
+                    .rank(rank.toLong() + 1)
+                    .userId(userId)
+                    .score(score == null ? null : Double.parseDouble(score.toString()))
+                    .build();
+            });
+    }
+    
+    /**
+     * DB 집계 프로젝션에서 보드를 다시 채움
+     * - 채굴: 전체(user_mining_totals), 오늘이 속한 일/주/월(daily_mining) x 전체 국가/국가별
+     * - 추천: 팀원 수(referral_stats_logs)
+     * 보드마다 임시 키에 채운 뒤 RENAME으로 교체하므로, 조회 중인 보드가 비거나 DB에 없는 회원(탈퇴 등)이 남지 않습니다.
+     * 재구축 중의 증분은 record()가 임시 키에도 반영합니다 (페이지 조회와 커밋이 겹치는 짧은 구간의 오차는 다음 주기 재구축에서 보정).
+     * 여러 프로세스에서 동시에 실행되지 않도록 Redis 잠금을 사용하며, 재구축이 길어져도 잠금이 만료되지 않도록 페이지마다 연장합니다.
+     * @return 보드별 반영한 회원 수
+     */
+    public Future<JsonObject> rebuild() {
+        LocalDate today = LocalDate.now();
+        RebuildTarget target = new RebuildTarget(UUID.randomUUID().toString(), today);
+        LocalDateTime startedAt = LocalDateTime.now();
+        JsonObject counts = new JsonObject();
+        
+        return redisApi.set(List.of(REBUILD_LOCK_KEY, target.format(), "NX", "EX", String.valueOf(REBUILD_LOCK_SECONDS)))
+            .compose(locked -> {
+                if (locked == null) {
+                    return Future.failedFuture(new TooManyRequestsException("랭킹 재구축이 이미 진행 중입니다. 완료 후 다시 요청해주세요."));
+                }
+                log.info("Leaderboard rebuild started - date: {}", today);
+                return rebuildBoard(Board.MINING, Period.ALL, target, repository::getAllTimeMiningScores)
+                    .compose(count -> {
+                        counts.put("miningAll", count);
+                        return rebuildPeriod(Period.DAILY, target);
+                    })
+                    .compose(count -> {
+                        counts.put("miningDaily", count);
+                        return rebuildPeriod(Period.WEEKLY, target);
+                    })
+                    .compose(count -> {
+                        counts.put("miningWeekly", count);
+                        return rebuildPeriod(Period.MONTHLY, target);
+                    })
+                    .compose(count -> {
+                        counts.put("miningMonthly", count);
+                        return rebuildBoard(Board.REFERRAL, Period.ALL, target, repository::getReferralTeamCounts);
+                    })
+                    .compose(count -> {
+                        counts.put("referral", count);
+                        return redisApi.set(List.of(REFERRAL_SYNCED_AT_KEY, startedAt.toString()));
+                    })
+                    .eventually(v -> releaseRebuildLock(target))
+                    .map(done -> counts);
+            })
+            .onSuccess(result -> log.info("Leaderboard rebuild completed - {}", result.encode()))
+            .onFailure(err -> {
+                if (err instanceof TooManyRequestsException) {
+                    log.info("Leaderboard rebuild skipped - already running");
+                } else {
+                    log.error("Leaderboard rebuild failed", err);
+                }
+            });
+    }
+    
+    /**
+     * 전체 채굴 보드가 없으면(첫 기동, Redis 유실) 재구축
+     */
+    public Future<Void> rebuildIfMissing() {
+        return redisApi.exists(List.of(key(Board.MINING, Period.ALL, null, null)))
+            .compose(exists -> exists != null && exists.toInteger() > 0
+                ? Future.succeededFuture()
+                : rebuild().<Void>mapEmpty())
+            .onFailure(err -> log.error("Failed to check leaderboard", err));
+    }
+    
+    private Future<Integer> rebuildPeriod(Period period, RebuildTarget target) {
+        LocalDate from = period.start(target.date());
+        LocalDate to = period.end(target.date());
+        return rebuildBoard(Board.MINING, period, target,
+            (client, afterUserId, limit) -> repository.getPeriodMiningScores(client, from, to, afterUserId, limit));
+    }
+    
+    /**
+     * 임시 키에 모두 채운 뒤 보드 키로 교체
+     * DB에 행이 없는 보드(국가 포함)는 기존 보드를 그대로 둡니다.
+     */
+    private Future<Integer> rebuildBoard(Board board, Period period, RebuildTarget target, ScoreSource source) {
+        Set<String> keys = new LinkedHashSet<>();
+        return rebuildPage(board, period, target, source, keys, 0L, 0)
+            .compose(total -> swapBoards(period, target, keys).map(total));
+    }
+    
+    private Future<Integer> rebuildPage(Board board, Period period, RebuildTarget target, ScoreSource source,
+                                        Set<String> keys, long afterUserId, int total) {
+        return renewRebuildLock(target)
+            .compose(renewed -> source.load(client, afterUserId, REBUILD_BATCH_SIZE))
+            .compose(scores -> {
+                if (scores.isEmpty()) {
+                    return Future.succeededFuture(total);
+                }
+                // 보드별 ZADD 인자 (임시 키, 점수, 회원, 점수, 회원, ...)
+                Map<String, List<String>> zaddArgs = new LinkedHashMap<>();
+                for (UserScore score : scores) {
+                    addScore(zaddArgs, keys, key(board, period, target.date(), null), target, score);
+                    if (board == Board.MINING && score.countryCode() != null) {
+                        addScore(zaddArgs, keys, key(board, period, target.date(), score.countryCode()), target, score);
+                    }
+                }
+                List<Future<Response>> writes = new ArrayList<>(zaddArgs.size());
+                zaddArgs.values().forEach(args -> writes.add(redisApi.zadd(args)));
+                long lastUserId = scores.get(scores.size() - 1).userId();
+                return Future.all(writes)
+                    .compose(done -> expireTempKeys(tempKeys(keys, target)))
+                    .compose(done -> scores.size() < REBUILD_BATCH_SIZE
+                        ? Future.succeededFuture(total + scores.size())
+                        : rebuildPage(board, period, target, source, keys, lastUserId, total + scores.size()));
+            });
+    }
+    
+    private void addScore(Map<String, List<String>> zaddArgs, Set<String> keys, String key, RebuildTarget target, UserScore score) {
+        keys.add(key);
+        List<String> args = zaddArgs.computeIfAbsent(tempKey(key, target.token()), k -> {
+            List<String> created = new ArrayList<>();
+            created.add(k);
+            return created;
+        });
+        args.add(score.score().toPlainString());
+        args.add(String.valueOf(score.userId()));
+    }
+    
+    /**
+     * 임시 키를 보드 키로 교체 (RENAME은 임시 키의 만료를 따르므로 보드 기준 만료로 다시 설정)
+     */
+    private Future<Void> swapBoards(Period period, RebuildTarget target, Set<String> keys) {
+        List<Future<Response>> swaps = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            swaps.add(redisApi.rename(tempKey(key, target.token()), key)
+                .compose(renamed -> period == Period.ALL
+                    ? redisApi.persist(key)
+                    : redisApi.expireat(List.of(key, expireAt(period, target.date())))));
+        }
+        return Future.all(swaps).mapEmpty();
+    }
+    
+    private Future<Void> expireTempKeys(Set<String> tempKeys) {
+        if (tempKeys.isEmpty()) {
+            return Future.succeededFuture();
+        }
+        List<Future<Response>> expires = new ArrayList<>(tempKeys.size());
+        tempKeys.forEach(key -> expires.add(redisApi.expire(List.of(key, String.valueOf(REBUILD_TEMP_KEY_SECONDS)))));
+        return Future.all(expires).mapEmpty();
+    }
+    
+    /**
+     * 보드의 임시 키 전체 (이번 페이지에 행이 없는 국가 보드도 재구축이 끝날 때까지 만료되지 않도록 페이지마다 연장)
+     */
+    private static Set<String> tempKeys(Set<String> keys, RebuildTarget target) {
+        Set<String> tempKeys = new LinkedHashSet<>();
+        keys.forEach(key -> tempKeys.add(tempKey(key, target.token())));
+        return tempKeys;
+    }
+    
+    /**
+     * 재구축 잠금 만료 연장
+     * 잠금을 잃었으면(만료 후 다른 재구축이 시작됨) 그 사이 증분이 임시 키에 반영되지 않았을 수 있으므로 재구축을 중단합니다.
+     */
+    private Future<Void> renewRebuildLock(RebuildTarget target) {
+        return redisApi.eval(List.of(RENEW_LOCK_SCRIPT, "1", REBUILD_LOCK_KEY, target.format(), String.valueOf(REBUILD_LOCK_SECONDS)))
+            .compose(renewed -> renewed != null && renewed.toInteger() > 0
+                ? Future.<Void>succeededFuture()
+                : Future.failedFuture(new IllegalStateException("Leaderboard rebuild lock lost - token: " + target.token())));
+    }
+    
+    private Future<Response> releaseRebuildLock(RebuildTarget target) {
+        return redisApi.eval(List.of(RELEASE_LOCK_SCRIPT, "1", REBUILD_LOCK_KEY, target.format()));
+    }
+    
+    /**
+     * 최근 변경된 팀원 수를 추천 랭킹에 반영 (이전 동기화 시각 - 겹침 이후 변경분)
+     * 점수를 덮어쓰므로 여러 프로세스에서 실행되어도 안전하며, 팀원이 없거나 탈퇴한 회원은 보드에서 제거합니다.
+     * @return 반영한 회원 수
+     */
+    public Future<Integer> syncReferrals() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        return redisApi.get(REFERRAL_SYNCED_AT_KEY)
+            .compose(syncedAt -> {
+                LocalDateTime since = (syncedAt == null ? startedAt : LocalDateTime.parse(syncedAt.toString()))
+                    .minusSeconds(REFERRAL_SYNC_OVERLAP_SECONDS);
+                return syncReferralPage(since, 0L, 0);
+            })
+            .compose(count -> redisApi.set(List.of(REFERRAL_SYNCED_AT_KEY, startedAt.toString())).map(count))
+            .onSuccess(count -> {
+                if (count > 0) {
+                    log.debug("Referral leaderboard synced - users: {}", count);
+                }
+            })
+            .onFailure(err -> log.error("Failed to sync referral leaderboard", err));
+    }
+    
+    private Future<Integer> syncReferralPage(LocalDateTime afterUpdatedAt, long afterUserId, int total) {
+        return repository.getReferralTeamCountChanges(client, afterUpdatedAt, afterUserId, SYNC_BATCH_SIZE)
+            .compose(changes -> {
+                if (changes.isEmpty()) {
+                    return Future.succeededFuture(total);
+                }
+                String key = key(Board.REFERRAL, Period.ALL, null, null);
+                List<String> zaddArgs = new ArrayList<>();
+                List<String> zremArgs = new ArrayList<>();
+                zaddArgs.add(key);
+                zremArgs.add(key);
+                for (TeamCountChange change : changes) {
+                    if (change.teamCount() != null && change.teamCount() > 0) {
+                        zaddArgs.add(String.valueOf(change.teamCount()));
+                        zaddArgs.add(String.valueOf(change.userId()));
+                    } else {
+                        zremArgs.add(String.valueOf(change.userId()));
+                    }
+                }
+                List<Future<Response>> writes = new ArrayList<>(2);
+                if (zaddArgs.size() > 1) {
+                    writes.add(redisApi.zadd(zaddArgs));
+                }
+                if (zremArgs.size() > 1) {
+                    writes.add(redisApi.zrem(zremArgs));
+                }
+                TeamCountChange last = changes.get(changes.size() - 1);
+                return Future.all(writes)
+                    .compose(done -> changes.size() < SYNC_BATCH_SIZE
+                        ? Future.succeededFuture(total + changes.size())
+                        : syncReferralPage(last.updatedAt(), last.userId(), total + changes.size()));
+            });
+    }
+    
+    private Future<Void> expire(Map<String, String> expireAts) {
+        if (expireAts.isEmpty()) {
+            return Future.succeededFuture();
+        }
+        List<Future<Response>> expires = new ArrayList<>(expireAts.size());
+        expireAts.forEach((key, at) -> expires.add(redisApi.expireat(List.of(key, at))));
+        return Future.all(expires).mapEmpty();
+    }
+    
+    /**
+     * 국가 코드 검증/정규화 (추천 랭킹은 전체 기간/전체 국가만 지원)
+     */
+    private static String normalizeCountryCode(Board board, Period period, String countryCode) {
+        if (board == Board.REFERRAL && (period != Period.ALL || countryCode != null)) {
+            throw new BadRequestException("추천 랭킹은 전체 기간, 전체 국가만 조회할 수 있습니다.");
+        }
+        if (countryCode == null || countryCode.isBlank()) {
+            return null;
+        }
+        if (!countryCode.matches("[A-Za-z]{2}")) {
+            throw new BadRequestException("countryCode는 2자리 국가 코드여야 합니다.");
+        }
+        return countryCode.toUpperCase();
+    }
+    
+    /**
+     * 보드 키 (예: leaderboard:mining:all, leaderboard:mining:week:2026W42:KR, leaderboard:referral:all)
+     */
+    static String key(Board board, Period period, LocalDate date, String countryCode) {
+        String key = KEY_PREFIX + board.name().toLowerCase() + ":" + period.id(date);
+        return countryCode == null ? key : key + ":" + countryCode;
+    }
+    
+    /**
+     * 재구축 임시 키 (예: {leaderboard:mining:all}:rebuild:<token>)
+     * 해시 태그로 보드 키와 같은 슬롯에 두어 Redis Cluster에서도 RENAME할 수 있게 합니다.
+     */
+    static String tempKey(String key, String token) {
+        return "{" + key + "}:rebuild:" + token;
+    }
+    
+    /**
+     * 기간 보드 만료 시각 - 기간이 끝난 뒤 period_retention_days 후 (unix 초)
+     */
+    private String expireAt(Period period, LocalDate date) {
+        LocalDateTime expiresAt = period.end(date).plusDays(1 + periodRetentionDays).atStartOfDay();
+        return String.valueOf(expiresAt.atZone(ZoneId.systemDefault()).toEpochSecond());
+    }
+    
+    /**
+     * ZREVRANGE WITHSCORES 응답 파싱 (RESP2: [회원, 점수, ...], RESP3: [[회원, 점수], ...])
+     */
+    private static List<ScoredMember> parseWithScores(Response response) {
+        List<ScoredMember> scored = new ArrayList<>();
+        if (response == null) {
+            return scored;
+        }
+        int i = 0;
+        while (i < response.size()) {
+            Response item = response.get(i);
+            if (item.type() == ResponseType.MULTI) {
+                scored.add(new ScoredMember(Long.parseLong(item.get(0).toString()), Double.parseDouble(item.get(1).toString())));
+                i++;
+            } else {
+                scored.add(new ScoredMember(Long.parseLong(item.toString()), Double.parseDouble(response.get(i + 1).toString())));
+                i += 2;
+            }
+        }
+        return scored;
+    }
+    
+    // Redis 장애 시 묶음마다 로그가 쌓이지 않도록 간격을 둠
+    private void logError(String message, Throwable err) {
+        long now = System.currentTimeMillis();
+        long last = lastErrorLoggedAt.get();
+        if (now - last >= ERROR_LOG_INTERVAL_MS && lastErrorLoggedAt.compareAndSet(last, now)) {
+            log.warn("{} (errors: {})", message, errors.sum(), err);
+        }
+    }
+    
+    /**
+     * 모니터링용 지표
+     */
+    public JsonObject getMetrics() {
+        return new JsonObject()
+            .put("recorded", recorded.sum())
+            .put("errors", errors.sum());
+    }
+    
+    @FunctionalInterface
+    private interface ScoreSource {
+        Future<List<UserScore>> load(SqlClient client, long afterUserId, int limit);
+    }
+    
+    private record ScoredMember(Long userId, Double score) {
+    }
+    
+    /**
+     * 진행 중인 재구축 (잠금 값 "<기준 날짜>:<토큰>"으로 다른 프로세스의 record()에도 공유)
+     */
+    private record RebuildTarget(String token, LocalDate date) {
+        
+        static RebuildTarget parse(String value) {
+            int separator = value.indexOf(':');
+            if (separator < 0) {
+                return null;
+            }
+            return new RebuildTarget(value.substring(separator + 1), LocalDate.parse(value.substring(0, separator), DAY_FORMAT));
+        }
+        
+        String format() {
+            return date.format(DAY_FORMAT) + ":" + token;
+        }
+        
+        /**
+         * 재구축 대상 보드인지 (전체 기간 또는 기준 날짜가 속한 기간)
+         */
+        boolean covers(Period period, LocalDate eventDate) {
+            return period == Period.ALL || period.id(eventDate).equals(period.id(date));
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.csms.mining.service;
+
+import com.csms.admin.dto.RankingRewardDto;
+import com.csms.common.service.BaseService;
+import com.csms.mining.repository.RankingRewardPayoutRepository;
+import com.csms.mining.service.MiningLeaderboard.Period;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.pgclient.PgPool;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 랭킹 보상 지급 (ranking_reward_settings의 REGIONAL/NATIONAL 순위별 보상)
+ * - 기간(설정의 period)이 마감되면 close_delay_minutes 뒤(늦게 도착한 채굴 이벤트 반영) 순위를 스냅샷으로 저장
+ *   순위는 daily_mining 기간 합계 기준이며, REGIONAL은 전체 국가 순위(회원에 지역 정보가 없음), NATIONAL은 국가별 순위
+ * - 스냅샷 항목을 batch_size개씩 한 트랜잭션으로 지급 (항목 지급 처리 + 지갑 잔액 + wallet_transactions + 진행 상황)
+ * - 지급한 항목은 표시되므로 중단되어도 다음 실행에서 남은 항목부터 이어서 지급, 여러 프로세스가 실행해도 중복 지급되지 않음
+ * - 묶음 사이에 쉬어 이 작업이 연결을 target_pool_utilization 비율 이상 쓰지 않도록 하고,
+ *   연결을 얻는 데 pool_busy_wait_ms보다 오래 걸리면(요청 처리로 풀이 바쁨) 쉬는 시간을 두 배씩 늘림
+ */
+@Slf4j
+public class RankingRewardPayoutService extends BaseService {
+    
+    // 보상 순위 수 (1, 2, 3위 + 4~10위)
+    private static final int REWARDED_RANKS = 10;
+    private static final long MIN_BACKOFF_MS = 100L;
+    private static final long MAX_BACKOFF_MS = 30_000L;
+    
+    private static final boolean DEFAULT_ENABLED = false;
+    private static final String DEFAULT_PERIOD = "MONTHLY";
+    private static final String DEFAULT_CURRENCY_CODE = "KORI";
+    private static final String DEFAULT_CHAIN = "TRON";
+    private static final int DEFAULT_CLOSE_DELAY_MINUTES = 60;
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+    private static final double DEFAULT_TARGET_POOL_UTILIZATION = 0.25;
+    private static final long DEFAULT_POOL_BUSY_WAIT_MS = 50L;
+    
+    private final Vertx vertx;
+    private final RankingRewardPayoutRepository repository;
+    private final Supplier<Future<RankingRewardDto>> rewards;
+    private final boolean enabled;
+    private final Period period;
+    private final String currencyCode;
+    private final String chain;
+    private final int closeDelayMinutes;
+    private final int batchSize;
+    private final double targetPoolUtilization;
+    private final long poolBusyWaitMs;
+    
+    private final AtomicBoolean running = new AtomicBoolean();
+    // 한 번에 하나의 실행만 갱신 (running)
+    private long backoffMs;
+    
+    private final LongAdder paidItems = new LongAdder();
+    private final LongAdder paidChunks = new LongAdder();
+    private final LongAdder completedPayouts = new LongAdder();
+    private final LongAdder throttledMs = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    
+    /**
+     * @param rewards 순위별 보상 설정 조회
+     * @param period 보상 기간 (ALL 불가)
+     * @param closeDelayMinutes 기간이 끝난 뒤 스냅샷까지 기다리는 시간
+     * @param batchSize 한 트랜잭션에서 지급하는 항목 수
+     * @param targetPoolUtilization 이 작업이 연결을 사용하는 시간 비율 목표 (0 초과 1 이하)
+     * @param poolBusyWaitMs 풀이 바쁘다고 보는 연결 대기 시간
+     */
+    public RankingRewardPayoutService(Vertx vertx, PgPool pool, RankingRewardPayoutRepository repository,
+                                      Supplier<Future<RankingRewardDto>> rewards, boolean enabled, Period period,
+                                      String currencyCode, String chain, int closeDelayMinutes, int batchSize,
+                                      double targetPoolUtilization, long poolBusyWaitMs) {
+        super(pool);
+        if (period == Period.ALL) {
+            throw new IllegalArgumentException("Ranking reward period must be DAILY, WEEKLY or MONTHLY");
+        }
+        this.vertx = vertx;
+        this.repository = repository;
+        this.rewards = rewards;
+        this.enabled = enabled;
+        this.period = period;
+        this.currencyCode = currencyCode;
+        this.chain = chain;
+        this.closeDelayMinutes = Math.max(0, closeDelayMinutes);
+        this.batchSize = Math.max(1, batchSize);
+        this.targetPoolUtilization = Math.min(1.0, Math.max(0.01, targetPoolUtilization));
+        this.poolBusyWaitMs = Math.max(1L, poolBusyWaitMs);
+    }
+    
+    /**
+     * 설정(ranking_rewards)으로 생성
+     */
+    public static RankingRewardPayoutService create(Vertx vertx, PgPool pool, RankingRewardPayoutRepository repository,
+                                                    Supplier<Future<RankingRewardDto>> rewards, JsonObject config) {
+        JsonObject rewardConfig = config.getJsonObject("ranking_rewards", new JsonObject());
+        return new RankingRewardPayoutService(
+            vertx,
+            pool,
+            repository,
+            rewards,
+            rewardConfig.getBoolean("enabled", DEFAULT_ENABLED),
+            Period.valueOf(rewardConfig.getString("period", DEFAULT_PERIOD)),
+            rewardConfig.getString("currency_code", DEFAULT_CURRENCY_CODE),
+            rewardConfig.getString("chain", DEFAULT_CHAIN),
+            rewardConfig.getInteger("close_delay_minutes", DEFAULT_CLOSE_DELAY_MINUTES),
+            rewardConfig.getInteger("batch_size", DEFAULT_BATCH_SIZE),
+            rewardConfig.getDouble("target_pool_utilization", DEFAULT_TARGET_POOL_UTILIZATION),
+            rewardConfig.getLong("pool_busy_wait_ms", DEFAULT_POOL_BUSY_WAIT_MS)
+        );
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * 마감된 기간의 스냅샷 생성(없으면) 후 지급 중인 모든 지급을 이어서 지급
+     * 이미 실행 중이면 건너뜁니다.
+     * @return 이번 실행에서 지급한 항목 수
+     */
+    public Future<Integer> runDue() {
+        return runDue(LocalDateTime.now());
+    }
+    
+    Future<Integer> runDue(LocalDateTime now) {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return Future.succeededFuture(0);
+        }
+        // 지연 시간을 뺀 시각이 속한 기간의 바로 전 기간이 마감 대상
+        LocalDate closedDate = period.start(now.minusMinutes(closeDelayMinutes).toLocalDate()).minusDays(1);
+        
+        return snapshot(closedDate)
+            .compose(v -> repository.getPayingPayoutIds(client))
+            .compose(this::payAll)
+            .onSuccess(paid -> {
+                if (paid > 0) {
+                    log.info("Ranking reward payout run completed - paid items: {}", paid);
+                }
+            })
+            .onFailure(err -> {
+                errors.increment();
+                log.error("Ranking reward payout run failed", err);
+            })
+            .eventually(v -> {
+                running.set(false);
+                return Future.succeededFuture();
+            });
+    }
+    
+    private Future<Void> snapshot(LocalDate closedDate) {
+        LocalDate from = period.start(closedDate);
+        LocalDate to = period.end(closedDate);
+        return rewards.get()
+            .compose(settings -> {
+                RankingRewardDto.RegionalReward regional = settings.getRegional();
+                RankingRewardDto.NationalReward national = settings.getNational();
+                String[] regionalAmounts = regional == null ? amounts(null, null, null, null)
+                    : amounts(regional.getRank1(), regional.getRank2(), regional.getRank3(), regional.getRank4to10());
+                String[] nationalAmounts = national == null ? amounts(null, null, null, null)
+                    : amounts(national.getRank1(), national.getRank2(), national.getRank3(), national.getRank4to10());
+                return repository.createPayout(client, period.name(), from, to, currencyCode, chain, regionalAmounts, nationalAmounts);
+            })
+            .compose(payoutId -> {
+                if (payoutId != null) {
+                    log.info("Ranking reward payout created - id: {}, period: {}, from: {}, to: {}", payoutId, period, from, to);
+                    return Future.succeededFuture();
+                }
+                // 이미 생성된 기간이거나, 보상 통화가 없어 생성되지 않은 경우
+                return repository.existsCurrency(client, currencyCode, chain)
+                    .compose(exists -> exists
+                        ? Future.<Void>succeededFuture()
+                        : Future.failedFuture(new IllegalStateException(
+                            "Ranking reward currency not found - code: " + currencyCode + ", chain: " + chain)));
+            });
+    }
+    
+    /**
+     * 1위부터 순위별 보상 (설정이 없는 순위는 0)
+     */
+    static String[] amounts(Double rank1, Double rank2, Double rank3, Double rank4to10) {
+        String[] amounts = new String[REWARDED_RANKS];
+        Arrays.fill(amounts, amount(rank4to10));
+        amounts[0] = amount(rank1);
+        amounts[1] = amount(rank2);
+        amounts[2] = amount(rank3);
+        return amounts;
+    }
+    
+    private static String amount(Double value) {
+        return value == null ? "0" : BigDecimal.valueOf(value).toPlainString();
+    }
+    
+    private Future<Integer> payAll(List<Long> payoutIds) {
+        Future<Integer> result = Future.succeededFuture(0);
+        for (Long payoutId : payoutIds) {
+            result = result.compose(total -> payChunks(payoutId, 0).map(paid -> total + paid));
+        }
+        return result;
+    }
+    
+    private Future<Integer> payChunks(Long payoutId, int total) {
+        long requestedAt = System.nanoTime();
+        return pool.getConnection()
+            .compose(conn -> {
+                long acquiredAt = System.nanoTime();
+                return repository.payChunk(conn, payoutId, batchSize)
+                    .eventually(v -> conn.close())
+                    .compose(paid -> {
+                        if (paid == 0) {
+                            return repository.completePayout(client, payoutId)
+                                .map(completed -> {
+                                    if (completed) {
+                                        completedPayouts.increment();
+                                        log.info("Ranking reward payout completed - id: {}, paid items: {}", payoutId, total);
+                                    }
+                                    return total;
+                                });
+                        }
+                        paidItems.add(paid);
+                        paidChunks.increment();
+                        long busyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - acquiredAt);
+                        long waitMs = TimeUnit.NANOSECONDS.toMillis(acquiredAt - requestedAt);
+                        return pause(nextPauseMs(busyMs, waitMs))
+                            .compose(v -> payChunks(payoutId, total + paid));
+                    });
+            });
+    }
+    
+    /**
+     * 다음 묶음까지 쉬는 시간
+     * 쉬는 시간 = 사용 시간 x (1 - 목표 비율) / 목표 비율, 연결 대기가 길면 백오프를 더함 (대기가 짧아지면 초기화)
+     */
+    long nextPauseMs(long busyMs, long acquireWaitMs) {
+        if (acquireWaitMs > poolBusyWaitMs) {
+            backoffMs = Math.min(MAX_BACKOFF_MS, Math.max(MIN_BACKOFF_MS, backoffMs * 2));
+        } else {
+            backoffMs = 0;
+        }
+        long pauseMs = Math.round(busyMs * (1 - targetPoolUtilization) / targetPoolUtilization) + backoffMs;
+        throttledMs.add(pauseMs);
+        return pauseMs;
+    }
+    
+    private Future<Void> pause(long delayMs) {
+        Promise<Void> promise = Promise.promise();
+        vertx.setTimer(Math.max(1L, delayMs), timerId -> promise.complete());
+        return promise.future();
+    }
+    
+    /**
+     * 모니터링용 지표
+     */
+    public JsonObject getMetrics() {
+        return new JsonObject()
+            .put("paidItems", paidItems.sum())
+            .put("paidChunks", paidChunks.sum())
+            .put("completedPayouts", completedPayouts.sum())
+            .put("throttledMs", throttledMs.sum())
+            .put("errors", errors.sum());
+    }
+}
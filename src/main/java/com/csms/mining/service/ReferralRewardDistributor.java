@@ -0,0 +1,212 @@
+package com.csms.mining.service;
+
+import com.csms.admin.dto.ReferralBonusDto;
+import com.csms.common.service.BaseService;
+import com.csms.mining.repository.ReferralRewardRepository;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.pgclient.PgPool;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 다단계 레퍼럴 리워드 분배 (referral_bonus_settings)
+ * 채굴 내역이 저장되면 트리거가 referral_reward_queue에 넣고, 작업자가 묶음 단위로 꺼내 REFERRAL_REWARD 내역을 생성합니다.
+ * - 상위 회원은 referral_closure에서 한 번에 조회 (AdminReferralService.getAncestorIds와 같은 인덱스)
+ * - 리워드 = 하부 회원 채굴량 x 분배율(%) x 깊이별 가중치(level_weights, 1단계부터)
+ * - 보너스가 꺼져 있으면 리워드 없이 대기열만 비움 (꺼져 있는 동안의 채굴은 리워드 대상 아님)
+ * - 원본 채굴 내역당 한 번만 생성 (mining_event_keys), 실패한 묶음은 대기열에 남아 다시 처리
+ * - 작업자 concurrency개가 SKIP LOCKED로 나누어 처리, 묶음이 가득 차면 쉬지 않고 이어서 처리
+ * - 생성한 리워드는 채굴 랭킹에도 반영 (MiningLeaderboard)
+ * - 분배 지연(대기열 길이, 가장 오래 기다린 시간)은 지표로 제공
+ */
+@Slf4j
+public class ReferralRewardDistributor extends BaseService {
+    
+    private static final long LAG_REFRESH_INTERVAL_MS = 10_000L;
+    private static final long LAG_WARN_MS = 5 * 60 * 1000L;
+    private static final long ERROR_LOG_INTERVAL_MS = 10_000L;
+    private static final BigDecimal PERCENT = BigDecimal.valueOf(100);
+    
+    private static final int DEFAULT_BATCH_SIZE = 2000;
+    private static final int DEFAULT_CONCURRENCY = 2;
+    private static final long DEFAULT_POLL_INTERVAL_MS = 1000L;
+    private static final JsonArray DEFAULT_LEVEL_WEIGHTS = new JsonArray().add("1").add("0.5").add("0.25");
+    
+    private final Vertx vertx;
+    private final ReferralRewardRepository repository;
+    private final Supplier<Future<ReferralBonusDto>> bonus;
+    private final MiningLeaderboard leaderboard;
+    private final int batchSize;
+    private final int concurrency;
+    private final long pollIntervalMs;
+    private final List<BigDecimal> levelWeights;
+    
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicLong lastErrorLoggedAt = new AtomicLong();
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final AtomicLong lagMs = new AtomicLong();
+    
+    private final LongAdder consumed = new LongAdder();
+    private final LongAdder rewarded = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    
+    /**
+     * @param bonus 레퍼럴 보너스 설정 조회 (사용 여부, 분배율)
+     * @param leaderboard 채굴 랭킹 (Redis 미연결 시 null)
+     * @param batchSize 한 트랜잭션에서 꺼내는 원본 채굴 내역 수
+     * @param concurrency 프로세스당 작업자 수
+     * @param pollIntervalMs 대기열이 비었을 때 다시 확인하는 간격
+     * @param levelWeights 깊이별 가중치 (index 0 = 직접 추천인, 길이 = 분배 깊이)
+     */
+    public ReferralRewardDistributor(Vertx vertx, PgPool pool, ReferralRewardRepository repository,
+                                     Supplier<Future<ReferralBonusDto>> bonus, MiningLeaderboard leaderboard,
+                                     int batchSize, int concurrency, long pollIntervalMs, List<BigDecimal> levelWeights) {
+        super(pool);
+        if (levelWeights.isEmpty()) {
+            throw new IllegalArgumentException("Referral reward level weights must not be empty");
+        }
+        this.vertx = vertx;
+        this.repository = repository;
+        this.bonus = bonus;
+        this.leaderboard = leaderboard;
+        this.batchSize = Math.max(1, batchSize);
+        this.concurrency = Math.max(1, concurrency);
+        this.pollIntervalMs = Math.max(1L, pollIntervalMs);
+        this.levelWeights = List.copyOf(levelWeights);
+    }
+    
+    /**
+     * 설정(referral_rewards.batch_size, concurrency, poll_interval_ms, level_weights)으로 생성
+     */
+    public static ReferralRewardDistributor create(Vertx vertx, PgPool pool, ReferralRewardRepository repository,
+                                                   Supplier<Future<ReferralBonusDto>> bonus, MiningLeaderboard leaderboard,
+                                                   JsonObject config) {
+        JsonObject rewardConfig = config.getJsonObject("referral_rewards", new JsonObject());
+        List<BigDecimal> levelWeights = new ArrayList<>();
+        for (Object weight : rewardConfig.getJsonArray("level_weights", DEFAULT_LEVEL_WEIGHTS)) {
+            levelWeights.add(new BigDecimal(String.valueOf(weight)));
+        }
+        return new ReferralRewardDistributor(
+            vertx,
+            pool,
+            repository,
+            bonus,
+            leaderboard,
+            rewardConfig.getInteger("batch_size", DEFAULT_BATCH_SIZE),
+            rewardConfig.getInteger("concurrency", DEFAULT_CONCURRENCY),
+            rewardConfig.getLong("poll_interval_ms", DEFAULT_POLL_INTERVAL_MS),
+            levelWeights
+        );
+    }
+    
+    /**
+     * 작업자와 분배 지연 갱신 시작 (한 번만)
+     */
+    public void start() {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        for (int i = 0; i < concurrency; i++) {
+            runWorker();
+        }
+        refreshLag();
+        vertx.setPeriodic(LAG_REFRESH_INTERVAL_MS, timerId -> refreshLag());
+        log.info("Referral reward distributor started - workers: {}, batch size: {}, depth: {}",
+            concurrency, batchSize, levelWeights.size());
+    }
+    
+    // 묶음이 가득 찼으면 바로 다음 묶음, 아니면 poll_interval_ms 뒤에 다시 확인
+    private void runWorker() {
+        distributeBatch()
+            .onComplete(ar -> {
+                if (ar.succeeded() && ar.result() >= batchSize) {
+                    vertx.runOnContext(v -> runWorker());
+                } else {
+                    vertx.setTimer(pollIntervalMs, timerId -> runWorker());
+                }
+            });
+    }
+    
+    /**
+     * 대기열에서 한 묶음을 분배
+     * @return 꺼낸 원본 채굴 내역 수
+     */
+    Future<Integer> distributeBatch() {
+        return bonus.get()
+            .compose(settings -> repository.distribute(client, batchSize, multipliers(settings)))
+            .map(distribution -> {
+                if (distribution.consumed() > 0) {
+                    batches.increment();
+                    consumed.add(distribution.consumed());
+                    rewarded.add(distribution.rewards().size());
+                }
+                if (leaderboard != null && !distribution.rewards().isEmpty()) {
+                    leaderboard.record(distribution.rewards());
+                }
+                return distribution.consumed();
+            })
+            .onFailure(err -> {
+                errors.increment();
+                logError("Referral reward distribution failed", err);
+            });
+    }
+    
+    /**
+     * 깊이별 배율 = 분배율 / 100 x 가중치 (보너스가 꺼져 있으면 모두 0)
+     */
+    String[] multipliers(ReferralBonusDto settings) {
+        boolean enabled = settings != null && Boolean.TRUE.equals(settings.getIsEnabled())
+            && settings.getDistributionRate() != null;
+        BigDecimal rate = enabled ? BigDecimal.valueOf(settings.getDistributionRate()).divide(PERCENT) : BigDecimal.ZERO;
+        String[] multipliers = new String[levelWeights.size()];
+        for (int i = 0; i < multipliers.length; i++) {
+            multipliers[i] = rate.multiply(levelWeights.get(i)).stripTrailingZeros().toPlainString();
+        }
+        return multipliers;
+    }
+    
+    private void refreshLag() {
+        repository.getQueueLag(client)
+            .onSuccess(lag -> {
+                queueDepth.set(lag.depth());
+                lagMs.set(lag.lagMs());
+                if (lag.lagMs() > LAG_WARN_MS) {
+                    log.warn("Referral reward distribution lagging - queued: {}, oldest: {}ms", lag.depth(), lag.lagMs());
+                }
+            })
+            .onFailure(err -> logError("Failed to read referral reward queue lag", err));
+    }
+    
+    // DB 장애 시 작업자마다 로그가 쌓이지 않도록 간격을 둠
+    private void logError(String message, Throwable err) {
+        long now = System.currentTimeMillis();
+        long last = lastErrorLoggedAt.get();
+        if (now - last >= ERROR_LOG_INTERVAL_MS && lastErrorLoggedAt.compareAndSet(last, now)) {
+            log.warn("{} (errors: {})", message, errors.sum(), err);
+        }
+    }
+    
+    /**
+     * 모니터링용 지표 (queueDepth, lagMs는 LAG_REFRESH_INTERVAL_MS마다 갱신)
+     */
+    public JsonObject getMetrics() {
+        return new JsonObject()
+            .put("consumed", consumed.sum())
+            .put("rewarded", rewarded.sum())
+            .put("batches", batches.sum())
+            .put("errors", errors.sum())
+            .put("queueDepth", queueDepth.get())
+            .put("lagMs", lagMs.get());
+    }
+}
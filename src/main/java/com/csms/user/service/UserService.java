@@ -5,6 +5,7 @@ import com.csms.common.exceptions.BadRequestException;
 import com.csms.common.exceptions.UnauthorizedException;
 import com.csms.common.service.BaseService;
 import com.csms.common.utils.AuthUtils;
+import com.csms.common.utils.PasswordHashExecutor;
 import com.csms.user.dto.CreateUserDto;
 import com.csms.user.dto.LoginDto;
 import com.csms.user.dto.LoginResponseDto;
@@ -15,7 +16,6 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.jwt.JWTAuth;
 import io.vertx.pgclient.PgPool;
 import lombok.extern.slf4j.Slf4j;
-import org.mindrot.jbcrypt.BCrypt;
 
 @Slf4j
 public class UserService extends BaseService {
@@ -23,20 +23,28 @@ public class UserService extends BaseService {
     private final UserRepository userRepository;
     private final JWTAuth jwtAuth;
     private final JsonObject jwtConfig;
+    private final PasswordHashExecutor passwordHashExecutor;
     
     public UserService(PgPool pool, UserRepository userRepository, JWTAuth jwtAuth, JsonObject jwtConfig) {
+        this(pool, userRepository, jwtAuth, jwtConfig, PasswordHashExecutor.getDefault());
+    }
+    
+    public UserService(PgPool pool, UserRepository userRepository, JWTAuth jwtAuth, JsonObject jwtConfig,
+                       PasswordHashExecutor passwordHashExecutor) {
         super(pool);
         this.userRepository = userRepository;
         this.jwtAuth = jwtAuth;
         this.jwtConfig = jwtConfig;
+        this.passwordHashExecutor = passwordHashExecutor;
     }
     
     public Future<User> createUser(CreateUserDto dto) {
-        // 비밀번호 해시
-        String passwordHash = BCrypt.hashpw(dto.getPassword(), BCrypt.gensalt());
-        dto.setPasswordHash(passwordHash);
-        
-        return userRepository.createUser(pool, dto);
+        // 비밀번호 해시 (해시 전용 스레드 풀에서 실행)
+        return passwordHashExecutor.hash(dto.getPassword())
+            .compose(passwordHash -> {
+                dto.setPasswordHash(passwordHash);
+                return userRepository.createUser(pool, dto);
+            });
     }
     
     public Future<LoginResponseDto> login(LoginDto dto) {
@@ -46,23 +54,26 @@ public class UserService extends BaseService {
                     return Future.failedFuture(new UnauthorizedException("사용자를 찾을 수 없습니다."));
                 }
                 
-                // 비밀번호 검증
-                if (!BCrypt.checkpw(dto.getPassword(), user.getPasswordHash())) {
-                    return Future.failedFuture(new UnauthorizedException("비밀번호가 일치하지 않습니다."));
-                }
-                
-                // JWT 토큰 생성
-                String accessToken = AuthUtils.generateAccessToken(jwtAuth, user.getId(), UserRole.USER);
-                String refreshToken = AuthUtils.generateRefreshToken(jwtAuth, user.getId(), UserRole.USER);
-                
-                return Future.succeededFuture(
-                    LoginResponseDto.builder()
-                        .accessToken(accessToken)
-                        .refreshToken(refreshToken)
-                        .userId(user.getId())
-                        .loginId(user.getLoginId())
-                        .build()
-                );
+                // 비밀번호 검증 (해시 전용 스레드 풀에서 실행)
+                return passwordHashExecutor.verify(dto.getPassword(), user.getPasswordHash())
+                    .compose(matches -> {
+                        if (!matches) {
+                            return Future.failedFuture(new UnauthorizedException("비밀번호가 일치하지 않습니다."));
+                        }
+                        
+                        // JWT 토큰 생성
+                        String accessToken = AuthUtils.generateAccessToken(jwtAuth, user.getId(), UserRole.USER);
+                        String refreshToken = AuthUtils.generateRefreshToken(jwtAuth, user.getId(), UserRole.USER);
+                        
+                        return Future.succeededFuture(
+                            LoginResponseDto.builder()
+                                .accessToken(accessToken)
+                                .refreshToken(refreshToken)
+                                .userId(user.getId())
+                                .loginId(user.getLoginId())
+                                .build()
+                        );
+                    });
             });
     }
     
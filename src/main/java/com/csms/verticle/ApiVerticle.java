@@ -18,6 +18,7 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServerOptions;
 import io.vertx.core.json.Json;
@@ -34,12 +35,15 @@ import io.vertx.redis.client.RedisOptions;
 import io.vertx.redis.client.RedisRole;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * API Verticle - HTTP API 서버를 담당하는 Verticle
  * 개선사항:
  * - ServiceFactory를 통한 의존성 주입
  * - 모듈화된 라우터 등록
  * - 전역 핸들러 설정
+ * - http.instances 만큼 배포 시 ServiceFactory(PgPool, JWTAuth)와 Redis를 인스턴스 간 공유
  */
 @Slf4j
 public class ApiVerticle extends AbstractVerticle {
@@ -52,6 +56,41 @@ public class ApiVerticle extends AbstractVerticle {
     
     private ServiceFactory serviceFactory;
     private RedisAPI redisApi;
+    private final boolean sharedResources;
+    // 이 인스턴스(이벤트 루프)가 받은 요청 수
+    private final LongAdder handledRequests = new LongAdder();
+    
+    /**
+     * 단독 배포용 - start 시 ServiceFactory와 Redis를 직접 생성
+     */
+    public ApiVerticle() {
+        this.sharedResources = false;
+    }
+    
+    /**
+     * 멀티 인스턴스 배포용 - MainVerticle이 한 번 생성한 ServiceFactory와 Redis를 공유
+     * (redisApi가 null이면 RateLimiter 없이 동작)
+     */
+    public ApiVerticle(ServiceFactory serviceFactory, RedisAPI redisApi) {
+        this.serviceFactory = serviceFactory;
+        this.redisApi = redisApi;
+        this.sharedResources = true;
+    }
+    
+    // 테스트용 (인스턴스 간 공유 확인)
+    ServiceFactory serviceFactory() {
+        return serviceFactory;
+    }
+    
+    // 테스트용
+    RedisAPI redisApi() {
+        return redisApi;
+    }
+    
+    // 테스트용 (인스턴스 간 요청 분산 확인)
+    long handledRequests() {
+        return handledRequests.sum();
+    }
     
     @Override
     public void start(Promise<Void> startPromise) throws Exception {
@@ -61,11 +100,21 @@ public class ApiVerticle extends AbstractVerticle {
         JsonObject httpConfig = config.getJsonObject("http", new JsonObject());
         int port = httpConfig.getInteger("port", 8080);
         
-        // ServiceFactory 초기화
-        serviceFactory = DefaultServiceFactory.create(vertx, config);
+        // 공유 리소스가 없으면 ServiceFactory 초기화 및 Redis 연결 (RateLimiter용)
+        Future<Void> resourcesFuture;
+        if (sharedResources) {
+            resourcesFuture = Future.succeededFuture();
+        } else {
+            serviceFactory = DefaultServiceFactory.create(vertx, config);
+            resourcesFuture = connectRedis(vertx, config)
+                .map(api -> {
+                    redisApi = api;
+                    applyRateLimiter(serviceFactory, redisApi);
+                    return (Void) null;
+                });
+        }
         
-        // Redis 연결 (RateLimiter용)
-        connectRedis(config)
+        resourcesFuture
             .compose(v -> {
                 // Router 생성
                 Router mainRouter = Router.router(vertx);
@@ -120,6 +169,7 @@ public class ApiVerticle extends AbstractVerticle {
         
         // Request 로깅
         router.route().handler(ctx -> {
+            handledRequests.increment();
             log.info("[REQUEST] {} {} from {}", 
                 ctx.request().method(), ctx.request().path(), ctx.request().remoteAddress());
             ctx.next();
@@ -128,7 +178,7 @@ public class ApiVerticle extends AbstractVerticle {
         // Failure Handler
         router.route().failureHandler(ErrorHandler::handle);
         
-        // Health check
+        // Health check (내부 지표는 /api/v1/admin/metrics)
         router.get("/health").handler(ctx -> {
             ctx.response()
                 .putHeader("Content-Type", "application/json")
@@ -205,8 +255,10 @@ public class ApiVerticle extends AbstractVerticle {
     
     /**
      * Redis 연결
+     * 풀링된 클라이언트 기반 RedisAPI를 반환하며, 여러 ApiVerticle 인스턴스가 공유할 수 있습니다.
+     * 연결 실패 시 null로 완료됩니다.
      */
-    private Future<Void> connectRedis(JsonObject config) {
+    public static Future<RedisAPI> connectRedis(Vertx vertx, JsonObject config) {
         JsonObject redisConfig = config.getJsonObject("redis", new JsonObject());
         String mode = redisConfig.getString("mode", "standalone");
         
@@ -257,30 +309,37 @@ public class ApiVerticle extends AbstractVerticle {
         
         Redis redisClient = Redis.createClient(vertx, options);
         
+        // 연결 확인 후 반환하고, 실제 명령은 클라이언트 풀에서 커넥션을 받아 실행
         return redisClient.connect()
             .map(conn -> {
                 log.info("Redis connected for RateLimiter");
-                redisApi = RedisAPI.api(conn);
-                return (Void) null;
+                conn.close();
+                return RedisAPI.api(redisClient);
             })
             .recover(err -> {
                 log.warn("Failed to connect Redis for RateLimiter, continuing without rate limiting", err);
                 // Redis 연결 실패해도 서버는 시작 (RateLimiter는 null 체크 필요)
-                return Future.<Void>succeededFuture();
+                redisClient.close();
+                return Future.<RedisAPI>succeededFuture(null);
             });
     }
     
     /**
-     * 도메인별 라우터 등록
-     * DI Container를 통해 각 도메인 모듈의 Handler를 등록합니다.
+     * AdminAuthService에 RateLimiter 설정 및 Redis 연결 전달 (ServiceFactory 생성 후 한 번만 호출)
      */
-    private void registerRouters(Router mainRouter) {
-        // RateLimiter 설정 (Redis 연결 후)
+    public static void applyRateLimiter(ServiceFactory serviceFactory, RedisAPI redisApi) {
         RateLimiter rateLimiter = serviceFactory.getRateLimiter(redisApi);
         if (serviceFactory instanceof DefaultServiceFactory) {
             ((DefaultServiceFactory) serviceFactory).setAdminAuthServiceRateLimiter(rateLimiter);
+            ((DefaultServiceFactory) serviceFactory).setRedisApi(redisApi);
         }
-        
+    }
+    
+    /**
+     * 도메인별 라우터 등록
+     * DI Container를 통해 각 도메인 모듈의 Handler를 등록합니다.
+     */
+    private void registerRouters(Router mainRouter) {
         // User 도메인
         mainRouter.mountSubRouter("/api/v1/users", serviceFactory.getUserHandler(vertx).getRouter());
         
@@ -292,10 +351,15 @@ public class ApiVerticle extends AbstractVerticle {
         mainRouter.mountSubRouter("/api/v1/admin/funds", serviceFactory.getAdminFundsHandler(vertx).getRouter());
         mainRouter.mountSubRouter("/api/v1/admin/referral", serviceFactory.getAdminReferralHandler(vertx).getRouter());
         mainRouter.mountSubRouter("/api/v1/admin/airdrop", serviceFactory.getAdminAirdropHandler(vertx).getRouter());
+        mainRouter.mountSubRouter("/api/v1/admin/export-jobs", serviceFactory.getAdminExportJobHandler(vertx).getRouter());
+        mainRouter.mountSubRouter("/api/v1/admin/metrics", serviceFactory.getAdminMetricsHandler(vertx).getRouter());
         
         // Currency 도메인
         mainRouter.mountSubRouter("/api/v1/currencies", serviceFactory.getCurrencyHandler(vertx).getRouter());
         
+        // Mining 도메인 (서비스 간 이벤트 수집)
+        mainRouter.mountSubRouter("/api/v1/mining", serviceFactory.getMiningEventHandler(vertx).getRouter());
+        
         log.info("Routers registered via DI Container");
     }
     
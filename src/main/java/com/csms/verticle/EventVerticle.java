@@ -1,5 +1,7 @@
 package com.csms.verticle;
 
+import com.csms.common.event.ChannelVersions;
+import com.csms.common.event.EventChannels;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
@@ -8,10 +10,15 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.redis.client.Redis;
 import io.vertx.redis.client.RedisAPI;
 import io.vertx.redis.client.RedisClientType;
+import io.vertx.redis.client.RedisConnection;
 import io.vertx.redis.client.RedisOptions;
 import io.vertx.redis.client.RedisReplicas;
+import io.vertx.redis.client.Response;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * 이벤트 처리 Verticle
  * Redis Pub/Sub를 통한 이벤트 기반 아키텍처 지원
@@ -20,14 +27,39 @@ import lombok.extern.slf4j.Slf4j;
  * - standalone: 단일 Redis 인스턴스 (기본값)
  * - cluster: Redis Cluster (3+ Master 노드)
  * - sentinel: Redis Sentinel (Master-Slave + Failover)
+ * 
+ * 캐시 무효화 버스 (EventChannels):
+ * - 발행 시 채널 버전 카운터 증가와 PUBLISH를 Lua 스크립트 한 번으로 처리 (버전 순서 = 전달 순서)
+ * - 구독 연결이 끊기면 재연결 후 다시 구독 (지연 1초부터 두 배씩, 최대 events.reconnect_max_delay_ms)
+ * - 재구독 직후와 events.version_check_interval_ms마다 채널 버전을 확인하여,
+ *   끊겨 있는 동안 놓친 메시지가 있으면 해당 채널 구독자에게 재동기화(RESYNC)를 보냄
  */
 @Slf4j
 public class EventVerticle extends AbstractVerticle {
     
+    private static final long INITIAL_RECONNECT_DELAY_MS = 1000L;
+    private static final long DEFAULT_RECONNECT_MAX_DELAY_MS = 30_000L;
+    private static final long DEFAULT_VERSION_CHECK_INTERVAL_MS = 30_000L;
+    
+    // KEYS[1]: 채널 버전 카운터, ARGV[1]: 채널, ARGV[2]: payload(JSON)
+    // 버전을 올리고 {"version": n, "payload": ...}로 발행
+    private static final String PUBLISH_SCRIPT = """
+        local version = redis.call('INCR', KEYS[1])
+        redis.call('PUBLISH', ARGV[1], '{"version":' .. version .. ',"payload":' .. ARGV[2] .. '}')
+        return version
+        """;
+    
     private Redis redisClient;
     private Redis subscriberClient;
     private RedisAPI redisApi;
     
+    private final ChannelVersions channelVersions = new ChannelVersions();
+    private RedisConnection subscriberConnection;
+    private long reconnectMaxDelayMs;
+    private long reconnectDelayMs = INITIAL_RECONNECT_DELAY_MS;
+    private boolean reconnectScheduled;
+    private boolean stopped;
+    
     @Override
     public void start(Promise<Void> startPromise) throws Exception {
         log.info("Starting EventVerticle...");
@@ -39,24 +71,34 @@ public class EventVerticle extends AbstractVerticle {
         RedisOptions options = createRedisOptions(redisConfig, mode);
         
         redisClient = Redis.createClient(vertx, options);
+        // 발행/버전 확인은 풀 연결 사용 (연결이 끊겨도 다음 명령에서 다시 연결)
+        redisApi = RedisAPI.api(redisClient);
+        
+        JsonObject eventConfig = config().getJsonObject("events", new JsonObject());
+        reconnectMaxDelayMs = eventConfig.getLong("reconnect_max_delay_ms", DEFAULT_RECONNECT_MAX_DELAY_MS);
+        long versionCheckIntervalMs = eventConfig.getLong("version_check_interval_ms", DEFAULT_VERSION_CHECK_INTERVAL_MS);
         
         // Pub/Sub 전용 클라이언트 (Cluster 모드에서는 별도 연결 필요)
         RedisOptions subscriberOptions = createRedisOptions(redisConfig, mode);
         subscriberClient = Redis.createClient(vertx, subscriberOptions);
         
+        // 이벤트 구독 시작 (Redis 연결 실패 시에도 재연결을 계속 시도)
+        subscribeToEvents();
+        vertx.setPeriodic(versionCheckIntervalMs, timerId -> {
+            if (subscriberConnection != null) {
+                checkVersions();
+            }
+        });
+        
         redisClient.connect()
             .map(conn -> {
                 log.info("Redis connected successfully (mode: {})", mode);
-                redisApi = RedisAPI.api(conn);
-                
-                // 이벤트 구독 시작
-                subscribeToEvents();
-                
+                conn.close();
                 return (Void) null;
             })
             .recover(err -> {
-                log.warn("Failed to connect to Redis for EventVerticle, continuing without event pub/sub", err);
-                // Redis 연결 실패해도 서버는 시작 (이벤트 기능만 비활성화)
+                log.warn("Failed to connect to Redis for EventVerticle, continuing and retrying event pub/sub", err);
+                // Redis 연결 실패해도 서버는 시작 (이벤트는 재연결 후 전달)
                 return Future.<Void>succeededFuture();
             })
             .onComplete(result -> {
@@ -133,15 +175,137 @@ public class EventVerticle extends AbstractVerticle {
     
     /**
      * 이벤트 구독
+     * - 로컬 이벤트 버스(EventChannels.PUBLISH_ADDRESS)로 들어온 메시지를 Redis로 발행
+     * - Redis 채널 메시지를 로컬 이벤트 버스(EventChannels.localAddress)로 전달
      */
     private void subscribeToEvents() {
-        // TODO: 이벤트 구독 로직 구현
-        log.info("Event subscriptions initialized");
+        vertx.eventBus().<JsonObject>consumer(EventChannels.PUBLISH_ADDRESS, message -> {
+            JsonObject body = message.body();
+            String channel = body.getString("channel");
+            JsonObject payload = body.getJsonObject("payload", new JsonObject());
+            redisApi.eval(List.of(PUBLISH_SCRIPT, "1", EventChannels.versionKey(channel), channel, payload.encode()))
+                .onFailure(err -> log.warn("Failed to publish event - channel: {}", channel, err));
+        });
+        
+        connectSubscriber();
+    }
+    
+    /**
+     * 구독 연결 생성 및 전체 채널 구독, 이후 버전 확인 (실패 시 재연결 예약)
+     */
+    private void connectSubscriber() {
+        if (stopped) {
+            return;
+        }
+        subscriberClient.connect()
+            .compose(conn -> {
+                subscriberConnection = conn;
+                conn.handler(this::handleRedisMessage);
+                conn.exceptionHandler(err -> log.warn("Event subscriber connection error", err));
+                conn.endHandler(v -> onSubscriberClosed(conn));
+                return RedisAPI.api(conn).subscribe(EventChannels.all())
+                    .onFailure(err -> {
+                        subscriberConnection = null;
+                        conn.close();
+                    });
+            })
+            // 버전 확인 실패는 주기 확인에서 다시 시도 (구독은 유지)
+            .compose(v -> checkVersions().otherwiseEmpty())
+            .onSuccess(v -> {
+                reconnectDelayMs = INITIAL_RECONNECT_DELAY_MS;
+                log.info("Event subscriptions initialized - channels: {}", EventChannels.all());
+            })
+            .onFailure(err -> {
+                log.warn("Failed to subscribe to event channels, retrying in {}ms", reconnectDelayMs, err);
+                scheduleReconnect();
+            });
+    }
+    
+    private void onSubscriberClosed(RedisConnection conn) {
+        // 이미 교체된 연결의 종료는 무시
+        if (conn != subscriberConnection) {
+            return;
+        }
+        subscriberConnection = null;
+        if (!stopped) {
+            log.warn("Event subscriber connection closed, reconnecting in {}ms", reconnectDelayMs);
+            scheduleReconnect();
+        }
+    }
+    
+    private void scheduleReconnect() {
+        if (stopped || reconnectScheduled) {
+            return;
+        }
+        reconnectScheduled = true;
+        long delay = reconnectDelayMs;
+        reconnectDelayMs = Math.min(reconnectDelayMs * 2, reconnectMaxDelayMs);
+        vertx.setTimer(delay, timerId -> {
+            reconnectScheduled = false;
+            connectSubscriber();
+        });
+    }
+    
+    /**
+     * 채널 버전 확인 - 마지막으로 확인한 버전과 다르면 놓친 메시지가 있으므로 재동기화
+     * (확인과 메시지 도착이 겹치면 드물게 불필요한 재동기화가 생길 수 있으나 캐시를 버리는 방향이므로 안전)
+     */
+    private Future<Void> checkVersions() {
+        List<String> channels = EventChannels.all();
+        List<String> keys = new ArrayList<>(channels.size());
+        for (String channel : channels) {
+            keys.add(EventChannels.versionKey(channel));
+        }
+        return redisApi.mget(keys)
+            .map(response -> {
+                for (int i = 0; i < channels.size(); i++) {
+                    Response value = response.get(i);
+                    long current = value == null ? 0L : value.toLong();
+                    if (channelVersions.reconcile(channels.get(i), current)) {
+                        resync(channels.get(i), current);
+                    }
+                }
+                return (Void) null;
+            })
+            .onFailure(err -> log.warn("Failed to check event channel versions", err));
+    }
+    
+    /**
+     * Redis Pub/Sub 메시지 처리 (["message", channel, {"version": n, "payload": ...}])
+     * 버전 없이 발행된 메시지(외부 도구 등)는 본문 전체를 payload로 전달합니다.
+     */
+    private void handleRedisMessage(Response response) {
+        if (response == null || response.size() < 3 || !"message".equals(response.get(0).toString())) {
+            return;
+        }
+        String channel = response.get(1).toString();
+        try {
+            JsonObject message = new JsonObject(response.get(2).toString());
+            JsonObject payload = message;
+            if (message.getValue("payload") instanceof JsonObject wrapped && message.getValue("version") instanceof Number) {
+                long version = message.getLong("version");
+                if (channelVersions.observe(channel, version)) {
+                    resync(channel, version);
+                }
+                payload = wrapped.put(EventChannels.SEQ, version);
+            }
+            vertx.eventBus().publish(EventChannels.localAddress(channel), payload);
+        } catch (Exception e) {
+            log.warn("Ignoring malformed event - channel: {}", channel, e);
+        }
+    }
+    
+    private void resync(String channel, long version) {
+        log.warn("Missed events detected, resyncing local caches - channel: {}, version: {}", channel, version);
+        vertx.eventBus().publish(EventChannels.localAddress(channel), new JsonObject()
+            .put(EventChannels.RESYNC, true)
+            .put(EventChannels.SEQ, version));
     }
     
     @Override
     public void stop(Promise<Void> stopPromise) throws Exception {
         log.info("Stopping EventVerticle...");
+        stopped = true;
         
         if (redisClient != null) {
             redisClient.close();
@@ -0,0 +1,12 @@
+-- 키셋(커서) 페이지네이션용 복합 인덱스
+-- (created_at, id) < (:cursor_created_at, :cursor_id) ORDER BY created_at DESC, id DESC 조회를
+-- 인덱스 범위 스캔으로 처리하여 페이지 깊이와 무관하게 일정한 비용으로 조회
+
+-- 채굴 기록 / 래퍼럴 거래내역
+CREATE INDEX IF NOT EXISTS IDX_mining_history_created_id ON mining_history(created_at DESC, id DESC);
+
+-- 회원별 채굴 내역
+CREATE INDEX IF NOT EXISTS IDX_mining_history_user_created_id ON mining_history(user_id, created_at DESC, id DESC);
+
+-- 출금신청 / 거래내역
+CREATE INDEX IF NOT EXISTS IDX_external_transfers_created_id ON external_transfers(created_at DESC, id DESC);
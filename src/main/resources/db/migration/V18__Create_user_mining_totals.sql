@@ -0,0 +1,139 @@
+-- 회원별 채굴 집계 프로젝션
+-- 관리자 목록 조회마다 mining_history 전체를 GROUP BY 하던 서브쿼리를 대체합니다.
+-- mining_history 쓰기 시 트리거로 증분 갱신되며, rebuild_user_mining_totals()로 재구축/복구합니다.
+CREATE TABLE user_mining_totals (
+    user_id BIGINT NOT NULL,
+    mined_amount DECIMAL(36, 18) NOT NULL DEFAULT 0,
+    mining_count BIGINT NOT NULL DEFAULT 0,
+    referral_revenue DECIMAL(36, 18) NOT NULL DEFAULT 0,
+    referral_count BIGINT NOT NULL DEFAULT 0,
+    efficiency_sum BIGINT NOT NULL DEFAULT 0,
+    efficiency_count BIGINT NOT NULL DEFAULT 0,
+    avg_efficiency DECIMAL(20, 4) NULL,
+    last_mined_at TIMESTAMP NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT PK_user_mining_totals PRIMARY KEY (user_id),
+    CONSTRAINT FK_user_mining_totals_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+COMMENT ON TABLE user_mining_totals IS '회원별 채굴 집계 (mining_history 트리거로 갱신)';
+COMMENT ON COLUMN user_mining_totals.user_id IS '사용자 ID';
+COMMENT ON COLUMN user_mining_totals.mined_amount IS '누적 채굴량 (BROADCAST_PROGRESS, BROADCAST_WATCH)';
+COMMENT ON COLUMN user_mining_totals.mining_count IS '채굴 내역 건수';
+COMMENT ON COLUMN user_mining_totals.referral_revenue IS '누적 레퍼럴 수익 (REFERRAL_REWARD)';
+COMMENT ON COLUMN user_mining_totals.referral_count IS '레퍼럴 수익 내역 건수';
+COMMENT ON COLUMN user_mining_totals.efficiency_sum IS '채굴 효율 합계 (평균 계산용)';
+COMMENT ON COLUMN user_mining_totals.efficiency_count IS '채굴 효율이 기록된 채굴 내역 건수';
+COMMENT ON COLUMN user_mining_totals.avg_efficiency IS '평균 채굴 효율';
+COMMENT ON COLUMN user_mining_totals.last_mined_at IS '마지막 채굴 시각';
+
+-- 채굴 내역 1건을 집계에 반영 (p_sign: 1 = 추가, -1 = 제거)
+CREATE OR REPLACE FUNCTION apply_user_mining_totals(
+    p_user_id BIGINT,
+    p_type VARCHAR,
+    p_amount DECIMAL,
+    p_efficiency INT,
+    p_created_at TIMESTAMP,
+    p_sign INT
+) RETURNS VOID AS $$
+DECLARE
+    v_is_mining BOOLEAN := p_type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH');
+    v_is_referral BOOLEAN := p_type = 'REFERRAL_REWARD';
+    v_has_efficiency BOOLEAN := v_is_mining AND p_efficiency IS NOT NULL;
+BEGIN
+    INSERT INTO user_mining_totals AS t (
+        user_id, mined_amount, mining_count, referral_revenue, referral_count,
+        efficiency_sum, efficiency_count, avg_efficiency, last_mined_at
+    ) VALUES (
+        p_user_id,
+        CASE WHEN v_is_mining THEN p_sign * p_amount ELSE 0 END,
+        CASE WHEN v_is_mining THEN p_sign ELSE 0 END,
+        CASE WHEN v_is_referral THEN p_sign * p_amount ELSE 0 END,
+        CASE WHEN v_is_referral THEN p_sign ELSE 0 END,
+        CASE WHEN v_has_efficiency THEN p_sign * p_efficiency ELSE 0 END,
+        CASE WHEN v_has_efficiency THEN p_sign ELSE 0 END,
+        CASE WHEN v_has_efficiency AND p_sign > 0 THEN p_efficiency END,
+        CASE WHEN v_is_mining AND p_sign > 0 THEN p_created_at END
+    )
+    ON CONFLICT (user_id) DO UPDATE SET
+        mined_amount = t.mined_amount + EXCLUDED.mined_amount,
+        mining_count = t.mining_count + EXCLUDED.mining_count,
+        referral_revenue = t.referral_revenue + EXCLUDED.referral_revenue,
+        referral_count = t.referral_count + EXCLUDED.referral_count,
+        efficiency_sum = t.efficiency_sum + EXCLUDED.efficiency_sum,
+        efficiency_count = t.efficiency_count + EXCLUDED.efficiency_count,
+        avg_efficiency = (t.efficiency_sum + EXCLUDED.efficiency_sum)::DECIMAL
+            / NULLIF(t.efficiency_count + EXCLUDED.efficiency_count, 0),
+        last_mined_at = GREATEST(t.last_mined_at, EXCLUDED.last_mined_at),
+        updated_at = CURRENT_TIMESTAMP;
+
+    -- 마지막 채굴 내역이 제거된 경우에만 (user_id, created_at) 인덱스로 재계산
+    IF v_is_mining AND p_sign < 0 THEN
+        UPDATE user_mining_totals
+        SET last_mined_at = (
+            SELECT MAX(created_at)
+            FROM mining_history
+            WHERE user_id = p_user_id
+            AND type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')
+        )
+        WHERE user_id = p_user_id
+        AND last_mined_at <= p_created_at;
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION sync_user_mining_totals()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM apply_user_mining_totals(OLD.user_id, OLD.type, OLD.amount, OLD.efficiency, OLD.created_at, -1);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM apply_user_mining_totals(NEW.user_id, NEW.type, NEW.amount, NEW.efficiency, NEW.created_at, 1);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 집계에 영향을 주는 컬럼이 바뀔 때만 실행 (status, updated_at 변경은 무시)
+CREATE TRIGGER sync_user_mining_totals
+    AFTER INSERT OR DELETE OR UPDATE OF user_id, type, amount, efficiency, created_at ON mining_history
+    FOR EACH ROW EXECUTE FUNCTION sync_user_mining_totals();
+
+-- mining_history로부터 집계 재구축 (p_user_id가 NULL이면 전체 회원)
+-- 테이블 잠금으로 진행 중인 트리거 갱신과의 경합을 막고, 재구축된 회원 수를 반환합니다.
+CREATE OR REPLACE FUNCTION rebuild_user_mining_totals(p_user_id BIGINT DEFAULT NULL)
+RETURNS INTEGER AS $$
+DECLARE
+    v_count INTEGER;
+BEGIN
+    LOCK TABLE user_mining_totals IN EXCLUSIVE MODE;
+
+    DELETE FROM user_mining_totals
+    WHERE p_user_id IS NULL OR user_id = p_user_id;
+
+    INSERT INTO user_mining_totals (
+        user_id, mined_amount, mining_count, referral_revenue, referral_count,
+        efficiency_sum, efficiency_count, avg_efficiency, last_mined_at
+    )
+    SELECT
+        user_id,
+        COALESCE(SUM(amount) FILTER (WHERE type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')), 0),
+        COUNT(*) FILTER (WHERE type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')),
+        COALESCE(SUM(amount) FILTER (WHERE type = 'REFERRAL_REWARD'), 0),
+        COUNT(*) FILTER (WHERE type = 'REFERRAL_REWARD'),
+        COALESCE(SUM(efficiency) FILTER (WHERE type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')), 0),
+        COUNT(efficiency) FILTER (WHERE type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')),
+        AVG(efficiency) FILTER (WHERE type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')),
+        MAX(created_at) FILTER (WHERE type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH'))
+    FROM mining_history
+    WHERE p_user_id IS NULL OR user_id = p_user_id
+    GROUP BY user_id;
+
+    GET DIAGNOSTICS v_count = ROW_COUNT;
+    RETURN v_count;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 기존 데이터 초기 적재
+SELECT rebuild_user_mining_totals();
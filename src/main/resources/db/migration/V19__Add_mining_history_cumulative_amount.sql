@@ -0,0 +1,79 @@
+-- 채굴 내역 행 단위 누적 채굴량 저장
+-- 채굴 기록 조회 시 사용자 전체 이력에 대한 SUM() OVER 윈도우 계산을 없애기 위해 INSERT 시점에 누적값을 기록합니다.
+ALTER TABLE mining_history ADD COLUMN IF NOT EXISTS cumulative_amount DECIMAL(36, 18) NULL;
+
+COMMENT ON COLUMN mining_history.cumulative_amount IS '해당 행까지의 사용자 누적 채굴량 (BROADCAST_PROGRESS, BROADCAST_WATCH, NULL이면 백필 대상)';
+
+-- 백필 대상 탐색용 부분 인덱스 (백필이 진행될수록 작아짐)
+CREATE INDEX IF NOT EXISTS IDX_mining_history_cumulative_pending ON mining_history(user_id)
+    WHERE cumulative_amount IS NULL AND type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH');
+
+-- INSERT 시 누적 채굴량 할당
+-- user_mining_totals 행을 잠가 같은 사용자의 동시 INSERT를 직렬화하고, 현재 누적값(mined_amount)에 이번 채굴량을 더합니다.
+-- (user_mining_totals.mined_amount는 AFTER 트리거 sync_user_mining_totals에서 갱신됨)
+CREATE OR REPLACE FUNCTION assign_mining_history_cumulative_amount()
+RETURNS TRIGGER AS $$
+DECLARE
+    v_mined_amount DECIMAL(36, 18);
+BEGIN
+    IF NEW.type NOT IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH') THEN
+        RETURN NEW;
+    END IF;
+
+    INSERT INTO user_mining_totals (user_id) VALUES (NEW.user_id)
+    ON CONFLICT (user_id) DO NOTHING;
+
+    SELECT mined_amount INTO v_mined_amount
+    FROM user_mining_totals
+    WHERE user_id = NEW.user_id
+    FOR UPDATE;
+
+    NEW.cumulative_amount := COALESCE(v_mined_amount, 0) + NEW.amount;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER assign_mining_history_cumulative_amount
+    BEFORE INSERT ON mining_history
+    FOR EACH ROW EXECUTE FUNCTION assign_mining_history_cumulative_amount();
+
+-- 기존 행 누적 채굴량 백필 (사용자 단위 배치)
+-- 누적값이 비어 있는 사용자를 최대 p_batch_size명 골라 해당 사용자의 채굴 내역 전체를 (created_at, id) 순으로 다시 계산합니다.
+-- 처리한 사용자 수를 반환하며, 0이 반환될 때까지 반복 호출합니다.
+CREATE OR REPLACE FUNCTION backfill_mining_history_cumulative(p_batch_size INTEGER DEFAULT 500)
+RETURNS INTEGER AS $$
+DECLARE
+    v_user_ids BIGINT[];
+BEGIN
+    SELECT ARRAY_AGG(user_id) INTO v_user_ids
+    FROM (
+        SELECT DISTINCT user_id
+        FROM mining_history
+        WHERE cumulative_amount IS NULL
+        AND type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')
+        LIMIT p_batch_size
+    ) pending;
+
+    IF v_user_ids IS NULL THEN
+        RETURN 0;
+    END IF;
+
+    -- 재계산 중 같은 사용자의 신규 INSERT가 끼어들지 않도록 잠금
+    PERFORM 1 FROM user_mining_totals WHERE user_id = ANY(v_user_ids) FOR UPDATE;
+
+    UPDATE mining_history mh
+    SET cumulative_amount = running.cumulative_amount
+    FROM (
+        SELECT
+            id,
+            SUM(amount) OVER (PARTITION BY user_id ORDER BY created_at, id) as cumulative_amount
+        FROM mining_history
+        WHERE user_id = ANY(v_user_ids)
+        AND type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')
+    ) running
+    WHERE mh.id = running.id
+    AND mh.cumulative_amount IS DISTINCT FROM running.cumulative_amount;
+
+    RETURN COALESCE(array_length(v_user_ids, 1), 0);
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,200 @@
+-- 일별 채굴 롤업
+-- 대시보드 차트/통계가 매번 mining_history 원본을 날짜별 GROUP BY 하던 것을 대체합니다.
+-- 1) daily_mining (회원 x 일자): mining_history 쓰기 시 트리거로 증분 갱신 (회원별 행이므로 전역 핫스팟 없음)
+-- 2) daily_mining_rollups (일자): 지난 날짜를 close_daily_mining_rollups()로 마감하여 일자당 1행으로 보관
+-- 대시보드는 마감된 날짜는 롤업에서, 아직 마감되지 않은 날짜(오늘 등)는 daily_mining에서 읽습니다.
+
+-- 유형별 채굴량 컬럼 추가
+ALTER TABLE daily_mining ADD COLUMN IF NOT EXISTS broadcast_progress_amount DECIMAL(36, 18) DEFAULT 0 NOT NULL;
+ALTER TABLE daily_mining ADD COLUMN IF NOT EXISTS broadcast_watch_amount DECIMAL(36, 18) DEFAULT 0 NOT NULL;
+ALTER TABLE daily_mining ADD COLUMN IF NOT EXISTS referral_reward_amount DECIMAL(36, 18) DEFAULT 0 NOT NULL;
+
+COMMENT ON COLUMN daily_mining.mining_amount IS '채굴량 (전체 유형 합계)';
+COMMENT ON COLUMN daily_mining.broadcast_progress_amount IS '방송진행 채굴량';
+COMMENT ON COLUMN daily_mining.broadcast_watch_amount IS '방송시청 채굴량';
+COMMENT ON COLUMN daily_mining.referral_reward_amount IS '레퍼럴 리워드';
+
+-- 일자별 롤업 테이블
+CREATE TABLE daily_mining_rollups (
+    mining_date DATE NOT NULL,
+    total_amount DECIMAL(36, 18) DEFAULT 0 NOT NULL,
+    broadcast_progress_amount DECIMAL(36, 18) DEFAULT 0 NOT NULL,
+    broadcast_watch_amount DECIMAL(36, 18) DEFAULT 0 NOT NULL,
+    referral_reward_amount DECIMAL(36, 18) DEFAULT 0 NOT NULL,
+    miner_count INT DEFAULT 0 NOT NULL,
+    closed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT PK_daily_mining_rollups PRIMARY KEY (mining_date)
+);
+
+COMMENT ON TABLE daily_mining_rollups IS '일별 채굴 롤업 (마감된 날짜만 보관)';
+COMMENT ON COLUMN daily_mining_rollups.mining_date IS '채굴 날짜';
+COMMENT ON COLUMN daily_mining_rollups.total_amount IS '전체 채굴량';
+COMMENT ON COLUMN daily_mining_rollups.broadcast_progress_amount IS '방송진행 채굴량';
+COMMENT ON COLUMN daily_mining_rollups.broadcast_watch_amount IS '방송시청 채굴량';
+COMMENT ON COLUMN daily_mining_rollups.referral_reward_amount IS '레퍼럴 리워드';
+COMMENT ON COLUMN daily_mining_rollups.miner_count IS '채굴 회원 수 (중복 제외)';
+COMMENT ON COLUMN daily_mining_rollups.closed_at IS '마감 시각';
+
+CREATE TRIGGER update_daily_mining_rollups_updated_at BEFORE UPDATE ON daily_mining_rollups
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+-- 채굴 내역 1건을 daily_mining (및 이미 마감된 날짜면 롤업)에 반영 (p_sign: 1 = 추가, -1 = 제거)
+CREATE OR REPLACE FUNCTION apply_daily_mining(
+    p_user_id BIGINT,
+    p_type VARCHAR,
+    p_amount DECIMAL,
+    p_created_at TIMESTAMP,
+    p_sign INT
+) RETURNS VOID AS $$
+DECLARE
+    v_date DATE := CAST(p_created_at AS DATE);
+    v_amount DECIMAL(36, 18) := p_sign * p_amount;
+    v_progress DECIMAL(36, 18) := CASE WHEN p_type = 'BROADCAST_PROGRESS' THEN p_sign * p_amount ELSE 0 END;
+    v_watch DECIMAL(36, 18) := CASE WHEN p_type = 'BROADCAST_WATCH' THEN p_sign * p_amount ELSE 0 END;
+    v_referral DECIMAL(36, 18) := CASE WHEN p_type = 'REFERRAL_REWARD' THEN p_sign * p_amount ELSE 0 END;
+    v_miner_delta INT := 0;
+    v_remaining DECIMAL(36, 18);
+    v_inserted BOOLEAN;
+BEGIN
+    IF p_sign > 0 THEN
+        INSERT INTO daily_mining AS dm (
+            user_id, mining_date, mining_amount,
+            broadcast_progress_amount, broadcast_watch_amount, referral_reward_amount, reset_at
+        ) VALUES (
+            p_user_id, v_date, v_amount, v_progress, v_watch, v_referral, v_date + 1
+        )
+        ON CONFLICT (user_id, mining_date) DO UPDATE SET
+            mining_amount = dm.mining_amount + EXCLUDED.mining_amount,
+            broadcast_progress_amount = dm.broadcast_progress_amount + EXCLUDED.broadcast_progress_amount,
+            broadcast_watch_amount = dm.broadcast_watch_amount + EXCLUDED.broadcast_watch_amount,
+            referral_reward_amount = dm.referral_reward_amount + EXCLUDED.referral_reward_amount
+        RETURNING (xmax = 0) INTO v_inserted;
+
+        IF v_inserted THEN
+            v_miner_delta := 1;
+        END IF;
+    ELSE
+        UPDATE daily_mining SET
+            mining_amount = mining_amount + v_amount,
+            broadcast_progress_amount = broadcast_progress_amount + v_progress,
+            broadcast_watch_amount = broadcast_watch_amount + v_watch,
+            referral_reward_amount = referral_reward_amount + v_referral
+        WHERE user_id = p_user_id AND mining_date = v_date
+        RETURNING mining_amount INTO v_remaining;
+
+        -- mining_history.amount > 0 이므로 잔여 0 이하 = 해당 일자 채굴 내역 없음
+        IF v_remaining IS NOT NULL AND v_remaining <= 0 THEN
+            DELETE FROM daily_mining WHERE user_id = p_user_id AND mining_date = v_date;
+            v_miner_delta := -1;
+        END IF;
+    END IF;
+
+    -- 지난 날짜에 대한 변경: 이미 마감된 롤업이면 함께 보정
+    IF v_date < CURRENT_DATE THEN
+        PERFORM pg_advisory_xact_lock_shared(hashtext('daily_mining_rollups'));
+
+        UPDATE daily_mining_rollups SET
+            total_amount = total_amount + v_amount,
+            broadcast_progress_amount = broadcast_progress_amount + v_progress,
+            broadcast_watch_amount = broadcast_watch_amount + v_watch,
+            referral_reward_amount = referral_reward_amount + v_referral,
+            miner_count = miner_count + v_miner_delta
+        WHERE mining_date = v_date;
+
+        -- 마감 시점에 데이터가 없던 날짜: 해당 일자 전체를 즉시 롤업
+        IF NOT FOUND AND v_date <= (SELECT MAX(mining_date) FROM daily_mining_rollups) THEN
+            INSERT INTO daily_mining_rollups (
+                mining_date, total_amount, broadcast_progress_amount, broadcast_watch_amount,
+                referral_reward_amount, miner_count
+            )
+            SELECT
+                mining_date,
+                SUM(mining_amount),
+                SUM(broadcast_progress_amount),
+                SUM(broadcast_watch_amount),
+                SUM(referral_reward_amount),
+                COUNT(*)
+            FROM daily_mining
+            WHERE mining_date = v_date
+            GROUP BY mining_date
+            ON CONFLICT (mining_date) DO NOTHING;
+        END IF;
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION sync_daily_mining()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM apply_daily_mining(OLD.user_id, OLD.type, OLD.amount, OLD.created_at, -1);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM apply_daily_mining(NEW.user_id, NEW.type, NEW.amount, NEW.created_at, 1);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER sync_daily_mining
+    AFTER INSERT OR DELETE OR UPDATE OF user_id, type, amount, created_at ON mining_history
+    FOR EACH ROW EXECUTE FUNCTION sync_daily_mining();
+
+-- 지난 날짜 마감: 마지막 마감일 이후 ~ (현재 - p_grace) 이전 날짜를 daily_mining에서 롤업
+-- p_grace: 자정 직전에 시작되어 늦게 커밋되는 트랜잭션을 기다리기 위한 유예 시간
+-- 마감한 날짜 수를 반환합니다.
+CREATE OR REPLACE FUNCTION close_daily_mining_rollups(p_grace INTERVAL DEFAULT INTERVAL '1 hour')
+RETURNS INTEGER AS $$
+DECLARE
+    v_last_closed DATE;
+    v_count INTEGER;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('daily_mining_rollups'));
+
+    SELECT MAX(mining_date) INTO v_last_closed FROM daily_mining_rollups;
+
+    INSERT INTO daily_mining_rollups (
+        mining_date, total_amount, broadcast_progress_amount, broadcast_watch_amount,
+        referral_reward_amount, miner_count
+    )
+    SELECT
+        mining_date,
+        SUM(mining_amount),
+        SUM(broadcast_progress_amount),
+        SUM(broadcast_watch_amount),
+        SUM(referral_reward_amount),
+        COUNT(*)
+    FROM daily_mining
+    WHERE mining_date < CAST(CURRENT_TIMESTAMP - p_grace AS DATE)
+    AND (v_last_closed IS NULL OR mining_date > v_last_closed)
+    GROUP BY mining_date
+    ON CONFLICT (mining_date) DO NOTHING;
+
+    GET DIAGNOSTICS v_count = ROW_COUNT;
+    RETURN v_count;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 기존 데이터 초기 적재
+INSERT INTO daily_mining (
+    user_id, mining_date, mining_amount,
+    broadcast_progress_amount, broadcast_watch_amount, referral_reward_amount, reset_at
+)
+SELECT
+    user_id,
+    CAST(created_at AS DATE),
+    SUM(amount),
+    COALESCE(SUM(amount) FILTER (WHERE type = 'BROADCAST_PROGRESS'), 0),
+    COALESCE(SUM(amount) FILTER (WHERE type = 'BROADCAST_WATCH'), 0),
+    COALESCE(SUM(amount) FILTER (WHERE type = 'REFERRAL_REWARD'), 0),
+    CAST(created_at AS DATE) + 1
+FROM mining_history
+GROUP BY user_id, CAST(created_at AS DATE)
+ON CONFLICT (user_id, mining_date) DO UPDATE SET
+    mining_amount = EXCLUDED.mining_amount,
+    broadcast_progress_amount = EXCLUDED.broadcast_progress_amount,
+    broadcast_watch_amount = EXCLUDED.broadcast_watch_amount,
+    referral_reward_amount = EXCLUDED.referral_reward_amount;
+
+SELECT close_daily_mining_rollups(INTERVAL '0');
@@ -0,0 +1,145 @@
+-- 레퍼럴 클로저 테이블
+-- 팀 규모(전체 하부 회원 수), k단계 하부 회원, 리워드 분배용 상위 회원 조회를
+-- referral_relations 집계/재귀 대신 인덱스 조회로 처리하기 위한 (상위, 하위, 깊이) 전체 경로 목록입니다.
+-- 간선: level = 1 AND status = 'ACTIVE' AND deleted_at IS NULL 인 referral_relations 행 (직접 추천 관계)
+-- referral_relations 쓰기 시 트리거로 증분 갱신되며, rebuild_referral_closure()로 재구축/복구합니다.
+CREATE TABLE referral_closure (
+    ancestor_id BIGINT NOT NULL,
+    descendant_id BIGINT NOT NULL,
+    depth INT NOT NULL,
+    CONSTRAINT PK_referral_closure PRIMARY KEY (ancestor_id, descendant_id),
+    CONSTRAINT FK_referral_closure_ancestor FOREIGN KEY (ancestor_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT FK_referral_closure_descendant FOREIGN KEY (descendant_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT CK_referral_closure_depth CHECK (depth > 0)
+);
+
+COMMENT ON TABLE referral_closure IS '레퍼럴 클로저 (상위-하위 전체 경로, referral_relations 트리거로 갱신)';
+COMMENT ON COLUMN referral_closure.ancestor_id IS '상위 회원 ID';
+COMMENT ON COLUMN referral_closure.descendant_id IS '하위 회원 ID';
+COMMENT ON COLUMN referral_closure.depth IS '깊이 (1=직접 추천)';
+
+-- 하부 회원 수 / k단계 하부 회원 조회
+CREATE INDEX IDX_referral_closure_ancestor_depth ON referral_closure(ancestor_id, depth);
+-- 상위 회원(리워드 분배 대상) 조회
+CREATE INDEX IDX_referral_closure_descendant_depth ON referral_closure(descendant_id, depth);
+
+-- 간선 (p_parent -> p_child) 추가: (p_parent 및 그 상위) x (p_child 및 그 하위) 경로를 삽입
+CREATE OR REPLACE FUNCTION add_referral_closure_edge(p_parent BIGINT, p_child BIGINT)
+RETURNS VOID AS $$
+BEGIN
+    -- 동시 간선 변경 시 서로의 경로를 보지 못해 누락되는 것을 막기 위해 직렬화
+    PERFORM pg_advisory_xact_lock(hashtext('referral_closure'));
+
+    IF p_parent = p_child OR EXISTS (
+        SELECT 1 FROM referral_closure WHERE ancestor_id = p_child AND descendant_id = p_parent
+    ) THEN
+        RAISE WARNING 'referral_closure: cycle detected, edge % -> % skipped', p_parent, p_child;
+        RETURN;
+    END IF;
+
+    INSERT INTO referral_closure (ancestor_id, descendant_id, depth)
+    SELECT a.ancestor_id, d.descendant_id, a.depth + d.depth + 1
+    FROM (
+        SELECT p_parent as ancestor_id, 0 as depth
+        UNION ALL
+        SELECT ancestor_id, depth FROM referral_closure WHERE descendant_id = p_parent
+    ) a
+    CROSS JOIN (
+        SELECT p_child as descendant_id, 0 as depth
+        UNION ALL
+        SELECT descendant_id, depth FROM referral_closure WHERE ancestor_id = p_child
+    ) d
+    ON CONFLICT (ancestor_id, descendant_id) DO NOTHING;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 간선 (p_parent -> p_child) 제거: 해당 간선을 지나는 경로를 삭제
+-- 회원당 직접 추천인은 1명(UNIQUE(referred_id, level))이므로 경로는 유일합니다.
+CREATE OR REPLACE FUNCTION remove_referral_closure_edge(p_parent BIGINT, p_child BIGINT)
+RETURNS VOID AS $$
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('referral_closure'));
+
+    DELETE FROM referral_closure rc
+    USING (
+        SELECT p_parent as ancestor_id
+        UNION ALL
+        SELECT ancestor_id FROM referral_closure WHERE descendant_id = p_parent
+    ) a,
+    (
+        SELECT p_child as descendant_id
+        UNION ALL
+        SELECT descendant_id FROM referral_closure WHERE ancestor_id = p_child
+    ) d
+    WHERE rc.ancestor_id = a.ancestor_id
+    AND rc.descendant_id = d.descendant_id;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION sync_referral_closure()
+RETURNS TRIGGER AS $$
+DECLARE
+    v_old_edge BOOLEAN := TG_OP IN ('UPDATE', 'DELETE')
+        AND OLD.level = 1 AND OLD.status = 'ACTIVE' AND OLD.deleted_at IS NULL;
+    v_new_edge BOOLEAN := TG_OP IN ('INSERT', 'UPDATE')
+        AND NEW.level = 1 AND NEW.status = 'ACTIVE' AND NEW.deleted_at IS NULL;
+BEGIN
+    -- 간선이 그대로인 변경은 무시
+    IF v_old_edge AND v_new_edge
+        AND OLD.referrer_id = NEW.referrer_id AND OLD.referred_id = NEW.referred_id THEN
+        RETURN NULL;
+    END IF;
+
+    IF v_old_edge THEN
+        PERFORM remove_referral_closure_edge(OLD.referrer_id, OLD.referred_id);
+    END IF;
+    IF v_new_edge THEN
+        PERFORM add_referral_closure_edge(NEW.referrer_id, NEW.referred_id);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER sync_referral_closure
+    AFTER INSERT OR DELETE OR UPDATE OF referrer_id, referred_id, level, status, deleted_at ON referral_relations
+    FOR EACH ROW EXECUTE FUNCTION sync_referral_closure();
+
+-- referral_relations로부터 클로저 재구축
+-- 순환이 있는 데이터에서도 종료되도록 깊이를 제한하며, 재구축된 경로 수를 반환합니다.
+CREATE OR REPLACE FUNCTION rebuild_referral_closure()
+RETURNS INTEGER AS $$
+DECLARE
+    v_count INTEGER;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('referral_closure'));
+    LOCK TABLE referral_closure IN EXCLUSIVE MODE;
+
+    DELETE FROM referral_closure;
+
+    WITH RECURSIVE edges AS (
+        SELECT DISTINCT referrer_id as parent_id, referred_id as child_id
+        FROM referral_relations
+        WHERE level = 1 AND status = 'ACTIVE' AND deleted_at IS NULL
+        AND referrer_id <> referred_id
+    ),
+    paths (ancestor_id, descendant_id, depth) AS (
+        SELECT parent_id, child_id, 1 FROM edges
+        UNION ALL
+        SELECT p.ancestor_id, e.child_id, p.depth + 1
+        FROM paths p
+        INNER JOIN edges e ON e.parent_id = p.descendant_id
+        WHERE p.depth < 1000
+    )
+    INSERT INTO referral_closure (ancestor_id, descendant_id, depth)
+    SELECT ancestor_id, descendant_id, MIN(depth)
+    FROM paths
+    WHERE ancestor_id <> descendant_id
+    GROUP BY ancestor_id, descendant_id;
+
+    GET DIAGNOSTICS v_count = ROW_COUNT;
+    RETURN v_count;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 기존 데이터 초기 적재
+SELECT rebuild_referral_closure();
@@ -0,0 +1,218 @@
+-- 레퍼럴 통계 프로젝션 (referral_stats_logs)
+-- 회원/대시보드/트리 조회마다 팀원 수와 레퍼럴 리워드를 다시 계산하던 것을 대체합니다.
+-- - direct_count, team_count: referral_closure 변경 시 문장 단위 트리거로 증분 갱신 (depth = 1 이 직접 추천)
+-- - total_signup_count, today_signup_count: 직접 추천 관계(level = 1) INSERT 시 증가
+-- - total_reward, today_reward: mining_history의 REFERRAL_REWARD 행 변경 시 증분 갱신
+-- today_* 값은 today_date 기준이며, 날짜가 지난 행은 reset_referral_stats_today()로 0으로 초기화합니다.
+-- (초기화 전 읽기에서도 today_date <> CURRENT_DATE 이면 0으로 취급)
+ALTER TABLE referral_stats_logs ADD COLUMN IF NOT EXISTS today_date DATE NULL;
+
+COMMENT ON COLUMN referral_stats_logs.today_date IS '오늘 리워드/가입자 수 기준 날짜';
+
+CREATE INDEX IF NOT EXISTS IDX_referral_stats_logs_team_count ON referral_stats_logs(team_count DESC);
+CREATE INDEX IF NOT EXISTS IDX_referral_stats_logs_today_date ON referral_stats_logs(today_date);
+
+-- 팀원 수 / 직접 추천 수: referral_closure에 추가된 경로 반영
+CREATE OR REPLACE FUNCTION sync_referral_stats_team_insert()
+RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO referral_stats_logs AS rsl (user_id, direct_count, team_count)
+    SELECT
+        added.ancestor_id,
+        COUNT(*) FILTER (WHERE added.depth = 1),
+        COUNT(*)
+    FROM added
+    GROUP BY added.ancestor_id
+    ON CONFLICT (user_id) DO UPDATE SET
+        direct_count = rsl.direct_count + EXCLUDED.direct_count,
+        team_count = rsl.team_count + EXCLUDED.team_count;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 팀원 수 / 직접 추천 수: referral_closure에서 제거된 경로 반영
+-- (회원 삭제로 인한 CASCADE 삭제 시 해당 회원의 통계 행은 함께 삭제되므로 남은 행만 갱신)
+CREATE OR REPLACE FUNCTION sync_referral_stats_team_delete()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE referral_stats_logs rsl SET
+        direct_count = GREATEST(rsl.direct_count - removed_stats.direct_count, 0),
+        team_count = GREATEST(rsl.team_count - removed_stats.team_count, 0)
+    FROM (
+        SELECT
+            removed.ancestor_id,
+            COUNT(*) FILTER (WHERE removed.depth = 1) as direct_count,
+            COUNT(*) as team_count
+        FROM removed
+        GROUP BY removed.ancestor_id
+    ) removed_stats
+    WHERE rsl.user_id = removed_stats.ancestor_id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER sync_referral_stats_team_insert
+    AFTER INSERT ON referral_closure
+    REFERENCING NEW TABLE AS added
+    FOR EACH STATEMENT EXECUTE FUNCTION sync_referral_stats_team_insert();
+
+CREATE TRIGGER sync_referral_stats_team_delete
+    AFTER DELETE ON referral_closure
+    REFERENCING OLD TABLE AS removed
+    FOR EACH STATEMENT EXECUTE FUNCTION sync_referral_stats_team_delete();
+
+-- 가입자 수: 직접 추천 관계 생성 시 증가 (관계 해제 시에도 누적값은 유지)
+CREATE OR REPLACE FUNCTION sync_referral_stats_signup()
+RETURNS TRIGGER AS $$
+DECLARE
+    v_today INT := CASE WHEN CAST(NEW.created_at AS DATE) = CURRENT_DATE THEN 1 ELSE 0 END;
+BEGIN
+    IF NEW.level <> 1 THEN
+        RETURN NULL;
+    END IF;
+
+    INSERT INTO referral_stats_logs AS rsl (user_id, total_signup_count, today_signup_count, today_date)
+    VALUES (NEW.referrer_id, 1, v_today, CURRENT_DATE)
+    ON CONFLICT (user_id) DO UPDATE SET
+        total_signup_count = rsl.total_signup_count + 1,
+        today_signup_count = CASE WHEN rsl.today_date = CURRENT_DATE THEN rsl.today_signup_count ELSE 0 END + v_today,
+        today_reward = CASE WHEN rsl.today_date = CURRENT_DATE THEN rsl.today_reward ELSE 0 END,
+        today_date = CURRENT_DATE;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER sync_referral_stats_signup
+    AFTER INSERT ON referral_relations
+    FOR EACH ROW EXECUTE FUNCTION sync_referral_stats_signup();
+
+-- 레퍼럴 리워드 1건을 통계에 반영 (p_sign: 1 = 추가, -1 = 제거)
+CREATE OR REPLACE FUNCTION apply_referral_stats_reward(
+    p_user_id BIGINT,
+    p_amount DECIMAL,
+    p_created_at TIMESTAMP,
+    p_sign INT
+) RETURNS VOID AS $$
+DECLARE
+    v_amount DECIMAL(36, 18) := p_sign * p_amount;
+    v_today_amount DECIMAL(36, 18) := CASE WHEN CAST(p_created_at AS DATE) = CURRENT_DATE THEN p_sign * p_amount ELSE 0 END;
+BEGIN
+    IF p_sign > 0 THEN
+        INSERT INTO referral_stats_logs AS rsl (user_id, total_reward, today_reward, today_date)
+        VALUES (p_user_id, v_amount, v_today_amount, CURRENT_DATE)
+        ON CONFLICT (user_id) DO UPDATE SET
+            total_reward = rsl.total_reward + EXCLUDED.total_reward,
+            today_reward = CASE WHEN rsl.today_date = CURRENT_DATE THEN rsl.today_reward ELSE 0 END + EXCLUDED.today_reward,
+            today_signup_count = CASE WHEN rsl.today_date = CURRENT_DATE THEN rsl.today_signup_count ELSE 0 END,
+            today_date = CURRENT_DATE;
+    ELSE
+        -- 제거는 기존 행만 갱신 (회원 삭제 CASCADE로 통계 행이 이미 삭제된 경우 다시 만들지 않음)
+        UPDATE referral_stats_logs rsl SET
+            total_reward = rsl.total_reward + v_amount,
+            today_reward = CASE WHEN rsl.today_date = CURRENT_DATE THEN rsl.today_reward ELSE 0 END + v_today_amount,
+            today_signup_count = CASE WHEN rsl.today_date = CURRENT_DATE THEN rsl.today_signup_count ELSE 0 END,
+            today_date = CURRENT_DATE
+        WHERE rsl.user_id = p_user_id;
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION sync_referral_stats_reward()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.type = 'REFERRAL_REWARD' THEN
+        PERFORM apply_referral_stats_reward(OLD.user_id, OLD.amount, OLD.created_at, -1);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.type = 'REFERRAL_REWARD' THEN
+        PERFORM apply_referral_stats_reward(NEW.user_id, NEW.amount, NEW.created_at, 1);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER sync_referral_stats_reward
+    AFTER INSERT OR DELETE OR UPDATE OF user_id, type, amount, created_at ON mining_history
+    FOR EACH ROW EXECUTE FUNCTION sync_referral_stats_reward();
+
+-- 날짜가 지난 today_* 값 초기화 (일 단위 리셋), 초기화한 행 수를 반환
+CREATE OR REPLACE FUNCTION reset_referral_stats_today()
+RETURNS INTEGER AS $$
+DECLARE
+    v_count INTEGER;
+BEGIN
+    UPDATE referral_stats_logs SET
+        today_reward = 0,
+        today_signup_count = 0,
+        today_date = CURRENT_DATE
+    WHERE today_date < CURRENT_DATE;
+
+    GET DIAGNOSTICS v_count = ROW_COUNT;
+    RETURN v_count;
+END;
+$$ LANGUAGE plpgsql;
+
+-- referral_closure / referral_relations / mining_history로부터 통계 재구축, 재구축된 회원 수를 반환
+CREATE OR REPLACE FUNCTION rebuild_referral_stats_logs()
+RETURNS INTEGER AS $$
+DECLARE
+    v_count INTEGER;
+BEGIN
+    -- 클로저 변경과의 경합 방지 (add/remove_referral_closure_edge와 같은 잠금)
+    PERFORM pg_advisory_xact_lock(hashtext('referral_closure'));
+    LOCK TABLE referral_stats_logs IN EXCLUSIVE MODE;
+
+    DELETE FROM referral_stats_logs;
+
+    INSERT INTO referral_stats_logs (
+        user_id, direct_count, team_count, total_reward, today_reward,
+        total_signup_count, today_signup_count, today_date
+    )
+    SELECT
+        stats.user_id,
+        COALESCE(MAX(stats.direct_count), 0),
+        COALESCE(MAX(stats.team_count), 0),
+        COALESCE(MAX(stats.total_reward), 0),
+        COALESCE(MAX(stats.today_reward), 0),
+        COALESCE(MAX(stats.total_signup_count), 0),
+        COALESCE(MAX(stats.today_signup_count), 0),
+        CURRENT_DATE
+    FROM (
+        SELECT
+            ancestor_id as user_id,
+            COUNT(*) FILTER (WHERE depth = 1) as direct_count,
+            COUNT(*) as team_count,
+            CAST(NULL AS DECIMAL) as total_reward,
+            CAST(NULL AS DECIMAL) as today_reward,
+            CAST(NULL AS BIGINT) as total_signup_count,
+            CAST(NULL AS BIGINT) as today_signup_count
+        FROM referral_closure
+        GROUP BY ancestor_id
+        UNION ALL
+        SELECT
+            user_id,
+            NULL, NULL,
+            SUM(amount),
+            COALESCE(SUM(amount) FILTER (WHERE CAST(created_at AS DATE) = CURRENT_DATE), 0),
+            NULL, NULL
+        FROM mining_history
+        WHERE type = 'REFERRAL_REWARD'
+        GROUP BY user_id
+        UNION ALL
+        SELECT
+            referrer_id,
+            NULL, NULL, NULL, NULL,
+            COUNT(*),
+            COUNT(*) FILTER (WHERE CAST(created_at AS DATE) = CURRENT_DATE)
+        FROM referral_relations
+        WHERE level = 1
+        GROUP BY referrer_id
+    ) stats
+    GROUP BY stats.user_id;
+
+    GET DIAGNOSTICS v_count = ROW_COUNT;
+    RETURN v_count;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 기존 데이터 초기 적재
+SELECT rebuild_referral_stats_logs();
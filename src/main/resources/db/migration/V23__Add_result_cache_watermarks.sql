@@ -0,0 +1,15 @@
+-- 관리자 목록/내보내기 결과 캐시 워터마크
+-- 캐시 적중 여부를 MAX(id), MAX(updated_at) 조회로 확인하므로 인덱스 한 번 탐색으로 끝나도록 합니다.
+
+-- external_transfers: 상태 변경을 감지할 수 있도록 updated_at 추가
+ALTER TABLE external_transfers ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL;
+
+COMMENT ON COLUMN external_transfers.updated_at IS '수정 시간';
+
+CREATE TRIGGER update_external_transfers_updated_at BEFORE UPDATE ON external_transfers
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+CREATE INDEX IF NOT EXISTS IDX_external_transfers_updated_at ON external_transfers(updated_at);
+
+-- users: 회원 정보(닉네임, 상태, 레벨) 변경 감지
+CREATE INDEX IF NOT EXISTS IDX_users_updated_at ON users(updated_at);
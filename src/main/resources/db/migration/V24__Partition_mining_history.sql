@@ -0,0 +1,154 @@
+-- 채굴 내역 월 단위 파티셔닝 (created_at 범위 파티션)
+-- 날짜 범위 조회(채굴 기록, 대시보드, 레퍼럴 수익 내역)는 조건의 created_at 범위에 해당하는 파티션만 읽고,
+-- 쓰기 시 갱신하는 인덱스도 keyset/회원별 조회에 필요한 것만 남깁니다.
+-- - 파티션 이름: mining_history_pYYYYMM, 범위 [해당 월 1일, 다음 달 1일)
+-- - 앞으로의 파티션은 애플리케이션이 create_mining_history_partitions()로 미리 생성
+-- - 보관 기간이 지난 파티션은 detach_mining_history_partitions()로 분리(보관 테이블) 또는 삭제
+-- - 미리 생성되지 않은 월의 행은 mining_history_default에 저장 (쓰기 실패 방지용, 정상 운영 시 비어 있음)
+-- PostgreSQL 13 이상 필요 (파티션 테이블의 BEFORE ROW 트리거)
+
+-- 1) 기존 테이블을 옮겨 두고 같은 컬럼/기본값/CHECK 제약의 파티션 테이블 생성
+ALTER TABLE mining_history RENAME TO mining_history_legacy;
+ALTER SEQUENCE mining_history_id_seq OWNED BY NONE;
+
+CREATE TABLE mining_history (
+    LIKE mining_history_legacy INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING COMMENTS
+) PARTITION BY RANGE (created_at);
+
+COMMENT ON TABLE mining_history IS '채굴 내역 테이블 (래퍼럴 수익 제외, created_at 월 단위 파티션)';
+
+-- 2) 파티션 관리 함수
+
+-- p_from이 속한 월부터 p_to가 속한 월까지 없는 파티션 생성, 생성한 파티션 수를 반환
+-- 기본 파티션에 이미 해당 월의 행이 있으면 (파티션 생성 전에 쓰인 경우) 건너뛰고 경고만 남깁니다.
+-- 해당 행들은 기본 파티션에서 그대로 조회되며, 점검 후 수동으로 옮겨야 합니다.
+CREATE OR REPLACE FUNCTION create_mining_history_partitions(p_from DATE, p_to DATE)
+RETURNS INTEGER AS $$
+DECLARE
+    v_month DATE := CAST(date_trunc('month', p_from) AS DATE);
+    v_next DATE;
+    v_name TEXT;
+    v_count INTEGER := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('mining_history_partitions'));
+
+    WHILE v_month <= p_to LOOP
+        v_next := CAST(v_month + INTERVAL '1 month' AS DATE);
+        v_name := 'mining_history_p' || to_char(v_month, 'YYYYMM');
+
+        IF to_regclass(v_name) IS NULL THEN
+            IF EXISTS (
+                SELECT 1 FROM mining_history_default
+                WHERE created_at >= v_month AND created_at < v_next
+            ) THEN
+                RAISE WARNING 'mining_history_default has rows for %, partition % not created', v_month, v_name;
+            ELSE
+                EXECUTE format(
+                    'CREATE TABLE %I PARTITION OF mining_history FOR VALUES FROM (%L) TO (%L)',
+                    v_name, v_month, v_next
+                );
+                v_count := v_count + 1;
+            END IF;
+        END IF;
+
+        v_month := v_next;
+    END LOOP;
+
+    RETURN v_count;
+END;
+$$ LANGUAGE plpgsql;
+
+-- p_before 이전에 끝나는 월 파티션을 분리, 분리한 파티션 수를 반환
+-- p_drop이 FALSE이면 mining_history_archive_YYYYMM 테이블로 보관, TRUE이면 삭제합니다.
+-- 분리는 DELETE 트리거를 실행하지 않으므로 user_mining_totals, daily_mining, referral_stats_logs 집계는 유지됩니다.
+-- (단, rebuild_* 함수로 재구축하면 분리된 기간은 집계에서 빠집니다)
+CREATE OR REPLACE FUNCTION detach_mining_history_partitions(p_before DATE, p_drop BOOLEAN DEFAULT FALSE)
+RETURNS INTEGER AS $$
+DECLARE
+    v_partition RECORD;
+    v_count INTEGER := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('mining_history_partitions'));
+
+    FOR v_partition IN
+        SELECT c.relname, to_date(right(c.relname, 6), 'YYYYMM') AS month
+        FROM pg_inherits i
+        INNER JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'mining_history'::regclass
+        AND c.relname ~ '^mining_history_p[0-9]{6}$'
+        ORDER BY c.relname
+    LOOP
+        EXIT WHEN v_partition.month + INTERVAL '1 month' > p_before;
+
+        EXECUTE format('ALTER TABLE mining_history DETACH PARTITION %I', v_partition.relname);
+        IF p_drop THEN
+            EXECUTE format('DROP TABLE %I', v_partition.relname);
+        ELSE
+            EXECUTE format(
+                'ALTER TABLE %I RENAME TO %I',
+                v_partition.relname, 'mining_history_archive_' || to_char(v_partition.month, 'YYYYMM')
+            );
+        END IF;
+        v_count := v_count + 1;
+    END LOOP;
+
+    RETURN v_count;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 3) 기존 데이터 범위(최소 지난달부터) ~ 3개월 후까지 파티션 생성 후 복사
+-- 트리거 생성 전에 복사하므로 집계(user_mining_totals 등)와 누적 채굴량은 다시 계산되지 않습니다.
+CREATE TABLE mining_history_default PARTITION OF mining_history DEFAULT;
+
+SELECT create_mining_history_partitions(
+    LEAST(
+        COALESCE(CAST((SELECT MIN(created_at) FROM mining_history_legacy) AS DATE), CURRENT_DATE),
+        CAST(CURRENT_DATE - INTERVAL '1 month' AS DATE)
+    ),
+    CAST(CURRENT_DATE + INTERVAL '3 months' AS DATE)
+);
+
+INSERT INTO mining_history SELECT * FROM mining_history_legacy;
+
+DROP TABLE mining_history_legacy;
+
+ALTER SEQUENCE mining_history_id_seq OWNED BY mining_history.id;
+
+-- 4) 제약/인덱스 (파티션 키 포함 PK)
+-- 단일 컬럼 인덱스(user_id, created_at, type, status, efficiency)와 (user_id, created_at)은 아래 인덱스로 대체
+ALTER TABLE mining_history ADD CONSTRAINT PK_mining_history PRIMARY KEY (id, created_at);
+ALTER TABLE mining_history ADD CONSTRAINT FK_mining_history_user
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE;
+
+-- 전체 목록 keyset / 날짜 범위
+CREATE INDEX IDX_mining_history_created_id ON mining_history(created_at DESC, id DESC);
+
+-- 회원별 채굴 내역 / 회원 삭제 시 FK 조회
+CREATE INDEX IDX_mining_history_user_created_id ON mining_history(user_id, created_at DESC, id DESC);
+
+-- 누적 채굴량 백필 대상 (V19)
+CREATE INDEX IDX_mining_history_cumulative_pending ON mining_history(user_id)
+    WHERE cumulative_amount IS NULL AND type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH');
+
+-- 5) 트리거 재생성 (파티션 테이블에 생성하면 모든 파티션에 적용)
+-- created_at 변경으로 다른 파티션으로 옮겨지는 UPDATE는 DELETE + INSERT 트리거로 실행되어 집계 결과는 같습니다.
+CREATE TRIGGER update_mining_history_updated_at BEFORE UPDATE ON mining_history
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+CREATE TRIGGER assign_mining_history_cumulative_amount
+    BEFORE INSERT ON mining_history
+    FOR EACH ROW EXECUTE FUNCTION assign_mining_history_cumulative_amount();
+
+CREATE TRIGGER sync_user_mining_totals
+    AFTER INSERT OR DELETE OR UPDATE OF user_id, type, amount, efficiency, created_at ON mining_history
+    FOR EACH ROW EXECUTE FUNCTION sync_user_mining_totals();
+
+CREATE TRIGGER sync_daily_mining
+    AFTER INSERT OR DELETE OR UPDATE OF user_id, type, amount, created_at ON mining_history
+    FOR EACH ROW EXECUTE FUNCTION sync_daily_mining();
+
+CREATE TRIGGER sync_referral_stats_reward
+    AFTER INSERT OR DELETE OR UPDATE OF user_id, type, amount, created_at ON mining_history
+    FOR EACH ROW EXECUTE FUNCTION sync_referral_stats_reward();
+
+ANALYZE mining_history;
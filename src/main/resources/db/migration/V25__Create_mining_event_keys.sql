@@ -0,0 +1,38 @@
+-- 채굴 이벤트 수집 멱등성 키
+-- 외부 서비스가 보낸 채굴 이벤트(idempotency_key)와 생성된 mining_history 행을 연결합니다.
+-- mining_history는 created_at 파티션이라 파티션 키 없이 전역 유일 제약을 둘 수 없으므로 별도 테이블로 관리합니다.
+-- 재전송된 이벤트는 이 테이블에서 걸러져 기존 mining_history_id로 응답합니다.
+CREATE TABLE mining_event_keys (
+    idempotency_key VARCHAR(100) NOT NULL,
+    mining_history_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    received_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT PK_mining_event_keys PRIMARY KEY (idempotency_key)
+);
+
+COMMENT ON TABLE mining_event_keys IS '채굴 이벤트 멱등성 키 (보관 기간 경과 후 prune_mining_event_keys()로 삭제)';
+COMMENT ON COLUMN mining_event_keys.idempotency_key IS '이벤트 멱등성 키 (발신 서비스에서 전역 유일, 예: 서비스명:이벤트ID)';
+COMMENT ON COLUMN mining_event_keys.mining_history_id IS '생성된 채굴 내역 ID';
+COMMENT ON COLUMN mining_event_keys.created_at IS '채굴 내역 created_at (파티션 키)';
+COMMENT ON COLUMN mining_event_keys.received_at IS '수신 시간';
+
+CREATE INDEX IDX_mining_event_keys_received_at ON mining_event_keys(received_at);
+
+-- p_before 이전에 수신한 키를 최대 p_batch_size개 삭제, 삭제한 수를 반환
+-- 한 번에 오래 잠그지 않도록 호출 측에서 반환값이 p_batch_size보다 작아질 때까지 반복합니다.
+CREATE OR REPLACE FUNCTION prune_mining_event_keys(p_before TIMESTAMP, p_batch_size INTEGER DEFAULT 10000)
+RETURNS INTEGER AS $$
+DECLARE
+    v_count INTEGER;
+BEGIN
+    DELETE FROM mining_event_keys
+    WHERE idempotency_key IN (
+        SELECT idempotency_key FROM mining_event_keys
+        WHERE received_at < p_before
+        LIMIT p_batch_size
+    );
+
+    GET DIAGNOSTICS v_count = ROW_COUNT;
+    RETURN v_count;
+END;
+$$ LANGUAGE plpgsql;
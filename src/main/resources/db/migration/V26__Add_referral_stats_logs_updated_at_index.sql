@@ -0,0 +1,4 @@
+-- 추천 랭킹(Redis 리더보드) 동기화용 인덱스
+-- 추천 관계는 다른 서비스가 기록하므로, 랭킹은 referral_stats_logs에서 최근 변경된 행(updated_at)만 주기적으로 읽어 반영합니다.
+-- (updated_at은 INSERT 시 기본값, UPDATE 시 update_referral_stats_logs_updated_at 트리거로 갱신)
+CREATE INDEX IF NOT EXISTS IDX_referral_stats_logs_updated_at ON referral_stats_logs(updated_at, user_id);
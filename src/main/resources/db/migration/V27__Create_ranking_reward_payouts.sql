@@ -0,0 +1,81 @@
+-- 랭킹 보상 지급
+-- 기간이 마감되면 순위를 스냅샷(ranking_reward_payout_items)으로 저장하고, 보상을 묶음 단위 트랜잭션으로 지급합니다.
+-- - 지급된 항목은 paid_at이 채워지므로 중단 후 다시 실행하면 남은 항목부터 이어서 지급 (진행 상황은 payouts.paid_count)
+-- - 지급 시 user_wallets 잔액 증가 + wallet_transactions(tx_type RANKING_REWARD) 기록
+
+-- 관리자 보상 설정 (AdminMiningRepository.updateRankingReward, 기존 환경에 이미 있으면 유지)
+CREATE TABLE IF NOT EXISTS ranking_reward_settings (
+    type VARCHAR(20) NOT NULL,
+    rank1 DECIMAL(36, 18) NULL,
+    rank2 DECIMAL(36, 18) NULL,
+    rank3 DECIMAL(36, 18) NULL,
+    rank4to10 DECIMAL(36, 18) NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT PK_ranking_reward_settings PRIMARY KEY (type)
+);
+
+COMMENT ON TABLE ranking_reward_settings IS '랭킹 보상 설정';
+COMMENT ON COLUMN ranking_reward_settings.type IS '보상 유형 (REGIONAL: 전체 국가 순위, NATIONAL: 국가별 순위)';
+COMMENT ON COLUMN ranking_reward_settings.rank4to10 IS '4~10위 보상 (각각)';
+
+CREATE TABLE ranking_reward_payouts (
+    id BIGSERIAL NOT NULL,
+    period VARCHAR(20) NOT NULL,
+    period_start DATE NOT NULL,
+    period_end DATE NOT NULL,
+    currency_id INT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PAYING',
+    total_count INT NOT NULL DEFAULT 0,
+    total_amount DECIMAL(36, 18) NOT NULL DEFAULT 0,
+    paid_count INT NOT NULL DEFAULT 0,
+    paid_amount DECIMAL(36, 18) NOT NULL DEFAULT 0,
+    completed_at TIMESTAMP NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT PK_ranking_reward_payouts PRIMARY KEY (id),
+    CONSTRAINT FK_ranking_reward_payouts_currency FOREIGN KEY (currency_id) REFERENCES currency(id) ON DELETE RESTRICT,
+    CONSTRAINT UK_ranking_reward_payouts_period UNIQUE (period, period_start),
+    CONSTRAINT CHK_ranking_reward_payouts_status CHECK (status IN ('PAYING', 'COMPLETED'))
+);
+
+COMMENT ON TABLE ranking_reward_payouts IS '랭킹 보상 지급 (기간별 1건)';
+COMMENT ON COLUMN ranking_reward_payouts.period IS '기간 유형 (DAILY, WEEKLY, MONTHLY)';
+COMMENT ON COLUMN ranking_reward_payouts.period_start IS '기간 시작일';
+COMMENT ON COLUMN ranking_reward_payouts.period_end IS '기간 종료일 (포함)';
+COMMENT ON COLUMN ranking_reward_payouts.currency_id IS '보상 통화 ID';
+COMMENT ON COLUMN ranking_reward_payouts.status IS '상태 (PAYING: 지급 중, COMPLETED: 지급 완료)';
+COMMENT ON COLUMN ranking_reward_payouts.total_count IS '지급 대상 항목 수';
+COMMENT ON COLUMN ranking_reward_payouts.paid_count IS '지급한 항목 수 (묶음 지급마다 갱신)';
+
+CREATE TABLE ranking_reward_payout_items (
+    id BIGSERIAL NOT NULL,
+    payout_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    scope VARCHAR(20) NOT NULL,
+    country_code VARCHAR(2) NULL,
+    rank INT NOT NULL,
+    score DECIMAL(36, 18) NOT NULL,
+    amount DECIMAL(36, 18) NOT NULL,
+    paid_at TIMESTAMP NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT PK_ranking_reward_payout_items PRIMARY KEY (id),
+    CONSTRAINT FK_ranking_reward_payout_items_payout FOREIGN KEY (payout_id) REFERENCES ranking_reward_payouts(id) ON DELETE CASCADE,
+    CONSTRAINT FK_ranking_reward_payout_items_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT UK_ranking_reward_payout_items UNIQUE (payout_id, scope, user_id),
+    CONSTRAINT CHK_ranking_reward_payout_items_amount CHECK (amount > 0)
+);
+
+COMMENT ON TABLE ranking_reward_payout_items IS '랭킹 보상 지급 항목 (기간 마감 시점 순위 스냅샷)';
+COMMENT ON COLUMN ranking_reward_payout_items.scope IS '순위 범위 (REGIONAL: 전체 국가, NATIONAL: 국가별)';
+COMMENT ON COLUMN ranking_reward_payout_items.country_code IS 'NATIONAL 순위의 국가 코드';
+COMMENT ON COLUMN ranking_reward_payout_items.rank IS '순위 (1부터)';
+COMMENT ON COLUMN ranking_reward_payout_items.score IS '기간 채굴량';
+COMMENT ON COLUMN ranking_reward_payout_items.amount IS '보상 금액';
+COMMENT ON COLUMN ranking_reward_payout_items.paid_at IS '지급 시간 (NULL이면 미지급)';
+
+-- 미지급 항목 묶음 조회용
+CREATE INDEX IDX_ranking_reward_payout_items_unpaid ON ranking_reward_payout_items(payout_id, id)
+    WHERE paid_at IS NULL;
+
+CREATE TRIGGER update_ranking_reward_payouts_updated_at BEFORE UPDATE ON ranking_reward_payouts
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
@@ -0,0 +1,56 @@
+-- 레퍼럴 리워드 분배 대기열
+-- 채굴 내역(BROADCAST_PROGRESS, BROADCAST_WATCH)이 저장되면 트리거가 대기열에 넣고,
+-- ReferralRewardDistributor가 묶음 단위로 꺼내 상위 회원(referral_closure)의 REFERRAL_REWARD 내역을 생성합니다.
+-- - 꺼내기(DELETE)와 리워드 저장이 한 문장(= 한 트랜잭션)이므로 실패하면 대기열에 그대로 남음
+-- - 리워드는 mining_event_keys('referral:원본ID:상위회원ID')로 원본 채굴 내역당 한 번만 생성
+
+-- 관리자 레퍼럴 보너스 설정 (AdminMiningRepository.updateReferralBonus, 기존 환경에 이미 있으면 유지)
+-- 단일 행 (id = 1)
+CREATE TABLE IF NOT EXISTS referral_bonus_settings (
+    id INT NOT NULL DEFAULT 1,
+    is_enabled BOOLEAN NULL DEFAULT TRUE,
+    distribution_rate INT NULL DEFAULT 5,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT PK_referral_bonus_settings PRIMARY KEY (id),
+    CONSTRAINT CHK_referral_bonus_settings_single_row CHECK (id = 1),
+    CONSTRAINT CHK_referral_bonus_settings_rate CHECK (distribution_rate BETWEEN 0 AND 100)
+);
+
+COMMENT ON TABLE referral_bonus_settings IS '레퍼럴 보너스 설정 (단일 행)';
+COMMENT ON COLUMN referral_bonus_settings.distribution_rate IS '분배율 (%, 하부 회원 채굴량 대비 직접 추천인 리워드)';
+
+CREATE TABLE referral_reward_queue (
+    mining_history_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    amount DECIMAL(36, 18) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    queued_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT PK_referral_reward_queue PRIMARY KEY (mining_history_id)
+);
+
+COMMENT ON TABLE referral_reward_queue IS '레퍼럴 리워드 분배 대기열 (mining_history 트리거로 추가, 분배 시 삭제)';
+COMMENT ON COLUMN referral_reward_queue.mining_history_id IS '원본 채굴 내역 ID';
+COMMENT ON COLUMN referral_reward_queue.user_id IS '채굴한 회원 ID';
+COMMENT ON COLUMN referral_reward_queue.amount IS '채굴량';
+COMMENT ON COLUMN referral_reward_queue.created_at IS '원본 채굴 내역 created_at (리워드 내역도 같은 시각으로 기록)';
+COMMENT ON COLUMN referral_reward_queue.queued_at IS '대기열 추가 시간 (분배 지연 지표)';
+
+-- 가장 오래 기다린 항목 조회 (분배 지연)
+CREATE INDEX IDX_referral_reward_queue_queued_at ON referral_reward_queue(queued_at);
+
+CREATE OR REPLACE FUNCTION enqueue_referral_reward()
+RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO referral_reward_queue (mining_history_id, user_id, amount, created_at)
+    VALUES (NEW.id, NEW.user_id, NEW.amount, NEW.created_at)
+    ON CONFLICT (mining_history_id) DO NOTHING;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 채굴 유형만 분배 대상 (리워드 내역이 다시 리워드를 만들지 않도록)
+CREATE TRIGGER enqueue_referral_reward
+    AFTER INSERT ON mining_history
+    FOR EACH ROW
+    WHEN (NEW.type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH'))
+    EXECUTE FUNCTION enqueue_referral_reward();
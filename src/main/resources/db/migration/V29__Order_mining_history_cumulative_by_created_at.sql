@@ -0,0 +1,63 @@
+-- 누적 채굴량(cumulative_amount) 계산 기준을 (created_at, id) 순서 하나로 통일
+-- 기존 트리거는 user_mining_totals.mined_amount(AFTER 트리거가 문장 끝에 갱신)에 이번 채굴량을 더했기 때문에
+-- - 여러 행을 한 문장으로 INSERT하면(채굴 이벤트 묶음 수집) 같은 회원의 행이 모두 같은 기준값을 사용하고
+-- - 과거 시각(created_at)으로 들어온 행은 입력 순서 기준 누적값이 되어 backfill_mining_history_cumulative와 달랐습니다.
+-- 이제 트리거가 mining_history에서 직전 행의 누적값을 직접 읽고, 이후 행에 이번 채굴량을 더합니다.
+-- 행 단위 BEFORE 트리거 안의 조회는 같은 문장에서 먼저 처리된 행을 볼 수 있으므로 여러 행 INSERT에서도 정확합니다.
+
+-- INSERT 시 누적 채굴량 할당
+-- - user_mining_totals 행을 잠가 같은 회원의 동시 INSERT를 직렬화 (mined_amount 값은 사용하지 않음)
+-- - 직전 행 = 같은 회원의 채굴 내역 중 (created_at, id)가 이번 행보다 작은 마지막 행 (IDX_mining_history_user_created_id)
+-- - 이후 행(과거 시각으로 들어온 경우)에는 이번 채굴량을 더함, 가장 최근 행이면 갱신 대상 없음
+-- - 백필되지 않은 행이 남은 회원은 NULL로 두고 백필에서 전체를 다시 계산
+CREATE OR REPLACE FUNCTION assign_mining_history_cumulative_amount()
+RETURNS TRIGGER AS $$
+DECLARE
+    v_previous DECIMAL(36, 18);
+    v_found BOOLEAN;
+BEGIN
+    IF NEW.type NOT IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH') THEN
+        RETURN NEW;
+    END IF;
+
+    INSERT INTO user_mining_totals (user_id) VALUES (NEW.user_id)
+    ON CONFLICT (user_id) DO NOTHING;
+
+    PERFORM 1
+    FROM user_mining_totals
+    WHERE user_id = NEW.user_id
+    FOR UPDATE;
+
+    IF EXISTS (
+        SELECT 1
+        FROM mining_history
+        WHERE user_id = NEW.user_id
+        AND cumulative_amount IS NULL
+        AND type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')
+    ) THEN
+        NEW.cumulative_amount := NULL;
+        RETURN NEW;
+    END IF;
+
+    SELECT cumulative_amount INTO v_previous
+    FROM mining_history
+    WHERE user_id = NEW.user_id
+    AND type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')
+    AND (created_at, id) < (NEW.created_at, NEW.id)
+    ORDER BY created_at DESC, id DESC
+    LIMIT 1;
+    v_found := FOUND;
+
+    NEW.cumulative_amount := CASE WHEN v_found THEN v_previous ELSE 0 END + NEW.amount;
+
+    UPDATE mining_history
+    SET cumulative_amount = cumulative_amount + NEW.amount
+    WHERE user_id = NEW.user_id
+    AND type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')
+    AND (created_at, id) > (NEW.created_at, NEW.id);
+
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON COLUMN mining_history.cumulative_amount IS '(created_at, id) 순서 기준 해당 행까지의 사용자 누적 채굴량 (BROADCAST_PROGRESS, BROADCAST_WATCH, NULL이면 백필 대상)';
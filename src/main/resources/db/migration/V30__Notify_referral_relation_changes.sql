@@ -0,0 +1,42 @@
+-- 직접 추천 간선 변경 알림 (LISTEN referral_relations)
+-- referral_relations는 다른 서비스도 쓰므로, 간선이 바뀌는 유일한 공통 경로인 sync_referral_closure 트리거에서 NOTIFY합니다.
+-- 알림은 커밋 시점에만 전달되며(롤백 시 없음), ReferralRelationListener가 받아 레퍼럴 그래프 스냅샷에 반영합니다.
+-- payload: {"referrerId": n, "referredId": n, "active": true|false, "at": 시각}
+-- (같은 트랜잭션 안의 동일한 알림은 하나로 합쳐지므로, 해제 후 재연결처럼 같은 간선이 반복되어도 구분되도록 at을 포함)
+CREATE OR REPLACE FUNCTION notify_referral_relation_change(p_parent BIGINT, p_child BIGINT, p_active BOOLEAN)
+RETURNS VOID AS $$
+BEGIN
+    PERFORM pg_notify('referral_relations', json_build_object(
+        'referrerId', p_parent,
+        'referredId', p_child,
+        'active', p_active,
+        'at', clock_timestamp()
+    )::text);
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION sync_referral_closure()
+RETURNS TRIGGER AS $$
+DECLARE
+    v_old_edge BOOLEAN := TG_OP IN ('UPDATE', 'DELETE')
+        AND OLD.level = 1 AND OLD.status = 'ACTIVE' AND OLD.deleted_at IS NULL;
+    v_new_edge BOOLEAN := TG_OP IN ('INSERT', 'UPDATE')
+        AND NEW.level = 1 AND NEW.status = 'ACTIVE' AND NEW.deleted_at IS NULL;
+BEGIN
+    -- 간선이 그대로인 변경은 무시
+    IF v_old_edge AND v_new_edge
+        AND OLD.referrer_id = NEW.referrer_id AND OLD.referred_id = NEW.referred_id THEN
+        RETURN NULL;
+    END IF;
+
+    IF v_old_edge THEN
+        PERFORM remove_referral_closure_edge(OLD.referrer_id, OLD.referred_id);
+        PERFORM notify_referral_relation_change(OLD.referrer_id, OLD.referred_id, FALSE);
+    END IF;
+    IF v_new_edge THEN
+        PERFORM add_referral_closure_edge(NEW.referrer_id, NEW.referred_id);
+        PERFORM notify_referral_relation_change(NEW.referrer_id, NEW.referred_id, TRUE);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,209 @@
+-- 회원별 마지막 누적 채굴량(head)을 저장하여 채굴 내역 INSERT 시 mining_history 조회를 없앰
+-- V29 트리거는 행마다 백필 대상 EXISTS, 직전 행 조회, 이후 행 UPDATE를 created_at 조건 없이 실행하여 모든 월 파티션을 읽었습니다.
+-- - 가장 최근 행(일반적인 수집): head 누적값 + 이번 채굴량, mining_history는 읽지 않음
+-- - 과거 시각 행(수집 허용 범위 max_past_hours 이내): 직전 행은 같은 월 파티션에서 먼저 찾고,
+--   이후 행 UPDATE는 [이번 행, head 행] 범위로 한정하여 해당 기간 파티션만 읽음
+-- - 백필 대상 여부도 head에 저장 (백필이 끝나면 해제)
+-- user_mining_totals는 rebuild_user_mining_totals()가 행을 지우고 다시 만들므로 별도 테이블에 둡니다.
+CREATE TABLE user_mining_cumulative (
+    user_id BIGINT NOT NULL,
+    cumulative_amount DECIMAL(36, 18) NOT NULL DEFAULT 0,
+    last_created_at TIMESTAMP NULL,
+    last_history_id BIGINT NULL,
+    pending BOOLEAN NOT NULL DEFAULT FALSE,
+    CONSTRAINT PK_user_mining_cumulative PRIMARY KEY (user_id),
+    CONSTRAINT FK_user_mining_cumulative_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+COMMENT ON TABLE user_mining_cumulative IS '회원별 마지막 채굴 내역의 누적 채굴량 (assign_mining_history_cumulative_amount 트리거로 갱신)';
+COMMENT ON COLUMN user_mining_cumulative.user_id IS '사용자 ID';
+COMMENT ON COLUMN user_mining_cumulative.cumulative_amount IS '(created_at, id) 순서상 마지막 채굴 내역의 누적 채굴량';
+COMMENT ON COLUMN user_mining_cumulative.last_created_at IS '마지막 채굴 내역 시각 (없으면 NULL)';
+COMMENT ON COLUMN user_mining_cumulative.last_history_id IS '마지막 채굴 내역 ID';
+COMMENT ON COLUMN user_mining_cumulative.pending IS '누적 채굴량 백필 대상 행이 남아 있는지 (TRUE면 새 행도 NULL로 저장)';
+
+-- head 초기화 (head가 없는 회원의 첫 INSERT 시 1회, 마지막 행과 백필 대상 여부를 조회)
+CREATE OR REPLACE FUNCTION load_user_mining_cumulative(p_user_id BIGINT)
+RETURNS user_mining_cumulative AS $$
+DECLARE
+    v_head user_mining_cumulative;
+BEGIN
+    INSERT INTO user_mining_cumulative (user_id, cumulative_amount, last_created_at, last_history_id, pending)
+    SELECT
+        p_user_id,
+        COALESCE(last_row.cumulative_amount, 0),
+        last_row.created_at,
+        last_row.id,
+        EXISTS (
+            SELECT 1
+            FROM mining_history
+            WHERE user_id = p_user_id
+            AND cumulative_amount IS NULL
+            AND type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')
+        )
+    FROM (SELECT 1) one
+    LEFT JOIN LATERAL (
+        SELECT cumulative_amount, created_at, id
+        FROM mining_history
+        WHERE user_id = p_user_id
+        AND type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')
+        ORDER BY created_at DESC, id DESC
+        LIMIT 1
+    ) last_row ON TRUE
+    ON CONFLICT (user_id) DO NOTHING;
+
+    SELECT * INTO v_head FROM user_mining_cumulative WHERE user_id = p_user_id;
+    RETURN v_head;
+END;
+$$ LANGUAGE plpgsql;
+
+-- INSERT 시 누적 채굴량 할당
+-- - user_mining_totals 행을 잠가 같은 회원의 동시 INSERT/백필을 직렬화 (V29와 같은 잠금)
+-- - 직전 행/이후 행 기준은 V29와 같은 (created_at, id) 순서
+CREATE OR REPLACE FUNCTION assign_mining_history_cumulative_amount()
+RETURNS TRIGGER AS $$
+DECLARE
+    v_head user_mining_cumulative;
+    v_month_start TIMESTAMP;
+    v_previous DECIMAL(36, 18);
+    v_found BOOLEAN;
+BEGIN
+    IF NEW.type NOT IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH') THEN
+        RETURN NEW;
+    END IF;
+
+    INSERT INTO user_mining_totals (user_id) VALUES (NEW.user_id)
+    ON CONFLICT (user_id) DO NOTHING;
+
+    PERFORM 1
+    FROM user_mining_totals
+    WHERE user_id = NEW.user_id
+    FOR UPDATE;
+
+    SELECT * INTO v_head FROM user_mining_cumulative WHERE user_id = NEW.user_id;
+    IF NOT FOUND THEN
+        v_head := load_user_mining_cumulative(NEW.user_id);
+    END IF;
+
+    IF v_head.pending THEN
+        NEW.cumulative_amount := NULL;
+        RETURN NEW;
+    END IF;
+
+    -- 가장 최근 행: head에 이어서 누적
+    IF v_head.last_created_at IS NULL
+        OR (NEW.created_at, NEW.id) > (v_head.last_created_at, v_head.last_history_id) THEN
+        NEW.cumulative_amount := v_head.cumulative_amount + NEW.amount;
+
+        UPDATE user_mining_cumulative
+        SET cumulative_amount = NEW.cumulative_amount,
+            last_created_at = NEW.created_at,
+            last_history_id = NEW.id
+        WHERE user_id = NEW.user_id;
+
+        RETURN NEW;
+    END IF;
+
+    -- 과거 시각 행: 직전 행은 같은 월 파티션에서 찾고, 그 달의 첫 행일 때만 이전 파티션을 조회
+    v_month_start := date_trunc('month', NEW.created_at);
+
+    SELECT cumulative_amount INTO v_previous
+    FROM mining_history
+    WHERE user_id = NEW.user_id
+    AND type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')
+    AND created_at >= v_month_start
+    AND (created_at, id) < (NEW.created_at, NEW.id)
+    ORDER BY created_at DESC, id DESC
+    LIMIT 1;
+    v_found := FOUND;
+
+    IF NOT v_found THEN
+        SELECT cumulative_amount INTO v_previous
+        FROM mining_history
+        WHERE user_id = NEW.user_id
+        AND type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')
+        AND created_at < v_month_start
+        ORDER BY created_at DESC, id DESC
+        LIMIT 1;
+        v_found := FOUND;
+    END IF;
+
+    NEW.cumulative_amount := CASE WHEN v_found THEN v_previous ELSE 0 END + NEW.amount;
+
+    -- 이후 행은 모두 (이번 행, head 행] 범위 안에 있음
+    UPDATE mining_history
+    SET cumulative_amount = cumulative_amount + NEW.amount
+    WHERE user_id = NEW.user_id
+    AND type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')
+    AND created_at >= NEW.created_at
+    AND created_at <= v_head.last_created_at
+    AND (created_at, id) > (NEW.created_at, NEW.id);
+
+    UPDATE user_mining_cumulative
+    SET cumulative_amount = cumulative_amount + NEW.amount
+    WHERE user_id = NEW.user_id;
+
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 기존 행 누적 채굴량 백필 (V19와 같고, 처리한 회원의 head를 다시 계산하여 백필 대상 해제)
+CREATE OR REPLACE FUNCTION backfill_mining_history_cumulative(p_batch_size INTEGER DEFAULT 500)
+RETURNS INTEGER AS $$
+DECLARE
+    v_user_ids BIGINT[];
+BEGIN
+    SELECT ARRAY_AGG(user_id) INTO v_user_ids
+    FROM (
+        SELECT DISTINCT user_id
+        FROM mining_history
+        WHERE cumulative_amount IS NULL
+        AND type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')
+        LIMIT p_batch_size
+    ) pending;
+
+    IF v_user_ids IS NULL THEN
+        RETURN 0;
+    END IF;
+
+    -- 재계산 중 같은 사용자의 신규 INSERT가 끼어들지 않도록 잠금
+    PERFORM 1 FROM user_mining_totals WHERE user_id = ANY(v_user_ids) FOR UPDATE;
+
+    UPDATE mining_history mh
+    SET cumulative_amount = running.cumulative_amount
+    FROM (
+        SELECT
+            id,
+            SUM(amount) OVER (PARTITION BY user_id ORDER BY created_at, id) as cumulative_amount
+        FROM mining_history
+        WHERE user_id = ANY(v_user_ids)
+        AND type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')
+    ) running
+    WHERE mh.id = running.id
+    AND mh.cumulative_amount IS DISTINCT FROM running.cumulative_amount;
+
+    DELETE FROM user_mining_cumulative WHERE user_id = ANY(v_user_ids);
+    PERFORM load_user_mining_cumulative(user_id) FROM unnest(v_user_ids) AS pending(user_id);
+
+    RETURN COALESCE(array_length(v_user_ids, 1), 0);
+END;
+$$ LANGUAGE plpgsql;
+
+-- 기존 회원 head 생성 (채굴 내역이 있는 회원만, 나머지는 첫 INSERT 시 생성)
+INSERT INTO user_mining_cumulative (user_id, cumulative_amount, last_created_at, last_history_id, pending)
+SELECT DISTINCT ON (mh.user_id)
+    mh.user_id,
+    COALESCE(mh.cumulative_amount, 0),
+    mh.created_at,
+    mh.id,
+    EXISTS (
+        SELECT 1
+        FROM mining_history p
+        WHERE p.user_id = mh.user_id
+        AND p.cumulative_amount IS NULL
+        AND p.type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')
+    )
+FROM mining_history mh
+INNER JOIN users u ON u.id = mh.user_id
+WHERE mh.type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')
+ORDER BY mh.user_id, mh.created_at DESC, mh.id DESC;
@@ -0,0 +1,94 @@
+-- 채굴 내역 INSERT의 행 잠금 순서 통일 (user_mining_totals → daily_mining → referral_stats_logs)
+-- 기존에는 채굴 유형만 BEFORE 트리거에서 user_mining_totals를 잠그고, REFERRAL_REWARD 행은 AFTER 트리거(이름 순)에서
+-- daily_mining을 먼저 잠근 뒤 sync_user_mining_totals에서 user_mining_totals를 기다렸습니다.
+-- 같은 회원의 채굴 이벤트 수집과 리워드 분배가 겹치면 서로 반대 순서로 잠가 교착이 발생할 수 있으므로,
+-- 이제 모든 유형이 BEFORE 트리거에서 user_mining_totals를 먼저 잠급니다.
+-- (두 INSERT 경로 모두 user_id 순으로 행을 넣으므로 여러 회원의 행 사이에서도 같은 순서)
+
+-- INSERT 시 누적 채굴량 할당 (V31과 같고, 유형과 관계없이 user_mining_totals를 먼저 잠금)
+CREATE OR REPLACE FUNCTION assign_mining_history_cumulative_amount()
+RETURNS TRIGGER AS $$
+DECLARE
+    v_head user_mining_cumulative;
+    v_month_start TIMESTAMP;
+    v_previous DECIMAL(36, 18);
+    v_found BOOLEAN;
+BEGIN
+    INSERT INTO user_mining_totals (user_id) VALUES (NEW.user_id)
+    ON CONFLICT (user_id) DO NOTHING;
+
+    PERFORM 1
+    FROM user_mining_totals
+    WHERE user_id = NEW.user_id
+    FOR UPDATE;
+
+    IF NEW.type NOT IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH') THEN
+        RETURN NEW;
+    END IF;
+
+    SELECT * INTO v_head FROM user_mining_cumulative WHERE user_id = NEW.user_id;
+    IF NOT FOUND THEN
+        v_head := load_user_mining_cumulative(NEW.user_id);
+    END IF;
+
+    IF v_head.pending THEN
+        NEW.cumulative_amount := NULL;
+        RETURN NEW;
+    END IF;
+
+    -- 가장 최근 행: head에 이어서 누적
+    IF v_head.last_created_at IS NULL
+        OR (NEW.created_at, NEW.id) > (v_head.last_created_at, v_head.last_history_id) THEN
+        NEW.cumulative_amount := v_head.cumulative_amount + NEW.amount;
+
+        UPDATE user_mining_cumulative
+        SET cumulative_amount = NEW.cumulative_amount,
+            last_created_at = NEW.created_at,
+            last_history_id = NEW.id
+        WHERE user_id = NEW.user_id;
+
+        RETURN NEW;
+    END IF;
+
+    -- 과거 시각 행: 직전 행은 같은 월 파티션에서 찾고, 그 달의 첫 행일 때만 이전 파티션을 조회
+    v_month_start := date_trunc('month', NEW.created_at);
+
+    SELECT cumulative_amount INTO v_previous
+    FROM mining_history
+    WHERE user_id = NEW.user_id
+    AND type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')
+    AND created_at >= v_month_start
+    AND (created_at, id) < (NEW.created_at, NEW.id)
+    ORDER BY created_at DESC, id DESC
+    LIMIT 1;
+    v_found := FOUND;
+
+    IF NOT v_found THEN
+        SELECT cumulative_amount INTO v_previous
+        FROM mining_history
+        WHERE user_id = NEW.user_id
+        AND type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')
+        AND created_at < v_month_start
+        ORDER BY created_at DESC, id DESC
+        LIMIT 1;
+        v_found := FOUND;
+    END IF;
+
+    NEW.cumulative_amount := CASE WHEN v_found THEN v_previous ELSE 0 END + NEW.amount;
+
+    -- 이후 행은 모두 (이번 행, head 행] 범위 안에 있음
+    UPDATE mining_history
+    SET cumulative_amount = cumulative_amount + NEW.amount
+    WHERE user_id = NEW.user_id
+    AND type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')
+    AND created_at >= NEW.created_at
+    AND created_at <= v_head.last_created_at
+    AND (created_at, id) > (NEW.created_at, NEW.id);
+
+    UPDATE user_mining_cumulative
+    SET cumulative_amount = cumulative_amount + NEW.amount
+    WHERE user_id = NEW.user_id;
+
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
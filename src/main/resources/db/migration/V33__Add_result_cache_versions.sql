@@ -0,0 +1,45 @@
+-- 관리자 목록/내보내기 결과 캐시 워터마크를 테이블별 변경 카운터로 교체
+-- V23 워터마크(MAX(id), MAX(updated_at))는 더 낮은 id(또는 더 이른 updated_at, 트랜잭션 시작 시각)의 행이 늦게 커밋되면
+-- 값이 바뀌지 않아, 캐시가 max_age 동안 그 행이 빠진 결과를 반환했습니다.
+-- - 변경 문장마다 카운터를 올리고, 카운터는 커밋된 뒤에만 보이므로 늦게 커밋된 변경도 반드시 워터마크를 바꿉니다.
+-- - 채굴 수집처럼 동시 변경이 많은 테이블에서 한 행에 잠금이 몰리지 않도록 연결(backend pid)별 샤드 행을 올리고, 조회 시 합산합니다.
+CREATE TABLE result_cache_versions (
+    table_name VARCHAR(63) NOT NULL,
+    shard SMALLINT NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT PK_result_cache_versions PRIMARY KEY (table_name, shard)
+);
+
+COMMENT ON TABLE result_cache_versions IS '결과 캐시 워터마크용 테이블별 변경 카운터 (bump_result_cache_version 트리거로 갱신, 샤드 합계가 워터마크)';
+COMMENT ON COLUMN result_cache_versions.table_name IS '변경된 테이블';
+COMMENT ON COLUMN result_cache_versions.shard IS '샤드 (변경한 연결의 backend pid % 16)';
+COMMENT ON COLUMN result_cache_versions.version IS '샤드의 변경 문장 수';
+
+CREATE OR REPLACE FUNCTION bump_result_cache_version()
+RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO result_cache_versions (table_name, shard, version)
+    VALUES (TG_TABLE_NAME, pg_backend_pid() % 16, 1)
+    ON CONFLICT (table_name, shard) DO UPDATE SET version = result_cache_versions.version + 1;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 문장 단위 트리거 (수집 한 묶음 = 한 번 증가)
+CREATE TRIGGER bump_result_cache_version
+    AFTER INSERT OR UPDATE OR DELETE ON mining_history
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_result_cache_version();
+
+CREATE TRIGGER bump_result_cache_version
+    AFTER INSERT OR UPDATE OR DELETE ON users
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_result_cache_version();
+
+CREATE TRIGGER bump_result_cache_version
+    AFTER INSERT OR UPDATE OR DELETE ON external_transfers
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_result_cache_version();
+
+-- 샤드 행 미리 생성 (트리거는 UPDATE 경로만 사용)
+INSERT INTO result_cache_versions (table_name, shard)
+SELECT t.table_name, s.shard
+FROM (VALUES ('mining_history'), ('users'), ('external_transfers')) t(table_name)
+CROSS JOIN generate_series(0, 15) s(shard);
@@ -0,0 +1,113 @@
+-- 레퍼럴 통계 재구축을 회원 ID 묶음 단위로 실행
+-- V22의 rebuild_referral_stats_logs()는 referral_stats_logs를 EXCLUSIVE 모드로 잠근 채 전체를 지우고 다시 만들어,
+-- 재구축하는 동안 레퍼럴 리워드 INSERT(sync_referral_stats_reward 트리거)를 포함한 채굴 수집이 멈췄습니다.
+-- - 묶음마다 대상 회원의 통계 행만 회원 ID 순으로 잠근 뒤(레퍼럴 리워드 분배와 같은 순서), 새 스냅샷으로 다시 계산하여 덮어씀
+--   잠금 전에 커밋된 리워드는 계산에 포함되고, 잠금을 기다린 리워드는 재구축한 값 위에 증분 반영되므로 누락/중복 없음
+-- - 묶음 하나가 한 문장(= 한 트랜잭션)이므로 잠금은 묶음을 처리하는 동안만 유지
+-- - 애플리케이션이 마지막 회원 ID를 넘겨 가며 반복 호출 (누적 채굴량 백필과 같은 방식)
+-- 한 트랜잭션으로 전체를 다시 만드는 V22 함수는 더 이상 사용하지 않으므로 삭제합니다.
+DROP FUNCTION IF EXISTS rebuild_referral_stats_logs();
+
+-- p_after_user_id 이후 회원 p_batch_size명의 통계 재구축
+-- 반환: 묶음의 마지막 회원 ID (남은 회원이 없으면 NULL), 묶음에서 통계 행이 있는 회원 수
+CREATE OR REPLACE FUNCTION rebuild_referral_stats_logs_batch(p_after_user_id BIGINT, p_batch_size INTEGER DEFAULT 1000)
+RETURNS TABLE (last_user_id BIGINT, rebuilt_count INTEGER) AS $$
+DECLARE
+    v_user_ids BIGINT[];
+    v_count INTEGER;
+BEGIN
+    -- 클로저 변경과의 경합 방지 (add/remove_referral_closure_edge와 같은 잠금, 이 묶음의 트랜잭션 동안만)
+    PERFORM pg_advisory_xact_lock(hashtext('referral_closure'));
+
+    SELECT ARRAY_AGG(batch.id ORDER BY batch.id) INTO v_user_ids
+    FROM (
+        SELECT id
+        FROM users
+        WHERE id > p_after_user_id
+        ORDER BY id
+        LIMIT p_batch_size
+    ) batch;
+
+    IF v_user_ids IS NULL THEN
+        RETURN QUERY SELECT CAST(NULL AS BIGINT), 0;
+        RETURN;
+    END IF;
+
+    -- 통계 원천이 있는데 행이 없는 회원의 행 생성 (아래 잠금 대상에 포함되도록)
+    INSERT INTO referral_stats_logs (user_id, today_date)
+    SELECT target.user_id, CURRENT_DATE
+    FROM unnest(v_user_ids) AS target(user_id)
+    WHERE EXISTS (SELECT 1 FROM referral_closure WHERE ancestor_id = target.user_id)
+    OR EXISTS (SELECT 1 FROM mining_history WHERE user_id = target.user_id AND type = 'REFERRAL_REWARD')
+    OR EXISTS (SELECT 1 FROM referral_relations WHERE referrer_id = target.user_id AND level = 1)
+    ON CONFLICT (user_id) DO NOTHING;
+
+    SELECT COUNT(*) INTO v_count
+    FROM (
+        SELECT user_id
+        FROM referral_stats_logs
+        WHERE user_id = ANY(v_user_ids)
+        ORDER BY user_id
+        FOR UPDATE
+    ) locked;
+
+    -- 잠금 이후의 새 스냅샷으로 계산 (값이 같은 행은 갱신하지 않음)
+    UPDATE referral_stats_logs rsl SET
+        direct_count = stats.direct_count,
+        team_count = stats.team_count,
+        total_reward = stats.total_reward,
+        today_reward = stats.today_reward,
+        total_signup_count = stats.total_signup_count,
+        today_signup_count = stats.today_signup_count,
+        today_date = CURRENT_DATE
+    FROM (
+        SELECT
+            locked.user_id,
+            COALESCE(closure.direct_count, 0) as direct_count,
+            COALESCE(closure.team_count, 0) as team_count,
+            COALESCE(reward.total_reward, 0) as total_reward,
+            COALESCE(reward.today_reward, 0) as today_reward,
+            COALESCE(signup.total_signup_count, 0) as total_signup_count,
+            COALESCE(signup.today_signup_count, 0) as today_signup_count
+        FROM referral_stats_logs locked
+        LEFT JOIN (
+            SELECT
+                ancestor_id,
+                COUNT(*) FILTER (WHERE depth = 1) as direct_count,
+                COUNT(*) as team_count
+            FROM referral_closure
+            WHERE ancestor_id = ANY(v_user_ids)
+            GROUP BY ancestor_id
+        ) closure ON closure.ancestor_id = locked.user_id
+        LEFT JOIN (
+            SELECT
+                user_id,
+                SUM(amount) as total_reward,
+                SUM(amount) FILTER (WHERE CAST(created_at AS DATE) = CURRENT_DATE) as today_reward
+            FROM mining_history
+            WHERE type = 'REFERRAL_REWARD'
+            AND user_id = ANY(v_user_ids)
+            GROUP BY user_id
+        ) reward ON reward.user_id = locked.user_id
+        LEFT JOIN (
+            SELECT
+                referrer_id,
+                COUNT(*) as total_signup_count,
+                COUNT(*) FILTER (WHERE CAST(created_at AS DATE) = CURRENT_DATE) as today_signup_count
+            FROM referral_relations
+            WHERE level = 1
+            AND referrer_id = ANY(v_user_ids)
+            GROUP BY referrer_id
+        ) signup ON signup.referrer_id = locked.user_id
+        WHERE locked.user_id = ANY(v_user_ids)
+    ) stats
+    WHERE rsl.user_id = stats.user_id
+    AND (rsl.direct_count, rsl.team_count, rsl.total_reward, rsl.today_reward,
+         rsl.total_signup_count, rsl.today_signup_count, rsl.today_date)
+        IS DISTINCT FROM
+        (stats.direct_count, stats.team_count, stats.total_reward, stats.today_reward,
+         stats.total_signup_count, stats.today_signup_count, CURRENT_DATE);
+
+    RETURN QUERY SELECT v_user_ids[array_length(v_user_ids, 1)], v_count;
+END;
+$$ LANGUAGE plpgsql;
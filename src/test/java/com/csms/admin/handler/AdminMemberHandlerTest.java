@@ -2,9 +2,11 @@ package com.csms.admin.handler;
 
 import com.csms.admin.dto.*;
 import com.csms.admin.service.*;
+import com.csms.common.export.ExportJobManager;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.jwt.JWTAuth;
 import io.vertx.ext.web.Router;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
@@ -24,13 +26,19 @@ class AdminMemberHandlerTest {
     @Mock
     private AdminMemberService service;
     
+    @Mock
+    private JWTAuth jwtAuth;
+    
+    @Mock
+    private ExportJobManager exportJobManager;
+    
     private AdminMemberHandler handler;
     private Vertx vertx;
     
     @BeforeEach
     void setUp(Vertx vertx) {
         this.vertx = vertx;
-        handler = new AdminMemberHandler(vertx, service);
+        handler = new AdminMemberHandler(vertx, service, jwtAuth, exportJobManager);
     }
     
     @Test
@@ -0,0 +1,148 @@
+package com.csms.admin.repository;
+
+import com.csms.admin.dto.ReferralTreeMemberDto;
+import io.vertx.core.Future;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.sqlclient.PreparedQuery;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowIterator;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlClient;
+import io.vertx.sqlclient.Tuple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith({VertxExtension.class, MockitoExtension.class})
+class AdminReferralRepositoryTest {
+
+    @Mock
+    private SqlClient client;
+
+    @Mock
+    private PreparedQuery<RowSet<Row>> pageQuery;
+
+    @Mock
+    private PreparedQuery<RowSet<Row>> childrenQuery;
+
+    private AdminReferralRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new AdminReferralRepository();
+        // 하부 회원 조회(ANY 배열 조건)와 페이지 조회를 구분
+        when(client.preparedQuery(anyString())).thenAnswer(invocation ->
+            invocation.<String>getArgument(0).contains("ANY(") ? childrenQuery : pageQuery);
+    }
+
+    @Test
+    void testGetReferralTree_FetchesChildrenForWholePageInOneQuery(VertxTestContext context) {
+        // Given
+        int pageSize = 100;
+        List<Row> memberRows = new ArrayList<>();
+        for (long id = 1; id <= pageSize; id++) {
+            memberRows.add(memberRow(id, id == 1 ? (long) pageSize : null));
+        }
+        RowSet<Row> pageRows = rowSet(List.of("id", "total_count"), memberRows);
+        RowSet<Row> childRows = rowSet(List.of("id", "referrer_id"), List.of(
+            childRow(1001L, 1L),
+            childRow(1002L, 1L),
+            childRow(1003L, 2L)
+        ));
+
+        when(pageQuery.execute(any(Tuple.class))).thenReturn(Future.succeededFuture(pageRows));
+        when(childrenQuery.execute(any(Tuple.class))).thenReturn(Future.succeededFuture(childRows));
+
+        // When
+        repository.getReferralTree(client, pageSize, 0, null, null, null, null, null, null)
+            .onComplete(context.succeeding(result -> {
+                // Then
+                context.verify(() -> {
+                    // 페이지 1회 + 하부 회원 1회 (회원 수와 무관)
+                    verify(client, times(2)).preparedQuery(anyString());
+                    verify(childrenQuery, times(1)).execute(any(Tuple.class));
+
+                    assertThat(result.getMembers()).hasSize(pageSize);
+                    assertThat(result.getTotal()).isEqualTo(pageSize);
+                    ReferralTreeMemberDto first = result.getMembers().get(0);
+                    assertThat(first.getChildren()).extracting(ReferralTreeMemberDto::getId)
+                        .containsExactly(1001L, 1002L);
+                    assertThat(result.getMembers().get(1).getChildren()).extracting(ReferralTreeMemberDto::getId)
+                        .containsExactly(1003L);
+                    assertThat(result.getMembers().get(2).getChildren()).isEmpty();
+                });
+                context.completeNow();
+            }));
+    }
+
+    @Test
+    void testGetReferralTree_EmptyPageSkipsChildrenQuery(VertxTestContext context) {
+        // Given
+        RowSet<Row> pageRows = rowSet(List.of("id", "total_count"), List.of());
+        when(pageQuery.execute(any(Tuple.class))).thenReturn(Future.succeededFuture(pageRows));
+
+        // When
+        repository.getReferralTree(client, 20, 0, null, null, null, null, null, null)
+            .onComplete(context.succeeding(result -> {
+                // Then
+                context.verify(() -> {
+                    verify(client, times(1)).preparedQuery(anyString());
+                    verifyNoInteractions(childrenQuery);
+                    assertThat(result.getMembers()).isEmpty();
+                });
+                context.completeNow();
+            }));
+    }
+
+    private Row memberRow(Long id, Long totalCount) {
+        Row row = mock(Row.class);
+        when(row.getLong(0)).thenReturn(id);
+        if (totalCount != null) {
+            when(row.getLong("total_count")).thenReturn(totalCount);
+        }
+        return row;
+    }
+
+    private Row childRow(Long id, Long referrerId) {
+        Row row = mock(Row.class);
+        when(row.getLong(0)).thenReturn(id);
+        when(row.getLong(1)).thenReturn(referrerId);
+        return row;
+    }
+
+    @SuppressWarnings("unchecked")
+    private RowSet<Row> rowSet(List<String> columns, List<Row> rows) {
+        RowSet<Row> rowSet = mock(RowSet.class);
+        lenient().when(rowSet.size()).thenReturn(rows.size());
+        lenient().when(rowSet.columnsNames()).thenReturn(columns);
+        lenient().when(rowSet.iterator()).thenAnswer(invocation -> iteratorOf(rows));
+        return rowSet;
+    }
+
+    private RowIterator<Row> iteratorOf(List<Row> rows) {
+        Iterator<Row> iterator = rows.iterator();
+        return new RowIterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Row next() {
+                return iterator.next();
+            }
+        };
+    }
+}
@@ -0,0 +1,82 @@
+package com.csms.admin.repository;
+
+import com.csms.common.HandlerTestBase;
+import io.vertx.core.Future;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.Tuple;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 채굴 내역 날짜 범위 조회가 해당 월 파티션만 읽는지 EXPLAIN으로 확인
+ */
+@ExtendWith(VertxExtension.class)
+class MiningHistoryPartitionPruningTest extends HandlerTestBase {
+    
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    
+    public MiningHistoryPartitionPruningTest() {
+        super("/api/admin");
+    }
+    
+    @Test
+    void testDateRangeQuery_ScansOnlyMatchingPartition(VertxTestContext context) {
+        // Given: 이번 달 1일 ~ 10일 (채굴 기록 목록과 같은 조건/정렬)
+        LocalDate thisMonth = LocalDate.now().withDayOfMonth(1);
+        String sql = """
+            EXPLAIN SELECT mh.id FROM mining_history mh
+            WHERE mh.type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')
+            AND mh.created_at >= $1 AND mh.created_at <= $2
+            ORDER BY mh.created_at DESC, mh.id DESC
+            LIMIT 20
+            """;
+        
+        // When
+        explain(sql, Tuple.of(thisMonth.atStartOfDay(), thisMonth.plusDays(9).atTime(23, 59, 59)))
+            .onComplete(context.succeeding(plan -> context.verify(() -> {
+                // Then
+                assertThat(plan).contains("mining_history_p" + thisMonth.format(PARTITION_SUFFIX));
+                assertThat(plan).doesNotContain("mining_history_p" + thisMonth.minusMonths(1).format(PARTITION_SUFFIX));
+                assertThat(plan).doesNotContain("mining_history_p" + thisMonth.plusMonths(1).format(PARTITION_SUFFIX));
+                assertThat(plan).doesNotContain("mining_history_default");
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void testMaintenance_CreatesPartitionsAhead(VertxTestContext context) {
+        // Given
+        AdminMiningRepository repository = new AdminMiningRepository(pool);
+        LocalDate thisMonth = LocalDate.now().withDayOfMonth(1);
+        LocalDate farMonth = thisMonth.plusMonths(6);
+        
+        // When
+        repository.createMiningHistoryPartitions(sqlClient, thisMonth, farMonth)
+            .compose(created -> repository.createMiningHistoryPartitions(sqlClient, thisMonth, farMonth)
+                .map(again -> new int[]{created, again}))
+            .onComplete(context.succeeding(counts -> context.verify(() -> {
+                // Then: 마이그레이션이 3개월 뒤까지 만들어 두었으므로 4~6개월 뒤만 생성, 재실행은 멱등
+                assertThat(counts[0]).isEqualTo(3);
+                assertThat(counts[1]).isZero();
+                context.completeNow();
+            })));
+    }
+    
+    private Future<String> explain(String sql, Tuple params) {
+        return sqlClient.preparedQuery(sql).execute(params)
+            .map(rows -> {
+                StringBuilder plan = new StringBuilder();
+                for (Row row : rows) {
+                    plan.append(row.getString(0)).append('\n');
+                }
+                return plan.toString();
+            });
+    }
+}
@@ -0,0 +1,59 @@
+package com.csms.admin.repository;
+
+import com.csms.common.HandlerTestBase;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.sqlclient.Tuple;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 결과 캐시 워터마크 - 커밋된 변경만 반영하고, 늦게 커밋된 변경도 워터마크를 바꾸는지 확인
+ */
+@ExtendWith(VertxExtension.class)
+class ResultCacheWatermarkTest extends HandlerTestBase {
+    
+    public ResultCacheWatermarkTest() {
+        super("/api/admin");
+    }
+    
+    @Test
+    void testMiningWatermark_MovesWhenPendingInsertCommits(VertxTestContext context) {
+        // Given: 채굴 내역 INSERT 트랜잭션이 커밋 전
+        AdminMiningRepository repository = new AdminMiningRepository(pool);
+        AtomicReference<String> before = new AtomicReference<>();
+        AtomicReference<String> pending = new AtomicReference<>();
+        
+        repository.getMiningWatermark(sqlClient)
+            .compose(watermark -> {
+                before.set(watermark);
+                return pool.getConnection();
+            })
+            .compose(conn -> conn.begin()
+                .compose(tx -> conn.query("SELECT id FROM users WHERE deleted_at IS NULL ORDER BY id LIMIT 1").execute()
+                    .compose(rows -> conn.preparedQuery("""
+                            INSERT INTO mining_history (user_id, level, type, amount, created_at)
+                            VALUES ($1, 1, 'BROADCAST_WATCH', 1, $2)
+                            """)
+                        .execute(Tuple.of(rows.iterator().next().getLong("id"), LocalDateTime.now().minusMinutes(5))))
+                    // When: 커밋 전/후 워터마크 조회
+                    .compose(inserted -> repository.getMiningWatermark(sqlClient))
+                    .compose(watermark -> {
+                        pending.set(watermark);
+                        return tx.commit();
+                    }))
+                .eventually(v -> conn.close()))
+            .compose(committed -> repository.getMiningWatermark(sqlClient))
+            .onComplete(context.succeeding(after -> context.verify(() -> {
+                // Then: 커밋 전에는 그대로, 커밋 후에는 변경
+                assertThat(pending.get()).isEqualTo(before.get());
+                assertThat(after).isNotEqualTo(before.get());
+                context.completeNow();
+            })));
+    }
+}
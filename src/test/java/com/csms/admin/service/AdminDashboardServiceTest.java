@@ -69,5 +69,31 @@ class AdminDashboardServiceTest extends HandlerTestBase {
             })
             .onFailure(context::failNow);
     }
+    
+    @Test
+    void testCloseDailyMiningRollups_ChartDataUnchanged(VertxTestContext context) {
+        // Given
+        String dateRange = "30";
+        
+        // When
+        dashboardService.getDashboardStats(dateRange, null, null)
+            .compose(before -> dashboardService.closeDailyMiningRollups()
+                .compose(closed -> dashboardService.getDashboardStats(dateRange, null, null))
+                .map(after -> {
+                    // Then
+                    assertThat(after.getChartData()).hasSameSizeAs(before.getChartData());
+                    for (int i = 0; i < before.getChartData().size(); i++) {
+                        assertThat(after.getChartData().get(i).getDate())
+                            .isEqualTo(before.getChartData().get(i).getDate());
+                        assertThat(after.getChartData().get(i).getTotalMined())
+                            .isEqualTo(before.getChartData().get(i).getTotalMined());
+                        assertThat(after.getChartData().get(i).getUserCount())
+                            .isEqualTo(before.getChartData().get(i).getUserCount());
+                    }
+                    assertThat(after.getStats().getTotalMined()).isEqualTo(before.getStats().getTotalMined());
+                    return after;
+                }))
+            .onSuccess(result -> context.completeNow())
+            .onFailure(context::failNow);
+    }
 }
-
@@ -301,5 +301,69 @@ class AdminMiningConditionServiceTest {
                 context.completeNow();
             }));
     }
+    
+    @Test
+    void testGetMiningConditions_ServedFromSnapshot(VertxTestContext context) {
+        // Given
+        MiningConditionDto expectedResult = MiningConditionDto.builder()
+            .basicConditions(MiningConditionDto.BasicConditions.builder()
+                .isEnabled(true)
+                .missions(new ArrayList<>())
+                .build())
+            .build();
+        
+        when(repository.getMiningConditions(anySqlClient())).thenReturn(Future.succeededFuture(expectedResult));
+        
+        // When
+        service.getMiningConditions()
+            .compose(first -> service.getMiningConditions())
+            .onComplete(context.succeeding(result -> {
+                // Then
+                context.verify(() -> {
+                    assertSame(expectedResult, result);
+                    verify(repository, times(1)).getMiningConditions(anySqlClient());
+                });
+                context.completeNow();
+            }));
+    }
+    
+    @Test
+    void testUpdateLevelLimitsEnabled_RefreshesSnapshot(VertxTestContext context) {
+        // Given
+        MiningConditionDto before = MiningConditionDto.builder()
+            .basicConditions(MiningConditionDto.BasicConditions.builder()
+                .isEnabled(true)
+                .missions(new ArrayList<>())
+                .build())
+            .levelLimitsEnabled(true)
+            .build();
+        MiningConditionDto after = MiningConditionDto.builder()
+            .basicConditions(MiningConditionDto.BasicConditions.builder()
+                .isEnabled(true)
+                .missions(new ArrayList<>())
+                .build())
+            .levelLimitsEnabled(false)
+            .build();
+        UpdateLevelLimitsEnabledRequestDto request = UpdateLevelLimitsEnabledRequestDto.builder()
+            .enabled(false)
+            .build();
+        
+        when(repository.getMiningConditions(anySqlClient()))
+            .thenReturn(Future.succeededFuture(before))
+            .thenReturn(Future.succeededFuture(after));
+        when(repository.updateLevelLimitsEnabled(anySqlClient(), eq(false))).thenReturn(Future.succeededFuture());
+        
+        // When
+        service.getMiningConditions()
+            .compose(cached -> service.updateLevelLimitsEnabled(request))
+            .compose(v -> service.getMiningConditions())
+            .onComplete(context.succeeding(result -> {
+                // Then
+                context.verify(() -> {
+                    assertFalse(result.getLevelLimitsEnabled());
+                    verify(repository, times(2)).getMiningConditions(anySqlClient());
+                });
+                context.completeNow();
+            }));
+    }
 }
-
@@ -132,5 +132,36 @@ class AdminMiningHistoryListServiceTest {
                 context.completeNow();
             }));
     }
+    
+    @Test
+    void testRebuildUserMiningTotals_AllUsers(VertxTestContext context) {
+        // Given
+        when(repository.rebuildUserMiningTotals(anySqlClient(), isNull()))
+            .thenReturn(Future.succeededFuture(42));
+        
+        // When
+        service.rebuildUserMiningTotals(null)
+            .onComplete(context.succeeding(result -> {
+                // Then
+                context.verify(() -> {
+                    assertEquals(42, result);
+                    verify(repository, times(1)).rebuildUserMiningTotals(anySqlClient(), isNull());
+                });
+                context.completeNow();
+            }));
+    }
+    
+    @Test
+    void testRebuildUserMiningTotals_InvalidUserId(VertxTestContext context) {
+        // When
+        service.rebuildUserMiningTotals(0L)
+            .onComplete(context.failing(throwable -> {
+                // Then
+                context.verify(() -> {
+                    assertInstanceOf(IllegalArgumentException.class, throwable);
+                    verify(repository, never()).rebuildUserMiningTotals(any(), any());
+                });
+                context.completeNow();
+            }));
+    }
 }
-
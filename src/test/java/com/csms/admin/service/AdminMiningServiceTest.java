@@ -1,10 +1,17 @@
 package com.csms.admin.service;
 
+import com.csms.admin.dto.CumulativeBackfillJobDto;
 import com.csms.admin.dto.MiningHistoryListDto;
+import com.csms.admin.dto.MiningRecordDto;
 import com.csms.admin.dto.MiningRecordListDto;
 import com.csms.admin.repository.AdminMiningRepository;
-import io.vertx.core.buffer.Buffer;
+import com.csms.common.exceptions.BadRequestException;
+import com.csms.common.exceptions.NotFoundException;
+import com.csms.common.export.ExcelExport;
+import com.csms.common.export.ExportSource;
+import com.csms.common.repository.PageCursor;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
 import io.vertx.pgclient.PgPool;
@@ -14,7 +21,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.ArrayList;
+import java.time.LocalDateTime;
 
 import static com.csms.common.TestArgumentMatchers.anySqlClient;
 import static org.junit.jupiter.api.Assertions.*;
@@ -54,18 +61,19 @@ class AdminMiningServiceTest {
             any(),
             eq("ALL"),
             isNull(),
-            eq("ALL")
+            eq("ALL"),
+            isNull()
         )).thenReturn(Future.succeededFuture(expectedResult));
         
         // When
-        service.getMiningRecords(null, null, null, null, null, null, null, null)
+        service.getMiningRecords(null, null, null, null, null, null, null, null, null)
             .onComplete(context.succeeding(result -> {
                 // Then
                 context.verify(() -> {
                     assertNotNull(result);
                     assertEquals(20, result.getLimit());
                     assertEquals(0, result.getOffset());
-                    verify(repository, times(1)).getMiningRecords(anySqlClient(), anyInt(), anyInt(), any(), any(), anyString(), any(), anyString());
+                    verify(repository, times(1)).getMiningRecords(anySqlClient(), anyInt(), anyInt(), any(), any(), anyString(), any(), anyString(), isNull());
                 });
                 context.completeNow();
             }));
@@ -88,17 +96,18 @@ class AdminMiningServiceTest {
             any(),
             eq("NICKNAME"),
             eq("test"),
-            eq("ACTIVE")
+            eq("ACTIVE"),
+            isNull()
         )).thenReturn(Future.succeededFuture(expectedResult));
         
         // When
-        service.getMiningRecords(30, 0, "30", null, null, "NICKNAME", "test", "ACTIVE")
+        service.getMiningRecords(30, 0, "30", null, null, "NICKNAME", "test", "ACTIVE", null)
             .onComplete(context.succeeding(result -> {
                 // Then
                 context.verify(() -> {
                     assertNotNull(result);
                     assertEquals(30, result.getLimit());
-                    verify(repository, times(1)).getMiningRecords(anySqlClient(), anyInt(), anyInt(), any(), any(), anyString(), anyString(), anyString());
+                    verify(repository, times(1)).getMiningRecords(anySqlClient(), anyInt(), anyInt(), any(), any(), anyString(), anyString(), anyString(), isNull());
                 });
                 context.completeNow();
             }));
@@ -122,105 +131,156 @@ class AdminMiningServiceTest {
             any(),
             eq("ALL"),
             eq("a".repeat(20)), // 20자로 잘림
-            eq("ALL")
+            eq("ALL"),
+            isNull()
         )).thenReturn(Future.succeededFuture(expectedResult));
         
         // When
-        service.getMiningRecords(20, 0, "7", null, null, "ALL", longKeyword, "ALL")
+        service.getMiningRecords(20, 0, "7", null, null, "ALL", longKeyword, "ALL", null)
             .onComplete(context.succeeding(result -> {
                 // Then
                 context.verify(() -> {
                     assertNotNull(result);
-                    verify(repository, times(1)).getMiningRecords(anySqlClient(), anyInt(), anyInt(), any(), any(), anyString(), eq("a".repeat(20)), anyString());
+                    verify(repository, times(1)).getMiningRecords(anySqlClient(), anyInt(), anyInt(), any(), any(), anyString(), eq("a".repeat(20)), anyString(), isNull());
                 });
                 context.completeNow();
             }));
     }
     
     @Test
-    void testExportMiningRecords(VertxTestContext context) {
+    void testGetMiningRecords_Cursor(VertxTestContext context) {
         // Given
-        MiningRecordListDto miningRecordList = MiningRecordListDto.builder()
-            .total(2)
-            .limit(Integer.MAX_VALUE)
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2024, 1, 15, 10, 30), 42L);
+        MiningRecordListDto expectedResult = MiningRecordListDto.builder()
+            .total(100)
+            .limit(20)
             .offset(0)
-            .records(new ArrayList<>())
             .build();
         
         when(repository.getMiningRecords(
             anySqlClient(),
-            eq(Integer.MAX_VALUE),
+            eq(20),
             eq(0),
             any(),
             any(),
-            nullable(String.class),
-            nullable(String.class),
-            nullable(String.class)
-        )).thenReturn(Future.succeededFuture(miningRecordList));
+            eq("ALL"),
+            isNull(),
+            eq("ALL"),
+            eq(cursor)
+        )).thenReturn(Future.succeededFuture(expectedResult));
         
         // When
-        service.exportMiningRecords("7", null, null, "ALL", null, "ALL")
+        service.getMiningRecords(20, 0, "7", null, null, null, null, null, cursor.encode())
             .onComplete(context.succeeding(result -> {
                 // Then
                 context.verify(() -> {
-                    assertNotNull(result);
-                    assertTrue(result instanceof Buffer);
-                    verify(repository, times(1)).getMiningRecords(
-                        anySqlClient(),
-                        eq(Integer.MAX_VALUE),
-                        eq(0),
-                        any(),
-                        any(),
-                        nullable(String.class),
-                        nullable(String.class),
-                        nullable(String.class)
-                    );
+                    assertEquals(100, result.getTotal());
+                    verify(repository, times(1)).getMiningRecords(anySqlClient(), anyInt(), anyInt(), any(), any(), anyString(), any(), anyString(), eq(cursor));
+                });
+                context.completeNow();
+            }));
+    }
+    
+    @Test
+    void testGetMiningRecords_InvalidCursor(VertxTestContext context) {
+        // When
+        service.getMiningRecords(20, 0, "7", null, null, null, null, null, "not-a-cursor")
+            .onComplete(context.failing(throwable -> {
+                // Then
+                context.verify(() -> {
+                    assertTrue(throwable instanceof BadRequestException);
+                    verifyNoInteractions(repository);
                 });
                 context.completeNow();
             }));
     }
     
     @Test
-    void testExportMiningHistoryList(VertxTestContext context) {
+    void testExportMiningRecords() {
         // Given
-        MiningHistoryListDto historyListDto = MiningHistoryListDto.builder()
-            .total(2)
-            .limit(Integer.MAX_VALUE)
-            .offset(0)
-            .items(new ArrayList<>())
-            .build();
-        
-        when(repository.getMiningHistoryList(
-            anySqlClient(),
-            eq(Integer.MAX_VALUE),
-            eq(0),
+        ExportSource<MiningRecordDto> source = handler -> Future.succeededFuture(0L);
+        when(repository.streamMiningRecords(
+            eq(pool),
+            any(),
+            any(),
+            nullable(String.class),
             nullable(String.class),
+            nullable(String.class)
+        )).thenReturn(source);
+        
+        // When
+        ExcelExport<MiningRecordDto> export = service.exportMiningRecords("7", null, null, "ALL", null, "ALL");
+        
+        // Then: 조회는 전송 시작 시 커서로 수행되며 여기서는 쿼리를 실행하지 않음
+        assertSame(source, export.source());
+        assertEquals("채굴 기록", export.sheet().name());
+        verify(repository, never()).getMiningRecords(
+            anySqlClient(), anyInt(), anyInt(), any(), any(), any(), any(), any(), any());
+    }
+    
+    @Test
+    void testExportMiningHistoryList() {
+        // Given
+        ExportSource<MiningHistoryListDto.MiningHistoryItem> source = handler -> Future.succeededFuture(0L);
+        when(repository.streamMiningHistoryList(
+            eq(pool),
             nullable(String.class),
             nullable(String.class),
             nullable(String.class),
             nullable(String.class)
-        )).thenReturn(Future.succeededFuture(historyListDto));
+        )).thenReturn(source);
+        
+        // When
+        ExcelExport<MiningHistoryListDto.MiningHistoryItem> export =
+            service.exportMiningHistoryList("ALL", null, null, "ALL", "ALL");
+        
+        // Then
+        assertSame(source, export.source());
+        assertEquals("채굴 내역 목록", export.sheet().name());
+    }
+    
+    @Test
+    void testBackfillCumulativeAmounts_RunsBatchesUntilDone(VertxTestContext context) {
+        // Given
+        when(repository.backfillCumulativeAmounts(anySqlClient(), anyInt()))
+            .thenReturn(Future.succeededFuture(500))
+            .thenReturn(Future.succeededFuture(120))
+            .thenReturn(Future.succeededFuture(0));
         
         // When
-        service.exportMiningHistoryList("ALL", null, null, "ALL", "ALL")
+        service.backfillCumulativeAmounts()
             .onComplete(context.succeeding(result -> {
                 // Then
                 context.verify(() -> {
-                    assertNotNull(result);
-                    assertTrue(result instanceof Buffer);
-                    verify(repository, times(1)).getMiningHistoryList(
-                        anySqlClient(),
-                        eq(Integer.MAX_VALUE),
-                        eq(0),
-                        nullable(String.class),
-                        nullable(String.class),
-                        nullable(String.class),
-                        nullable(String.class),
-                        nullable(String.class)
-                    );
+                    assertEquals(620, result);
+                    verify(repository, times(3)).backfillCumulativeAmounts(anySqlClient(), anyInt());
                 });
                 context.completeNow();
             }));
     }
+    
+    @Test
+    void testStartCumulativeBackfillJob_ReusesRunningJobAndTracksCompletion() {
+        // Given
+        Promise<Integer> firstBatch = Promise.promise();
+        when(repository.backfillCumulativeAmounts(anySqlClient(), anyInt()))
+            .thenReturn(firstBatch.future())
+            .thenReturn(Future.succeededFuture(0));
+        
+        // When
+        CumulativeBackfillJobDto started = service.startCumulativeBackfillJob();
+        CumulativeBackfillJobDto again = service.startCumulativeBackfillJob();
+        
+        // Then - 실행 중에는 같은 작업을 반환
+        assertEquals("RUNNING", started.getStatus());
+        assertEquals(started.getJobId(), again.getJobId());
+        
+        firstBatch.complete(300);
+        
+        CumulativeBackfillJobDto completed = service.getCumulativeBackfillJob(started.getJobId());
+        assertEquals("COMPLETED", completed.getStatus());
+        assertEquals(300, completed.getProcessedUserCount());
+        assertNotNull(completed.getCompletedAt());
+        assertThrows(NotFoundException.class, () -> service.getCumulativeBackfillJob("unknown"));
+    }
 }
-
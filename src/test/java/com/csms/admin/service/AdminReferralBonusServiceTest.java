@@ -58,6 +58,64 @@ class AdminReferralBonusServiceTest {
             }));
     }
     
+    @Test
+    void testGetReferralBonus_CallerChangesDoNotLeakIntoSnapshot(VertxTestContext context) {
+        // Given: 첫 호출자가 받은 설정 객체를 변경
+        when(repository.getReferralBonus(anySqlClient())).thenReturn(Future.succeededFuture(ReferralBonusDto.builder()
+            .isEnabled(true)
+            .distributionRate(5)
+            .build()));
+        
+        // When
+        service.getCachedReferralBonus()
+            .compose(first -> {
+                first.setDistributionRate(50);
+                return service.getCachedReferralBonus()
+                    .compose(second -> {
+                        second.setIsEnabled(false);
+                        return service.getCachedReferralBonus();
+                    });
+            })
+            .onComplete(context.succeeding(result -> {
+                // Then: 스냅샷에서 한 번만 로드되고, 이후 호출자는 원래 값을 받음
+                context.verify(() -> {
+                    assertEquals(true, result.getIsEnabled());
+                    assertEquals(5, result.getDistributionRate());
+                    verify(repository, times(1)).getReferralBonus(anySqlClient());
+                });
+                context.completeNow();
+            }));
+    }
+    
+    @Test
+    void testUpdateReferralBonus_Failure_KeepsSnapshot(VertxTestContext context) {
+        // Given: 스냅샷이 채워진 상태에서 변경 실패
+        UpdateReferralBonusRequestDto request = UpdateReferralBonusRequestDto.builder()
+            .isEnabled(true)
+            .distributionRate(5)
+            .build();
+        when(repository.getReferralBonus(anySqlClient())).thenReturn(Future.succeededFuture(ReferralBonusDto.builder()
+            .isEnabled(true)
+            .distributionRate(3)
+            .build()));
+        when(repository.updateReferralBonus(anySqlClient(), eq(true), eq(5)))
+            .thenReturn(Future.failedFuture(new RuntimeException("update failed")));
+        
+        // When
+        service.getCachedReferralBonus()
+            .compose(loaded -> service.updateReferralBonus(request)
+                .recover(err -> Future.succeededFuture()))
+            .compose(v -> service.getCachedReferralBonus())
+            .onComplete(context.succeeding(result -> {
+                // Then: 설정이 바뀌지 않았으므로 다시 로드하지 않음
+                context.verify(() -> {
+                    assertEquals(3, result.getDistributionRate());
+                    verify(repository, times(1)).getReferralBonus(anySqlClient());
+                });
+                context.completeNow();
+            }));
+    }
+    
     @Test
     void testUpdateReferralBonus_Success(VertxTestContext context) {
         // Given
@@ -0,0 +1,145 @@
+package com.csms.admin.service;
+
+import com.csms.admin.dto.ReferralTreeListDto;
+import com.csms.admin.dto.ReferralTreeMemberDto;
+import com.csms.admin.repository.AdminReferralRepository;
+import com.csms.admin.repository.AdminReferralRepository.StatsRebuildBatch;
+import com.csms.common.exceptions.BadRequestException;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.pgclient.PgPool;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static com.csms.common.TestArgumentMatchers.anySqlClient;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith({VertxExtension.class, MockitoExtension.class})
+class AdminReferralServiceTest {
+    
+    @Mock
+    private PgPool pool;
+    
+    @Mock
+    private AdminReferralRepository repository;
+    
+    private AdminReferralService service;
+    
+    @BeforeEach
+    void setUp() {
+        service = new AdminReferralService(pool, repository);
+    }
+    
+    @Test
+    void testGetAncestorIds_ReadsClosureNearestFirst(VertxTestContext context) {
+        // Given
+        when(repository.getAncestorIds(anySqlClient(), eq(30L), eq(3)))
+            .thenReturn(Future.succeededFuture(List.of(20L, 10L, 1L)));
+        
+        // When
+        service.getAncestorIds(30L, 3)
+            .onComplete(context.succeeding(result -> {
+                // Then
+                context.verify(() -> {
+                    assertEquals(List.of(20L, 10L, 1L), result);
+                    verify(repository, times(1)).getAncestorIds(anySqlClient(), eq(30L), eq(3));
+                });
+                context.completeNow();
+            }));
+    }
+    
+    @Test
+    void testGetDownlineIdsAtDepth_InvalidDepth(VertxTestContext context) {
+        // When
+        service.getDownlineIdsAtDepth(30L, 0)
+            .onComplete(context.failing(err -> {
+                // Then
+                context.verify(() -> {
+                    assertInstanceOf(BadRequestException.class, err);
+                    verifyNoInteractions(repository);
+                });
+                context.completeNow();
+            }));
+    }
+    
+    @Test
+    void testRebuildReferralStatsLogs_RunsBatchesUntilNoUsersLeft(VertxTestContext context) {
+        // Given: 회원 묶음 2개, 이후 남은 회원 없음
+        when(repository.rebuildReferralStatsLogsBatch(anySqlClient(), eq(0L), anyInt()))
+            .thenReturn(Future.succeededFuture(new StatsRebuildBatch(1000L, 40)));
+        when(repository.rebuildReferralStatsLogsBatch(anySqlClient(), eq(1000L), anyInt()))
+            .thenReturn(Future.succeededFuture(new StatsRebuildBatch(1500L, 2)));
+        when(repository.rebuildReferralStatsLogsBatch(anySqlClient(), eq(1500L), anyInt()))
+            .thenReturn(Future.succeededFuture(new StatsRebuildBatch(null, 0)));
+        
+        // When
+        service.rebuildReferralStatsLogs()
+            .onComplete(context.succeeding(result -> {
+                // Then: 이전 묶음의 마지막 회원 ID부터 이어서 실행하고 회원 수를 합산
+                context.verify(() -> {
+                    assertEquals(42, result);
+                    verify(repository, times(3)).rebuildReferralStatsLogsBatch(anySqlClient(), anyLong(), anyInt());
+                });
+                context.completeNow();
+            }));
+    }
+    
+    @Test
+    void testReloadReferralGraph_DoesNotOverlapAndReloadsOnceMore(Vertx vertx, VertxTestContext context) {
+        // Given: 첫 적재가 끝나지 않은 상태
+        AdminReferralService graphService = new AdminReferralService(pool, repository, new ReferralGraphIndex(vertx));
+        Promise<long[]> firstLoad = Promise.promise();
+        when(repository.getDirectReferralEdges(anySqlClient(), eq(0L), anyInt()))
+            .thenReturn(firstLoad.future())
+            .thenReturn(Future.succeededFuture(new long[]{1L, 10L, 20L}));
+        
+        // When: 적재 중 두 번 더 요청
+        Future<Integer> first = graphService.reloadReferralGraph();
+        Future<Integer> second = graphService.reloadReferralGraph();
+        Future<Integer> third = graphService.reloadReferralGraph();
+        
+        // Then: 진행 중인 적재를 공유하고, 끝난 뒤 한 번만 다시 적재
+        assertSame(first, second);
+        assertSame(first, third);
+        verify(repository, times(1)).getDirectReferralEdges(anySqlClient(), anyLong(), anyInt());
+        
+        firstLoad.complete(new long[0]);
+        first.onComplete(context.succeeding(count -> vertx.setTimer(200, timerId -> context.verify(() -> {
+            assertEquals(0, count);
+            verify(repository, times(2)).getDirectReferralEdges(anySqlClient(), anyLong(), anyInt());
+            context.completeNow();
+        }))));
+    }
+    
+    @Test
+    void testGetReferralTree_GraphLoaded_FillsTeamCountsFromGraph(Vertx vertx, VertxTestContext context) {
+        // Given: 1 -> 2 -> 3 그래프 적재
+        ReferralGraphIndex graphIndex = new ReferralGraphIndex(vertx);
+        AdminReferralService graphService = new AdminReferralService(pool, repository, graphIndex);
+        ReferralTreeMemberDto child = ReferralTreeMemberDto.builder().id(2L).teamMemberCount(0).build();
+        ReferralTreeMemberDto root = ReferralTreeMemberDto.builder().id(1L).teamMemberCount(0).children(List.of(child)).build();
+        when(repository.getReferralTree(anySqlClient(), anyInt(), anyInt(), any(), any(), any(), any(), any(), any(), eq(false)))
+            .thenReturn(Future.succeededFuture(ReferralTreeListDto.builder().members(List.of(root)).total(1).build()));
+        
+        // When
+        graphIndex.install(new long[]{1L, 2L, 2L, 3L}, 2)
+            .compose(graph -> graphService.getReferralTree(20, 0, "7", null, null, null, null, null, "LEVEL"))
+            .onComplete(context.succeeding(result -> context.verify(() -> {
+                // Then: referral_stats_logs의 팀원 수 대신 그래프의 하부 회원 수
+                assertEquals(2, result.getMembers().get(0).getTeamMemberCount());
+                assertEquals(1, result.getMembers().get(0).getChildren().get(0).getTeamMemberCount());
+                verify(repository, never()).getReferralTree(anySqlClient(), anyInt(), anyInt(), any(), any(), any(), any(), any(), any(), eq(true));
+                context.completeNow();
+            })));
+    }
+}
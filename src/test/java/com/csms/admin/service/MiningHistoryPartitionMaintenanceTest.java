@@ -0,0 +1,78 @@
+package com.csms.admin.service;
+
+import com.csms.admin.repository.AdminMiningRepository;
+import io.vertx.core.Future;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.pgclient.PgPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+
+import static com.csms.common.TestArgumentMatchers.anySqlClient;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith({VertxExtension.class, MockitoExtension.class})
+class MiningHistoryPartitionMaintenanceTest {
+    
+    @Mock
+    private PgPool pool;
+    
+    @Mock
+    private AdminMiningRepository repository;
+    
+    @Test
+    void testRun_CreatesAheadAndKeepsAllWithoutRetention(VertxTestContext context) {
+        // Given
+        MiningHistoryPartitionMaintenance maintenance = new MiningHistoryPartitionMaintenance(pool, repository, 3, 0, false);
+        when(repository.createMiningHistoryPartitions(anySqlClient(), any(), any())).thenReturn(Future.succeededFuture(1));
+        when(repository.hasDefaultPartitionRows(anySqlClient())).thenReturn(Future.succeededFuture(false));
+        
+        // When
+        maintenance.run(LocalDate.of(2025, 11, 17))
+            .onComplete(context.succeeding(ignored -> context.verify(() -> {
+                // Then: 이번 달 ~ 3개월 뒤 (연도 넘김 포함)
+                verify(repository).createMiningHistoryPartitions(anySqlClient(),
+                    eq(LocalDate.of(2025, 11, 1)), eq(LocalDate.of(2026, 2, 1)));
+                verify(repository, never()).detachMiningHistoryPartitions(anySqlClient(), any(), anyBoolean());
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void testRun_DetachesPartitionsOlderThanRetention(VertxTestContext context) {
+        // Given
+        MiningHistoryPartitionMaintenance maintenance = new MiningHistoryPartitionMaintenance(pool, repository, 3, 12, true);
+        when(repository.createMiningHistoryPartitions(anySqlClient(), any(), any())).thenReturn(Future.succeededFuture(0));
+        when(repository.detachMiningHistoryPartitions(anySqlClient(), any(), anyBoolean())).thenReturn(Future.succeededFuture(2));
+        when(repository.hasDefaultPartitionRows(anySqlClient())).thenReturn(Future.succeededFuture(false));
+        
+        // When
+        maintenance.run(LocalDate.of(2025, 11, 17))
+            .onComplete(context.succeeding(ignored -> context.verify(() -> {
+                // Then: 이번 달 + 지난 12개월 보관
+                verify(repository).detachMiningHistoryPartitions(anySqlClient(), eq(LocalDate.of(2024, 11, 1)), eq(true));
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void testRun_SkipsDetachWhenPartitionCreationFails(VertxTestContext context) {
+        // Given
+        MiningHistoryPartitionMaintenance maintenance = new MiningHistoryPartitionMaintenance(pool, repository, 3, 12, false);
+        when(repository.createMiningHistoryPartitions(anySqlClient(), any(), any()))
+            .thenReturn(Future.failedFuture(new RuntimeException("lock timeout")));
+        
+        // When
+        maintenance.run(LocalDate.of(2025, 11, 17))
+            .onComplete(context.failing(err -> context.verify(() -> {
+                // Then
+                verify(repository, never()).detachMiningHistoryPartitions(anySqlClient(), any(), anyBoolean());
+                context.completeNow();
+            })));
+    }
+}
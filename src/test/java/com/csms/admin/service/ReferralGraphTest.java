@@ -0,0 +1,95 @@
+package com.csms.admin.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReferralGraphTest {
+    
+    // 1 -> 2 -> 4 -> 6
+    //   -> 3 -> 5
+    // 10 -> 11
+    private static final long[] EDGES = {
+        1, 3,
+        1, 2,
+        2, 4,
+        3, 5,
+        4, 6,
+        10, 11
+    };
+    
+    @Test
+    void testBuild_SubtreeSizesAndChildrenOrder() {
+        // When
+        ReferralGraph graph = ReferralGraph.build(EDGES, EDGES.length / 2);
+        
+        // Then
+        assertThat(graph.size()).isEqualTo(8);
+        assertThat(graph.edgeCount()).isEqualTo(6);
+        assertThat(graph.downlineSize(1)).isEqualTo(5);
+        assertThat(graph.downlineSize(2)).isEqualTo(2);
+        assertThat(graph.downlineSize(6)).isZero();
+        assertThat(graph.downlineSize(999)).isZero();
+        assertThat(graph.referrerOf(4)).isEqualTo(2);
+        assertThat(graph.referrerOf(1)).isEqualTo(-1);
+        // 간선 순서 유지
+        assertThat(graph.children(1, 0, 10)).containsExactly(3, 2);
+        assertThat(graph.children(1, 1, 10)).containsExactly(2);
+        assertThat(graph.children(1, 5, 10)).isEmpty();
+        assertThat(graph.childCount(1)).isEqualTo(2);
+    }
+    
+    @Test
+    void testDepthHistogram() {
+        // Given
+        ReferralGraph graph = ReferralGraph.build(EDGES, EDGES.length / 2);
+        
+        // When & Then
+        assertThat(graph.depthHistogram(1, 10)).containsExactly(2, 2, 1);
+        assertThat(graph.depthHistogram(1, 2)).containsExactly(2, 2);
+        assertThat(graph.depthHistogram(2, 10)).containsExactly(1, 1);
+        assertThat(graph.depthHistogram(6, 10)).isEmpty();
+    }
+    
+    @Test
+    void testWithChanges_MovesAndRemovesEdges() {
+        // Given
+        ReferralGraph graph = ReferralGraph.build(EDGES, EDGES.length / 2);
+        
+        // When
+        ReferralGraph changed = graph.withChanges(List.of(
+            new ReferralGraph.EdgeChange(1, 12, true),
+            new ReferralGraph.EdgeChange(2, 4, false),
+            new ReferralGraph.EdgeChange(10, 4, true),
+            // 현재 상위 회원이 아니므로 무시
+            new ReferralGraph.EdgeChange(1, 5, false)
+        ));
+        
+        // Then
+        assertThat(changed.downlineSize(1)).isEqualTo(4);
+        assertThat(changed.downlineSize(10)).isEqualTo(3);
+        assertThat(changed.referrerOf(4)).isEqualTo(10);
+        assertThat(changed.referrerOf(5)).isEqualTo(3);
+        // 새 간선이 맨 앞
+        assertThat(changed.children(1, 0, 10)).containsExactly(12, 3, 2);
+        assertThat(changed.children(10, 0, 10)).containsExactly(4, 11);
+        // 기존 스냅샷은 변경되지 않음
+        assertThat(graph.downlineSize(1)).isEqualTo(5);
+    }
+    
+    @Test
+    void testBuild_CycleMembersHaveNoSubtree() {
+        // Given: 20 -> 21 -> 20 순환 + 1 -> 2
+        long[] edges = {20, 21, 21, 20, 1, 2};
+        
+        // When
+        ReferralGraph graph = ReferralGraph.build(edges, 3);
+        
+        // Then
+        assertThat(graph.downlineSize(1)).isEqualTo(1);
+        assertThat(graph.downlineSize(20)).isZero();
+        assertThat(graph.depthHistogram(20, 10)).isEmpty();
+    }
+}
@@ -0,0 +1,78 @@
+package com.csms.common.database;
+
+import io.vertx.sqlclient.Row;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IndexedRowMapperTest {
+    
+    @Mock
+    private Row first;
+    
+    @Mock
+    private Row second;
+    
+    private final IndexedRowMapper<String> mapper = (row, columns) ->
+        columns.getLong(row, "id") + ":" + columns.getString(row, "nickname") + ":" + columns.getString(row, "email");
+    
+    @Test
+    void testForColumns_ReadsByIndex() {
+        // Given
+        when(first.getLong(0)).thenReturn(1L);
+        when(first.getString(2)).thenReturn("kim");
+        when(second.getLong(0)).thenReturn(2L);
+        when(second.getString(2)).thenReturn("lee");
+        
+        // When
+        RowMapper<String> rowSetMapper = mapper.forColumns(List.of("id", "level", "nickname"));
+        String firstResult = rowSetMapper.map(first);
+        String secondResult = rowSetMapper.map(second);
+        
+        // Then - 없는 컬럼(email)은 null, 이름 기반 조회는 발생하지 않음
+        assertThat(firstResult).isEqualTo("1:kim:null");
+        assertThat(secondResult).isEqualTo("2:lee:null");
+        verify(first, never()).getColumnIndex(anyString());
+        verify(second, never()).getColumnIndex(anyString());
+    }
+    
+    @Test
+    void testMap_SingleRowResolvesFromRow() {
+        // Given
+        when(first.size()).thenReturn(2);
+        when(first.getColumnName(0)).thenReturn("nickname");
+        when(first.getColumnName(1)).thenReturn("id");
+        when(first.getLong(1)).thenReturn(7L);
+        when(first.getString(0)).thenReturn("park");
+        
+        // When
+        String result = mapper.map(first);
+        
+        // Then
+        assertThat(result).isEqualTo("7:park:null");
+    }
+    
+    @Test
+    void testColumnIndexes_DuplicateNameUsesFirst() {
+        // Given
+        ColumnIndexes columns = ColumnIndexes.of(List.of("id", "amount", "id"));
+        
+        // When
+        int index = columns.indexOf("id");
+        
+        // Then
+        assertThat(index).isZero();
+        assertThat(columns.indexOf("missing")).isEqualTo(-1);
+        assertThat(columns.hasColumn("amount")).isTrue();
+    }
+}
@@ -0,0 +1,45 @@
+package com.csms.common.event;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChannelVersionsTest {
+    
+    private final ChannelVersions versions = new ChannelVersions();
+    
+    @Test
+    void testObserve_DetectsSkippedVersion() {
+        // Given: 첫 메시지는 기준값
+        assertThat(versions.observe(EventChannels.MEMBERS, 3)).isFalse();
+        
+        // When & Then: 연속 버전은 정상, 건너뛰면 놓친 메시지
+        assertThat(versions.observe(EventChannels.MEMBERS, 4)).isFalse();
+        assertThat(versions.observe(EventChannels.MEMBERS, 6)).isTrue();
+        assertThat(versions.observe(EventChannels.WALLETS, 1)).isFalse();
+    }
+    
+    @Test
+    void testObserve_DetectsCounterReset() {
+        // Given
+        versions.observe(EventChannels.CURRENCIES, 7);
+        
+        // When & Then: Redis 재시작 등으로 카운터가 작아짐
+        assertThat(versions.observe(EventChannels.CURRENCIES, 1)).isTrue();
+        assertThat(versions.observe(EventChannels.CURRENCIES, 2)).isFalse();
+    }
+    
+    @Test
+    void testReconcile_DetectsMessagesMissedWhileDisconnected() {
+        // Given: 첫 확인은 기준값, 이후 메시지 5까지 수신
+        assertThat(versions.reconcile(EventChannels.MINING_CONFIG, 4)).isFalse();
+        versions.observe(EventChannels.MINING_CONFIG, 5);
+        
+        // When & Then: 재연결 후 현재 버전이 같으면 정상, 다르면 놓친 메시지
+        assertThat(versions.reconcile(EventChannels.MINING_CONFIG, 5)).isFalse();
+        assertThat(versions.reconcile(EventChannels.MINING_CONFIG, 8)).isTrue();
+        // 주기 확인에서 이미 반영한 버전의 메시지가 늦게 도착
+        assertThat(versions.observe(EventChannels.MINING_CONFIG, 8)).isFalse();
+        assertThat(versions.observe(EventChannels.MINING_CONFIG, 9)).isFalse();
+    }
+}
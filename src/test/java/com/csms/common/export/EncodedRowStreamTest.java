@@ -0,0 +1,174 @@
+package com.csms.common.export;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowStream;
+import io.vertx.sqlclient.impl.ArrayTuple;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class EncodedRowStreamTest {
+    
+    private static final List<String> COLUMNS = List.of("id", "nickname", "amount", "created_at");
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 15, 10, 30, 0);
+    
+    @Mock
+    private RowStream<Row> rows;
+    
+    private final List<Buffer> chunks = new ArrayList<>();
+    private Handler<Row> rowHandler;
+    private Handler<Void> endHandler;
+    private boolean ended;
+    
+    @SuppressWarnings("unchecked")
+    private EncodedRowStream start(ExportFormat format) {
+        EncodedRowStream stream = new EncodedRowStream(rows, format.newEncoder());
+        stream.endHandler(v -> ended = true);
+        stream.handler(chunks::add);
+        
+        ArgumentCaptor<Handler<Row>> rowCaptor = ArgumentCaptor.forClass(Handler.class);
+        ArgumentCaptor<Handler<Void>> endCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(rows).handler(rowCaptor.capture());
+        verify(rows).endHandler(endCaptor.capture());
+        rowHandler = rowCaptor.getValue();
+        endHandler = endCaptor.getValue();
+        return stream;
+    }
+    
+    private static Row row(Long id, String nickname, BigDecimal amount, LocalDateTime createdAt) {
+        TestRow row = new TestRow();
+        row.addValue(id);
+        row.addValue(nickname);
+        row.addValue(amount);
+        row.addValue(createdAt);
+        return row;
+    }
+    
+    private String body() {
+        Buffer body = Buffer.buffer();
+        chunks.forEach(body::appendBuffer);
+        return body.toString();
+    }
+    
+    @Test
+    void testCsv_HeaderFromFirstRowAndQuoting() {
+        // Given
+        EncodedRowStream stream = start(ExportFormat.CSV);
+        
+        // When
+        rowHandler.handle(row(1L, "plain", new BigDecimal("1E+2"), CREATED_AT));
+        rowHandler.handle(row(2L, "a,\"b\"\nc", null, null));
+        endHandler.handle(null);
+        
+        // Then: 종료 시 남은 행을 한 번에 전달
+        assertThat(chunks).hasSize(1);
+        assertThat(body()).isEqualTo(
+            "id,nickname,amount,created_at\n"
+                + "1,plain,100,2024-01-15 10:30:00\n"
+                + "2,\"a,\"\"b\"\"\nc\",,\n");
+        assertThat(stream.rowCount()).isEqualTo(2);
+        assertThat(ended).isTrue();
+    }
+    
+    @Test
+    void testNdjson_OneObjectPerLine() {
+        // Given
+        start(ExportFormat.NDJSON);
+        
+        // When
+        rowHandler.handle(row(1L, "user1", new BigDecimal("1.50"), CREATED_AT));
+        rowHandler.handle(row(2L, null, null, null));
+        endHandler.handle(null);
+        
+        // Then
+        String[] lines = body().split("\n");
+        assertThat(lines).hasSize(2);
+        JsonObject first = new JsonObject(lines[0]);
+        assertThat(first.getLong("id")).isEqualTo(1L);
+        assertThat(first.getString("nickname")).isEqualTo("user1");
+        assertThat(first.getString("created_at")).isEqualTo("2024-01-15 10:30:00");
+        assertThat(new JsonObject(lines[1]).containsKey("nickname")).isTrue();
+        assertThat(new JsonObject(lines[1]).getValue("nickname")).isNull();
+    }
+    
+    @Test
+    void testChunks_EmittedWhenChunkSizeReached() {
+        // Given
+        EncodedRowStream stream = start(ExportFormat.CSV);
+        String nickname = "x".repeat(1000);
+        
+        // When: CHUNK_SIZE를 넘을 만큼 기록
+        int rowCount = EncodedRowStream.CHUNK_SIZE / 1000 + 10;
+        for (int i = 0; i < rowCount; i++) {
+            rowHandler.handle(row((long) i, nickname, BigDecimal.ONE, CREATED_AT));
+        }
+        
+        // Then: 종료 전에 첫 chunk 전달, 종료 시 나머지 전달
+        assertThat(chunks).hasSize(1);
+        assertThat(chunks.get(0).length()).isGreaterThanOrEqualTo(EncodedRowStream.CHUNK_SIZE);
+        endHandler.handle(null);
+        assertThat(chunks).hasSize(2);
+        assertThat(body().split("\n")).hasSize(rowCount + 1);
+        assertThat(stream.rowCount()).isEqualTo(rowCount);
+    }
+    
+    @Test
+    void testEmptyResult_EmptyBody() {
+        // Given
+        start(ExportFormat.CSV);
+        
+        // When
+        endHandler.handle(null);
+        
+        // Then
+        assertThat(chunks).isEmpty();
+        assertThat(ended).isTrue();
+    }
+    
+    @Test
+    void testFlowControl_DelegatedToRowStream() {
+        // Given
+        EncodedRowStream stream = start(ExportFormat.CSV);
+        
+        // When
+        stream.pause();
+        stream.fetch(1);
+        stream.resume();
+        
+        // Then
+        verify(rows).pause();
+        verify(rows).fetch(1);
+        verify(rows).resume();
+    }
+    
+    private static class TestRow extends ArrayTuple implements Row {
+        
+        TestRow() {
+            super(COLUMNS.size());
+        }
+        
+        @Override
+        public String getColumnName(int pos) {
+            return pos >= 0 && pos < COLUMNS.size() ? COLUMNS.get(pos) : null;
+        }
+        
+        @Override
+        public int getColumnIndex(String column) {
+            return COLUMNS.indexOf(column);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.csms.common.export;
+
+import com.csms.common.exceptions.NotFoundException;
+import com.csms.common.exceptions.TooManyRequestsException;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ExtendWith(VertxExtension.class)
+class ExportJobManagerTest {
+    
+    private record Item(long id, String name) {
+    }
+    
+    private static final ExcelSheet<Item> SHEET = ExcelSheet.<Item>of(
+        "테스트",
+        new String[]{"ID", "이름"},
+        (row, item) -> row.cell(item.id()).cell(item.name())
+    );
+    
+    @TempDir
+    Path directory;
+    
+    private ExportJobManager manager;
+    
+    @AfterEach
+    void tearDown() {
+        if (manager != null) {
+            manager.close();
+        }
+    }
+    
+    private static ExcelExport<Item> export(List<List<Item>> batches) {
+        ExportSource<Item> source = batchHandler -> {
+            Future<Void> chain = Future.succeededFuture();
+            long rows = 0;
+            for (List<Item> batch : batches) {
+                chain = chain.compose(v -> batchHandler.apply(batch));
+                rows += batch.size();
+            }
+            long total = rows;
+            return chain.map(total);
+        };
+        long total = batches.stream().mapToLong(List::size).sum();
+        return new ExcelExport<>(SHEET, source.withCount(() -> Future.succeededFuture(total)));
+    }
+    
+    // 완료되지 않는 공급원 (진행 중 작업 유지용)
+    private static ExcelExport<Item> pendingExport(Promise<Long> promise) {
+        return new ExcelExport<>(SHEET, batchHandler -> promise.future());
+    }
+    
+    private static void awaitFinished(Vertx vertx, ExportJob job, Consumer<ExportJob> assertions, VertxTestContext context) {
+        vertx.setPeriodic(10, timerId -> {
+            if (!job.isActive()) {
+                vertx.cancelTimer(timerId);
+                context.verify(() -> {
+                    assertions.accept(job);
+                    context.completeNow();
+                });
+            }
+        });
+    }
+    
+    @Test
+    void testSubmit_WritesFileAndTracksProgress(Vertx vertx, VertxTestContext context) {
+        // Given
+        manager = new ExportJobManager(vertx, directory, 1, 2, 10, Duration.ofMinutes(10));
+        ExcelExport<Item> export = export(List.of(
+            List.of(new Item(1, "a"), new Item(2, "b")),
+            List.of(new Item(3, "c"))
+        ));
+        
+        // When
+        manager.submit(1L, "items", new JsonObject(), "items.xlsx", () -> export)
+            .onComplete(context.succeeding(job -> awaitFinished(vertx, job, finished -> {
+                // Then
+                assertThat(finished.getStatus()).isEqualTo(ExportJob.Status.COMPLETED);
+                assertThat(finished.getRowsWritten()).isEqualTo(3);
+                assertThat(finished.getTotalRows()).isEqualTo(3);
+                assertThat(finished.getFile()).exists().hasFileName(finished.getId() + ".xlsx");
+                assertThat(finished.getFileSize()).isEqualTo(finished.getFile().toFile().length());
+                assertThat(finished.getExpiresAt()).isNotNull();
+                assertThat(finished.toDto("/download").getDownloadUrl()).isEqualTo("/download");
+                
+                try (InputStream in = Files.newInputStream(finished.getFile());
+                     XSSFWorkbook workbook = new XSSFWorkbook(in)) {
+                    assertThat(workbook.getSheet("테스트").getLastRowNum()).isEqualTo(3);
+                } catch (Exception e) {
+                    throw new AssertionError(e);
+                }
+                assertThat(manager.getCompletedJob(finished.getId(), 1L)).isSameAs(finished);
+            }, context)));
+    }
+    
+    @Test
+    void testSubmit_DeduplicatesIdenticalActiveRequests(Vertx vertx, VertxTestContext context) {
+        // Given: 진행 중인 작업
+        manager = new ExportJobManager(vertx, directory, 2, 2, 10, Duration.ofMinutes(10));
+        Promise<Long> pending = Promise.promise();
+        JsonObject params = new JsonObject().put("status", "DONE").put("keyword", "");
+        
+        manager.submit(1L, "items", params, "items.xlsx", () -> pendingExport(pending))
+            // When: 같은 조건(빈 값 제외, 파라미터 순서 무관)으로 다른 관리자가 요청
+            .compose(first -> manager.<Item>submit(2L, "items", new JsonObject().put("status", "DONE"), "items.xlsx",
+                    () -> {
+                        throw new AssertionError("duplicate request must not create export");
+                    })
+                .compose(second -> manager.submit(2L, "items", new JsonObject().put("status", "PENDING"), "items.xlsx",
+                        () -> pendingExport(pending))
+                    .map(third -> List.of(first, second, third))))
+            .onComplete(context.succeeding(jobs -> context.verify(() -> {
+                // Then
+                assertThat(jobs.get(1)).isSameAs(jobs.get(0));
+                assertThat(jobs.get(2).getId()).isNotEqualTo(jobs.get(0).getId());
+                assertThat(manager.getJob(jobs.get(0).getId(), 2L)).isSameAs(jobs.get(0));
+                assertThatThrownBy(() -> manager.getJob(jobs.get(2).getId(), 1L))
+                    .isInstanceOf(NotFoundException.class);
+                pending.complete(0L);
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void testSubmit_RejectsOverPerAdminLimitAndQueuesOverWorkerLimit(Vertx vertx, VertxTestContext context) {
+        // Given: 워커 1개, 관리자별 1건
+        manager = new ExportJobManager(vertx, directory, 1, 1, 10, Duration.ofMinutes(10));
+        Promise<Long> pending = Promise.promise();
+        
+        manager.submit(1L, "items", new JsonObject().put("page", "1"), "items.xlsx", () -> pendingExport(pending))
+            // When
+            .compose(running -> manager.submit(2L, "items", new JsonObject().put("page", "2"), "items.xlsx",
+                    () -> export(List.of(List.of(new Item(1, "a")))))
+                .onComplete(context.succeeding(queued -> context.verify(() -> {
+                    // Then: 워커가 모두 사용 중이면 대기열로
+                    assertThat(running.getStatus()).isEqualTo(ExportJob.Status.RUNNING);
+                    assertThat(queued.getStatus()).isEqualTo(ExportJob.Status.QUEUED);
+                    assertThat(manager.queuedCount()).isEqualTo(1);
+                })))
+                .compose(queued -> manager.submit(1L, "items", new JsonObject().put("page", "3"), "items.xlsx",
+                    () -> export(List.of())))
+                .recover(err -> {
+                    context.verify(() -> assertThat(err).isInstanceOf(TooManyRequestsException.class));
+                    // 실행 중 작업이 끝나면 대기 작업 시작
+                    pending.complete(0L);
+                    return Future.succeededFuture(running);
+                }))
+            .onComplete(context.succeeding(running -> awaitFinished(vertx, running, finished -> {
+                assertThat(finished.getStatus()).isEqualTo(ExportJob.Status.COMPLETED);
+                assertThat(manager.queuedCount()).isZero();
+            }, context)));
+    }
+    
+    @Test
+    void testSubmit_ReusesCompletedJobAndRestartsExpiry(Vertx vertx, VertxTestContext context) {
+        // Given: 같은 결과 키로 완료된 작업
+        manager = new ExportJobManager(vertx, directory, 1, 2, 10, Duration.ofMinutes(10));
+        ExcelExport<Item> export = export(List.of(List.of(new Item(1, "a"))))
+            .withCacheKey(() -> Future.succeededFuture("items:1"));
+        Promise<LocalDateTime> firstExpiresAt = Promise.promise();
+        
+        manager.submit(1L, "items", new JsonObject().put("page", "1"), "items.xlsx", () -> export)
+            .onComplete(context.succeeding(job -> vertx.setPeriodic(10, timerId -> {
+                if (!job.isActive()) {
+                    vertx.cancelTimer(timerId);
+                    firstExpiresAt.tryComplete(job.getExpiresAt());
+                }
+            })));
+        
+        // When: 완료 후 시간이 지나 다른 관리자가 같은 결과를 요청
+        firstExpiresAt.future()
+            .compose(expiresAt -> Future.<Void>future(promise -> vertx.setTimer(50, timerId -> promise.complete()))
+                .compose(v -> manager.submit(2L, "items", new JsonObject().put("page", "2"), "items.xlsx", () -> export))
+                .onComplete(context.succeeding(reused -> context.verify(() -> {
+                    // Then: 파일을 다시 만들지 않고, 보관 기간은 재사용 시점부터 다시 시작
+                    assertThat(reused.getStatus()).isEqualTo(ExportJob.Status.COMPLETED);
+                    assertThat(reused.isRequestedBy(1L)).isTrue();
+                    assertThat(reused.isRequestedBy(2L)).isTrue();
+                    assertThat(reused.getExpiresAt()).isAfter(expiresAt);
+                    assertThat(manager.cleanupExpired()).isZero();
+                    assertThat(reused.getFile()).exists();
+                    context.completeNow();
+                }))));
+    }
+    
+    @Test
+    void testCleanupExpired_RemovesJobAndFile(Vertx vertx, VertxTestContext context) {
+        // Given: 보관 기간 0 (완료 즉시 만료)
+        manager = new ExportJobManager(vertx, directory, 1, 2, 10, Duration.ZERO);
+        
+        manager.submit(1L, "items", new JsonObject(), "items.xlsx", () -> export(List.of(List.of(new Item(1, "a")))))
+            .onComplete(context.succeeding(job -> awaitFinished(vertx, job, finished -> {
+                assertThat(finished.getFile()).exists();
+                
+                // When
+                int removed = manager.cleanupExpired();
+                
+                // Then
+                assertThat(removed).isEqualTo(1);
+                assertThatThrownBy(() -> manager.getJob(finished.getId(), 1L))
+                    .isInstanceOf(NotFoundException.class);
+            }, context)));
+    }
+}
@@ -0,0 +1,71 @@
+package com.csms.common.export;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingExcelWriterTest {
+    
+    private record Item(long id, String nickname, Double amount, LocalDateTime createdAt) {
+    }
+    
+    private static final ExcelSheet<Item> SHEET = ExcelSheet.<Item>of(
+        "테스트",
+        new String[]{"ID", "닉네임", "금액", "일시"},
+        (row, item) -> row
+            .cell(item.id())
+            .cell(item.nickname())
+            .amount(item.amount())
+            .dateTime(item.createdAt())
+    ).withColumnWidth(2000, 15000);
+    
+    @Test
+    void testAppendAndFinish_WritesAllRowsBeyondWindow() throws Exception {
+        // Given: 행 윈도(100)보다 많은 행을 여러 배치로 기록
+        int rowCount = StreamingExcelWriter.ROW_ACCESS_WINDOW * 3 + 7;
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 15, 10, 30, 0);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        // When
+        try (StreamingExcelWriter<Item> writer = new StreamingExcelWriter<>(SHEET)) {
+            List<Item> batch = new ArrayList<>();
+            for (int i = 1; i <= rowCount; i++) {
+                batch.add(new Item(i, i == 1 ? "아주아주긴닉네임입니다아주아주긴닉네임" : "user" + i, i == 2 ? null : i * 1.5, createdAt));
+                if (batch.size() == 50) {
+                    writer.append(batch);
+                    batch = new ArrayList<>();
+                }
+            }
+            writer.append(batch);
+            assertThat(writer.rowCount()).isEqualTo(rowCount);
+            writer.finish(out);
+        }
+        
+        // Then
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheet("테스트");
+            assertThat(sheet.getLastRowNum()).isEqualTo(rowCount);
+            assertThat(sheet.getRow(0).getCell(1).getStringCellValue()).isEqualTo("닉네임");
+            
+            Row first = sheet.getRow(1);
+            assertThat(first.getCell(0).getNumericCellValue()).isEqualTo(1.0);
+            assertThat(first.getCell(3).getStringCellValue()).isEqualTo("2024-01-15 10:30:00");
+            // null 금액은 0
+            assertThat(sheet.getRow(2).getCell(2).getNumericCellValue()).isZero();
+            assertThat(sheet.getRow(rowCount).getCell(1).getStringCellValue()).isEqualTo("user" + rowCount);
+            
+            // 컬럼 너비: 최소값 보장, 긴 한글 셀은 2칸으로 계산
+            assertThat(sheet.getColumnWidth(0)).isEqualTo(2000);
+            assertThat(sheet.getColumnWidth(1)).isEqualTo((38 + 2) * 256);
+        }
+    }
+}
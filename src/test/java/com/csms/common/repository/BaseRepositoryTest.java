@@ -2,8 +2,11 @@ package com.csms.common.repository;
 
 import com.csms.common.database.RowMapper;
 import io.vertx.core.Future;
+import io.vertx.pgclient.PgException;
 import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowIterator;
 import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlClient;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
 import org.junit.jupiter.api.Test;
@@ -11,9 +14,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 @ExtendWith({VertxExtension.class, MockitoExtension.class})
@@ -43,6 +55,10 @@ class BaseRepositoryTest {
         public <T> T testFetchOne(RowMapper<T> mapper, RowSet<Row> rows) {
             return fetchOne(mapper, rows);
         }
+        
+        public <T> Future<T> testRetryOnDeadlock(Supplier<Future<T>> statement) {
+            return retryOnDeadlock(statement);
+        }
     }
     
     @Test
@@ -73,5 +89,148 @@ class BaseRepositoryTest {
         assertThat(result).isNull();
         context.completeNow();
     }
+    
+    @Test
+    void testRetryOnDeadlock_RetriesDeadlockUntilSuccess(VertxTestContext context) {
+        // Given: 처음 두 번은 교착으로 취소
+        repository = new TestRepository();
+        AtomicInteger attempts = new AtomicInteger();
+        
+        // When
+        repository.testRetryOnDeadlock(() -> attempts.incrementAndGet() < 3
+                ? Future.failedFuture(new PgException("deadlock detected", "ERROR", "40P01", null))
+                : Future.succeededFuture("done"))
+            .onComplete(context.succeeding(result -> context.verify(() -> {
+                // Then
+                assertThat(result).isEqualTo("done");
+                assertThat(attempts.get()).isEqualTo(3);
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void testRetryOnDeadlock_DoesNotRetryOtherErrors(VertxTestContext context) {
+        // Given
+        repository = new TestRepository();
+        AtomicInteger attempts = new AtomicInteger();
+        
+        // When
+        repository.testRetryOnDeadlock(() -> {
+                attempts.incrementAndGet();
+                return Future.failedFuture(new PgException("unique violation", "ERROR", "23505", null));
+            })
+            .onComplete(context.failing(err -> context.verify(() -> {
+                // Then
+                assertThat(BaseRepository.isDeadlock(err)).isFalse();
+                assertThat(attempts.get()).isEqualTo(1);
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void testQueryPage_Default_RunsPageAndCountQueries(VertxTestContext context) {
+        // Given: 기본은 페이지 쿼리(윈도 함수 없음) + 카운트 쿼리
+        Row countRow = mock(Row.class);
+        when(countRow.getLong(ListQuery.TOTAL_COUNT_COLUMN)).thenReturn(5L);
+        PagingRepository pagingRepository = new PagingRepository(rowSet(row, row), rowSet(countRow));
+        ListQuery listQuery = ListQuery.of("u.id", "users u").orderBy("u.id");
+        
+        // When
+        pagingRepository.page(listQuery, 2, 0)
+            .onComplete(context.succeeding(page -> context.verify(() -> {
+                // Then
+                assertThat(page.items()).hasSize(2);
+                assertThat(page.total()).isEqualTo(5L);
+                assertThat(pagingRepository.executed).hasSize(2);
+                assertThat(pagingRepository.executed).noneMatch(sql -> sql.contains("OVER ()"));
+                assertThat(pagingRepository.executed).anyMatch(sql -> sql.startsWith("SELECT COUNT(*) AS total_count"));
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void testQueryPage_WindowedTotal_RunsSingleQuery(VertxTestContext context) {
+        // Given: windowedTotal()이면 페이지 + 전체 건수를 한 번에 조회
+        when(row.getLong(ListQuery.TOTAL_COUNT_COLUMN)).thenReturn(7L);
+        PagingRepository pagingRepository = new PagingRepository(rowSet(row, row), null);
+        ListQuery listQuery = ListQuery.of("u.id", "users u").orderBy("u.id").windowedTotal();
+        
+        // When
+        pagingRepository.page(listQuery, 2, 0)
+            .onComplete(context.succeeding(page -> context.verify(() -> {
+                // Then
+                assertThat(page.items()).hasSize(2);
+                assertThat(page.total()).isEqualTo(7L);
+                assertThat(pagingRepository.executed).singleElement()
+                    .satisfies(sql -> assertThat(sql).contains("COUNT(*) OVER () AS total_count"));
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void testQueryPage_CursorWithTotals_SkipsCountQuery(VertxTestContext context) {
+        // Given: 첫 페이지에서 계산한 전체 건수/합계를 담은 커서
+        PagingRepository pagingRepository = new PagingRepository(rowSet(row), null);
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2024, 1, 15, 10, 30), 42L)
+            .withTotals(10L, Map.of("total_amount", new BigDecimal("12.5")));
+        ListQuery listQuery = ListQuery.of("mh.id", "mining_history mh")
+            .keyset("mh.created_at", "mh.id")
+            .cursor(cursor);
+        
+        // When
+        pagingRepository.page(listQuery, 2, 0)
+            .onComplete(context.succeeding(page -> context.verify(() -> {
+                // Then: 페이지 쿼리만 실행하고 커서의 값을 그대로 반환
+                assertThat(page.items()).hasSize(1);
+                assertThat(page.total()).isEqualTo(10L);
+                assertThat(page.summary("total_amount")).isEqualByComparingTo("12.5");
+                assertThat(pagingRepository.executed).singleElement()
+                    .satisfies(sql -> assertThat(sql).doesNotStartWith("SELECT COUNT(*)"));
+                context.completeNow();
+            })));
+    }
+    
+    // 실행한 SQL을 기록하고, 카운트 쿼리/그 외 쿼리에 미리 정한 결과를 돌려주는 Repository
+    static class PagingRepository extends BaseRepository {
+        private final RowSet<Row> pageRows;
+        private final RowSet<Row> countRows;
+        private final List<String> executed = new ArrayList<>();
+        
+        PagingRepository(RowSet<Row> pageRows, RowSet<Row> countRows) {
+            this.pageRows = pageRows;
+            this.countRows = countRows;
+        }
+        
+        Future<PageResult<Long>> page(ListQuery listQuery, int limit, int offset) {
+            return queryPage(null, listQuery, r -> 1L, limit, offset);
+        }
+        
+        @Override
+        protected Future<RowSet<Row>> query(SqlClient client, String sql, Map<String, Object> parameters) {
+            executed.add(sql);
+            return Future.succeededFuture(sql.startsWith("SELECT COUNT(*) AS") ? countRows : pageRows);
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static RowSet<Row> rowSet(Row... rows) {
+        RowSet<Row> rowSet = mock(RowSet.class);
+        List<Row> list = List.of(rows);
+        lenient().when(rowSet.size()).thenReturn(list.size());
+        lenient().when(rowSet.iterator()).thenAnswer(invocation -> {
+            Iterator<Row> delegate = list.iterator();
+            return new RowIterator<Row>() {
+                @Override
+                public boolean hasNext() {
+                    return delegate.hasNext();
+                }
+                
+                @Override
+                public Row next() {
+                    return delegate.next();
+                }
+            };
+        });
+        return rowSet;
+    }
 }
-
@@ -0,0 +1,157 @@
+package com.csms.common.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ListQueryTest {
+    
+    private ListQuery withdrawalQuery() {
+        return ListQuery.of("et.id, et.amount", "external_transfers et")
+            .join("INNER JOIN users u ON u.id = et.user_id")
+            .pageJoin("LEFT JOIN currency c ON c.id = et.currency_id")
+            .where("(et.transaction_type = 'WITHDRAW' OR et.transaction_type IS NULL)")
+            .where("u.nickname ILIKE :search_keyword_pattern", "search_keyword_pattern", ListQuery.likePattern("kim"))
+            .summary("SUM", "et.amount", "total_withdrawal_amount")
+            .orderBy("et.created_at DESC");
+    }
+    
+    @Test
+    void testPageAndCount_ShareWhereClause() {
+        // Given
+        ListQuery listQuery = withdrawalQuery();
+        String where = "WHERE (et.transaction_type = 'WITHDRAW' OR et.transaction_type IS NULL)\n"
+            + "  AND u.nickname ILIKE :search_keyword_pattern";
+        
+        // When
+        String pageSql = listQuery.toPageSql();
+        String countSql = listQuery.toCountSql();
+        
+        // Then
+        assertThat(pageSql).contains(where).contains("LEFT JOIN currency c")
+            .endsWith("ORDER BY et.created_at DESC\nLIMIT :limit OFFSET :offset");
+        assertThat(countSql).contains(where)
+            .startsWith("SELECT COUNT(*) AS total_count, COALESCE(SUM(et.amount), 0) AS total_withdrawal_amount")
+            .doesNotContain("LEFT JOIN currency c")
+            .doesNotContain("ORDER BY")
+            .doesNotContain("LIMIT");
+    }
+    
+    @Test
+    void testPageWithTotal_AddsWindowColumns() {
+        // Given
+        ListQuery listQuery = withdrawalQuery();
+        
+        // When
+        String sql = listQuery.toPageWithTotalSql();
+        
+        // Then
+        assertThat(sql).startsWith("SELECT et.id, et.amount,\n    COUNT(*) OVER () AS total_count,\n"
+            + "    COALESCE(SUM(et.amount) OVER (), 0) AS total_withdrawal_amount\nFROM external_transfers et");
+        assertThat(listQuery.getSummaryAliases()).containsExactly("total_withdrawal_amount");
+    }
+    
+    @Test
+    void testGroupedCount_UsesHavingInSubquery() {
+        // Given
+        ListQuery listQuery = ListQuery.of("u.id, COALESCE(MAX(rr.level), 1) as level", "users u")
+            .join("LEFT JOIN referral_relations rr ON rr.referred_id = u.id")
+            .groupBy("u.id")
+            .having("COALESCE(MAX(rr.level), 1) = :level", "level", 2)
+            .orderBy("level DESC");
+        
+        // When
+        String countSql = listQuery.toCountSql();
+        
+        // Then
+        assertThat(countSql).isEqualTo("SELECT COUNT(*) AS total_count FROM (SELECT 1\n"
+            + "FROM users u\n"
+            + "LEFT JOIN referral_relations rr ON rr.referred_id = u.id\n"
+            + "GROUP BY u.id\n"
+            + "HAVING COALESCE(MAX(rr.level), 1) = :level\n"
+            + ") grouped");
+        assertThat(listQuery.toPageSql()).doesNotContain("WHERE");
+    }
+    
+    @Test
+    void testParams_PageParamsIncludeLimitOffset() {
+        // Given
+        ListQuery listQuery = withdrawalQuery();
+        
+        // When
+        Map<String, Object> countParams = listQuery.getParams();
+        Map<String, Object> pageParams = listQuery.getPageParams(20, 40);
+        
+        // Then
+        assertThat(countParams).containsOnlyKeys("search_keyword_pattern");
+        assertThat(countParams.get("search_keyword_pattern")).isEqualTo("%kim%");
+        assertThat(pageParams).containsEntry("limit", 20).containsEntry("offset", 40);
+    }
+    
+    @Test
+    void testKeyset_CursorAppliedToPageOnly() {
+        // Given
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2024, 1, 15, 10, 30), 42L);
+        ListQuery listQuery = ListQuery.of("et.id, et.amount", "external_transfers et")
+            .where("et.status = :status", "status", "PENDING")
+            .keyset("et.created_at", "et.id")
+            .cursor(cursor);
+        
+        // When
+        String pageSql = listQuery.toPageSql();
+        String countSql = listQuery.toCountSql();
+        Map<String, Object> pageParams = listQuery.getPageParams(20, 40);
+        
+        // Then
+        assertThat(pageSql)
+            .startsWith("SELECT et.id, et.amount,\n    et.created_at AS cursor_created_at,\n    et.id AS cursor_id")
+            .contains("WHERE et.status = :status\n  AND (et.created_at, et.id) < (:cursor_created_at, :cursor_id)")
+            .endsWith("ORDER BY et.created_at DESC, et.id DESC\nLIMIT :limit OFFSET :offset");
+        assertThat(countSql).doesNotContain("cursor");
+        assertThat(pageParams)
+            .containsEntry("offset", 0)
+            .containsEntry("cursor_created_at", cursor.createdAt())
+            .containsEntry("cursor_id", 42L);
+        assertThat(listQuery.getParams()).containsOnlyKeys("status");
+    }
+    
+    @Test
+    void testKeyset_WithoutCursorKeepsOffset() {
+        // Given
+        ListQuery listQuery = ListQuery.of("et.id", "external_transfers et")
+            .keyset("et.created_at", "et.id")
+            .cursor(null);
+        
+        // When
+        String pageSql = listQuery.toPageWithTotalSql();
+        
+        // Then
+        assertThat(listQuery.hasCursor()).isFalse();
+        assertThat(pageSql).contains("et.id AS cursor_id").doesNotContain(":cursor_id");
+        assertThat(listQuery.getPageParams(20, 40)).containsEntry("offset", 40);
+    }
+    
+    @Test
+    void testStreamSql_KeepsOrderWithoutLimitOrCursor() {
+        // Given
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2024, 1, 15, 10, 30), 42L);
+        ListQuery listQuery = withdrawalQuery()
+            .keyset("et.created_at", "et.id")
+            .cursor(cursor);
+        
+        // When
+        String streamSql = listQuery.toStreamSql();
+        
+        // Then
+        assertThat(streamSql)
+            .startsWith("SELECT et.id, et.amount\nFROM external_transfers et")
+            .contains("LEFT JOIN currency c")
+            .endsWith("ORDER BY et.created_at DESC, et.id DESC")
+            .doesNotContain("LIMIT")
+            .doesNotContain("cursor")
+            .doesNotContain("total_count");
+    }
+}
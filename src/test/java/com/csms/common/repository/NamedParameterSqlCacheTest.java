@@ -0,0 +1,73 @@
+package com.csms.common.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NamedParameterSqlCacheTest {
+    
+    @Test
+    void testTranslate_PositionalParameters() {
+        // Given
+        String sql = "SELECT * FROM users WHERE id = :id AND created_at >= :id_date::date AND login_id = :login_id OR id = :id";
+        
+        // When
+        NamedParameterSql result = NamedParameterSql.translate(sql);
+        
+        // Then
+        assertThat(result.getParamNames()).containsExactly("id", "id_date", "login_id");
+        assertThat(result.getSql())
+            .isEqualTo("SELECT * FROM users WHERE id = $1 AND created_at >= $2::date AND login_id = $3 OR id = $1");
+    }
+    
+    @Test
+    void testTranslate_NoParameters() {
+        // Given
+        String sql = "SELECT NOW()::date";
+        
+        // When
+        NamedParameterSql result = NamedParameterSql.translate(sql);
+        
+        // Then
+        assertThat(result.getParamNames()).isEmpty();
+        assertThat(result.getSql()).isEqualTo(sql);
+    }
+    
+    @Test
+    void testGet_HitAndMissCounters() {
+        // Given
+        NamedParameterSqlCache cache = new NamedParameterSqlCache(10);
+        String sql = "SELECT * FROM users WHERE id = :id";
+        
+        // When
+        NamedParameterSql first = cache.get(sql);
+        NamedParameterSql second = cache.get(sql);
+        
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+    
+    @Test
+    void testGet_EvictsLeastRecentlyUsed() {
+        // Given
+        NamedParameterSqlCache cache = new NamedParameterSqlCache(2);
+        String sqlA = "SELECT :a";
+        String sqlB = "SELECT :b";
+        String sqlC = "SELECT :c";
+        
+        // When - A 재사용 후 C 추가 시 B가 제거되어야 함
+        cache.get(sqlA);
+        cache.get(sqlB);
+        cache.get(sqlA);
+        cache.get(sqlC);
+        cache.get(sqlA);
+        cache.get(sqlB);
+        
+        // Then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getHitCount()).isEqualTo(2);
+        assertThat(cache.getMissCount()).isEqualTo(4);
+    }
+}
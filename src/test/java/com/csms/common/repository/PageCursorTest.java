@@ -0,0 +1,66 @@
+package com.csms.common.repository;
+
+import com.csms.common.exceptions.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class PageCursorTest {
+    
+    @Test
+    void testEncodeDecode_RoundTrip() {
+        // Given
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2024, 1, 15, 10, 30, 5, 123456000), 42L);
+        
+        // When
+        String encoded = cursor.encode();
+        PageCursor decoded = PageCursor.decode(encoded);
+        
+        // Then
+        assertThat(encoded).doesNotContain("|").doesNotContain("=");
+        assertThat(decoded).isEqualTo(cursor);
+    }
+    
+    @Test
+    void testEncodeDecode_WithTotals_RoundTrip() {
+        // Given: 첫 페이지의 전체 건수/합계를 담은 커서
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2024, 1, 15, 10, 30), 42L)
+            .withTotals(1234L, Map.of("total_withdrawal_amount", new BigDecimal("1500.25"), "total_fee_revenue", BigDecimal.ZERO));
+        
+        // When
+        PageCursor decoded = PageCursor.decode(cursor.encode());
+        
+        // Then
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.hasTotals()).isTrue();
+        assertThat(decoded.summaries().get("total_withdrawal_amount")).isEqualByComparingTo("1500.25");
+        assertThat(new PageCursor(LocalDateTime.of(2024, 1, 15, 10, 30), 42L).hasTotals()).isFalse();
+    }
+    
+    @Test
+    void testDecode_BlankReturnsNull() {
+        // When
+        PageCursor nullCursor = PageCursor.decode(null);
+        PageCursor blankCursor = PageCursor.decode("  ");
+        
+        // Then
+        assertThat(nullCursor).isNull();
+        assertThat(blankCursor).isNull();
+    }
+    
+    @Test
+    void testDecode_InvalidCursor() {
+        // When
+        Throwable notBase64 = catchThrowable(() -> PageCursor.decode("%%%"));
+        Throwable noSeparator = catchThrowable(() -> PageCursor.decode("not-a-cursor"));
+        
+        // Then
+        assertThat(notBase64).isInstanceOf(BadRequestException.class);
+        assertThat(noSeparator).isInstanceOf(BadRequestException.class);
+    }
+}
@@ -0,0 +1,137 @@
+package com.csms.common.repository;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RowStreamBatcherTest {
+    
+    @Mock
+    private RowStream<Row> stream;
+    
+    private final List<List<Row>> batches = new ArrayList<>();
+    private final List<Promise<Void>> batchPromises = new ArrayList<>();
+    
+    private Handler<Row> rowHandler;
+    private Handler<Void> endHandler;
+    
+    @BeforeEach
+    void setUp() {
+        batches.clear();
+        batchPromises.clear();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Future<Long> start() {
+        RowStreamBatcher<Row> batcher = new RowStreamBatcher<>(stream, row -> row, 2, batch -> {
+            batches.add(batch);
+            Promise<Void> promise = Promise.promise();
+            batchPromises.add(promise);
+            return promise.future();
+        });
+        Future<Long> result = batcher.start();
+        
+        ArgumentCaptor<Handler<Row>> rowCaptor = ArgumentCaptor.forClass(Handler.class);
+        ArgumentCaptor<Handler<Void>> endCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(stream).handler(rowCaptor.capture());
+        verify(stream).endHandler(endCaptor.capture());
+        rowHandler = rowCaptor.getValue();
+        endHandler = endCaptor.getValue();
+        return result;
+    }
+    
+    private Row row(boolean first) {
+        Row row = mock(Row.class);
+        if (first) {
+            when(row.size()).thenReturn(1);
+            when(row.getColumnName(0)).thenReturn("id");
+        }
+        return row;
+    }
+    
+    @Test
+    void testBatches_PauseUntilBatchHandled() {
+        // Given
+        Future<Long> result = start();
+        Row first = row(true);
+        
+        // When: 2건이 모이면 배치 전달 후 멈춤
+        rowHandler.handle(first);
+        rowHandler.handle(row(false));
+        
+        // Then
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).hasSize(2).startsWith(first);
+        verify(stream).pause();
+        verify(stream, never()).resume();
+        
+        // When: 배치 처리 완료 후 재개, 남은 1건은 종료 시 전달
+        batchPromises.get(0).complete();
+        rowHandler.handle(row(false));
+        endHandler.handle(null);
+        
+        // Then
+        verify(stream).resume();
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(1)).hasSize(1);
+        assertThat(result.isComplete()).isFalse();
+        
+        batchPromises.get(1).complete();
+        assertThat(result.succeeded()).isTrue();
+        assertThat(result.result()).isEqualTo(3L);
+    }
+    
+    @Test
+    void testEndWhileBatchPending_WaitsForBatch() {
+        // Given
+        Future<Long> result = start();
+        rowHandler.handle(row(true));
+        rowHandler.handle(row(false));
+        
+        // When: 배치 처리 중 스트림 종료
+        endHandler.handle(null);
+        
+        // Then
+        assertThat(result.isComplete()).isFalse();
+        batchPromises.get(0).complete();
+        assertThat(result.succeeded()).isTrue();
+        assertThat(result.result()).isEqualTo(2L);
+        assertThat(batches).hasSize(1);
+    }
+    
+    @Test
+    void testBatchFailure_ClosesStream() {
+        // Given
+        Future<Long> result = start();
+        rowHandler.handle(row(true));
+        rowHandler.handle(row(false));
+        
+        // When
+        batchPromises.get(0).fail(new IllegalStateException("write failed"));
+        
+        // Then
+        assertThat(result.failed()).isTrue();
+        assertThat(result.cause()).hasMessage("write failed");
+        verify(stream, times(1)).close();
+        verify(stream, never()).resume();
+    }
+}
@@ -0,0 +1,162 @@
+package com.csms.common.service;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResultCacheTest {
+    
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AtomicReference<String> watermark = new AtomicReference<>("10:2024-01-15T10:30");
+    
+    private Future<List<String>> load() {
+        loads.incrementAndGet();
+        return Future.succeededFuture(List.of("row" + loads.get()));
+    }
+    
+    private Future<List<String>> get(ResultCache cache, Map<String, Object> filters) {
+        return cache.get("members", filters, () -> Future.succeededFuture(watermark.get()), this::load);
+    }
+    
+    @Test
+    void testGet_HitsForSameNormalizedFilters() {
+        // Given
+        ResultCache cache = new ResultCache(1024 * 1024, 300);
+        Map<String, Object> filters = ResultCache.filters("level", 3, "keyword", "", "status", "ACTIVE");
+        
+        // When: 빈 값/공백/순서만 다른 조건으로 다시 조회
+        List<String> first = get(cache, filters).result();
+        List<String> second = get(cache, ResultCache.filters("status", " ACTIVE ", "level", 3)).result();
+        
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(cache.getMetrics().getLong("hits")).isEqualTo(1L);
+    }
+    
+    @Test
+    void testGet_ReloadsWhenWatermarkMoves() {
+        // Given
+        ResultCache cache = new ResultCache(1024 * 1024, 300);
+        Map<String, Object> filters = ResultCache.filters("level", 3);
+        get(cache, filters);
+        
+        // When
+        watermark.set("11:2024-01-15T10:31");
+        List<String> reloaded = get(cache, filters).result();
+        
+        // Then: 이전 항목은 버리고 새 결과 저장
+        assertThat(reloaded).containsExactly("row2");
+        assertThat(get(cache, filters).result()).isSameAs(reloaded);
+        assertThat(loads).hasValue(2);
+        assertThat(cache.getMetrics().getInteger("entries")).isEqualTo(1);
+        assertThat(cache.getMetrics().getLong("invalidations")).isEqualTo(1L);
+    }
+    
+    @Test
+    void testGet_SharesInFlightLoad() {
+        // Given
+        ResultCache cache = new ResultCache(1024 * 1024, 300);
+        Promise<List<String>> pending = Promise.promise();
+        Map<String, Object> filters = ResultCache.filters("start", LocalDateTime.of(2024, 1, 1, 0, 0));
+        
+        // When: 첫 조회가 끝나기 전에 같은 조건으로 조회
+        Future<List<String>> first = cache.get("members", filters, () -> Future.succeededFuture("1"), () -> {
+            loads.incrementAndGet();
+            return pending.future();
+        });
+        Future<List<String>> second = cache.get("members", filters, () -> Future.succeededFuture("1"), this::load);
+        pending.complete(List.of("shared"));
+        
+        // Then
+        assertThat(loads).hasValue(1);
+        assertThat(first.result()).containsExactly("shared");
+        assertThat(second.result()).containsExactly("shared");
+    }
+    
+    @Test
+    void testGet_EvictsLeastRecentlyUsedOverMaxBytes() {
+        // Given: 항목 하나가 104바이트(["x"*100]), 항목 8개까지 들어가는 용량
+        List<String> value = List.of("x".repeat(100));
+        ResultCache cache = new ResultCache(8 * 110, 300);
+        for (int page = 0; page < 8; page++) {
+            cache.get("members", ResultCache.filters("page", page), () -> Future.succeededFuture("1"),
+                () -> Future.succeededFuture(value));
+        }
+        // 0번을 최근 사용으로
+        cache.get("members", ResultCache.filters("page", 0), () -> Future.succeededFuture("1"), this::load);
+        
+        // When
+        cache.get("members", ResultCache.filters("page", 8), () -> Future.succeededFuture("1"),
+            () -> Future.succeededFuture(value));
+        
+        // Then: 가장 오래 사용하지 않은 1번만 제거
+        assertThat(cache.totalBytes()).isLessThanOrEqualTo(8 * 110);
+        assertThat(cache.getMetrics().getInteger("entries")).isEqualTo(8);
+        cache.get("members", ResultCache.filters("page", 0), () -> Future.succeededFuture("1"), this::load);
+        assertThat(loads).hasValue(0);
+        cache.get("members", ResultCache.filters("page", 1), () -> Future.succeededFuture("1"), this::load);
+        assertThat(loads).hasValue(1);
+    }
+    
+    @Test
+    void testGet_DoesNotCacheFailuresOrWhenWatermarkUnavailable() {
+        // Given
+        ResultCache cache = new ResultCache(1024 * 1024, 300);
+        Map<String, Object> filters = ResultCache.filters("level", 3);
+        
+        // When
+        Future<List<String>> failed = cache.get("members", filters, () -> Future.succeededFuture("1"),
+            () -> Future.failedFuture(new RuntimeException("db down")));
+        cache.get("members", filters, () -> Future.failedFuture(new RuntimeException("no watermark")), this::load);
+        cache.get("members", filters, () -> Future.failedFuture(new RuntimeException("no watermark")), this::load);
+        
+        // Then
+        assertThat(failed.failed()).isTrue();
+        assertThat(loads).hasValue(2);
+        assertThat(cache.getMetrics().getInteger("entries")).isZero();
+    }
+    
+    @Test
+    void testInvalidate_DropsNamespaceAndIgnoresLoadsStartedBefore() {
+        // Given: 회원 목록 1건 저장, 거래내역 조회는 진행 중
+        ResultCache cache = new ResultCache(1024 * 1024, 300);
+        Map<String, Object> filters = ResultCache.filters("level", 3);
+        get(cache, filters);
+        Promise<List<String>> inFlight = Promise.promise();
+        cache.get("transaction_history", filters, () -> Future.succeededFuture("1"), () -> inFlight.future());
+        
+        // When: 두 namespace 무효화 후 진행 중이던 조회 완료
+        cache.invalidate(List.of("members", "transaction_history"));
+        inFlight.complete(List.of("stale"));
+        get(cache, filters);
+        
+        // Then: 같은 워터마크라도 다시 조회, 무효화 전에 시작한 결과는 저장하지 않음
+        assertThat(loads).hasValue(2);
+        assertThat(cache.getMetrics().getInteger("entries")).isEqualTo(1);
+        assertThat(cache.getMetrics().getLong("invalidations")).isEqualTo(1L);
+    }
+    
+    @Test
+    void testDisabled_AlwaysLoads() {
+        // Given
+        ResultCache cache = ResultCache.disabled();
+        Map<String, Object> filters = ResultCache.filters("level", 3);
+        
+        // When
+        get(cache, filters);
+        get(cache, filters);
+        
+        // Then
+        assertThat(loads).hasValue(2);
+        assertThat(cache.versionKey("members", filters, () -> Future.succeededFuture("1")).result()).isNull();
+    }
+}
@@ -0,0 +1,48 @@
+package com.csms.common.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ByteRangeTest {
+    
+    @Test
+    void testParse_SupportedForms() {
+        // Given
+        long size = 1000;
+        
+        // When & Then
+        assertThat(ByteRange.parse("bytes=0-499", size)).isEqualTo(new ByteRange(0, 499));
+        assertThat(ByteRange.parse("bytes=500-", size)).isEqualTo(new ByteRange(500, 999));
+        assertThat(ByteRange.parse("bytes=-200", size)).isEqualTo(new ByteRange(800, 999));
+        // 파일 끝을 넘는 범위는 파일 끝까지로 조정
+        assertThat(ByteRange.parse("bytes=900-5000", size)).isEqualTo(new ByteRange(900, 999));
+        assertThat(ByteRange.parse("bytes=-5000", size)).isEqualTo(new ByteRange(0, 999));
+        
+        ByteRange range = ByteRange.parse("bytes=100-199", size);
+        assertThat(range.length()).isEqualTo(100);
+        assertThat(range.contentRange(size)).isEqualTo("bytes 100-199/1000");
+    }
+    
+    @Test
+    void testParse_IgnoredHeaders_ServeWholeFile() {
+        // When & Then: 범위 요청이 아니거나 지원하지 않는 형식이면 null (전체 응답)
+        assertThat(ByteRange.parse(null, 1000)).isNull();
+        assertThat(ByteRange.parse("items=0-10", 1000)).isNull();
+        assertThat(ByteRange.parse("bytes=0-10,20-30", 1000)).isNull();
+        assertThat(ByteRange.parse("bytes=abc-", 1000)).isNull();
+        assertThat(ByteRange.parse("bytes=50-10", 1000)).isNull();
+    }
+    
+    @Test
+    void testParse_Unsatisfiable() {
+        // When
+        ByteRange range = ByteRange.parse("bytes=1000-", 1000);
+        
+        // Then
+        assertThat(range.isSatisfiable()).isFalse();
+        assertThat(range.contentRange(1000)).isEqualTo("bytes */1000");
+        assertThat(ByteRange.parse("bytes=-0", 1000).isSatisfiable()).isFalse();
+        assertThat(ByteRange.parse("bytes=-10", 0).isSatisfiable()).isFalse();
+    }
+}
@@ -0,0 +1,89 @@
+package com.csms.common.utils;
+
+import com.csms.common.exceptions.ServiceUnavailableException;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(VertxExtension.class)
+class PasswordHashExecutorTest {
+    
+    private PasswordHashExecutor executor;
+    
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.close();
+        }
+    }
+    
+    @Test
+    void testHashAndVerify_CompletesOnCallerContext(Vertx vertx, VertxTestContext context) {
+        // Given
+        executor = new PasswordHashExecutor(1, 4);
+        Context callerContext = vertx.getOrCreateContext();
+        
+        // When
+        callerContext.runOnContext(v -> executor.hash("password123")
+            .compose(hash -> executor.verify("password123", hash)
+                .compose(matches -> executor.verify("wrong-password", hash)
+                    .map(wrongMatches -> new boolean[]{matches, wrongMatches})))
+            .onComplete(context.succeeding(result -> context.verify(() -> {
+                // Then
+                assertThat(result[0]).isTrue();
+                assertThat(result[1]).isFalse();
+                assertThat(Vertx.currentContext()).isSameAs(callerContext);
+                assertThat(executor.getCompletedCount()).isEqualTo(3);
+                context.completeNow();
+            }))));
+    }
+    
+    @Test
+    void testVerify_RejectsFastWhenQueueFull(VertxTestContext context) {
+        // Given - 스레드 1개, 대기열 1개 (첫 작업 실행 중, 두 번째 대기, 세 번째 거절)
+        executor = new PasswordHashExecutor(1, 1);
+        String hash = "$2a$10$f7R8Z3w4fHCDjrgZ1bCo8OynXzErkt4c9TQHXxxmTE6BfOAvukDFG";
+        
+        // When
+        Future<Boolean> first = executor.verify("password123", hash);
+        Future<Boolean> second = executor.verify("password123", hash);
+        Future<Boolean> third = executor.verify("password123", hash);
+        
+        // Then
+        context.verify(() -> {
+            assertThat(third.failed()).isTrue();
+            assertThat(third.cause()).isInstanceOf(ServiceUnavailableException.class);
+            assertThat(executor.getRejectedCount()).isEqualTo(1);
+        });
+        Future.all(first, second).onComplete(context.succeeding(v -> context.verify(() -> {
+            assertThat(first.result()).isTrue();
+            assertThat(second.result()).isTrue();
+            assertThat(executor.getMetrics().getLong("rejected")).isEqualTo(1L);
+            context.completeNow();
+        })));
+    }
+    
+    @Test
+    void testCreate_FromConfig() {
+        // Given
+        JsonObject config = new JsonObject()
+            .put("password_hashing", new JsonObject().put("threads", 3).put("queue_limit", 10));
+        
+        // When
+        executor = PasswordHashExecutor.create(config);
+        JsonObject metrics = executor.getMetrics();
+        
+        // Then
+        assertThat(metrics.getInteger("threads")).isEqualTo(3);
+        assertThat(metrics.getInteger("queueLimit")).isEqualTo(10);
+        assertThat(metrics.getInteger("queueDepth")).isZero();
+    }
+}
@@ -0,0 +1,118 @@
+package com.csms.mining.repository;
+
+import com.csms.common.HandlerTestBase;
+import com.csms.mining.dto.MiningEventAckDto;
+import com.csms.mining.dto.MiningEventDto;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.Tuple;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 채굴 이벤트 묶음 저장 - 같은 회원의 여러 이벤트가 한 문장으로 저장될 때 누적 채굴량 확인
+ */
+@ExtendWith(VertxExtension.class)
+class MiningEventRepositoryTest extends HandlerTestBase {
+    
+    public MiningEventRepositoryTest() {
+        super("/api/mining");
+    }
+    
+    @Test
+    void testInsertEvents_SameUserInOneBatch_CumulativeAmountStrictlyIncreases(VertxTestContext context) {
+        // Given: 같은 회원의 이벤트 3건 (한 건은 다른 이벤트보다 이전 시각)
+        MiningEventRepository repository = new MiningEventRepository();
+        LocalDateTime base = LocalDateTime.now().minusMinutes(10);
+        
+        sqlClient.preparedQuery("SELECT id FROM users WHERE login_id = $1").execute(Tuple.of("testuser3"))
+            .compose(rows -> {
+                Long userId = rows.iterator().next().getLong("id");
+                List<MiningEventDto> events = List.of(
+                    event("cumulative-1", userId, "1.5", base.plusMinutes(1)),
+                    event("cumulative-2", userId, "2.25", base.plusMinutes(3)),
+                    event("cumulative-3", userId, "0.75", base)
+                );
+                // When
+                return repository.insertEvents(sqlClient, events)
+                    .compose(acks -> {
+                        assertThat(acks.values()).extracting(MiningEventAckDto::getStatus)
+                            .containsOnly(MiningEventAckDto.CREATED);
+                        return sqlClient.preparedQuery("""
+                                SELECT amount, cumulative_amount FROM mining_history
+                                WHERE user_id = $1 AND type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')
+                                ORDER BY created_at, id
+                                """)
+                            .execute(Tuple.of(userId));
+                    });
+            })
+            .onComplete(context.succeeding(rows -> context.verify(() -> {
+                // Then: (created_at, id) 순서로 이전 누적값 + 금액
+                List<BigDecimal> cumulative = new ArrayList<>();
+                BigDecimal running = BigDecimal.ZERO;
+                for (Row row : rows) {
+                    running = running.add(row.getBigDecimal("amount"));
+                    assertThat(row.getBigDecimal("cumulative_amount")).isEqualByComparingTo(running);
+                    cumulative.add(row.getBigDecimal("cumulative_amount"));
+                }
+                assertThat(cumulative).hasSizeGreaterThanOrEqualTo(3);
+                for (int i = 1; i < cumulative.size(); i++) {
+                    assertThat(cumulative.get(i)).isGreaterThan(cumulative.get(i - 1));
+                }
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void testInsertEvents_LateEventAfterLaterRows_ShiftsLaterCumulativeAmounts(VertxTestContext context) {
+        // Given: 최근 이벤트 2건을 먼저 저장한 뒤, 그보다 이전 시각의 이벤트가 늦게 도착
+        MiningEventRepository repository = new MiningEventRepository();
+        LocalDateTime base = LocalDateTime.now().minusHours(2);
+        
+        sqlClient.preparedQuery("SELECT id FROM users WHERE login_id = $1").execute(Tuple.of("testuser3"))
+            .compose(rows -> {
+                Long userId = rows.iterator().next().getLong("id");
+                // When
+                return repository.insertEvents(sqlClient, List.of(
+                        event("late-head-1", userId, "1", base.plusMinutes(30)),
+                        event("late-head-2", userId, "2", base.plusMinutes(60))))
+                    .compose(acks -> repository.insertEvents(sqlClient, List.of(event("late-past-1", userId, "0.5", base))))
+                    .compose(acks -> {
+                        assertThat(acks.get("late-past-1").getStatus()).isEqualTo(MiningEventAckDto.CREATED);
+                        return sqlClient.preparedQuery("""
+                                SELECT amount, cumulative_amount FROM mining_history
+                                WHERE user_id = $1 AND type IN ('BROADCAST_PROGRESS', 'BROADCAST_WATCH')
+                                ORDER BY created_at, id
+                                """)
+                            .execute(Tuple.of(userId));
+                    });
+            })
+            .onComplete(context.succeeding(rows -> context.verify(() -> {
+                // Then: 늦게 들어온 행 이후의 누적값에도 금액이 더해져 (created_at, id) 순서 누적과 같음
+                BigDecimal running = BigDecimal.ZERO;
+                for (Row row : rows) {
+                    running = running.add(row.getBigDecimal("amount"));
+                    assertThat(row.getBigDecimal("cumulative_amount")).isEqualByComparingTo(running);
+                }
+                context.completeNow();
+            })));
+    }
+    
+    private static MiningEventDto event(String key, Long userId, String amount, LocalDateTime occurredAt) {
+        return MiningEventDto.builder()
+            .idempotencyKey(key)
+            .userId(userId)
+            .type("BROADCAST_WATCH")
+            .amount(new BigDecimal(amount))
+            .occurredAt(occurredAt)
+            .build();
+    }
+}
@@ -0,0 +1,70 @@
+package com.csms.mining.repository;
+
+import com.csms.common.HandlerTestBase;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.Tuple;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 랭킹 보상 스냅샷 - 동점 순서가 랭킹 보드(Redis)와 같은지 확인
+ */
+@ExtendWith(VertxExtension.class)
+class RankingRewardPayoutRepositoryTest extends HandlerTestBase {
+    
+    private static final LocalDate PERIOD_DATE = LocalDate.of(2000, 1, 3);
+    
+    public RankingRewardPayoutRepositoryTest() {
+        super("/api/mining");
+    }
+    
+    @Test
+    void testCreatePayout_TiedScores_RanksLikeLeaderboard(VertxTestContext context) {
+        // Given: 두 회원의 기간 채굴량이 같음
+        RankingRewardPayoutRepository repository = new RankingRewardPayoutRepository();
+        List<Long> userIds = new ArrayList<>();
+        
+        sqlClient.preparedQuery("DELETE FROM ranking_reward_payouts WHERE period = 'DAILY' AND period_start = $1").execute(Tuple.of(PERIOD_DATE))
+            .compose(v -> sqlClient.preparedQuery("DELETE FROM daily_mining WHERE mining_date = $1").execute(Tuple.of(PERIOD_DATE)))
+            .compose(v -> sqlClient.query("SELECT id FROM users WHERE deleted_at IS NULL ORDER BY id LIMIT 2").execute())
+            .compose(rows -> {
+                for (Row row : rows) {
+                    userIds.add(row.getLong("id"));
+                }
+                return sqlClient.preparedQuery("""
+                        INSERT INTO daily_mining (user_id, mining_date, mining_amount, reset_at)
+                        VALUES ($1, $3, 5, $4), ($2, $3, 5, $4)
+                        """)
+                    .execute(Tuple.of(userIds.get(0), userIds.get(1), PERIOD_DATE, PERIOD_DATE.plusDays(1).atStartOfDay()));
+            })
+            // When
+            .compose(v -> repository.createPayout(sqlClient, "DAILY", PERIOD_DATE, PERIOD_DATE, "KORI", "TRON",
+                new String[]{"10", "5"}, new String[]{"0", "0"}))
+            .compose(payoutId -> sqlClient.preparedQuery("""
+                    SELECT user_id
+                    FROM ranking_reward_payout_items
+                    WHERE payout_id = $1 AND scope = 'REGIONAL'
+                    ORDER BY rank
+                    """)
+                .execute(Tuple.of(payoutId)))
+            .onComplete(context.succeeding(rows -> context.verify(() -> {
+                // Then: 보드(ZREVRANGE)처럼 회원 ID 문자열이 큰 회원이 1위
+                List<Long> ranked = new ArrayList<>();
+                for (Row row : rows) {
+                    ranked.add(row.getLong("user_id"));
+                }
+                Long first = userIds.get(0).toString().compareTo(userIds.get(1).toString()) > 0 ? userIds.get(0) : userIds.get(1);
+                Long second = first.equals(userIds.get(0)) ? userIds.get(1) : userIds.get(0);
+                assertThat(ranked).containsExactly(first, second);
+                context.completeNow();
+            })));
+    }
+}
@@ -0,0 +1,79 @@
+package com.csms.mining.repository;
+
+import com.csms.common.HandlerTestBase;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.Tuple;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 레퍼럴 리워드 분배 - 같은 상위 회원에게 한 문장으로 여러 리워드가 생성될 때 확인
+ */
+@ExtendWith(VertxExtension.class)
+class ReferralRewardRepositoryTest extends HandlerTestBase {
+    
+    public ReferralRewardRepositoryTest() {
+        super("/api/mining");
+    }
+    
+    @Test
+    void testDistribute_SameAncestorInOneBatch_CreatesEveryRewardInOrder(VertxTestContext context) {
+        // Given: 직접 추천 관계의 하위 회원이 한 문장으로 채굴 내역 3건 저장
+        ReferralRewardRepository repository = new ReferralRewardRepository();
+        LocalDateTime base = LocalDateTime.now().minusMinutes(10);
+        
+        sqlClient.query("DELETE FROM referral_reward_queue").execute()
+            .compose(v -> sqlClient.query("SELECT ancestor_id, descendant_id FROM referral_closure WHERE depth = 1 ORDER BY descendant_id LIMIT 1").execute())
+            .compose(rows -> {
+                Row relation = rows.iterator().next();
+                Long ancestorId = relation.getLong("ancestor_id");
+                Long descendantId = relation.getLong("descendant_id");
+                return sqlClient.preparedQuery("""
+                        INSERT INTO mining_history (user_id, level, type, amount, created_at)
+                        VALUES ($1, 1, 'BROADCAST_WATCH', 2, $2), ($1, 1, 'BROADCAST_WATCH', 4, $3), ($1, 1, 'BROADCAST_WATCH', 6, $4)
+                        RETURNING id
+                        """)
+                    .execute(Tuple.of(descendantId, base.plusMinutes(2), base, base.plusMinutes(1)))
+                    .compose(inserted -> {
+                        List<String> keys = new ArrayList<>();
+                        for (Row row : inserted) {
+                            keys.add("referral:" + row.getLong("id") + ":" + ancestorId);
+                        }
+                        // When
+                        return repository.distribute(sqlClient, 100, new String[]{"0.5"})
+                            .compose(distribution -> {
+                                assertThat(distribution.consumed()).isEqualTo(3);
+                                assertThat(distribution.rewards()).hasSize(3);
+                                return sqlClient.preparedQuery("""
+                                        SELECT mh.amount, mh.cumulative_amount
+                                        FROM mining_event_keys k
+                                        INNER JOIN mining_history mh ON mh.id = k.mining_history_id
+                                        WHERE k.idempotency_key = ANY($1)
+                                        ORDER BY mh.created_at, mh.id
+                                        """)
+                                    .execute(Tuple.of(keys.toArray(new String[0])));
+                            });
+                    });
+            })
+            .onComplete(context.succeeding(rows -> context.verify(() -> {
+                // Then: 원본 채굴 내역마다 리워드 1건 (원본 시각 순서), 리워드는 누적 채굴량 대상이 아님
+                List<BigDecimal> amounts = new ArrayList<>();
+                for (Row row : rows) {
+                    amounts.add(row.getBigDecimal("amount"));
+                    assertThat(row.getBigDecimal("cumulative_amount")).isNull();
+                }
+                assertThat(amounts).usingElementComparator(BigDecimal::compareTo)
+                    .containsExactly(new BigDecimal("2"), new BigDecimal("3"), new BigDecimal("1"));
+                context.completeNow();
+            })));
+    }
+}
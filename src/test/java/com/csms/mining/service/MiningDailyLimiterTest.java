@@ -0,0 +1,191 @@
+package com.csms.mining.service;
+
+import com.csms.admin.dto.MiningConditionDto;
+import com.csms.mining.dto.MiningEventDto;
+import com.csms.mining.repository.MiningDailyLimitRepository;
+import io.vertx.core.Future;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.pgclient.PgPool;
+import io.vertx.redis.client.RedisAPI;
+import io.vertx.redis.client.Response;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static com.csms.common.TestArgumentMatchers.anySqlClient;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith({VertxExtension.class, MockitoExtension.class})
+class MiningDailyLimiterTest {
+    
+    @Mock
+    private PgPool pool;
+    
+    @Mock
+    private RedisAPI redisApi;
+    
+    @Mock
+    private MiningDailyLimitRepository repository;
+    
+    @Mock
+    private Response response;
+    
+    @Test
+    void testAcquire_GrantsOnlyRemainingLimit(VertxTestContext context) {
+        // Given: 레벨 3 한도 100, 남은 한도 40 (카운터 단위 1e-8)
+        MiningDailyLimiter limiter = limiter(conditions(true, 3, 100.0), true);
+        when(redisApi.evalsha(anyList())).thenReturn(Future.succeededFuture(response));
+        when(response.toLong()).thenReturn(4_000_000_000L);
+        
+        // When
+        limiter.acquire(List.of(event(1L, 3, "50")))
+            .onComplete(context.succeeding(granted -> context.verify(() -> {
+                // Then
+                assertThat(granted.get(0)).isEqualByComparingTo("40");
+                verify(redisApi).evalsha(argThat(args -> args.get(1).equals("1")
+                    && args.get(2).equals("mining:daily:units:20260110:1")
+                    && args.get(3).equals("5000000000")
+                    && args.get(4).equals("10000000000")));
+                assertThat(limiter.getMetrics().getLong("limited")).isEqualTo(1L);
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void testAcquire_LevelLimitDisabled_CountsWithoutLimit(VertxTestContext context) {
+        // Given
+        MiningDailyLimiter limiter = limiter(conditions(false, 3, 100.0), true);
+        when(redisApi.evalsha(anyList())).thenReturn(Future.succeededFuture(response));
+        when(response.toLong()).thenReturn(5_000_000_000L);
+        
+        // When
+        limiter.acquire(List.of(event(1L, 3, "50")))
+            .onComplete(context.succeeding(granted -> context.verify(() -> {
+                // Then: 카운터는 올리되 한도는 -1(제한 없음)
+                assertThat(granted).containsExactly(new BigDecimal("50"));
+                verify(redisApi).evalsha(argThat(args -> args.get(4).equals("-1")));
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void testAcquire_ResolvesMissingLevelAndSkipsReferralReward(VertxTestContext context) {
+        // Given
+        MiningDailyLimiter limiter = limiter(conditions(true, 2, 10.0), true);
+        when(repository.getUserLevels(anySqlClient(), eq(List.of(7L)))).thenReturn(Future.succeededFuture(Map.of(7L, 2)));
+        when(redisApi.evalsha(anyList())).thenReturn(Future.succeededFuture(response));
+        when(response.toLong()).thenReturn(100_000_000L);
+        MiningEventDto referral = event(7L, null, "3");
+        referral.setType("REFERRAL_REWARD");
+        
+        // When
+        limiter.acquire(List.of(event(7L, null, "1"), referral))
+            .onComplete(context.succeeding(granted -> context.verify(() -> {
+                // Then: 추천 보상은 한도 확인 없이 그대로
+                assertThat(granted).containsExactly(new BigDecimal("1"), new BigDecimal("3"));
+                verify(redisApi, times(1)).evalsha(argThat(args -> args.get(4).equals("1000000000")));
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void testAcquire_NoScript_FallsBackToEval(VertxTestContext context) {
+        // Given
+        MiningDailyLimiter limiter = limiter(conditions(true, 3, 100.0), true);
+        when(redisApi.evalsha(anyList())).thenReturn(Future.failedFuture("NOSCRIPT No matching script. Please use EVAL."));
+        when(redisApi.eval(anyList())).thenReturn(Future.succeededFuture(response));
+        when(response.toLong()).thenReturn(0L);
+        
+        // When
+        limiter.acquire(List.of(event(1L, 3, "5")))
+            .onComplete(context.succeeding(granted -> context.verify(() -> {
+                // Then: 한도를 모두 쓴 경우 0
+                assertThat(granted.get(0).signum()).isZero();
+                verify(redisApi).eval(argThat(args -> args.get(0).contains("INCRBY")));
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void testAcquire_RedisFailure_FailOpenAndFailClosed(VertxTestContext context) {
+        // Given
+        MiningDailyLimiter failOpen = limiter(conditions(true, 3, 100.0), true);
+        MiningDailyLimiter failClosed = limiter(conditions(true, 3, 100.0), false);
+        when(redisApi.evalsha(anyList())).thenReturn(Future.failedFuture(new RuntimeException("connection refused")));
+        
+        // When
+        Future.all(failOpen.acquire(List.of(event(1L, 3, "5"))), failClosed.acquire(List.of(event(1L, 3, "5"))))
+            .onComplete(context.succeeding(results -> context.verify(() -> {
+                // Then: fail-open은 요청 금액 그대로, fail-closed는 확인 실패(null)
+                List<BigDecimal> open = results.resultAt(0);
+                List<BigDecimal> closed = results.resultAt(1);
+                assertThat(open).containsExactly(new BigDecimal("5"));
+                assertThat(closed).containsExactly((BigDecimal) null);
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void testAcquire_UsesIntegerUnits_FullGrantKeepsExactAmount(VertxTestContext context) {
+        // Given: 소수 18자리 요청은 단위로 올림하여 카운터에 반영
+        MiningDailyLimiter limiter = limiter(conditions(true, 3, 100.0), true);
+        when(redisApi.evalsha(anyList())).thenReturn(Future.succeededFuture(response));
+        when(response.toLong()).thenReturn(12_345_679L);
+        
+        // When
+        limiter.acquire(List.of(event(1L, 3, "0.123456789012345678")))
+            .onComplete(context.succeeding(granted -> context.verify(() -> {
+                // Then: 전부 허용되면 요청 금액 그대로 (오차 없음)
+                assertThat(granted.get(0)).isEqualTo(new BigDecimal("0.123456789012345678"));
+                verify(redisApi).evalsha(argThat(args -> args.get(3).equals("12345679")));
+                assertThat(limiter.getMetrics().getLong("limited")).isZero();
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void testRelease_DecrementsGrantedUnits(VertxTestContext context) {
+        // Given
+        MiningDailyLimiter limiter = limiter(conditions(true, 3, 100.0), true);
+        when(redisApi.decrby(anyString(), anyString())).thenReturn(Future.succeededFuture(response));
+        
+        // When
+        limiter.release(event(1L, 3, "0.3"), new BigDecimal("0.3"))
+            .onComplete(context.succeeding(v -> context.verify(() -> {
+                // Then
+                verify(redisApi).decrby("mining:daily:units:20260110:1", "30000000");
+                context.completeNow();
+            })));
+    }
+    
+    private MiningDailyLimiter limiter(MiningConditionDto conditions, boolean failOpen) {
+        return new MiningDailyLimiter(pool, redisApi, repository, () -> Future.succeededFuture(conditions), 24, failOpen);
+    }
+    
+    private static MiningConditionDto conditions(boolean enabled, int level, double dailyLimit) {
+        return MiningConditionDto.builder()
+            .levelLimitsEnabled(enabled)
+            .levelLimits(List.of(MiningConditionDto.LevelLimit.builder().level(level).dailyLimit(dailyLimit).build()))
+            .build();
+    }
+    
+    private static MiningEventDto event(Long userId, Integer level, String amount) {
+        return MiningEventDto.builder()
+            .idempotencyKey("limit:" + userId + ":" + amount)
+            .userId(userId)
+            .type("BROADCAST_WATCH")
+            .amount(new BigDecimal(amount))
+            .level(level)
+            .occurredAt(LocalDateTime.of(2026, 1, 10, 12, 0))
+            .build();
+    }
+}
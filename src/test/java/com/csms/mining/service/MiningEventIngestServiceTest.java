@@ -0,0 +1,206 @@
+package com.csms.mining.service;
+
+import com.csms.common.exceptions.ServiceUnavailableException;
+import com.csms.mining.dto.MiningEventAckDto;
+import com.csms.mining.dto.MiningEventDto;
+import com.csms.mining.repository.MiningEventRepository;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.pgclient.PgPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.csms.common.TestArgumentMatchers.anySqlClient;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith({VertxExtension.class, MockitoExtension.class})
+class MiningEventIngestServiceTest {
+    
+    @Mock
+    private PgPool pool;
+    
+    @Mock
+    private MiningEventRepository repository;
+    
+    @Mock
+    private MiningDailyLimiter dailyLimiter;
+    
+    @Mock
+    private MiningLeaderboard leaderboard;
+    
+    @Test
+    void testIngest_CoalescesConcurrentRequestsIntoOneWrite(Vertx vertx, VertxTestContext context) {
+        // Given
+        MiningEventIngestService service = new MiningEventIngestService(vertx, pool, repository, 20, 100, 4, 1000, 100, 72);
+        when(repository.insertEvents(anySqlClient(), anyList())).thenAnswer(invocation -> created(invocation.getArgument(1)));
+        
+        // When: 같은 linger 구간에 들어온 두 요청
+        Future<?> first = service.ingest(List.of(event("a-1", 1L), event("a-2", 2L)));
+        Future<?> second = service.ingest(List.of(event("b-1", 3L)));
+        
+        Future.all(first, second)
+            .onComplete(context.succeeding(results -> context.verify(() -> {
+                // Then: 한 번의 저장으로 처리
+                verify(repository, times(1)).insertEvents(anySqlClient(), argThat(events -> events.size() == 3));
+                assertThat(service.getMetrics().getLong("created")).isEqualTo(3L);
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void testIngest_RejectsInvalidEventsAndSharesAckForRepeatedKey(Vertx vertx, VertxTestContext context) {
+        // Given
+        MiningEventIngestService service = new MiningEventIngestService(vertx, pool, repository, 1, 100, 4, 1000, 100, 72);
+        when(repository.insertEvents(anySqlClient(), anyList())).thenAnswer(invocation -> created(invocation.getArgument(1)));
+        MiningEventDto unknownType = event("c-2", 1L);
+        unknownType.setType("UNKNOWN");
+        MiningEventDto negativeAmount = event("c-3", 1L);
+        negativeAmount.setAmount(new BigDecimal("-1"));
+        
+        // When
+        service.ingest(List.of(event("c-1", 1L), unknownType, negativeAmount, event("c-1", 1L)))
+            .onComplete(context.succeeding(result -> context.verify(() -> {
+                // Then: 응답은 요청 순서, 같은 키는 한 번만 저장
+                assertThat(result.getAcks()).extracting(MiningEventAckDto::getStatus).containsExactly(
+                    MiningEventAckDto.CREATED, MiningEventAckDto.REJECTED, MiningEventAckDto.REJECTED, MiningEventAckDto.DUPLICATE);
+                assertThat(result.getCreated()).isEqualTo(1);
+                assertThat(result.getRejected()).isEqualTo(2);
+                assertThat(result.getDuplicate()).isEqualTo(1);
+                verify(repository).insertEvents(anySqlClient(), argThat(events -> events.size() == 1));
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void testIngest_WriteFailure_ReturnsFailedAcks(Vertx vertx, VertxTestContext context) {
+        // Given
+        MiningEventIngestService service = new MiningEventIngestService(vertx, pool, repository, 1, 100, 4, 1000, 100, 72);
+        when(repository.insertEvents(anySqlClient(), anyList())).thenReturn(Future.failedFuture(new RuntimeException("connection reset")));
+        
+        // When
+        service.ingest(List.of(event("d-1", 1L), event("d-2", 2L)))
+            .onComplete(context.succeeding(result -> context.verify(() -> {
+                // Then: 발신 측이 같은 키로 재전송
+                assertThat(result.getAcks()).extracting(MiningEventAckDto::getStatus)
+                    .containsOnly(MiningEventAckDto.FAILED);
+                assertThat(result.getFailed()).isEqualTo(2);
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void testIngest_PendingLimitExceeded_ThrowsServiceUnavailable(Vertx vertx, VertxTestContext context) {
+        // Given: 저장 1건이 끝나지 않은 상태 (max_in_flight 1)
+        MiningEventIngestService service = new MiningEventIngestService(vertx, pool, repository, 1, 2, 1, 2, 100, 72);
+        when(repository.insertEvents(anySqlClient(), anyList())).thenReturn(Promise.<Map<String, MiningEventAckDto>>promise().future());
+        service.ingest(List.of(event("e-1", 1L), event("e-2", 2L)));
+        
+        // When: 대기열(2건)을 넘는 요청
+        service.ingest(List.of(event("e-3", 1L), event("e-4", 2L), event("e-5", 3L)))
+            .onComplete(context.failing(err -> context.verify(() -> {
+                // Then
+                assertThat(err).isInstanceOf(ServiceUnavailableException.class);
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void testIngest_DailyLimit_ClipsRejectsAndReleasesUnsaved(Vertx vertx, VertxTestContext context) {
+        // Given: f-1 일부만 허용, f-2 한도 소진, f-3 이미 저장된 키(저장 시 DUPLICATE)
+        MiningEventIngestService service = new MiningEventIngestService(vertx, pool, repository, dailyLimiter, null, 1, 100, 4, 1000, 100, 72);
+        when(dailyLimiter.acquire(anyList())).thenReturn(Future.succeededFuture(
+            List.of(new BigDecimal("0.1"), BigDecimal.ZERO, new BigDecimal("0.125"))));
+        when(repository.insertEvents(anySqlClient(), anyList())).thenReturn(Future.succeededFuture(Map.of(
+            "f-1", MiningEventAckDto.created("f-1", 10L),
+            "f-3", MiningEventAckDto.duplicate("f-3", 3L))));
+        when(repository.findEventKeys(anySqlClient(), eq(List.of("f-2")))).thenReturn(Future.succeededFuture(Map.of()));
+        when(dailyLimiter.release(any(), any())).thenReturn(Future.succeededFuture());
+        
+        // When
+        service.ingest(List.of(event("f-1", 1L), event("f-2", 2L), event("f-3", 3L)))
+            .onComplete(context.succeeding(result -> context.verify(() -> {
+                // Then
+                assertThat(result.getAcks()).extracting(MiningEventAckDto::getStatus).containsExactly(
+                    MiningEventAckDto.CREATED, MiningEventAckDto.REJECTED, MiningEventAckDto.DUPLICATE);
+                assertThat(result.getAcks().get(0).getMessage()).contains("0.125");
+                verify(repository).insertEvents(anySqlClient(), argThat(events -> events.size() == 2
+                    && events.get(0).getAmount().compareTo(new BigDecimal("0.1")) == 0));
+                // 저장되지 않은(DUPLICATE) 이벤트의 허용 금액만 되돌림
+                verify(dailyLimiter, times(1)).release(argThat(event -> "f-3".equals(event.getIdempotencyKey())), eq(new BigDecimal("0.125")));
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void testIngest_RecordsOnlyCreatedEventsOnLeaderboard(Vertx vertx, VertxTestContext context) {
+        // Given: g-1 저장, g-2 이미 처리된 키
+        MiningEventIngestService service = new MiningEventIngestService(vertx, pool, repository, null, leaderboard, 1, 100, 4, 1000, 100, 72);
+        when(repository.insertEvents(anySqlClient(), anyList())).thenReturn(Future.succeededFuture(Map.of(
+            "g-1", MiningEventAckDto.created("g-1", 10L),
+            "g-2", MiningEventAckDto.duplicate("g-2", 2L))));
+        when(leaderboard.record(anyList())).thenReturn(Future.succeededFuture());
+        
+        // When
+        service.ingest(List.of(event("g-1", 1L), event("g-2", 2L)))
+            .onComplete(context.succeeding(result -> context.verify(() -> {
+                // Then: 새로 저장된 이벤트만 랭킹에 반영
+                verify(leaderboard, times(1)).record(argThat(events -> events.size() == 1
+                    && "g-1".equals(events.get(0).getIdempotencyKey())));
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void testIngest_RejectsOccurredAtOutsideWindow(Vertx vertx, VertxTestContext context) {
+        // Given: 24시간 전 ~ 5분 후만 허용
+        MiningEventIngestService service = new MiningEventIngestService(vertx, pool, repository, null, null, 1, 100, 4, 1000, 100, 72, 24, 5);
+        when(repository.insertEvents(anySqlClient(), anyList())).thenAnswer(invocation -> created(invocation.getArgument(1)));
+        MiningEventDto recent = event("w-1", 1L);
+        recent.setOccurredAt(LocalDateTime.now().minusHours(1));
+        MiningEventDto tooOld = event("w-2", 1L);
+        tooOld.setOccurredAt(LocalDateTime.now().minusDays(3));
+        MiningEventDto tooFarAhead = event("w-3", 1L);
+        tooFarAhead.setOccurredAt(LocalDateTime.now().plusMonths(6));
+        
+        // When
+        service.ingest(List.of(recent, tooOld, tooFarAhead))
+            .onComplete(context.succeeding(result -> context.verify(() -> {
+                // Then
+                assertThat(result.getAcks()).extracting(MiningEventAckDto::getStatus).containsExactly(
+                    MiningEventAckDto.CREATED, MiningEventAckDto.REJECTED, MiningEventAckDto.REJECTED);
+                verify(repository).insertEvents(anySqlClient(), argThat(events -> events.size() == 1));
+                context.completeNow();
+            })));
+    }
+    
+    private static MiningEventDto event(String key, Long userId) {
+        return MiningEventDto.builder()
+            .idempotencyKey(key)
+            .userId(userId)
+            .type("BROADCAST_WATCH")
+            .amount(new BigDecimal("0.125"))
+            .build();
+    }
+    
+    private static Future<Map<String, MiningEventAckDto>> created(List<MiningEventDto> events) {
+        Map<String, MiningEventAckDto> acks = new HashMap<>();
+        long id = 1;
+        for (MiningEventDto event : events) {
+            acks.put(event.getIdempotencyKey(), MiningEventAckDto.created(event.getIdempotencyKey(), id++));
+        }
+        return Future.succeededFuture(acks);
+    }
+}
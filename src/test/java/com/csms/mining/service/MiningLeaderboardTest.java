@@ -0,0 +1,289 @@
+package com.csms.mining.service;
+
+import com.csms.common.exceptions.BadRequestException;
+import com.csms.mining.dto.LeaderboardEntryDto;
+import com.csms.mining.dto.MiningEventDto;
+import com.csms.mining.repository.MiningLeaderboardRepository;
+import com.csms.mining.repository.MiningLeaderboardRepository.TeamCountChange;
+import com.csms.mining.repository.MiningLeaderboardRepository.UserScore;
+import com.csms.mining.service.MiningLeaderboard.Board;
+import com.csms.mining.service.MiningLeaderboard.Period;
+import io.vertx.core.Future;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.pgclient.PgPool;
+import io.vertx.redis.client.Command;
+import io.vertx.redis.client.RedisAPI;
+import io.vertx.redis.client.Response;
+import io.vertx.redis.client.ResponseType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static com.csms.common.TestArgumentMatchers.anySqlClient;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith({VertxExtension.class, MockitoExtension.class})
+class MiningLeaderboardTest {
+    
+    private static final LocalDate DATE = LocalDate.of(2026, 1, 10);
+    
+    @Mock
+    private PgPool pool;
+    
+    @Mock
+    private RedisAPI redisApi;
+    
+    @Mock
+    private MiningLeaderboardRepository repository;
+    
+    @Mock
+    private Response response;
+    
+    @Test
+    void testRecord_AggregatesPerBoardAndSetsPeriodExpiry(VertxTestContext context) {
+        // Given: 회원 1(KR) 이벤트 2건, 회원 2(국가 없음) 1건
+        MiningLeaderboard leaderboard = leaderboard();
+        when(repository.getUserCountryCodes(anySqlClient(), eq(List.of(1L, 2L)))).thenReturn(Future.succeededFuture(Map.of(1L, "KR")));
+        when(redisApi.get("leaderboard:rebuild:lock")).thenReturn(Future.succeededFuture(null));
+        when(redisApi.zincrby(anyString(), anyString(), anyString())).thenReturn(Future.succeededFuture(response));
+        when(redisApi.expireat(anyList())).thenReturn(Future.succeededFuture(response));
+        
+        // When
+        leaderboard.record(List.of(event(1L, "0.1"), event(2L, "0.5"), event(1L, "0.2")))
+            .onComplete(context.succeeding(v -> context.verify(() -> {
+                // Then: 보드/회원별로 합쳐 한 번씩 반영 (전체 국가 4개 보드 x 2명 + KR 4개 보드 x 1명)
+                verify(redisApi, times(12)).zincrby(anyString(), anyString(), anyString());
+                verify(redisApi).zincrby("leaderboard:mining:all", "0.3", "1");
+                verify(redisApi).zincrby("leaderboard:mining:day:20260110:KR", "0.3", "1");
+                verify(redisApi).zincrby("leaderboard:mining:week:2026W02", "0.5", "2");
+                verify(redisApi).zincrby("leaderboard:mining:month:202601", "0.5", "2");
+                verify(redisApi, never()).zincrby(endsWith(":KR"), anyString(), eq("2"));
+                // 기간 보드에만 만료 시각 설정
+                verify(redisApi, times(6)).expireat(anyList());
+                verify(redisApi, never()).expireat(argThat(args -> args.get(0).equals("leaderboard:mining:all")));
+                verify(redisApi, never()).expire(anyList());
+                assertThat(leaderboard.getMetrics().getLong("recorded")).isEqualTo(3L);
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void testRecord_DuringRebuild_MirrorsIncrementsToRebuiltBoards(VertxTestContext context) {
+        // Given: 2026-01-10 기준 재구축 중, 회원 1의 이벤트 1/10(재구축 대상), 1/9(같은 주/월이지만 다른 날)
+        MiningLeaderboard leaderboard = leaderboard();
+        Response lock = mock(Response.class);
+        when(lock.toString()).thenReturn("20260110:tok");
+        when(repository.getUserCountryCodes(anySqlClient(), eq(List.of(1L)))).thenReturn(Future.succeededFuture(Map.of()));
+        when(redisApi.get("leaderboard:rebuild:lock")).thenReturn(Future.succeededFuture(lock));
+        when(redisApi.zincrby(anyString(), anyString(), anyString())).thenReturn(Future.succeededFuture(response));
+        when(redisApi.expireat(anyList())).thenReturn(Future.succeededFuture(response));
+        when(redisApi.expire(anyList())).thenReturn(Future.succeededFuture(response));
+        
+        // When
+        leaderboard.record(List.of(event(1L, "0.1", DATE), event(1L, "0.2", DATE.minusDays(1))))
+            .onComplete(context.succeeding(v -> context.verify(() -> {
+                // Then: 보드 키 5개(일간 2개) + 재구축 대상 임시 키 4개
+                verify(redisApi, times(9)).zincrby(anyString(), anyString(), anyString());
+                verify(redisApi).zincrby("leaderboard:mining:all", "0.3", "1");
+                verify(redisApi).zincrby("{leaderboard:mining:all}:rebuild:tok", "0.3", "1");
+                verify(redisApi).zincrby("{leaderboard:mining:day:20260110}:rebuild:tok", "0.1", "1");
+                verify(redisApi).zincrby("{leaderboard:mining:week:2026W02}:rebuild:tok", "0.3", "1");
+                verify(redisApi, never()).zincrby(eq("{leaderboard:mining:day:20260109}:rebuild:tok"), anyString(), anyString());
+                // 임시 키에는 재구축 중단 대비 만료만 설정
+                verify(redisApi, times(4)).expire(argThat(args -> args.get(0).endsWith(":rebuild:tok") && args.get(1).equals("1200")));
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void testRebuild_FillsTempKeysThenRenamesOntoBoards(VertxTestContext context) {
+        // Given: 전체 채굴 회원 1(KR), 기간 채굴 없음, 추천 회원 2
+        MiningLeaderboard leaderboard = leaderboard();
+        when(redisApi.set(anyList())).thenReturn(Future.succeededFuture(response));
+        when(repository.getAllTimeMiningScores(anySqlClient(), eq(0L), anyInt()))
+            .thenReturn(Future.succeededFuture(List.of(new UserScore(1L, "KR", new BigDecimal("10.5")))));
+        when(repository.getPeriodMiningScores(anySqlClient(), any(), any(), eq(0L), anyInt()))
+            .thenReturn(Future.succeededFuture(List.of()));
+        when(repository.getReferralTeamCounts(anySqlClient(), eq(0L), anyInt()))
+            .thenReturn(Future.succeededFuture(List.of(new UserScore(2L, null, new BigDecimal("3")))));
+        when(redisApi.zadd(anyList())).thenReturn(Future.succeededFuture(response));
+        when(redisApi.expire(anyList())).thenReturn(Future.succeededFuture(response));
+        when(redisApi.rename(anyString(), anyString())).thenReturn(Future.succeededFuture(response));
+        when(redisApi.persist(anyString())).thenReturn(Future.succeededFuture(response));
+        when(redisApi.eval(anyList())).thenReturn(Future.succeededFuture(response));
+        when(response.toInteger()).thenReturn(1);
+        
+        // When
+        leaderboard.rebuild()
+            .onComplete(context.succeeding(counts -> context.verify(() -> {
+                // Then: 보드 키에 직접 쓰지 않고 임시 키에 채운 뒤 교체
+                assertThat(counts.getInteger("miningAll")).isEqualTo(1);
+                assertThat(counts.getInteger("referral")).isEqualTo(1);
+                verify(redisApi, never()).zadd(argThat(args -> args.get(0).startsWith("leaderboard:")));
+                verify(redisApi).zadd(argThat(args -> args.get(0).startsWith("{leaderboard:mining:all}:rebuild:")
+                    && args.subList(1, 3).equals(List.of("10.5", "1"))));
+                verify(redisApi).rename(startsWith("{leaderboard:mining:all}:rebuild:"), eq("leaderboard:mining:all"));
+                verify(redisApi).rename(startsWith("{leaderboard:mining:all:KR}:rebuild:"), eq("leaderboard:mining:all:KR"));
+                verify(redisApi).rename(startsWith("{leaderboard:referral:all}:rebuild:"), eq("leaderboard:referral:all"));
+                verify(redisApi, times(3)).rename(anyString(), anyString());
+                verify(redisApi).persist("leaderboard:mining:all");
+                // 행이 없는 기간 보드는 그대로 둠
+                verify(redisApi, never()).expireat(anyList());
+                // 보드마다 페이지를 읽기 전에 잠금 연장, 끝나면 이 재구축의 잠금일 때만 해제
+                verify(redisApi, times(5)).eval(argThat(args -> args.get(0).contains("'expire'")
+                    && args.subList(1, 3).equals(List.of("1", "leaderboard:rebuild:lock")) && args.get(4).equals("600")));
+                verify(redisApi).eval(argThat(args -> args.get(0).contains("'del'")
+                    && args.subList(1, 3).equals(List.of("1", "leaderboard:rebuild:lock"))));
+                verify(redisApi, never()).del(anyList());
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void testRebuild_LockLost_StopsBeforeSwappingBoards(VertxTestContext context) {
+        // Given: 잠금이 만료되어 다른 재구축이 잡음 (연장 스크립트가 0 반환)
+        MiningLeaderboard leaderboard = leaderboard();
+        when(redisApi.set(anyList())).thenReturn(Future.succeededFuture(response));
+        when(redisApi.eval(anyList())).thenReturn(Future.succeededFuture(response));
+        when(response.toInteger()).thenReturn(0);
+        
+        // When
+        leaderboard.rebuild()
+            .onComplete(context.failing(err -> context.verify(() -> {
+                // Then: DB를 읽거나 보드를 교체하지 않고 중단, 다른 재구축의 잠금은 해제 스크립트가 건드리지 않음
+                assertThat(err).isInstanceOf(IllegalStateException.class);
+                verify(repository, never()).getAllTimeMiningScores(anySqlClient(), anyLong(), anyInt());
+                verify(redisApi, never()).rename(anyString(), anyString());
+                verify(redisApi, never()).del(anyList());
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void testGetTop_SkipsDeletedUsersAndReranks(VertxTestContext context) {
+        // Given: RESP2 응답 [회원, 점수, ...], 회원 7은 탈퇴
+        MiningLeaderboard leaderboard = leaderboard();
+        when(response.size()).thenReturn(6);
+        List<Response> items = List.of(bulk("3"), bulk("9.5"), bulk("7"), bulk("8"), bulk("5"), bulk("1.25"));
+        when(response.get(anyInt())).thenAnswer(invocation -> items.get(invocation.getArgument(0)));
+        when(redisApi.zrevrange(anyList())).thenReturn(Future.succeededFuture(response));
+        when(repository.getUserNicknames(anySqlClient(), eq(List.of(3L, 7L, 5L))))
+            .thenReturn(Future.succeededFuture(Map.of(3L, "alice", 5L, "carol")));
+        
+        // When
+        leaderboard.getTop(Board.MINING, Period.ALL, null, null, 2)
+            .onComplete(context.succeeding(entries -> context.verify(() -> {
+                // Then
+                assertThat(entries).extracting(LeaderboardEntryDto::getRank).containsExactly(1L, 2L);
+                assertThat(entries).extracting(LeaderboardEntryDto::getNickname).containsExactly("alice", "carol");
+                assertThat(entries).extracting(LeaderboardEntryDto::getScore).containsExactly(9.5, 1.25);
+                verify(redisApi).zrevrange(List.of("leaderboard:mining:all", "0", "11", "WITHSCORES"));
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void testGetRank_ReturnsOneBasedRankAndNullWhenAbsent(VertxTestContext context) {
+        // Given
+        MiningLeaderboard leaderboard = leaderboard();
+        String key = "leaderboard:mining:month:202601:KR";
+        Response rank = mock(Response.class);
+        when(rank.toLong()).thenReturn(3L);
+        when(response.toString()).thenReturn("12.5");
+        when(redisApi.send(Command.ZREVRANK, key, "1")).thenReturn(Future.succeededFuture(rank));
+        when(redisApi.zscore(key, "1")).thenReturn(Future.succeededFuture(response));
+        when(redisApi.send(Command.ZREVRANK, key, "2")).thenReturn(Future.succeededFuture(null));
+        when(redisApi.zscore(key, "2")).thenReturn(Future.succeededFuture(null));
+        
+        // When
+        Future.all(
+                leaderboard.getRank(Board.MINING, Period.MONTHLY, DATE, "kr", 1L),
+                leaderboard.getRank(Board.MINING, Period.MONTHLY, DATE, "KR", 2L))
+            .onComplete(context.succeeding(results -> context.verify(() -> {
+                // Then
+                LeaderboardEntryDto ranked = results.resultAt(0);
+                LeaderboardEntryDto absent = results.resultAt(1);
+                assertThat(ranked.getRank()).isEqualTo(4L);
+                assertThat(ranked.getScore()).isEqualTo(12.5);
+                assertThat(absent).isNull();
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void testGetTop_ReferralBoardOnlySupportsAllTime(VertxTestContext context) {
+        // Given
+        MiningLeaderboard leaderboard = leaderboard();
+        
+        // When
+        leaderboard.getTop(Board.REFERRAL, Period.WEEKLY, DATE, null, 10)
+            .onComplete(context.failing(err -> context.verify(() -> {
+                // Then
+                assertThat(err).isInstanceOf(BadRequestException.class);
+                verifyNoInteractions(redisApi);
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void testSyncReferrals_UpsertsCountsAndRemovesEmpty(VertxTestContext context) {
+        // Given: 이전 동기화 12:00 → 1분 겹쳐서 11:59부터 조회
+        MiningLeaderboard leaderboard = leaderboard();
+        LocalDateTime updatedAt = LocalDateTime.of(2026, 1, 10, 12, 0, 30);
+        when(response.toString()).thenReturn("2026-01-10T12:00");
+        when(redisApi.get("leaderboard:referral:synced_at")).thenReturn(Future.succeededFuture(response));
+        when(repository.getReferralTeamCountChanges(anySqlClient(), eq(LocalDateTime.of(2026, 1, 10, 11, 59)), eq(0L), anyInt()))
+            .thenReturn(Future.succeededFuture(List.of(
+                new TeamCountChange(1L, 5, updatedAt),
+                new TeamCountChange(2L, 0, updatedAt))));
+        when(redisApi.zadd(anyList())).thenReturn(Future.succeededFuture(response));
+        when(redisApi.zrem(anyList())).thenReturn(Future.succeededFuture(response));
+        when(redisApi.set(anyList())).thenReturn(Future.succeededFuture(response));
+        
+        // When
+        leaderboard.syncReferrals()
+            .onComplete(context.succeeding(count -> context.verify(() -> {
+                // Then: 팀원이 없는 회원은 제거
+                assertThat(count).isEqualTo(2);
+                verify(redisApi).zadd(List.of("leaderboard:referral:all", "5", "1"));
+                verify(redisApi).zrem(List.of("leaderboard:referral:all", "2"));
+                verify(redisApi).set(argThat(args -> args.get(0).equals("leaderboard:referral:synced_at")));
+                context.completeNow();
+            })));
+    }
+    
+    private MiningLeaderboard leaderboard() {
+        return new MiningLeaderboard(pool, redisApi, repository, 35);
+    }
+    
+    private static Response bulk(String value) {
+        Response item = mock(Response.class);
+        lenient().when(item.type()).thenReturn(ResponseType.BULK);
+        when(item.toString()).thenReturn(value);
+        return item;
+    }
+    
+    private static MiningEventDto event(Long userId, String amount) {
+        return event(userId, amount, DATE);
+    }
+    
+    private static MiningEventDto event(Long userId, String amount, LocalDate date) {
+        return MiningEventDto.builder()
+            .idempotencyKey("rank:" + userId + ":" + amount)
+            .userId(userId)
+            .type("BROADCAST_WATCH")
+            .amount(new BigDecimal(amount))
+            .occurredAt(date.atTime(12, 0))
+            .build();
+    }
+}
@@ -0,0 +1,123 @@
+package com.csms.mining.service;
+
+import com.csms.admin.dto.RankingRewardDto;
+import com.csms.mining.repository.RankingRewardPayoutRepository;
+import com.csms.mining.service.MiningLeaderboard.Period;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.pgclient.PgPool;
+import io.vertx.sqlclient.SqlConnection;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.csms.common.TestArgumentMatchers.anySqlClient;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith({VertxExtension.class, MockitoExtension.class})
+class RankingRewardPayoutServiceTest {
+    
+    @Mock
+    private PgPool pool;
+    
+    @Mock
+    private SqlConnection connection;
+    
+    @Mock
+    private RankingRewardPayoutRepository repository;
+    
+    @Test
+    void testRunDue_SnapshotsClosedPeriodAndPaysInChunks(Vertx vertx, VertxTestContext context) {
+        // Given: 묶음 크기 2, 지급 대상 3건
+        RankingRewardPayoutService service = service(vertx, true, 2, 1.0);
+        ArgumentCaptor<String[]> regionalAmounts = ArgumentCaptor.forClass(String[].class);
+        when(repository.createPayout(anySqlClient(), eq("MONTHLY"), eq(LocalDate.of(2026, 1, 1)), eq(LocalDate.of(2026, 1, 31)),
+            eq("KORI"), eq("TRON"), regionalAmounts.capture(), any(String[].class))).thenReturn(Future.succeededFuture(7L));
+        when(repository.getPayingPayoutIds(anySqlClient())).thenReturn(Future.succeededFuture(List.of(7L)));
+        when(pool.getConnection()).thenReturn(Future.succeededFuture(connection));
+        when(connection.close()).thenReturn(Future.succeededFuture());
+        when(repository.payChunk(anySqlClient(), eq(7L), eq(2)))
+            .thenReturn(Future.succeededFuture(2), Future.succeededFuture(1), Future.succeededFuture(0));
+        when(repository.completePayout(anySqlClient(), eq(7L))).thenReturn(Future.succeededFuture(true));
+        
+        // When: 마감 지연(60분) 이후
+        service.runDue(LocalDateTime.of(2026, 2, 1, 2, 0))
+            .onComplete(context.succeeding(paid -> context.verify(() -> {
+                // Then: 1월 스냅샷, 묶음마다 연결을 반납하며 지급 후 완료 처리
+                assertThat(paid).isEqualTo(3);
+                assertThat(regionalAmounts.getValue()).containsExactly(
+                    "10.0", "5.0", "2.5", "0.8", "0.8", "0.8", "0.8", "0.8", "0.8", "0.8");
+                verify(repository, times(3)).payChunk(anySqlClient(), eq(7L), eq(2));
+                verify(connection, times(3)).close();
+                verify(repository).completePayout(anySqlClient(), eq(7L));
+                assertThat(service.getMetrics().getLong("paidItems")).isEqualTo(3L);
+                assertThat(service.getMetrics().getLong("completedPayouts")).isEqualTo(1L);
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void testRunDue_WaitsCloseDelayAndResumesExistingPayouts(Vertx vertx, VertxTestContext context) {
+        // Given: 1월이 끝난 지 30분 - 아직 12월이 마감 대상, 12월 지급은 이미 생성됨
+        RankingRewardPayoutService service = service(vertx, true, 1000, 1.0);
+        when(repository.createPayout(anySqlClient(), eq("MONTHLY"), eq(LocalDate.of(2025, 12, 1)), eq(LocalDate.of(2025, 12, 31)),
+            anyString(), anyString(), any(String[].class), any(String[].class))).thenReturn(Future.succeededFuture(null));
+        when(repository.existsCurrency(anySqlClient(), eq("KORI"), eq("TRON"))).thenReturn(Future.succeededFuture(true));
+        when(repository.getPayingPayoutIds(anySqlClient())).thenReturn(Future.succeededFuture(List.of()));
+        
+        // When
+        service.runDue(LocalDateTime.of(2026, 2, 1, 0, 30))
+            .onComplete(context.succeeding(paid -> context.verify(() -> {
+                // Then
+                assertThat(paid).isZero();
+                verify(repository, never()).payChunk(anySqlClient(), anyLong(), anyInt());
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void testRunDue_DoesNothingWhenDisabled(Vertx vertx, VertxTestContext context) {
+        // Given
+        RankingRewardPayoutService service = service(vertx, false, 1000, 0.25);
+        
+        // When
+        service.runDue(LocalDateTime.of(2026, 2, 1, 2, 0))
+            .onComplete(context.succeeding(paid -> context.verify(() -> {
+                // Then
+                assertThat(paid).isZero();
+                verifyNoInteractions(repository, pool);
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void testNextPauseMs_KeepsTargetUtilizationAndBacksOffWhenPoolIsBusy(Vertx vertx) {
+        // Given: 목표 25%, 연결 대기 50ms 초과 시 백오프
+        RankingRewardPayoutService service = service(vertx, true, 1000, 0.25);
+        
+        // When & Then: 100ms 사용 후 300ms 휴식, 풀이 바쁘면 백오프 100ms부터 두 배씩, 대기가 짧아지면 초기화
+        assertThat(service.nextPauseMs(100, 0)).isEqualTo(300L);
+        assertThat(service.nextPauseMs(100, 80)).isEqualTo(400L);
+        assertThat(service.nextPauseMs(100, 80)).isEqualTo(500L);
+        assertThat(service.nextPauseMs(100, 10)).isEqualTo(300L);
+    }
+    
+    private RankingRewardPayoutService service(Vertx vertx, boolean enabled, int batchSize, double targetPoolUtilization) {
+        RankingRewardDto rewards = RankingRewardDto.builder()
+            .regional(RankingRewardDto.RegionalReward.builder().rank1(10.00).rank2(5.00).rank3(2.50).rank4to10(0.80).build())
+            .national(RankingRewardDto.NationalReward.builder().rank1(3.00).rank2(2.00).rank3(1.00).rank4to10(0.50).build())
+            .build();
+        return new RankingRewardPayoutService(vertx, pool, repository, () -> Future.succeededFuture(rewards), enabled,
+            Period.MONTHLY, "KORI", "TRON", 60, batchSize, targetPoolUtilization, 50L);
+    }
+}
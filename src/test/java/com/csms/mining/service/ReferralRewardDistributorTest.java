@@ -0,0 +1,100 @@
+package com.csms.mining.service;
+
+import com.csms.admin.dto.ReferralBonusDto;
+import com.csms.mining.dto.MiningEventDto;
+import com.csms.mining.repository.ReferralRewardRepository;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.pgclient.PgPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.csms.common.TestArgumentMatchers.anySqlClient;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith({VertxExtension.class, MockitoExtension.class})
+class ReferralRewardDistributorTest {
+    
+    @Mock
+    private PgPool pool;
+    
+    @Mock
+    private ReferralRewardRepository repository;
+    
+    @Mock
+    private MiningLeaderboard leaderboard;
+    
+    @Test
+    void testMultipliers_AppliesRateToLevelWeights(Vertx vertx) {
+        // Given: 분배율 5%, 가중치 1 / 0.5 / 0.25
+        ReferralRewardDistributor distributor = distributor(vertx, ReferralBonusDto.builder().isEnabled(true).distributionRate(5).build());
+        
+        // When & Then
+        assertThat(distributor.multipliers(ReferralBonusDto.builder().isEnabled(true).distributionRate(5).build()))
+            .containsExactly("0.05", "0.025", "0.0125");
+        assertThat(distributor.multipliers(ReferralBonusDto.builder().isEnabled(false).distributionRate(5).build()))
+            .containsExactly("0", "0", "0");
+        assertThat(distributor.multipliers(ReferralBonusDto.builder().isEnabled(true).build()))
+            .containsExactly("0", "0", "0");
+    }
+    
+    @Test
+    void testDistributeBatch_RecordsRewardsOnLeaderboard(Vertx vertx, VertxTestContext context) {
+        // Given: 원본 3건에서 리워드 2건 생성
+        ReferralRewardDistributor distributor = distributor(vertx, ReferralBonusDto.builder().isEnabled(true).distributionRate(10).build());
+        List<MiningEventDto> rewards = List.of(
+            MiningEventDto.builder().userId(1L).type("REFERRAL_REWARD").amount(new BigDecimal("0.1"))
+                .occurredAt(LocalDateTime.of(2026, 1, 1, 0, 0)).build(),
+            MiningEventDto.builder().userId(2L).type("REFERRAL_REWARD").amount(new BigDecimal("0.05"))
+                .occurredAt(LocalDateTime.of(2026, 1, 1, 0, 0)).build());
+        ArgumentCaptor<String[]> multipliers = ArgumentCaptor.forClass(String[].class);
+        when(repository.distribute(anySqlClient(), eq(100), multipliers.capture()))
+            .thenReturn(Future.succeededFuture(new ReferralRewardRepository.Distribution(3, rewards)));
+        when(leaderboard.record(rewards)).thenReturn(Future.succeededFuture());
+        
+        // When
+        distributor.distributeBatch()
+            .onComplete(context.succeeding(consumed -> context.verify(() -> {
+                // Then
+                assertThat(consumed).isEqualTo(3);
+                assertThat(multipliers.getValue()).containsExactly("0.1", "0.05", "0.025");
+                verify(leaderboard).record(rewards);
+                assertThat(distributor.getMetrics().getLong("consumed")).isEqualTo(3L);
+                assertThat(distributor.getMetrics().getLong("rewarded")).isEqualTo(2L);
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void testDistributeBatch_CountsFailureAndKeepsQueue(Vertx vertx, VertxTestContext context) {
+        // Given
+        ReferralRewardDistributor distributor = distributor(vertx, ReferralBonusDto.builder().isEnabled(true).distributionRate(5).build());
+        when(repository.distribute(anySqlClient(), anyInt(), any(String[].class)))
+            .thenReturn(Future.failedFuture(new RuntimeException("db down")));
+        
+        // When
+        distributor.distributeBatch()
+            .onComplete(context.failing(err -> context.verify(() -> {
+                // Then
+                assertThat(distributor.getMetrics().getLong("errors")).isEqualTo(1L);
+                verifyNoInteractions(leaderboard);
+                context.completeNow();
+            })));
+    }
+    
+    private ReferralRewardDistributor distributor(Vertx vertx, ReferralBonusDto bonus) {
+        return new ReferralRewardDistributor(vertx, pool, repository, () -> Future.succeededFuture(bonus), leaderboard,
+            100, 1, 1000L, List.of(new BigDecimal("1"), new BigDecimal("0.5"), new BigDecimal("0.25")));
+    }
+}
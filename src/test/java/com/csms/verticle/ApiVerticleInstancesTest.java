@@ -0,0 +1,137 @@
+package com.csms.verticle;
+
+import com.csms.core.factory.DefaultServiceFactory;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
+import io.vertx.junit5.Timeout;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.redis.client.RedisAPI;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * ApiVerticle 멀티 인스턴스 배포 테스트
+ * 공유 ServiceFactory로 N개 인스턴스를 배포하고, 인스턴스마다 다른 이벤트 루프에서 실행되며
+ * /health 요청(연결)이 모든 인스턴스에 분산되는지 확인합니다.
+ * 모든 인스턴스가 같은 ServiceFactory와 Redis 클라이언트를 사용하는지도 확인합니다.
+ * (DB/Redis 연결 없이 동작 - PgPool은 lazy 연결, Redis 클라이언트는 mock)
+ * 처리량 비교는 실행 환경에 따라 편차가 크므로 벤치마크(src/jmh, ApiVerticleInstancesBenchmark)에서 측정합니다.
+ */
+@ExtendWith(VertxExtension.class)
+class ApiVerticleInstancesTest {
+    
+    private static final int PORT = 8097;
+    private static final int INSTANCES = 4;
+    private static final int TOTAL_REQUESTS = 400;
+    // 연결 수 (HTTP 서버는 연결 단위로 인스턴스에 분배하므로 인스턴스 수보다 충분히 많게)
+    private static final int CONCURRENCY = 32;
+    
+    @Test
+    @Timeout(value = 60, timeUnit = TimeUnit.SECONDS)
+    void multi_instances_share_resources_and_spread_requests(Vertx vertx, VertxTestContext context) {
+        // Given
+        JsonObject config = loadTestConfig(vertx);
+        DefaultServiceFactory serviceFactory = DefaultServiceFactory.create(vertx, config);
+        RedisAPI redisApi = mock(RedisAPI.class);
+        List<ApiVerticle> verticles = new CopyOnWriteArrayList<>();
+        List<String> eventLoops = new CopyOnWriteArrayList<>();
+        WebClient client = WebClient.create(vertx, new WebClientOptions()
+            .setMaxPoolSize(CONCURRENCY)
+            .setKeepAlive(true));
+        
+        // When
+        vertx.deployVerticle(
+                () -> {
+                    ApiVerticle verticle = new ApiVerticle(serviceFactory, redisApi) {
+                        @Override
+                        public void start(Promise<Void> startPromise) throws Exception {
+                            eventLoops.add(Thread.currentThread().getName());
+                            super.start(startPromise);
+                        }
+                    };
+                    verticles.add(verticle);
+                    return verticle;
+                },
+                new DeploymentOptions().setConfig(config).setInstances(INSTANCES))
+            .compose(deploymentId -> runLoad(client)
+                .compose(done -> vertx.undeploy(deploymentId)))
+            .onComplete(context.succeeding(v -> context.verify(() -> {
+                // Then: N개 배포, 인스턴스마다 다른 이벤트 루프 (이벤트 루프 수보다 많으면 나누어 사용)
+                assertThat(verticles).hasSize(INSTANCES);
+                assertThat(new HashSet<>(eventLoops))
+                    .hasSize(Math.min(INSTANCES, VertxOptions.DEFAULT_EVENT_LOOP_POOL_SIZE));
+                long handled = 0;
+                for (ApiVerticle verticle : verticles) {
+                    assertThat(verticle.serviceFactory()).isSameAs(serviceFactory);
+                    assertThat(verticle.redisApi()).isSameAs(redisApi);
+                    // 모든 인스턴스가 요청을 처리
+                    assertThat(verticle.handledRequests()).isPositive();
+                    handled += verticle.handledRequests();
+                }
+                assertThat(handled).isEqualTo(TOTAL_REQUESTS);
+                serviceFactory.getPool().close();
+                client.close();
+                context.completeNow();
+            })));
+    }
+    
+    @Test
+    void resolve_http_instances() {
+        // Given
+        JsonObject configured = new JsonObject().put("http", new JsonObject().put("instances", 3));
+        JsonObject auto = new JsonObject().put("http", new JsonObject().put("instances", 0));
+        
+        // Then
+        assertThat(DefaultServiceFactory.resolveHttpInstances(configured)).isEqualTo(3);
+        assertThat(DefaultServiceFactory.resolveHttpInstances(auto))
+            .isEqualTo(Runtime.getRuntime().availableProcessors());
+        assertThat(DefaultServiceFactory.resolveHttpInstances(new JsonObject()))
+            .isEqualTo(Runtime.getRuntime().availableProcessors());
+    }
+    
+    private Future<Void> runLoad(WebClient client) {
+        AtomicInteger remaining = new AtomicInteger(TOTAL_REQUESTS);
+        List<Future<Void>> workers = new ArrayList<>();
+        for (int i = 0; i < CONCURRENCY; i++) {
+            workers.add(sendNext(client, remaining));
+        }
+        return Future.all(workers).mapEmpty();
+    }
+    
+    private Future<Void> sendNext(WebClient client, AtomicInteger remaining) {
+        if (remaining.getAndDecrement() <= 0) {
+            return Future.succeededFuture();
+        }
+        return client.get(PORT, "localhost", "/health").send()
+            .compose(response -> {
+                if (response.statusCode() != 200) {
+                    return Future.failedFuture("Unexpected status: " + response.statusCode());
+                }
+                return sendNext(client, remaining);
+            });
+    }
+    
+    private JsonObject loadTestConfig(Vertx vertx) {
+        String content = vertx.fileSystem().readFileBlocking("src/test/resources/config.json").toString();
+        JsonObject config = new JsonObject(content).getJsonObject("test").copy();
+        config.getJsonObject("http").put("port", PORT);
+        return config;
+    }
+}